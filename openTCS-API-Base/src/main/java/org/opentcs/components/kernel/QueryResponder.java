@@ -9,6 +9,10 @@ package org.opentcs.components.kernel;
 
 /**
  * A responder for generic queries.
+ * <p>
+ * Queries are not executed while holding the kernel's global synchronization object.
+ * Responders accessing data that is modified by the kernel need to synchronize accordingly.
+ * </p>
  *
  * @author Stefan Walter (Fraunhofer IML)
  */
@@ -364,5 +364,20 @@ public interface Scheduler
      * @param resources The resources being released.
      */
     void allocationReleased(@Nonnull Client client, @Nonnull Set<TCSResource<?>> resources);
+
+    /**
+     * Informs this module about an allocation being deferred because the requested resources could
+     * not be allocated, yet.
+     * <p>
+     * Deferred allocations are retried whenever resources are released, so this method may be
+     * called repeatedly for the same allocation.
+     * </p>
+     *
+     * @param client The client requesting the resources.
+     * @param resources The requested resources.
+     */
+    default void allocationDeferred(@Nonnull Client client,
+                                    @Nonnull Set<TCSResource<?>> resources) {
+    }
   }
 }
@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.components.kernel.queries;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opentcs.components.kernel.Query;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.data.peripherals.PeripheralJob;
+import static org.opentcs.util.Assertions.checkArgument;
+
+/**
+ * Queries the transport orders, order sequences or peripheral jobs that have been moved from the
+ * kernel's pools to the order archive.
+ * <p>
+ * The result contains the matching objects in the order of their archive times, which are the
+ * creation times for transport orders and peripheral jobs and the times they were archived at for
+ * order sequences.
+ * </p>
+ *
+ * @param <T> The type of the archived objects.
+ */
+public class ArchivedObjectsQuery<T extends TCSObject<T>>
+    implements Query<List<T>>,
+               Serializable {
+
+  /**
+   * The type of the archived objects.
+   */
+  private final Class<T> type;
+  /**
+   * The name of the archived object, or {@code null}, if objects are not filtered by name.
+   */
+  private final String name;
+  /**
+   * The earliest archive time of the archived objects (inclusive).
+   */
+  private final Instant from;
+  /**
+   * The latest archive time of the archived objects (exclusive).
+   */
+  private final Instant to;
+  /**
+   * The maximum number of archived objects.
+   */
+  private final int limit;
+
+  /**
+   * Creates a new instance, querying all archived objects of the given type.
+   *
+   * @param type The type of the archived objects. Must be {@link TransportOrder},
+   * {@link OrderSequence} or {@link PeripheralJob}.
+   * @throws IllegalArgumentException If objects of the given type are not archived.
+   */
+  public ArchivedObjectsQuery(@Nonnull Class<T> type)
+      throws IllegalArgumentException {
+    this(type, null, Instant.MIN, Instant.MAX, Integer.MAX_VALUE);
+  }
+
+  private ArchivedObjectsQuery(Class<T> type, String name, Instant from, Instant to, int limit) {
+    this.type = requireNonNull(type, "type");
+    checkArgument(type == TransportOrder.class
+        || type == OrderSequence.class
+        || type == PeripheralJob.class,
+                  "Objects of type %s are not archived",
+                  type.getName());
+    this.name = name;
+    this.from = requireNonNull(from, "from");
+    this.to = requireNonNull(to, "to");
+    checkArgument(!to.isBefore(from), "to is before from");
+    this.limit = limit;
+    checkArgument(limit >= 0, "limit < 0");
+  }
+
+  /**
+   * Returns the type of the archived objects.
+   *
+   * @return The type of the archived objects.
+   */
+  @Nonnull
+  public Class<T> getType() {
+    return type;
+  }
+
+  /**
+   * Returns the name of the archived object.
+   *
+   * @return The name of the archived object, or {@code null}, if objects are not filtered by name.
+   */
+  @Nullable
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Creates a copy of this object, querying only the archived object with the given name.
+   *
+   * @param name The name of the archived object, or {@code null}, if objects should not be
+   * filtered by name.
+   * @return A copy of this object, querying only the archived object with the given name.
+   */
+  public ArchivedObjectsQuery<T> withName(@Nullable String name) {
+    return new ArchivedObjectsQuery<>(type, name, from, to, limit);
+  }
+
+  /**
+   * Returns the earliest archive time of the archived objects (inclusive).
+   *
+   * @return The earliest archive time of the archived objects.
+   */
+  @Nonnull
+  public Instant getFrom() {
+    return from;
+  }
+
+  /**
+   * Returns the latest archive time of the archived objects (exclusive).
+   *
+   * @return The latest archive time of the archived objects.
+   */
+  @Nonnull
+  public Instant getTo() {
+    return to;
+  }
+
+  /**
+   * Creates a copy of this object, querying only archived objects with archive times in the given
+   * interval.
+   *
+   * @param from The earliest archive time of the archived objects (inclusive).
+   * @param to The latest archive time of the archived objects (exclusive).
+   * @return A copy of this object, querying only archived objects in the given interval.
+   * @throws IllegalArgumentException If {@code to} is before {@code from}.
+   */
+  public ArchivedObjectsQuery<T> withTimeRange(@Nonnull Instant from, @Nonnull Instant to)
+      throws IllegalArgumentException {
+    return new ArchivedObjectsQuery<>(type, name, from, to, limit);
+  }
+
+  /**
+   * Returns the maximum number of archived objects.
+   *
+   * @return The maximum number of archived objects.
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Creates a copy of this object, querying at most the given number of archived objects.
+   * If there are more matching objects, the ones with the earliest archive times are returned.
+   *
+   * @param limit The maximum number of archived objects.
+   * @return A copy of this object, querying at most the given number of archived objects.
+   * @throws IllegalArgumentException If {@code limit} is negative.
+   */
+  public ArchivedObjectsQuery<T> withLimit(int limit)
+      throws IllegalArgumentException {
+    return new ArchivedObjectsQuery<>(type, name, from, to, limit);
+  }
+
+  @Override
+  public String toString() {
+    return "ArchivedObjectsQuery{"
+        + "type=" + type.getSimpleName()
+        + ", name=" + name
+        + ", from=" + from
+        + ", to=" + to
+        + ", limit=" + limit
+        + '}';
+  }
+}
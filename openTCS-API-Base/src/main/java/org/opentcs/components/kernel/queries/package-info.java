@@ -0,0 +1,4 @@
+/**
+ * Queries that can be executed via the kernel's query service.
+ */
+package org.opentcs.components.kernel.queries;
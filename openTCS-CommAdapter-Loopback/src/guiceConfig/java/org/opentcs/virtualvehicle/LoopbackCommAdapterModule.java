@@ -8,6 +8,7 @@
 package org.opentcs.virtualvehicle;
 
 import com.google.inject.assistedinject.FactoryModuleBuilder;
+import javax.inject.Singleton;
 import org.opentcs.customizations.kernel.KernelInjectionModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +45,10 @@ public class LoopbackCommAdapterModule
 
     bind(VirtualVehicleConfiguration.class)
         .toInstance(configuration);
+    bind(VirtualTimeScheduler.class)
+        .in(Singleton.class);
+    bind(SimulationTicker.class)
+        .in(Singleton.class);
 
     install(new FactoryModuleBuilder().build(LoopbackAdapterComponentsFactory.class));
 
@@ -14,9 +14,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import static java.util.Objects.requireNonNull;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import org.opentcs.common.LoopbackAdapterConstants;
@@ -65,17 +66,22 @@ public class LoopbackCommunicationAdapter
    */
   private static final String UNLOAD_OPERATION_CONFLICT = "cannotUnloadWhenNotLoaded";
   /**
-   * The time by which to advance the velocity controller per step (in ms).
+   * The time after which to check again whether a vehicle simulated in virtual time can move (in
+   * ms).
    */
   private static final int ADVANCE_TIME = 100;
-  /**
-   * The delay to use for scheduling the various simulation tasks (in ms).
-   */
-  private static final int SIMULATION_TASKS_DELAY = 100;
   /**
    * This instance's configuration.
    */
   private final VirtualVehicleConfiguration configuration;
+  /**
+   * The scheduler for vehicles simulated in virtual time.
+   */
+  private final VirtualTimeScheduler virtualTimeScheduler;
+  /**
+   * The ticker for vehicles simulated in real time.
+   */
+  private final SimulationTicker simulationTicker;
   /**
    * Indicates whether the vehicle simulation is running or not.
    */
@@ -93,9 +99,9 @@ public class LoopbackCommunicationAdapter
    */
   private boolean initialized;
   /**
-   * The amount of time that passed during the simulation of an operation.
+   * The simulation of the vehicle in real time.
    */
-  private int operationSimulationTimePassed;
+  private final TickedSimulation tickedSimulation = new TickedSimulation();
 
   /**
    * Creates a new instance.
@@ -103,11 +109,15 @@ public class LoopbackCommunicationAdapter
    * @param configuration This class's configuration.
    * @param vehicle The vehicle this adapter is associated with.
    * @param kernelExecutor The kernel's executor.
+   * @param virtualTimeScheduler The scheduler for vehicles simulated in virtual time.
+   * @param simulationTicker The ticker for vehicles simulated in real time.
    */
   @Inject
   public LoopbackCommunicationAdapter(VirtualVehicleConfiguration configuration,
                                       @Assisted Vehicle vehicle,
-                                      @KernelExecutor ScheduledExecutorService kernelExecutor) {
+                                      @KernelExecutor ScheduledExecutorService kernelExecutor,
+                                      VirtualTimeScheduler virtualTimeScheduler,
+                                      SimulationTicker simulationTicker) {
     super(new LoopbackVehicleModel(vehicle),
           configuration.commandQueueCapacity(),
           1,
@@ -115,6 +125,8 @@ public class LoopbackCommunicationAdapter
           kernelExecutor);
     this.vehicle = requireNonNull(vehicle, "vehicle");
     this.configuration = requireNonNull(configuration, "configuration");
+    this.virtualTimeScheduler = requireNonNull(virtualTimeScheduler, "virtualTimeScheduler");
+    this.simulationTicker = requireNonNull(simulationTicker, "simulationTicker");
   }
 
   @Override
@@ -130,6 +142,7 @@ public class LoopbackCommunicationAdapter
       initVehiclePosition(initialPos);
     }
     getProcessModel().setVehicleState(Vehicle.State.IDLE);
+    simulationTicker.register(tickedSimulation);
     initialized = true;
   }
 
@@ -143,6 +156,7 @@ public class LoopbackCommunicationAdapter
     if (!isInitialized()) {
       return;
     }
+    simulationTicker.unregister(tickedSimulation);
     super.terminate();
     initialized = false;
   }
@@ -171,7 +185,13 @@ public class LoopbackCommunicationAdapter
     if (isEnabled()) {
       return;
     }
-    getProcessModel().getVelocityController().addVelocityListener(getProcessModel());
+    if (virtualTimeScheduler.isVirtualTimeEnabled()) {
+      // With the simulation ticker, velocity values are handed to the process model via the
+      // kernel executor.
+      synchronized (getProcessModel()) {
+        getProcessModel().getVelocityController().addVelocityListener(getProcessModel());
+      }
+    }
     super.enable();
   }
 
@@ -180,7 +200,9 @@ public class LoopbackCommunicationAdapter
     if (!isEnabled()) {
       return;
     }
-    getProcessModel().getVelocityController().removeVelocityListener(getProcessModel());
+    synchronized (getProcessModel()) {
+      getProcessModel().getVelocityController().removeVelocityListener(getProcessModel());
+    }
     super.disable();
   }
 
@@ -196,7 +218,7 @@ public class LoopbackCommunicationAdapter
     // Start the simulation task is the single step modus is not active.
     if (!getProcessModel().isSingleStepModeEnabled()) {
       isSimulationRunning = true;
-      ((ExecutorService) getExecutor()).submit(() -> startVehicleSimulation(cmd));
+      startVehicleSimulation(cmd);
     }
   }
 
@@ -301,101 +323,97 @@ public class LoopbackCommunicationAdapter
         && !getSentQueue().isEmpty()
         && !isSimulationRunning) {
       isSimulationRunning = true;
-      ((ExecutorService) getExecutor()).submit(() -> startVehicleSimulation(getSentQueue().peek()));
+      startVehicleSimulation(getSentQueue().peek());
     }
   }
 
   private void startVehicleSimulation(MovementCommand command) {
+    if (virtualTimeScheduler.isVirtualTimeEnabled()) {
+      ((ExecutorService) getExecutor()).submit(() -> startVirtualTimeSimulation(command));
+    }
+    else {
+      tickedSimulation.addCommand(command);
+    }
+  }
+
+  private void startVirtualTimeSimulation(MovementCommand command) {
     LOG.debug("Starting vehicle simulation for command: {}", command);
     Step step = command.getStep();
     getProcessModel().setVehicleState(Vehicle.State.EXECUTING);
-    operationSimulationTimePassed = 0;
 
     if (step.getPath() == null) {
       LOG.debug("Starting operation simulation...");
-      ((ScheduledExecutorService) getExecutor()).schedule(() -> operationSimulation(command),
-                                                          SIMULATION_TASKS_DELAY,
-                                                          TimeUnit.MILLISECONDS);
+      virtualTimeScheduler.schedule(() -> finishOperationSimulation(command),
+                                    getProcessModel().getOperatingTime());
     }
     else {
-      getProcessModel().getVelocityController().addWayEntry(
-          new WayEntry(step.getPath().getLength(),
-                       maxVelocity(step),
-                       step.getDestinationPoint().getName(),
-                       step.getVehicleOrientation())
-      );
+      getProcessModel().getVelocityController().addWayEntry(createWayEntry(step));
 
       LOG.debug("Starting movement simulation...");
-      ((ScheduledExecutorService) getExecutor()).schedule(() -> movementSimulation(command),
-                                                          SIMULATION_TASKS_DELAY,
-                                                          TimeUnit.MILLISECONDS);
+      virtualMovementSimulation(command);
     }
   }
 
+  private WayEntry createWayEntry(Step step) {
+    return new WayEntry(step.getPath().getLength(),
+                        maxVelocity(step),
+                        step.getDestinationPoint().getName(),
+                        step.getVehicleOrientation());
+  }
+
   private int maxVelocity(Step step) {
     return (step.getVehicleOrientation() == Vehicle.Orientation.BACKWARD)
         ? step.getPath().getMaxReverseVelocity()
         : step.getPath().getMaxVelocity();
   }
 
-  private void movementSimulation(MovementCommand command) {
+  private void virtualMovementSimulation(MovementCommand command) {
     if (!getProcessModel().getVelocityController().hasWayEntries()) {
       return;
     }
 
-    WayEntry prevWayEntry = getProcessModel().getVelocityController().getCurrentWayEntry();
-    getProcessModel().getVelocityController().advanceTime(getSimulationTimeStep());
-    WayEntry currentWayEntry = getProcessModel().getVelocityController().getCurrentWayEntry();
-    //if we are still on the same way entry then reschedule to do it again
-    if (prevWayEntry == currentWayEntry) {
-      ((ScheduledExecutorService) getExecutor()).schedule(() -> movementSimulation(command),
-                                                          SIMULATION_TASKS_DELAY,
-                                                          TimeUnit.MILLISECONDS);
+    WayEntry wayEntry = getProcessModel().getVelocityController().getCurrentWayEntry();
+    long duration = getProcessModel().getVelocityController().advanceToEndOfWayEntry();
+    if (duration == 0) {
+      // The vehicle cannot move at the moment (e.g. because it is paused) - check again later.
+      virtualTimeScheduler.schedule(() -> virtualMovementSimulation(command), ADVANCE_TIME);
     }
     else {
-      //if the way enties are different then we have finished this step
-      //and we can move on.
-      getProcessModel().setVehiclePosition(prevWayEntry.getDestPointName());
-      LOG.debug("Movement simulation finished.");
-      if (!command.isWithoutOperation()) {
-        LOG.debug("Starting operation simulation...");
-        ((ScheduledExecutorService) getExecutor()).schedule(() -> operationSimulation(command),
-                                                            SIMULATION_TASKS_DELAY,
-                                                            TimeUnit.MILLISECONDS);
-      }
-      else {
-        finishVehicleSimulation(command);
-      }
+      virtualTimeScheduler.schedule(() -> finishVirtualMovementSimulation(command, wayEntry),
+                                    duration);
     }
   }
 
-  private void operationSimulation(MovementCommand command) {
-    operationSimulationTimePassed += getSimulationTimeStep();
-
-    if (operationSimulationTimePassed < getProcessModel().getOperatingTime()) {
-      getProcessModel().getVelocityController().advanceTime(getSimulationTimeStep());
-      ((ScheduledExecutorService) getExecutor()).schedule(() -> operationSimulation(command),
-                                                          SIMULATION_TASKS_DELAY,
-                                                          TimeUnit.MILLISECONDS);
+  private void finishVirtualMovementSimulation(MovementCommand command, WayEntry wayEntry) {
+    getProcessModel().setVehiclePosition(wayEntry.getDestPointName());
+    LOG.debug("Movement simulation finished.");
+    if (!command.isWithoutOperation()) {
+      LOG.debug("Starting operation simulation...");
+      virtualTimeScheduler.schedule(() -> finishOperationSimulation(command),
+                                    getProcessModel().getOperatingTime());
     }
     else {
-      LOG.debug("Operation simulation finished.");
-      String operation = command.getOperation();
-      if (operation.equals(getProcessModel().getLoadOperation())) {
-        // Update load handling devices as defined by this operation
-        getProcessModel().setVehicleLoadHandlingDevices(
-            Arrays.asList(new LoadHandlingDevice(LHD_NAME, true))
-        );
-      }
-      else if (operation.equals(getProcessModel().getUnloadOperation())) {
-        getProcessModel().setVehicleLoadHandlingDevices(
-            Arrays.asList(new LoadHandlingDevice(LHD_NAME, false))
-        );
-      }
       finishVehicleSimulation(command);
     }
   }
 
+  private void finishOperationSimulation(MovementCommand command) {
+    LOG.debug("Operation simulation finished.");
+    String operation = command.getOperation();
+    if (operation.equals(getProcessModel().getLoadOperation())) {
+      // Update load handling devices as defined by this operation
+      getProcessModel().setVehicleLoadHandlingDevices(
+          Arrays.asList(new LoadHandlingDevice(LHD_NAME, true))
+      );
+    }
+    else if (operation.equals(getProcessModel().getUnloadOperation())) {
+      getProcessModel().setVehicleLoadHandlingDevices(
+          Arrays.asList(new LoadHandlingDevice(LHD_NAME, false))
+      );
+    }
+    finishVehicleSimulation(command);
+  }
+
   private void finishVehicleSimulation(MovementCommand command) {
     //Set the vehicle state to idle
     if (getSentQueue().size() <= 1 && getCommandQueue().isEmpty()) {
@@ -414,8 +432,130 @@ public class LoopbackCommunicationAdapter
     isSimulationRunning = false;
   }
 
-  private int getSimulationTimeStep() {
-    return (int) (ADVANCE_TIME * configuration.simulationTimeFactor());
+  /**
+   * Simulates the vehicle in real time, advanced by the simulation ticker.
+   * <p>
+   * Except for the queue of commands to be simulated, the state of this class is accessed by the
+   * ticker's thread only.
+   * The vehicle's velocity controller is shared with the kernel executor, which modifies it via the
+   * process model's synchronized methods, so every tick holds the process model's lock.
+   * Changes to the vehicle's process model are handed to the kernel executor.
+   * </p>
+   */
+  private class TickedSimulation
+      implements SimulationTicker.Participant {
+
+    /**
+     * The commands to be simulated.
+     */
+    private final Queue<MovementCommand> commands = new ConcurrentLinkedQueue<>();
+    /**
+     * The command currently being simulated.
+     */
+    private MovementCommand command;
+    /**
+     * Whether the operation of the current command is being simulated.
+     */
+    private boolean operating;
+    /**
+     * The amount of time that passed during the simulation of an operation.
+     */
+    private int operationSimulationTimePassed;
+
+    TickedSimulation() {
+    }
+
+    public void addCommand(MovementCommand command) {
+      commands.add(command);
+    }
+
+    @Override
+    public void tick(int dt, List<Runnable> kernelUpdates) {
+      synchronized (getProcessModel()) {
+        if (command == null) {
+          command = commands.poll();
+          if (command == null) {
+            return;
+          }
+          startSimulation(kernelUpdates);
+        }
+
+        int timeStep = Math.max((int) (dt * configuration.simulationTimeFactor()), 1);
+        if (operating) {
+          operationSimulation(timeStep, kernelUpdates);
+        }
+        else {
+          movementSimulation(timeStep, kernelUpdates);
+        }
+      }
+    }
+
+    private void startSimulation(List<Runnable> kernelUpdates) {
+      LOG.debug("Starting vehicle simulation for command: {}", command);
+      Step step = command.getStep();
+      kernelUpdates.add(() -> getProcessModel().setVehicleState(Vehicle.State.EXECUTING));
+      operationSimulationTimePassed = 0;
+
+      if (step.getPath() == null) {
+        LOG.debug("Starting operation simulation...");
+        operating = true;
+      }
+      else {
+        getProcessModel().getVelocityController().addWayEntry(createWayEntry(step));
+        LOG.debug("Starting movement simulation...");
+        operating = false;
+      }
+    }
+
+    private void movementSimulation(int timeStep, List<Runnable> kernelUpdates) {
+      VelocityController velocityController = getProcessModel().getVelocityController();
+      if (!velocityController.hasWayEntries()) {
+        return;
+      }
+
+      WayEntry prevWayEntry = velocityController.getCurrentWayEntry();
+      velocityController.advanceTime(timeStep);
+      addVelocityValue(velocityController.getCurrentVelocity(), kernelUpdates);
+      //if we are still on the same way entry then continue with the next tick
+      if (prevWayEntry == velocityController.getCurrentWayEntry()) {
+        return;
+      }
+
+      //if the way enties are different then we have finished this step
+      //and we can move on.
+      kernelUpdates.add(
+          () -> getProcessModel().setVehiclePosition(prevWayEntry.getDestPointName())
+      );
+      LOG.debug("Movement simulation finished.");
+      if (!command.isWithoutOperation()) {
+        LOG.debug("Starting operation simulation...");
+        operating = true;
+      }
+      else {
+        MovementCommand finishedCommand = command;
+        command = null;
+        kernelUpdates.add(() -> finishVehicleSimulation(finishedCommand));
+      }
+    }
+
+    private void operationSimulation(int timeStep, List<Runnable> kernelUpdates) {
+      operationSimulationTimePassed += timeStep;
+
+      if (operationSimulationTimePassed < getProcessModel().getOperatingTime()) {
+        getProcessModel().getVelocityController().advanceTime(timeStep);
+        addVelocityValue(getProcessModel().getVelocityController().getCurrentVelocity(),
+                         kernelUpdates);
+      }
+      else {
+        MovementCommand finishedCommand = command;
+        command = null;
+        kernelUpdates.add(() -> finishOperationSimulation(finishedCommand));
+      }
+    }
+
+    private void addVelocityValue(int velocity, List<Runnable> kernelUpdates) {
+      kernelUpdates.add(() -> getProcessModel().addVelocityValue(velocity));
+    }
   }
 
   /**
@@ -25,6 +25,14 @@ public class LoopbackCommunicationAdapterFactory
    * The adapter components factory.
    */
   private final LoopbackAdapterComponentsFactory adapterFactory;
+  /**
+   * The scheduler for vehicles simulated in virtual time.
+   */
+  private final VirtualTimeScheduler virtualTimeScheduler;
+  /**
+   * The ticker for vehicles simulated in real time.
+   */
+  private final SimulationTicker simulationTicker;
   /**
    * Indicates whether this component is initialized or not.
    */
@@ -34,10 +42,16 @@ public class LoopbackCommunicationAdapterFactory
    * Creates a new factory.
    *
    * @param componentsFactory The adapter components factory.
+   * @param virtualTimeScheduler The scheduler for vehicles simulated in virtual time.
+   * @param simulationTicker The ticker for vehicles simulated in real time.
    */
   @Inject
-  public LoopbackCommunicationAdapterFactory(LoopbackAdapterComponentsFactory componentsFactory) {
+  public LoopbackCommunicationAdapterFactory(LoopbackAdapterComponentsFactory componentsFactory,
+                                             VirtualTimeScheduler virtualTimeScheduler,
+                                             SimulationTicker simulationTicker) {
     this.adapterFactory = requireNonNull(componentsFactory, "componentsFactory");
+    this.virtualTimeScheduler = requireNonNull(virtualTimeScheduler, "virtualTimeScheduler");
+    this.simulationTicker = requireNonNull(simulationTicker, "simulationTicker");
   }
 
   @Override
@@ -45,6 +59,8 @@ public class LoopbackCommunicationAdapterFactory
     if (isInitialized()) {
       return;
     }
+    virtualTimeScheduler.initialize();
+    simulationTicker.initialize();
     initialized = true;
   }
 
@@ -58,6 +74,8 @@ public class LoopbackCommunicationAdapterFactory
     if (!isInitialized()) {
       return;
     }
+    simulationTicker.terminate();
+    virtualTimeScheduler.terminate();
     initialized = false;
   }
 
@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.virtualvehicle;
+
+import java.util.ArrayList;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.components.Lifecycle;
+import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.util.metrics.MetricRegistry;
+import org.opentcs.util.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Advances the simulations of all loopback vehicles simulated in real time in one periodic tick.
+ * <p>
+ * Ticks are executed on a thread of their own, not on the kernel executor.
+ * The state changes resulting from a tick (e.g. changes of vehicle positions) are collected and
+ * handed to the kernel executor as a single task.
+ * </p>
+ */
+public class SimulationTicker
+    implements Lifecycle {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(SimulationTicker.class);
+  /**
+   * This class's configuration.
+   */
+  private final VirtualVehicleConfiguration configuration;
+  /**
+   * The kernel's executor.
+   */
+  private final ScheduledExecutorService kernelExecutor;
+  /**
+   * The simulations to be advanced with every tick.
+   */
+  private final List<Participant> participants = new CopyOnWriteArrayList<>();
+  /**
+   * The executor executing the ticks.
+   */
+  private ScheduledExecutorService tickExecutor;
+  /**
+   * Records the durations of the ticks.
+   */
+  private final Timer tickTimer;
+  /**
+   * Whether this instance is initialized or not.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param configuration This class's configuration.
+   * @param kernelExecutor The kernel's executor.
+   * @param metricRegistry The registry for the ticker's metrics.
+   */
+  @Inject
+  public SimulationTicker(VirtualVehicleConfiguration configuration,
+                          @KernelExecutor ScheduledExecutorService kernelExecutor,
+                          MetricRegistry metricRegistry) {
+    this.configuration = requireNonNull(configuration, "configuration");
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.tickTimer = requireNonNull(metricRegistry, "metricRegistry").timer("loopback.tick");
+  }
+
+  @Override
+  public void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+
+    if (!configuration.virtualTimeEnabled()) {
+      int tickInterval = configuration.simulationTickInterval();
+      tickExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "loopbackSimulationTicker");
+        thread.setDaemon(true);
+        return thread;
+      });
+      tickExecutor.scheduleAtFixedRate(this::tick,
+                                       tickInterval,
+                                       tickInterval,
+                                       TimeUnit.MILLISECONDS);
+    }
+
+    initialized = true;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    if (tickExecutor != null) {
+      tickExecutor.shutdownNow();
+      tickExecutor = null;
+    }
+
+    initialized = false;
+  }
+
+  /**
+   * Adds the given simulation to the ones advanced with every tick.
+   *
+   * @param participant The simulation.
+   */
+  public void register(@Nonnull Participant participant) {
+    requireNonNull(participant, "participant");
+
+    participants.add(participant);
+  }
+
+  /**
+   * Removes the given simulation from the ones advanced with every tick.
+   *
+   * @param participant The simulation.
+   */
+  public void unregister(@Nonnull Participant participant) {
+    requireNonNull(participant, "participant");
+
+    participants.remove(participant);
+  }
+
+  /**
+   * Advances all registered simulations and hands the resulting state changes to the kernel
+   * executor.
+   * <p>
+   * Package-private for testing.
+   * </p>
+   */
+  void tick() {
+    long tickStart = System.nanoTime();
+    int tickInterval = configuration.simulationTickInterval();
+
+    List<Runnable> kernelUpdates = new ArrayList<>();
+    for (Participant participant : participants) {
+      try {
+        participant.tick(tickInterval, kernelUpdates);
+      }
+      catch (RuntimeException exc) {
+        LOG.warn("Exception advancing simulation", exc);
+      }
+    }
+    if (!kernelUpdates.isEmpty()) {
+      kernelExecutor.execute(() -> applyUpdates(kernelUpdates));
+    }
+
+    long tickDuration = System.nanoTime() - tickStart;
+    tickTimer.record(tickDuration);
+    if (TimeUnit.NANOSECONDS.toMillis(tickDuration) > tickInterval) {
+      LOG.debug("Tick for {} simulations took {} ms, exceeding the tick interval of {} ms.",
+                participants.size(),
+                TimeUnit.NANOSECONDS.toMillis(tickDuration),
+                tickInterval);
+    }
+  }
+
+  private void applyUpdates(List<Runnable> kernelUpdates) {
+    for (Runnable update : kernelUpdates) {
+      try {
+        update.run();
+      }
+      catch (RuntimeException exc) {
+        LOG.warn("Exception applying simulation state change", exc);
+      }
+    }
+  }
+
+  /**
+   * A simulation that is advanced with every tick.
+   */
+  public interface Participant {
+
+    /**
+     * Advances the simulation by the given time.
+     * <p>
+     * This method is called on the ticker's thread and must not modify any kernel state.
+     * Changes of the kernel state are to be added to the given list instead, which is handed to
+     * the kernel executor after all simulations were advanced.
+     * </p>
+     *
+     * @param dt The time by which to advance the simulation (in ms).
+     * @param kernelUpdates The state changes to be applied on the kernel executor.
+     */
+    void tick(int dt, @Nonnull List<Runnable> kernelUpdates);
+  }
+}
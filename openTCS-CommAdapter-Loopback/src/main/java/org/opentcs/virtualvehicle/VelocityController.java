@@ -77,7 +77,7 @@ public class VelocityController {
    * True, if the vehicle has been paused, e.g. via the kernel gui
    * or a by a client message.
    */
-  private boolean paused;
+  private volatile boolean paused;
 
   /**
    * Creates a new VelocityController.
@@ -303,20 +303,7 @@ public class VelocityController {
       currentVelocity = 0;
     }
     else {
-      final int maxVelocity;
-      final Vehicle.Orientation orientation = curWayEntry.vehicleOrientation;
-      switch (orientation) {
-        case FORWARD:
-          maxVelocity = maxFwdVelocity;
-          break;
-        case BACKWARD:
-          maxVelocity = maxRevVelocity;
-          break;
-        default:
-          LOG.warn("Unhandled orientation: {}, assuming forward.", orientation);
-          maxVelocity = maxFwdVelocity;
-      }
-      targetVelocity = Math.min(curWayEntry.targetVelocity, maxVelocity);
+      targetVelocity = targetVelocity(curWayEntry);
       // Accelerate as quickly as possible.
       accelerationDistance = 10;
       // Recompute the acceleration to reach/keep the desired velocity.
@@ -342,6 +329,95 @@ public class VelocityController {
     }
   }
 
+  /**
+   * Advances this controller's current time to the point of time at which the current way entry
+   * is left, without simulating the steps in between.
+   * <p>
+   * The vehicle is assumed to accelerate/decelerate with the maximum rate until it reaches the way
+   * entry's target velocity and to keep that velocity until the end of the way entry.
+   * </p>
+   *
+   * @return The time by which this controller was advanced (in milliseconds), or 0, if there is no
+   * current way entry, the vehicle is paused or the vehicle cannot move on the current way entry.
+   */
+  public long advanceToEndOfWayEntry() {
+    final WayEntry curWayEntry = wayEntries.peek();
+    if (curWayEntry == null || paused) {
+      return 0;
+    }
+    final double targetVelocity = targetVelocity(curWayEntry);
+    if (targetVelocity <= 0) {
+      return 0;
+    }
+    final double distance = Math.max(curWayEntry.length - currentPosition, 0);
+    final double initialVelocity = currentVelocity;
+    final double acceleration;
+    if (initialVelocity < targetVelocity) {
+      acceleration = maxAcceleration;
+    }
+    else if (initialVelocity > targetVelocity) {
+      acceleration = maxDeceleration;
+    }
+    else {
+      acceleration = 0;
+    }
+
+    double duration;
+    double finalVelocity = targetVelocity;
+    if (acceleration == 0) {
+      duration = distance / targetVelocity;
+    }
+    else {
+      // Time and distance needed for reaching the target velocity.
+      final double accelerationTime = (targetVelocity - initialVelocity) / acceleration;
+      final double accelerationDistance
+          = (initialVelocity + targetVelocity) / 2 * accelerationTime;
+      if (accelerationDistance <= distance) {
+        duration = accelerationTime + (distance - accelerationDistance) / targetVelocity;
+      }
+      else {
+        // The way entry ends before the target velocity is reached.
+        duration = (Math.sqrt(initialVelocity * initialVelocity + 2 * acceleration * distance)
+                    - initialVelocity) / acceleration;
+        finalVelocity = initialVelocity + acceleration * duration;
+      }
+    }
+
+    final long dt = Math.max((long) Math.ceil(duration * 1000), 1);
+    currentAcceleration = (finalVelocity == targetVelocity) ? 0 : (int) acceleration;
+    currentVelocity = (int) finalVelocity;
+    currentPosition = 0;
+    currentTime += dt;
+    wayEntries.poll();
+    for (VelocityListener curListener : velocityListeners) {
+      curListener.addVelocityValue(currentVelocity);
+    }
+    return dt;
+  }
+
+  /**
+   * Returns the velocity (in mm/s) the vehicle should drive with on the given way entry.
+   *
+   * @param wayEntry The way entry.
+   * @return The velocity (in mm/s) the vehicle should drive with on the given way entry.
+   */
+  private int targetVelocity(WayEntry wayEntry) {
+    final int maxVelocity;
+    final Vehicle.Orientation orientation = wayEntry.vehicleOrientation;
+    switch (orientation) {
+      case FORWARD:
+        maxVelocity = maxFwdVelocity;
+        break;
+      case BACKWARD:
+        maxVelocity = maxRevVelocity;
+        break;
+      default:
+        LOG.warn("Unhandled orientation: {}, assuming forward.", orientation);
+        maxVelocity = maxFwdVelocity;
+    }
+    return Math.min(wayEntry.targetVelocity, maxVelocity);
+  }
+
   /**
    * Returns the acceleration (in mm/s<sup>2</sup>) needed for reaching a given
    * velocity exactly after travelling a given distance (respecting the current
@@ -0,0 +1,315 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.virtualvehicle;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import java.util.Comparator;
+import static java.util.Objects.requireNonNull;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.components.Lifecycle;
+import org.opentcs.customizations.kernel.KernelExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A discrete-event scheduler shared by all loopback vehicles simulated in virtual time.
+ * <p>
+ * Instead of waiting for wall-clock time to pass, the scheduler processes the scheduled events
+ * strictly in the order of their virtual points of time and advances its virtual clock from one
+ * event to the next.
+ * Every event is executed on the kernel executor.
+ * Before the next event is processed, the kernel executor processes all tasks that are due, i.e.
+ * also the tasks that were triggered by the previous event, e.g. sending new movement commands to
+ * vehicles.
+ * Events scheduled for the same virtual point of time are ordered using a pseudo-random sequence
+ * with a configured seed.
+ * </p>
+ * <p>
+ * Only the vehicles are simulated in virtual time.
+ * All other components, e.g. the scheduler allocating resources on threads of its own or periodic
+ * kernel tasks, still run in wall-clock time and are not synchronized with the virtual clock.
+ * Simulation runs are therefore not reproducible, not even with the same seed.
+ * </p>
+ */
+public class VirtualTimeScheduler
+    implements Lifecycle {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(VirtualTimeScheduler.class);
+  /**
+   * This class's configuration.
+   */
+  private final VirtualVehicleConfiguration configuration;
+  /**
+   * The kernel's executor.
+   */
+  private final ScheduledExecutorService kernelExecutor;
+  /**
+   * The scheduled events, ordered by their virtual points of time.
+   */
+  private final Queue<Event> events = new PriorityQueue<>(
+      Comparator.comparingLong(Event::getTime)
+          .thenComparingLong(Event::getTieBreaker)
+          .thenComparingLong(Event::getSequenceNumber)
+  );
+  /**
+   * Provides values for ordering events scheduled for the same virtual point of time.
+   */
+  private Random tieBreakers;
+  /**
+   * The number of events scheduled so far.
+   */
+  private long scheduledEventCount;
+  /**
+   * The current virtual time (in ms).
+   */
+  private long currentTime;
+  /**
+   * The thread processing the scheduled events.
+   */
+  private Thread eventThread;
+  /**
+   * Whether this instance is initialized or not.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param configuration This class's configuration.
+   * @param kernelExecutor The kernel's executor.
+   */
+  @Inject
+  public VirtualTimeScheduler(VirtualVehicleConfiguration configuration,
+                              @KernelExecutor ScheduledExecutorService kernelExecutor) {
+    this.configuration = requireNonNull(configuration, "configuration");
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.tieBreakers = new Random(configuration.virtualTimeSeed());
+  }
+
+  @Override
+  public void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+
+    synchronized (events) {
+      events.clear();
+      tieBreakers = new Random(configuration.virtualTimeSeed());
+      scheduledEventCount = 0;
+      currentTime = 0;
+    }
+
+    if (configuration.virtualTimeEnabled()) {
+      LOG.info("Simulating loopback vehicles in virtual time.");
+      eventThread = new Thread(this::processEvents, "loopbackVirtualTime");
+      eventThread.setDaemon(true);
+      eventThread.start();
+    }
+
+    initialized = true;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    if (eventThread != null) {
+      eventThread.interrupt();
+      eventThread = null;
+    }
+    synchronized (events) {
+      events.clear();
+    }
+
+    initialized = false;
+  }
+
+  /**
+   * Indicates whether loopback vehicles are simulated in virtual time.
+   *
+   * @return {@code true} if, and only if, loopback vehicles are simulated in virtual time.
+   */
+  public boolean isVirtualTimeEnabled() {
+    return configuration.virtualTimeEnabled();
+  }
+
+  /**
+   * Returns the current virtual time.
+   *
+   * @return The current virtual time (in ms).
+   */
+  public long getCurrentTime() {
+    synchronized (events) {
+      return currentTime;
+    }
+  }
+
+  /**
+   * Schedules the given task to be executed on the kernel executor after the given amount of
+   * virtual time has passed.
+   *
+   * @param task The task.
+   * @param delay The virtual time (in ms) after which the task is to be executed.
+   */
+  public void schedule(@Nonnull Runnable task, long delay) {
+    requireNonNull(task, "task");
+    checkArgument(delay >= 0, "delay is less than 0: %s", delay);
+
+    synchronized (events) {
+      events.add(new Event(currentTime + delay,
+                           tieBreakers.nextLong(),
+                           scheduledEventCount++,
+                           task));
+      events.notifyAll();
+    }
+  }
+
+  /**
+   * Processes events until processing is interrupted.
+   */
+  private void processEvents() {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        processNextEvent();
+      }
+    }
+    catch (InterruptedException exc) {
+      LOG.debug("Interrupted, terminating virtual time simulation.");
+    }
+  }
+
+  /**
+   * Waits for the next event, advances the virtual time to the event's point of time and executes
+   * it.
+   * Returns when the kernel executor has processed all tasks that were triggered by the event,
+   * including tasks that were in turn triggered by those.
+   * <p>
+   * Package-private for testing.
+   * </p>
+   *
+   * @throws InterruptedException If the calling thread was interrupted.
+   */
+  void processNextEvent()
+      throws InterruptedException {
+    Event event;
+    synchronized (events) {
+      while (events.isEmpty()) {
+        events.wait();
+      }
+      event = events.poll();
+      currentTime = Math.max(currentTime, event.getTime());
+    }
+
+    try {
+      kernelExecutor.submit(event.getTask()).get();
+    }
+    catch (ExecutionException exc) {
+      LOG.warn("Exception executing simulation event", exc.getCause());
+    }
+    awaitDueTasksProcessed();
+  }
+
+  /**
+   * Waits until the kernel executor has no more tasks that are due, so they run before the virtual
+   * time is advanced.
+   *
+   * @throws InterruptedException If the calling thread was interrupted.
+   */
+  private void awaitDueTasksProcessed()
+      throws InterruptedException {
+    do {
+      // Tasks that are already queued run before this one.
+      try {
+        kernelExecutor.submit(() -> { }).get();
+      }
+      catch (ExecutionException exc) {
+        throw new IllegalStateException("Unexpected exception", exc);
+      }
+    }
+    while (hasDueTasks());
+  }
+
+  /**
+   * Checks whether the kernel executor has tasks queued that are due for execution.
+   *
+   * @return {@code true} if, and only if, the kernel executor has tasks queued that are due.
+   */
+  private boolean hasDueTasks() {
+    if (!(kernelExecutor instanceof ThreadPoolExecutor)) {
+      return false;
+    }
+    return ((ThreadPoolExecutor) kernelExecutor).getQueue().stream()
+        .anyMatch(task -> !(task instanceof Delayed)
+            || ((Delayed) task).getDelay(TimeUnit.NANOSECONDS) <= 0);
+  }
+
+  /**
+   * An event scheduled for a virtual point of time.
+   */
+  private static class Event {
+
+    /**
+     * The virtual point of time (in ms) at which the event happens.
+     */
+    private final long time;
+    /**
+     * Orders events scheduled for the same virtual point of time.
+     */
+    private final long tieBreaker;
+    /**
+     * The event's sequence number.
+     */
+    private final long sequenceNumber;
+    /**
+     * The task to be executed.
+     */
+    private final Runnable task;
+
+    Event(long time, long tieBreaker, long sequenceNumber, Runnable task) {
+      this.time = time;
+      this.tieBreaker = tieBreaker;
+      this.sequenceNumber = sequenceNumber;
+      this.task = task;
+    }
+
+    public long getTime() {
+      return time;
+    }
+
+    public long getTieBreaker() {
+      return tieBreaker;
+    }
+
+    public long getSequenceNumber() {
+      return sequenceNumber;
+    }
+
+    public Runnable getTask() {
+      return task;
+    }
+  }
+}
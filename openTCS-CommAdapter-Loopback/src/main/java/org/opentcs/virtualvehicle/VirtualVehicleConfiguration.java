@@ -47,4 +47,31 @@ public interface VirtualVehicleConfiguration {
                      "1.0 is real time, greater values speed up simulation."},
       orderKey = "1_behaviour_3")
   double simulationTimeFactor();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {"Whether to simulate vehicles in virtual time instead of real time.",
+                     "If enabled, vehicles jump straight to the end of their current movement or "
+                     + "operation, all vehicles share one event queue and the simulation runs as "
+                     + "fast as possible. The simulation time factor is ignored in this case.",
+                     "Only the vehicles are simulated in virtual time. All other kernel components "
+                     + "still run in real time, so simulation runs are not reproducible."},
+      orderKey = "1_behaviour_4")
+  boolean virtualTimeEnabled();
+
+  @ConfigurationEntry(
+      type = "Long",
+      description = {"The seed used for ordering vehicle simulation events that happen at the same "
+                     + "virtual time.",
+                     "This does not make simulation runs reproducible, as all other kernel "
+                     + "components still run in real time."},
+      orderKey = "1_behaviour_5")
+  long virtualTimeSeed();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {"The interval (in ms) in which vehicles simulated in real time are advanced.",
+                     "All vehicles are advanced together in one tick."},
+      orderKey = "1_behaviour_6")
+  int simulationTickInterval();
 }
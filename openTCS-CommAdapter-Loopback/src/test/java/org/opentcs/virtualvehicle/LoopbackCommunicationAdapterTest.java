@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.virtualvehicle;
+
+import java.util.ArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.Route;
+import org.opentcs.drivers.vehicle.MovementCommand;
+
+/**
+ * Unit tests for {@link LoopbackCommunicationAdapter}.
+ */
+public class LoopbackCommunicationAdapterTest {
+
+  private LoopbackCommunicationAdapter adapter;
+
+  private SimulationTicker.Participant tickedSimulation;
+
+  @BeforeEach
+  public void setUp() {
+    VirtualVehicleConfiguration configuration = mock(VirtualVehicleConfiguration.class);
+    when(configuration.commandQueueCapacity()).thenReturn(2);
+    when(configuration.rechargeOperation()).thenReturn("CHARGE");
+    when(configuration.simulationTimeFactor()).thenReturn(1.0);
+    SimulationTicker simulationTicker = mock(SimulationTicker.class);
+    adapter = new LoopbackCommunicationAdapter(configuration,
+                                               new Vehicle("vehicle"),
+                                               mock(ScheduledExecutorService.class),
+                                               mock(VirtualTimeScheduler.class),
+                                               simulationTicker);
+    adapter.initialize();
+
+    ArgumentCaptor<SimulationTicker.Participant> captor
+        = ArgumentCaptor.forClass(SimulationTicker.Participant.class);
+    verify(simulationTicker).register(captor.capture());
+    tickedSimulation = captor.getValue();
+  }
+
+  @Test
+  public void startMovingWithTheTickTheCommandIsPolledWith() {
+    Point source = new Point("source");
+    Point destination = new Point("destination");
+    Path path = new Path("source--destination", source.getReference(), destination.getReference())
+        .withLength(10000)
+        .withMaxVelocity(1000);
+    MovementCommand command = mock(MovementCommand.class);
+    when(command.getStep())
+        .thenReturn(new Route.Step(path, source, destination, Vehicle.Orientation.FORWARD, 0));
+    when(command.isWithoutOperation()).thenReturn(true);
+
+    adapter.sendCommand(command);
+    tickedSimulation.tick(100, new ArrayList<>());
+
+    VelocityController velocityController = adapter.getProcessModel().getVelocityController();
+    assertThat(velocityController.getCurrentTime(), greaterThan(0L));
+    assertThat(velocityController.getCurrentVelocity(), greaterThan(0));
+  }
+}
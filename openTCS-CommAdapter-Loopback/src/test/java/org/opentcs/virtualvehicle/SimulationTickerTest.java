@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.virtualvehicle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.opentcs.util.metrics.MetricRegistry;
+import org.opentcs.util.metrics.Timer;
+
+/**
+ * Tests for {@link SimulationTicker}.
+ */
+public class SimulationTickerTest {
+
+  private ScheduledExecutorService kernelExecutor;
+
+  private MetricRegistry metricRegistry;
+
+  private SimulationTicker ticker;
+
+  @BeforeEach
+  public void setUp() {
+    kernelExecutor = mock(ScheduledExecutorService.class);
+    VirtualVehicleConfiguration configuration = mock(VirtualVehicleConfiguration.class);
+    when(configuration.simulationTickInterval()).thenReturn(100);
+    metricRegistry = new MetricRegistry(true);
+    ticker = new SimulationTicker(configuration, kernelExecutor, metricRegistry);
+  }
+
+  @Test
+  public void handStateChangesOfAllParticipantsToKernelInOneTask() {
+    List<String> applied = new ArrayList<>();
+    List<Integer> timeSteps = new ArrayList<>();
+    ticker.register((dt, kernelUpdates) -> {
+      timeSteps.add(dt);
+      kernelUpdates.add(() -> applied.add("first"));
+    });
+    ticker.register((dt, kernelUpdates) -> {
+      timeSteps.add(dt);
+      kernelUpdates.add(() -> applied.add("second"));
+    });
+
+    ticker.tick();
+
+    assertThat(timeSteps, contains(100, 100));
+    assertThat(applied, is(empty()));
+    ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(kernelExecutor, times(1)).execute(captor.capture());
+    captor.getValue().run();
+    assertThat(applied, contains("first", "second"));
+  }
+
+  @Test
+  public void submitNothingToKernelWithoutStateChanges() {
+    SimulationTicker.Participant participant = mock(SimulationTicker.Participant.class);
+    ticker.register(participant);
+    ticker.tick();
+    ticker.unregister(participant);
+    ticker.tick();
+
+    verify(participant, times(1)).tick(any(Integer.class), any());
+    verify(kernelExecutor, never()).execute(any());
+  }
+
+  @Test
+  public void continueWithOtherParticipantsOnException() {
+    List<String> applied = new ArrayList<>();
+    ticker.register((dt, kernelUpdates) -> {
+      throw new IllegalStateException("Failed");
+    });
+    ticker.register((dt, kernelUpdates) -> kernelUpdates.add(() -> applied.add("second")));
+
+    ticker.tick();
+
+    ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(kernelExecutor).execute(captor.capture());
+    captor.getValue().run();
+    assertThat(applied, contains("second"));
+  }
+
+  @Test
+  public void recordTickDurations() {
+    ticker.tick();
+    ticker.tick();
+
+    Timer timer = metricRegistry.timer("loopback.tick");
+    assertThat(timer.getCount(), is(2L));
+    assertThat(timer.getSumNanos(), is(greaterThanOrEqualTo(timer.getMaxNanos())));
+  }
+}
@@ -196,4 +196,59 @@ public class VelocityControllerTest {
     // Velocity could be 500 mm/s after 1s, but should be limited to 250 mm/s
     assertEquals(250, controller.getCurrentVelocity());
   }
+
+  @Test
+  public void advanceToEndOfWayEntryAtConstantVelocity() {
+    VelocityController controller
+        = new VelocityController(MAX_DECEL, MAX_ACCEL,
+                                 MAX_REV_VELO, MAX_FWD_VELO);
+    VelocityController.WayEntry firstEntry
+        = new VelocityController.WayEntry(WAY_LENGTH, MAX_VELO,
+                                          POINT_NAME, Vehicle.Orientation.FORWARD);
+    VelocityController.WayEntry secondEntry
+        = new VelocityController.WayEntry(WAY_LENGTH, MAX_VELO,
+                                          POINT_NAME, Vehicle.Orientation.FORWARD);
+    controller.addWayEntry(firstEntry);
+    controller.addWayEntry(secondEntry);
+
+    // Accelerating to 500 mm/s takes 0.5s and 125mm, the remaining 4875mm take 9.75s.
+    assertEquals(10250, controller.advanceToEndOfWayEntry());
+    assertSame(secondEntry, controller.getCurrentWayEntry());
+    assertEquals(500, controller.getCurrentVelocity());
+
+    // Already driving at the target velocity, 5000mm take 10s.
+    assertEquals(10000, controller.advanceToEndOfWayEntry());
+    assertFalse(controller.hasWayEntries());
+    assertEquals(20250, controller.getCurrentTime());
+  }
+
+  @Test
+  public void advanceToEndOfShortWayEntryWithoutReachingTargetVelocity() {
+    VelocityController controller
+        = new VelocityController(MAX_DECEL, MAX_ACCEL,
+                                 MAX_REV_VELO, MAX_FWD_VELO);
+    controller.addWayEntry(new VelocityController.WayEntry(50, MAX_VELO,
+                                                           POINT_NAME,
+                                                           Vehicle.Orientation.FORWARD));
+
+    // s = a/2 * t^2 -> t = sqrt(2 * 50mm / 1000mm/s^2) = 0.316s
+    assertEquals(317, controller.advanceToEndOfWayEntry());
+    assertEquals(316, controller.getCurrentVelocity());
+  }
+
+  @Test
+  public void advanceToEndOfWayEntryDoesNothingWhenPaused() {
+    VelocityController controller
+        = new VelocityController(MAX_DECEL, MAX_ACCEL,
+                                 MAX_REV_VELO, MAX_FWD_VELO);
+    VelocityController.WayEntry wayEntry
+        = new VelocityController.WayEntry(WAY_LENGTH, MAX_VELO,
+                                          POINT_NAME, Vehicle.Orientation.FORWARD);
+    controller.addWayEntry(wayEntry);
+    controller.setVehiclePaused(true);
+
+    assertEquals(0, controller.advanceToEndOfWayEntry());
+    assertSame(wayEntry, controller.getCurrentWayEntry());
+    assertEquals(0, controller.getCurrentTime());
+  }
 }
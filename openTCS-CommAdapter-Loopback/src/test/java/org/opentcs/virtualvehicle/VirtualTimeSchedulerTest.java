@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.virtualvehicle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link VirtualTimeScheduler}.
+ */
+public class VirtualTimeSchedulerTest {
+
+  private ScheduledExecutorService kernelExecutor;
+
+  private VirtualVehicleConfiguration configuration;
+
+  @BeforeEach
+  public void setUp() {
+    kernelExecutor = Executors.newSingleThreadScheduledExecutor();
+    configuration = mock(VirtualVehicleConfiguration.class);
+    when(configuration.virtualTimeSeed()).thenReturn(42L);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    kernelExecutor.shutdownNow();
+  }
+
+  @Test
+  public void processEventsInOrderOfVirtualTime()
+      throws InterruptedException {
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler(configuration, kernelExecutor);
+    List<Long> times = new ArrayList<>();
+    scheduler.schedule(() -> times.add(scheduler.getCurrentTime()), 5000);
+    scheduler.schedule(() -> times.add(scheduler.getCurrentTime()), 100);
+    scheduler.schedule(() -> times.add(scheduler.getCurrentTime()), 2500);
+
+    for (int i = 0; i < 3; i++) {
+      scheduler.processNextEvent();
+    }
+
+    assertThat(times, contains(100L, 2500L, 5000L));
+    assertThat(scheduler.getCurrentTime(), is(5000L));
+  }
+
+  @Test
+  public void scheduleRelativeToCurrentVirtualTime()
+      throws InterruptedException {
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler(configuration, kernelExecutor);
+    List<Long> times = new ArrayList<>();
+    scheduler.schedule(
+        () -> scheduler.schedule(() -> times.add(scheduler.getCurrentTime()), 300),
+        1000
+    );
+
+    scheduler.processNextEvent();
+    scheduler.processNextEvent();
+
+    assertThat(times, contains(1300L));
+  }
+
+  @Test
+  public void runTasksTriggeredByEventBeforeNextEvent()
+      throws InterruptedException {
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler(configuration, kernelExecutor);
+    List<String> executed = new ArrayList<>();
+    scheduler.schedule(() -> kernelExecutor.submit(() -> executed.add("triggered")), 100);
+    scheduler.schedule(() -> executed.add("next"), 200);
+
+    scheduler.processNextEvent();
+    scheduler.processNextEvent();
+
+    assertThat(executed, contains("triggered", "next"));
+  }
+
+  @Test
+  public void runTasksTriggeredIndirectlyByEventBeforeNextEvent()
+      throws InterruptedException {
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler(configuration, kernelExecutor);
+    List<String> executed = new ArrayList<>();
+    scheduler.schedule(
+        () -> kernelExecutor.submit(
+            () -> kernelExecutor.submit(() -> executed.add("triggered indirectly"))
+        ),
+        100
+    );
+    scheduler.schedule(() -> executed.add("next"), 200);
+
+    scheduler.processNextEvent();
+    scheduler.processNextEvent();
+
+    assertThat(executed, contains("triggered indirectly", "next"));
+  }
+
+  @Test
+  public void orderSimultaneousEventsBySeed()
+      throws InterruptedException {
+    assertThat(simultaneousEventOrder(), is(simultaneousEventOrder()));
+  }
+
+  private List<Integer> simultaneousEventOrder()
+      throws InterruptedException {
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler(configuration, kernelExecutor);
+    List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      int eventId = i;
+      scheduler.schedule(() -> order.add(eventId), 100);
+    }
+    for (int i = 0; i < 10; i++) {
+      scheduler.processNextEvent();
+    }
+    return order;
+  }
+}
@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.common;
+
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Nonnull;
+import org.opentcs.util.metrics.MetricRegistry;
+import org.opentcs.util.metrics.Timer;
+
+/**
+ * Extends the {@link LoggingScheduledThreadPoolExecutor} by collecting metrics about the executed
+ * tasks.
+ * <p>
+ * The following meters are registered, each tagged with the executor's name:
+ * </p>
+ * <ul>
+ * <li>{@code executor.queue.size}: The number of tasks waiting in the queue, including delayed
+ * tasks that are not due, yet.</li>
+ * <li>{@code executor.task.wait}: The time tasks waited for execution after becoming due, tagged
+ * with the task type.</li>
+ * <li>{@code executor.task.run}: The time it took to run tasks, tagged with the task type.</li>
+ * </ul>
+ * <p>
+ * The type of a task is the simple name of the class of the submitted {@code Runnable} or
+ * {@code Callable}. For lambda expressions, it is the simple name of the class declaring the lambda
+ * expression, followed by {@code $$Lambda}.
+ * </p>
+ */
+public class MeteredScheduledThreadPoolExecutor
+    extends LoggingScheduledThreadPoolExecutor {
+
+  /**
+   * The registry to register meters with.
+   */
+  private final MetricRegistry metricRegistry;
+  /**
+   * The executor's name.
+   */
+  private final String name;
+  /**
+   * The timers for each task type, mapped by the class of the submitted task.
+   */
+  private final Map<Class<?>, TaskTimers> timersByTaskClass = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param corePoolSize The number of threads to keep in the pool.
+   * @param threadFactory The factory to use when the executor creates a new thread.
+   * @param metricRegistry The registry to register meters with.
+   * @param name The executor's name, used for tagging its meters.
+   * @throws IllegalArgumentException If {@code corePoolSize < 0}
+   */
+  public MeteredScheduledThreadPoolExecutor(int corePoolSize,
+                                            @Nonnull ThreadFactory threadFactory,
+                                            @Nonnull MetricRegistry metricRegistry,
+                                            @Nonnull String name) {
+    super(corePoolSize, threadFactory);
+    this.metricRegistry = requireNonNull(metricRegistry, "metricRegistry");
+    this.name = requireNonNull(name, "name");
+
+    metricRegistry.gauge("executor.queue.size", () -> getQueue().size(), "executor", name);
+  }
+
+  @Override
+  protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable,
+                                                        RunnableScheduledFuture<V> task) {
+    return new MeteredTask<>(task, timersFor(runnable.getClass()));
+  }
+
+  @Override
+  protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable,
+                                                        RunnableScheduledFuture<V> task) {
+    return new MeteredTask<>(task, timersFor(callable.getClass()));
+  }
+
+  @Override
+  protected void beforeExecute(Thread t, Runnable r) {
+    super.beforeExecute(t, r);
+    if (r instanceof MeteredTask) {
+      ((MeteredTask<?>) r).executionStarting();
+    }
+  }
+
+  @Override
+  protected void afterExecute(Runnable r, Throwable t) {
+    if (r instanceof MeteredTask) {
+      ((MeteredTask<?>) r).executionFinished();
+    }
+    super.afterExecute(r, t);
+  }
+
+  private TaskTimers timersFor(Class<?> taskClass) {
+    return timersByTaskClass.computeIfAbsent(taskClass, this::createTimers);
+  }
+
+  private TaskTimers createTimers(Class<?> taskClass) {
+    String taskType = taskType(taskClass);
+    return new TaskTimers(
+        metricRegistry.timer("executor.task.wait", "executor", name, "task", taskType),
+        metricRegistry.timer("executor.task.run", "executor", name, "task", taskType)
+    );
+  }
+
+  /**
+   * Returns a task type for the given class, suitable as a tag value.
+   *
+   * @param taskClass The class.
+   * @return The task type.
+   */
+  static String taskType(Class<?> taskClass) {
+    // The names of classes generated for lambda expressions contain a counter and a hash code,
+    // which are not suitable for identifying a task type across kernel runs.
+    String className = taskClass.getName();
+    int lambdaIndex = className.indexOf("$$Lambda");
+    if (lambdaIndex >= 0) {
+      className = className.substring(0, lambdaIndex + "$$Lambda".length());
+    }
+    return className.substring(className.lastIndexOf('.') + 1);
+  }
+
+  /**
+   * The timers for a task type.
+   */
+  private static class TaskTimers {
+
+    private final Timer waitTimer;
+
+    private final Timer runTimer;
+
+    TaskTimers(Timer waitTimer, Timer runTimer) {
+      this.waitTimer = waitTimer;
+      this.runTimer = runTimer;
+    }
+  }
+
+  /**
+   * Wraps a task to measure its wait and run times.
+   *
+   * @param <V> The task's result type.
+   */
+  private static class MeteredTask<V>
+      implements RunnableScheduledFuture<V> {
+
+    /**
+     * The actual task.
+     */
+    private final RunnableScheduledFuture<V> task;
+    /**
+     * The timers for the task's type.
+     */
+    private final TaskTimers timers;
+    /**
+     * The start time of the current execution.
+     */
+    private long runStart;
+
+    MeteredTask(RunnableScheduledFuture<V> task, TaskTimers timers) {
+      this.task = requireNonNull(task, "task");
+      this.timers = requireNonNull(timers, "timers");
+    }
+
+    void executionStarting() {
+      // A task that became due in the past has a negative delay.
+      timers.waitTimer.record(Math.max(0, -task.getDelay(TimeUnit.NANOSECONDS)));
+      runStart = timers.runTimer.start();
+    }
+
+    void executionFinished() {
+      timers.runTimer.stop(runStart);
+    }
+
+    @Override
+    public boolean isPeriodic() {
+      return task.isPeriodic();
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return task.getDelay(unit);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      // Compare the actual tasks, so that tasks due at the same time keep their FIFO order.
+      if (other instanceof MeteredTask) {
+        return task.compareTo(((MeteredTask<?>) other).task);
+      }
+      return task.compareTo(other);
+    }
+
+    @Override
+    public void run() {
+      task.run();
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      return task.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return task.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+      return task.isDone();
+    }
+
+    @Override
+    public V get()
+        throws InterruptedException, ExecutionException {
+      return task.get();
+    }
+
+    @Override
+    public V get(long timeout, TimeUnit unit)
+        throws InterruptedException, ExecutionException, TimeoutException {
+      return task.get(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+      return task.toString();
+    }
+  }
+}
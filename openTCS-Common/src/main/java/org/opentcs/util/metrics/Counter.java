@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+
+/**
+ * Counts occurrences of something, e.g. deferred allocations.
+ * <p>
+ * Incrementing a counter is thread-safe and does not block.
+ * </p>
+ */
+public class Counter
+    extends Meter {
+
+  /**
+   * The current count.
+   */
+  private final LongAdder count = new LongAdder();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param name The counter's name.
+   * @param tags The counter's tags.
+   */
+  public Counter(@Nonnull String name, @Nonnull Map<String, String> tags) {
+    super(name, tags);
+  }
+
+  /**
+   * Increments the count by one.
+   */
+  public void increment() {
+    count.increment();
+  }
+
+  /**
+   * Increments the count by the given amount.
+   *
+   * @param amount The amount.
+   */
+  public void increment(long amount) {
+    count.add(amount);
+  }
+
+  /**
+   * Returns the current count.
+   *
+   * @return The current count.
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "Counter{"
+        + "name=" + getName()
+        + ", tags=" + getTags()
+        + ", count=" + getCount()
+        + '}';
+  }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.metrics;
+
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.function.LongSupplier;
+import javax.annotation.Nonnull;
+
+/**
+ * Provides a value sampled when the gauge is read, e.g. the length of a queue.
+ */
+public class Gauge
+    extends Meter {
+
+  /**
+   * Provides the gauge's value.
+   */
+  private final LongSupplier valueSupplier;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param name The gauge's name.
+   * @param tags The gauge's tags.
+   * @param valueSupplier Provides the gauge's value. Must be thread-safe.
+   */
+  public Gauge(@Nonnull String name,
+               @Nonnull Map<String, String> tags,
+               @Nonnull LongSupplier valueSupplier) {
+    super(name, tags);
+    this.valueSupplier = requireNonNull(valueSupplier, "valueSupplier");
+  }
+
+  /**
+   * Returns the gauge's current value.
+   *
+   * @return The gauge's current value.
+   */
+  public long getValue() {
+    return valueSupplier.getAsLong();
+  }
+
+  @Override
+  public String toString() {
+    return "Gauge{"
+        + "name=" + getName()
+        + ", tags=" + getTags()
+        + ", value=" + getValue()
+        + '}';
+  }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+
+/**
+ * A named measurement, optionally qualified by a set of tags.
+ */
+public abstract class Meter {
+
+  /**
+   * The meter's name, e.g. {@code "kernel.executor.task.run"}.
+   */
+  private final String name;
+  /**
+   * The meter's tags, sorted by key.
+   */
+  private final SortedMap<String, String> tags;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param name The meter's name.
+   * @param tags The meter's tags.
+   */
+  protected Meter(@Nonnull String name, @Nonnull Map<String, String> tags) {
+    this.name = requireNonNull(name, "name");
+    this.tags = Collections.unmodifiableSortedMap(new TreeMap<>(requireNonNull(tags, "tags")));
+  }
+
+  /**
+   * Returns the meter's name.
+   *
+   * @return The meter's name.
+   */
+  @Nonnull
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the meter's tags, sorted by key.
+   *
+   * @return The meter's tags.
+   */
+  @Nonnull
+  public SortedMap<String, String> getTags() {
+    return tags;
+  }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.metrics;
+
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import org.opentcs.util.event.EventBus;
+import org.opentcs.util.event.EventHandler;
+
+/**
+ * An {@link EventBus} that measures the time it takes to deliver events to all subscribers.
+ * <p>
+ * Registers a timer named {@code eventbus.publish} for every type of event published, tagged with
+ * the simple name of the event's class.
+ * The timers' counts are the numbers of events published.
+ * </p>
+ */
+public class MeteredEventBus
+    implements EventBus {
+
+  /**
+   * The event bus actually delivering events.
+   */
+  private final EventBus delegate;
+  /**
+   * The registry to register meters with.
+   */
+  private final MetricRegistry metricRegistry;
+  /**
+   * The timers, mapped by event class.
+   */
+  private final Map<Class<?>, Timer> timersByEventClass = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param delegate The event bus actually delivering events.
+   * @param metricRegistry The registry to register meters with.
+   */
+  public MeteredEventBus(@Nonnull EventBus delegate, @Nonnull MetricRegistry metricRegistry) {
+    this.delegate = requireNonNull(delegate, "delegate");
+    this.metricRegistry = requireNonNull(metricRegistry, "metricRegistry");
+  }
+
+  @Override
+  public void onEvent(Object event) {
+    Timer timer = timersByEventClass.computeIfAbsent(
+        event.getClass(),
+        eventClass -> metricRegistry.timer("eventbus.publish", "type", eventClass.getSimpleName())
+    );
+    long start = timer.start();
+    delegate.onEvent(event);
+    timer.stop(start);
+  }
+
+  @Override
+  public void subscribe(EventHandler listener) {
+    delegate.subscribe(listener);
+  }
+
+  @Override
+  public void unsubscribe(EventHandler listener) {
+    delegate.unsubscribe(listener);
+  }
+}
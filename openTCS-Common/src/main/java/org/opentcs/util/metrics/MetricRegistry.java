@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import javax.annotation.Nonnull;
+import static org.opentcs.util.Assertions.checkArgument;
+
+/**
+ * Creates and keeps meters, i.e. counters, timers and gauges.
+ * <p>
+ * A registry may be disabled, in which case it hands out meters that do not record anything and
+ * does not keep them.
+ * With a disabled registry, measuring e.g. a duration via {@link Timer#start()} and
+ * {@link Timer#stop(long)} does not even read the system clock, so instrumented code does not
+ * have to check whether metrics are enabled.
+ * </p>
+ * <p>
+ * Looking up a meter requires a map lookup. Code on hot paths should therefore keep references to
+ * the meters it uses instead of looking them up again for every measurement.
+ * </p>
+ */
+public class MetricRegistry {
+
+  /**
+   * A registry that is disabled.
+   */
+  public static final MetricRegistry DISABLED = new MetricRegistry(false);
+  /**
+   * The counter handed out by disabled registries.
+   */
+  private static final Counter NOOP_COUNTER = new NoopCounter();
+  /**
+   * The timer handed out by disabled registries.
+   */
+  private static final Timer NOOP_TIMER = new NoopTimer();
+  /**
+   * Whether this registry is enabled.
+   */
+  private final boolean enabled;
+  /**
+   * The registered meters, mapped by name and tags.
+   */
+  private final ConcurrentMap<MeterKey, Meter> meters = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param enabled Whether the registry is enabled.
+   */
+  public MetricRegistry(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Indicates whether this registry is enabled.
+   *
+   * @return Whether this registry is enabled.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the counter with the given name and tags, creating it if necessary.
+   *
+   * @param name The counter's name.
+   * @param tags The counter's tags, as alternating keys and values.
+   * @return The counter.
+   * @throws IllegalArgumentException If a meter of a different type with the same name and tags
+   * is already registered, or if the tags are not given as pairs of keys and values.
+   */
+  @Nonnull
+  public Counter counter(@Nonnull String name, @Nonnull String... tags)
+      throws IllegalArgumentException {
+    if (!enabled) {
+      return NOOP_COUNTER;
+    }
+    return register(Counter.class, name, tags, tagMap -> new Counter(name, tagMap));
+  }
+
+  /**
+   * Returns the timer with the given name and tags, creating it if necessary.
+   *
+   * @param name The timer's name.
+   * @param tags The timer's tags, as alternating keys and values.
+   * @return The timer.
+   * @throws IllegalArgumentException If a meter of a different type with the same name and tags
+   * is already registered, or if the tags are not given as pairs of keys and values.
+   */
+  @Nonnull
+  public Timer timer(@Nonnull String name, @Nonnull String... tags)
+      throws IllegalArgumentException {
+    if (!enabled) {
+      return NOOP_TIMER;
+    }
+    return register(Timer.class, name, tags, tagMap -> new Timer(name, tagMap));
+  }
+
+  /**
+   * Registers a gauge with the given name and tags, unless one is already registered.
+   *
+   * @param name The gauge's name.
+   * @param valueSupplier Provides the gauge's value. Must be thread-safe.
+   * @param tags The gauge's tags, as alternating keys and values.
+   * @throws IllegalArgumentException If a meter of a different type with the same name and tags
+   * is already registered, or if the tags are not given as pairs of keys and values.
+   */
+  public void gauge(@Nonnull String name,
+                    @Nonnull LongSupplier valueSupplier,
+                    @Nonnull String... tags)
+      throws IllegalArgumentException {
+    requireNonNull(valueSupplier, "valueSupplier");
+    if (!enabled) {
+      return;
+    }
+    register(Gauge.class, name, tags, tagMap -> new Gauge(name, tagMap, valueSupplier));
+  }
+
+  /**
+   * Returns all registered meters, sorted by name and tags.
+   *
+   * @return All registered meters.
+   */
+  @Nonnull
+  public List<Meter> getMeters() {
+    List<Meter> result = new ArrayList<>(meters.values());
+    result.sort(Comparator.comparing(Meter::getName)
+        .thenComparing(meter -> meter.getTags().toString()));
+    return result;
+  }
+
+  private <T extends Meter> T register(Class<T> type,
+                                       String name,
+                                       String[] tags,
+                                       Function<Map<String, String>, T> meterFactory) {
+    requireNonNull(name, "name");
+    requireNonNull(tags, "tags");
+    checkArgument(tags.length % 2 == 0, "Tags not given as pairs of keys and values");
+
+    Map<String, String> tagMap = new TreeMap<>();
+    for (int i = 0; i < tags.length; i += 2) {
+      tagMap.put(requireNonNull(tags[i], "tag key"), requireNonNull(tags[i + 1], "tag value"));
+    }
+
+    Meter meter = meters.computeIfAbsent(new MeterKey(name, tagMap),
+                                         key -> meterFactory.apply(tagMap));
+    checkArgument(type.isInstance(meter),
+                  "Meter %s%s already registered as %s",
+                  name,
+                  tagMap,
+                  meter.getClass().getSimpleName());
+    return type.cast(meter);
+  }
+
+  /**
+   * Identifies a meter by its name and tags.
+   */
+  private static class MeterKey {
+
+    private final String name;
+
+    private final Map<String, String> tags;
+
+    MeterKey(String name, Map<String, String> tags) {
+      this.name = name;
+      this.tags = tags;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof MeterKey)) {
+        return false;
+      }
+      MeterKey other = (MeterKey) obj;
+      return name.equals(other.name) && tags.equals(other.tags);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * name.hashCode() + tags.hashCode();
+    }
+  }
+
+  /**
+   * A counter that does not count anything.
+   */
+  private static class NoopCounter
+      extends Counter {
+
+    NoopCounter() {
+      super("noop", Map.of());
+    }
+
+    @Override
+    public void increment() {
+    }
+
+    @Override
+    public void increment(long amount) {
+    }
+  }
+
+  /**
+   * A timer that does not record anything.
+   */
+  private static class NoopTimer
+      extends Timer {
+
+    NoopTimer() {
+      super("noop", Map.of());
+    }
+
+    @Override
+    public long start() {
+      return 0;
+    }
+
+    @Override
+    public void stop(long startNanos) {
+    }
+
+    @Override
+    public void record(long durationNanos) {
+    }
+  }
+}
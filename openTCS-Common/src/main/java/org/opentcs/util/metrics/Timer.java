@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+
+/**
+ * Records durations in a histogram with fixed bucket bounds.
+ * <p>
+ * Durations can be recorded directly or measured like this:
+ * </p>
+ * <pre>
+ * long start = timer.start();
+ * ...
+ * timer.stop(start);
+ * </pre>
+ * <p>
+ * Recording durations is thread-safe and does not block.
+ * </p>
+ */
+public class Timer
+    extends Meter {
+
+  /**
+   * The (inclusive) upper bounds of the histogram's buckets, in nanoseconds, ranging from 10 µs to
+   * 10 s. Durations exceeding the last bound are counted in an additional overflow bucket.
+   */
+  private static final long[] BUCKET_BOUNDS_NANOS = {
+    10_000L, 25_000L, 50_000L, 100_000L, 250_000L, 500_000L,
+    1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L,
+    100_000_000L, 250_000_000L, 500_000_000L,
+    1_000_000_000L, 2_500_000_000L, 5_000_000_000L, 10_000_000_000L
+  };
+  /**
+   * The number of recorded durations per bucket.
+   */
+  private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_BOUNDS_NANOS.length + 1);
+  /**
+   * The number of recorded durations.
+   */
+  private final LongAdder count = new LongAdder();
+  /**
+   * The sum of all recorded durations, in nanoseconds.
+   */
+  private final LongAdder sumNanos = new LongAdder();
+  /**
+   * The maximum of all recorded durations, in nanoseconds.
+   */
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Creates a new instance.
+   *
+   * @param name The timer's name.
+   * @param tags The timer's tags.
+   */
+  public Timer(@Nonnull String name, @Nonnull Map<String, String> tags) {
+    super(name, tags);
+  }
+
+  /**
+   * Returns a start time for measuring a duration, to be passed to {@link #stop(long)}.
+   *
+   * @return A start time for measuring a duration.
+   */
+  public long start() {
+    return System.nanoTime();
+  }
+
+  /**
+   * Records the time elapsed since the given start time.
+   *
+   * @param startNanos A start time returned by {@link #start()}.
+   */
+  public void stop(long startNanos) {
+    record(System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Records the given duration.
+   *
+   * @param durationNanos The duration, in nanoseconds.
+   */
+  public void record(long durationNanos) {
+    int bucket = 0;
+    while (bucket < BUCKET_BOUNDS_NANOS.length && durationNanos > BUCKET_BOUNDS_NANOS[bucket]) {
+      bucket++;
+    }
+    bucketCounts.incrementAndGet(bucket);
+    count.increment();
+    sumNanos.add(durationNanos);
+    maxNanos.accumulate(durationNanos);
+  }
+
+  /**
+   * Returns the (inclusive) upper bounds of the histogram's buckets, in nanoseconds.
+   *
+   * @return The upper bounds of the histogram's buckets.
+   */
+  public long[] getBucketBoundsNanos() {
+    return Arrays.copyOf(BUCKET_BOUNDS_NANOS, BUCKET_BOUNDS_NANOS.length);
+  }
+
+  /**
+   * Returns the number of recorded durations per bucket.
+   * The returned array contains one more element than the array of bucket bounds, with the last
+   * element being the number of durations that exceeded the last bound.
+   *
+   * @return The number of recorded durations per bucket.
+   */
+  public long[] getBucketCounts() {
+    long[] result = new long[bucketCounts.length()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = bucketCounts.get(i);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of recorded durations.
+   *
+   * @return The number of recorded durations.
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Returns the sum of all recorded durations, in nanoseconds.
+   *
+   * @return The sum of all recorded durations.
+   */
+  public long getSumNanos() {
+    return sumNanos.sum();
+  }
+
+  /**
+   * Returns the maximum of all recorded durations, in nanoseconds.
+   *
+   * @return The maximum of all recorded durations.
+   */
+  public long getMaxNanos() {
+    return maxNanos.get();
+  }
+
+  @Override
+  public String toString() {
+    long currentCount = getCount();
+    return "Timer{"
+        + "name=" + getName()
+        + ", tags=" + getTags()
+        + ", count=" + currentCount
+        + ", meanMicros=" + (currentCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(getSumNanos())
+                                                         / currentCount)
+        + ", maxMicros=" + TimeUnit.NANOSECONDS.toMicros(getMaxNanos())
+        + '}';
+  }
+}
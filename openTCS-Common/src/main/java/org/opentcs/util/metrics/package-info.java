@@ -0,0 +1,4 @@
+/**
+ * Classes for collecting metrics, e.g. about the durations of tasks on hot paths of the kernel.
+ */
+package org.opentcs.util.metrics;
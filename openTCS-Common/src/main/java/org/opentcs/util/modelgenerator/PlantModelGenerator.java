@@ -0,0 +1,660 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.modelgenerator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import org.opentcs.access.to.model.BlockCreationTO;
+import org.opentcs.access.to.model.LocationCreationTO;
+import org.opentcs.access.to.model.LocationTypeCreationTO;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
+import org.opentcs.common.LoopbackAdapterConstants;
+import org.opentcs.components.kernel.Router;
+import org.opentcs.data.model.Block;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Triple;
+import org.opentcs.data.peripherals.PeripheralOperation;
+import static org.opentcs.util.Assertions.checkArgument;
+
+/**
+ * Generates synthetic plant models of arbitrary size, e.g. for scale tests and benchmarks.
+ * <p>
+ * The points of a generated model are arranged in rows and columns, either as a grid with paths
+ * in both directions between neighbouring points, or as a warehouse with aisles of one-way lanes
+ * connected by cross-aisles at both ends.
+ * In addition, a generated model may contain:
+ * </p>
+ * <ul>
+ * <li>Locations linked to points, evenly distributed over the driving course.</li>
+ * <li>Peripheral devices (locations with a loopback peripheral), with peripheral operations on
+ * paths evenly distributed over the driving course.</li>
+ * <li>Blocks of every {@link Block.Type}, each containing a square of four points and the paths
+ * between them.</li>
+ * <li>Vehicles with a park position of their own, assigned to routing groups round-robin.</li>
+ * </ul>
+ * <p>
+ * Instances of this class are immutable. Generating a model is deterministic, i.e. the same
+ * configuration always results in the same model.
+ * </p>
+ */
+public class PlantModelGenerator {
+
+  /**
+   * The name of the location type used for locations.
+   */
+  public static final String STATION_TYPE_NAME = "LType-Station";
+  /**
+   * The name of the location type used for peripheral devices.
+   */
+  public static final String PERIPHERAL_TYPE_NAME = "LType-Peripheral";
+  /**
+   * The operation peripheral devices perform.
+   */
+  public static final String PERIPHERAL_OPERATION = "Open door";
+  /**
+   * The property marking locations to be attached to the loopback peripheral driver.
+   */
+  private static final String PROPKEY_LOOPBACK_PERIPHERAL = "tcs:loopbackPeripheral";
+  /**
+   * The maximum velocity of paths and vehicles (in mm/s).
+   */
+  private static final int MAX_VELOCITY = 1000;
+  /**
+   * The name of the generated model.
+   */
+  private final String name;
+  /**
+   * The layout of the driving course.
+   */
+  private final Layout layout;
+  /**
+   * The number of rows of points.
+   */
+  private final int rows;
+  /**
+   * The number of columns of points.
+   */
+  private final int columns;
+  /**
+   * The distance between two neighbouring points (in mm).
+   */
+  private final int pointDistance;
+  /**
+   * The number of locations.
+   */
+  private final int locationCount;
+  /**
+   * The number of peripheral devices.
+   */
+  private final int peripheralCount;
+  /**
+   * The number of blocks of every type.
+   */
+  private final int blocksPerType;
+  /**
+   * The number of vehicles.
+   */
+  private final int vehicleCount;
+  /**
+   * The number of routing groups.
+   */
+  private final int routingGroupCount;
+
+  /**
+   * Creates a new instance for a 10x10 grid with 20 locations and 10 vehicles in one routing
+   * group.
+   */
+  public PlantModelGenerator() {
+    this("Generated-Model", Layout.GRID, 10, 10, 5000, 20, 0, 0, 10, 1);
+  }
+
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  private PlantModelGenerator(String name,
+                              Layout layout,
+                              int rows,
+                              int columns,
+                              int pointDistance,
+                              int locationCount,
+                              int peripheralCount,
+                              int blocksPerType,
+                              int vehicleCount,
+                              int routingGroupCount) {
+    this.name = requireNonNull(name, "name");
+    this.layout = requireNonNull(layout, "layout");
+    this.rows = rows;
+    this.columns = columns;
+    this.pointDistance = pointDistance;
+    this.locationCount = locationCount;
+    this.peripheralCount = peripheralCount;
+    this.blocksPerType = blocksPerType;
+    this.vehicleCount = vehicleCount;
+    this.routingGroupCount = routingGroupCount;
+  }
+
+  @Nonnull
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Creates a copy of this object with the given model name.
+   *
+   * @param name The model name.
+   * @return A copy of this object, differing in the given value.
+   */
+  public PlantModelGenerator withName(@Nonnull String name) {
+    return new PlantModelGenerator(name,
+                                   layout,
+                                   rows,
+                                   columns,
+                                   pointDistance,
+                                   locationCount,
+                                   peripheralCount,
+                                   blocksPerType,
+                                   vehicleCount,
+                                   routingGroupCount);
+  }
+
+  @Nonnull
+  public Layout getLayout() {
+    return layout;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  /**
+   * Creates a copy of this object with the given layout and dimensions.
+   * <p>
+   * For {@link Layout#AISLES}, every column is an aisle, and the first and last row are the
+   * cross-aisles connecting them.
+   * </p>
+   *
+   * @param layout The layout of the driving course.
+   * @param rows The number of rows of points. Must be at least 1 for {@link Layout#GRID} and at
+   * least 3 for {@link Layout#AISLES}.
+   * @param columns The number of columns of points. Must be at least 2.
+   * @return A copy of this object, differing in the given values.
+   */
+  public PlantModelGenerator withLayout(@Nonnull Layout layout, int rows, int columns) {
+    requireNonNull(layout, "layout");
+    checkArgument(rows >= layout.getMinimumRows(),
+                  "rows < %s: %s",
+                  layout.getMinimumRows(),
+                  rows);
+    checkArgument(columns >= 2, "columns < 2: %s", columns);
+    return new PlantModelGenerator(name,
+                                   layout,
+                                   rows,
+                                   columns,
+                                   pointDistance,
+                                   locationCount,
+                                   peripheralCount,
+                                   blocksPerType,
+                                   vehicleCount,
+                                   routingGroupCount);
+  }
+
+  public int getPointDistance() {
+    return pointDistance;
+  }
+
+  /**
+   * Creates a copy of this object with the given distance between neighbouring points.
+   *
+   * @param pointDistance The distance between neighbouring points (in mm).
+   * @return A copy of this object, differing in the given value.
+   */
+  public PlantModelGenerator withPointDistance(int pointDistance) {
+    checkArgument(pointDistance > 0, "pointDistance <= 0: %s", pointDistance);
+    return new PlantModelGenerator(name,
+                                   layout,
+                                   rows,
+                                   columns,
+                                   pointDistance,
+                                   locationCount,
+                                   peripheralCount,
+                                   blocksPerType,
+                                   vehicleCount,
+                                   routingGroupCount);
+  }
+
+  public int getLocationCount() {
+    return locationCount;
+  }
+
+  /**
+   * Creates a copy of this object with the given number of locations.
+   *
+   * @param locationCount The number of locations. Must not exceed the number of points.
+   * @return A copy of this object, differing in the given value.
+   */
+  public PlantModelGenerator withLocationCount(int locationCount) {
+    checkArgument(locationCount >= 0, "locationCount < 0: %s", locationCount);
+    return new PlantModelGenerator(name,
+                                   layout,
+                                   rows,
+                                   columns,
+                                   pointDistance,
+                                   locationCount,
+                                   peripheralCount,
+                                   blocksPerType,
+                                   vehicleCount,
+                                   routingGroupCount);
+  }
+
+  public int getPeripheralCount() {
+    return peripheralCount;
+  }
+
+  /**
+   * Creates a copy of this object with the given number of peripheral devices.
+   *
+   * @param peripheralCount The number of peripheral devices. Every device is used by a peripheral
+   * operation on a distinct path, so this must not exceed the number of paths.
+   * @return A copy of this object, differing in the given value.
+   */
+  public PlantModelGenerator withPeripheralCount(int peripheralCount) {
+    checkArgument(peripheralCount >= 0, "peripheralCount < 0: %s", peripheralCount);
+    return new PlantModelGenerator(name,
+                                   layout,
+                                   rows,
+                                   columns,
+                                   pointDistance,
+                                   locationCount,
+                                   peripheralCount,
+                                   blocksPerType,
+                                   vehicleCount,
+                                   routingGroupCount);
+  }
+
+  public int getBlocksPerType() {
+    return blocksPerType;
+  }
+
+  /**
+   * Creates a copy of this object with the given number of blocks of every type.
+   *
+   * @param blocksPerType The number of blocks of every type.
+   * @return A copy of this object, differing in the given value.
+   */
+  public PlantModelGenerator withBlocksPerType(int blocksPerType) {
+    checkArgument(blocksPerType >= 0, "blocksPerType < 0: %s", blocksPerType);
+    return new PlantModelGenerator(name,
+                                   layout,
+                                   rows,
+                                   columns,
+                                   pointDistance,
+                                   locationCount,
+                                   peripheralCount,
+                                   blocksPerType,
+                                   vehicleCount,
+                                   routingGroupCount);
+  }
+
+  public int getVehicleCount() {
+    return vehicleCount;
+  }
+
+  public int getRoutingGroupCount() {
+    return routingGroupCount;
+  }
+
+  /**
+   * Creates a copy of this object with the given number of vehicles and routing groups.
+   *
+   * @param vehicleCount The number of vehicles. Every vehicle gets a park position connected to a
+   * distinct point, so this must not exceed the number of points.
+   * @param routingGroupCount The number of routing groups the vehicles are assigned to.
+   * @return A copy of this object, differing in the given values.
+   */
+  public PlantModelGenerator withVehicles(int vehicleCount, int routingGroupCount) {
+    checkArgument(vehicleCount >= 0, "vehicleCount < 0: %s", vehicleCount);
+    checkArgument(routingGroupCount > 0, "routingGroupCount <= 0: %s", routingGroupCount);
+    return new PlantModelGenerator(name,
+                                   layout,
+                                   rows,
+                                   columns,
+                                   pointDistance,
+                                   locationCount,
+                                   peripheralCount,
+                                   blocksPerType,
+                                   vehicleCount,
+                                   routingGroupCount);
+  }
+
+  /**
+   * Generates a plant model.
+   *
+   * @return The generated plant model.
+   * @throws IllegalArgumentException If the driving course is too small for the configured number
+   * of locations, peripheral devices, blocks or vehicles.
+   */
+  @Nonnull
+  public PlantModelCreationTO generate()
+      throws IllegalArgumentException {
+    int pointCount = rows * columns;
+    checkArgument(locationCount <= pointCount,
+                  "More locations than points: %s > %s",
+                  locationCount,
+                  pointCount);
+    checkArgument(vehicleCount <= pointCount,
+                  "More vehicles than points: %s > %s",
+                  vehicleCount,
+                  pointCount);
+
+    List<PointCreationTO> points = new ArrayList<>(pointCount + vehicleCount);
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        points.add(
+            new PointCreationTO(pointName(row, column))
+                .withPosition(position(row, column))
+                .withType(Point.Type.HALT_POSITION)
+        );
+      }
+    }
+
+    // Keep the paths in insertion order so the generated model is always the same.
+    Map<String, PathCreationTO> paths = new LinkedHashMap<>();
+    if (layout == Layout.GRID) {
+      addGridPaths(paths);
+    }
+    else {
+      addAislePaths(paths);
+    }
+
+    List<LocationTypeCreationTO> locationTypes = new ArrayList<>();
+    List<LocationCreationTO> locations = new ArrayList<>();
+    addLocations(locationTypes, locations);
+    addPeripherals(paths, locationTypes, locations);
+
+    List<BlockCreationTO> blocks = createBlocks(paths);
+
+    List<VehicleCreationTO> vehicles = new ArrayList<>(vehicleCount);
+    addVehicles(points, paths, vehicles);
+
+    return new PlantModelCreationTO(name)
+        .withPoints(points)
+        .withPaths(new ArrayList<>(paths.values()))
+        .withLocationTypes(locationTypes)
+        .withLocations(locations)
+        .withBlocks(blocks)
+        .withVehicles(vehicles);
+  }
+
+  @Override
+  public String toString() {
+    return "PlantModelGenerator{"
+        + "name=" + name
+        + ", layout=" + layout
+        + ", rows=" + rows
+        + ", columns=" + columns
+        + ", pointDistance=" + pointDistance
+        + ", locationCount=" + locationCount
+        + ", peripheralCount=" + peripheralCount
+        + ", blocksPerType=" + blocksPerType
+        + ", vehicleCount=" + vehicleCount
+        + ", routingGroupCount=" + routingGroupCount
+        + '}';
+  }
+
+  private void addGridPaths(Map<String, PathCreationTO> paths) {
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        if (column > 0) {
+          addPath(paths, pointName(row, column - 1), pointName(row, column));
+          addPath(paths, pointName(row, column), pointName(row, column - 1));
+        }
+        if (row > 0) {
+          addPath(paths, pointName(row - 1, column), pointName(row, column));
+          addPath(paths, pointName(row, column), pointName(row - 1, column));
+        }
+      }
+    }
+  }
+
+  private void addAislePaths(Map<String, PathCreationTO> paths) {
+    // The cross-aisles in the first and last row can be used in both directions.
+    for (int row : new int[]{0, rows - 1}) {
+      for (int column = 1; column < columns; column++) {
+        addPath(paths, pointName(row, column - 1), pointName(row, column));
+        addPath(paths, pointName(row, column), pointName(row, column - 1));
+      }
+    }
+    // The aisles are one-way lanes, in alternating directions.
+    for (int column = 0; column < columns; column++) {
+      for (int row = 1; row < rows; row++) {
+        if (column % 2 == 0) {
+          addPath(paths, pointName(row - 1, column), pointName(row, column));
+        }
+        else {
+          addPath(paths, pointName(row, column), pointName(row - 1, column));
+        }
+      }
+    }
+  }
+
+  private void addLocations(List<LocationTypeCreationTO> locationTypes,
+                            List<LocationCreationTO> locations) {
+    if (locationCount == 0) {
+      return;
+    }
+
+    locationTypes.add(
+        new LocationTypeCreationTO(STATION_TYPE_NAME)
+            .withAllowedOperations(List.of(LoopbackAdapterConstants.PROPVAL_LOAD_OPERATION_DEFAULT,
+                                           LoopbackAdapterConstants.PROPVAL_UNLOAD_OPERATION_DEFAULT))
+    );
+
+    // Distribute the locations evenly over all points.
+    long pointCount = rows * columns;
+    for (int i = 0; i < locationCount; i++) {
+      int pointIndex = (int) (i * pointCount / locationCount);
+      int row = pointIndex / columns;
+      int column = pointIndex % columns;
+      Triple pointPosition = position(row, column);
+      locations.add(
+          new LocationCreationTO("Location-" + pointName(row, column),
+                                 STATION_TYPE_NAME,
+                                 new Triple(pointPosition.getX() - pointDistance / 4,
+                                            pointPosition.getY() + pointDistance / 4,
+                                            0))
+              .withLink(pointName(row, column), Set.of())
+      );
+    }
+  }
+
+  private void addPeripherals(Map<String, PathCreationTO> paths,
+                              List<LocationTypeCreationTO> locationTypes,
+                              List<LocationCreationTO> locations) {
+    if (peripheralCount == 0) {
+      return;
+    }
+    checkArgument(peripheralCount <= paths.size(),
+                  "More peripheral devices than paths: %s > %s",
+                  peripheralCount,
+                  paths.size());
+
+    locationTypes.add(
+        new LocationTypeCreationTO(PERIPHERAL_TYPE_NAME)
+            .withAllowedPeripheralOperations(List.of(PERIPHERAL_OPERATION))
+    );
+
+    // Distribute the peripheral operations evenly over all paths.
+    List<String> pathNames = new ArrayList<>(paths.keySet());
+    for (int i = 0; i < peripheralCount; i++) {
+      PathCreationTO path = paths.get(pathNames.get(i * pathNames.size() / peripheralCount));
+      String deviceName = String.format("Peripheral-%05d", i + 1);
+      locations.add(
+          new LocationCreationTO(deviceName,
+                                 PERIPHERAL_TYPE_NAME,
+                                 midPosition(path.getSrcPointName(), path.getDestPointName()))
+              .withProperty(PROPKEY_LOOPBACK_PERIPHERAL, "true")
+      );
+      paths.put(path.getName(),
+                path.withPeripheralOperations(List.of(
+                    new PeripheralOperationCreationTO(PERIPHERAL_OPERATION, deviceName)
+                        .withExecutionTrigger(PeripheralOperation.ExecutionTrigger.AFTER_MOVEMENT)
+                )));
+    }
+  }
+
+  private List<BlockCreationTO> createBlocks(Map<String, PathCreationTO> paths) {
+    List<BlockCreationTO> blocks = new ArrayList<>();
+    if (blocksPerType == 0) {
+      return blocks;
+    }
+
+    // Blocks are squares of 2x2 points. Leave a gap between them so they do not overlap.
+    List<int[]> squares = new ArrayList<>();
+    for (int row = 0; row + 1 < rows; row += 3) {
+      for (int column = 0; column + 1 < columns; column += 3) {
+        squares.add(new int[]{row, column});
+      }
+    }
+    Block.Type[] types = Block.Type.values();
+    checkArgument(blocksPerType * types.length <= squares.size(),
+                  "Not enough room for %s blocks per type",
+                  blocksPerType);
+
+    for (int i = 0; i < blocksPerType * types.length; i++) {
+      int row = squares.get(i)[0];
+      int column = squares.get(i)[1];
+      Set<String> pointNames = Set.of(pointName(row, column),
+                                      pointName(row, column + 1),
+                                      pointName(row + 1, column),
+                                      pointName(row + 1, column + 1));
+      Set<String> memberNames = new HashSet<>(pointNames);
+      for (PathCreationTO path : paths.values()) {
+        if (pointNames.contains(path.getSrcPointName())
+            && pointNames.contains(path.getDestPointName())) {
+          memberNames.add(path.getName());
+        }
+      }
+      blocks.add(
+          new BlockCreationTO(String.format("Block-%04d", i + 1))
+              .withType(types[i % types.length])
+              .withMemberNames(memberNames)
+      );
+    }
+    return blocks;
+  }
+
+  private void addVehicles(List<PointCreationTO> points,
+                           Map<String, PathCreationTO> paths,
+                           List<VehicleCreationTO> vehicles) {
+    for (int i = 0; i < vehicleCount; i++) {
+      // Connect the park positions to the points in row-major order. A park position is a dead
+      // end, so it can be connected to one-way lanes, too.
+      int row = i / columns;
+      int column = i % columns;
+      String parkPointName = String.format("Park-%04d-%04d", row, column);
+      Triple pointPosition = position(row, column);
+      points.add(
+          new PointCreationTO(parkPointName)
+              .withPosition(new Triple(pointPosition.getX() + pointDistance / 2,
+                                       pointPosition.getY() - pointDistance / 2,
+                                       0))
+              .withType(Point.Type.PARK_POSITION)
+      );
+      addPath(paths, pointName(row, column), parkPointName);
+      addPath(paths, parkPointName, pointName(row, column));
+
+      VehicleCreationTO vehicle = new VehicleCreationTO(String.format("Vehicle-%04d", i + 1))
+          .withMaxVelocity(MAX_VELOCITY)
+          .withMaxReverseVelocity(MAX_VELOCITY)
+          .withProperty(LoopbackAdapterConstants.PROPKEY_INITIAL_POSITION, parkPointName);
+      if (routingGroupCount > 1) {
+        vehicle = vehicle.withProperty(Router.PROPKEY_ROUTING_GROUP,
+                                       "RoutingGroup-" + (i % routingGroupCount + 1));
+      }
+      vehicles.add(vehicle);
+    }
+  }
+
+  private void addPath(Map<String, PathCreationTO> paths,
+                       String srcPointName,
+                       String destPointName) {
+    String pathName = srcPointName + " --- " + destPointName;
+    paths.put(pathName,
+              new PathCreationTO(pathName, srcPointName, destPointName)
+                  .withLength(pointDistance)
+                  .withMaxVelocity(MAX_VELOCITY)
+                  .withMaxReverseVelocity(MAX_VELOCITY));
+  }
+
+  private Triple position(int row, int column) {
+    return new Triple((long) column * pointDistance, (long) row * pointDistance, 0);
+  }
+
+  private Triple midPosition(String srcPointName, String destPointName) {
+    Triple srcPosition = positionOf(srcPointName);
+    Triple destPosition = positionOf(destPointName);
+    return new Triple((srcPosition.getX() + destPosition.getX()) / 2,
+                      (srcPosition.getY() + destPosition.getY()) / 2,
+                      0);
+  }
+
+  private Triple positionOf(String pointName) {
+    // Point names are "Point-<row>-<column>".
+    String[] parts = pointName.split("-");
+    return position(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+  }
+
+  private static String pointName(int row, int column) {
+    return String.format("Point-%04d-%04d", row, column);
+  }
+
+  /**
+   * The layouts of generated driving courses.
+   */
+  public enum Layout {
+    /**
+     * A grid with paths in both directions between neighbouring points.
+     */
+    GRID(1),
+    /**
+     * Parallel aisles (one per column) of one-way lanes in alternating directions, connected by
+     * cross-aisles with paths in both directions in the first and last row.
+     */
+    AISLES(3);
+
+    /**
+     * The minimum number of rows for this layout.
+     */
+    private final int minimumRows;
+
+    Layout(int minimumRows) {
+      this.minimumRows = minimumRows;
+    }
+
+    /**
+     * Returns the minimum number of rows for this layout.
+     *
+     * @return The minimum number of rows for this layout.
+     */
+    public int getMinimumRows() {
+      return minimumRows;
+    }
+  }
+}
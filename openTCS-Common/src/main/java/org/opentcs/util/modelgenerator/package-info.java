@@ -0,0 +1,4 @@
+/**
+ * Classes for generating synthetic plant models, e.g. for scale tests and benchmarks.
+ */
+package org.opentcs.util.modelgenerator;
@@ -18,10 +18,12 @@ import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.opentcs.access.to.model.PlantModelCreationTO;
 import org.opentcs.util.persistence.v004.V004ModelParser;
-import org.opentcs.util.persistence.v004.V004PlantModelTO;
-import org.opentcs.util.persistence.v004.V004TOMapper;
+import org.opentcs.util.persistence.v004.V004ModelStreamWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +42,10 @@ public class ModelParser {
    * The charset to use for the reader/writer.
    */
   private static final Charset CHARSET = Charset.forName("UTF-8");
+  /**
+   * Creates readers for peeking into model files.
+   */
+  private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
 
   /**
    * Creates a new instance.
@@ -78,17 +84,46 @@ public class ModelParser {
       throws IOException {
     try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file),
                                                                    CHARSET))) {
-      V004TOMapper mapper = new V004TOMapper();
-      V004PlantModelTO mappedModel = mapper.map(model);
-      mappedModel.toXml(writer);
+      new V004ModelStreamWriter().write(model, writer);
     }
   }
 
+  private static XMLInputFactory createXmlInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+
+  /**
+   * Reads the model version from the root element of the given file.
+   * <p>
+   * Only the beginning of the file is parsed, as opposed to the complete document.
+   * </p>
+   *
+   * @param file The model file to read.
+   * @return The model version.
+   * @throws IOException If there was an error reading the model file.
+   */
   private String peekModelVersion(File file)
       throws IOException {
     try (Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file),
                                                                   CHARSET))) {
-      return ProbePlantModelTO.fromXml(reader).getVersion();
+      XMLStreamReader xmlReader = XML_INPUT_FACTORY.createXMLStreamReader(reader);
+      try {
+        xmlReader.nextTag();
+        String version = xmlReader.getAttributeValue(null, "version");
+        if (version == null) {
+          throw new IOException("Model file does not specify a model version.");
+        }
+        return version;
+      }
+      finally {
+        xmlReader.close();
+      }
+    }
+    catch (XMLStreamException exc) {
+      throw new IOException("Exception reading model version", exc);
     }
   }
 }
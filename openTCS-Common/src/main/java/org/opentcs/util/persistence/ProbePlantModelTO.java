@@ -30,6 +30,11 @@ import org.xml.sax.SAXException;
 public class ProbePlantModelTO
     extends BasePlantModelTO {
 
+  /**
+   * The JAXB context for this class, created lazily.
+   */
+  private static JAXBContext jaxbContext;
+
   /**
    * Creates a new instance.
    */
@@ -61,8 +66,11 @@ public class ProbePlantModelTO
     return unmarshaller;
   }
 
-  private static JAXBContext createContext()
+  private static synchronized JAXBContext createContext()
       throws JAXBException {
-    return JAXBContext.newInstance(ProbePlantModelTO.class);
+    if (jaxbContext == null) {
+      jaxbContext = JAXBContext.newInstance(ProbePlantModelTO.class);
+    }
+    return jaxbContext;
   }
 }
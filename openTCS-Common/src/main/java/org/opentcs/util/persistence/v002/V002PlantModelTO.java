@@ -43,6 +43,15 @@ import org.xml.sax.SAXException;
 public class V002PlantModelTO
     extends BasePlantModelTO {
 
+  /**
+   * The JAXB context for this class, created lazily.
+   */
+  private static JAXBContext jaxbContext;
+  /**
+   * The schema for validating XML representations of this class, created lazily.
+   */
+  private static Schema schema;
+
   private String name = "";
   private List<PointTO> points = new ArrayList<>();
   private List<PathTO> paths = new ArrayList<>();
@@ -234,16 +243,22 @@ public class V002PlantModelTO
     return unmarshaller;
   }
 
-  private static JAXBContext createContext()
+  private static synchronized JAXBContext createContext()
       throws JAXBException {
-    return JAXBContext.newInstance(V002PlantModelTO.class);
+    if (jaxbContext == null) {
+      jaxbContext = JAXBContext.newInstance(V002PlantModelTO.class);
+    }
+    return jaxbContext;
   }
 
-  private static Schema createSchema()
+  private static synchronized Schema createSchema()
       throws SAXException {
-    URL schemaUrl
-        = V002PlantModelTO.class.getResource("/org/opentcs/util/persistence/model-0.0.2.xsd");
-    SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-    return schemaFactory.newSchema(schemaUrl);
+    if (schema == null) {
+      URL schemaUrl
+          = V002PlantModelTO.class.getResource("/org/opentcs/util/persistence/model-0.0.2.xsd");
+      SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+      schema = schemaFactory.newSchema(schemaUrl);
+    }
+    return schema;
   }
 }
@@ -42,6 +42,15 @@ import org.xml.sax.SAXException;
 public class V003PlantModelTO
     extends BasePlantModelTO {
 
+  /**
+   * The JAXB context for this class, created lazily.
+   */
+  private static JAXBContext jaxbContext;
+  /**
+   * The schema for validating XML representations of this class, created lazily.
+   */
+  private static Schema schema;
+
   private String name = "";
   private List<PointTO> points = new ArrayList<>();
   private List<PathTO> paths = new ArrayList<>();
@@ -221,16 +230,22 @@ public class V003PlantModelTO
     return unmarshaller;
   }
 
-  private static JAXBContext createContext()
+  private static synchronized JAXBContext createContext()
       throws JAXBException {
-    return JAXBContext.newInstance(V003PlantModelTO.class);
+    if (jaxbContext == null) {
+      jaxbContext = JAXBContext.newInstance(V003PlantModelTO.class);
+    }
+    return jaxbContext;
   }
 
-  private static Schema createSchema()
+  private static synchronized Schema createSchema()
       throws SAXException {
-    URL schemaUrl
-        = V003PlantModelTO.class.getResource("/org/opentcs/util/persistence/model-0.0.3.xsd");
-    SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-    return schemaFactory.newSchema(schemaUrl);
+    if (schema == null) {
+      URL schemaUrl
+          = V003PlantModelTO.class.getResource("/org/opentcs/util/persistence/model-0.0.3.xsd");
+      SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+      schema = schemaFactory.newSchema(schemaUrl);
+    }
+    return schema;
   }
 }
@@ -51,6 +51,9 @@ public class V004ModelParser {
    */
   public PlantModelCreationTO read(Reader reader, String modelVersion)
       throws IOException {
+    if (Objects.equals(modelVersion, V004TOMapper.VERSION_STRING)) {
+      return new V004ModelStreamReader(true).read(reader);
+    }
     return new V004TOMapper().map(readRaw(reader, modelVersion));
   }
 
@@ -0,0 +1,669 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.persistence.v004;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import javax.xml.validation.ValidatorHandler;
+import org.opentcs.access.to.model.BlockCreationTO;
+import org.opentcs.access.to.model.LocationCreationTO;
+import org.opentcs.access.to.model.LocationTypeCreationTO;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.access.to.model.VisualLayoutCreationTO;
+import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
+import org.opentcs.data.model.Block;
+import org.opentcs.data.model.Couple;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Triple;
+import org.opentcs.data.model.visualization.Layer;
+import org.opentcs.data.model.visualization.LayerGroup;
+import org.opentcs.data.model.visualization.LocationRepresentation;
+import org.opentcs.data.peripherals.PeripheralOperation;
+import org.opentcs.util.Colors;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Reads V004 models element by element, directly into a {@link PlantModelCreationTO}.
+ * <p>
+ * As opposed to {@link V004PlantModelTO#fromXml(java.io.Reader)}, this does not build the complete
+ * tree of transfer objects before mapping it, so only the resulting creation TOs are kept in
+ * memory. The mapping itself is equivalent to the one done by {@link V004TOMapper}.
+ * </p>
+ */
+public class V004ModelStreamReader {
+
+  /**
+   * Creates readers for model files.
+   */
+  private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+  /**
+   * Whether the model is validated against the schema while reading it.
+   */
+  private final boolean validating;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param validating Whether the model should be validated against the schema while reading it.
+   */
+  public V004ModelStreamReader(boolean validating) {
+    this.validating = validating;
+  }
+
+  /**
+   * Reads a model with the given reader and parses it to a {@link PlantModelCreationTO} instance.
+   *
+   * @param reader The reader to use.
+   * @return The parsed {@link PlantModelCreationTO}.
+   * @throws IOException If there was an error reading the model or, if validating, the model does
+   * not conform to the schema.
+   */
+  public PlantModelCreationTO read(@Nonnull Reader reader)
+      throws IOException {
+    requireNonNull(reader, "reader");
+
+    try {
+      XMLStreamReader xml = createXmlStreamReader(reader);
+      try {
+        return readModel(xml);
+      }
+      finally {
+        xml.close();
+      }
+    }
+    catch (XMLStreamException | SAXException | IllegalArgumentException exc) {
+      throw new IOException("Exception parsing model", exc);
+    }
+  }
+
+  private XMLStreamReader createXmlStreamReader(Reader reader)
+      throws XMLStreamException, SAXException {
+    XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(reader);
+    if (!validating) {
+      return xml;
+    }
+    return new ValidatingStreamReader(xml, V004PlantModelTO.createSchema().newValidatorHandler());
+  }
+
+  private PlantModelCreationTO readModel(XMLStreamReader xml)
+      throws XMLStreamException {
+    xml.nextTag();
+    requireElement(xml, "model");
+
+    String name = stringAttribute(xml, "name", "");
+    List<PointCreationTO> points = new ArrayList<>();
+    List<PathCreationTO> paths = new ArrayList<>();
+    List<VehicleCreationTO> vehicles = new ArrayList<>();
+    List<LocationTypeCreationTO> locationTypes = new ArrayList<>();
+    List<LocationCreationTO> locations = new ArrayList<>();
+    List<BlockCreationTO> blocks = new ArrayList<>();
+    VisualLayoutCreationTO visualLayout = new VisualLayoutCreationTO("")
+        .withScaleX(0.0F)
+        .withScaleY(0.0F);
+    Map<String, String> properties = new HashMap<>();
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "point":
+          points.add(readPoint(xml));
+          break;
+        case "path":
+          paths.add(readPath(xml));
+          break;
+        case "vehicle":
+          vehicles.add(readVehicle(xml));
+          break;
+        case "locationType":
+          locationTypes.add(readLocationType(xml));
+          break;
+        case "location":
+          locations.add(readLocation(xml));
+          break;
+        case "block":
+          blocks.add(readBlock(xml));
+          break;
+        case "visualLayout":
+          visualLayout = readVisualLayout(xml);
+          break;
+        case "property":
+          readProperty(xml, properties);
+          break;
+        default:
+          skipElement(xml);
+      }
+    }
+
+    // Consume the rest of the document so a validating reader sees the end of it, too.
+    while (xml.hasNext()) {
+      xml.next();
+    }
+
+    return new PlantModelCreationTO(name)
+        .withPoints(points)
+        .withVehicles(vehicles)
+        .withPaths(paths)
+        .withLocationTypes(locationTypes)
+        .withLocations(locations)
+        .withBlocks(blocks)
+        .withVisualLayout(visualLayout)
+        .withProperties(properties);
+  }
+
+  private PointCreationTO readPoint(XMLStreamReader xml)
+      throws XMLStreamException {
+    String name = stringAttribute(xml, "name", "");
+    Triple position = new Triple(longAttribute(xml, "xPosition", 0L),
+                                 longAttribute(xml, "yPosition", 0L),
+                                 longAttribute(xml, "zPosition", 0L));
+    float vehicleOrientationAngle = floatAttribute(xml, "vehicleOrientationAngle", 0.0F);
+    Point.Type type = Point.Type.valueOf(stringAttribute(xml, "type", ""));
+    Map<String, String> properties = new HashMap<>();
+    PointCreationTO.Layout layout = new PointCreationTO.Layout(new Couple(0, 0),
+                                                               new Couple(0, 0),
+                                                               0);
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "property":
+          readProperty(xml, properties);
+          break;
+        case "pointLayout":
+          layout = new PointCreationTO.Layout(
+              new Couple(longAttribute(xml, "xPosition", 0L),
+                         longAttribute(xml, "yPosition", 0L)),
+              new Couple(longAttribute(xml, "xLabelOffset", 0L),
+                         longAttribute(xml, "yLabelOffset", 0L)),
+              intAttribute(xml, "layerId", 0)
+          );
+          skipElement(xml);
+          break;
+        default:
+          // Outgoing paths are implied by the paths' source points.
+          skipElement(xml);
+      }
+    }
+
+    return new PointCreationTO(name)
+        .withPosition(position)
+        .withVehicleOrientationAngle(vehicleOrientationAngle)
+        .withType(type)
+        .withProperties(properties)
+        .withLayout(layout);
+  }
+
+  private PathCreationTO readPath(XMLStreamReader xml)
+      throws XMLStreamException {
+    String name = stringAttribute(xml, "name", "");
+    String sourcePoint = stringAttribute(xml, "sourcePoint", "");
+    String destinationPoint = stringAttribute(xml, "destinationPoint", "");
+    long length = longAttribute(xml, "length", 0L);
+    long maxVelocity = longAttribute(xml, "maxVelocity", 0L);
+    long maxReverseVelocity = longAttribute(xml, "maxReverseVelocity", 0L);
+    boolean locked = booleanAttribute(xml, "locked", false);
+    List<PeripheralOperationCreationTO> peripheralOperations = new ArrayList<>();
+    Map<String, String> properties = new HashMap<>();
+    String connectionType = "";
+    List<Couple> controlPoints = new ArrayList<>();
+    int layerId = 0;
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "peripheralOperation":
+          peripheralOperations.add(
+              new PeripheralOperationCreationTO(stringAttribute(xml, "name", ""),
+                                                stringAttribute(xml, "locationName", ""))
+                  .withExecutionTrigger(PeripheralOperation.ExecutionTrigger.valueOf(
+                      stringAttribute(xml, "executionTrigger", "")
+                  ))
+                  .withCompletionRequired(booleanAttribute(xml, "completionRequired", false))
+          );
+          skipElement(xml);
+          break;
+        case "property":
+          readProperty(xml, properties);
+          break;
+        case "pathLayout":
+          connectionType = stringAttribute(xml, "connectionType", "");
+          layerId = intAttribute(xml, "layerId", 0);
+          while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (xml.getLocalName().equals("controlPoint")) {
+              controlPoints.add(new Couple(longAttribute(xml, "x", 0L),
+                                           longAttribute(xml, "y", 0L)));
+            }
+            skipElement(xml);
+          }
+          break;
+        default:
+          skipElement(xml);
+      }
+    }
+
+    return new PathCreationTO(name, sourcePoint, destinationPoint)
+        .withLength(length)
+        .withLocked(locked)
+        .withMaxVelocity((int) maxVelocity)
+        .withMaxReverseVelocity((int) maxReverseVelocity)
+        .withPeripheralOperations(peripheralOperations)
+        .withProperties(properties)
+        .withLayout(new PathCreationTO.Layout(Path.Layout.ConnectionType.valueOf(connectionType),
+                                              controlPoints,
+                                              layerId));
+  }
+
+  private VehicleCreationTO readVehicle(XMLStreamReader xml)
+      throws XMLStreamException {
+    VehicleCreationTO vehicle = new VehicleCreationTO(stringAttribute(xml, "name", ""))
+        .withLength((int) longAttribute(xml, "length", 0L))
+        .withEnergyLevelCritical((int) longAttribute(xml, "energyLevelCritical", 0L))
+        .withEnergyLevelGood((int) longAttribute(xml, "energyLevelGood", 0L))
+        .withEnergyLevelFullyRecharged((int) longAttribute(xml, "energyLevelFullyRecharged", 0L))
+        .withEnergyLevelSufficientlyRecharged(
+            (int) longAttribute(xml, "energyLevelSufficientlyRecharged", 0L)
+        )
+        .withMaxReverseVelocity(intAttribute(xml, "maxReverseVelocity", 0))
+        .withMaxVelocity(intAttribute(xml, "maxVelocity", 0));
+    Map<String, String> properties = new HashMap<>();
+    String color = "";
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "property":
+          readProperty(xml, properties);
+          break;
+        case "vehicleLayout":
+          color = stringAttribute(xml, "color", "");
+          skipElement(xml);
+          break;
+        default:
+          skipElement(xml);
+      }
+    }
+
+    return vehicle
+        .withProperties(properties)
+        .withLayout(new VehicleCreationTO.Layout(Colors.decodeFromHexRGB(color)));
+  }
+
+  private LocationTypeCreationTO readLocationType(XMLStreamReader xml)
+      throws XMLStreamException {
+    String name = stringAttribute(xml, "name", "");
+    List<String> allowedOperations = new ArrayList<>();
+    List<String> allowedPeripheralOperations = new ArrayList<>();
+    Map<String, String> properties = new HashMap<>();
+    String locationRepresentation = "";
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "allowedOperation":
+          allowedOperations.add(stringAttribute(xml, "name", ""));
+          skipElement(xml);
+          break;
+        case "allowedPeripheralOperation":
+          allowedPeripheralOperations.add(stringAttribute(xml, "name", ""));
+          skipElement(xml);
+          break;
+        case "property":
+          readProperty(xml, properties);
+          break;
+        case "locationTypeLayout":
+          locationRepresentation = stringAttribute(xml, "locationRepresentation", "");
+          skipElement(xml);
+          break;
+        default:
+          skipElement(xml);
+      }
+    }
+
+    return new LocationTypeCreationTO(name)
+        .withAllowedOperations(allowedOperations)
+        .withAllowedPeripheralOperations(allowedPeripheralOperations)
+        .withProperties(properties)
+        .withLayout(new LocationTypeCreationTO.Layout(
+            LocationRepresentation.valueOf(locationRepresentation)
+        ));
+  }
+
+  private LocationCreationTO readLocation(XMLStreamReader xml)
+      throws XMLStreamException {
+    String name = stringAttribute(xml, "name", "");
+    String type = stringAttribute(xml, "type", "");
+    Triple position = new Triple(longAttribute(xml, "xPosition", 0L),
+                                 longAttribute(xml, "yPosition", 0L),
+                                 longAttribute(xml, "zPosition", 0L));
+    boolean locked = booleanAttribute(xml, "locked", false);
+    Map<String, Set<String>> links = new HashMap<>();
+    Map<String, String> properties = new HashMap<>();
+    Couple layoutPosition = new Couple(0, 0);
+    Couple labelOffset = new Couple(0, 0);
+    String locationRepresentation = "";
+    int layerId = 0;
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "link":
+          String point = stringAttribute(xml, "point", "");
+          Set<String> allowedOperations = new HashSet<>();
+          while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (xml.getLocalName().equals("allowedOperation")) {
+              allowedOperations.add(stringAttribute(xml, "name", ""));
+            }
+            skipElement(xml);
+          }
+          links.put(point, allowedOperations);
+          break;
+        case "property":
+          readProperty(xml, properties);
+          break;
+        case "locationLayout":
+          layoutPosition = new Couple(longAttribute(xml, "xPosition", 0L),
+                                      longAttribute(xml, "yPosition", 0L));
+          labelOffset = new Couple(longAttribute(xml, "xLabelOffset", 0L),
+                                   longAttribute(xml, "yLabelOffset", 0L));
+          locationRepresentation = stringAttribute(xml, "locationRepresentation", "");
+          layerId = intAttribute(xml, "layerId", 0);
+          skipElement(xml);
+          break;
+        default:
+          skipElement(xml);
+      }
+    }
+
+    return new LocationCreationTO(name, type, position)
+        .withLinks(links)
+        .withLocked(locked)
+        .withProperties(properties)
+        .withLayout(new LocationCreationTO.Layout(layoutPosition,
+                                                  labelOffset,
+                                                  LocationRepresentation.valueOf(
+                                                      locationRepresentation
+                                                  ),
+                                                  layerId));
+  }
+
+  private BlockCreationTO readBlock(XMLStreamReader xml)
+      throws XMLStreamException {
+    String name = stringAttribute(xml, "name", "");
+    Block.Type type
+        = Block.Type.valueOf(stringAttribute(xml, "type", Block.Type.SINGLE_VEHICLE_ONLY.name()));
+    Set<String> memberNames = new HashSet<>();
+    Map<String, String> properties = new HashMap<>();
+    String color = "";
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "member":
+          memberNames.add(stringAttribute(xml, "name", ""));
+          skipElement(xml);
+          break;
+        case "property":
+          readProperty(xml, properties);
+          break;
+        case "blockLayout":
+          color = stringAttribute(xml, "color", "");
+          skipElement(xml);
+          break;
+        default:
+          skipElement(xml);
+      }
+    }
+
+    return new BlockCreationTO(name)
+        .withType(type)
+        .withMemberNames(memberNames)
+        .withProperties(properties)
+        .withLayout(new BlockCreationTO.Layout(Colors.decodeFromHexRGB(color)));
+  }
+
+  private VisualLayoutCreationTO readVisualLayout(XMLStreamReader xml)
+      throws XMLStreamException {
+    VisualLayoutCreationTO visualLayout = new VisualLayoutCreationTO(stringAttribute(xml,
+                                                                                     "name",
+                                                                                     ""))
+        .withScaleX(floatAttribute(xml, "scaleX", 0.0F))
+        .withScaleY(floatAttribute(xml, "scaleY", 0.0F));
+    List<Layer> layers = new ArrayList<>();
+    List<LayerGroup> layerGroups = new ArrayList<>();
+    Map<String, String> properties = new HashMap<>();
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "layer":
+          layers.add(new Layer(intAttribute(xml, "id", 0),
+                               intAttribute(xml, "ordinal", 0),
+                               booleanAttribute(xml, "visible", true),
+                               stringAttribute(xml, "name", ""),
+                               intAttribute(xml, "groupId", 0)));
+          skipElement(xml);
+          break;
+        case "layerGroup":
+          layerGroups.add(new LayerGroup(intAttribute(xml, "id", 0),
+                                         stringAttribute(xml, "name", ""),
+                                         booleanAttribute(xml, "visible", true)));
+          skipElement(xml);
+          break;
+        case "property":
+          readProperty(xml, properties);
+          break;
+        default:
+          skipElement(xml);
+      }
+    }
+
+    return visualLayout
+        .withLayers(layers)
+        .withLayerGroups(layerGroups)
+        .withProperties(properties);
+  }
+
+  private void readProperty(XMLStreamReader xml, Map<String, String> properties)
+      throws XMLStreamException {
+    String propName = xml.getAttributeValue(null, "name");
+    String propValue = xml.getAttributeValue(null, "value");
+    properties.put(isNullOrEmpty(propName) ? "Property unknown" : propName,
+                   isNullOrEmpty(propValue) ? "Value unknown" : propValue);
+    skipElement(xml);
+  }
+
+  private void requireElement(XMLStreamReader xml, String localName)
+      throws XMLStreamException {
+    if (!localName.equals(xml.getLocalName())) {
+      throw new XMLStreamException("Expected element '" + localName + "' but found '"
+          + xml.getLocalName() + "'", xml.getLocation());
+    }
+  }
+
+  /**
+   * Skips the remainder of the current element, including all of its descendants.
+   *
+   * @param xml The reader positioned at the start of the element to skip.
+   * @throws XMLStreamException If there was an error reading the element.
+   */
+  private void skipElement(XMLStreamReader xml)
+      throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = xml.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      }
+      else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  private String stringAttribute(XMLStreamReader xml, String name, String defaultValue) {
+    String value = xml.getAttributeValue(null, name);
+    return value == null ? defaultValue : value;
+  }
+
+  private long longAttribute(XMLStreamReader xml, String name, long defaultValue) {
+    String value = xml.getAttributeValue(null, name);
+    return value == null ? defaultValue : Long.parseLong(value.trim());
+  }
+
+  private int intAttribute(XMLStreamReader xml, String name, int defaultValue) {
+    String value = xml.getAttributeValue(null, name);
+    return value == null ? defaultValue : Integer.parseInt(value.trim());
+  }
+
+  private float floatAttribute(XMLStreamReader xml, String name, float defaultValue) {
+    String value = xml.getAttributeValue(null, name);
+    if (value == null) {
+      return defaultValue;
+    }
+    switch (value.trim()) {
+      case "INF":
+        return Float.POSITIVE_INFINITY;
+      case "-INF":
+        return Float.NEGATIVE_INFINITY;
+      default:
+        return Float.parseFloat(value.trim());
+    }
+  }
+
+  private boolean booleanAttribute(XMLStreamReader xml, String name, boolean defaultValue) {
+    String value = xml.getAttributeValue(null, name);
+    if (value == null) {
+      return defaultValue;
+    }
+    String trimmed = value.trim();
+    return trimmed.equals("true") || trimmed.equals("1");
+  }
+
+  private boolean isNullOrEmpty(String s) {
+    return s == null || s.isEmpty();
+  }
+
+  private static XMLInputFactory createXmlInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+
+  /**
+   * Forwards all events read from the delegate to a schema validator.
+   */
+  private static class ValidatingStreamReader
+      extends StreamReaderDelegate {
+
+    /**
+     * Validates the events forwarded to it.
+     */
+    private final ValidatorHandler validatorHandler;
+
+    ValidatingStreamReader(XMLStreamReader reader, ValidatorHandler validatorHandler)
+        throws XMLStreamException {
+      super(reader);
+      this.validatorHandler = requireNonNull(validatorHandler, "validatorHandler");
+      try {
+        validatorHandler.startDocument();
+      }
+      catch (SAXException exc) {
+        throw new XMLStreamException(exc);
+      }
+    }
+
+    @Override
+    public int next()
+        throws XMLStreamException {
+      int event = super.next();
+      try {
+        switch (event) {
+          case XMLStreamConstants.START_ELEMENT:
+            for (int i = 0; i < getNamespaceCount(); i++) {
+              validatorHandler.startPrefixMapping(emptyIfNull(getNamespacePrefix(i)),
+                                                  emptyIfNull(getNamespaceURI(i)));
+            }
+            validatorHandler.startElement(emptyIfNull(getNamespaceURI()),
+                                          getLocalName(),
+                                          qualifiedName(getPrefix(), getLocalName()),
+                                          attributes());
+            break;
+          case XMLStreamConstants.END_ELEMENT:
+            validatorHandler.endElement(emptyIfNull(getNamespaceURI()),
+                                        getLocalName(),
+                                        qualifiedName(getPrefix(), getLocalName()));
+            for (int i = 0; i < getNamespaceCount(); i++) {
+              validatorHandler.endPrefixMapping(emptyIfNull(getNamespacePrefix(i)));
+            }
+            break;
+          case XMLStreamConstants.CHARACTERS:
+          case XMLStreamConstants.SPACE:
+          case XMLStreamConstants.CDATA:
+            validatorHandler.characters(getTextCharacters(), getTextStart(), getTextLength());
+            break;
+          case XMLStreamConstants.END_DOCUMENT:
+            validatorHandler.endDocument();
+            break;
+          default:
+        }
+      }
+      catch (SAXException exc) {
+        throw new XMLStreamException("Model does not conform to the schema", getLocation(), exc);
+      }
+      return event;
+    }
+
+    @Override
+    public int nextTag()
+        throws XMLStreamException {
+      // Read via next() so that the skipped whitespace is forwarded to the validator, too.
+      int event = next();
+      while ((event == XMLStreamConstants.CHARACTERS && isWhiteSpace())
+          || event == XMLStreamConstants.SPACE
+          || event == XMLStreamConstants.COMMENT
+          || event == XMLStreamConstants.PROCESSING_INSTRUCTION) {
+        event = next();
+      }
+      if (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT) {
+        throw new XMLStreamException("Expected start or end tag", getLocation());
+      }
+      return event;
+    }
+
+    private AttributesImpl attributes() {
+      AttributesImpl attributes = new AttributesImpl();
+      for (int i = 0; i < getAttributeCount(); i++) {
+        attributes.addAttribute(emptyIfNull(getAttributeNamespace(i)),
+                                getAttributeLocalName(i),
+                                qualifiedName(getAttributePrefix(i), getAttributeLocalName(i)),
+                                "CDATA",
+                                getAttributeValue(i));
+      }
+      return attributes;
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+      return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static String emptyIfNull(String s) {
+      return s == null ? "" : s;
+    }
+  }
+}
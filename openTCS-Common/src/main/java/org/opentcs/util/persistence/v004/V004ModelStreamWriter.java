@@ -0,0 +1,408 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.persistence.v004;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.opentcs.access.to.CreationTO;
+import org.opentcs.access.to.model.BlockCreationTO;
+import org.opentcs.access.to.model.LocationCreationTO;
+import org.opentcs.access.to.model.LocationTypeCreationTO;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.access.to.model.VisualLayoutCreationTO;
+import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
+import org.opentcs.data.model.Couple;
+import org.opentcs.data.model.visualization.Layer;
+import org.opentcs.data.model.visualization.LayerGroup;
+import org.opentcs.util.Colors;
+
+/**
+ * Writes V004 models element by element, directly from a {@link PlantModelCreationTO}.
+ * <p>
+ * As opposed to {@link V004PlantModelTO#toXml(java.io.Writer)}, this does not build a complete
+ * tree of transfer objects before writing it. The output is equivalent to mapping the model with
+ * {@link V004TOMapper} and marshalling the result.
+ * </p>
+ */
+public class V004ModelStreamWriter {
+
+  /**
+   * Creates writers for model files.
+   */
+  private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+  /**
+   * The XML declaration, as written by JAXB.
+   */
+  private static final String XML_DECLARATION
+      = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+  /**
+   * The string used for indenting one level.
+   */
+  private static final String INDENT = "    ";
+  /**
+   * Orders elements by their names.
+   */
+  private static final Comparator<CreationTO> BY_NAME = Comparator.comparing(CreationTO::getName);
+
+  /**
+   * Creates a new instance.
+   */
+  public V004ModelStreamWriter() {
+  }
+
+  /**
+   * Writes the given model to the given writer.
+   *
+   * @param model The model.
+   * @param writer The writer to write the model to.
+   * @throws IOException If there was an error writing the model.
+   */
+  public void write(@Nonnull PlantModelCreationTO model, @Nonnull Writer writer)
+      throws IOException {
+    requireNonNull(model, "model");
+    requireNonNull(writer, "writer");
+
+    // Written directly, as XMLStreamWriter does not support the standalone declaration.
+    writer.write(XML_DECLARATION);
+    try {
+      XMLStreamWriter xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(writer);
+      try {
+        writeModel(xml, model);
+        xml.flush();
+      }
+      finally {
+        xml.close();
+      }
+    }
+    catch (XMLStreamException exc) {
+      throw new IOException("Exception writing model", exc);
+    }
+  }
+
+  private void writeModel(XMLStreamWriter xml, PlantModelCreationTO model)
+      throws XMLStreamException {
+    xml.writeStartElement("model");
+    xml.writeAttribute("version", V004TOMapper.VERSION_STRING);
+    xml.writeAttribute("name", model.getName());
+
+    Map<String, List<String>> outgoingPaths = outgoingPathsBySourcePoint(model.getPaths());
+    for (PointCreationTO point : sortedByName(model.getPoints())) {
+      writePoint(xml, point, outgoingPaths.getOrDefault(point.getName(), List.of()));
+    }
+    for (PathCreationTO path : sortedByName(model.getPaths())) {
+      writePath(xml, path);
+    }
+    for (VehicleCreationTO vehicle : sortedByName(model.getVehicles())) {
+      writeVehicle(xml, vehicle);
+    }
+    for (LocationTypeCreationTO locationType : sortedByName(model.getLocationTypes())) {
+      writeLocationType(xml, locationType);
+    }
+    for (LocationCreationTO location : sortedByName(model.getLocations())) {
+      writeLocation(xml, location);
+    }
+    for (BlockCreationTO block : sortedByName(model.getBlocks())) {
+      writeBlock(xml, block);
+    }
+    writeVisualLayout(xml, model.getVisualLayout());
+    writeProperties(xml, 1, model.getProperties());
+
+    endElement(xml, 0);
+    xml.writeCharacters("\n");
+  }
+
+  private void writePoint(XMLStreamWriter xml, PointCreationTO point, List<String> outgoingPaths)
+      throws XMLStreamException {
+    startElement(xml, 1, "point");
+    xml.writeAttribute("name", point.getName());
+    xml.writeAttribute("xPosition", Long.toString(point.getPosition().getX()));
+    xml.writeAttribute("yPosition", Long.toString(point.getPosition().getY()));
+    // The z coordinate is not persisted, which is consistent with V004TOMapper.
+    xml.writeAttribute("zPosition", "0");
+    xml.writeAttribute("vehicleOrientationAngle",
+                       printFloat((float) point.getVehicleOrientationAngle()));
+    xml.writeAttribute("type", point.getType().name());
+    for (String pathName : outgoingPaths) {
+      emptyElement(xml, 2, "outgoingPath");
+      xml.writeAttribute("name", pathName);
+    }
+    writeProperties(xml, 2, point.getProperties());
+    emptyElement(xml, 2, "pointLayout");
+    xml.writeAttribute("xPosition", Long.toString(point.getLayout().getPosition().getX()));
+    xml.writeAttribute("yPosition", Long.toString(point.getLayout().getPosition().getY()));
+    xml.writeAttribute("xLabelOffset", Long.toString(point.getLayout().getLabelOffset().getX()));
+    xml.writeAttribute("yLabelOffset", Long.toString(point.getLayout().getLabelOffset().getY()));
+    xml.writeAttribute("layerId", Integer.toString(point.getLayout().getLayerId()));
+    endElement(xml, 1);
+  }
+
+  private void writePath(XMLStreamWriter xml, PathCreationTO path)
+      throws XMLStreamException {
+    startElement(xml, 1, "path");
+    xml.writeAttribute("name", path.getName());
+    xml.writeAttribute("sourcePoint", path.getSrcPointName());
+    xml.writeAttribute("destinationPoint", path.getDestPointName());
+    xml.writeAttribute("length", Long.toString(path.getLength()));
+    xml.writeAttribute("maxVelocity", Long.toString(path.getMaxVelocity()));
+    xml.writeAttribute("maxReverseVelocity", Long.toString(path.getMaxReverseVelocity()));
+    xml.writeAttribute("locked", Boolean.toString(path.isLocked()));
+    for (PeripheralOperationCreationTO operation : path.getPeripheralOperations()) {
+      emptyElement(xml, 2, "peripheralOperation");
+      xml.writeAttribute("completionRequired", Boolean.toString(operation.isCompletionRequired()));
+      xml.writeAttribute("executionTrigger", operation.getExecutionTrigger().name());
+      xml.writeAttribute("locationName", operation.getLocationName());
+      xml.writeAttribute("name", operation.getOperation());
+    }
+    writeProperties(xml, 2, path.getProperties());
+
+    List<Couple> controlPoints = path.getLayout().getControlPoints();
+    if (controlPoints.isEmpty()) {
+      emptyElement(xml, 2, "pathLayout");
+    }
+    else {
+      startElement(xml, 2, "pathLayout");
+    }
+    xml.writeAttribute("connectionType", path.getLayout().getConnectionType().name());
+    xml.writeAttribute("layerId", Integer.toString(path.getLayout().getLayerId()));
+    if (!controlPoints.isEmpty()) {
+      for (Couple controlPoint : controlPoints) {
+        emptyElement(xml, 3, "controlPoint");
+        xml.writeAttribute("x", Long.toString(controlPoint.getX()));
+        xml.writeAttribute("y", Long.toString(controlPoint.getY()));
+      }
+      endElement(xml, 2);
+    }
+    endElement(xml, 1);
+  }
+
+  private void writeVehicle(XMLStreamWriter xml, VehicleCreationTO vehicle)
+      throws XMLStreamException {
+    startElement(xml, 1, "vehicle");
+    xml.writeAttribute("name", vehicle.getName());
+    xml.writeAttribute("length", Long.toString(vehicle.getLength()));
+    xml.writeAttribute("energyLevelCritical", Long.toString(vehicle.getEnergyLevelCritical()));
+    xml.writeAttribute("energyLevelGood", Long.toString(vehicle.getEnergyLevelGood()));
+    xml.writeAttribute("energyLevelFullyRecharged",
+                       Long.toString(vehicle.getEnergyLevelFullyRecharged()));
+    xml.writeAttribute("energyLevelSufficientlyRecharged",
+                       Long.toString(vehicle.getEnergyLevelSufficientlyRecharged()));
+    xml.writeAttribute("maxVelocity", Integer.toString(vehicle.getMaxVelocity()));
+    xml.writeAttribute("maxReverseVelocity", Integer.toString(vehicle.getMaxReverseVelocity()));
+    writeProperties(xml, 2, vehicle.getProperties());
+    emptyElement(xml, 2, "vehicleLayout");
+    xml.writeAttribute("color", Colors.encodeToHexRGB(vehicle.getLayout().getRouteColor()));
+    endElement(xml, 1);
+  }
+
+  private void writeLocationType(XMLStreamWriter xml, LocationTypeCreationTO locationType)
+      throws XMLStreamException {
+    startElement(xml, 1, "locationType");
+    xml.writeAttribute("name", locationType.getName());
+    for (String operation : sorted(locationType.getAllowedOperations())) {
+      emptyElement(xml, 2, "allowedOperation");
+      xml.writeAttribute("name", operation);
+    }
+    for (String operation : sorted(locationType.getAllowedPeripheralOperations())) {
+      emptyElement(xml, 2, "allowedPeripheralOperation");
+      xml.writeAttribute("name", operation);
+    }
+    writeProperties(xml, 2, locationType.getProperties());
+    emptyElement(xml, 2, "locationTypeLayout");
+    xml.writeAttribute("locationRepresentation",
+                       locationType.getLayout().getLocationRepresentation().name());
+    endElement(xml, 1);
+  }
+
+  private void writeLocation(XMLStreamWriter xml, LocationCreationTO location)
+      throws XMLStreamException {
+    startElement(xml, 1, "location");
+    xml.writeAttribute("name", location.getName());
+    xml.writeAttribute("xPosition", Long.toString(location.getPosition().getX()));
+    xml.writeAttribute("yPosition", Long.toString(location.getPosition().getY()));
+    // The z coordinate is not persisted, which is consistent with V004TOMapper.
+    xml.writeAttribute("zPosition", "0");
+    xml.writeAttribute("locked", Boolean.toString(location.isLocked()));
+    xml.writeAttribute("type", location.getTypeName());
+    for (String pointName : sorted(location.getLinks().keySet())) {
+      List<String> allowedOperations = sorted(location.getLinks().get(pointName));
+      if (allowedOperations.isEmpty()) {
+        emptyElement(xml, 2, "link");
+        xml.writeAttribute("point", pointName);
+      }
+      else {
+        startElement(xml, 2, "link");
+        xml.writeAttribute("point", pointName);
+        for (String operation : allowedOperations) {
+          emptyElement(xml, 3, "allowedOperation");
+          xml.writeAttribute("name", operation);
+        }
+        endElement(xml, 2);
+      }
+    }
+    writeProperties(xml, 2, location.getProperties());
+    emptyElement(xml, 2, "locationLayout");
+    xml.writeAttribute("xPosition", Long.toString(location.getLayout().getPosition().getX()));
+    xml.writeAttribute("yPosition", Long.toString(location.getLayout().getPosition().getY()));
+    xml.writeAttribute("xLabelOffset",
+                       Long.toString(location.getLayout().getLabelOffset().getX()));
+    xml.writeAttribute("yLabelOffset",
+                       Long.toString(location.getLayout().getLabelOffset().getY()));
+    xml.writeAttribute("locationRepresentation",
+                       location.getLayout().getLocationRepresentation().name());
+    xml.writeAttribute("layerId", Integer.toString(location.getLayout().getLayerId()));
+    endElement(xml, 1);
+  }
+
+  private void writeBlock(XMLStreamWriter xml, BlockCreationTO block)
+      throws XMLStreamException {
+    startElement(xml, 1, "block");
+    xml.writeAttribute("name", block.getName());
+    xml.writeAttribute("type", block.getType().name());
+    for (String memberName : sorted(block.getMemberNames())) {
+      emptyElement(xml, 2, "member");
+      xml.writeAttribute("name", memberName);
+    }
+    writeProperties(xml, 2, block.getProperties());
+    emptyElement(xml, 2, "blockLayout");
+    xml.writeAttribute("color", Colors.encodeToHexRGB(block.getLayout().getColor()));
+    endElement(xml, 1);
+  }
+
+  private void writeVisualLayout(XMLStreamWriter xml, VisualLayoutCreationTO visualLayout)
+      throws XMLStreamException {
+    boolean hasChildren = !visualLayout.getLayers().isEmpty()
+        || !visualLayout.getLayerGroups().isEmpty()
+        || !visualLayout.getProperties().isEmpty();
+    if (hasChildren) {
+      startElement(xml, 1, "visualLayout");
+    }
+    else {
+      emptyElement(xml, 1, "visualLayout");
+    }
+    xml.writeAttribute("name", visualLayout.getName());
+    xml.writeAttribute("scaleX", printFloat((float) visualLayout.getScaleX()));
+    xml.writeAttribute("scaleY", printFloat((float) visualLayout.getScaleY()));
+    if (!hasChildren) {
+      return;
+    }
+    for (Layer layer : visualLayout.getLayers()) {
+      emptyElement(xml, 2, "layer");
+      xml.writeAttribute("id", Integer.toString(layer.getId()));
+      xml.writeAttribute("ordinal", Integer.toString(layer.getOrdinal()));
+      xml.writeAttribute("visible", Boolean.toString(layer.isVisible()));
+      xml.writeAttribute("name", layer.getName());
+      xml.writeAttribute("groupId", Integer.toString(layer.getGroupId()));
+    }
+    for (LayerGroup layerGroup : visualLayout.getLayerGroups()) {
+      emptyElement(xml, 2, "layerGroup");
+      xml.writeAttribute("id", Integer.toString(layerGroup.getId()));
+      xml.writeAttribute("name", layerGroup.getName());
+      xml.writeAttribute("visible", Boolean.toString(layerGroup.isVisible()));
+    }
+    writeProperties(xml, 2, visualLayout.getProperties());
+    endElement(xml, 1);
+  }
+
+  private void writeProperties(XMLStreamWriter xml, int level, Map<String, String> properties)
+      throws XMLStreamException {
+    for (String name : sorted(properties.keySet())) {
+      emptyElement(xml, level, "property");
+      xml.writeAttribute("name", name);
+      xml.writeAttribute("value", properties.get(name));
+    }
+  }
+
+  private void startElement(XMLStreamWriter xml, int level, String localName)
+      throws XMLStreamException {
+    indent(xml, level);
+    xml.writeStartElement(localName);
+  }
+
+  private void emptyElement(XMLStreamWriter xml, int level, String localName)
+      throws XMLStreamException {
+    indent(xml, level);
+    xml.writeEmptyElement(localName);
+  }
+
+  private void endElement(XMLStreamWriter xml, int level)
+      throws XMLStreamException {
+    indent(xml, level);
+    xml.writeEndElement();
+  }
+
+  private void indent(XMLStreamWriter xml, int level)
+      throws XMLStreamException {
+    xml.writeCharacters("\n");
+    for (int i = 0; i < level; i++) {
+      xml.writeCharacters(INDENT);
+    }
+  }
+
+  /**
+   * Maps the names of points to the (sorted) names of paths starting at them.
+   * <p>
+   * This avoids scanning all paths for each point.
+   * </p>
+   *
+   * @param paths The paths.
+   * @return The names of outgoing paths by the names of their source points.
+   */
+  private Map<String, List<String>> outgoingPathsBySourcePoint(List<PathCreationTO> paths) {
+    Map<String, List<String>> result = new HashMap<>();
+    for (PathCreationTO path : paths) {
+      result.computeIfAbsent(path.getSrcPointName(), name -> new ArrayList<>())
+          .add(path.getName());
+    }
+    result.values().forEach(names -> names.sort(Comparator.naturalOrder()));
+    return result;
+  }
+
+  private <T extends CreationTO> List<T> sortedByName(List<T> elements) {
+    List<T> result = new ArrayList<>(elements);
+    result.sort(BY_NAME);
+    return result;
+  }
+
+  private List<String> sorted(Collection<String> strings) {
+    return strings.stream().sorted().collect(Collectors.toList());
+  }
+
+  /**
+   * Prints the given value the way {@code xs:float} values are printed by JAXB.
+   *
+   * @param value The value.
+   * @return The value's lexical representation.
+   */
+  private static String printFloat(float value) {
+    if (Float.isNaN(value)) {
+      return "NaN";
+    }
+    if (value == Float.POSITIVE_INFINITY) {
+      return "INF";
+    }
+    if (value == Float.NEGATIVE_INFINITY) {
+      return "-INF";
+    }
+    return Float.toString(value);
+  }
+}
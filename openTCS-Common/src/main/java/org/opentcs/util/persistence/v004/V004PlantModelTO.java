@@ -42,6 +42,15 @@ import org.xml.sax.SAXException;
 public class V004PlantModelTO
     extends BasePlantModelTO {
 
+  /**
+   * The JAXB context for this class, created lazily.
+   */
+  private static JAXBContext jaxbContext;
+  /**
+   * The schema for validating XML representations of this class, created lazily.
+   */
+  private static Schema schema;
+
   private String name = "";
   private List<PointTO> points = new ArrayList<>();
   private List<PathTO> paths = new ArrayList<>();
@@ -208,16 +217,22 @@ public class V004PlantModelTO
     return unmarshaller;
   }
 
-  private static JAXBContext createContext()
+  private static synchronized JAXBContext createContext()
       throws JAXBException {
-    return JAXBContext.newInstance(V004PlantModelTO.class);
+    if (jaxbContext == null) {
+      jaxbContext = JAXBContext.newInstance(V004PlantModelTO.class);
+    }
+    return jaxbContext;
   }
 
-  private static Schema createSchema()
+  static synchronized Schema createSchema()
       throws SAXException {
-    URL schemaUrl
-        = V004PlantModelTO.class.getResource("/org/opentcs/util/persistence/model-0.0.4.xsd");
-    SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-    return schemaFactory.newSchema(schemaUrl);
+    if (schema == null) {
+      URL schemaUrl
+          = V004PlantModelTO.class.getResource("/org/opentcs/util/persistence/model-0.0.4.xsd");
+      SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+      schema = schemaFactory.newSchema(schemaUrl);
+    }
+    return schema;
   }
 }
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentcs.util.metrics.MetricRegistry;
+
+/**
+ * Tests for {@link MeteredScheduledThreadPoolExecutor}.
+ */
+public class MeteredScheduledThreadPoolExecutorTest {
+
+  private MetricRegistry registry;
+
+  private MeteredScheduledThreadPoolExecutor executor;
+
+  @BeforeEach
+  public void setUp() {
+    registry = new MetricRegistry(true);
+    executor = new MeteredScheduledThreadPoolExecutor(1,
+                                                      Executors.defaultThreadFactory(),
+                                                      registry,
+                                                      "test");
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void keepOrderOfSubmittedTasks()
+      throws Exception {
+    CountDownLatch blocker = new CountDownLatch(1);
+    executor.submit(() -> {
+      blocker.await();
+      return null;
+    });
+
+    List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      int taskNumber = i;
+      executor.execute(() -> executed.add(taskNumber));
+      expected.add(i);
+    }
+    blocker.countDown();
+    executor.submit(() -> {
+    }).get(5, TimeUnit.SECONDS);
+
+    assertThat(executed, is(expected));
+  }
+
+  @Test
+  public void recordWaitAndRunTimesPerTaskType()
+      throws Exception {
+    executor.submit(new SomeTask()).get(5, TimeUnit.SECONDS);
+    executor.submit(new SomeTask()).get(5, TimeUnit.SECONDS);
+    executor.schedule(new SomeTask(), 1, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+    // Run times are recorded after a task's result is available, so wait for the executor to
+    // finish.
+    executor.shutdown();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+
+    assertThat(registry.timer("executor.task.run",
+                              "executor", "test",
+                              "task", "MeteredScheduledThreadPoolExecutorTest$SomeTask")
+        .getCount(),
+               is(3L));
+    assertThat(registry.timer("executor.task.wait",
+                              "executor", "test",
+                              "task", "MeteredScheduledThreadPoolExecutorTest$SomeTask")
+        .getCount(),
+               is(3L));
+  }
+
+  @Test
+  public void recordEveryExecutionOfPeriodicTasks()
+      throws Exception {
+    CountDownLatch executions = new CountDownLatch(3);
+    executor.scheduleWithFixedDelay(executions::countDown, 0, 1, TimeUnit.MILLISECONDS);
+    executions.await(5, TimeUnit.SECONDS);
+    executor.shutdown();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+
+    assertThat(registry.timer("executor.task.run",
+                              "executor", "test",
+                              "task", "MeteredScheduledThreadPoolExecutorTest$$Lambda")
+        .getCount() >= 3,
+               is(true));
+  }
+
+  @Test
+  public void cutLambdaClassNames() {
+    Runnable lambda = () -> {
+    };
+
+    assertThat(MeteredScheduledThreadPoolExecutor.taskType(lambda.getClass()),
+               is("MeteredScheduledThreadPoolExecutorTest$$Lambda"));
+    assertThat(MeteredScheduledThreadPoolExecutor.taskType(SomeTask.class),
+               is("MeteredScheduledThreadPoolExecutorTest$SomeTask"));
+  }
+
+  private static class SomeTask
+      implements Runnable {
+
+    @Override
+    public void run() {
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MetricRegistry}.
+ */
+public class MetricRegistryTest {
+
+  @Test
+  public void returnSameMeterForSameNameAndTags() {
+    MetricRegistry registry = new MetricRegistry(true);
+
+    Counter counter = registry.counter("some.counter", "a", "1", "b", "2");
+    counter.increment();
+
+    assertThat(registry.counter("some.counter", "b", "2", "a", "1"), is(sameInstance(counter)));
+    assertThat(registry.counter("some.counter", "a", "2"), is(not(counter)));
+    assertThat(counter.getCount(), is(1L));
+  }
+
+  @Test
+  public void rejectMeterOfDifferentType() {
+    MetricRegistry registry = new MetricRegistry(true);
+    registry.counter("some.meter");
+
+    assertThrows(IllegalArgumentException.class, () -> registry.timer("some.meter"));
+  }
+
+  @Test
+  public void rejectIncompleteTags() {
+    MetricRegistry registry = new MetricRegistry(true);
+
+    assertThrows(IllegalArgumentException.class, () -> registry.counter("some.counter", "a"));
+  }
+
+  @Test
+  public void sortMetersByNameAndTags() {
+    MetricRegistry registry = new MetricRegistry(true);
+    registry.timer("b.timer", "type", "y");
+    registry.counter("c.counter");
+    registry.timer("b.timer", "type", "x");
+    registry.gauge("a.gauge", () -> 42);
+
+    List<String> meters = registry.getMeters().stream()
+        .map(meter -> meter.getName() + meter.getTags())
+        .collect(Collectors.toList());
+
+    assertThat(meters, contains("a.gauge{}", "b.timer{type=x}", "b.timer{type=y}", "c.counter{}"));
+  }
+
+  @Test
+  public void recordDurationsInBuckets() {
+    Timer timer = new MetricRegistry(true).timer("some.timer");
+
+    timer.record(TimeUnit.MICROSECONDS.toNanos(5));
+    timer.record(TimeUnit.MILLISECONDS.toNanos(3));
+    timer.record(TimeUnit.SECONDS.toNanos(60));
+
+    long[] bounds = timer.getBucketBoundsNanos();
+    long[] counts = timer.getBucketCounts();
+    assertThat(counts.length, is(bounds.length + 1));
+    assertThat(counts[0], is(1L));
+    assertThat(counts[counts.length - 1], is(1L));
+    assertThat(timer.getCount(), is(3L));
+    assertThat(timer.getMaxNanos(), is(TimeUnit.SECONDS.toNanos(60)));
+    assertThat(timer.getSumNanos(),
+               is(TimeUnit.MICROSECONDS.toNanos(5)
+                   + TimeUnit.MILLISECONDS.toNanos(3)
+                   + TimeUnit.SECONDS.toNanos(60)));
+  }
+
+  @Test
+  public void registerNothingWhenDisabled() {
+    MetricRegistry registry = MetricRegistry.DISABLED;
+
+    Counter counter = registry.counter("some.counter");
+    counter.increment();
+    Timer timer = registry.timer("some.timer");
+    timer.stop(timer.start());
+    registry.gauge("some.gauge", () -> 42);
+
+    assertThat(registry.isEnabled(), is(false));
+    assertThat(registry.getMeters(), is(empty()));
+    assertThat(counter.getCount(), is(0L));
+    assertThat(timer.getCount(), is(0L));
+    assertThat(registry.timer("other.timer"), is(sameInstance(timer)));
+  }
+}
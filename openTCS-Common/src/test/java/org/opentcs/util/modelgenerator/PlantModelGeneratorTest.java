@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.modelgenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentcs.access.to.model.BlockCreationTO;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.components.kernel.Router;
+import org.opentcs.data.model.Block;
+import org.opentcs.data.model.Point;
+import org.opentcs.util.persistence.ModelParser;
+
+/**
+ * Tests for {@link PlantModelGenerator}.
+ */
+public class PlantModelGeneratorTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void generateGridWithPathsInBothDirections() {
+    PlantModelCreationTO model = new PlantModelGenerator()
+        .withLayout(PlantModelGenerator.Layout.GRID, 3, 4)
+        .withLocationCount(5)
+        .withVehicles(2, 1)
+        .generate();
+
+    // 12 grid points plus a park position per vehicle.
+    assertThat(model.getPoints(), hasSize(14));
+    // 3 * 3 horizontal and 2 * 4 vertical connections in both directions, plus the park spurs.
+    assertThat(model.getPaths(), hasSize(2 * (9 + 8) + 2 * 2));
+    assertThat(model.getLocations(), hasSize(5));
+    assertThat(model.getVehicles(), hasSize(2));
+
+    Map<String, PathCreationTO> paths = pathsByName(model);
+    assertThat(paths.containsKey("Point-0001-0002 --- Point-0001-0003"), is(true));
+    assertThat(paths.containsKey("Point-0001-0003 --- Point-0001-0002"), is(true));
+  }
+
+  @Test
+  public void generateAislesWithOneWayLanes() {
+    PlantModelCreationTO model = new PlantModelGenerator()
+        .withLayout(PlantModelGenerator.Layout.AISLES, 5, 4)
+        .withLocationCount(0)
+        .withVehicles(0, 1)
+        .generate();
+
+    assertThat(model.getPoints(), hasSize(20));
+    // Two cross-aisles with 3 connections in both directions, and 4 aisles with 4 one-way paths.
+    assertThat(model.getPaths(), hasSize(2 * 2 * 3 + 4 * 4));
+
+    Map<String, PathCreationTO> paths = pathsByName(model);
+    // Aisles alternate their direction.
+    assertThat(paths.containsKey("Point-0001-0000 --- Point-0002-0000"), is(true));
+    assertThat(paths.containsKey("Point-0002-0000 --- Point-0001-0000"), is(false));
+    assertThat(paths.containsKey("Point-0002-0001 --- Point-0001-0001"), is(true));
+    assertThat(paths.containsKey("Point-0001-0001 --- Point-0002-0001"), is(false));
+  }
+
+  @Test
+  public void generateBlocksOfEveryType() {
+    PlantModelCreationTO model = new PlantModelGenerator()
+        .withLayout(PlantModelGenerator.Layout.GRID, 5, 8)
+        .withBlocksPerType(2)
+        .generate();
+
+    assertThat(model.getBlocks(), hasSize(2 * Block.Type.values().length));
+    assertThat(model.getBlocks().stream()
+        .filter(block -> block.getType() == Block.Type.SINGLE_VEHICLE_ONLY)
+        .count(),
+               is(2L));
+    assertThat(model.getBlocks().stream()
+        .filter(block -> block.getType() == Block.Type.SAME_DIRECTION_ONLY)
+        .count(),
+               is(2L));
+
+    // A block contains four points and the eight paths between them.
+    BlockCreationTO block = model.getBlocks().get(0);
+    assertThat(block.getMemberNames(), hasSize(12));
+    assertThat(block.getMemberNames().contains("Point-0001-0001"), is(true));
+    assertThat(block.getMemberNames().contains("Point-0000-0000 --- Point-0000-0001"), is(true));
+  }
+
+  @Test
+  public void rejectTooManyBlocks() {
+    PlantModelGenerator generator = new PlantModelGenerator()
+        .withLayout(PlantModelGenerator.Layout.GRID, 2, 2)
+        .withLocationCount(0)
+        .withVehicles(0, 1)
+        .withBlocksPerType(1);
+
+    assertThrows(IllegalArgumentException.class, () -> generator.generate());
+  }
+
+  @Test
+  public void attachPeripheralOperationsToPaths() {
+    PlantModelCreationTO model = new PlantModelGenerator()
+        .withLayout(PlantModelGenerator.Layout.GRID, 4, 4)
+        .withLocationCount(0)
+        .withPeripheralCount(3)
+        .generate();
+
+    assertThat(model.getLocations(), hasSize(3));
+    Set<String> deviceNames = model.getPaths().stream()
+        .flatMap(path -> path.getPeripheralOperations().stream())
+        .map(operation -> operation.getLocationName())
+        .collect(Collectors.toSet());
+    assertThat(deviceNames,
+               containsInAnyOrder("Peripheral-00001", "Peripheral-00002", "Peripheral-00003"));
+  }
+
+  @Test
+  public void assignVehiclesToRoutingGroups() {
+    PlantModelCreationTO model = new PlantModelGenerator()
+        .withLayout(PlantModelGenerator.Layout.GRID, 3, 3)
+        .withLocationCount(0)
+        .withVehicles(5, 2)
+        .generate();
+
+    assertThat(model.getVehicles().stream()
+        .map(vehicle -> vehicle.getProperties().get(Router.PROPKEY_ROUTING_GROUP))
+        .collect(Collectors.toList()),
+               containsInAnyOrder("RoutingGroup-1",
+                                  "RoutingGroup-2",
+                                  "RoutingGroup-1",
+                                  "RoutingGroup-2",
+                                  "RoutingGroup-1"));
+    assertThat(model.getPoints().stream()
+        .filter(point -> point.getType() == Point.Type.PARK_POSITION)
+        .count(),
+               is(5L));
+  }
+
+  @Test
+  public void omitRoutingGroupForSingleGroup() {
+    PlantModelCreationTO model = new PlantModelGenerator()
+        .withLayout(PlantModelGenerator.Layout.GRID, 3, 3)
+        .withLocationCount(0)
+        .withVehicles(2, 1)
+        .generate();
+
+    for (VehicleCreationTO vehicle : model.getVehicles()) {
+      assertThat(vehicle.getProperties().get(Router.PROPKEY_ROUTING_GROUP), is(nullValue()));
+    }
+  }
+
+  @Test
+  public void rejectMoreVehiclesThanPoints() {
+    PlantModelGenerator generator = new PlantModelGenerator()
+        .withLayout(PlantModelGenerator.Layout.GRID, 2, 2)
+        .withLocationCount(0)
+        .withVehicles(5, 1);
+
+    assertThrows(IllegalArgumentException.class, () -> generator.generate());
+  }
+
+  @Test
+  public void writeAndReadGeneratedModel()
+      throws IOException {
+    PlantModelCreationTO model = new PlantModelGenerator()
+        .withName("Round-Trip")
+        .withLayout(PlantModelGenerator.Layout.AISLES, 7, 7)
+        .withLocationCount(10)
+        .withPeripheralCount(4)
+        .withBlocksPerType(2)
+        .withVehicles(6, 3)
+        .generate();
+
+    File modelFile = tempDir.resolve("model.xml").toFile();
+    ModelParser parser = new ModelParser();
+    parser.writeModel(model, modelFile);
+    PlantModelCreationTO readModel = parser.readModel(modelFile);
+
+    assertThat(readModel.getName(), is("Round-Trip"));
+    assertThat(readModel.getPoints(), hasSize(model.getPoints().size()));
+    assertThat(readModel.getPaths(), hasSize(model.getPaths().size()));
+    assertThat(readModel.getLocationTypes(), hasSize(2));
+    assertThat(readModel.getLocations(), hasSize(14));
+    assertThat(readModel.getBlocks(), hasSize(4));
+    assertThat(readModel.getVehicles(), hasSize(6));
+    assertThat(readModel.getPaths().stream()
+        .mapToInt(path -> path.getPeripheralOperations().size())
+        .sum(),
+               is(4));
+  }
+
+  private static Map<String, PathCreationTO> pathsByName(PlantModelCreationTO model) {
+    return model.getPaths().stream()
+        .collect(Collectors.toMap(PathCreationTO::getName, Function.identity()));
+  }
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.persistence;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.opentcs.access.to.model.BlockCreationTO;
+import org.opentcs.access.to.model.LocationCreationTO;
+import org.opentcs.access.to.model.LocationTypeCreationTO;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.access.to.model.VisualLayoutCreationTO;
+import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
+import org.opentcs.data.model.Block;
+import org.opentcs.data.model.Couple;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Triple;
+import org.opentcs.data.model.visualization.Layer;
+import org.opentcs.data.model.visualization.LayerGroup;
+import org.opentcs.data.model.visualization.LocationRepresentation;
+import org.opentcs.data.peripherals.PeripheralOperation;
+import org.opentcs.util.persistence.v004.V004ModelStreamReader;
+import org.opentcs.util.persistence.v004.V004ModelStreamWriter;
+import org.opentcs.util.persistence.v004.V004PlantModelTO;
+import org.opentcs.util.persistence.v004.V004TOMapper;
+
+/**
+ * Tests for the streaming reader and writer for V004 models.
+ */
+public class V004ModelStreamTest {
+
+  @Test
+  public void writeSameXmlAsJaxb()
+      throws IOException {
+    PlantModelCreationTO model = createModel();
+
+    assertThat(writeStreaming(model), is(writeJaxb(model)));
+  }
+
+  @Test
+  public void readSameModelAsJaxb()
+      throws IOException {
+    String xml = writeJaxb(createModel());
+
+    PlantModelCreationTO streamed = new V004ModelStreamReader(true).read(new StringReader(xml));
+    PlantModelCreationTO unmarshalled
+        = new V004TOMapper().map(V004PlantModelTO.fromXml(new StringReader(xml)));
+
+    assertThat(writeStreaming(streamed), is(writeStreaming(unmarshalled)));
+    assertThat(writeStreaming(streamed), is(xml));
+  }
+
+  @Test
+  public void rejectInvalidModelWhenValidating() {
+    String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<model version=\"0.0.4\" name=\"Invalid\">\n"
+        + "    <point name=\"Point-0001\" xPosition=\"0\" yPosition=\"0\" type=\"HALT_POSITION\">\n"
+        + "        <pointLayout xPosition=\"0\" yPosition=\"0\" xLabelOffset=\"0\""
+        + " yLabelOffset=\"0\" layerId=\"0\" unknownAttribute=\"0\"/>\n"
+        + "    </point>\n"
+        + "    <visualLayout name=\"VLayout\" scaleX=\"50.0\" scaleY=\"50.0\">\n"
+        + "        <layer id=\"0\" ordinal=\"0\" visible=\"true\" name=\"Layer\" groupId=\"0\"/>\n"
+        + "        <layerGroup id=\"0\" name=\"Group\" visible=\"true\"/>\n"
+        + "    </visualLayout>\n"
+        + "</model>\n";
+
+    PlantModelCreationTO model = assertDoesNotThrowIOException(xml);
+    assertThat(model.getPoints().size(), is(1));
+
+    IOException exc = assertThrows(
+        IOException.class,
+        () -> new V004ModelStreamReader(true).read(new StringReader(xml))
+    );
+    assertThat(exc.getCause().getMessage(), containsString("conform"));
+  }
+
+  private PlantModelCreationTO assertDoesNotThrowIOException(String xml) {
+    try {
+      return new V004ModelStreamReader(false).read(new StringReader(xml));
+    }
+    catch (IOException exc) {
+      throw new AssertionError("Unexpected exception", exc);
+    }
+  }
+
+  private String writeStreaming(PlantModelCreationTO model)
+      throws IOException {
+    StringWriter writer = new StringWriter();
+    new V004ModelStreamWriter().write(model, writer);
+    return writer.toString();
+  }
+
+  private String writeJaxb(PlantModelCreationTO model)
+      throws IOException {
+    StringWriter writer = new StringWriter();
+    new V004TOMapper().map(model).toXml(writer);
+    return writer.toString();
+  }
+
+  private PlantModelCreationTO createModel() {
+    return new PlantModelCreationTO("Demo & <test>")
+        .withPoint(createPoint("Point-0002", Point.Type.PARK_POSITION))
+        .withPoint(createPoint("Point-0001", Point.Type.HALT_POSITION))
+        .withPath(
+            new PathCreationTO("Point-0001 --- Point-0002", "Point-0001", "Point-0002")
+                .withLength(1500)
+                .withMaxVelocity(1000)
+                .withMaxReverseVelocity(500)
+                .withLocked(true)
+                .withPeripheralOperations(List.of(
+                    new PeripheralOperationCreationTO("Open door", "Location-0001")
+                        .withExecutionTrigger(
+                            PeripheralOperation.ExecutionTrigger.BEFORE_MOVEMENT
+                        )
+                        .withCompletionRequired(true)
+                ))
+                .withProperty("b-key", "\"quoted\" value")
+                .withProperty("a-key", "value")
+                .withLayout(new PathCreationTO.Layout(Path.Layout.ConnectionType.BEZIER,
+                                                      List.of(new Couple(1, 2),
+                                                              new Couple(3, 4)),
+                                                      0))
+        )
+        .withPath(
+            new PathCreationTO("Point-0002 --- Point-0001", "Point-0002", "Point-0001")
+                .withLength(1500)
+                .withMaxVelocity(1000)
+                .withLayout(new PathCreationTO.Layout(Path.Layout.ConnectionType.DIRECT,
+                                                      List.of(),
+                                                      0))
+        )
+        .withVehicle(
+            new VehicleCreationTO("Vehicle-0001")
+                .withLength(1000)
+                .withEnergyLevelCritical(10)
+                .withEnergyLevelGood(80)
+                .withEnergyLevelFullyRecharged(95)
+                .withEnergyLevelSufficientlyRecharged(40)
+                .withMaxVelocity(1500)
+                .withMaxReverseVelocity(750)
+                .withLayout(new VehicleCreationTO.Layout(Color.RED))
+        )
+        .withLocationType(
+            new LocationTypeCreationTO("LType-0001")
+                .withAllowedOperations(List.of("Unload", "Load"))
+                .withAllowedPeripheralOperations(List.of("Open door"))
+                .withLayout(new LocationTypeCreationTO.Layout(
+                    LocationRepresentation.LOAD_TRANSFER_GENERIC
+                ))
+        )
+        .withLocation(
+            new LocationCreationTO("Location-0001", "LType-0001", new Triple(10, 20, 0))
+                .withLinks(Map.of("Point-0001", Set.of("Load", "Unload"),
+                                  "Point-0002", Set.of()))
+                .withProperty("key", "value")
+                .withLayout(new LocationCreationTO.Layout(new Couple(10, 20),
+                                                          new Couple(-10, -20),
+                                                          LocationRepresentation.DEFAULT,
+                                                          0))
+        )
+        .withBlock(
+            new BlockCreationTO("Block-0001")
+                .withType(Block.Type.SAME_DIRECTION_ONLY)
+                .withMemberNames(Set.of("Point-0002", "Point-0001"))
+                .withLayout(new BlockCreationTO.Layout(Color.BLUE))
+        )
+        .withVisualLayout(
+            new VisualLayoutCreationTO("VLayout-01")
+                .withScaleX(50.0)
+                .withScaleY(50.0)
+                .withLayer(new Layer(0, 0, true, "Layer", 0))
+                .withLayerGroup(new LayerGroup(0, "Group", true))
+        )
+        .withProperty("modelKey", "modelValue");
+  }
+
+  private PointCreationTO createPoint(String name, Point.Type type) {
+    return new PointCreationTO(name)
+        .withPosition(new Triple(1000, 2000, 0))
+        .withVehicleOrientationAngle(Double.NaN)
+        .withType(type)
+        .withProperty("key", "value")
+        .withLayout(new PointCreationTO.Layout(new Couple(1000, 2000), new Couple(-10, -20), 0));
+  }
+}
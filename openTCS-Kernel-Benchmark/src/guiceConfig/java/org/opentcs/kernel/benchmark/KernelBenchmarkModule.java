@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark;
+
+import javax.inject.Singleton;
+import org.opentcs.customizations.kernel.KernelInjectionModule;
+
+/**
+ * Configures the kernel for benchmark runs.
+ */
+public class KernelBenchmarkModule
+    extends KernelInjectionModule {
+
+  /**
+   * Creates a new instance.
+   */
+  public KernelBenchmarkModule() {
+  }
+
+  @Override
+  protected void configure() {
+    bind(AllocationTimingScheduler.class).in(Singleton.class);
+    bindScheduler(AllocationTimingScheduler.class);
+
+    bind(KernelMetricsCollector.class).in(Singleton.class);
+    bind(KernelBenchmark.class).in(Singleton.class);
+  }
+}
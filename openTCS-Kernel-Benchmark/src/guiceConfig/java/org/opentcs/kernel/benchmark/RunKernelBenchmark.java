@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.util.Modules;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import org.opentcs.access.Kernel;
+import org.opentcs.access.LocalKernel;
+import org.opentcs.configuration.ConfigurationBindingProvider;
+import org.opentcs.configuration.cfg4j.Cfg4jConfigurationBindingProvider;
+import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.customizations.kernel.KernelInjectionModule;
+import org.opentcs.kernel.DefaultKernelInjectionModule;
+import org.opentcs.kernel.KernelStarter;
+import org.opentcs.strategies.basic.dispatching.DefaultDispatcherModule;
+import org.opentcs.strategies.basic.peripherals.dispatching.DefaultPeripheralJobDispatcherModule;
+import org.opentcs.strategies.basic.routing.DefaultRouterModule;
+import org.opentcs.strategies.basic.scheduling.DefaultSchedulerModule;
+import org.opentcs.util.logging.UncaughtExceptionLogger;
+import org.opentcs.util.persistence.ModelParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The benchmark's entry point.
+ * <p>
+ * Sets up a kernel in a temporary working directory, with the plant model given on the command
+ * line or a generated model, runs the benchmark and writes the results as JSON.
+ * </p>
+ */
+public class RunKernelBenchmark {
+
+  /**
+   * This class's Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(RunKernelBenchmark.class);
+  /**
+   * The classpath resource containing the kernel's baseline defaults.
+   */
+  private static final String BASELINE_DEFAULTS
+      = "/org/opentcs/kernel/distribution/config/opentcs-kernel-defaults-baseline.properties";
+  /**
+   * The classpath resource containing the benchmark's defaults.
+   */
+  private static final String BENCHMARK_DEFAULTS
+      = "/org/opentcs/kernel/benchmark/opentcs-kernel-defaults-benchmark.properties";
+
+  /**
+   * Prevents external instantiation.
+   */
+  private RunKernelBenchmark() {
+  }
+
+  /**
+   * Sets up the kernel and runs the benchmark.
+   *
+   * @param args The command line arguments.
+   */
+  public static void main(String[] args) {
+    Thread.setDefaultUncaughtExceptionHandler(new UncaughtExceptionLogger(false));
+
+    BenchmarkOptions options;
+    try {
+      options = BenchmarkOptions.parse(args);
+    }
+    catch (IllegalArgumentException exc) {
+      System.err.println(exc.getMessage());
+      System.err.print(BenchmarkOptions.USAGE);
+      System.exit(2);
+      return;
+    }
+
+    // The kernel's threads do not terminate by themselves, so exit explicitly in any case.
+    try {
+      runBenchmark(options);
+      System.exit(0);
+    }
+    catch (Exception exc) {
+      LOG.error("Benchmark failed", exc);
+      System.exit(1);
+    }
+  }
+
+  private static void runBenchmark(BenchmarkOptions options)
+      throws Exception {
+    Path workDir = prepareWorkingDirectory(options);
+    System.setProperty("opentcs.base", workDir.toString());
+    System.setProperty("opentcs.home", workDir.toString());
+
+    Injector injector = Guice.createInjector(customConfigurationModule());
+    injector.getInstance(KernelStarter.class).startKernel();
+    awaitOperatingState(injector);
+
+    BenchmarkResult result = injector.getInstance(KernelBenchmark.class).run(options);
+
+    ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    if (options.getOutputFile() == null) {
+      System.out.println(objectMapper.writeValueAsString(result));
+    }
+    else {
+      objectMapper.writeValue(options.getOutputFile().toFile(), result);
+    }
+  }
+
+  private static Path prepareWorkingDirectory(BenchmarkOptions options)
+      throws IOException {
+    Path workDir = Files.createTempDirectory("opentcs-benchmark-");
+    Path configDir = Files.createDirectories(workDir.resolve("config"));
+    Path dataDir = Files.createDirectories(workDir.resolve("data"));
+    LOG.info("Using working directory {}", workDir);
+
+    copyResource(BASELINE_DEFAULTS,
+                 configDir.resolve("opentcs-kernel-defaults-baseline.properties"));
+    copyResource(BENCHMARK_DEFAULTS,
+                 configDir.resolve("opentcs-kernel-defaults-custom.properties"));
+    if (options.getConfigFile() != null) {
+      Files.copy(options.getConfigFile(), configDir.resolve("opentcs-kernel.properties"));
+    }
+
+    Path modelFile = dataDir.resolve("model.xml");
+    if (options.getModelFile() != null) {
+      Files.copy(options.getModelFile(), modelFile);
+    }
+    else {
+      new ModelParser().writeModel(options.getGeneratorOptions().toGenerator().generate(),
+                                   modelFile.toFile());
+    }
+
+    return workDir;
+  }
+
+  private static void copyResource(String resourceName, Path target)
+      throws IOException {
+    try (InputStream in = RunKernelBenchmark.class.getResourceAsStream(resourceName)) {
+      if (in == null) {
+        throw new IOException("Resource not found: " + resourceName);
+      }
+      Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static void awaitOperatingState(Injector injector)
+      throws InterruptedException, ExecutionException {
+    // The kernel is started on the kernel executor, so a task submitted afterwards runs after that.
+    injector.getInstance(Key.get(ScheduledExecutorService.class, KernelExecutor.class))
+        .submit(() -> { })
+        .get();
+    Kernel.State state = injector.getInstance(LocalKernel.class).getState();
+    if (state != Kernel.State.OPERATING) {
+      throw new IllegalStateException("Kernel not operating after start: " + state);
+    }
+  }
+
+  /**
+   * Builds and returns a Guice module containing the kernel's configuration, including the
+   * registered modules and the benchmark's overrides.
+   *
+   * @return The configuration module.
+   */
+  private static Module customConfigurationModule() {
+    List<KernelInjectionModule> defaultModules
+        = Arrays.asList(new DefaultKernelInjectionModule(),
+                        new DefaultDispatcherModule(),
+                        new DefaultRouterModule(),
+                        new DefaultSchedulerModule(),
+                        new DefaultPeripheralJobDispatcherModule());
+
+    ConfigurationBindingProvider bindingProvider = configurationBindingProvider();
+    for (KernelInjectionModule defaultModule : defaultModules) {
+      defaultModule.setConfigBindingProvider(bindingProvider);
+    }
+
+    List<KernelInjectionModule> registeredModules = new ArrayList<>();
+    for (KernelInjectionModule module : ServiceLoader.load(KernelInjectionModule.class)) {
+      module.setConfigBindingProvider(bindingProvider);
+      registeredModules.add(module);
+    }
+
+    KernelBenchmarkModule benchmarkModule = new KernelBenchmarkModule();
+    benchmarkModule.setConfigBindingProvider(bindingProvider);
+
+    return Modules.override(Modules.override(defaultModules).with(registeredModules))
+        .with(benchmarkModule);
+  }
+
+  private static ConfigurationBindingProvider configurationBindingProvider() {
+    Path base = Path.of(System.getProperty("opentcs.base"), "config");
+    Path home = Path.of(System.getProperty("opentcs.home"), "config");
+    return new Cfg4jConfigurationBindingProvider(
+        base.resolve("opentcs-kernel-defaults-baseline.properties").toAbsolutePath(),
+        base.resolve("opentcs-kernel-defaults-custom.properties").toAbsolutePath(),
+        home.resolve("opentcs-kernel.properties").toAbsolutePath()
+    );
+  }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark.jmh;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.kernel.extensions.servicewebapi.JsonBinder;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetEventsResponseTO;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.getevents.OrderStatusMessage;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.getevents.StatusMessage;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.getevents.VehicleStatusMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link JsonBinder}'s serialization of status messages, as delivered by the
+ * service web API's events route.
+ * <p>
+ * Compares producing a string first (and encoding it to write it to the response) with writing
+ * directly to the response stream.
+ * Run with JMH's GC profiler ({@code -prof gc}) to compare the memory allocated per operation.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBinderBenchmark {
+
+  /**
+   * The number of status messages in the response.
+   */
+  @Param({"10", "1000"})
+  public int messageCount;
+
+  private JsonBinder jsonBinder;
+
+  private GetEventsResponseTO response;
+
+  private OutputStream outputStream;
+
+  @Setup
+  public void setUp() {
+    jsonBinder = new JsonBinder();
+    outputStream = OutputStream.nullOutputStream();
+
+    Point point = new Point("Point-0001");
+    Location location = new Location("Location-0001",
+                                     new LocationType("LType-0001").getReference());
+    Vehicle vehicle = new Vehicle("Vehicle-0001")
+        .withCurrentPosition(point.getReference())
+        .withState(Vehicle.State.EXECUTING)
+        .withProcState(Vehicle.ProcState.PROCESSING_ORDER)
+        .withProperty("key", "value");
+    TransportOrder order = new TransportOrder(
+        "TOrder-0001",
+        List.of(new DriveOrder(new DriveOrder.Destination(point.getReference())),
+                new DriveOrder(new DriveOrder.Destination(location.getReference())))
+    )
+        .withState(TransportOrder.State.BEING_PROCESSED)
+        .withProcessingVehicle(vehicle.getReference())
+        .withProperty("key", "value");
+
+    Instant timeStamp = Instant.now();
+    List<StatusMessage> messages = new ArrayList<>(messageCount);
+    for (int i = 0; i < messageCount; i++) {
+      messages.add(i % 2 == 0
+          ? VehicleStatusMessage.fromVehicle(vehicle, i, timeStamp)
+          : OrderStatusMessage.fromTransportOrder(order, i, timeStamp));
+    }
+    response = new GetEventsResponseTO()
+        .setTimeStamp(timeStamp)
+        .setStatusMessages(messages);
+  }
+
+  @Benchmark
+  public String toJsonString() {
+    return jsonBinder.toJson(response);
+  }
+
+  @Benchmark
+  public void toJsonStringAndWrite()
+      throws IOException {
+    outputStream.write(jsonBinder.toJson(response).getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Benchmark
+  public void toJsonStream() {
+    jsonBinder.toJson(response, outputStream);
+  }
+}
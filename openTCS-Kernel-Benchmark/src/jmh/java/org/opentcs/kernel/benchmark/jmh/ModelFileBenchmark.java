@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark.jmh;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.util.modelgenerator.PlantModelGenerator;
+import org.opentcs.util.persistence.v004.V004ModelStreamReader;
+import org.opentcs.util.persistence.v004.V004ModelStreamWriter;
+import org.opentcs.util.persistence.v004.V004PlantModelTO;
+import org.opentcs.util.persistence.v004.V004TOMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks reading and writing model files in the current (0.0.4) format, comparing the
+ * streaming reader/writer with JAXB (un)marshalling of the whole tree of transfer objects.
+ * <p>
+ * With the default grid size, the model consists of about 125,000 elements (25,600 points and
+ * 101,760 paths).
+ * Run with JMH's GC profiler ({@code -prof gc}) to compare the memory allocated per operation.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ModelFileBenchmark {
+
+  /**
+   * The number of rows and columns of the grid.
+   */
+  @Param({"160"})
+  public int gridSize;
+
+  private PlantModelCreationTO model;
+
+  private String modelXml;
+
+  @Setup
+  public void setUp()
+      throws IOException {
+    model = new PlantModelGenerator()
+        .withLayout(PlantModelGenerator.Layout.GRID, gridSize, gridSize)
+        .withLocationCount(2 * gridSize)
+        .withVehicles(0, 1)
+        .generate();
+
+    StringWriter writer = new StringWriter();
+    new V004ModelStreamWriter().write(model, writer);
+    modelXml = writer.toString();
+  }
+
+  @Benchmark
+  public PlantModelCreationTO readStreaming()
+      throws IOException {
+    return new V004ModelStreamReader(false).read(new StringReader(modelXml));
+  }
+
+  @Benchmark
+  public PlantModelCreationTO readStreamingValidating()
+      throws IOException {
+    return new V004ModelStreamReader(true).read(new StringReader(modelXml));
+  }
+
+  @Benchmark
+  public PlantModelCreationTO readJaxb()
+      throws IOException {
+    // (Un)marshalling via JAXB always validates the model.
+    return new V004TOMapper().map(V004PlantModelTO.fromXml(new StringReader(modelXml)));
+  }
+
+  @Benchmark
+  public void writeStreaming()
+      throws IOException {
+    new V004ModelStreamWriter().write(model, Writer.nullWriter());
+  }
+
+  @Benchmark
+  public void writeJaxb()
+      throws IOException {
+    new V004TOMapper().map(model).toXml(Writer.nullWriter());
+  }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opentcs.data.ObjectHistory;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Triple;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.TransportOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks creating modified copies of transport orders and vehicles via their
+ * {@code with*()} methods, which happens for every change of their state in the kernel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObjectCopyBenchmark {
+
+  /**
+   * The number of entries in the objects' histories.
+   */
+  @Param({"0", "100"})
+  public int historyEntries;
+  /**
+   * The number of drive orders of the transport order.
+   */
+  @Param({"1", "10"})
+  public int driveOrderCount;
+
+  private TransportOrder transportOrder;
+
+  private Vehicle vehicle;
+
+  private Point point;
+
+  private boolean toggle;
+
+  @Setup
+  public void setUp() {
+    point = new Point("Point-0001");
+    Location location = new Location("Location-0001",
+                                     new LocationType("LType-0001").getReference());
+
+    List<DriveOrder> driveOrders = new ArrayList<>(driveOrderCount);
+    for (int i = 0; i < driveOrderCount; i++) {
+      driveOrders.add(new DriveOrder(new DriveOrder.Destination(location.getReference())));
+    }
+    ObjectHistory history = new ObjectHistory();
+    for (int i = 0; i < historyEntries; i++) {
+      history = history.withEntryAppended(new ObjectHistory.Entry("benchmarkEvent-" + i));
+    }
+
+    transportOrder = new TransportOrder("TOrder-0001", driveOrders)
+        .withCurrentDriveOrderIndex(0)
+        .withProperty("key", "value")
+        .withHistory(history);
+    // Vehicle.withHistory() is declared to return a TCSObject only.
+    vehicle = (Vehicle) new Vehicle("Vehicle-0001")
+        .withProperty("key", "value")
+        .withHistory(history);
+  }
+
+  @Benchmark
+  public TransportOrder transportOrderWithState() {
+    return transportOrder.withState(nextToggle()
+        ? TransportOrder.State.BEING_PROCESSED
+        : TransportOrder.State.DISPATCHABLE);
+  }
+
+  @Benchmark
+  public TransportOrder transportOrderWithProperty() {
+    return transportOrder.withProperty("key", nextToggle() ? "a" : "b");
+  }
+
+  @Benchmark
+  public TransportOrder transportOrderWithCurrentDriveOrderState() {
+    return transportOrder.withCurrentDriveOrderState(nextToggle()
+        ? DriveOrder.State.TRAVELLING
+        : DriveOrder.State.OPERATING);
+  }
+
+  @Benchmark
+  public Vehicle vehicleWithState() {
+    return vehicle.withState(nextToggle() ? Vehicle.State.EXECUTING : Vehicle.State.IDLE);
+  }
+
+  @Benchmark
+  public Vehicle vehicleWithCurrentPosition() {
+    return vehicle.withCurrentPosition(nextToggle() ? point.getReference() : null);
+  }
+
+  @Benchmark
+  public Vehicle vehicleWithPrecisePosition() {
+    return vehicle.withPrecisePosition(nextToggle() ? new Triple(1, 2, 3) : null);
+  }
+
+  private boolean nextToggle() {
+    toggle = !toggle;
+    return toggle;
+  }
+}
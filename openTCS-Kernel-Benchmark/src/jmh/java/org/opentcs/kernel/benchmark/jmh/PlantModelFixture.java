@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark.jmh;
+
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.kernel.services.StandardTCSObjectService;
+import org.opentcs.kernel.workingset.PlantModelManager;
+import org.opentcs.kernel.workingset.TCSObjectRepository;
+
+/**
+ * A plant model in an object repository, as used by the kernel, for benchmarks to work on.
+ */
+public class PlantModelFixture {
+
+  /**
+   * The object repository containing the plant model.
+   */
+  private final TCSObjectRepository objectRepository = new TCSObjectRepository();
+  /**
+   * Manages the plant model in the object repository.
+   */
+  private final PlantModelManager plantModelManager
+      = new PlantModelManager(objectRepository, event -> {
+      });
+  /**
+   * An object service working on the object repository.
+   */
+  private final TCSObjectService objectService
+      = new StandardTCSObjectService(new Object(), plantModelManager);
+
+  /**
+   * Creates a new instance containing the given plant model.
+   *
+   * @param model The plant model.
+   */
+  public PlantModelFixture(@Nonnull PlantModelCreationTO model) {
+    plantModelManager.createPlantModelObjects(requireNonNull(model, "model"));
+  }
+
+  @Nonnull
+  public TCSObjectRepository getObjectRepository() {
+    return objectRepository;
+  }
+
+  @Nonnull
+  public TCSObjectService getObjectService() {
+    return objectService;
+  }
+}
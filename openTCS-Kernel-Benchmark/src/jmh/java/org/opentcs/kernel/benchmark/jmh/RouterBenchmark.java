@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark.jmh;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.Route;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.strategies.basic.routing.AvoidedResources;
+import org.opentcs.strategies.basic.routing.DefaultRouter;
+import org.opentcs.strategies.basic.routing.DefaultRoutingGroupMapper;
+import org.opentcs.strategies.basic.routing.DestinationPointCache;
+import org.opentcs.strategies.basic.routing.PointRouterFactory;
+import org.opentcs.strategies.basic.routing.edgeevaluator.CongestionConfiguration;
+import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorComposite;
+import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorCongestion;
+import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorDistance;
+import org.opentcs.strategies.basic.routing.jgrapht.BellmanFordPointRouterFactory;
+import org.opentcs.strategies.basic.routing.jgrapht.DefaultModelGraphMapper;
+import org.opentcs.strategies.basic.routing.jgrapht.DijkstraPointRouterFactory;
+import org.opentcs.strategies.basic.routing.jgrapht.FloydWarshallPointRouterFactory;
+import org.opentcs.strategies.basic.routing.jgrapht.ShortestPathConfiguration;
+import org.opentcs.strategies.basic.routing.jgrapht.ShortestPathConfiguration.Algorithm;
+import org.opentcs.strategies.basic.routing.spacetime.ReservationTableProvider;
+import org.opentcs.strategies.basic.routing.spacetime.SpaceTimeConfiguration;
+import org.opentcs.util.event.SimpleEventBus;
+import org.opentcs.util.metrics.MetricRegistry;
+import org.opentcs.util.modelgenerator.PlantModelGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks route and cost computations of the {@link DefaultRouter} on grid plant models, for
+ * each of the available shortest path algorithms, with and without considering congestion or
+ * planning routes in space and time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouterBenchmark {
+
+  /**
+   * The number of source/destination pairs to cycle through.
+   */
+  private static final int PAIR_COUNT = 1024;
+  /**
+   * The number of rows and columns of the grid.
+   */
+  @Param({"10", "30"})
+  public int gridSize;
+  /**
+   * The shortest path algorithm to be used.
+   */
+  @Param({"DIJKSTRA", "BELLMAN_FORD", "FLOYD_WARSHALL"})
+  public Algorithm algorithm;
+  /**
+   * The number of destinations of the transport orders to be routed.
+   */
+  @Param({"2"})
+  public int destinationsPerOrder;
+  /**
+   * Whether routes are to be computed considering congestion.
+   */
+  @Param({"false", "true"})
+  public boolean congestion;
+  /**
+   * Whether routes are to be planned in space and time.
+   */
+  @Param({"false", "true"})
+  public boolean spaceTime;
+
+  private DefaultRouter router;
+
+  private Vehicle vehicle;
+
+  private Point[] sourcePoints;
+
+  private Point[] destinationPoints;
+
+  private TransportOrder[] transportOrders;
+
+  private int index;
+
+  @Setup
+  public void setUp() {
+    TCSObjectService objectService
+        = new PlantModelFixture(
+        new PlantModelGenerator()
+            .withLayout(PlantModelGenerator.Layout.GRID, gridSize, gridSize)
+            .withLocationCount(2 * gridSize)
+            .withVehicles(1, 1)
+            .generate()
+    ).getObjectService();
+
+    ShortestPathConfiguration configuration = new ShortestPathConfiguration() {
+      @Override
+      public Algorithm algorithm() {
+        return algorithm;
+      }
+
+      @Override
+      public List<String> edgeEvaluators() {
+        return List.of(EdgeEvaluatorDistance.CONFIGURATION_KEY);
+      }
+    };
+    DefaultModelGraphMapper mapper = new DefaultModelGraphMapper(
+        new EdgeEvaluatorComposite(configuration,
+                                   Map.of(EdgeEvaluatorDistance.CONFIGURATION_KEY,
+                                          new EdgeEvaluatorDistance())),
+        configuration
+    );
+
+    CongestionConfiguration congestionConfiguration = new CongestionConfiguration() {
+      @Override
+      public boolean enable() {
+        return congestion;
+      }
+
+      @Override
+      public int allocationPenalty() {
+        return 10000;
+      }
+
+      @Override
+      public double claimDecay() {
+        return 0.5;
+      }
+    };
+
+    SpaceTimeConfiguration spaceTimeConfiguration = new SpaceTimeConfiguration() {
+      @Override
+      public boolean enable() {
+        return spaceTime;
+      }
+
+      @Override
+      public int operationDuration() {
+        return 5000;
+      }
+
+      @Override
+      public int safetyMargin() {
+        return 500;
+      }
+
+      @Override
+      public int maxReservationTableAge() {
+        return 1000;
+      }
+    };
+
+    router = new DefaultRouter(objectService,
+                               createPointRouterFactory(objectService, mapper),
+                               new DefaultRoutingGroupMapper(),
+                               () -> false,
+                               MetricRegistry.DISABLED,
+                               new DestinationPointCache(new SimpleEventBus(), objectService),
+                               new EdgeEvaluatorCongestion(new SimpleEventBus(),
+                                                           objectService,
+                                                           congestionConfiguration),
+                               new ReservationTableProvider(objectService,
+                                                            spaceTimeConfiguration),
+                               new AvoidedResources());
+    router.initialize();
+
+    vehicle = objectService.fetchObjects(Vehicle.class).iterator().next();
+
+    // Sort the objects to make the selection reproducible.
+    List<Point> points = objectService.fetchObjects(Point.class).stream()
+        .sorted(Comparator.comparing(Point::getName))
+        .collect(Collectors.toList());
+    List<Location> locations = objectService.fetchObjects(Location.class).stream()
+        .sorted(Comparator.comparing(Location::getName))
+        .collect(Collectors.toList());
+    Random random = new Random(4711);
+    sourcePoints = new Point[PAIR_COUNT];
+    destinationPoints = new Point[PAIR_COUNT];
+    transportOrders = new TransportOrder[PAIR_COUNT];
+    for (int i = 0; i < PAIR_COUNT; i++) {
+      sourcePoints[i] = points.get(random.nextInt(points.size()));
+      destinationPoints[i] = points.get(random.nextInt(points.size()));
+
+      List<DriveOrder> driveOrders = new ArrayList<>(destinationsPerOrder);
+      for (int j = 0; j < destinationsPerOrder; j++) {
+        driveOrders.add(new DriveOrder(
+            new DriveOrder.Destination(locations.get(random.nextInt(locations.size()))
+                .getReference())
+                .withOperation(DriveOrder.Destination.OP_NOP)
+        ));
+      }
+      transportOrders[i] = new TransportOrder("TOrder-" + i, driveOrders);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    router.terminate();
+  }
+
+  @Benchmark
+  public Optional<Route> getRoute() {
+    int i = nextIndex();
+    return router.getRoute(vehicle, sourcePoints[i], destinationPoints[i]);
+  }
+
+  @Benchmark
+  public long getCosts() {
+    int i = nextIndex();
+    return router.getCosts(vehicle, sourcePoints[i], destinationPoints[i]);
+  }
+
+  @Benchmark
+  public Optional<List<DriveOrder>> getRouteForTransportOrder() {
+    int i = nextIndex();
+    return router.getRoute(vehicle, sourcePoints[i], transportOrders[i]);
+  }
+
+  private int nextIndex() {
+    index = (index + 1) % PAIR_COUNT;
+    return index;
+  }
+
+  private PointRouterFactory createPointRouterFactory(TCSObjectService objectService,
+                                                      DefaultModelGraphMapper mapper) {
+    switch (algorithm) {
+      case DIJKSTRA:
+        return new DijkstraPointRouterFactory(objectService, mapper);
+      case BELLMAN_FORD:
+        return new BellmanFordPointRouterFactory(objectService, mapper);
+      case FLOYD_WARSHALL:
+        return new FloydWarshallPointRouterFactory(objectService, mapper);
+      default:
+        throw new IllegalArgumentException("Unhandled algorithm: " + algorithm);
+    }
+  }
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark.jmh;
+
+import java.lang.reflect.Proxy;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.opentcs.components.kernel.ResourceAllocationException;
+import org.opentcs.components.kernel.Scheduler;
+import org.opentcs.components.kernel.services.InternalPlantModelService;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.TCSResource;
+import org.opentcs.strategies.basic.scheduling.AllocationAdvisor;
+import org.opentcs.strategies.basic.scheduling.DefaultScheduler;
+import org.opentcs.strategies.basic.scheduling.ReservationPool;
+import org.opentcs.strategies.basic.scheduling.ZonePartitioningConfiguration;
+import org.opentcs.util.event.SimpleEventBus;
+import org.opentcs.util.metrics.MetricRegistry;
+import org.opentcs.util.modelgenerator.PlantModelGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks allocate/free cycles of the {@link DefaultScheduler}.
+ * <p>
+ * Like in the kernel, allocations are processed on a separate (kernel) executor.
+ * Every cycle waits for the tasks submitted by the scheduler to be processed, so the measured
+ * times include the hand-over to the executor.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulerBenchmark {
+
+  /**
+   * The number of resources allocated/freed at once.
+   */
+  @Param({"1", "4"})
+  public int resourcesPerAllocation;
+
+  private ScheduledExecutorService kernelExecutor;
+
+  private DefaultScheduler scheduler;
+
+  private BenchmarkClient client;
+
+  private Set<TCSResource<?>> resources;
+
+  @Setup
+  public void setUp() {
+    kernelExecutor = Executors.newSingleThreadScheduledExecutor();
+    Object globalSyncObject = new Object();
+    scheduler = new DefaultScheduler(unusedPlantModelService(),
+                                     new AllocationAdvisor(Set.of()),
+                                     new ReservationPool(),
+                                     kernelExecutor,
+                                     new SimpleEventBus(),
+                                     globalSyncObject,
+                                     MetricRegistry.DISABLED,
+                                     unpartitioned());
+    scheduler.initialize();
+
+    client = new BenchmarkClient();
+    resources = new PlantModelFixture(
+        new PlantModelGenerator()
+            .withLayout(PlantModelGenerator.Layout.GRID, 1, resourcesPerAllocation + 1)
+            .withLocationCount(0)
+            .withVehicles(0, 1)
+            .generate()
+    ).getObjectService()
+        .fetchObjects(Point.class).stream()
+        .sorted(Comparator.comparing(Point::getName))
+        .limit(resourcesPerAllocation)
+        .collect(Collectors.toCollection(HashSet::new));
+  }
+
+  @TearDown
+  public void tearDown() {
+    scheduler.terminate();
+    kernelExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  public void allocateAndFree()
+      throws InterruptedException, ExecutionException {
+    CompletableFuture<Set<TCSResource<?>>> allocation = client.expectAllocation();
+    scheduler.claim(client, List.of(resources));
+    scheduler.allocate(client, resources);
+    allocation.get();
+
+    scheduler.free(client, resources);
+    awaitKernelExecutor();
+  }
+
+  @Benchmark
+  public void allocateNowAndFree()
+      throws ResourceAllocationException, InterruptedException, ExecutionException {
+    scheduler.allocateNow(client, resources);
+
+    scheduler.free(client, resources);
+    awaitKernelExecutor();
+  }
+
+  private void awaitKernelExecutor()
+      throws InterruptedException, ExecutionException {
+    kernelExecutor.submit(() -> {
+    }).get();
+  }
+
+  /**
+   * Returns a configuration disabling the partitioning of resources into zones.
+   *
+   * @return A configuration disabling the partitioning of resources into zones.
+   */
+  private static ZonePartitioningConfiguration unpartitioned() {
+    return new ZonePartitioningConfiguration() {
+      @Override
+      public boolean enable() {
+        return false;
+      }
+
+      @Override
+      public String zonePropertyKey() {
+        return "";
+      }
+
+      @Override
+      public int allocationThreads() {
+        return 0;
+      }
+    };
+  }
+
+  /**
+   * Returns a plant model service that throws an exception for every call.
+   * The scheduler does not use the plant model service for allocations.
+   *
+   * @return A plant model service that throws an exception for every call.
+   */
+  private static InternalPlantModelService unusedPlantModelService() {
+    return (InternalPlantModelService) Proxy.newProxyInstance(
+        InternalPlantModelService.class.getClassLoader(),
+        new Class<?>[]{InternalPlantModelService.class},
+        (proxy, method, args) -> {
+          throw new UnsupportedOperationException(method.getName());
+        }
+    );
+  }
+
+  /**
+   * A scheduler client completing a future when its allocation was successful.
+   */
+  private static class BenchmarkClient
+      implements Scheduler.Client {
+
+    private volatile CompletableFuture<Set<TCSResource<?>>> allocation;
+
+    BenchmarkClient() {
+    }
+
+    CompletableFuture<Set<TCSResource<?>>> expectAllocation() {
+      allocation = new CompletableFuture<>();
+      return allocation;
+    }
+
+    @Override
+    @Nonnull
+    public String getId() {
+      return "BenchmarkClient";
+    }
+
+    @Override
+    public boolean allocationSuccessful(@Nonnull Set<TCSResource<?>> resources) {
+      allocation.complete(resources);
+      return true;
+    }
+
+    @Override
+    public void allocationFailed(@Nonnull Set<TCSResource<?>> resources) {
+      allocation.completeExceptionally(
+          new IllegalStateException("Allocation failed: " + resources)
+      );
+    }
+  }
+}
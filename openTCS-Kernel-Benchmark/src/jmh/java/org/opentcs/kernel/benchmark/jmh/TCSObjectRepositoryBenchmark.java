@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark.jmh;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.kernel.workingset.TCSObjectRepository;
+import org.opentcs.util.modelgenerator.PlantModelGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks lookups and replacements of objects in the {@link TCSObjectRepository}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TCSObjectRepositoryBenchmark {
+
+  /**
+   * The number of objects to cycle through.
+   */
+  private static final int OBJECT_COUNT = 1024;
+  /**
+   * The number of rows and columns of the grid.
+   */
+  @Param({"10", "100"})
+  public int gridSize;
+
+  private TCSObjectRepository objectRepository;
+
+  private Point[] points;
+
+  private int index;
+
+  @Setup
+  public void setUp() {
+    objectRepository = new PlantModelFixture(
+        new PlantModelGenerator()
+            .withLayout(PlantModelGenerator.Layout.GRID, gridSize, gridSize)
+            .withLocationCount(0)
+            .withVehicles(0, 1)
+            .generate()
+    ).getObjectRepository();
+
+    Point[] allPoints = objectRepository.getObjects(Point.class).stream()
+        .sorted(Comparator.comparing(Point::getName))
+        .toArray(Point[]::new);
+    Random random = new Random(4711);
+    points = new Point[OBJECT_COUNT];
+    for (int i = 0; i < OBJECT_COUNT; i++) {
+      points[i] = allPoints[random.nextInt(allPoints.length)];
+    }
+  }
+
+  @Benchmark
+  public TCSObject<?> getObjectByReference() {
+    return objectRepository.getObjectOrNull(nextPoint().getReference());
+  }
+
+  @Benchmark
+  public Point getObjectByClassAndReference() {
+    return objectRepository.getObjectOrNull(Point.class, nextPoint().getReference());
+  }
+
+  @Benchmark
+  public Point getObjectByClassAndName() {
+    return objectRepository.getObjectOrNull(Point.class, nextPoint().getName());
+  }
+
+  @Benchmark
+  public Set<Path> getObjectsByClass() {
+    return objectRepository.getObjects(Path.class);
+  }
+
+  @Benchmark
+  public Set<Point> getObjectsByClassAndPredicate() {
+    return objectRepository.getObjects(Point.class, point -> point.isParkingPosition());
+  }
+
+  @Benchmark
+  public void replaceObject() {
+    objectRepository.replaceObject(nextPoint());
+  }
+
+  private Point nextPoint() {
+    index = (index + 1) % OBJECT_COUNT;
+    return points[index];
+  }
+}
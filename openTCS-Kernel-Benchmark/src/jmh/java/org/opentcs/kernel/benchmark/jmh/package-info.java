@@ -0,0 +1,4 @@
+/**
+ * JMH micro-benchmarks for hot paths of the kernel and the default strategies.
+ */
+package org.opentcs.kernel.benchmark.jmh;
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.components.kernel.ResourceAllocationException;
+import org.opentcs.components.kernel.Scheduler;
+import org.opentcs.data.model.TCSResource;
+import org.opentcs.strategies.basic.scheduling.DefaultScheduler;
+
+/**
+ * A scheduler that measures the time clients have to wait for the resources they requested.
+ * <p>
+ * All calls are delegated to a {@link DefaultScheduler}.
+ * Every client is wrapped in a {@link TimingClient} that keeps track of the points of time at
+ * which allocations were requested.
+ * The same wrapper is used for all calls regarding a client, so the delegate always sees the same
+ * client instance.
+ * </p>
+ */
+public class AllocationTimingScheduler
+    implements Scheduler {
+
+  /**
+   * The scheduler to delegate to.
+   */
+  private final Scheduler delegate;
+  /**
+   * The wrappers for the clients, mapped by the clients they wrap.
+   */
+  private final Map<Client, TimingClient> timingClients = new ConcurrentHashMap<>();
+  /**
+   * The allocation wait times (in ms).
+   */
+  private final SampleStatistics allocationWaitTimes = new SampleStatistics();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param delegate The scheduler to delegate to.
+   */
+  @Inject
+  public AllocationTimingScheduler(DefaultScheduler delegate) {
+    this.delegate = requireNonNull(delegate, "delegate");
+  }
+
+  @Override
+  public void initialize() {
+    delegate.initialize();
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return delegate.isInitialized();
+  }
+
+  @Override
+  public void terminate() {
+    delegate.terminate();
+  }
+
+  @Override
+  public void claim(Client client, List<Set<TCSResource<?>>> resourceSequence) {
+    delegate.claim(timingClient(client), resourceSequence);
+  }
+
+  @Override
+  @Deprecated
+  public void updateProgressIndex(Client client, int index)
+      throws IllegalArgumentException {
+    delegate.updateProgressIndex(timingClient(client), index);
+  }
+
+  @Override
+  @Deprecated
+  public void unclaim(Client client)
+      throws IllegalArgumentException {
+    delegate.unclaim(timingClient(client));
+  }
+
+  @Override
+  public void allocate(Client client, Set<TCSResource<?>> resources)
+      throws IllegalArgumentException {
+    TimingClient timingClient = timingClient(client);
+    timingClient.allocationRequested(resources);
+    delegate.allocate(timingClient, resources);
+  }
+
+  @Override
+  public boolean mayAllocateNow(Client client, Set<TCSResource<?>> resources) {
+    return delegate.mayAllocateNow(timingClient(client), resources);
+  }
+
+  @Override
+  public void allocateNow(Client client, Set<TCSResource<?>> resources)
+      throws ResourceAllocationException {
+    delegate.allocateNow(timingClient(client), resources);
+  }
+
+  @Override
+  public void free(Client client, Set<TCSResource<?>> resources) {
+    delegate.free(timingClient(client), resources);
+  }
+
+  @Override
+  public void freeAll(Client client) {
+    delegate.freeAll(timingClient(client));
+  }
+
+  @Override
+  public void clearPendingAllocations(Client client) {
+    TimingClient timingClient = timingClient(client);
+    timingClient.clearRequests();
+    delegate.clearPendingAllocations(timingClient);
+  }
+
+  @Override
+  public void reschedule() {
+    delegate.reschedule();
+  }
+
+  @Override
+  public Map<String, Set<TCSResource<?>>> getAllocations() {
+    return delegate.getAllocations();
+  }
+
+  @Override
+  public void preparationSuccessful(Module module,
+                                    Client client,
+                                    Set<TCSResource<?>> resources) {
+    // Modules only get to know the wrapped clients, so there is nothing to unwrap here.
+    delegate.preparationSuccessful(module, client, resources);
+  }
+
+  /**
+   * Returns the times clients had to wait for requested resources to be allocated.
+   *
+   * @return The times clients had to wait for requested resources to be allocated (in ms).
+   */
+  @Nonnull
+  public SampleStatistics getAllocationWaitTimes() {
+    return allocationWaitTimes;
+  }
+
+  private TimingClient timingClient(Client client) {
+    requireNonNull(client, "client");
+    if (client instanceof TimingClient) {
+      return (TimingClient) client;
+    }
+    return timingClients.computeIfAbsent(client, TimingClient::new);
+  }
+
+  /**
+   * Wraps a client and records the time it waited for the resources it requested.
+   */
+  private class TimingClient
+      implements Client {
+
+    /**
+     * The wrapped client.
+     */
+    private final Client client;
+    /**
+     * The points of time (as returned by {@link System#nanoTime()}) at which allocations of
+     * resources were requested, mapped by the resources requested.
+     */
+    private final Map<Set<TCSResource<?>>, Long> requestTimes = new HashMap<>();
+
+    TimingClient(Client client) {
+      this.client = client;
+    }
+
+    @Override
+    public String getId() {
+      return client.getId();
+    }
+
+    @Override
+    public boolean allocationSuccessful(Set<TCSResource<?>> resources) {
+      Long requestTime;
+      synchronized (requestTimes) {
+        requestTime = requestTimes.remove(resources);
+      }
+      if (requestTime != null) {
+        allocationWaitTimes.record((System.nanoTime() - requestTime) / 1_000_000);
+      }
+      return client.allocationSuccessful(resources);
+    }
+
+    @Override
+    public void allocationFailed(Set<TCSResource<?>> resources) {
+      synchronized (requestTimes) {
+        requestTimes.remove(resources);
+      }
+      client.allocationFailed(resources);
+    }
+
+    void allocationRequested(Set<TCSResource<?>> resources) {
+      synchronized (requestTimes) {
+        requestTimes.put(Set.copyOf(resources), System.nanoTime());
+      }
+    }
+
+    void clearRequests() {
+      synchronized (requestTimes) {
+        requestTimes.clear();
+      }
+    }
+  }
+}
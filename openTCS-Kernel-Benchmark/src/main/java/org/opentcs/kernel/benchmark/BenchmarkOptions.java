@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.opentcs.kernel.benchmark.PlantModelGeneratorOptions.parseLong;
+import static org.opentcs.kernel.benchmark.PlantModelGeneratorOptions.parsePositiveInt;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Iterator;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The options for a benchmark run, as given on the command line.
+ */
+public class BenchmarkOptions {
+
+  /**
+   * A description of the supported command line options.
+   */
+  public static final String USAGE
+      = "Options:\n"
+      + "  --model <file>             The plant model file to use. If not given, a model is\n"
+      + "                             generated according to the model generator options.\n"
+      + "  --orders-per-minute <n>    The rate at which transport orders are created. (60)\n"
+      + "  --destinations <n>         The number of destinations per transport order. (1)\n"
+      + "  --warmup <seconds>         The time to wait before measuring. (30)\n"
+      + "  --duration <seconds>       The time to measure. (300)\n"
+      + "  --seed <n>                 The seed for selecting order destinations. (0)\n"
+      + "  --config <file>            A file with kernel configuration entries overriding the\n"
+      + "                             benchmark's defaults.\n"
+      + "  --output <file>            The file to write the results to. (Standard output)\n"
+      + "Model generator options:\n"
+      + PlantModelGeneratorOptions.USAGE;
+  /**
+   * The plant model file to use.
+   */
+  private Path modelFile;
+  /**
+   * The options for generating a plant model.
+   */
+  private final PlantModelGeneratorOptions generatorOptions = new PlantModelGeneratorOptions();
+  /**
+   * The number of orders to create per minute.
+   */
+  private int ordersPerMinute = 60;
+  /**
+   * The number of destinations per order.
+   */
+  private int destinationsPerOrder = 1;
+  /**
+   * The time to wait before measuring (in s).
+   */
+  private long warmupSeconds = 30;
+  /**
+   * The time to measure (in s).
+   */
+  private long durationSeconds = 300;
+  /**
+   * The seed for selecting order destinations.
+   */
+  private long seed;
+  /**
+   * A file with kernel configuration entries.
+   */
+  private Path configFile;
+  /**
+   * The file to write the results to.
+   */
+  private Path outputFile;
+
+  /**
+   * Creates a new instance with default values.
+   */
+  public BenchmarkOptions() {
+  }
+
+  /**
+   * Parses the given command line arguments.
+   *
+   * @param args The command line arguments.
+   * @return The options.
+   * @throws IllegalArgumentException If the arguments could not be parsed.
+   */
+  @Nonnull
+  public static BenchmarkOptions parse(String... args)
+      throws IllegalArgumentException {
+    BenchmarkOptions options = new BenchmarkOptions();
+
+    Iterator<String> argIter = Arrays.asList(args).iterator();
+    while (argIter.hasNext()) {
+      String option = argIter.next();
+      checkArgument(argIter.hasNext(), "Missing value for option %s", option);
+      String value = argIter.next();
+
+      switch (option) {
+        case "--model":
+          options.modelFile = Paths.get(value);
+          break;
+        case "--orders-per-minute":
+          options.ordersPerMinute = parsePositiveInt(option, value);
+          break;
+        case "--destinations":
+          options.destinationsPerOrder = parsePositiveInt(option, value);
+          break;
+        case "--warmup":
+          options.warmupSeconds = parseLong(option, value);
+          checkArgument(options.warmupSeconds >= 0, "Negative value for option %s", option);
+          break;
+        case "--duration":
+          options.durationSeconds = parsePositiveInt(option, value);
+          break;
+        case "--seed":
+          options.seed = parseLong(option, value);
+          break;
+        case "--config":
+          options.configFile = Paths.get(value);
+          break;
+        case "--output":
+          options.outputFile = Paths.get(value);
+          break;
+        default:
+          checkArgument(options.generatorOptions.apply(option, value), "Unknown option: %s", option);
+      }
+    }
+
+    return options;
+  }
+
+  @Nullable
+  public Path getModelFile() {
+    return modelFile;
+  }
+
+  @Nonnull
+  public PlantModelGeneratorOptions getGeneratorOptions() {
+    return generatorOptions;
+  }
+
+  public int getOrdersPerMinute() {
+    return ordersPerMinute;
+  }
+
+  public int getDestinationsPerOrder() {
+    return destinationsPerOrder;
+  }
+
+  public long getWarmupSeconds() {
+    return warmupSeconds;
+  }
+
+  public long getDurationSeconds() {
+    return durationSeconds;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  @Nullable
+  public Path getConfigFile() {
+    return configFile;
+  }
+
+  @Nullable
+  public Path getOutputFile() {
+    return outputFile;
+  }
+}
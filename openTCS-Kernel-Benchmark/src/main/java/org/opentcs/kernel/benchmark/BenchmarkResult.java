@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark;
+
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+
+/**
+ * The results of a benchmark run.
+ */
+public class BenchmarkResult {
+
+  /**
+   * The name of the plant model used.
+   */
+  private String modelName = "";
+  /**
+   * The number of vehicles in the plant model.
+   */
+  private int vehicleCount;
+  /**
+   * The number of orders created per minute.
+   */
+  private int ordersPerMinute;
+  /**
+   * The duration of the measurement (in s).
+   */
+  private long durationSeconds;
+  /**
+   * The number of orders created during the measurement.
+   */
+  private long ordersCreated;
+  /**
+   * The number of orders finished during the measurement.
+   */
+  private long ordersFinished;
+  /**
+   * The number of orders failed during the measurement.
+   */
+  private long ordersFailed;
+  /**
+   * The number of orders finished per hour.
+   */
+  private double throughputPerHour;
+  /**
+   * The times from the creation of orders until they were assigned to a vehicle (in ms).
+   */
+  private SampleStatistics.Summary dispatchLatency;
+  /**
+   * The times from the creation of orders until they were finished (in ms).
+   */
+  private SampleStatistics.Summary orderLeadTime;
+  /**
+   * The times vehicles waited for requested resources to be allocated (in ms).
+   */
+  private SampleStatistics.Summary allocationWaitTime;
+  /**
+   * The number of tasks ready for execution by the kernel executor.
+   */
+  private SampleStatistics.Summary kernelQueueDepth;
+
+  /**
+   * Creates a new instance.
+   */
+  public BenchmarkResult() {
+  }
+
+  @Nonnull
+  public String getModelName() {
+    return modelName;
+  }
+
+  public BenchmarkResult setModelName(@Nonnull String modelName) {
+    this.modelName = requireNonNull(modelName, "modelName");
+    return this;
+  }
+
+  public int getVehicleCount() {
+    return vehicleCount;
+  }
+
+  public BenchmarkResult setVehicleCount(int vehicleCount) {
+    this.vehicleCount = vehicleCount;
+    return this;
+  }
+
+  public int getOrdersPerMinute() {
+    return ordersPerMinute;
+  }
+
+  public BenchmarkResult setOrdersPerMinute(int ordersPerMinute) {
+    this.ordersPerMinute = ordersPerMinute;
+    return this;
+  }
+
+  public long getDurationSeconds() {
+    return durationSeconds;
+  }
+
+  public BenchmarkResult setDurationSeconds(long durationSeconds) {
+    this.durationSeconds = durationSeconds;
+    return this;
+  }
+
+  public long getOrdersCreated() {
+    return ordersCreated;
+  }
+
+  public BenchmarkResult setOrdersCreated(long ordersCreated) {
+    this.ordersCreated = ordersCreated;
+    return this;
+  }
+
+  public long getOrdersFinished() {
+    return ordersFinished;
+  }
+
+  public BenchmarkResult setOrdersFinished(long ordersFinished) {
+    this.ordersFinished = ordersFinished;
+    return this;
+  }
+
+  public long getOrdersFailed() {
+    return ordersFailed;
+  }
+
+  public BenchmarkResult setOrdersFailed(long ordersFailed) {
+    this.ordersFailed = ordersFailed;
+    return this;
+  }
+
+  public double getThroughputPerHour() {
+    return throughputPerHour;
+  }
+
+  public BenchmarkResult setThroughputPerHour(double throughputPerHour) {
+    this.throughputPerHour = throughputPerHour;
+    return this;
+  }
+
+  public SampleStatistics.Summary getDispatchLatency() {
+    return dispatchLatency;
+  }
+
+  public BenchmarkResult setDispatchLatency(SampleStatistics.Summary dispatchLatency) {
+    this.dispatchLatency = dispatchLatency;
+    return this;
+  }
+
+  public SampleStatistics.Summary getOrderLeadTime() {
+    return orderLeadTime;
+  }
+
+  public BenchmarkResult setOrderLeadTime(SampleStatistics.Summary orderLeadTime) {
+    this.orderLeadTime = orderLeadTime;
+    return this;
+  }
+
+  public SampleStatistics.Summary getAllocationWaitTime() {
+    return allocationWaitTime;
+  }
+
+  public BenchmarkResult setAllocationWaitTime(SampleStatistics.Summary allocationWaitTime) {
+    this.allocationWaitTime = allocationWaitTime;
+    return this;
+  }
+
+  public SampleStatistics.Summary getKernelQueueDepth() {
+    return kernelQueueDepth;
+  }
+
+  public BenchmarkResult setKernelQueueDepth(SampleStatistics.Summary kernelQueueDepth) {
+    this.kernelQueueDepth = kernelQueueDepth;
+    return this;
+  }
+}
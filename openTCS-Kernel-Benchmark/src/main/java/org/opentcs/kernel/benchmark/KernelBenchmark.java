@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.common.LoopbackAdapterConstants;
+import org.opentcs.components.kernel.services.DispatcherService;
+import org.opentcs.components.kernel.services.PlantModelService;
+import org.opentcs.components.kernel.services.TransportOrderService;
+import org.opentcs.components.kernel.services.VehicleService;
+import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.virtualvehicle.commands.SetPositionCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a benchmark against a kernel with loopback vehicles.
+ * <p>
+ * The vehicles are placed in the driving course (if they do not have a position, yet) and set to
+ * be utilized.
+ * Then transport orders are created at the configured rate.
+ * After a warmup period, the kernel's metrics are collected for the configured duration.
+ * </p>
+ */
+public class KernelBenchmark {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(KernelBenchmark.class);
+  /**
+   * The maximum time to wait for vehicles to report their positions (in ms).
+   */
+  private static final long VEHICLE_PLACEMENT_TIMEOUT = 30000;
+  /**
+   * The plant model service.
+   */
+  private final PlantModelService plantModelService;
+  /**
+   * The vehicle service.
+   */
+  private final VehicleService vehicleService;
+  /**
+   * The transport order service.
+   */
+  private final TransportOrderService transportOrderService;
+  /**
+   * The dispatcher service.
+   */
+  private final DispatcherService dispatcherService;
+  /**
+   * Collects the kernel's metrics.
+   */
+  private final KernelMetricsCollector metricsCollector;
+  /**
+   * Measures allocation wait times.
+   */
+  private final AllocationTimingScheduler scheduler;
+  /**
+   * The kernel's executor.
+   */
+  private final ScheduledExecutorService kernelExecutor;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param plantModelService The plant model service.
+   * @param vehicleService The vehicle service.
+   * @param transportOrderService The transport order service.
+   * @param dispatcherService The dispatcher service.
+   * @param metricsCollector Collects the kernel's metrics.
+   * @param scheduler Measures allocation wait times.
+   * @param kernelExecutor The kernel's executor.
+   */
+  @Inject
+  public KernelBenchmark(PlantModelService plantModelService,
+                         VehicleService vehicleService,
+                         TransportOrderService transportOrderService,
+                         DispatcherService dispatcherService,
+                         KernelMetricsCollector metricsCollector,
+                         AllocationTimingScheduler scheduler,
+                         @KernelExecutor ScheduledExecutorService kernelExecutor) {
+    this.plantModelService = requireNonNull(plantModelService, "plantModelService");
+    this.vehicleService = requireNonNull(vehicleService, "vehicleService");
+    this.transportOrderService = requireNonNull(transportOrderService, "transportOrderService");
+    this.dispatcherService = requireNonNull(dispatcherService, "dispatcherService");
+    this.metricsCollector = requireNonNull(metricsCollector, "metricsCollector");
+    this.scheduler = requireNonNull(scheduler, "scheduler");
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param options The benchmark options.
+   * @return The benchmark results.
+   * @throws InterruptedException If the calling thread was interrupted while waiting for the
+   * benchmark to finish.
+   * @throws ExecutionException If preparing the kernel for the benchmark failed.
+   */
+  @Nonnull
+  public BenchmarkResult run(@Nonnull BenchmarkOptions options)
+      throws InterruptedException, ExecutionException {
+    requireNonNull(options, "options");
+
+    int vehicleCount = kernelExecutor.submit(this::placeAndUtilizeVehicles).get();
+    awaitVehiclePositions();
+
+    OrderGenerator orderGenerator = new OrderGenerator(transportOrderService,
+                                                       dispatcherService,
+                                                       kernelExecutor,
+                                                       options.getOrdersPerMinute(),
+                                                       options.getDestinationsPerOrder(),
+                                                       options.getSeed());
+    kernelExecutor.submit(orderGenerator::start).get();
+
+    LOG.info("Warming up for {} s...", options.getWarmupSeconds());
+    TimeUnit.SECONDS.sleep(options.getWarmupSeconds());
+
+    LOG.info("Measuring for {} s...", options.getDurationSeconds());
+    scheduler.getAllocationWaitTimes().clear();
+    metricsCollector.startMeasurement();
+    TimeUnit.SECONDS.sleep(options.getDurationSeconds());
+    metricsCollector.stopMeasurement();
+    orderGenerator.stop();
+
+    return new BenchmarkResult()
+        .setModelName(plantModelService.getModelName())
+        .setVehicleCount(vehicleCount)
+        .setOrdersPerMinute(options.getOrdersPerMinute())
+        .setDurationSeconds(options.getDurationSeconds())
+        .setOrdersCreated(metricsCollector.getOrdersCreated())
+        .setOrdersFinished(metricsCollector.getOrdersFinished())
+        .setOrdersFailed(metricsCollector.getOrdersFailed())
+        .setThroughputPerHour(
+            metricsCollector.getOrdersFinished() * 3600.0 / options.getDurationSeconds()
+        )
+        .setDispatchLatency(metricsCollector.getDispatchLatencies().getSummary())
+        .setOrderLeadTime(metricsCollector.getOrderLeadTimes().getSummary())
+        .setAllocationWaitTime(scheduler.getAllocationWaitTimes().getSummary())
+        .setKernelQueueDepth(metricsCollector.getKernelQueueDepths().getSummary());
+  }
+
+  private int placeAndUtilizeVehicles() {
+    List<Vehicle> vehicles = vehicleService.fetchObjects(Vehicle.class).stream()
+        .sorted(Comparator.comparing(Vehicle::getName))
+        .collect(Collectors.toList());
+
+    // Points that vehicles will be placed on by their initial position are not available.
+    Set<String> occupiedPoints = vehicles.stream()
+        .map(vehicle -> vehicle.getProperty(LoopbackAdapterConstants.PROPKEY_INITIAL_POSITION))
+        .filter(pointName -> pointName != null)
+        .collect(Collectors.toSet());
+    Iterator<String> freePoints = vehicleService.fetchObjects(Point.class).stream()
+        .filter(point -> point.isHaltingPosition())
+        .map(Point::getName)
+        .filter(pointName -> !occupiedPoints.contains(pointName))
+        .sorted()
+        .iterator();
+
+    for (Vehicle vehicle : vehicles) {
+      if (vehicle.getCurrentPosition() == null
+          && vehicle.getProperty(LoopbackAdapterConstants.PROPKEY_INITIAL_POSITION) == null) {
+        if (!freePoints.hasNext()) {
+          LOG.warn("No free point left for placing {}, leaving it out.", vehicle.getName());
+          continue;
+        }
+        vehicleService.sendCommAdapterCommand(vehicle.getReference(),
+                                              new SetPositionCommand(freePoints.next()));
+      }
+      vehicleService.updateVehicleIntegrationLevel(vehicle.getReference(),
+                                                   Vehicle.IntegrationLevel.TO_BE_UTILIZED);
+    }
+
+    return vehicles.size();
+  }
+
+  private void awaitVehiclePositions()
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + VEHICLE_PLACEMENT_TIMEOUT;
+    while (System.currentTimeMillis() < deadline) {
+      boolean allPlaced = vehicleService.fetchObjects(Vehicle.class).stream()
+          .filter(vehicle -> vehicle.isProcessingOrder()
+              || vehicle.getIntegrationLevel() == Vehicle.IntegrationLevel.TO_BE_UTILIZED)
+          .allMatch(vehicle -> vehicle.getCurrentPosition() != null);
+      if (allPlaced) {
+        return;
+      }
+      TimeUnit.MILLISECONDS.sleep(100);
+    }
+    LOG.warn("Not all vehicles reported a position within {} ms.", VEHICLE_PLACEMENT_TIMEOUT);
+  }
+}
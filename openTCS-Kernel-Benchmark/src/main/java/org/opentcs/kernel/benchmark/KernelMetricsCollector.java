@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.customizations.ApplicationEventBus;
+import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.util.event.EventHandler;
+import org.opentcs.util.event.EventSource;
+
+/**
+ * Collects the metrics of a benchmark run.
+ * <p>
+ * Transport order events are used to measure dispatch latencies (the time from an order's creation
+ * until it is assigned to a vehicle) and throughput.
+ * The kernel executor's queue is sampled periodically.
+ * Only orders created while the measurement is running are taken into account.
+ * Dispensable orders (e.g. the dispatcher's parking and recharging orders) are ignored.
+ * </p>
+ */
+public class KernelMetricsCollector
+    implements EventHandler {
+
+  /**
+   * The interval in which the kernel executor's queue is sampled (in ms).
+   */
+  private static final long QUEUE_SAMPLING_INTERVAL = 100;
+  /**
+   * Where this instance registers for application events.
+   */
+  private final EventSource eventSource;
+  /**
+   * The kernel's executor.
+   */
+  private final ScheduledExecutorService kernelExecutor;
+  /**
+   * The points of time (as returned by {@link System#nanoTime()}) at which the orders currently
+   * being measured were created, mapped by the orders' names.
+   */
+  private final Map<String, Long> creationTimes = new HashMap<>();
+  /**
+   * The dispatch latencies (in ms).
+   */
+  private final SampleStatistics dispatchLatencies = new SampleStatistics();
+  /**
+   * The times from the creation of orders until they were finished (in ms).
+   */
+  private final SampleStatistics orderLeadTimes = new SampleStatistics();
+  /**
+   * The number of tasks waiting for execution by the kernel executor.
+   */
+  private final SampleStatistics kernelQueueDepths = new SampleStatistics();
+  /**
+   * Samples the kernel executor's queue.
+   */
+  private ScheduledExecutorService samplingExecutor;
+  /**
+   * Whether the measurement is running.
+   */
+  private volatile boolean measuring;
+  /**
+   * The number of orders created while the measurement was running.
+   */
+  private long ordersCreated;
+  /**
+   * The number of orders finished while the measurement was running.
+   */
+  private long ordersFinished;
+  /**
+   * The number of orders failed while the measurement was running.
+   */
+  private long ordersFailed;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param eventSource Where this instance registers for application events.
+   * @param kernelExecutor The kernel's executor.
+   */
+  @Inject
+  public KernelMetricsCollector(@ApplicationEventBus EventSource eventSource,
+                                @KernelExecutor ScheduledExecutorService kernelExecutor) {
+    this.eventSource = requireNonNull(eventSource, "eventSource");
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+  }
+
+  /**
+   * Starts the measurement.
+   */
+  public void startMeasurement() {
+    eventSource.subscribe(this);
+    measuring = true;
+
+    samplingExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "benchmarkQueueSampler");
+      thread.setDaemon(true);
+      return thread;
+    });
+    samplingExecutor.scheduleAtFixedRate(this::sampleKernelQueue,
+                                         QUEUE_SAMPLING_INTERVAL,
+                                         QUEUE_SAMPLING_INTERVAL,
+                                         TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the measurement.
+   */
+  public void stopMeasurement() {
+    measuring = false;
+    eventSource.unsubscribe(this);
+
+    if (samplingExecutor != null) {
+      samplingExecutor.shutdownNow();
+      samplingExecutor = null;
+    }
+  }
+
+  @Override
+  public void onEvent(Object event) {
+    if (!measuring || !(event instanceof TCSObjectEvent)) {
+      return;
+    }
+    TCSObjectEvent objectEvent = (TCSObjectEvent) event;
+    if (!(objectEvent.getCurrentOrPreviousObjectState() instanceof TransportOrder)) {
+      return;
+    }
+
+    if (objectEvent.getType() == TCSObjectEvent.Type.OBJECT_CREATED) {
+      orderCreated((TransportOrder) objectEvent.getCurrentObjectState());
+    }
+    else if (objectEvent.getType() == TCSObjectEvent.Type.OBJECT_MODIFIED) {
+      orderModified((TransportOrder) objectEvent.getPreviousObjectState(),
+                    (TransportOrder) objectEvent.getCurrentObjectState());
+    }
+  }
+
+  /**
+   * Returns the dispatch latencies, i.e. the times from the creation of orders until they were
+   * assigned to a vehicle.
+   *
+   * @return The dispatch latencies (in ms).
+   */
+  @Nonnull
+  public SampleStatistics getDispatchLatencies() {
+    return dispatchLatencies;
+  }
+
+  /**
+   * Returns the times from the creation of orders until they were finished.
+   *
+   * @return The times from the creation of orders until they were finished (in ms).
+   */
+  @Nonnull
+  public SampleStatistics getOrderLeadTimes() {
+    return orderLeadTimes;
+  }
+
+  /**
+   * Returns the number of tasks ready for execution by the kernel executor, sampled periodically.
+   *
+   * @return The number of tasks ready for execution by the kernel executor.
+   */
+  @Nonnull
+  public SampleStatistics getKernelQueueDepths() {
+    return kernelQueueDepths;
+  }
+
+  public synchronized long getOrdersCreated() {
+    return ordersCreated;
+  }
+
+  public synchronized long getOrdersFinished() {
+    return ordersFinished;
+  }
+
+  public synchronized long getOrdersFailed() {
+    return ordersFailed;
+  }
+
+  private synchronized void orderCreated(TransportOrder order) {
+    if (order.isDispensable()) {
+      return;
+    }
+    creationTimes.put(order.getName(), System.nanoTime());
+    ordersCreated++;
+  }
+
+  private synchronized void orderModified(TransportOrder oldOrder, TransportOrder newOrder) {
+    Long creationTime = creationTimes.get(newOrder.getName());
+    if (creationTime == null || oldOrder.getState() == newOrder.getState()) {
+      return;
+    }
+
+    long age = (System.nanoTime() - creationTime) / 1_000_000;
+    if (newOrder.hasState(TransportOrder.State.BEING_PROCESSED)) {
+      dispatchLatencies.record(age);
+    }
+    else if (newOrder.hasState(TransportOrder.State.FINISHED)) {
+      creationTimes.remove(newOrder.getName());
+      orderLeadTimes.record(age);
+      ordersFinished++;
+    }
+    else if (newOrder.hasState(TransportOrder.State.FAILED)) {
+      creationTimes.remove(newOrder.getName());
+      ordersFailed++;
+    }
+  }
+
+  private void sampleKernelQueue() {
+    if (!(kernelExecutor instanceof ThreadPoolExecutor)) {
+      return;
+    }
+    // Periodic tasks waiting for their next execution are always in the queue, so count only the
+    // tasks that are due.
+    long dueTasks = ((ThreadPoolExecutor) kernelExecutor).getQueue().stream()
+        .filter(task -> !(task instanceof Delayed)
+            || ((Delayed) task).getDelay(TimeUnit.NANOSECONDS) <= 0)
+        .count();
+    kernelQueueDepths.record(dueTasks);
+  }
+}
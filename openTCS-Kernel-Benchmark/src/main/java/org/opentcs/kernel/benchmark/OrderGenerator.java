@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.opentcs.access.to.order.DestinationCreationTO;
+import org.opentcs.access.to.order.TransportOrderCreationTO;
+import org.opentcs.components.kernel.services.DispatcherService;
+import org.opentcs.components.kernel.services.TransportOrderService;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.order.DriveOrder.Destination;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates transport orders to random locations at a given rate.
+ * <p>
+ * Like the load generator panel's random order batch creator, but independent of a GUI and with a
+ * seeded random number generator.
+ * Orders are created on the kernel executor.
+ * </p>
+ */
+public class OrderGenerator {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(OrderGenerator.class);
+  /**
+   * The transport order service.
+   */
+  private final TransportOrderService transportOrderService;
+  /**
+   * The dispatcher service.
+   */
+  private final DispatcherService dispatcherService;
+  /**
+   * The kernel's executor.
+   */
+  private final ScheduledExecutorService kernelExecutor;
+  /**
+   * The number of orders to create per minute.
+   */
+  private final int ordersPerMinute;
+  /**
+   * The number of destinations per order.
+   */
+  private final int destinationsPerOrder;
+  /**
+   * A random number generator for selecting locations.
+   */
+  private final Random random;
+  /**
+   * The locations in the model.
+   */
+  private List<Location> locations;
+  /**
+   * Triggers the creation of orders.
+   */
+  private ScheduledExecutorService triggerExecutor;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param transportOrderService The transport order service.
+   * @param dispatcherService The dispatcher service.
+   * @param kernelExecutor The kernel's executor.
+   * @param ordersPerMinute The number of orders to create per minute.
+   * @param destinationsPerOrder The number of destinations per order.
+   * @param seed The seed for the random number generator.
+   */
+  public OrderGenerator(TransportOrderService transportOrderService,
+                        DispatcherService dispatcherService,
+                        ScheduledExecutorService kernelExecutor,
+                        int ordersPerMinute,
+                        int destinationsPerOrder,
+                        long seed) {
+    this.transportOrderService = requireNonNull(transportOrderService, "transportOrderService");
+    this.dispatcherService = requireNonNull(dispatcherService, "dispatcherService");
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    checkArgument(ordersPerMinute > 0, "ordersPerMinute <= 0: %s", ordersPerMinute);
+    checkArgument(destinationsPerOrder > 0,
+                  "destinationsPerOrder <= 0: %s",
+                  destinationsPerOrder);
+    this.ordersPerMinute = ordersPerMinute;
+    this.destinationsPerOrder = destinationsPerOrder;
+    this.random = new Random(seed);
+  }
+
+  /**
+   * Starts creating orders.
+   */
+  public void start() {
+    // Sort the locations to make the selection reproducible for a given seed.
+    locations = transportOrderService.fetchObjects(Location.class).stream()
+        .filter(location -> !location.getAttachedLinks().isEmpty())
+        .sorted(Comparator.comparing(Location::getName))
+        .collect(Collectors.toCollection(ArrayList::new));
+    if (locations.isEmpty()) {
+      LOG.warn("No locations linked to points in the model, not creating any orders.");
+      return;
+    }
+
+    triggerExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "benchmarkOrderGenerator");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long period = TimeUnit.MINUTES.toMicros(1) / ordersPerMinute;
+    triggerExecutor.scheduleAtFixedRate(() -> kernelExecutor.submit(this::createOrder),
+                                        period,
+                                        period,
+                                        TimeUnit.MICROSECONDS);
+  }
+
+  /**
+   * Stops creating orders.
+   */
+  public void stop() {
+    if (triggerExecutor != null) {
+      triggerExecutor.shutdownNow();
+      triggerExecutor = null;
+    }
+  }
+
+  private void createOrder() {
+    List<DestinationCreationTO> destinations = new ArrayList<>(destinationsPerOrder);
+    for (int i = 0; i < destinationsPerOrder; i++) {
+      Location location = locations.get(random.nextInt(locations.size()));
+      destinations.add(new DestinationCreationTO(location.getName(), Destination.OP_NOP));
+    }
+
+    try {
+      transportOrderService.createTransportOrder(
+          new TransportOrderCreationTO("TOrder-", destinations).withIncompleteName(true)
+      );
+      dispatcherService.dispatch();
+    }
+    catch (RuntimeException exc) {
+      LOG.warn("Exception creating transport order", exc);
+    }
+  }
+}
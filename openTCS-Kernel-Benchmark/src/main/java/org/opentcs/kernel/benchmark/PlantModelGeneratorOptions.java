@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import java.util.Locale;
+import javax.annotation.Nonnull;
+import org.opentcs.util.modelgenerator.PlantModelGenerator;
+
+/**
+ * The command line options configuring a {@link PlantModelGenerator}.
+ */
+public class PlantModelGeneratorOptions {
+
+  /**
+   * A description of the supported command line options.
+   */
+  public static final String USAGE
+      = "  --name <name>              The name of the generated model. (Generated-Model)\n"
+      + "  --layout <GRID|AISLES>     The layout of the generated model. (GRID)\n"
+      + "  --rows <n>                 The number of rows of points. (10)\n"
+      + "  --columns <n>              The number of columns of points (aisles). (10)\n"
+      + "  --point-distance <mm>      The distance between neighbouring points. (5000)\n"
+      + "  --locations <n>            The number of locations. (20)\n"
+      + "  --peripherals <n>          The number of peripheral devices. (0)\n"
+      + "  --blocks <n>               The number of blocks of every block type. (0)\n"
+      + "  --vehicles <n>             The number of vehicles. (10)\n"
+      + "  --routing-groups <n>       The number of routing groups of the vehicles. (1)\n";
+  /**
+   * The name of the generated model.
+   */
+  private String name = "Generated-Model";
+  /**
+   * The layout of the generated model.
+   */
+  private PlantModelGenerator.Layout layout = PlantModelGenerator.Layout.GRID;
+  /**
+   * The number of rows of points.
+   */
+  private int rows = 10;
+  /**
+   * The number of columns of points.
+   */
+  private int columns = 10;
+  /**
+   * The distance between neighbouring points (in mm).
+   */
+  private int pointDistance = 5000;
+  /**
+   * The number of locations.
+   */
+  private int locationCount = 20;
+  /**
+   * The number of peripheral devices.
+   */
+  private int peripheralCount;
+  /**
+   * The number of blocks of every block type.
+   */
+  private int blocksPerType;
+  /**
+   * The number of vehicles.
+   */
+  private int vehicleCount = 10;
+  /**
+   * The number of routing groups.
+   */
+  private int routingGroupCount = 1;
+
+  /**
+   * Creates a new instance with default values.
+   */
+  public PlantModelGeneratorOptions() {
+  }
+
+  /**
+   * Applies the given option, if it is one of the generator's options.
+   *
+   * @param option The option.
+   * @param value The option's value.
+   * @return {@code true} if, and only if, the given option is one of the generator's options.
+   * @throws IllegalArgumentException If the value is not valid for the option.
+   */
+  public boolean apply(@Nonnull String option, @Nonnull String value)
+      throws IllegalArgumentException {
+    switch (option) {
+      case "--name":
+        name = value;
+        return true;
+      case "--layout":
+        try {
+          layout = PlantModelGenerator.Layout.valueOf(value.toUpperCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException exc) {
+          throw new IllegalArgumentException(
+              "Illegal value for option " + option + ": " + value, exc
+          );
+        }
+        return true;
+      case "--rows":
+        rows = parsePositiveInt(option, value);
+        return true;
+      case "--columns":
+        columns = parsePositiveInt(option, value);
+        return true;
+      case "--point-distance":
+        pointDistance = parsePositiveInt(option, value);
+        return true;
+      case "--locations":
+        locationCount = parseNonNegativeInt(option, value);
+        return true;
+      case "--peripherals":
+        peripheralCount = parseNonNegativeInt(option, value);
+        return true;
+      case "--blocks":
+        blocksPerType = parseNonNegativeInt(option, value);
+        return true;
+      case "--vehicles":
+        vehicleCount = parsePositiveInt(option, value);
+        return true;
+      case "--routing-groups":
+        routingGroupCount = parsePositiveInt(option, value);
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Returns a generator configured according to these options.
+   *
+   * @return A generator configured according to these options.
+   * @throws IllegalArgumentException If the combination of options is not valid.
+   */
+  @Nonnull
+  public PlantModelGenerator toGenerator()
+      throws IllegalArgumentException {
+    return new PlantModelGenerator()
+        .withName(name)
+        .withLayout(layout, rows, columns)
+        .withPointDistance(pointDistance)
+        .withLocationCount(locationCount)
+        .withPeripheralCount(peripheralCount)
+        .withBlocksPerType(blocksPerType)
+        .withVehicles(vehicleCount, routingGroupCount);
+  }
+
+  public int getVehicleCount() {
+    return vehicleCount;
+  }
+
+  static int parsePositiveInt(String option, String value) {
+    int result = parseNonNegativeInt(option, value);
+    checkArgument(result > 0, "Illegal value for option %s: %s", option, value);
+    return result;
+  }
+
+  static int parseNonNegativeInt(String option, String value) {
+    long result = parseLong(option, value);
+    checkArgument(result >= 0 && result <= Integer.MAX_VALUE,
+                  "Illegal value for option %s: %s",
+                  option,
+                  value);
+    return (int) result;
+  }
+
+  static long parseLong(String option, String value) {
+    try {
+      return Long.parseLong(value);
+    }
+    catch (NumberFormatException exc) {
+      throw new IllegalArgumentException("Not a number for option " + option + ": " + value, exc);
+    }
+  }
+}
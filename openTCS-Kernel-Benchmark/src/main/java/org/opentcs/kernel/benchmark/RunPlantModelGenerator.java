@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.util.modelgenerator.PlantModelGenerator;
+import org.opentcs.util.persistence.ModelParser;
+
+/**
+ * Generates a synthetic plant model and writes it to a model file.
+ *
+ * @see PlantModelGenerator
+ */
+public class RunPlantModelGenerator {
+
+  /**
+   * A description of the supported command line options.
+   */
+  private static final String USAGE
+      = "Options:\n"
+      + "  --output <file>            The model file to write. (Required)\n"
+      + PlantModelGeneratorOptions.USAGE;
+
+  /**
+   * Prevents external instantiation.
+   */
+  private RunPlantModelGenerator() {
+  }
+
+  /**
+   * Generates a plant model according to the given command line arguments.
+   *
+   * @param args The command line arguments.
+   */
+  public static void main(String[] args) {
+    File outputFile = null;
+    PlantModelGenerator generator;
+    try {
+      PlantModelGeneratorOptions options = new PlantModelGeneratorOptions();
+      Iterator<String> argIter = Arrays.asList(args).iterator();
+      while (argIter.hasNext()) {
+        String option = argIter.next();
+        checkArgument(argIter.hasNext(), "Missing value for option %s", option);
+        String value = argIter.next();
+
+        if (option.equals("--output")) {
+          outputFile = new File(value);
+        }
+        else {
+          checkArgument(options.apply(option, value), "Unknown option: %s", option);
+        }
+      }
+      checkArgument(outputFile != null, "Missing option --output");
+      generator = options.toGenerator();
+    }
+    catch (IllegalArgumentException exc) {
+      System.err.println(exc.getMessage());
+      System.err.print(USAGE);
+      System.exit(2);
+      return;
+    }
+
+    try {
+      PlantModelCreationTO model = generator.generate();
+      new ModelParser().writeModel(model, outputFile);
+      System.out.println(String.format("Wrote %d points, %d paths, %d locations, %d blocks and "
+          + "%d vehicles to %s",
+                                       model.getPoints().size(),
+                                       model.getPaths().size(),
+                                       model.getLocations().size(),
+                                       model.getBlocks().size(),
+                                       model.getVehicles().size(),
+                                       outputFile));
+    }
+    catch (IllegalArgumentException | IOException exc) {
+      System.err.println("Generating the model failed: " + exc.getMessage());
+      System.exit(1);
+    }
+  }
+}
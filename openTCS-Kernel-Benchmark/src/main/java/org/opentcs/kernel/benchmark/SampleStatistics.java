@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import java.util.Arrays;
+
+/**
+ * Collects samples of a measured value and computes summary statistics for them.
+ */
+public class SampleStatistics {
+
+  /**
+   * The samples recorded.
+   */
+  private long[] samples = new long[1024];
+  /**
+   * The number of samples recorded.
+   */
+  private int sampleCount;
+
+  /**
+   * Creates a new instance.
+   */
+  public SampleStatistics() {
+  }
+
+  /**
+   * Records the given sample.
+   *
+   * @param sample The sample.
+   */
+  public synchronized void record(long sample) {
+    if (sampleCount == samples.length) {
+      samples = Arrays.copyOf(samples, samples.length * 2);
+    }
+    samples[sampleCount] = sample;
+    sampleCount++;
+  }
+
+  /**
+   * Discards all samples recorded so far.
+   */
+  public synchronized void clear() {
+    sampleCount = 0;
+  }
+
+  /**
+   * Returns a summary of the samples recorded so far.
+   *
+   * @return A summary of the samples recorded so far.
+   */
+  public synchronized Summary getSummary() {
+    long[] sorted = Arrays.copyOf(samples, sampleCount);
+    Arrays.sort(sorted);
+    return new Summary(sorted);
+  }
+
+  /**
+   * A summary of recorded samples.
+   */
+  public static class Summary {
+
+    /**
+     * The number of samples.
+     */
+    private final long count;
+    /**
+     * The mean of all samples.
+     */
+    private final double mean;
+    /**
+     * The minimum sample.
+     */
+    private final long min;
+    /**
+     * The median.
+     */
+    private final long p50;
+    /**
+     * The 95th percentile.
+     */
+    private final long p95;
+    /**
+     * The 99th percentile.
+     */
+    private final long p99;
+    /**
+     * The maximum sample.
+     */
+    private final long max;
+
+    private Summary(long[] sortedSamples) {
+      count = sortedSamples.length;
+      mean = Arrays.stream(sortedSamples).average().orElse(0.0);
+      min = count == 0 ? 0 : sortedSamples[0];
+      p50 = percentile(sortedSamples, 50);
+      p95 = percentile(sortedSamples, 95);
+      p99 = percentile(sortedSamples, 99);
+      max = count == 0 ? 0 : sortedSamples[sortedSamples.length - 1];
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public double getMean() {
+      return mean;
+    }
+
+    public long getMin() {
+      return min;
+    }
+
+    public long getP50() {
+      return p50;
+    }
+
+    public long getP95() {
+      return p95;
+    }
+
+    public long getP99() {
+      return p99;
+    }
+
+    public long getMax() {
+      return max;
+    }
+
+    private static long percentile(long[] sortedSamples, int percentile) {
+      checkArgument(percentile > 0 && percentile <= 100, "Illegal percentile: %s", percentile);
+
+      if (sortedSamples.length == 0) {
+        return 0;
+      }
+      // Nearest-rank method
+      int rank = (int) Math.ceil(percentile / 100.0 * sortedSamples.length);
+      return sortedSamples[rank - 1];
+    }
+  }
+}
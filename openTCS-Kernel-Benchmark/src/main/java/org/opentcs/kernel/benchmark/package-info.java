@@ -0,0 +1,4 @@
+/**
+ * A headless benchmark measuring the kernel's throughput with loopback vehicles.
+ */
+package org.opentcs.kernel.benchmark;
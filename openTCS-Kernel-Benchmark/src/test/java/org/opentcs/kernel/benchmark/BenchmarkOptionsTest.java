@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark;
+
+import java.nio.file.Paths;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.opentcs.util.modelgenerator.PlantModelGenerator;
+
+/**
+ * Tests for {@link BenchmarkOptions}.
+ */
+public class BenchmarkOptionsTest {
+
+  @Test
+  public void useDefaultsWithoutArguments() {
+    BenchmarkOptions options = BenchmarkOptions.parse();
+
+    assertThat(options.getModelFile(), is(nullValue()));
+    assertThat(options.getGeneratorOptions().getVehicleCount(), is(10));
+    assertThat(options.getOrdersPerMinute(), is(60));
+    assertThat(options.getDurationSeconds(), is(300L));
+    assertThat(options.getOutputFile(), is(nullValue()));
+  }
+
+  @Test
+  public void parseArguments() {
+    BenchmarkOptions options = BenchmarkOptions.parse("--model", "model.xml",
+                                                      "--vehicles", "25",
+                                                      "--orders-per-minute", "120",
+                                                      "--warmup", "0",
+                                                      "--seed", "-3",
+                                                      "--output", "result.json");
+
+    assertThat(options.getModelFile(), is(Paths.get("model.xml")));
+    assertThat(options.getGeneratorOptions().getVehicleCount(), is(25));
+    assertThat(options.getOrdersPerMinute(), is(120));
+    assertThat(options.getWarmupSeconds(), is(0L));
+    assertThat(options.getSeed(), is(-3L));
+    assertThat(options.getOutputFile(), is(Paths.get("result.json")));
+  }
+
+  @Test
+  public void passModelGeneratorOptions() {
+    BenchmarkOptions options = BenchmarkOptions.parse("--layout", "aisles",
+                                                      "--rows", "5",
+                                                      "--columns", "4",
+                                                      "--vehicles", "3",
+                                                      "--routing-groups", "2");
+
+    PlantModelGenerator generator = options.getGeneratorOptions().toGenerator();
+    assertThat(generator.getLayout(), is(PlantModelGenerator.Layout.AISLES));
+    assertThat(generator.getRows(), is(5));
+    assertThat(generator.getColumns(), is(4));
+    assertThat(generator.getVehicleCount(), is(3));
+    assertThat(generator.getRoutingGroupCount(), is(2));
+  }
+
+  @Test
+  public void rejectUnknownOption() {
+    assertThrows(IllegalArgumentException.class,
+                 () -> BenchmarkOptions.parse("--foo", "1"));
+  }
+
+  @Test
+  public void rejectMissingValue() {
+    assertThrows(IllegalArgumentException.class,
+                 () -> BenchmarkOptions.parse("--vehicles"));
+  }
+
+  @Test
+  public void rejectNonPositiveCount() {
+    assertThrows(IllegalArgumentException.class,
+                 () -> BenchmarkOptions.parse("--vehicles", "0"));
+    assertThrows(IllegalArgumentException.class,
+                 () -> BenchmarkOptions.parse("--orders-per-minute", "many"));
+    assertThrows(IllegalArgumentException.class,
+                 () -> BenchmarkOptions.parse("--layout", "circle"));
+  }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.benchmark;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SampleStatistics}.
+ */
+public class SampleStatisticsTest {
+
+  private SampleStatistics statistics;
+
+  @BeforeEach
+  public void setUp() {
+    statistics = new SampleStatistics();
+  }
+
+  @Test
+  public void summarizeNoSamples() {
+    SampleStatistics.Summary summary = statistics.getSummary();
+
+    assertThat(summary.getCount(), is(0L));
+    assertThat(summary.getMean(), is(0.0));
+    assertThat(summary.getMin(), is(0L));
+    assertThat(summary.getP99(), is(0L));
+    assertThat(summary.getMax(), is(0L));
+  }
+
+  @Test
+  public void summarizeSamples() {
+    // Record samples 100..1 in reverse order to make sure they are sorted for the summary.
+    for (long i = 100; i > 0; i--) {
+      statistics.record(i);
+    }
+
+    SampleStatistics.Summary summary = statistics.getSummary();
+
+    assertThat(summary.getCount(), is(100L));
+    assertThat(summary.getMean(), is(50.5));
+    assertThat(summary.getMin(), is(1L));
+    assertThat(summary.getP50(), is(50L));
+    assertThat(summary.getP95(), is(95L));
+    assertThat(summary.getP99(), is(99L));
+    assertThat(summary.getMax(), is(100L));
+  }
+
+  @Test
+  public void forgetSamplesWhenCleared() {
+    statistics.record(42);
+    statistics.clear();
+    statistics.record(7);
+
+    SampleStatistics.Summary summary = statistics.getSummary();
+
+    assertThat(summary.getCount(), is(1L));
+    assertThat(summary.getMin(), is(7L));
+    assertThat(summary.getMax(), is(7L));
+  }
+}
@@ -44,6 +44,10 @@ public class ServiceWebApiModule
 
     bind(ServiceWebApiConfiguration.class)
         .toInstance(configuration);
+    bind(KernelTaskAdmission.class)
+        .in(Singleton.class);
+    bind(RequestLatencyStatistics.class)
+        .in(Singleton.class);
 
     extensionsBinderOperating().addBinding()
         .to(ServiceWebApi.class)
@@ -65,6 +65,7 @@ public class AdminWebApi
     service.path("/v1", () -> {
                service.get("/version", v1RequestHandler::handleGetVersion);
                service.get("/status", v1RequestHandler::handleGetStatus);
+               service.get("/metrics", v1RequestHandler::handleGetMetrics);
                service.delete("/kernel", v1RequestHandler::handleDeleteKernel);
              }
     );
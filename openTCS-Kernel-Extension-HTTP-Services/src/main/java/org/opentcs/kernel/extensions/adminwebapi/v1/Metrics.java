@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.adminwebapi.v1;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.opentcs.util.metrics.Counter;
+import org.opentcs.util.metrics.Gauge;
+import org.opentcs.util.metrics.MetricRegistry;
+import org.opentcs.util.metrics.Timer;
+
+/**
+ * Describes the metrics collected by the kernel.
+ */
+public class Metrics {
+
+  private boolean enabled;
+
+  private List<Meter> meters = new ArrayList<>();
+
+  public Metrics() {
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public List<Meter> getMeters() {
+    return meters;
+  }
+
+  public void setMeters(List<Meter> meters) {
+    this.meters = meters;
+  }
+
+  /**
+   * Creates a snapshot of the meters in the given registry.
+   *
+   * @param registry The registry.
+   * @return The snapshot.
+   */
+  public static Metrics fromRegistry(MetricRegistry registry) {
+    Metrics result = new Metrics();
+    result.setEnabled(registry.isEnabled());
+    for (org.opentcs.util.metrics.Meter meter : registry.getMeters()) {
+      result.getMeters().add(Meter.fromMeter(meter));
+    }
+    return result;
+  }
+
+  /**
+   * A single meter.
+   * Depending on the meter's type, only some of the attributes are set.
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class Meter {
+
+    private String name;
+
+    private Type type;
+
+    private Map<String, String> tags = new TreeMap<>();
+
+    private Long count;
+
+    private Long value;
+
+    private Long sumNanos;
+
+    private Long maxNanos;
+
+    private List<Bucket> buckets;
+
+    public Meter() {
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public Type getType() {
+      return type;
+    }
+
+    public void setType(Type type) {
+      this.type = type;
+    }
+
+    public Map<String, String> getTags() {
+      return tags;
+    }
+
+    public void setTags(Map<String, String> tags) {
+      this.tags = tags;
+    }
+
+    public Long getCount() {
+      return count;
+    }
+
+    public void setCount(Long count) {
+      this.count = count;
+    }
+
+    public Long getValue() {
+      return value;
+    }
+
+    public void setValue(Long value) {
+      this.value = value;
+    }
+
+    public Long getSumNanos() {
+      return sumNanos;
+    }
+
+    public void setSumNanos(Long sumNanos) {
+      this.sumNanos = sumNanos;
+    }
+
+    public Long getMaxNanos() {
+      return maxNanos;
+    }
+
+    public void setMaxNanos(Long maxNanos) {
+      this.maxNanos = maxNanos;
+    }
+
+    public List<Bucket> getBuckets() {
+      return buckets;
+    }
+
+    public void setBuckets(List<Bucket> buckets) {
+      this.buckets = buckets;
+    }
+
+    private static Meter fromMeter(org.opentcs.util.metrics.Meter meter) {
+      Meter result = new Meter();
+      result.setName(meter.getName());
+      result.setTags(new TreeMap<>(meter.getTags()));
+
+      if (meter instanceof Counter) {
+        result.setType(Type.COUNTER);
+        result.setCount(((Counter) meter).getCount());
+      }
+      else if (meter instanceof Gauge) {
+        result.setType(Type.GAUGE);
+        result.setValue(((Gauge) meter).getValue());
+      }
+      else if (meter instanceof Timer) {
+        Timer timer = (Timer) meter;
+        result.setType(Type.TIMER);
+        result.setCount(timer.getCount());
+        result.setSumNanos(timer.getSumNanos());
+        result.setMaxNanos(timer.getMaxNanos());
+
+        long[] bounds = timer.getBucketBoundsNanos();
+        long[] counts = timer.getBucketCounts();
+        List<Bucket> buckets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+          buckets.add(new Bucket(i < bounds.length ? bounds[i] : null, counts[i]));
+        }
+        result.setBuckets(buckets);
+      }
+
+      return result;
+    }
+  }
+
+  /**
+   * A bucket of a timer's histogram.
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class Bucket {
+
+    private Long upperBoundNanos;
+
+    private long count;
+
+    public Bucket() {
+    }
+
+    public Bucket(Long upperBoundNanos, long count) {
+      this.upperBoundNanos = upperBoundNanos;
+      this.count = count;
+    }
+
+    public Long getUpperBoundNanos() {
+      return upperBoundNanos;
+    }
+
+    public void setUpperBoundNanos(Long upperBoundNanos) {
+      this.upperBoundNanos = upperBoundNanos;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public void setCount(long count) {
+      this.count = count;
+    }
+  }
+
+  /**
+   * The types of meters.
+   */
+  public enum Type {
+    COUNTER,
+    GAUGE,
+    TIMER
+  }
+}
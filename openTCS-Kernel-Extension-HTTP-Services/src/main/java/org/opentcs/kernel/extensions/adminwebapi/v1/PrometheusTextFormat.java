@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.adminwebapi.v1;
+
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.SortedMap;
+import javax.annotation.Nonnull;
+import org.opentcs.util.metrics.Counter;
+import org.opentcs.util.metrics.Gauge;
+import org.opentcs.util.metrics.Meter;
+import org.opentcs.util.metrics.Timer;
+
+/**
+ * Formats meters according to the Prometheus text exposition format.
+ * <p>
+ * Meter names are prefixed with {@code opentcs_}, with dots replaced by underscores.
+ * Counters get the suffix {@code _total}, and timers are represented as histograms in seconds.
+ * </p>
+ */
+public class PrometheusTextFormat {
+
+  /**
+   * The content type of the format.
+   */
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+  /**
+   * The number of nanoseconds per second.
+   */
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+  /**
+   * Prevents instantiation.
+   */
+  private PrometheusTextFormat() {
+  }
+
+  /**
+   * Formats the given meters.
+   *
+   * @param meters The meters, sorted by name.
+   * @return The formatted meters.
+   */
+  @Nonnull
+  public static String format(@Nonnull List<Meter> meters) {
+    requireNonNull(meters, "meters");
+
+    StringBuilder sb = new StringBuilder();
+    String lastName = null;
+    for (Meter meter : meters) {
+      String name = metricName(meter);
+      // The type line may appear only once per metric name, i.e. for the first meter with it.
+      if (!name.equals(lastName)) {
+        sb.append("# TYPE ").append(name).append(' ').append(typeOf(meter)).append('\n');
+        lastName = name;
+      }
+
+      if (meter instanceof Counter) {
+        appendSample(sb, name, meter.getTags(), null, ((Counter) meter).getCount());
+      }
+      else if (meter instanceof Gauge) {
+        appendSample(sb, name, meter.getTags(), null, ((Gauge) meter).getValue());
+      }
+      else if (meter instanceof Timer) {
+        appendHistogram(sb, name, (Timer) meter);
+      }
+    }
+    return sb.toString();
+  }
+
+  private static void appendHistogram(StringBuilder sb, String name, Timer timer) {
+    long[] bounds = timer.getBucketBoundsNanos();
+    long[] counts = timer.getBucketCounts();
+    // Read the count from the buckets to keep the cumulative counts consistent with it.
+    long cumulativeCount = 0;
+    for (int i = 0; i < counts.length; i++) {
+      cumulativeCount += counts[i];
+      String upperBound = i < bounds.length ? formatDouble(bounds[i] / NANOS_PER_SECOND) : "+Inf";
+      appendSample(sb, name + "_bucket", timer.getTags(), upperBound, cumulativeCount);
+    }
+    appendSample(sb, name + "_sum", timer.getTags(), null, timer.getSumNanos() / NANOS_PER_SECOND);
+    appendSample(sb, name + "_count", timer.getTags(), null, cumulativeCount);
+  }
+
+  private static void appendSample(StringBuilder sb,
+                                   String name,
+                                   SortedMap<String, String> tags,
+                                   String upperBound,
+                                   Number value) {
+    sb.append(name);
+    if (!tags.isEmpty() || upperBound != null) {
+      sb.append('{');
+      boolean first = true;
+      for (Map.Entry<String, String> tag : tags.entrySet()) {
+        if (!first) {
+          sb.append(',');
+        }
+        sb.append(sanitize(tag.getKey())).append("=\"").append(escape(tag.getValue())).append('"');
+        first = false;
+      }
+      if (upperBound != null) {
+        if (!first) {
+          sb.append(',');
+        }
+        sb.append("le=\"").append(upperBound).append('"');
+      }
+      sb.append('}');
+    }
+    sb.append(' ');
+    if (value instanceof Double) {
+      sb.append(formatDouble(value.doubleValue()));
+    }
+    else {
+      sb.append(value.longValue());
+    }
+    sb.append('\n');
+  }
+
+  private static String metricName(Meter meter) {
+    String name = "opentcs_" + sanitize(meter.getName());
+    if (meter instanceof Counter) {
+      return name + "_total";
+    }
+    if (meter instanceof Timer) {
+      return name + "_seconds";
+    }
+    return name;
+  }
+
+  private static String typeOf(Meter meter) {
+    if (meter instanceof Counter) {
+      return "counter";
+    }
+    if (meter instanceof Timer) {
+      return "histogram";
+    }
+    return "gauge";
+  }
+
+  private static String sanitize(String name) {
+    return name.replaceAll("[^a-zA-Z0-9_]", "_");
+  }
+
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static String formatDouble(double value) {
+    return Double.toString(value);
+  }
+}
@@ -20,6 +20,8 @@ import org.opentcs.access.Kernel;
 import org.opentcs.access.LocalKernel;
 import org.opentcs.components.Lifecycle;
 import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.kernel.extensions.servicewebapi.HttpConstants;
+import org.opentcs.util.metrics.MetricRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import spark.Request;
@@ -52,6 +54,10 @@ public class V1RequestHandler
    * Used to schedule kernel shutdowns.
    */
   private final ScheduledExecutorService kernelExecutor;
+  /**
+   * The registry holding the kernel's meters.
+   */
+  private final MetricRegistry metricRegistry;
   /**
    * Whether this instance is initialized.
    */
@@ -62,12 +68,15 @@ public class V1RequestHandler
    *
    * @param kernel The local kernel.
    * @param kernelExecutor Use to schedule kernel shutdowns.
+   * @param metricRegistry The registry holding the kernel's meters.
    */
   @Inject
   public V1RequestHandler(LocalKernel kernel,
-                          @KernelExecutor ScheduledExecutorService kernelExecutor) {
+                          @KernelExecutor ScheduledExecutorService kernelExecutor,
+                          MetricRegistry metricRegistry) {
     this.kernel = requireNonNull(kernel, "kernel");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.metricRegistry = requireNonNull(metricRegistry, "metricRegistry");
   }
 
   @Override
@@ -101,12 +110,40 @@ public class V1RequestHandler
     return toJson(new Status());
   }
 
+  public Object handleGetMetrics(Request request, Response response) {
+    if (prometheusFormatRequested(request)) {
+      response.type(PrometheusTextFormat.CONTENT_TYPE);
+      return PrometheusTextFormat.format(metricRegistry.getMeters());
+    }
+
+    response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
+    return toJson(Metrics.fromRegistry(metricRegistry));
+  }
+
   public Object handleDeleteKernel(Request request, Response response) {
     LOG.info("Initiating kernel shutdown as requested from {}...", request.ip());
     kernelExecutor.schedule(() -> kernel.setState(Kernel.State.SHUTDOWN), 1, TimeUnit.SECONDS);
     return "";
   }
 
+  private boolean prometheusFormatRequested(Request request) {
+    String format = request.queryParams("format");
+    if (format != null) {
+      switch (format) {
+        case "prometheus":
+          return true;
+        case "json":
+          return false;
+        default:
+          throw new IllegalArgumentException("Unsupported format: " + format);
+      }
+    }
+
+    String accept = request.headers("Accept");
+    return accept != null
+        && (accept.contains("text/plain") || accept.contains("application/openmetrics-text"));
+  }
+
   private <T> T fromJson(String jsonString, Class<T> clazz)
       throws IllegalArgumentException {
     try {
@@ -18,6 +18,22 @@ public interface HttpConstants {
    * Name of the header that is expected to contain the API access keys.
    */
   String HEADER_NAME_ACCESS_KEY = "X-Api-Access-Key";
+  /**
+   * Name of the header in which clients list the content encodings they accept.
+   */
+  String HEADER_NAME_ACCEPT_ENCODING = "Accept-Encoding";
+  /**
+   * Name of the header indicating the content encoding of a response.
+   */
+  String HEADER_NAME_CONTENT_ENCODING = "Content-Encoding";
+  /**
+   * Name of the header indicating how long a client should wait before retrying a request.
+   */
+  String HEADER_NAME_RETRY_AFTER = "Retry-After";
+  /**
+   * Content encoding for gzip-compressed content.
+   */
+  String CONTENT_ENCODING_GZIP = "gzip";
   /**
    * Content type for plain text.
    */
@@ -7,11 +7,17 @@
  */
 package org.opentcs.kernel.extensions.servicewebapi;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.io.IOException;
+import java.io.OutputStream;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Binds JSON strings to objects and vice versa.
@@ -27,6 +33,10 @@ public class JsonBinder {
       = new ObjectMapper()
           .registerModule(new JavaTimeModule())
           .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  /**
+   * Writers for the types of objects mapped to JSON so far, created lazily and reused.
+   */
+  private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
 
   /**
    * Creates a new instance.
@@ -66,15 +76,36 @@ public class JsonBinder {
   public String toJson(Object object)
       throws IllegalStateException {
     try {
-      return objectMapper
-          .writerWithDefaultPrettyPrinter()
-          .writeValueAsString(object);
+      return writerFor(object).writeValueAsString(object);
     }
     catch (JsonProcessingException exc) {
       throw new IllegalStateException("Could not produce JSON output", exc);
     }
   }
 
+  /**
+   * Maps the given object to JSON and writes the result directly to the given output stream,
+   * without building an intermediate string representation.
+   * The output stream is not closed.
+   *
+   * @param object The object to be mapped.
+   * @param outputStream The output stream to write the JSON representation to.
+   * @throws IllegalStateException In case there was a problem mapping the given object to JSON or
+   * writing it to the output stream.
+   * (An IllegalStateException is mapped to HTTP status code 500, indicating an internal error.)
+   */
+  public void toJson(Object object, OutputStream outputStream)
+      throws IllegalStateException {
+    requireNonNull(outputStream, "outputStream");
+
+    try {
+      writerFor(object).writeValue(outputStream, object);
+    }
+    catch (IOException exc) {
+      throw new IllegalStateException("Could not produce JSON output", exc);
+    }
+  }
+
   /**
    * Maps the given throwable to a JSON string.
    *
@@ -96,4 +127,13 @@ public class JsonBinder {
     }
   }
 
+  private ObjectWriter writerFor(Object object) {
+    return writers.computeIfAbsent(
+        object == null ? Object.class : object.getClass(),
+        clazz -> objectMapper.writerFor(clazz)
+            .withDefaultPrettyPrinter()
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+    );
+  }
+
 }
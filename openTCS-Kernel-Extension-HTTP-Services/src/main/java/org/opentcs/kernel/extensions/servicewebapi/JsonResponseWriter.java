@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.servicewebapi;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import static java.util.Objects.requireNonNull;
+import java.util.zip.GZIPOutputStream;
+import javax.inject.Inject;
+import spark.Request;
+import spark.Response;
+
+/**
+ * Writes JSON representations of objects directly to the output stream of HTTP responses.
+ * <p>
+ * Compared to returning a JSON string from a route, this avoids materializing the complete
+ * response body in memory before it is sent.
+ * </p>
+ */
+public class JsonResponseWriter {
+
+  /**
+   * The interface configuration.
+   */
+  private final ServiceWebApiConfiguration configuration;
+  /**
+   * Binds JSON data to objects and vice versa.
+   */
+  private final JsonBinder jsonBinder;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param configuration The interface configuration.
+   * @param jsonBinder Binds JSON data to objects and vice versa.
+   */
+  @Inject
+  public JsonResponseWriter(ServiceWebApiConfiguration configuration, JsonBinder jsonBinder) {
+    this.configuration = requireNonNull(configuration, "configuration");
+    this.jsonBinder = requireNonNull(jsonBinder, "jsonBinder");
+  }
+
+  /**
+   * Writes the JSON representation of the given object to the given response and commits it.
+   * If enabled by configuration and accepted by the client, the output is compressed using gzip.
+   *
+   * @param request The request being responded to.
+   * @param response The response to write to.
+   * @param object The object to be written.
+   * @return An empty string, to be returned by the route handling the request.
+   * @throws IllegalStateException In case there was a problem mapping the given object to JSON or
+   * writing it to the response.
+   * (An IllegalStateException is mapped to HTTP status code 500, indicating an internal error.)
+   */
+  public Object writeJson(Request request, Response response, Object object)
+      throws IllegalStateException {
+    requireNonNull(request, "request");
+    requireNonNull(response, "response");
+
+    response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
+
+    boolean compress = configuration.compressResponses() && acceptsGzip(request);
+    if (compress) {
+      response.header(HttpConstants.HEADER_NAME_CONTENT_ENCODING,
+                      HttpConstants.CONTENT_ENCODING_GZIP);
+    }
+
+    try (OutputStream out = compress
+        ? new GZIPOutputStream(response.raw().getOutputStream())
+        : response.raw().getOutputStream()) {
+      jsonBinder.toJson(object, out);
+    }
+    catch (IOException exc) {
+      throw new IllegalStateException("Could not write JSON output", exc);
+    }
+
+    // The response has been committed, so whatever we return here will not be sent.
+    return "";
+  }
+
+  /**
+   * Checks whether the client accepts gzip-compressed responses, i.e. whether the request's
+   * Accept-Encoding header lists the gzip coding with a quality value greater than zero.
+   * If gzip is not listed explicitly, the quality value of a wildcard applies.
+   */
+  private boolean acceptsGzip(Request request) {
+    String acceptEncoding = request.headers(HttpConstants.HEADER_NAME_ACCEPT_ENCODING);
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    double wildcardQuality = 0.0;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] codingParts = coding.split(";");
+      String codingName = codingParts[0].trim();
+      if (codingName.equalsIgnoreCase(HttpConstants.CONTENT_ENCODING_GZIP)) {
+        return qualityOf(codingParts) > 0.0;
+      }
+      if (codingName.equals("*")) {
+        wildcardQuality = qualityOf(codingParts);
+      }
+    }
+    return wildcardQuality > 0.0;
+  }
+
+  /**
+   * Returns the quality value of a coding, given the coding's name and its parameters.
+   * A missing quality value defaults to 1, an invalid one is treated as 0.
+   */
+  private double qualityOf(String[] codingParts) {
+    for (int i = 1; i < codingParts.length; i++) {
+      String[] parameter = codingParts[i].split("=", 2);
+      if (parameter.length == 2 && parameter[0].trim().equalsIgnoreCase("q")) {
+        try {
+          return Double.parseDouble(parameter[1].trim());
+        }
+        catch (NumberFormatException exc) {
+          return 0.0;
+        }
+      }
+    }
+    return 1.0;
+  }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.servicewebapi;
+
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import javax.inject.Inject;
+import org.opentcs.access.KernelRuntimeException;
+import org.opentcs.customizations.kernel.KernelExecutor;
+import static org.opentcs.util.Assertions.checkArgument;
+
+/**
+ * Admits tasks resulting from web API requests to the kernel executor.
+ * <p>
+ * The number of admitted tasks that have not been completed, yet, is bounded.
+ * Tasks exceeding this bound are rejected immediately instead of being queued, so that a busy
+ * kernel does not cause all of the HTTP server's threads to be blocked waiting for it.
+ * </p>
+ */
+public class KernelTaskAdmission {
+
+  /**
+   * Executes tasks modifying kernel data.
+   */
+  private final ExecutorService kernelExecutor;
+  /**
+   * The maximum number of pending tasks.
+   */
+  private final int maxPendingTasks;
+  /**
+   * The permits for pending tasks.
+   */
+  private final Semaphore permits;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param configuration The interface configuration.
+   * @param kernelExecutor Executes tasks modifying kernel data.
+   */
+  @Inject
+  public KernelTaskAdmission(ServiceWebApiConfiguration configuration,
+                             @KernelExecutor ExecutorService kernelExecutor) {
+    requireNonNull(configuration, "configuration");
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+
+    this.maxPendingTasks = configuration.maxPendingKernelTasks();
+    checkArgument(maxPendingTasks > 0, "maxPendingKernelTasks <= 0: %s", maxPendingTasks);
+    this.permits = new Semaphore(maxPendingTasks);
+  }
+
+  /**
+   * Submits the given task for execution on the kernel executor.
+   *
+   * @param <T> The task's result type.
+   * @param task The task.
+   * @return A future that is completed with the task's result once it has been executed.
+   * @throws TooManyRequestsException If the maximum number of pending tasks has been reached.
+   */
+  public <T> CompletableFuture<T> submit(Callable<T> task)
+      throws TooManyRequestsException {
+    requireNonNull(task, "task");
+
+    if (!permits.tryAcquire()) {
+      throw new TooManyRequestsException("Too many pending requests, try again later.");
+    }
+
+    CompletableFuture<T> result = new CompletableFuture<>();
+    try {
+      kernelExecutor.submit(() -> {
+        T value = null;
+        Exception failure = null;
+        try {
+          value = task.call();
+        }
+        catch (Exception exc) {
+          failure = exc;
+        }
+        finally {
+          // Release the permit before completing the future, so callers waiting for the result
+          // do not observe the task as still pending.
+          permits.release();
+        }
+
+        if (failure == null) {
+          result.complete(value);
+        }
+        else {
+          result.completeExceptionally(failure);
+        }
+      });
+    }
+    catch (RejectedExecutionException exc) {
+      permits.release();
+      throw new IllegalStateException("Kernel executor does not accept tasks", exc);
+    }
+    return result;
+  }
+
+  /**
+   * Submits the given task for execution on the kernel executor without waiting for it.
+   *
+   * @param task The task.
+   * @throws TooManyRequestsException If the maximum number of pending tasks has been reached.
+   */
+  public void execute(Runnable task)
+      throws TooManyRequestsException {
+    requireNonNull(task, "task");
+
+    submit(() -> {
+      task.run();
+      return null;
+    });
+  }
+
+  /**
+   * Submits the given task for execution on the kernel executor and waits for its result.
+   *
+   * @param <T> The task's result type.
+   * @param task The task.
+   * @return The task's result.
+   * @throws TooManyRequestsException If the maximum number of pending tasks has been reached.
+   * @throws KernelRuntimeException If the task threw a checked exception.
+   * @throws IllegalStateException If the calling thread was interrupted while waiting.
+   */
+  public <T> T call(Callable<T> task)
+      throws TooManyRequestsException,
+             KernelRuntimeException,
+             IllegalStateException {
+    try {
+      return submit(task).get();
+    }
+    catch (InterruptedException exc) {
+      throw new IllegalStateException("Unexpectedly interrupted");
+    }
+    catch (ExecutionException exc) {
+      if (exc.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) exc.getCause();
+      }
+      throw new KernelRuntimeException(exc.getCause());
+    }
+  }
+
+  /**
+   * Returns the number of admitted tasks that have not been completed, yet.
+   *
+   * @return The number of admitted tasks that have not been completed, yet.
+   */
+  public int getPendingTaskCount() {
+    return maxPendingTasks - permits.availablePermits();
+  }
+}
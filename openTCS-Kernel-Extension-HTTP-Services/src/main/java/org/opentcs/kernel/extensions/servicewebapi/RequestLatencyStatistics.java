@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.servicewebapi;
+
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.inject.Inject;
+import org.opentcs.util.metrics.MetricRegistry;
+import org.opentcs.util.metrics.Timer;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+/**
+ * Records the latencies of requests to the routes of the web API with timers named
+ * {@code http.request}, tagged with the route, in the kernel's metric registry.
+ */
+public class RequestLatencyStatistics {
+
+  /**
+   * The timers in the metric registry, mapped by route (request method and matched path).
+   */
+  private final ConcurrentMap<String, Timer> timersByRoute = new ConcurrentHashMap<>();
+  /**
+   * The registry to register meters with.
+   */
+  private final MetricRegistry metricRegistry;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param metricRegistry The registry to register meters with.
+   */
+  @Inject
+  public RequestLatencyStatistics(MetricRegistry metricRegistry) {
+    this.metricRegistry = requireNonNull(metricRegistry, "metricRegistry");
+  }
+
+  /**
+   * Wraps the given route so that the latency of every request handled by it is recorded.
+   *
+   * @param route The route.
+   * @return The wrapping route.
+   */
+  public Route timed(Route route) {
+    requireNonNull(route, "route");
+
+    return (Request request, Response response) -> {
+      long start = System.nanoTime();
+      try {
+        return route.handle(request, response);
+      }
+      finally {
+        record(request.requestMethod() + " " + request.matchedPath(), System.nanoTime() - start);
+      }
+    };
+  }
+
+  /**
+   * Records a latency for the given route.
+   *
+   * @param route The route (request method and matched path).
+   * @param latencyNanos The latency, in nanoseconds.
+   */
+  public void record(String route, long latencyNanos) {
+    requireNonNull(route, "route");
+
+    timersByRoute.computeIfAbsent(route, key -> metricRegistry.timer("http.request", "route", key))
+        .record(latencyNanos);
+  }
+}
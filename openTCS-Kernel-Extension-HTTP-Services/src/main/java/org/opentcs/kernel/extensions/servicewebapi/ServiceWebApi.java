@@ -153,6 +153,12 @@ public class ServiceWebApi
                     response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
                     response.body(jsonBinder.toJson(exception));
                   });
+    service.exception(TooManyRequestsException.class, (exception, request, response) -> {
+                    response.status(429);
+                    response.header(HttpConstants.HEADER_NAME_RETRY_AFTER, "1");
+                    response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
+                    response.body(jsonBinder.toJson(exception));
+                  });
     service.exception(KernelRuntimeException.class, (exception, request, response) -> {
                     response.status(500);
                     response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
@@ -58,4 +58,18 @@ public interface ServiceWebApiConfiguration {
       description = "Whether to use SSL to encrypt connections.",
       orderKey = "5")
   boolean useSsl();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = "Whether to compress JSON responses using gzip if the client accepts it.",
+      orderKey = "6")
+  boolean compressResponses();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "Maximum number of requests that may be pending for execution by the kernel.",
+        "Requests exceeding this number are rejected with HTTP status code 429."},
+      orderKey = "7")
+  int maxPendingKernelTasks();
 }
@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.servicewebapi;
+
+import org.opentcs.access.KernelRuntimeException;
+
+/**
+ * Thrown when a request cannot be admitted because too many requests are already pending.
+ * (A TooManyRequestsException is mapped to HTTP status code 429.)
+ */
+public class TooManyRequestsException
+    extends KernelRuntimeException {
+
+  /**
+   * Creates a new instance.
+   *
+   * @param message The detail message.
+   */
+  public TooManyRequestsException(String message) {
+    super(message);
+  }
+}
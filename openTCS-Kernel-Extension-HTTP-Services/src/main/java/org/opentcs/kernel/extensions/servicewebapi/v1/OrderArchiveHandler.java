@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.servicewebapi.v1;
+
+import java.time.Instant;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.components.kernel.queries.ArchivedObjectsQuery;
+import org.opentcs.components.kernel.services.QueryService;
+import org.opentcs.data.ObjectUnknownException;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.data.peripherals.PeripheralJob;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetPeripheralJobResponseTO;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetTransportOrderResponseTO;
+
+/**
+ * Handles requests for getting archived transport orders and peripheral jobs.
+ */
+public class OrderArchiveHandler {
+
+  /**
+   * The service we use to query the order archive.
+   */
+  private final QueryService queryService;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param queryService The service we use to query the order archive.
+   */
+  @Inject
+  public OrderArchiveHandler(QueryService queryService) {
+    this.queryService = requireNonNull(queryService, "queryService");
+  }
+
+  /**
+   * Returns the archived transport orders created in the given interval.
+   *
+   * @param from The earliest creation time (inclusive).
+   * @param to The latest creation time (exclusive).
+   * @param limit The maximum number of transport orders to return.
+   * @return The archived transport orders, ordered by their creation times.
+   * @throws IllegalArgumentException If the interval or the limit is invalid.
+   */
+  public List<GetTransportOrderResponseTO> getTransportOrders(@Nonnull Instant from,
+                                                              @Nonnull Instant to,
+                                                              int limit)
+      throws IllegalArgumentException {
+    return queryService.query(new ArchivedObjectsQuery<>(TransportOrder.class)
+        .withTimeRange(from, to)
+        .withLimit(limit))
+        .stream()
+        .map(order -> GetTransportOrderResponseTO.fromTransportOrder(order))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Finds the archived transport order with the given name.
+   *
+   * @param name The name of the requested transport order.
+   * @return The archived transport order.
+   * @throws ObjectUnknownException If an archived transport order with the given name does not
+   * exist.
+   */
+  public GetTransportOrderResponseTO getTransportOrderByName(@Nonnull String name)
+      throws ObjectUnknownException {
+    requireNonNull(name, "name");
+
+    return queryService.query(new ArchivedObjectsQuery<>(TransportOrder.class).withName(name))
+        .stream()
+        .map(order -> GetTransportOrderResponseTO.fromTransportOrder(order))
+        .findAny()
+        .orElseThrow(() -> new ObjectUnknownException("Unknown archived transport order: " + name));
+  }
+
+  /**
+   * Returns the archived peripheral jobs created in the given interval.
+   *
+   * @param from The earliest creation time (inclusive).
+   * @param to The latest creation time (exclusive).
+   * @param limit The maximum number of peripheral jobs to return.
+   * @return The archived peripheral jobs, ordered by their creation times.
+   * @throws IllegalArgumentException If the interval or the limit is invalid.
+   */
+  public List<GetPeripheralJobResponseTO> getPeripheralJobs(@Nonnull Instant from,
+                                                            @Nonnull Instant to,
+                                                            int limit)
+      throws IllegalArgumentException {
+    return queryService.query(new ArchivedObjectsQuery<>(PeripheralJob.class)
+        .withTimeRange(from, to)
+        .withLimit(limit))
+        .stream()
+        .map(job -> GetPeripheralJobResponseTO.fromPeripheralJob(job))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Finds the archived peripheral job with the given name.
+   *
+   * @param name The name of the requested peripheral job.
+   * @return The archived peripheral job.
+   * @throws ObjectUnknownException If an archived peripheral job with the given name does not
+   * exist.
+   */
+  public GetPeripheralJobResponseTO getPeripheralJobByName(@Nonnull String name)
+      throws ObjectUnknownException {
+    requireNonNull(name, "name");
+
+    return queryService.query(new ArchivedObjectsQuery<>(PeripheralJob.class).withName(name))
+        .stream()
+        .map(job -> GetPeripheralJobResponseTO.fromPeripheralJob(job))
+        .findAny()
+        .orElseThrow(() -> new ObjectUnknownException("Unknown archived peripheral job: " + name));
+  }
+}
@@ -15,8 +15,6 @@ import java.util.List;
 import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import org.opentcs.access.KernelRuntimeException;
@@ -29,7 +27,6 @@ import org.opentcs.components.kernel.services.PeripheralDispatcherService;
 import org.opentcs.components.kernel.services.PeripheralJobService;
 import org.opentcs.components.kernel.services.TransportOrderService;
 import org.opentcs.components.kernel.services.VehicleService;
-import org.opentcs.customizations.kernel.KernelExecutor;
 import org.opentcs.data.ObjectExistsException;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.model.Location;
@@ -38,6 +35,8 @@ import org.opentcs.data.order.OrderConstants;
 import org.opentcs.data.order.ReroutingType;
 import org.opentcs.data.order.TransportOrder;
 import org.opentcs.data.peripherals.PeripheralJob;
+import org.opentcs.kernel.extensions.servicewebapi.KernelTaskAdmission;
+import org.opentcs.kernel.extensions.servicewebapi.TooManyRequestsException;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.PostPeripheralJobRequestTO;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.PostTransportOrderRequestTO;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.posttransportorder.Destination;
@@ -71,9 +70,9 @@ public class OrderHandler {
    */
   private final PeripheralDispatcherService jobDispatcherService;
   /**
-   * Executes tasks modifying kernel data.
+   * Admits tasks modifying kernel data to the kernel executor.
    */
-  private final ExecutorService kernelExecutor;
+  private final KernelTaskAdmission kernelTaskAdmission;
 
   /**
    * Creates a new instance.
@@ -83,7 +82,7 @@ public class OrderHandler {
    * @param dispatcherService Used to withdraw transport orders.
    * @param jobService Used to create peripheral jobs.
    * @param jobDispatcherService Used to dispatch peripheral jobs.
-   * @param kernelExecutor Executes tasks modifying kernel data.
+   * @param kernelTaskAdmission Admits tasks modifying kernel data to the kernel executor.
    */
   @Inject
   public OrderHandler(TransportOrderService orderService,
@@ -91,19 +90,20 @@ public class OrderHandler {
                       DispatcherService dispatcherService,
                       PeripheralJobService jobService,
                       PeripheralDispatcherService jobDispatcherService,
-                      @KernelExecutor ExecutorService kernelExecutor) {
+                      KernelTaskAdmission kernelTaskAdmission) {
     this.orderService = requireNonNull(orderService, "orderService");
     this.vehicleService = requireNonNull(vehicleService, "vehicleService");
     this.dispatcherService = requireNonNull(dispatcherService, "dispatcherService");
     this.jobService = requireNonNull(jobService, "jobService");
     this.jobDispatcherService = requireNonNull(jobDispatcherService, "jobDispatcherService");
-    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.kernelTaskAdmission = requireNonNull(kernelTaskAdmission, "kernelTaskAdmission");
   }
 
   public TransportOrder createOrder(String name, PostTransportOrderRequestTO order)
       throws ObjectUnknownException,
              ObjectExistsException,
              KernelRuntimeException,
+             TooManyRequestsException,
              IllegalStateException {
     requireNonNull(name, "name");
     requireNonNull(order, "order");
@@ -120,23 +120,7 @@ public class OrderHandler {
             .withType(order.getType() == null ? OrderConstants.TYPE_NONE : order.getType())
             .withProperties(properties(order.getProperties()));
 
-    try {
-      return kernelExecutor.submit(
-          () -> {
-            TransportOrder result = orderService.createTransportOrder(to);
-            return result;
-          }
-      ).get();
-    }
-    catch (InterruptedException exc) {
-      throw new IllegalStateException("Unexpectedly interrupted");
-    }
-    catch (ExecutionException exc) {
-      if (exc.getCause() instanceof RuntimeException) {
-        throw (RuntimeException) exc.getCause();
-      }
-      throw new KernelRuntimeException(exc.getCause());
-    }
+    return kernelTaskAdmission.call(() -> orderService.createTransportOrder(to));
   }
 
   public PeripheralJob createPeripheralJob(String name, PostPeripheralJobRequestTO job) {
@@ -192,32 +176,16 @@ public class OrderHandler {
       jobCreationTO = jobCreationTO.withRelatedVehicleName(job.getRelatedVehicle());
     }
 
-    try {
-      final PeripheralJobCreationTO finalJobCreationTO = jobCreationTO;
-      return kernelExecutor.submit(
-          () -> {
-            PeripheralJob result = jobService.createPeripheralJob(finalJobCreationTO);
-            return result;
-          }
-      ).get();
-    }
-    catch (InterruptedException exc) {
-      throw new IllegalStateException("Unexpectedly interrupted");
-    }
-    catch (ExecutionException exc) {
-      if (exc.getCause() instanceof RuntimeException) {
-        throw (RuntimeException) exc.getCause();
-      }
-      throw new KernelRuntimeException(exc.getCause());
-    }
+    final PeripheralJobCreationTO finalJobCreationTO = jobCreationTO;
+    return kernelTaskAdmission.call(() -> jobService.createPeripheralJob(finalJobCreationTO));
   }
 
   public void triggerDispatcher() {
-    kernelExecutor.submit(() -> dispatcherService.dispatch());
+    kernelTaskAdmission.execute(() -> dispatcherService.dispatch());
   }
 
   public void triggerJobDispatcher() {
-    kernelExecutor.submit(() -> jobDispatcherService.dispatch());
+    kernelTaskAdmission.execute(() -> jobDispatcherService.dispatch());
   }
 
   public void withdrawByTransportOrder(String name, boolean immediate, boolean disableVehicle)
@@ -228,7 +196,7 @@ public class OrderHandler {
       throw new ObjectUnknownException("Unknown transport order: " + name);
     }
 
-    kernelExecutor.submit(() -> {
+    kernelTaskAdmission.execute(() -> {
       TransportOrder order = orderService.fetchObject(TransportOrder.class, name);
       if (disableVehicle && order.getProcessingVehicle() != null) {
         vehicleService.updateVehicleIntegrationLevel(order.getProcessingVehicle(),
@@ -248,7 +216,7 @@ public class OrderHandler {
       throw new ObjectUnknownException("Unknown vehicle: " + name);
     }
 
-    kernelExecutor.submit(() -> {
+    kernelTaskAdmission.execute(() -> {
       if (disableVehicle) {
         vehicleService.updateVehicleIntegrationLevel(vehicle.getReference(),
                                                      Vehicle.IntegrationLevel.TO_BE_RESPECTED);
@@ -267,7 +235,7 @@ public class OrderHandler {
       throw new ObjectUnknownException("Unknown peripheral job: " + name);
     }
 
-    kernelExecutor.submit(() -> jobDispatcherService.withdrawByPeripheralJob(job.getReference()));
+    kernelTaskAdmission.execute(() -> jobDispatcherService.withdrawByPeripheralJob(job.getReference()));
   }
 
   public void reroute(String vehicleName, boolean forced)
@@ -279,7 +247,7 @@ public class OrderHandler {
       throw new ObjectUnknownException("Unknown vehicle: " + vehicleName);
     }
 
-    kernelExecutor.submit(() -> {
+    kernelTaskAdmission.execute(() -> {
       dispatcherService.reroute(
           vehicle.getReference(),
           forced ? ReroutingType.FORCED : ReroutingType.REGULAR
@@ -9,22 +9,19 @@ package org.opentcs.kernel.extensions.servicewebapi.v1;
 
 import java.util.List;
 import static java.util.Objects.requireNonNull;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
-import org.opentcs.access.KernelRuntimeException;
 import org.opentcs.components.kernel.services.TransportOrderService;
 import org.opentcs.components.kernel.services.VehicleService;
-import org.opentcs.customizations.kernel.KernelExecutor;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.TransportOrder;
 import org.opentcs.data.peripherals.PeripheralJob;
 import org.opentcs.drivers.vehicle.VehicleCommAdapterDescription;
 import org.opentcs.drivers.vehicle.management.AttachmentInformation;
+import org.opentcs.kernel.extensions.servicewebapi.KernelTaskAdmission;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetPeripheralJobResponseTO;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetTransportOrderResponseTO;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetVehicleResponseTO;
@@ -48,24 +45,24 @@ public class RequestStatusHandler {
    */
   private final VehicleService vehicleService;
   /**
-   * The kernel's executor service.
+   * Admits tasks to the kernel's executor service.
    */
-  private final ExecutorService kernelExecutor;
+  private final KernelTaskAdmission kernelTaskAdmission;
 
   /**
    * Creates a new instance.
    *
    * @param orderService The service we use to get the transport orders.
    * @param vehicleService Used to update vehicle instances.
-   * @param kernelExecutor The kernel's executor service.
+   * @param kernelTaskAdmission Admits tasks to the kernel's executor service.
    */
   @Inject
   public RequestStatusHandler(TransportOrderService orderService,
                               VehicleService vehicleService,
-                              @KernelExecutor ExecutorService kernelExecutor) {
+                              KernelTaskAdmission kernelTaskAdmission) {
     this.orderService = requireNonNull(orderService, "orderService");
     this.vehicleService = requireNonNull(vehicleService, "vehicleService");
-    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.kernelTaskAdmission = requireNonNull(kernelTaskAdmission, "kernelTaskAdmission");
   }
 
   /**
@@ -204,7 +201,7 @@ public class RequestStatusHandler {
 
     Vehicle.IntegrationLevel level = Vehicle.IntegrationLevel.valueOf(value);
 
-    kernelExecutor.submit(
+    kernelTaskAdmission.execute(
         () -> vehicleService.updateVehicleIntegrationLevel(vehicle.getReference(), level)
     );
   }
@@ -221,7 +218,7 @@ public class RequestStatusHandler {
 
     boolean paused = Boolean.parseBoolean(value);
 
-    kernelExecutor.submit(
+    kernelTaskAdmission.execute(
         () -> vehicleService.updateVehiclePaused(vehicle.getReference(), paused)
     );
   }
@@ -237,12 +234,12 @@ public class RequestStatusHandler {
     }
 
     if (Boolean.parseBoolean(value)) {
-      kernelExecutor.submit(
+      kernelTaskAdmission.execute(
           () -> vehicleService.enableCommAdapter(vehicle.getReference())
       );
     }
     else {
-      kernelExecutor.submit(
+      kernelTaskAdmission.execute(
           () -> vehicleService.disableCommAdapter(vehicle.getReference())
       );
     }
@@ -280,19 +277,9 @@ public class RequestStatusHandler {
                 () -> new IllegalArgumentException("Unknown vehicle driver class name: " + value)
             );
 
-    try {
-      kernelExecutor.submit(
-          () -> vehicleService.attachCommAdapter(vehicle.getReference(), newAdapter)
-      ).get();
-    }
-    catch (InterruptedException exc) {
-      throw new IllegalStateException("Unexpectedly interrupted");
-    }
-    catch (ExecutionException exc) {
-      if (exc.getCause() instanceof RuntimeException) {
-        throw (RuntimeException) exc.getCause();
-      }
-      throw new KernelRuntimeException(exc.getCause());
-    }
+    kernelTaskAdmission.call(() -> {
+      vehicleService.attachCommAdapter(vehicle.getReference(), newAdapter);
+      return null;
+    });
   }
 }
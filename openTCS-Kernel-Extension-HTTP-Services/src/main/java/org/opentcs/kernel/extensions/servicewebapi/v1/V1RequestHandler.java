@@ -7,13 +7,17 @@
  */
 package org.opentcs.kernel.extensions.servicewebapi.v1;
 
-import org.opentcs.kernel.extensions.servicewebapi.JsonBinder;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import static java.util.Objects.requireNonNull;
 import javax.inject.Inject;
 import org.opentcs.access.KernelRuntimeException;
 import org.opentcs.data.ObjectExistsException;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.kernel.extensions.servicewebapi.HttpConstants;
+import org.opentcs.kernel.extensions.servicewebapi.JsonBinder;
+import org.opentcs.kernel.extensions.servicewebapi.JsonResponseWriter;
+import org.opentcs.kernel.extensions.servicewebapi.RequestLatencyStatistics;
 import org.opentcs.kernel.extensions.servicewebapi.RequestHandler;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetPeripheralJobResponseTO;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetTransportOrderResponseTO;
@@ -37,6 +41,10 @@ public class V1RequestHandler
    * Binds JSON data to objects and vice versa.
    */
   private final JsonBinder jsonBinder;
+  /**
+   * Writes JSON responses.
+   */
+  private final JsonResponseWriter jsonResponseWriter;
   /**
    * Collects interesting events and provides them for client requests.
    */
@@ -47,6 +55,14 @@ public class V1RequestHandler
   private final OrderHandler orderHandler;
 
   private final RequestStatusHandler statusInformationProvider;
+  /**
+   * Provides archived transport orders and peripheral jobs.
+   */
+  private final OrderArchiveHandler orderArchiveHandler;
+  /**
+   * Records the latencies of handled requests.
+   */
+  private final RequestLatencyStatistics latencyStatistics;
   /**
    * Whether this instance is initialized.
    */
@@ -54,13 +70,19 @@ public class V1RequestHandler
 
   @Inject
   public V1RequestHandler(JsonBinder jsonBinder,
+                          JsonResponseWriter jsonResponseWriter,
                           StatusEventDispatcher statusEventDispatcher,
                           OrderHandler orderHandler,
-                          RequestStatusHandler requestHandler) {
+                          RequestStatusHandler requestHandler,
+                          OrderArchiveHandler orderArchiveHandler,
+                          RequestLatencyStatistics latencyStatistics) {
     this.jsonBinder = requireNonNull(jsonBinder, "jsonBinder");
+    this.jsonResponseWriter = requireNonNull(jsonResponseWriter, "jsonResponseWriter");
     this.statusEventDispatcher = requireNonNull(statusEventDispatcher, "statusEventDispatcher");
     this.orderHandler = requireNonNull(orderHandler, "orderHandler");
     this.statusInformationProvider = requireNonNull(requestHandler, "requestHandler");
+    this.orderArchiveHandler = requireNonNull(orderArchiveHandler, "orderArchiveHandler");
+    this.latencyStatistics = requireNonNull(latencyStatistics, "latencyStatistics");
   }
 
   @Override
@@ -95,49 +117,57 @@ public class V1RequestHandler
     requireNonNull(service, "service");
 
     service.get("/events",
-                this::handleGetEvents);
+                latencyStatistics.timed(this::handleGetEvents));
     service.post("/vehicles/dispatcher/trigger",
-                 this::handlePostDispatcherTrigger);
+                 latencyStatistics.timed(this::handlePostDispatcherTrigger));
     service.put("/vehicles/:NAME/commAdapter/attachment",
-                this::handlePutVehicleCommAdapterAttachment);
+                latencyStatistics.timed(this::handlePutVehicleCommAdapterAttachment));
     service.get("/vehicles/:NAME/commAdapter/attachmentInformation",
-                this::handleGetVehicleCommAdapterAttachmentInfo);
+                latencyStatistics.timed(this::handleGetVehicleCommAdapterAttachmentInfo));
     service.put("/vehicles/:NAME/commAdapter/enabled",
-                this::handlePutVehicleCommAdapterEnabled);
+                latencyStatistics.timed(this::handlePutVehicleCommAdapterEnabled));
     service.put("/vehicles/:NAME/paused",
-                this::handlePutVehiclePaused);
+                latencyStatistics.timed(this::handlePutVehiclePaused));
     service.put("/vehicles/:NAME/integrationLevel",
-                this::handlePutVehicleIntegrationLevel);
+                latencyStatistics.timed(this::handlePutVehicleIntegrationLevel));
     service.post("/vehicles/:NAME/withdrawal",
-                 this::handlePostWithdrawalByVehicle);
+                 latencyStatistics.timed(this::handlePostWithdrawalByVehicle));
     service.post("/vehicles/:NAME/rerouteRequest",
-                 this::handlePostVehicleRerouteRequest);
+                 latencyStatistics.timed(this::handlePostVehicleRerouteRequest));
     service.get("/vehicles/:NAME",
-                this::handleGetVehicleByName);
+                latencyStatistics.timed(this::handleGetVehicleByName));
     service.get("/vehicles",
-                this::handleGetVehicles);
+                latencyStatistics.timed(this::handleGetVehicles));
     service.post("/transportOrders/dispatcher/trigger",
-                 this::handlePostDispatcherTrigger);
+                 latencyStatistics.timed(this::handlePostDispatcherTrigger));
     service.post("/transportOrders/:NAME/withdrawal",
-                 this::handlePostWithdrawalByOrder);
+                 latencyStatistics.timed(this::handlePostWithdrawalByOrder));
     service.post("/transportOrders/:NAME",
-                 this::handlePostTransportOrder);
+                 latencyStatistics.timed(this::handlePostTransportOrder));
     service.get("/transportOrders/:NAME",
-                this::handleGetTransportOrderByName);
+                latencyStatistics.timed(this::handleGetTransportOrderByName));
     service.get("/transportOrders",
-                this::handleGetTransportOrders);
+                latencyStatistics.timed(this::handleGetTransportOrders));
     service.post("/dispatcher/trigger",
-                 this::handlePostDispatcherTrigger);
+                 latencyStatistics.timed(this::handlePostDispatcherTrigger));
     service.get("/peripheralJobs",
-                this::handleGetPeripheralJobs);
+                latencyStatistics.timed(this::handleGetPeripheralJobs));
     service.get("/peripheralJobs/:NAME",
-                this::handleGetPeripheralJobsByName);
+                latencyStatistics.timed(this::handleGetPeripheralJobsByName));
     service.post("/peripheralJobs/:NAME",
-                 this::handlePostPeripheralJobsByName);
+                 latencyStatistics.timed(this::handlePostPeripheralJobsByName));
     service.post("/peripheralJobs/:NAME/withdrawal",
-                 this::handlePostPeripheralJobWithdrawal);
+                 latencyStatistics.timed(this::handlePostPeripheralJobWithdrawal));
     service.post("/peripheralJobs/dispatcher/trigger",
-                 this::handlePostPeripheralJobsDispatchTrigger);
+                 latencyStatistics.timed(this::handlePostPeripheralJobsDispatchTrigger));
+    service.get("/archive/transportOrders/:NAME",
+                latencyStatistics.timed(this::handleGetArchivedTransportOrderByName));
+    service.get("/archive/transportOrders",
+                latencyStatistics.timed(this::handleGetArchivedTransportOrders));
+    service.get("/archive/peripheralJobs/:NAME",
+                latencyStatistics.timed(this::handleGetArchivedPeripheralJobByName));
+    service.get("/archive/peripheralJobs",
+                latencyStatistics.timed(this::handleGetArchivedPeripheralJobs));
   }
 
   private Object handlePostDispatcherTrigger(Request request, Response response)
@@ -149,10 +179,13 @@ public class V1RequestHandler
 
   private Object handleGetEvents(Request request, Response response)
       throws IllegalArgumentException, IllegalStateException {
-    response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
-    return jsonBinder.toJson(statusEventDispatcher.fetchEvents(minSequenceNo(request),
-                                                               maxSequenceNo(request),
-                                                               timeout(request)));
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
+        statusEventDispatcher.fetchEvents(minSequenceNo(request),
+                                          maxSequenceNo(request),
+                                          timeout(request))
+    );
   }
 
   private Object handlePutVehicleCommAdapterEnabled(Request request, Response response)
@@ -167,12 +200,14 @@ public class V1RequestHandler
 
   private Object handleGetVehicleCommAdapterAttachmentInfo(Request request, Response response)
       throws ObjectUnknownException, IllegalArgumentException {
-    response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
-    return jsonBinder.toJson(GetVehicleAttachmentInfoResponseTO.fromAttachmentInformation(
-        statusInformationProvider.getVehicleCommAdapterAttachmentInformation(
-            request.params(":NAME")
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
+        GetVehicleAttachmentInfoResponseTO.fromAttachmentInformation(
+            statusInformationProvider.getVehicleCommAdapterAttachmentInformation(
+                request.params(":NAME")
+            )
         )
-    )
     );
   }
 
@@ -191,8 +226,9 @@ public class V1RequestHandler
              ObjectExistsException,
              IllegalArgumentException,
              IllegalStateException {
-    response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
-    return jsonBinder.toJson(
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
         GetTransportOrderResponseTO.fromTransportOrder(
             orderHandler.createOrder(
                 request.params(":NAME"),
@@ -235,8 +271,9 @@ public class V1RequestHandler
   }
 
   private Object handleGetTransportOrders(Request request, Response response) {
-    response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
-    return jsonBinder.toJson(
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
         statusInformationProvider.getTransportOrdersState(
             valueIfKeyPresent(request.queryMap(), "intendedVehicle")
         )
@@ -244,16 +281,18 @@ public class V1RequestHandler
   }
 
   private Object handleGetTransportOrderByName(Request request, Response response) {
-    response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
-    return jsonBinder.toJson(
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
         statusInformationProvider.getTransportOrderByName(request.params(":NAME"))
     );
   }
 
   private Object handleGetVehicles(Request request, Response response)
       throws IllegalArgumentException {
-    response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
-    return jsonBinder.toJson(
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
         statusInformationProvider.getVehiclesState(valueIfKeyPresent(request.queryMap(),
                                                                      "procState"))
     );
@@ -261,8 +300,9 @@ public class V1RequestHandler
 
   private Object handleGetVehicleByName(Request request, Response response)
       throws ObjectUnknownException {
-    response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
-    return jsonBinder.toJson(
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
         statusInformationProvider.getVehicleStateByName(request.params(":NAME"))
     );
   }
@@ -288,8 +328,9 @@ public class V1RequestHandler
   }
 
   private Object handleGetPeripheralJobs(Request request, Response response) {
-    response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
-    return jsonBinder.toJson(
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
         statusInformationProvider.getPeripheralJobs(
             valueIfKeyPresent(request.queryMap(), "relatedVehicle"),
             valueIfKeyPresent(request.queryMap(), "relatedTransportOrder")
@@ -298,15 +339,17 @@ public class V1RequestHandler
   }
 
   private Object handleGetPeripheralJobsByName(Request request, Response response) {
-    response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
-    return jsonBinder.toJson(
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
         statusInformationProvider.getPeripheralJobByName(request.params(":NAME"))
     );
   }
 
   private Object handlePostPeripheralJobsByName(Request request, Response response) {
-    response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
-    return jsonBinder.toJson(
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
         GetPeripheralJobResponseTO.fromPeripheralJob(
             orderHandler.createPeripheralJob(
                 request.params(":NAME"),
@@ -322,6 +365,46 @@ public class V1RequestHandler
     return "";
   }
 
+  private Object handleGetArchivedTransportOrders(Request request, Response response)
+      throws IllegalArgumentException {
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
+        orderArchiveHandler.getTransportOrders(instant(request, "from", Instant.MIN),
+                                               instant(request, "to", Instant.MAX),
+                                               limit(request))
+    );
+  }
+
+  private Object handleGetArchivedTransportOrderByName(Request request, Response response)
+      throws ObjectUnknownException {
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
+        orderArchiveHandler.getTransportOrderByName(request.params(":NAME"))
+    );
+  }
+
+  private Object handleGetArchivedPeripheralJobs(Request request, Response response)
+      throws IllegalArgumentException {
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
+        orderArchiveHandler.getPeripheralJobs(instant(request, "from", Instant.MIN),
+                                              instant(request, "to", Instant.MAX),
+                                              limit(request))
+    );
+  }
+
+  private Object handleGetArchivedPeripheralJobByName(Request request, Response response)
+      throws ObjectUnknownException {
+    return jsonResponseWriter.writeJson(
+        request,
+        response,
+        orderArchiveHandler.getPeripheralJobByName(request.params(":NAME"))
+    );
+  }
+
   private String valueIfKeyPresent(QueryParamsMap queryParams, String key) {
     if (queryParams.hasKey(key)) {
       return queryParams.value(key);
@@ -365,6 +448,31 @@ public class V1RequestHandler
     }
   }
 
+  private Instant instant(Request request, String key, Instant defaultValue)
+      throws IllegalArgumentException {
+    String param = request.queryParams(key);
+    if (param == null) {
+      return defaultValue;
+    }
+    try {
+      return Instant.parse(param);
+    }
+    catch (DateTimeParseException exc) {
+      throw new IllegalArgumentException("Malformed " + key + ": " + param);
+    }
+  }
+
+  private int limit(Request request)
+      throws IllegalArgumentException {
+    String param = request.queryParamOrDefault("limit", String.valueOf(Integer.MAX_VALUE));
+    try {
+      return Integer.parseInt(param);
+    }
+    catch (NumberFormatException exc) {
+      throw new IllegalArgumentException("Malformed limit: " + param);
+    }
+  }
+
   private boolean immediate(Request request) {
     return Boolean.parseBoolean(request.queryParamOrDefault("immediate", "false"));
   }
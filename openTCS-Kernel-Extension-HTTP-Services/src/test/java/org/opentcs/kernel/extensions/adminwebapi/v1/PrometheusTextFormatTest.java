@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.adminwebapi.v1;
+
+import java.util.concurrent.TimeUnit;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.Test;
+import org.opentcs.util.metrics.MetricRegistry;
+import org.opentcs.util.metrics.Timer;
+
+/**
+ * Tests for {@link PrometheusTextFormat}.
+ */
+public class PrometheusTextFormatTest {
+
+  @Test
+  public void formatCountersAndGauges() {
+    MetricRegistry registry = new MetricRegistry(true);
+    registry.counter("router.lookups", "result", "hit").increment(3);
+    registry.counter("router.lookups", "result", "miss").increment();
+    registry.gauge("executor.queue.size", () -> 7, "executor", "kernel");
+
+    String output = PrometheusTextFormat.format(registry.getMeters());
+
+    assertThat(output,
+               is("# TYPE opentcs_executor_queue_size gauge\n"
+                   + "opentcs_executor_queue_size{executor=\"kernel\"} 7\n"
+                   + "# TYPE opentcs_router_lookups_total counter\n"
+                   + "opentcs_router_lookups_total{result=\"hit\"} 3\n"
+                   + "opentcs_router_lookups_total{result=\"miss\"} 1\n"));
+  }
+
+  @Test
+  public void formatTimersAsCumulativeHistograms() {
+    MetricRegistry registry = new MetricRegistry(true);
+    Timer timer = registry.timer("dispatcher.run");
+    timer.record(TimeUnit.MICROSECONDS.toNanos(5));
+    timer.record(TimeUnit.MILLISECONDS.toNanos(20));
+    timer.record(TimeUnit.SECONDS.toNanos(20));
+
+    String output = PrometheusTextFormat.format(registry.getMeters());
+
+    assertThat(output, containsString("# TYPE opentcs_dispatcher_run_seconds histogram\n"));
+    assertThat(output, containsString("opentcs_dispatcher_run_seconds_bucket{le=\"1.0E-5\"} 1\n"));
+    assertThat(output, containsString("opentcs_dispatcher_run_seconds_bucket{le=\"0.025\"} 2\n"));
+    assertThat(output, containsString("opentcs_dispatcher_run_seconds_bucket{le=\"10.0\"} 2\n"));
+    assertThat(output, containsString("opentcs_dispatcher_run_seconds_bucket{le=\"+Inf\"} 3\n"));
+    assertThat(output, containsString("opentcs_dispatcher_run_seconds_count 3\n"));
+    assertThat(output, containsString("opentcs_dispatcher_run_seconds_sum 20.020005\n"));
+  }
+
+  @Test
+  public void escapeLabelValues() {
+    MetricRegistry registry = new MetricRegistry(true);
+    registry.counter("http.request", "route", "GET /v1/\"quoted\"").increment();
+
+    assertThat(PrometheusTextFormat.format(registry.getMeters()),
+               containsString("opentcs_http_request_total{route=\"GET /v1/\\\"quoted\\\"\"} 1\n"));
+  }
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.servicewebapi;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.shared.Property;
+import spark.Request;
+import spark.Response;
+
+/**
+ * Unit tests for {@link JsonResponseWriter}.
+ */
+public class JsonResponseWriterTest {
+
+  private ServiceWebApiConfiguration configuration;
+
+  private JsonBinder jsonBinder;
+
+  private JsonResponseWriter writer;
+
+  private ByteArrayOutputStream responseBody;
+
+  private Response response;
+
+  @BeforeEach
+  public void setUp()
+      throws IOException {
+    configuration = mock(ServiceWebApiConfiguration.class);
+    jsonBinder = new JsonBinder();
+    writer = new JsonResponseWriter(configuration, jsonBinder);
+
+    responseBody = new ByteArrayOutputStream();
+    HttpServletResponse rawResponse = mock(HttpServletResponse.class);
+    when(rawResponse.getOutputStream()).thenReturn(new CapturingOutputStream(responseBody));
+    response = mock(Response.class);
+    when(response.raw()).thenReturn(rawResponse);
+  }
+
+  @Test
+  public void writeSameJsonAsStringMapping() {
+    when(configuration.compressResponses()).thenReturn(true);
+
+    writer.writeJson(aRequestAcceptingEncoding(null), response, someObject());
+
+    assertThat(new String(responseBody.toByteArray(), StandardCharsets.UTF_8),
+               is(jsonBinder.toJson(someObject())));
+    verify(response).type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
+    verify(response, never()).header(anyString(), anyString());
+  }
+
+  @Test
+  public void compressJsonIfEnabledAndAccepted()
+      throws IOException {
+    when(configuration.compressResponses()).thenReturn(true);
+
+    writer.writeJson(aRequestAcceptingEncoding("deflate, gzip"), response, someObject());
+
+    assertThat(new String(decompress(responseBody.toByteArray()), StandardCharsets.UTF_8),
+               is(jsonBinder.toJson(someObject())));
+    verify(response).header(HttpConstants.HEADER_NAME_CONTENT_ENCODING,
+                            HttpConstants.CONTENT_ENCODING_GZIP);
+  }
+
+  @Test
+  public void compressJsonIfGzipAcceptedWithPositiveQuality()
+      throws IOException {
+    when(configuration.compressResponses()).thenReturn(true);
+
+    writer.writeJson(aRequestAcceptingEncoding("deflate;q=1.0, GZIP ; q=0.5"),
+                     response,
+                     someObject());
+
+    assertThat(new String(decompress(responseBody.toByteArray()), StandardCharsets.UTF_8),
+               is(jsonBinder.toJson(someObject())));
+  }
+
+  @Test
+  public void compressJsonIfAnyCodingAccepted()
+      throws IOException {
+    when(configuration.compressResponses()).thenReturn(true);
+
+    writer.writeJson(aRequestAcceptingEncoding("*;q=0.1"), response, someObject());
+
+    assertThat(new String(decompress(responseBody.toByteArray()), StandardCharsets.UTF_8),
+               is(jsonBinder.toJson(someObject())));
+  }
+
+  @Test
+  public void doNotCompressJsonIfGzipNotAcceptable() {
+    when(configuration.compressResponses()).thenReturn(true);
+
+    writer.writeJson(aRequestAcceptingEncoding("*, gzip;q=0"), response, someObject());
+
+    assertThat(new String(responseBody.toByteArray(), StandardCharsets.UTF_8),
+               is(jsonBinder.toJson(someObject())));
+    verify(response, never()).header(anyString(), anyString());
+  }
+
+  @Test
+  public void doNotCompressJsonIfOnlyCodingsContainingGzipAccepted() {
+    when(configuration.compressResponses()).thenReturn(true);
+
+    writer.writeJson(aRequestAcceptingEncoding("gzip-like, x-gzipped"), response, someObject());
+
+    assertThat(new String(responseBody.toByteArray(), StandardCharsets.UTF_8),
+               is(jsonBinder.toJson(someObject())));
+    verify(response, never()).header(anyString(), anyString());
+  }
+
+  @Test
+  public void doNotCompressJsonIfDisabled() {
+    when(configuration.compressResponses()).thenReturn(false);
+
+    writer.writeJson(aRequestAcceptingEncoding("gzip"), response, someObject());
+
+    assertThat(new String(responseBody.toByteArray(), StandardCharsets.UTF_8),
+               is(jsonBinder.toJson(someObject())));
+    verify(response, never()).header(anyString(), anyString());
+  }
+
+  private Object someObject() {
+    return List.of(new Property("some-key", "some-value"),
+                   new Property("some-other-key", "some-other-value"));
+  }
+
+  private Request aRequestAcceptingEncoding(String acceptEncoding) {
+    Request request = mock(Request.class);
+
+    when(request.headers(HttpConstants.HEADER_NAME_ACCEPT_ENCODING)).thenReturn(acceptEncoding);
+
+    return request;
+  }
+
+  private byte[] decompress(byte[] data)
+      throws IOException {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+      return in.readAllBytes();
+    }
+  }
+
+  private static class CapturingOutputStream
+      extends ServletOutputStream {
+
+    private final ByteArrayOutputStream target;
+
+    CapturingOutputStream(ByteArrayOutputStream target) {
+      this.target = target;
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+    }
+
+    @Override
+    public void write(int b) {
+      target.write(b);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.servicewebapi;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link KernelTaskAdmission}.
+ */
+public class KernelTaskAdmissionTest {
+
+  private ExecutorService kernelExecutor;
+
+  private KernelTaskAdmission admission;
+
+  @BeforeEach
+  public void setUp() {
+    ServiceWebApiConfiguration configuration = mock(ServiceWebApiConfiguration.class);
+    when(configuration.maxPendingKernelTasks()).thenReturn(2);
+    kernelExecutor = Executors.newSingleThreadExecutor();
+    admission = new KernelTaskAdmission(configuration, kernelExecutor);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    kernelExecutor.shutdownNow();
+  }
+
+  @Test
+  public void returnResultOfTask() {
+    assertThat(admission.call(() -> "some-result"), is("some-result"));
+    assertThat(admission.getPendingTaskCount(), is(0));
+  }
+
+  @Test
+  public void propagateRuntimeExceptionOfTask() {
+    assertThrows(IllegalArgumentException.class,
+                 () -> admission.call(() -> {
+                   throw new IllegalArgumentException("some-message");
+                 }));
+    assertThat(admission.getPendingTaskCount(), is(0));
+  }
+
+  @Test
+  public void rejectTasksExceedingMaximumPendingTasks() {
+    CountDownLatch kernelBusy = new CountDownLatch(1);
+    CompletableFuture<Object> first = admission.submit(() -> awaitUninterruptibly(kernelBusy));
+    CompletableFuture<Object> second = admission.submit(() -> null);
+
+    assertThat(admission.getPendingTaskCount(), is(2));
+    assertThrows(TooManyRequestsException.class, () -> admission.submit(() -> null));
+
+    kernelBusy.countDown();
+    first.join();
+    second.join();
+
+    assertThat(admission.getPendingTaskCount(), is(0));
+    assertThat(admission.call(() -> "some-result"), is("some-result"));
+  }
+
+  private Object awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException exc) {
+      Thread.currentThread().interrupt();
+    }
+    return null;
+  }
+}
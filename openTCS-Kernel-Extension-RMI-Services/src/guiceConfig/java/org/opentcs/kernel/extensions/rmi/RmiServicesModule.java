@@ -52,6 +52,8 @@ public class RmiServicesModule
         .in(Singleton.class);
     bind(UserManager.class)
         .in(Singleton.class);
+    bind(RemoteCallMetrics.class)
+        .in(Singleton.class);
     bind(UserAccountProvider.class)
         .to(DefaultUserAccountProvider.class);
 
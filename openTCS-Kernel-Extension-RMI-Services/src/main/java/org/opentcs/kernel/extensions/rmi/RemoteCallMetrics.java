@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.rmi;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.rmi.Remote;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.util.metrics.MetricRegistry;
+import org.opentcs.util.metrics.Timer;
+
+/**
+ * Measures the durations of calls to remote services.
+ * <p>
+ * Durations are recorded with timers named {@code rmi.call}, tagged with the name of the remote
+ * interface and the called method.
+ * </p>
+ */
+public class RemoteCallMetrics {
+
+  /**
+   * The registry to register meters with.
+   */
+  private final MetricRegistry metricRegistry;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param metricRegistry The registry to register meters with.
+   */
+  @Inject
+  public RemoteCallMetrics(@Nonnull MetricRegistry metricRegistry) {
+    this.metricRegistry = requireNonNull(metricRegistry, "metricRegistry");
+  }
+
+  /**
+   * Returns the object to be exported via RMI for the given remote service.
+   * <p>
+   * If collecting metrics is enabled, this is a proxy measuring the durations of calls to the given
+   * interface's methods before delegating them to the service. Otherwise, it is the service itself.
+   * </p>
+   *
+   * @param <T> The type of the remote interface.
+   * @param service The remote service.
+   * @param remoteInterface The remote interface implemented by the service.
+   * @return The object to be exported via RMI.
+   */
+  @Nonnull
+  public <T extends Remote> T meter(@Nonnull T service, @Nonnull Class<T> remoteInterface) {
+    requireNonNull(service, "service");
+    requireNonNull(remoteInterface, "remoteInterface");
+
+    if (!metricRegistry.isEnabled()) {
+      return service;
+    }
+
+    return remoteInterface.cast(
+        Proxy.newProxyInstance(remoteInterface.getClassLoader(),
+                               new Class<?>[]{remoteInterface},
+                               new TimingInvocationHandler(service, remoteInterface))
+    );
+  }
+
+  /**
+   * Measures the durations of method invocations before delegating them.
+   */
+  private class TimingInvocationHandler
+      implements InvocationHandler {
+
+    /**
+     * The object to delegate invocations to.
+     */
+    private final Object delegate;
+    /**
+     * The simple name of the remote interface.
+     */
+    private final String serviceName;
+    /**
+     * The timers, mapped by method.
+     */
+    private final Map<Method, Timer> timersByMethod = new ConcurrentHashMap<>();
+
+    TimingInvocationHandler(Object delegate, Class<?> remoteInterface) {
+      this.delegate = delegate;
+      this.serviceName = remoteInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args)
+        throws Throwable {
+      Timer timer = timersByMethod.computeIfAbsent(
+          method,
+          key -> metricRegistry.timer("rmi.call", "service", serviceName, "method", key.getName())
+      );
+      long start = timer.start();
+      try {
+        return method.invoke(delegate, args);
+      }
+      catch (InvocationTargetException exc) {
+        throw exc.getCause();
+      }
+      finally {
+        timer.stop(start);
+      }
+    }
+  }
+}
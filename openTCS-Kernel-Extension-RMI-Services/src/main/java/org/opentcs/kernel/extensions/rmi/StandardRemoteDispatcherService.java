@@ -8,6 +8,7 @@
 package org.opentcs.kernel.extensions.rmi;
 
 import java.rmi.NotBoundException;
+import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
@@ -69,10 +70,18 @@ public class StandardRemoteDispatcherService
    * Executes tasks modifying kernel data.
    */
   private final ExecutorService kernelExecutor;
+  /**
+   * Measures the durations of remote calls.
+   */
+  private final RemoteCallMetrics remoteCallMetrics;
   /**
    * The registry with which this remote service registers.
    */
   private Registry rmiRegistry;
+  /**
+   * The object exported via RMI.
+   */
+  private Remote exportedObject;
   /**
    * Whether this remote service is initialized or not.
    */
@@ -87,6 +96,7 @@ public class StandardRemoteDispatcherService
    * @param socketFactoryProvider The socket factory provider used for RMI.
    * @param registryProvider The provider for the registry with which this remote service registers.
    * @param kernelExecutor Executes tasks modifying kernel data.
+   * @param remoteCallMetrics Measures the durations of remote calls.
    */
   @Inject
   public StandardRemoteDispatcherService(DispatcherService dispatcherService,
@@ -94,13 +104,15 @@ public class StandardRemoteDispatcherService
                                          RmiKernelInterfaceConfiguration configuration,
                                          SocketFactoryProvider socketFactoryProvider,
                                          RegistryProvider registryProvider,
-                                         @KernelExecutor ExecutorService kernelExecutor) {
+                                         @KernelExecutor ExecutorService kernelExecutor,
+                                         RemoteCallMetrics remoteCallMetrics) {
     this.dispatcherService = requireNonNull(dispatcherService, "dispatcherService");
     this.userManager = requireNonNull(userManager, "userManager");
     this.configuration = requireNonNull(configuration, "configuration");
     this.socketFactoryProvider = requireNonNull(socketFactoryProvider, "socketFactoryProvider");
     this.registryProvider = requireNonNull(registryProvider, "registryProvider");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.remoteCallMetrics = requireNonNull(remoteCallMetrics, "remoteCallMetrics");
   }
 
   @Override
@@ -110,16 +122,17 @@ public class StandardRemoteDispatcherService
     }
 
     rmiRegistry = registryProvider.get();
+    exportedObject = remoteCallMetrics.meter(this, RemoteDispatcherService.class);
 
     // Export this instance via RMI.
     try {
       LOG.debug("Exporting proxy...");
-      UnicastRemoteObject.exportObject(this,
+      UnicastRemoteObject.exportObject(exportedObject,
                                        configuration.remoteDispatcherServicePort(),
                                        socketFactoryProvider.getClientSocketFactory(),
                                        socketFactoryProvider.getServerSocketFactory());
       LOG.debug("Binding instance with RMI registry...");
-      rmiRegistry.rebind(RegistrationName.REMOTE_DISPATCHER_SERVICE, this);
+      rmiRegistry.rebind(RegistrationName.REMOTE_DISPATCHER_SERVICE, exportedObject);
     }
     catch (RemoteException exc) {
       LOG.error("Could not export or bind with RMI registry", exc);
@@ -144,7 +157,7 @@ public class StandardRemoteDispatcherService
       LOG.debug("Unbinding from RMI registry...");
       rmiRegistry.unbind(RegistrationName.REMOTE_DISPATCHER_SERVICE);
       LOG.debug("Unexporting RMI interface...");
-      UnicastRemoteObject.unexportObject(this, true);
+      UnicastRemoteObject.unexportObject(exportedObject, true);
     }
     catch (RemoteException | NotBoundException exc) {
       LOG.warn("Exception shutting down RMI interface", exc);
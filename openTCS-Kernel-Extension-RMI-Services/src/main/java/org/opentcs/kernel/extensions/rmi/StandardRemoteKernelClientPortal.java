@@ -8,6 +8,7 @@
 package org.opentcs.kernel.extensions.rmi;
 
 import java.rmi.NotBoundException;
+import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
@@ -76,10 +77,18 @@ public class StandardRemoteKernelClientPortal
    * The event handler to publish events to.
    */
   private final EventHandler eventHandler;
+  /**
+   * Measures the durations of remote calls.
+   */
+  private final RemoteCallMetrics remoteCallMetrics;
   /**
    * The registry with which this remote portal registers.
    */
   private Registry rmiRegistry;
+  /**
+   * The object exported via RMI.
+   */
+  private Remote exportedObject;
   /**
    * Whether this remote portal is initialized or not.
    */
@@ -95,6 +104,7 @@ public class StandardRemoteKernelClientPortal
    * @param socketFactoryProvider The socket factory provider used for RMI.
    * @param registryProvider The provider for the registry with which this remote portal registers.
    * @param eventHandler The event handler to publish events to.
+   * @param remoteCallMetrics Measures the durations of remote calls.
    */
   @Inject
   public StandardRemoteKernelClientPortal(LocalKernel kernel,
@@ -103,7 +113,8 @@ public class StandardRemoteKernelClientPortal
                                           RmiKernelInterfaceConfiguration configuration,
                                           SocketFactoryProvider socketFactoryProvider,
                                           RegistryProvider registryProvider,
-                                          @ApplicationEventBus EventHandler eventHandler) {
+                                          @ApplicationEventBus EventHandler eventHandler,
+                                          RemoteCallMetrics remoteCallMetrics) {
     this.kernel = requireNonNull(kernel, "kernel");
     this.remoteServices = requireNonNull(remoteServices, "remoteServices");
     this.userManager = requireNonNull(userManager, "userManager");
@@ -111,6 +122,7 @@ public class StandardRemoteKernelClientPortal
     this.socketFactoryProvider = requireNonNull(socketFactoryProvider, "socketFactoryProvider");
     this.registryProvider = requireNonNull(registryProvider, "registryProvider");
     this.eventHandler = requireNonNull(eventHandler, "eventHandler");
+    this.remoteCallMetrics = requireNonNull(remoteCallMetrics, "remoteCallMetrics");
   }
 
   @Override
@@ -123,15 +135,16 @@ public class StandardRemoteKernelClientPortal
     userManager.initialize();
 
     rmiRegistry = registryProvider.get();
+    exportedObject = remoteCallMetrics.meter(this, RemoteKernelServicePortal.class);
     // Export this instance via RMI.
     try {
       LOG.debug("Exporting proxy...");
-      UnicastRemoteObject.exportObject(this,
+      UnicastRemoteObject.exportObject(exportedObject,
                                        configuration.remoteKernelServicePortalPort(),
                                        socketFactoryProvider.getClientSocketFactory(),
                                        socketFactoryProvider.getServerSocketFactory());
       LOG.debug("Binding instance with RMI registry...");
-      rmiRegistry.rebind(RegistrationName.REMOTE_KERNEL_CLIENT_PORTAL, this);
+      rmiRegistry.rebind(RegistrationName.REMOTE_KERNEL_CLIENT_PORTAL, exportedObject);
       LOG.debug("Bound instance {} with registry {}.", rmiRegistry.list(), rmiRegistry);
     }
     catch (RemoteException exc) {
@@ -165,7 +178,7 @@ public class StandardRemoteKernelClientPortal
       LOG.debug("Unbinding from RMI registry...");
       rmiRegistry.unbind(RegistrationName.REMOTE_KERNEL_CLIENT_PORTAL);
       LOG.debug("Unexporting RMI interface...");
-      UnicastRemoteObject.unexportObject(this, true);
+      UnicastRemoteObject.unexportObject(exportedObject, true);
     }
     catch (RemoteException | NotBoundException exc) {
       LOG.warn("Exception shutting down RMI interface", exc);
@@ -8,6 +8,7 @@
 package org.opentcs.kernel.extensions.rmi;
 
 import java.rmi.NotBoundException;
+import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
@@ -68,10 +69,18 @@ public class StandardRemotePeripheralJobService
    * Executes tasks modifying kernel data.
    */
   private final ExecutorService kernelExecutor;
+  /**
+   * Measures the durations of remote calls.
+   */
+  private final RemoteCallMetrics remoteCallMetrics;
   /**
    * The registry with which this remote service registers.
    */
   private Registry rmiRegistry;
+  /**
+   * The object exported via RMI.
+   */
+  private Remote exportedObject;
   /**
    * Whether this remote service is initialized or not.
    */
@@ -86,6 +95,7 @@ public class StandardRemotePeripheralJobService
    * @param socketFactoryProvider The socket factory provider used for RMI.
    * @param registryProvider The provider for the registry with which this remote service registers.
    * @param kernelExecutor Executes tasks modifying kernel data.
+   * @param remoteCallMetrics Measures the durations of remote calls.
    */
   @Inject
   public StandardRemotePeripheralJobService(PeripheralJobService peripheralJobService,
@@ -93,7 +103,8 @@ public class StandardRemotePeripheralJobService
                                             RmiKernelInterfaceConfiguration configuration,
                                             SocketFactoryProvider socketFactoryProvider,
                                             RegistryProvider registryProvider,
-                                            @KernelExecutor ExecutorService kernelExecutor) {
+                                            @KernelExecutor ExecutorService kernelExecutor,
+                                            RemoteCallMetrics remoteCallMetrics) {
     super(peripheralJobService, userManager, kernelExecutor);
     this.peripheralJobService = requireNonNull(peripheralJobService, "transportOrderService");
     this.userManager = requireNonNull(userManager, "userManager");
@@ -101,6 +112,7 @@ public class StandardRemotePeripheralJobService
     this.socketFactoryProvider = requireNonNull(socketFactoryProvider, "socketFactoryProvider");
     this.registryProvider = requireNonNull(registryProvider, "registryProvider");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.remoteCallMetrics = requireNonNull(remoteCallMetrics, "remoteCallMetrics");
   }
 
   @Override
@@ -110,16 +122,17 @@ public class StandardRemotePeripheralJobService
     }
 
     rmiRegistry = registryProvider.get();
+    exportedObject = remoteCallMetrics.meter(this, RemotePeripheralJobService.class);
 
     // Export this instance via RMI.
     try {
       LOG.debug("Exporting proxy...");
-      UnicastRemoteObject.exportObject(this,
+      UnicastRemoteObject.exportObject(exportedObject,
                                        configuration.remotePeripheralJobServicePort(),
                                        socketFactoryProvider.getClientSocketFactory(),
                                        socketFactoryProvider.getServerSocketFactory());
       LOG.debug("Binding instance with RMI registry...");
-      rmiRegistry.rebind(RegistrationName.REMOTE_PERIPHERAL_JOB_SERVICE, this);
+      rmiRegistry.rebind(RegistrationName.REMOTE_PERIPHERAL_JOB_SERVICE, exportedObject);
     }
     catch (RemoteException exc) {
       LOG.error("Could not export or bind with RMI registry", exc);
@@ -144,7 +157,7 @@ public class StandardRemotePeripheralJobService
       LOG.debug("Unbinding from RMI registry...");
       rmiRegistry.unbind(RegistrationName.REMOTE_PERIPHERAL_JOB_SERVICE);
       LOG.debug("Unexporting RMI interface...");
-      UnicastRemoteObject.unexportObject(this, true);
+      UnicastRemoteObject.unexportObject(exportedObject, true);
     }
     catch (RemoteException | NotBoundException exc) {
       LOG.warn("Exception shutting down RMI interface", exc);
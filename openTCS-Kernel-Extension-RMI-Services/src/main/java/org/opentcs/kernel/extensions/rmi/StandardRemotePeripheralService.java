@@ -8,6 +8,7 @@
 package org.opentcs.kernel.extensions.rmi;
 
 import java.rmi.NotBoundException;
+import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
@@ -71,10 +72,18 @@ public class StandardRemotePeripheralService
    * Executes tasks modifying kernel data.
    */
   private final ExecutorService kernelExecutor;
+  /**
+   * Measures the durations of remote calls.
+   */
+  private final RemoteCallMetrics remoteCallMetrics;
   /**
    * The registry with which this remote service registers.
    */
   private Registry rmiRegistry;
+  /**
+   * The object exported via RMI.
+   */
+  private Remote exportedObject;
   /**
    * Whether this remote service is initialized or not.
    */
@@ -89,6 +98,7 @@ public class StandardRemotePeripheralService
    * @param socketFactoryProvider The socket factory provider used for RMI.
    * @param registryProvider The provider for the registry with which this remote service registers.
    * @param kernelExecutor Executes tasks modifying kernel data.
+   * @param remoteCallMetrics Measures the durations of remote calls.
    */
   @Inject
   public StandardRemotePeripheralService(PeripheralService peripheralService,
@@ -96,7 +106,8 @@ public class StandardRemotePeripheralService
                                          RmiKernelInterfaceConfiguration configuration,
                                          SocketFactoryProvider socketFactoryProvider,
                                          RegistryProvider registryProvider,
-                                         @KernelExecutor ExecutorService kernelExecutor) {
+                                         @KernelExecutor ExecutorService kernelExecutor,
+                                         RemoteCallMetrics remoteCallMetrics) {
     super(peripheralService, userManager, kernelExecutor);
     this.peripheralService = requireNonNull(peripheralService, "peripheralService");
     this.userManager = requireNonNull(userManager, "userManager");
@@ -104,6 +115,7 @@ public class StandardRemotePeripheralService
     this.socketFactoryProvider = requireNonNull(socketFactoryProvider, "socketFactoryProvider");
     this.registryProvider = requireNonNull(registryProvider, "registryProvider");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.remoteCallMetrics = requireNonNull(remoteCallMetrics, "remoteCallMetrics");
   }
 
   @Override
@@ -113,16 +125,17 @@ public class StandardRemotePeripheralService
     }
 
     rmiRegistry = registryProvider.get();
+    exportedObject = remoteCallMetrics.meter(this, RemotePeripheralService.class);
 
     // Export this instance via RMI.
     try {
       LOG.debug("Exporting proxy...");
-      UnicastRemoteObject.exportObject(this,
+      UnicastRemoteObject.exportObject(exportedObject,
                                        configuration.remotePeripheralServicePort(),
                                        socketFactoryProvider.getClientSocketFactory(),
                                        socketFactoryProvider.getServerSocketFactory());
       LOG.debug("Binding instance with RMI registry...");
-      rmiRegistry.rebind(RegistrationName.REMOTE_PERIPHERAL_SERVICE, this);
+      rmiRegistry.rebind(RegistrationName.REMOTE_PERIPHERAL_SERVICE, exportedObject);
     }
     catch (RemoteException exc) {
       LOG.error("Could not export or bind with RMI registry", exc);
@@ -147,7 +160,7 @@ public class StandardRemotePeripheralService
       LOG.debug("Unbinding from RMI registry...");
       rmiRegistry.unbind(RegistrationName.REMOTE_PERIPHERAL_SERVICE);
       LOG.debug("Unexporting RMI interface...");
-      UnicastRemoteObject.unexportObject(this, true);
+      UnicastRemoteObject.unexportObject(exportedObject, true);
     }
     catch (RemoteException | NotBoundException exc) {
       LOG.warn("Exception shutting down RMI interface", exc);
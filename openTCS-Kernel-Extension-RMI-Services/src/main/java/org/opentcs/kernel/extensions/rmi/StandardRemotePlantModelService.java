@@ -8,6 +8,7 @@
 package org.opentcs.kernel.extensions.rmi;
 
 import java.rmi.NotBoundException;
+import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
@@ -70,10 +71,18 @@ public class StandardRemotePlantModelService
    * Executes tasks modifying kernel data.
    */
   private final ExecutorService kernelExecutor;
+  /**
+   * Measures the durations of remote calls.
+   */
+  private final RemoteCallMetrics remoteCallMetrics;
   /**
    * The registry with which this remote service registers.
    */
   private Registry rmiRegistry;
+  /**
+   * The object exported via RMI.
+   */
+  private Remote exportedObject;
   /**
    * Whether this remote service is initialized or not.
    */
@@ -88,6 +97,7 @@ public class StandardRemotePlantModelService
    * @param socketFactoryProvider The socket factory provider used for RMI.
    * @param registryProvider The provider for the registry with which this remote service registers.
    * @param kernelExecutor Executes tasks modifying kernel data.
+   * @param remoteCallMetrics Measures the durations of remote calls.
    */
   @Inject
   public StandardRemotePlantModelService(PlantModelService plantModelService,
@@ -95,7 +105,8 @@ public class StandardRemotePlantModelService
                                          RmiKernelInterfaceConfiguration configuration,
                                          SocketFactoryProvider socketFactoryProvider,
                                          RegistryProvider registryProvider,
-                                         @KernelExecutor ExecutorService kernelExecutor) {
+                                         @KernelExecutor ExecutorService kernelExecutor,
+                                         RemoteCallMetrics remoteCallMetrics) {
     super(plantModelService, userManager, kernelExecutor);
     this.plantModelService = requireNonNull(plantModelService, "plantModelService");
     this.userManager = requireNonNull(userManager, "userManager");
@@ -103,6 +114,7 @@ public class StandardRemotePlantModelService
     this.socketFactoryProvider = requireNonNull(socketFactoryProvider, "socketFactoryProvider");
     this.registryProvider = requireNonNull(registryProvider, "registryProvider");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.remoteCallMetrics = requireNonNull(remoteCallMetrics, "remoteCallMetrics");
   }
 
   @Override
@@ -112,16 +124,17 @@ public class StandardRemotePlantModelService
     }
 
     rmiRegistry = registryProvider.get();
+    exportedObject = remoteCallMetrics.meter(this, RemotePlantModelService.class);
 
     // Export this instance via RMI.
     try {
       LOG.debug("Exporting proxy...");
-      UnicastRemoteObject.exportObject(this,
+      UnicastRemoteObject.exportObject(exportedObject,
                                        configuration.remotePlantModelServicePort(),
                                        socketFactoryProvider.getClientSocketFactory(),
                                        socketFactoryProvider.getServerSocketFactory());
       LOG.debug("Binding instance with RMI registry...");
-      rmiRegistry.rebind(RegistrationName.REMOTE_PLANT_MODEL_SERVICE, this);
+      rmiRegistry.rebind(RegistrationName.REMOTE_PLANT_MODEL_SERVICE, exportedObject);
     }
     catch (RemoteException exc) {
       LOG.error("Could not export or bind with RMI registry", exc);
@@ -146,7 +159,7 @@ public class StandardRemotePlantModelService
       LOG.debug("Unbinding from RMI registry...");
       rmiRegistry.unbind(RegistrationName.REMOTE_PLANT_MODEL_SERVICE);
       LOG.debug("Unexporting RMI interface...");
-      UnicastRemoteObject.unexportObject(this, true);
+      UnicastRemoteObject.unexportObject(exportedObject, true);
     }
     catch (RemoteException | NotBoundException exc) {
       LOG.warn("Exception shutting down RMI interface", exc);
@@ -13,11 +13,13 @@ import java.io.File;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import javax.inject.Singleton;
 import org.opentcs.access.Kernel;
 import org.opentcs.access.LocalKernel;
 import org.opentcs.access.SslParameterSet;
 import org.opentcs.common.LoggingScheduledThreadPoolExecutor;
+import org.opentcs.common.MeteredScheduledThreadPoolExecutor;
 import org.opentcs.components.kernel.ObjectNameProvider;
 import org.opentcs.components.kernel.services.DispatcherService;
 import org.opentcs.components.kernel.services.InternalPeripheralJobService;
@@ -53,6 +55,10 @@ import org.opentcs.kernel.peripherals.PeripheralCommAdapterRegistry;
 import org.opentcs.kernel.peripherals.PeripheralControllerFactory;
 import org.opentcs.kernel.peripherals.PeripheralEntryPool;
 import org.opentcs.kernel.persistence.ModelPersister;
+import org.opentcs.kernel.persistence.OrderArchive;
+import org.opentcs.kernel.persistence.OrderArchiveConfiguration;
+import org.opentcs.kernel.persistence.OrderJournal;
+import org.opentcs.kernel.persistence.OrderJournalConfiguration;
 import org.opentcs.kernel.persistence.XMLFileModelPersister;
 import org.opentcs.kernel.services.StandardDispatcherService;
 import org.opentcs.kernel.services.StandardNotificationService;
@@ -70,6 +76,7 @@ import org.opentcs.kernel.vehicles.DefaultVehicleControllerPool;
 import org.opentcs.kernel.vehicles.LocalVehicleControllerPool;
 import org.opentcs.kernel.vehicles.VehicleCommAdapterRegistry;
 import org.opentcs.kernel.vehicles.VehicleControllerComponentsFactory;
+import org.opentcs.kernel.vehicles.VehicleControllerConfiguration;
 import org.opentcs.kernel.vehicles.VehicleControllerFactory;
 import org.opentcs.kernel.workingset.PlantModelManager;
 import org.opentcs.kernel.workingset.NotificationBuffer;
@@ -82,6 +89,8 @@ import org.opentcs.util.event.EventBus;
 import org.opentcs.util.event.EventHandler;
 import org.opentcs.util.event.SimpleEventBus;
 import org.opentcs.util.logging.UncaughtExceptionLogger;
+import org.opentcs.util.metrics.MeteredEventBus;
+import org.opentcs.util.metrics.MetricRegistry;
 
 /**
  * A Guice module for the openTCS kernel application.
@@ -99,8 +108,15 @@ public class DefaultKernelInjectionModule
 
   @Override
   protected void configure() {
-    configureEventHub();
-    configureKernelExecutor();
+    MetricRegistry metricRegistry = new MetricRegistry(
+        getConfigBindingProvider().get(KernelApplicationConfiguration.PREFIX,
+                                       KernelApplicationConfiguration.class)
+            .collectMetrics()
+    );
+    bind(MetricRegistry.class).toInstance(metricRegistry);
+
+    configureEventHub(metricRegistry);
+    configureKernelExecutor(metricRegistry);
 
     // Ensure that the application's home directory can be used everywhere.
     File applicationHome = new File(System.getProperty("opentcs.home", "."));
@@ -210,6 +226,10 @@ public class DefaultKernelInjectionModule
   }
 
   private void configureVehicleControllers() {
+    bind(VehicleControllerConfiguration.class)
+        .toInstance(getConfigBindingProvider().get(VehicleControllerConfiguration.PREFIX,
+                                                   VehicleControllerConfiguration.class));
+
     install(new FactoryModuleBuilder().build(VehicleControllerFactory.class));
     install(new FactoryModuleBuilder().build(VehicleControllerComponentsFactory.class));
 
@@ -236,8 +256,10 @@ public class DefaultKernelInjectionModule
     bind(ModelPersister.class).to(XMLFileModelPersister.class);
   }
 
-  private void configureEventHub() {
-    EventBus newEventBus = new SimpleEventBus();
+  private void configureEventHub(MetricRegistry metricRegistry) {
+    EventBus newEventBus = metricRegistry.isEnabled()
+        ? new MeteredEventBus(new SimpleEventBus(), metricRegistry)
+        : new SimpleEventBus();
     bind(EventHandler.class)
         .annotatedWith(ApplicationEventBus.class)
         .toInstance(newEventBus);
@@ -260,6 +282,17 @@ public class DefaultKernelInjectionModule
     bind(OrderPoolConfiguration.class)
         .toInstance(getConfigBindingProvider().get(OrderPoolConfiguration.PREFIX,
                                                    OrderPoolConfiguration.class));
+    bind(OrderCleanupIndex.class).in(Singleton.class);
+
+    bind(OrderJournalConfiguration.class)
+        .toInstance(getConfigBindingProvider().get(OrderJournalConfiguration.PREFIX,
+                                                   OrderJournalConfiguration.class));
+    bind(OrderJournal.class).in(Singleton.class);
+
+    bind(OrderArchiveConfiguration.class)
+        .toInstance(getConfigBindingProvider().get(OrderArchiveConfiguration.PREFIX,
+                                                   OrderArchiveConfiguration.class));
+    bind(OrderArchive.class).in(Singleton.class);
 
     transportOrderCleanupApprovalBinder();
     orderSequenceCleanupApprovalBinder();
@@ -284,16 +317,15 @@ public class DefaultKernelInjectionModule
     bind(SslParameterSet.class).toInstance(sslParamSet);
   }
 
-  private void configureKernelExecutor() {
-    ScheduledExecutorService executor
-        = new LoggingScheduledThreadPoolExecutor(
-            1,
-            runnable -> {
-              Thread thread = new Thread(runnable, "kernelExecutor");
-              thread.setUncaughtExceptionHandler(new UncaughtExceptionLogger(false));
-              return thread;
-            }
-        );
+  private void configureKernelExecutor(MetricRegistry metricRegistry) {
+    ThreadFactory threadFactory = runnable -> {
+      Thread thread = new Thread(runnable, "kernelExecutor");
+      thread.setUncaughtExceptionHandler(new UncaughtExceptionLogger(false));
+      return thread;
+    };
+    ScheduledExecutorService executor = metricRegistry.isEnabled()
+        ? new MeteredScheduledThreadPoolExecutor(1, threadFactory, metricRegistry, "kernel")
+        : new LoggingScheduledThreadPoolExecutor(1, threadFactory);
     bind(ScheduledExecutorService.class)
         .annotatedWith(KernelExecutor.class)
         .toInstance(executor);
@@ -52,4 +52,13 @@ public interface KernelApplicationConfiguration {
       description = "Whether to implicitly update the router's topology when a path is (un)locked.",
       orderKey = "3_topologyUpdate")
   boolean updateRoutingTopologyOnPathLockChange();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to collect metrics about the kernel's hot paths (e.g. durations of kernel executor "
+        + "tasks, dispatcher phases, routing and resource allocations).",
+        "If disabled, instrumented code does not record anything, so its overhead is negligible."},
+      orderKey = "4_metrics")
+  boolean collectMetrics();
 }
@@ -29,6 +29,8 @@ import org.opentcs.kernel.extensions.controlcenter.vehicles.AttachmentManager;
 import org.opentcs.kernel.peripherals.LocalPeripheralControllerPool;
 import org.opentcs.kernel.peripherals.PeripheralAttachmentManager;
 import org.opentcs.kernel.persistence.ModelPersister;
+import org.opentcs.kernel.persistence.OrderArchive;
+import org.opentcs.kernel.persistence.OrderJournal;
 import org.opentcs.kernel.vehicles.LocalVehicleControllerPool;
 import org.opentcs.kernel.workingset.PlantModelManager;
 import org.opentcs.kernel.workingset.PeripheralJobPoolManager;
@@ -104,6 +106,14 @@ public class KernelStateOperating
    * The vehicle service.
    */
   private final InternalVehicleService vehicleService;
+  /**
+   * The journal for orders and peripheral jobs.
+   */
+  private final OrderJournal orderJournal;
+  /**
+   * The archive for removed orders and peripheral jobs.
+   */
+  private final OrderArchive orderArchive;
   /**
    * A handle for the cleaner task.
    */
@@ -134,6 +144,8 @@ public class KernelStateOperating
    * @param attachmentManager The attachment manager to be used.
    * @param peripheralAttachmentManager The peripheral attachment manager to be used.
    * @param vehicleService The vehicle service to be used.
+   * @param orderJournal The journal for orders and peripheral jobs to be used.
+   * @param orderArchive The archive for removed orders and peripheral jobs to be used.
    */
   @Inject
   public KernelStateOperating(@GlobalSyncObject Object globalSyncObject,
@@ -153,7 +165,9 @@ public class KernelStateOperating
                               @ActiveInOperatingMode Set<KernelExtension> extensions,
                               AttachmentManager attachmentManager,
                               PeripheralAttachmentManager peripheralAttachmentManager,
-                              InternalVehicleService vehicleService) {
+                              InternalVehicleService vehicleService,
+                              OrderJournal orderJournal,
+                              OrderArchive orderArchive) {
     super(globalSyncObject,
           plantModelManager,
           modelPersister,
@@ -175,6 +189,8 @@ public class KernelStateOperating
     this.peripheralAttachmentManager = requireNonNull(peripheralAttachmentManager,
                                                       "peripheralAttachmentManager");
     this.vehicleService = requireNonNull(vehicleService, "vehicleService");
+    this.orderJournal = requireNonNull(orderJournal, "orderJournal");
+    this.orderArchive = requireNonNull(orderArchive, "orderArchive");
   }
 
   // Implementation of interface Kernel starts here.
@@ -196,6 +212,11 @@ public class KernelStateOperating
       vehicleService.updateVehicleOrderSequence(curVehicle.getReference(), null);
     }
 
+    // Restore orders and peripheral jobs before any component starts working with them.
+    LOG.debug("Initializing order journal '{}'...", orderJournal);
+    orderJournal.initialize();
+    LOG.debug("Initializing order archive '{}'...", orderArchive);
+    orderArchive.initialize();
     LOG.debug("Initializing scheduler '{}'...", scheduler);
     scheduler.initialize();
     LOG.debug("Initializing router '{}'...", router);
@@ -214,6 +235,7 @@ public class KernelStateOperating
     peripheralAttachmentManager.initialize();
 
     // Start a task for cleaning up old orders periodically.
+    orderCleanerTask.initialize();
     cleanerTaskFuture = kernelExecutor.scheduleAtFixedRate(orderCleanerTask,
                                                            orderCleanerTask.getSweepInterval(),
                                                            orderCleanerTask.getSweepInterval(),
@@ -255,6 +277,7 @@ public class KernelStateOperating
     // No need to clean up any more - it's all going to be cleaned up very soon.
     cleanerTaskFuture.cancel(false);
     cleanerTaskFuture = null;
+    orderCleanerTask.terminate();
 
     // Terminate strategies.
     LOG.debug("Terminating peripheral job dispatcher '{}'...", peripheralJobDispatcher);
@@ -286,6 +309,11 @@ public class KernelStateOperating
       vehicleService.updateVehicleOrderSequence(curVehicle.getReference(), null);
     }
 
+    // Record the final states of all orders and peripheral jobs before removing them.
+    LOG.debug("Terminating order journal '{}'...", orderJournal);
+    orderJournal.terminate();
+    LOG.debug("Terminating order archive '{}'...", orderArchive);
+    orderArchive.terminate();
     // Remove all orders and order sequences from the pool.
     orderPoolManager.clear();
     // Remove all peripheral jobs from the pool.
@@ -8,21 +8,33 @@
 package org.opentcs.kernel;
 
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
+import org.opentcs.components.Lifecycle;
 import org.opentcs.components.kernel.OrderSequenceCleanupApproval;
 import org.opentcs.components.kernel.PeripheralJobCleanupApproval;
 import org.opentcs.components.kernel.TransportOrderCleanupApproval;
 import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.data.TCSObject;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.order.OrderSequence;
 import org.opentcs.data.order.TransportOrder;
 import org.opentcs.data.peripherals.PeripheralJob;
+import org.opentcs.kernel.persistence.OrderArchive;
 import org.opentcs.kernel.workingset.PeripheralJobPoolManager;
 import org.opentcs.kernel.workingset.TransportOrderPoolManager;
 import org.slf4j.Logger;
@@ -30,12 +42,25 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A task that periodically removes orders in a final state.
+ * If the order archive is enabled, the orders are moved to it before being removed.
+ * <p>
+ * The objects to be removed are taken from an {@link OrderCleanupIndex} and removed in batches,
+ * with the global lock being held for one batch at a time.
+ * Each batch is swept in tasks of its own on the kernel executor, so other kernel tasks are not
+ * delayed until a whole sweep is done.
+ * Archiving a batch, which includes writing it to disk, happens on an executor of its own, so
+ * neither the global lock is held nor the kernel executor is blocked while waiting for the disk.
+ * Only selecting the objects of a batch and removing them afterwards happen on the kernel executor.
+ * Objects that were modified while their batch was being archived are kept and archived again with
+ * a later sweep.
+ * </p>
  *
  * @author Stefan Walter (Fraunhofer IML)
  * @author Martin Grzenia (Fraunhofer IML)
  */
 public class OrderCleanerTask
-    implements Runnable {
+    implements Runnable,
+               Lifecycle {
 
   /**
    * This class's Logger.
@@ -69,6 +94,35 @@ public class OrderCleanerTask
    * This class's configuration.
    */
   private final OrderPoolConfiguration configuration;
+  /**
+   * The archive to move removed orders to.
+   */
+  private final OrderArchive orderArchive;
+  /**
+   * Keeps track of the objects that may be removed.
+   */
+  private final OrderCleanupIndex index;
+  /**
+   * The kernel's executor, which batches of objects are swept on.
+   */
+  private final Executor kernelExecutor;
+  /**
+   * Creates the executor archiving batches of objects.
+   */
+  private final Supplier<ExecutorService> archiveExecutorFactory;
+  /**
+   * The executor archiving batches of objects, or {@code null}, if this instance is not
+   * initialized.
+   */
+  private ExecutorService archiveExecutor;
+  /**
+   * Whether the batches of a sweep are still being processed.
+   */
+  private boolean sweepInProgress;
+  /**
+   * Whether this instance is initialized.
+   */
+  private boolean initialized;
 
   /**
    * Creates a new instance.
@@ -80,6 +134,9 @@ public class OrderCleanerTask
    * @param sequenceCleanupApprovals The set of sequence cleanup approvals to use.
    * @param peripheralJobCleanupApprovals The set of peripheral job cleanup approvals to use.
    * @param configuration This class's configuration.
+   * @param orderArchive The archive to move removed orders to.
+   * @param index Keeps track of the objects that may be removed.
+   * @param kernelExecutor The kernel's executor, which batches of objects are swept on.
    */
   @Inject
   public OrderCleanerTask(@GlobalSyncObject Object globalSyncObject,
@@ -88,7 +145,52 @@ public class OrderCleanerTask
                           Set<TransportOrderCleanupApproval> orderCleanupApprovals,
                           Set<OrderSequenceCleanupApproval> sequenceCleanupApprovals,
                           Set<PeripheralJobCleanupApproval> peripheralJobCleanupApprovals,
-                          OrderPoolConfiguration configuration) {
+                          OrderPoolConfiguration configuration,
+                          OrderArchive orderArchive,
+                          OrderCleanupIndex index,
+                          @KernelExecutor Executor kernelExecutor) {
+    this(globalSyncObject,
+         orderPoolManager,
+         peripheralJobPoolManager,
+         orderCleanupApprovals,
+         sequenceCleanupApprovals,
+         peripheralJobCleanupApprovals,
+         configuration,
+         orderArchive,
+         index,
+         kernelExecutor,
+         OrderCleanerTask::createArchiveExecutor);
+  }
+
+  /**
+   * Creates a new instance.
+   * <p>
+   * Package-private for testing.
+   * </p>
+   *
+   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param orderPoolManager The order pool manager to be used.
+   * @param peripheralJobPoolManager The peripheral job pool manager to be used.
+   * @param orderCleanupApprovals The set of order cleanup approvals to use.
+   * @param sequenceCleanupApprovals The set of sequence cleanup approvals to use.
+   * @param peripheralJobCleanupApprovals The set of peripheral job cleanup approvals to use.
+   * @param configuration This class's configuration.
+   * @param orderArchive The archive to move removed orders to.
+   * @param index Keeps track of the objects that may be removed.
+   * @param kernelExecutor The kernel's executor, which batches of objects are swept on.
+   * @param archiveExecutorFactory Creates the executor archiving batches of objects.
+   */
+  OrderCleanerTask(Object globalSyncObject,
+                   TransportOrderPoolManager orderPoolManager,
+                   PeripheralJobPoolManager peripheralJobPoolManager,
+                   Set<TransportOrderCleanupApproval> orderCleanupApprovals,
+                   Set<OrderSequenceCleanupApproval> sequenceCleanupApprovals,
+                   Set<PeripheralJobCleanupApproval> peripheralJobCleanupApprovals,
+                   OrderPoolConfiguration configuration,
+                   OrderArchive orderArchive,
+                   OrderCleanupIndex index,
+                   Executor kernelExecutor,
+                   Supplier<ExecutorService> archiveExecutorFactory) {
     this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
     this.orderPoolManager = requireNonNull(orderPoolManager, "orderPoolManager");
     this.peripheralJobPoolManager = requireNonNull(peripheralJobPoolManager,
@@ -99,6 +201,45 @@ public class OrderCleanerTask
     this.peripheralJobCleanupApprovals = requireNonNull(peripheralJobCleanupApprovals,
                                                         "peripheralJobCleanupApprovals");
     this.configuration = requireNonNull(configuration, "configuration");
+    this.orderArchive = requireNonNull(orderArchive, "orderArchive");
+    this.index = requireNonNull(index, "index");
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.archiveExecutorFactory = requireNonNull(archiveExecutorFactory,
+                                                 "archiveExecutorFactory");
+  }
+
+  @Override
+  public void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+
+    index.initialize();
+    archiveExecutor = archiveExecutorFactory.get();
+    sweepInProgress = false;
+
+    initialized = true;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    // Let the archiving of a batch in progress complete, so the archive is not terminated while
+    // objects are being written to it.
+    archiveExecutor.shutdown();
+    Uninterruptibles.awaitTerminationUninterruptibly(archiveExecutor);
+    archiveExecutor = null;
+    index.terminate();
+
+    initialized = false;
   }
 
   public long getSweepInterval() {
@@ -107,52 +248,232 @@ public class OrderCleanerTask
 
   @Override
   public void run() {
+    LOG.debug("Sweeping order pool...");
+    // Candidates that are created before this point of time should be removed.
+    Instant creationTimeThreshold = Instant.now().minusMillis(configuration.sweepAge());
+
+    if (sweepInProgress) {
+      LOG.debug("Previous sweep still in progress, skipping this one.");
+      return;
+    }
+
+    // Only look at objects that are old enough and in a final state, and hold the global lock
+    // for only a limited number of them at a time, so other kernel operations are not blocked for
+    // long.
+    sweepInProgress = true;
+    sweepBatches(index.getRemovalCandidates(creationTimeThreshold), 0, creationTimeThreshold);
+  }
+
+  /**
+   * Sweeps the batch of candidates starting at the given index.
+   * If the objects to be removed are to be archived first, they are handed to the archive executor,
+   * which hands them back to the kernel executor for removal after archiving them.
+   * Otherwise, they are removed right away and a task for sweeping the next batch is submitted to
+   * the kernel executor, so other kernel tasks may run in between.
+   */
+  private void sweepBatches(List<TCSObjectReference<?>> candidates,
+                            int batchStart,
+                            Instant creationTimeThreshold) {
+    if (!isInitialized()) {
+      sweepInProgress = false;
+      return;
+    }
+
+    int batchEnd = Math.min(candidates.size(),
+                            batchStart + Math.max(1, configuration.sweepBatchSize()));
+    List<Removal> removals;
+    synchronized (globalSyncObject) {
+      removals = selectRemovals(candidates.subList(batchStart, batchEnd), creationTimeThreshold);
+      if (!orderArchive.isEnabled()) {
+        remove(removals);
+        removals = List.of();
+      }
+    }
+
+    if (removals.isEmpty()) {
+      continueWithNextBatch(candidates, batchEnd, creationTimeThreshold);
+      return;
+    }
+
+    List<Removal> archivedRemovals = removals;
+    archiveExecutor.execute(() -> {
+      boolean archived = archive(archivedRemovals);
+      kernelExecutor.execute(() -> removeArchived(archivedRemovals,
+                                                  archived,
+                                                  candidates,
+                                                  batchEnd,
+                                                  creationTimeThreshold));
+    });
+  }
+
+  /**
+   * Removes the given objects after they have been archived and continues with the next batch.
+   * If the objects could not be archived, they are kept and the sweep is aborted.
+   */
+  private void removeArchived(List<Removal> removals,
+                              boolean archived,
+                              List<TCSObjectReference<?>> candidates,
+                              int nextBatchStart,
+                              Instant creationTimeThreshold) {
+    if (!isInitialized() || !archived) {
+      sweepInProgress = false;
+      return;
+    }
+
     synchronized (globalSyncObject) {
-      LOG.debug("Sweeping order pool...");
-      // Candidates that are created before this point of time should be removed.
-      Instant creationTimeThreshold = Instant.now().minusMillis(configuration.sweepAge());
-
-      // Remove all peripheral jobs in a final state that do not belong to a transport order and
-      // that are older than the threshold.
-      for (PeripheralJob peripheralJob
-               : peripheralJobPoolManager.getObjectRepo().getObjects(
-              PeripheralJob.class,
-              new PeripheralJobApproval(creationTimeThreshold))) {
-        peripheralJobPoolManager.removePeripheralJob(peripheralJob.getReference());
+      remove(removals);
+    }
+    continueWithNextBatch(candidates, nextBatchStart, creationTimeThreshold);
+  }
+
+  private void continueWithNextBatch(List<TCSObjectReference<?>> candidates,
+                                     int nextBatchStart,
+                                     Instant creationTimeThreshold) {
+    if (nextBatchStart >= candidates.size()) {
+      sweepInProgress = false;
+      return;
+    }
+
+    kernelExecutor.execute(() -> sweepBatches(candidates, nextBatchStart, creationTimeThreshold));
+  }
+
+  /**
+   * Determines which of the given objects may be removed, along with the objects belonging to
+   * them.
+   * Peripheral jobs are removed first, then transport orders and then order sequences.
+   */
+  private List<Removal> selectRemovals(List<TCSObjectReference<?>> candidates,
+                                       Instant creationTimeThreshold) {
+    // Peripheral jobs in a final state that do not belong to a transport order and that are
+    // older than the threshold.
+    List<Removal> peripheralJobs = new ArrayList<>();
+    // Transport orders in a final state that do NOT belong to a sequence and that are older than
+    // the threshold.
+    List<Removal> transportOrders = new ArrayList<>();
+    // Order sequences that have been finished.
+    List<Removal> orderSequences = new ArrayList<>();
+
+    PeripheralJobApproval peripheralJobApproval = new PeripheralJobApproval(creationTimeThreshold);
+    OrderApproval orderApproval = new OrderApproval(creationTimeThreshold);
+    SequenceApproval sequenceApproval = new SequenceApproval(creationTimeThreshold);
+    for (TCSObjectReference<?> candidate : candidates) {
+      // The object may have been removed since the candidates were determined.
+      TCSObject<?> object = orderPoolManager.getObjectRepo().getObjectOrNull(candidate);
+      if (object instanceof PeripheralJob
+          && peripheralJobApproval.test((PeripheralJob) object)) {
+        peripheralJobs.add(new Removal(object, List.of(object)));
+      }
+      else if (object instanceof TransportOrder
+          && orderApproval.test((TransportOrder) object)) {
+        transportOrders.add(new Removal(object, withRelatedPeripheralJobs((TransportOrder) object)));
+      }
+      else if (object instanceof OrderSequence
+          && sequenceApproval.test((OrderSequence) object)) {
+        List<TCSObject<?>> objects = new ArrayList<>();
+        objects.add(object);
+        for (TCSObjectReference<TransportOrder> transportOrderRef
+                 : ((OrderSequence) object).getOrders()) {
+          objects.addAll(withRelatedPeripheralJobs(
+              orderPoolManager.getObjectRepo().getObject(TransportOrder.class, transportOrderRef)
+          ));
+        }
+        orderSequences.add(new Removal(object, objects));
       }
+    }
+
+    List<Removal> result = new ArrayList<>(peripheralJobs);
+    result.addAll(transportOrders);
+    result.addAll(orderSequences);
+    return result;
+  }
 
-      // Remove all transport orders in a final state that do NOT belong to a sequence and that are
-      // older than the threshold, including their related peripheral jobs.
-      for (TransportOrder transportOrder
-               : orderPoolManager.getObjectRepo().getObjects(
-              TransportOrder.class,
-              new OrderApproval(creationTimeThreshold))) {
-        removeTransportOrderAndRelatedPeripheralJobs(transportOrder.getReference());
+  /**
+   * Removes the given objects and the objects belonging to them, unless any of them was modified
+   * since it was selected for removal.
+   */
+  private void remove(List<Removal> removals) {
+    for (Removal removal : removals) {
+      if (!removal.isUnmodified()) {
+        LOG.debug("{} or an object belonging to it was modified, keeping it.",
+                  removal.object.getName());
+        continue;
       }
 
-      // Remove all order sequences that have been finished, including their transport orders and
-      // the transport orders' related peripheral jobs.
-      for (OrderSequence orderSequence
-               : orderPoolManager.getObjectRepo().getObjects(
-              OrderSequence.class,
-              new SequenceApproval(creationTimeThreshold))) {
+      if (removal.object instanceof PeripheralJob) {
+        peripheralJobPoolManager.removePeripheralJob(
+            ((PeripheralJob) removal.object).getReference()
+        );
+      }
+      else if (removal.object instanceof TransportOrder) {
+        // Remove the transport order including its related peripheral jobs.
+        TransportOrder transportOrder = (TransportOrder) removal.object;
+        removeRelatedPeripheralJobs(transportOrder.getReference());
+        orderPoolManager.removeTransportOrder(transportOrder.getReference());
+      }
+      else if (removal.object instanceof OrderSequence) {
+        // Remove the order sequence including its transport orders and the transport orders'
+        // related peripheral jobs.
+        OrderSequence orderSequence = (OrderSequence) removal.object;
         for (TCSObjectReference<TransportOrder> transportOrderRef : orderSequence.getOrders()) {
-          removeTransportOrderAndRelatedPeripheralJobs(transportOrderRef);
+          removeRelatedPeripheralJobs(transportOrderRef);
         }
         orderPoolManager.removeFinishedOrderSequenceAndOrders(orderSequence.getReference());
       }
     }
   }
 
-  private void removeTransportOrderAndRelatedPeripheralJobs(
-      TCSObjectReference<TransportOrder> transportOrderRef) {
-    for (PeripheralJob peripheralJob
-             : peripheralJobPoolManager.getObjectRepo().getObjects(
-            PeripheralJob.class,
-            job -> Objects.equals(job.getRelatedTransportOrder(), transportOrderRef))) {
+  /**
+   * Moves the given objects and the objects belonging to them to the order archive.
+   *
+   * @return {@code true} if, and only if, all objects were archived successfully.
+   */
+  private boolean archive(List<Removal> removals) {
+    try {
+      for (Removal removal : removals) {
+        for (TCSObject<?> object : removal.objects) {
+          orderArchive.archive(object);
+        }
+      }
+      orderArchive.commit();
+      return true;
+    }
+    catch (IOException exc) {
+      LOG.error("Could not archive orders, keeping them in the pool.", exc);
+      return false;
+    }
+  }
+
+  private static ExecutorService createArchiveExecutor() {
+    return Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "orderArchiveWriter");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Returns the given transport order, preceded by its related peripheral jobs.
+   */
+  private List<TCSObject<?>> withRelatedPeripheralJobs(TransportOrder transportOrder) {
+    List<TCSObject<?>> result
+        = new ArrayList<>(relatedPeripheralJobs(transportOrder.getReference()));
+    result.add(transportOrder);
+    return result;
+  }
+
+  private void removeRelatedPeripheralJobs(TCSObjectReference<TransportOrder> transportOrderRef) {
+    for (PeripheralJob peripheralJob : relatedPeripheralJobs(transportOrderRef)) {
       peripheralJobPoolManager.removePeripheralJob(peripheralJob.getReference());
     }
-    orderPoolManager.removeTransportOrder(transportOrderRef);
+  }
+
+  private Set<PeripheralJob> relatedPeripheralJobs(
+      TCSObjectReference<TransportOrder> transportOrderRef) {
+    return index.getRelatedPeripheralJobs(transportOrderRef).stream()
+        .map(jobRef -> peripheralJobPoolManager.getObjectRepo().getObjectOrNull(PeripheralJob.class,
+                                                                                jobRef))
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
   }
 
   /**
@@ -193,11 +514,8 @@ public class OrderCleanerTask
     }
 
     private boolean isRelatedToJobWithNonFinalState(TransportOrder order) {
-      return !peripheralJobPoolManager.getObjectRepo().getObjects(
-          PeripheralJob.class,
-          job -> Objects.equals(job.getRelatedTransportOrder(), order.getReference())
-          && !job.getState().isFinalState()
-      ).isEmpty();
+      return relatedPeripheralJobs(order.getReference()).stream()
+          .anyMatch(job -> !job.getState().isFinalState());
     }
   }
 
@@ -275,4 +593,43 @@ public class OrderCleanerTask
       return true;
     }
   }
+
+  /**
+   * An object to be removed, along with the objects to be archived and removed with it.
+   */
+  private class Removal {
+
+    /**
+     * The object to be removed.
+     */
+    private final TCSObject<?> object;
+    /**
+     * The object and the objects belonging to it, as they were when selected for removal.
+     */
+    private final List<TCSObject<?>> objects;
+
+    Removal(TCSObject<?> object, List<TCSObject<?>> objects) {
+      this.object = object;
+      this.objects = objects;
+    }
+
+    /**
+     * Checks whether none of the objects was modified or removed since it was selected, and
+     * whether no peripheral jobs related to the transport orders among them were added.
+     *
+     * @return {@code true} if, and only if, the objects are unmodified.
+     */
+    boolean isUnmodified() {
+      // Objects are replaced with new instances when they are modified.
+      return objects.stream().allMatch(obj -> isCurrent(obj))
+          && objects.stream()
+              .filter(obj -> obj instanceof TransportOrder)
+              .map(obj -> relatedPeripheralJobs(((TransportOrder) obj).getReference()))
+              .allMatch(jobs -> objects.containsAll(jobs));
+    }
+
+    private boolean isCurrent(TCSObject<?> obj) {
+      return orderPoolManager.getObjectRepo().getObjectOrNull(obj.getReference()) == obj;
+    }
+  }
 }
@@ -0,0 +1,267 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.components.Lifecycle;
+import org.opentcs.customizations.ApplicationEventBus;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.data.peripherals.PeripheralJob;
+import org.opentcs.kernel.workingset.TCSObjectRepository;
+import org.opentcs.util.event.EventBus;
+import org.opentcs.util.event.EventHandler;
+
+/**
+ * Keeps track of the objects the {@link OrderCleanerTask} may remove, so that sweeps do not have
+ * to scan all transport orders, order sequences and peripheral jobs.
+ * <p>
+ * The index is kept up to date by processing the events emitted for these objects. It contains:
+ * </p>
+ * <ul>
+ * <li>The removal candidates, i.e. transport orders not belonging to an order sequence and
+ * peripheral jobs not related to a transport order that are in a final state, and order sequences
+ * that are finished, ordered by the times relevant for their ages.</li>
+ * <li>The peripheral jobs related to each transport order.</li>
+ * </ul>
+ */
+public class OrderCleanupIndex
+    implements Lifecycle,
+               EventHandler {
+
+  /**
+   * The event bus providing the events for the indexed objects.
+   */
+  private final EventBus eventBus;
+  /**
+   * The object repository containing the indexed objects.
+   */
+  private final TCSObjectRepository objectRepo;
+  /**
+   * The removal candidates, ordered by their ages' reference times.
+   */
+  private final TreeSet<Candidate> candidates
+      = new TreeSet<>(Comparator.comparing((Candidate candidate) -> candidate.time)
+          .thenComparing(candidate -> candidate.ref.getName()));
+  /**
+   * The removal candidates, mapped by the candidate objects' names.
+   */
+  private final Map<String, Candidate> candidatesByName = new HashMap<>();
+  /**
+   * The peripheral jobs related to transport orders, mapped by the transport orders.
+   */
+  private final Map<TCSObjectReference<TransportOrder>, Set<TCSObjectReference<PeripheralJob>>>
+      jobsByOrder = new HashMap<>();
+  /**
+   * Whether this instance is initialized.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param eventBus The event bus providing the events for the indexed objects.
+   * @param objectRepo The object repository containing the indexed objects.
+   */
+  @Inject
+  public OrderCleanupIndex(@Nonnull @ApplicationEventBus EventBus eventBus,
+                           @Nonnull TCSObjectRepository objectRepo) {
+    this.eventBus = requireNonNull(eventBus, "eventBus");
+    this.objectRepo = requireNonNull(objectRepo, "objectRepo");
+  }
+
+  @Override
+  public void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+
+    synchronized (this) {
+      eventBus.subscribe(this);
+      // Index objects that already exist, e.g. because they were restored from the order journal.
+      objectRepo.getObjects(TransportOrder.class).forEach(this::update);
+      objectRepo.getObjects(OrderSequence.class).forEach(this::update);
+      objectRepo.getObjects(PeripheralJob.class).forEach(this::update);
+    }
+
+    initialized = true;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    synchronized (this) {
+      eventBus.unsubscribe(this);
+      candidates.clear();
+      candidatesByName.clear();
+      jobsByOrder.clear();
+    }
+
+    initialized = false;
+  }
+
+  @Override
+  public synchronized void onEvent(Object event) {
+    if (!(event instanceof TCSObjectEvent)) {
+      return;
+    }
+
+    TCSObjectEvent objectEvent = (TCSObjectEvent) event;
+    if (objectEvent.getType() == TCSObjectEvent.Type.OBJECT_REMOVED) {
+      remove(objectEvent.getPreviousObjectState());
+    }
+    else {
+      update(objectEvent.getCurrentObjectState());
+    }
+  }
+
+  /**
+   * Returns the removal candidates whose ages' reference times are not after the given threshold.
+   * For transport orders and peripheral jobs, this is their creation time; for order sequences,
+   * it is the creation time of their last transport order.
+   *
+   * @param threshold The threshold.
+   * @return References to the removal candidates, ordered by their ages' reference times.
+   */
+  @Nonnull
+  public synchronized List<TCSObjectReference<?>> getRemovalCandidates(
+      @Nonnull Instant threshold) {
+    requireNonNull(threshold, "threshold");
+
+    List<TCSObjectReference<?>> result = new ArrayList<>();
+    for (Candidate candidate : candidates) {
+      if (candidate.time.isAfter(threshold)) {
+        break;
+      }
+      result.add(candidate.ref);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the peripheral jobs related to the given transport order.
+   *
+   * @param orderRef A reference to the transport order.
+   * @return References to the peripheral jobs related to the given transport order.
+   */
+  @Nonnull
+  public synchronized Set<TCSObjectReference<PeripheralJob>> getRelatedPeripheralJobs(
+      @Nonnull TCSObjectReference<TransportOrder> orderRef) {
+    requireNonNull(orderRef, "orderRef");
+
+    return new HashSet<>(jobsByOrder.getOrDefault(orderRef, Set.of()));
+  }
+
+  private void update(TCSObject<?> object) {
+    if (object instanceof TransportOrder) {
+      TransportOrder order = (TransportOrder) object;
+      if (order.getState().isFinalState() && order.getWrappingSequence() == null) {
+        addCandidate(order.getReference(), order.getCreationTime());
+      }
+    }
+    else if (object instanceof PeripheralJob) {
+      PeripheralJob job = (PeripheralJob) object;
+      if (job.getRelatedTransportOrder() != null) {
+        jobsByOrder.computeIfAbsent(job.getRelatedTransportOrder(), orderRef -> new HashSet<>())
+            .add(job.getReference());
+      }
+      else if (job.getState().isFinalState()) {
+        addCandidate(job.getReference(), job.getCreationTime());
+      }
+    }
+    else if (object instanceof OrderSequence) {
+      OrderSequence sequence = (OrderSequence) object;
+      if (sequence.isFinished()) {
+        addCandidate(sequence.getReference(), lastOrderCreationTime(sequence));
+      }
+    }
+  }
+
+  private void remove(TCSObject<?> object) {
+    Candidate candidate = candidatesByName.remove(object.getName());
+    if (candidate != null) {
+      candidates.remove(candidate);
+    }
+
+    if (object instanceof PeripheralJob) {
+      PeripheralJob job = (PeripheralJob) object;
+      if (job.getRelatedTransportOrder() != null) {
+        Set<TCSObjectReference<PeripheralJob>> jobs
+            = jobsByOrder.get(job.getRelatedTransportOrder());
+        if (jobs != null) {
+          jobs.remove(job.getReference());
+          if (jobs.isEmpty()) {
+            jobsByOrder.remove(job.getRelatedTransportOrder());
+          }
+        }
+      }
+    }
+  }
+
+  private void addCandidate(TCSObjectReference<?> ref, Instant time) {
+    if (candidatesByName.containsKey(ref.getName())) {
+      return;
+    }
+
+    Candidate candidate = new Candidate(ref, time);
+    candidatesByName.put(ref.getName(), candidate);
+    candidates.add(candidate);
+  }
+
+  private Instant lastOrderCreationTime(OrderSequence sequence) {
+    List<TCSObjectReference<TransportOrder>> orderRefs = sequence.getOrders();
+    if (orderRefs.isEmpty()) {
+      return Instant.MIN;
+    }
+    TransportOrder lastOrder = objectRepo.getObjectOrNull(TransportOrder.class,
+                                                          orderRefs.get(orderRefs.size() - 1));
+    return lastOrder == null ? Instant.MIN : lastOrder.getCreationTime();
+  }
+
+  /**
+   * An object that may be removed once it is old enough.
+   */
+  private static class Candidate {
+
+    /**
+     * A reference to the object.
+     */
+    private final TCSObjectReference<?> ref;
+    /**
+     * The reference time for the object's age.
+     */
+    private final Instant time;
+
+    Candidate(TCSObjectReference<?> ref, Instant time) {
+      this.ref = ref;
+      this.time = time;
+    }
+  }
+}
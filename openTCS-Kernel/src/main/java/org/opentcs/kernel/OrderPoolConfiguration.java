@@ -32,4 +32,12 @@ public interface OrderPoolConfiguration {
       type = "Integer",
       description = "The minimum age of orders or peripheral jobs to remove in a sweep (in ms).")
   int sweepAge();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The maximum number of orders, order sequences or peripheral jobs to remove while holding "
+        + "the kernel's global lock.",
+        "After each batch, the lock is released so other kernel operations may proceed."})
+  int sweepBatchSize();
 }
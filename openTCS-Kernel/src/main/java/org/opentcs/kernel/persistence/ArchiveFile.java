@@ -0,0 +1,451 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+import javax.annotation.Nonnull;
+import org.opentcs.data.TCSObject;
+import static org.opentcs.util.Assertions.checkState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only file of archived objects.
+ * <p>
+ * The file is structured as follows:
+ * </p>
+ * <ul>
+ * <li>Magic number (int)</li>
+ * <li>Format version (int)</li>
+ * <li>Any number of records, each consisting of the length of its payload in bytes (int), a
+ * checksum of its payload (long) and the payload itself: The archive time in milliseconds since
+ * the epoch (long), the name of the object's class (modified UTF-8), the object's name (modified
+ * UTF-8) and the serialized object</li>
+ * </ul>
+ * <p>
+ * As the archive times, classes and names precede the serialized objects, the records can be
+ * indexed without deserializing any objects.
+ * Appended records are buffered in memory until they are committed.
+ * When a file is opened, a truncated or corrupt record and anything following it is cut off, as it
+ * can only be the result of a write that was interrupted by a crash.
+ * </p>
+ */
+public class ArchiveFile
+    implements Closeable {
+
+  /**
+   * This class's Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(ArchiveFile.class);
+  /**
+   * Identifies archive files.
+   */
+  private static final int MAGIC_NUMBER = 0x4f545341;
+  /**
+   * The version of the archive file format.
+   */
+  private static final int FORMAT_VERSION = 1;
+  /**
+   * The length of the file header in bytes.
+   */
+  private static final int HEADER_LENGTH = 8;
+  /**
+   * The length of a record's length and checksum fields in bytes.
+   */
+  private static final int RECORD_HEADER_LENGTH = 12;
+  /**
+   * The maximum length of a record's payload that is considered plausible when reading.
+   */
+  private static final int MAX_PAYLOAD_LENGTH = 64 * 1024 * 1024;
+  /**
+   * The size of buffers used for reading and writing files.
+   */
+  private static final int BUFFER_SIZE = 64 * 1024;
+  /**
+   * Restricts what may be deserialized from an archive record.
+   */
+  private static final ObjectInputFilter DESERIALIZATION_FILTER
+      = DeserializationFilters.forTCSObjects(MAX_PAYLOAD_LENGTH);
+  /**
+   * The archive file.
+   */
+  private final File file;
+  /**
+   * Buffers the records appended but not yet committed.
+   */
+  private final ByteArrayOutputStream pendingRecords = new ByteArrayOutputStream(BUFFER_SIZE);
+  /**
+   * Buffers the payload of a single record while it is being serialized.
+   */
+  private final ByteArrayOutputStream payloadBuffer = new ByteArrayOutputStream(BUFFER_SIZE);
+  /**
+   * The channel used for accessing the file, or {@code null}, if the file is not open.
+   */
+  private FileChannel channel;
+  /**
+   * The length of the file's committed content.
+   */
+  private long committedLength;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param file The archive file.
+   */
+  public ArchiveFile(@Nonnull File file) {
+    this.file = requireNonNull(file, "file");
+  }
+
+  /**
+   * Returns the archive file.
+   *
+   * @return The archive file.
+   */
+  @Nonnull
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Opens the archive file, creating it if it does not exist, and indexes the records in it.
+   *
+   * @return The index entries for the records in the file, in the order they were appended.
+   * @throws IOException If there was an error reading or writing the file, or if the file exists
+   * but is not an archive file.
+   */
+  @Nonnull
+  public List<Entry> open()
+      throws IOException {
+    close();
+
+    List<Entry> entries = new ArrayList<>();
+    long validLength = file.length() > 0 ? index(entries) : 0;
+
+    channel = FileChannel.open(file.toPath(),
+                               StandardOpenOption.CREATE,
+                               StandardOpenOption.READ,
+                               StandardOpenOption.WRITE);
+    if (validLength == 0) {
+      channel.truncate(0);
+      ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+      header.putInt(MAGIC_NUMBER).putInt(FORMAT_VERSION).flip();
+      writeFully(header, 0);
+      channel.force(false);
+      validLength = HEADER_LENGTH;
+    }
+    else if (validLength < channel.size()) {
+      LOG.warn("Cutting off {} bytes of truncated or corrupt records at the end of {}",
+               channel.size() - validLength,
+               file);
+      channel.truncate(validLength);
+    }
+    committedLength = validLength;
+    return entries;
+  }
+
+  /**
+   * Appends the given object to the archive.
+   * The object is not written to the file before the next commit.
+   *
+   * @param object The object.
+   * @param archiveTime The object's archive time.
+   * @return The index entry for the appended record.
+   * @throws IOException If the object could not be serialized.
+   * @throws IllegalStateException If the file is not open.
+   */
+  @Nonnull
+  public Entry append(@Nonnull TCSObject<?> object, @Nonnull Instant archiveTime)
+      throws IOException, IllegalStateException {
+    requireNonNull(object, "object");
+    requireNonNull(archiveTime, "archiveTime");
+    checkState(channel != null, "Archive file not open: %s", file);
+
+    Entry entry = new Entry(object.getName(),
+                            object.getClass().getName(),
+                            archiveTime.toEpochMilli(),
+                            committedLength + pendingRecords.size());
+
+    payloadBuffer.reset();
+    DataOutputStream payloadOut = new DataOutputStream(payloadBuffer);
+    payloadOut.writeLong(entry.getArchiveTime());
+    payloadOut.writeUTF(entry.getClassName());
+    payloadOut.writeUTF(entry.getName());
+    try (ObjectOutputStream objectOut = new ObjectOutputStream(payloadBuffer)) {
+      objectOut.writeObject(object);
+    }
+
+    DataOutputStream out = new DataOutputStream(pendingRecords);
+    out.writeInt(payloadBuffer.size());
+    out.writeLong(checksumOf(payloadBuffer.toByteArray(), 0, payloadBuffer.size()));
+    payloadBuffer.writeTo(out);
+
+    return entry;
+  }
+
+  /**
+   * Writes all records appended since the last commit to the file and forces them to the storage
+   * device.
+   *
+   * @throws IOException If there was an error writing the file.
+   * @throws IllegalStateException If the file is not open.
+   */
+  public void commit()
+      throws IOException, IllegalStateException {
+    checkState(channel != null, "Archive file not open: %s", file);
+
+    if (pendingRecords.size() == 0) {
+      return;
+    }
+    writeFully(ByteBuffer.wrap(pendingRecords.toByteArray()), committedLength);
+    channel.force(false);
+    committedLength += pendingRecords.size();
+    pendingRecords.reset();
+  }
+
+  /**
+   * Discards all records appended since the last commit.
+   */
+  public void rollback() {
+    pendingRecords.reset();
+  }
+
+  /**
+   * Reads the object from the record described by the given index entry.
+   * May be called concurrently with appending and committing records.
+   *
+   * @param entry The index entry.
+   * @return The object.
+   * @throws IOException If there was an error reading the file or if the record is corrupt.
+   * @throws IllegalStateException If the file is not open.
+   */
+  @Nonnull
+  public TCSObject<?> read(@Nonnull Entry entry)
+      throws IOException, IllegalStateException {
+    requireNonNull(entry, "entry");
+    checkState(channel != null, "Archive file not open: %s", file);
+
+    ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_LENGTH);
+    readFully(recordHeader, entry.getOffset());
+    recordHeader.flip();
+    int length = recordHeader.getInt();
+    long checksum = recordHeader.getLong();
+    if (length <= 0 || length > MAX_PAYLOAD_LENGTH) {
+      throw new IOException("Invalid record length at offset " + entry.getOffset() + " in " + file);
+    }
+    ByteBuffer payload = ByteBuffer.allocate(length);
+    readFully(payload, entry.getOffset() + RECORD_HEADER_LENGTH);
+    if (checksum != checksumOf(payload.array(), 0, length)) {
+      throw new IOException("Corrupt record at offset " + entry.getOffset() + " in " + file);
+    }
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload.array()));
+    in.readLong();
+    in.readUTF();
+    in.readUTF();
+    try (ObjectInputStream objectIn = new ObjectInputStream(in)) {
+      objectIn.setObjectInputFilter(DESERIALIZATION_FILTER);
+      return (TCSObject<?>) objectIn.readObject();
+    }
+    catch (ClassNotFoundException | ClassCastException exc) {
+      throw new IOException("Could not deserialize archived object", exc);
+    }
+  }
+
+  /**
+   * Closes the file, discarding any records that have not been committed.
+   *
+   * @throws IOException If there was an error closing the file.
+   */
+  @Override
+  public void close()
+      throws IOException {
+    pendingRecords.reset();
+    if (channel != null) {
+      channel.close();
+      channel = null;
+    }
+  }
+
+  /**
+   * Indexes the records in the file.
+   *
+   * @param entries The list to add the index entries to.
+   * @return The length of the file's valid content.
+   * @throws IOException If there was an error reading the file, or if the file is not an archive
+   * file.
+   */
+  private long index(List<Entry> entries)
+      throws IOException {
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE))) {
+      try {
+        if (in.readInt() != MAGIC_NUMBER || in.readInt() != FORMAT_VERSION) {
+          throw new IOException("Not an archive file with a known format: " + file);
+        }
+      }
+      catch (EOFException exc) {
+        // A crash occurred while the file was being created.
+        return 0;
+      }
+
+      long offset = HEADER_LENGTH;
+      byte[] payload = new byte[BUFFER_SIZE];
+      while (true) {
+        int length;
+        long checksum;
+        try {
+          length = in.readInt();
+          if (length <= 0 || length > MAX_PAYLOAD_LENGTH) {
+            return offset;
+          }
+          checksum = in.readLong();
+          if (payload.length < length) {
+            payload = new byte[length];
+          }
+          in.readFully(payload, 0, length);
+        }
+        catch (EOFException exc) {
+          return offset;
+        }
+        if (checksum != checksumOf(payload, 0, length)) {
+          return offset;
+        }
+
+        DataInputStream payloadIn
+            = new DataInputStream(new ByteArrayInputStream(payload, 0, length));
+        long archiveTime = payloadIn.readLong();
+        String className = payloadIn.readUTF().intern();
+        String name = payloadIn.readUTF();
+        entries.add(new Entry(name, className, archiveTime, offset));
+
+        offset += RECORD_HEADER_LENGTH + length;
+      }
+    }
+  }
+
+  private void writeFully(ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  private void readFully(ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new EOFException("Unexpected end of " + file);
+      }
+      position += read;
+    }
+  }
+
+  private static long checksumOf(byte[] data, int offset, int length) {
+    Checksum checksum = new CRC32C();
+    checksum.update(data, offset, length);
+    return checksum.getValue();
+  }
+
+  /**
+   * An index entry for a record in an archive file.
+   */
+  public static class Entry {
+
+    /**
+     * The name of the archived object.
+     */
+    private final String name;
+    /**
+     * The name of the archived object's class.
+     */
+    private final String className;
+    /**
+     * The archive time in milliseconds since the epoch.
+     */
+    private final long archiveTime;
+    /**
+     * The offset of the record in the file.
+     */
+    private final long offset;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param name The name of the archived object.
+     * @param className The name of the archived object's class.
+     * @param archiveTime The archive time in milliseconds since the epoch.
+     * @param offset The offset of the record in the file.
+     */
+    public Entry(@Nonnull String name, @Nonnull String className, long archiveTime, long offset) {
+      this.name = requireNonNull(name, "name");
+      this.className = requireNonNull(className, "className");
+      this.archiveTime = archiveTime;
+      this.offset = offset;
+    }
+
+    /**
+     * Returns the name of the archived object.
+     *
+     * @return The name of the archived object.
+     */
+    @Nonnull
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Returns the name of the archived object's class.
+     *
+     * @return The name of the archived object's class.
+     */
+    @Nonnull
+    public String getClassName() {
+      return className;
+    }
+
+    /**
+     * Returns the archive time in milliseconds since the epoch.
+     *
+     * @return The archive time in milliseconds since the epoch.
+     */
+    public long getArchiveTime() {
+      return archiveTime;
+    }
+
+    /**
+     * Returns the offset of the record in the file.
+     *
+     * @return The offset of the record in the file.
+     */
+    public long getOffset() {
+      return offset;
+    }
+  }
+}
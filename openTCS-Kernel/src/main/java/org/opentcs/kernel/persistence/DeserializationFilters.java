@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.io.ObjectInputFilter;
+
+/**
+ * Provides filters restricting what may be deserialized from the kernel's persistence files.
+ * <p>
+ * Each filter allows only the classes the respective file actually stores and limits the depth of
+ * the object graph, the number of object references and the number of bytes read.
+ * </p>
+ */
+final class DeserializationFilters {
+
+  /**
+   * The JDK classes the serialized forms of the stored objects are made of, i.e. enums, instants
+   * and the collections used by data objects and transfer objects.
+   * Arrays are matched by their element type, so {@code java.lang.Object} and
+   * {@code java.util.Map$Entry} allow the arrays collections are serialized with.
+   */
+  private static final String JDK_CLASSES
+      = "java.lang.Object;"
+      + "java.lang.Enum;"
+      + "java.time.Instant;"
+      + "java.time.Ser;"
+      + "java.util.ArrayList;"
+      + "java.util.HashMap;"
+      + "java.util.HashSet;"
+      + "java.util.LinkedHashMap;"
+      + "java.util.LinkedHashSet;"
+      + "java.util.TreeMap;"
+      + "java.util.TreeSet;"
+      + "java.util.Map$Entry;"
+      + "java.util.CollSer;"
+      + "java.util.ImmutableCollections$*;"
+      + "java.util.Collections$Unmodifiable*;";
+  /**
+   * The maximum depth of the object graph of a single transport order, order sequence or
+   * peripheral job.
+   */
+  private static final int TCS_OBJECT_MAX_DEPTH = 32;
+  /**
+   * The maximum number of object references in a single transport order, order sequence or
+   * peripheral job.
+   */
+  private static final int TCS_OBJECT_MAX_REFS = 1000000;
+  /**
+   * The maximum depth of the object graph of a plant model.
+   */
+  private static final int PLANT_MODEL_MAX_DEPTH = 16;
+  /**
+   * The maximum number of object references in a plant model.
+   */
+  private static final int PLANT_MODEL_MAX_REFS = 20000000;
+
+  /**
+   * Prevents instantiation.
+   */
+  private DeserializationFilters() {
+  }
+
+  /**
+   * Returns a filter allowing only transport orders, order sequences and peripheral jobs, along
+   * with the objects they are made of.
+   *
+   * @param maxBytes The maximum number of bytes to be read.
+   * @return The filter.
+   */
+  static ObjectInputFilter forTCSObjects(int maxBytes) {
+    return ObjectInputFilter.Config.createFilter(
+        "maxdepth=" + TCS_OBJECT_MAX_DEPTH + ";"
+        + "maxrefs=" + TCS_OBJECT_MAX_REFS + ";"
+        + "maxbytes=" + maxBytes + ";"
+        + "org.opentcs.data.*;"
+        + "org.opentcs.data.model.*;"
+        + "org.opentcs.data.order.*;"
+        + "org.opentcs.data.peripherals.*;"
+        + JDK_CLASSES
+        + "!*"
+    );
+  }
+
+  /**
+   * Returns a filter allowing only plant model transfer objects, along with the objects they are
+   * made of.
+   *
+   * @param maxBytes The maximum number of bytes to be read.
+   * @return The filter.
+   */
+  static ObjectInputFilter forPlantModels(int maxBytes) {
+    return ObjectInputFilter.Config.createFilter(
+        "maxdepth=" + PLANT_MODEL_MAX_DEPTH + ";"
+        + "maxrefs=" + PLANT_MODEL_MAX_REFS + ";"
+        + "maxbytes=" + maxBytes + ";"
+        + "org.opentcs.access.to.*;"
+        + "org.opentcs.access.to.model.*;"
+        + "org.opentcs.access.to.peripherals.*;"
+        + "org.opentcs.data.model.*;"
+        + "org.opentcs.data.model.visualization.*;"
+        + "org.opentcs.data.peripherals.*;"
+        + "java.awt.Color;"
+        + JDK_CLASSES
+        + "!*"
+    );
+  }
+}
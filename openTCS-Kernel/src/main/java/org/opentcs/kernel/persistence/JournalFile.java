@@ -0,0 +1,363 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+import javax.annotation.Nonnull;
+import org.opentcs.data.TCSObject;
+import static org.opentcs.util.Assertions.checkState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only file of {@link JournalRecord}s.
+ * <p>
+ * The file is structured as follows:
+ * </p>
+ * <ul>
+ * <li>Magic number (int)</li>
+ * <li>Format version (int)</li>
+ * <li>Name of the plant model the records belong to (modified UTF-8)</li>
+ * <li>Any number of records, each consisting of the length of its payload in bytes (int), a
+ * checksum of its payload (long) and the payload itself: The record type (byte), followed by
+ * either the serialized object or the name of the removed object (modified UTF-8)</li>
+ * </ul>
+ * <p>
+ * Appended records are buffered in memory until they are committed, so that a batch of records can
+ * be written (and forced to the storage device) at once.
+ * When reading the file, a truncated or corrupt record and anything following it is ignored, as it
+ * can only be the result of a write that was interrupted by a crash.
+ * </p>
+ */
+public class JournalFile
+    implements Closeable {
+
+  /**
+   * This class's Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(JournalFile.class);
+  /**
+   * Identifies journal files.
+   */
+  private static final int MAGIC_NUMBER = 0x4f54534a;
+  /**
+   * The version of the journal file format.
+   */
+  private static final int FORMAT_VERSION = 1;
+  /**
+   * The type of records describing the current state of an object.
+   */
+  private static final byte RECORD_TYPE_UPDATE = 1;
+  /**
+   * The type of records describing the removal of an object.
+   */
+  private static final byte RECORD_TYPE_REMOVAL = 2;
+  /**
+   * The maximum length of a record's payload that is considered plausible when reading.
+   */
+  private static final int MAX_PAYLOAD_LENGTH = 64 * 1024 * 1024;
+  /**
+   * The size of buffers used for reading and writing files.
+   */
+  private static final int BUFFER_SIZE = 64 * 1024;
+  /**
+   * Restricts what may be deserialized from a journal record.
+   */
+  private static final ObjectInputFilter DESERIALIZATION_FILTER
+      = DeserializationFilters.forTCSObjects(MAX_PAYLOAD_LENGTH);
+  /**
+   * The journal file.
+   */
+  private final File file;
+  /**
+   * Buffers the records appended but not yet committed.
+   */
+  private final ByteArrayOutputStream pendingRecords = new ByteArrayOutputStream(BUFFER_SIZE);
+  /**
+   * Buffers the payload of a single record while it is being serialized.
+   */
+  private final ByteArrayOutputStream payloadBuffer = new ByteArrayOutputStream(BUFFER_SIZE);
+  /**
+   * The channel used for writing to the file, or {@code null}, if the file is not open.
+   */
+  private FileChannel channel;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param file The journal file.
+   */
+  public JournalFile(@Nonnull File file) {
+    this.file = requireNonNull(file, "file");
+  }
+
+  /**
+   * Returns the journal file.
+   *
+   * @return The journal file.
+   */
+  @Nonnull
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Reads the records from the journal file.
+   *
+   * @return The contents of the journal file, or an empty optional, if the file does not exist or
+   * does not have a known format.
+   * @throws IOException If there was an error reading the file.
+   */
+  @Nonnull
+  public Optional<Contents> read()
+      throws IOException {
+    if (!file.isFile()) {
+      return Optional.empty();
+    }
+
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE))) {
+      String modelName;
+      try {
+        if (in.readInt() != MAGIC_NUMBER || in.readInt() != FORMAT_VERSION) {
+          LOG.warn("Ignoring journal file with unknown format: {}", file);
+          return Optional.empty();
+        }
+        modelName = in.readUTF();
+      }
+      catch (EOFException exc) {
+        LOG.warn("Ignoring truncated journal file: {}", file);
+        return Optional.empty();
+      }
+
+      List<JournalRecord> records = new ArrayList<>();
+      Optional<JournalRecord> record = readRecord(in);
+      while (record.isPresent()) {
+        records.add(record.get());
+        record = readRecord(in);
+      }
+      return Optional.of(new Contents(modelName, records));
+    }
+  }
+
+  /**
+   * Creates the journal file, replacing any existing one, and opens it for appending records.
+   *
+   * @param modelName The name of the plant model the records belong to.
+   * @throws IOException If there was an error writing the file.
+   */
+  public void create(@Nonnull String modelName)
+      throws IOException {
+    requireNonNull(modelName, "modelName");
+    close();
+
+    channel = FileChannel.open(file.toPath(),
+                               StandardOpenOption.CREATE,
+                               StandardOpenOption.WRITE,
+                               StandardOpenOption.TRUNCATE_EXISTING);
+    pendingRecords.reset();
+    DataOutputStream out = new DataOutputStream(pendingRecords);
+    out.writeInt(MAGIC_NUMBER);
+    out.writeInt(FORMAT_VERSION);
+    out.writeUTF(modelName);
+    commit(true);
+  }
+
+  /**
+   * Appends the given record to the journal.
+   * The record is not written to the file before the next commit.
+   *
+   * @param record The record.
+   * @throws IOException If the record could not be serialized.
+   * @throws IllegalStateException If the file is not open.
+   */
+  public void append(@Nonnull JournalRecord record)
+      throws IOException, IllegalStateException {
+    requireNonNull(record, "record");
+    checkState(channel != null, "Journal file not open: %s", file);
+
+    payloadBuffer.reset();
+    if (record.isRemoval()) {
+      DataOutputStream payloadOut = new DataOutputStream(payloadBuffer);
+      payloadOut.writeByte(RECORD_TYPE_REMOVAL);
+      payloadOut.writeUTF(record.getName());
+    }
+    else {
+      payloadBuffer.write(RECORD_TYPE_UPDATE);
+      try (ObjectOutputStream objectOut = new ObjectOutputStream(payloadBuffer)) {
+        objectOut.writeObject(record.getObject());
+      }
+    }
+
+    DataOutputStream out = new DataOutputStream(pendingRecords);
+    out.writeInt(payloadBuffer.size());
+    out.writeLong(checksumOf(payloadBuffer.toByteArray()));
+    payloadBuffer.writeTo(out);
+  }
+
+  /**
+   * Writes all records appended since the last commit to the file.
+   *
+   * @param sync Whether to force the written records to the storage device.
+   * @throws IOException If there was an error writing the file.
+   * @throws IllegalStateException If the file is not open.
+   */
+  public void commit(boolean sync)
+      throws IOException, IllegalStateException {
+    checkState(channel != null, "Journal file not open: %s", file);
+
+    ByteBuffer buffer = ByteBuffer.wrap(pendingRecords.toByteArray());
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    pendingRecords.reset();
+    if (sync) {
+      channel.force(false);
+    }
+  }
+
+  /**
+   * Closes the file, discarding any records that have not been committed.
+   *
+   * @throws IOException If there was an error closing the file.
+   */
+  @Override
+  public void close()
+      throws IOException {
+    pendingRecords.reset();
+    if (channel != null) {
+      channel.close();
+      channel = null;
+    }
+  }
+
+  private Optional<JournalRecord> readRecord(DataInputStream in)
+      throws IOException {
+    int length;
+    try {
+      length = in.readInt();
+    }
+    catch (EOFException exc) {
+      // Regular end of the journal.
+      return Optional.empty();
+    }
+
+    try {
+      if (length <= 0 || length > MAX_PAYLOAD_LENGTH) {
+        LOG.warn("Ignoring journal records following a record with invalid length in {}", file);
+        return Optional.empty();
+      }
+      long checksum = in.readLong();
+      byte[] payload = new byte[length];
+      in.readFully(payload);
+      if (checksum != checksumOf(payload)) {
+        LOG.warn("Ignoring journal records following a corrupt record in {}", file);
+        return Optional.empty();
+      }
+      return Optional.of(toRecord(payload));
+    }
+    catch (EOFException exc) {
+      LOG.warn("Ignoring truncated journal record at the end of {}", file);
+      return Optional.empty();
+    }
+  }
+
+  private JournalRecord toRecord(byte[] payload)
+      throws IOException {
+    byte recordType = payload[0];
+    ByteArrayInputStream payloadIn = new ByteArrayInputStream(payload, 1, payload.length - 1);
+    switch (recordType) {
+      case RECORD_TYPE_UPDATE:
+        try (ObjectInputStream objectIn = new ObjectInputStream(payloadIn)) {
+          objectIn.setObjectInputFilter(DESERIALIZATION_FILTER);
+          return JournalRecord.update((TCSObject<?>) objectIn.readObject());
+        }
+        catch (ClassNotFoundException | ClassCastException exc) {
+          throw new IOException("Could not deserialize journal record", exc);
+        }
+      case RECORD_TYPE_REMOVAL:
+        return JournalRecord.removal(new DataInputStream(payloadIn).readUTF());
+      default:
+        throw new IOException("Unknown journal record type: " + recordType);
+    }
+  }
+
+  private static long checksumOf(byte[] data) {
+    Checksum checksum = new CRC32C();
+    checksum.update(data, 0, data.length);
+    return checksum.getValue();
+  }
+
+  /**
+   * The contents of a journal file.
+   */
+  public static class Contents {
+
+    /**
+     * The name of the plant model the records belong to.
+     */
+    private final String modelName;
+    /**
+     * The records, in the order they were appended.
+     */
+    private final List<JournalRecord> records;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param modelName The name of the plant model the records belong to.
+     * @param records The records, in the order they were appended.
+     */
+    public Contents(@Nonnull String modelName, @Nonnull List<JournalRecord> records) {
+      this.modelName = requireNonNull(modelName, "modelName");
+      this.records = Collections.unmodifiableList(requireNonNull(records, "records"));
+    }
+
+    /**
+     * Returns the name of the plant model the records belong to.
+     *
+     * @return The name of the plant model the records belong to.
+     */
+    @Nonnull
+    public String getModelName() {
+      return modelName;
+    }
+
+    /**
+     * Returns the records, in the order they were appended.
+     *
+     * @return The records.
+     */
+    @Nonnull
+    public List<JournalRecord> getRecords() {
+      return records;
+    }
+  }
+}
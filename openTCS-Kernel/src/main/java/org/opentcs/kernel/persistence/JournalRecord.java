@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opentcs.data.TCSObject;
+
+/**
+ * A record in a {@link JournalFile}, describing either the current state of an object or the
+ * removal of an object.
+ */
+public class JournalRecord {
+
+  /**
+   * The name of the object.
+   */
+  private final String name;
+  /**
+   * The current state of the object, or {@code null}, if the object was removed.
+   */
+  private final TCSObject<?> object;
+
+  private JournalRecord(String name, TCSObject<?> object) {
+    this.name = requireNonNull(name, "name");
+    this.object = object;
+  }
+
+  /**
+   * Creates a record describing the current state of the given object.
+   *
+   * @param object The object.
+   * @return The record.
+   */
+  @Nonnull
+  public static JournalRecord update(@Nonnull TCSObject<?> object) {
+    requireNonNull(object, "object");
+    return new JournalRecord(object.getName(), object);
+  }
+
+  /**
+   * Creates a record describing the removal of the object with the given name.
+   *
+   * @param name The name of the removed object.
+   * @return The record.
+   */
+  @Nonnull
+  public static JournalRecord removal(@Nonnull String name) {
+    return new JournalRecord(name, null);
+  }
+
+  /**
+   * Returns the name of the object.
+   *
+   * @return The name of the object.
+   */
+  @Nonnull
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the current state of the object.
+   *
+   * @return The current state of the object, or {@code null}, if the object was removed.
+   */
+  @Nullable
+  public TCSObject<?> getObject() {
+    return object;
+  }
+
+  /**
+   * Indicates whether this record describes the removal of an object.
+   *
+   * @return {@code true} if, and only if, this record describes the removal of an object.
+   */
+  public boolean isRemoval() {
+    return object == null;
+  }
+
+  @Override
+  public String toString() {
+    return "JournalRecord{" + "name=" + name + ", removal=" + isRemoval() + '}';
+  }
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A binary snapshot of a plant model, kept alongside the model's XML file.
+ * <p>
+ * Reading a snapshot is considerably faster than parsing, validating and mapping the XML file.
+ * A snapshot records a checksum of the XML file it was created for and is only used as long as
+ * the XML file has not been modified, so the XML file always remains the authoritative source.
+ * </p>
+ * <p>
+ * The snapshot file is structured as follows:
+ * </p>
+ * <ul>
+ * <li>Magic number (int)</li>
+ * <li>Format version (int)</li>
+ * <li>Checksum of the XML file (long)</li>
+ * <li>Checksum of the payload (long)</li>
+ * <li>Length of the payload in bytes (int)</li>
+ * <li>Payload: The serialized {@link PlantModelCreationTO}</li>
+ * </ul>
+ */
+public class ModelSnapshotFile {
+
+  /**
+   * This class's Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(ModelSnapshotFile.class);
+  /**
+   * Identifies snapshot files.
+   */
+  private static final int MAGIC_NUMBER = 0x4f54534d;
+  /**
+   * The version of the snapshot file format.
+   */
+  private static final int FORMAT_VERSION = 1;
+  /**
+   * The size of the header preceding the payload: magic number, format version, checksums of the
+   * model file and the payload, and the payload's length.
+   */
+  private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+  /**
+   * The maximum length of the payload that is written or considered plausible when reading.
+   */
+  private static final int MAX_PAYLOAD_LENGTH = 512 * 1024 * 1024;
+  /**
+   * The size of buffers used for reading files.
+   */
+  private static final int BUFFER_SIZE = 64 * 1024;
+  /**
+   * Restricts what may be deserialized from a snapshot.
+   */
+  private static final ObjectInputFilter DESERIALIZATION_FILTER
+      = DeserializationFilters.forPlantModels(MAX_PAYLOAD_LENGTH);
+  /**
+   * The snapshot file.
+   */
+  private final File snapshotFile;
+  /**
+   * The XML file the snapshot is kept for.
+   */
+  private final File modelFile;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param snapshotFile The snapshot file.
+   * @param modelFile The XML file the snapshot is kept for.
+   */
+  public ModelSnapshotFile(File snapshotFile, File modelFile) {
+    this.snapshotFile = requireNonNull(snapshotFile, "snapshotFile");
+    this.modelFile = requireNonNull(modelFile, "modelFile");
+  }
+
+  /**
+   * Reads the model from the snapshot file, if the snapshot is valid for the current XML file.
+   *
+   * @return The model, or an empty optional, if there is no snapshot file, or if the snapshot is
+   * outdated or could not be read.
+   */
+  public Optional<PlantModelCreationTO> read() {
+    if (!snapshotFile.isFile() || !modelFile.isFile()) {
+      return Optional.empty();
+    }
+
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(new FileInputStream(snapshotFile), BUFFER_SIZE))) {
+      if (in.readInt() != MAGIC_NUMBER || in.readInt() != FORMAT_VERSION) {
+        LOG.info("Ignoring model snapshot with unknown format: {}", snapshotFile);
+        return Optional.empty();
+      }
+
+      long modelFileChecksum = in.readLong();
+      if (modelFileChecksum != checksumOf(modelFile)) {
+        LOG.info("Ignoring model snapshot not matching model file: {}", snapshotFile);
+        return Optional.empty();
+      }
+
+      long payloadChecksum = in.readLong();
+      // The payload's length is not covered by any checksum, so check it before allocating memory.
+      int payloadLength = in.readInt();
+      if (payloadLength < 0
+          || payloadLength > MAX_PAYLOAD_LENGTH
+          || payloadLength != snapshotFile.length() - HEADER_SIZE) {
+        LOG.warn("Ignoring corrupt model snapshot: {}", snapshotFile);
+        return Optional.empty();
+      }
+      byte[] payload = new byte[payloadLength];
+      in.readFully(payload);
+      if (payloadChecksum != checksumOf(payload)) {
+        LOG.warn("Ignoring corrupt model snapshot: {}", snapshotFile);
+        return Optional.empty();
+      }
+
+      try (ObjectInputStream objectIn
+          = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+        objectIn.setObjectInputFilter(DESERIALIZATION_FILTER);
+        return Optional.of((PlantModelCreationTO) objectIn.readObject());
+      }
+    }
+    catch (EOFException exc) {
+      LOG.warn("Ignoring truncated model snapshot: {}", snapshotFile);
+      return Optional.empty();
+    }
+    catch (IOException | ClassNotFoundException | ClassCastException exc) {
+      LOG.warn("Ignoring model snapshot that could not be read: {}", snapshotFile, exc);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Writes the given model to the snapshot file, recording the checksum of the current XML file.
+   * The snapshot file is written to a temporary file first and then moved to its final location.
+   *
+   * @param model The model.
+   * @throws IOException If there was an error writing the snapshot file.
+   */
+  public void write(PlantModelCreationTO model)
+      throws IOException {
+    requireNonNull(model, "model");
+
+    ByteArrayOutputStream payload = new ByteArrayOutputStream(BUFFER_SIZE);
+    try (ObjectOutputStream objectOut = new ObjectOutputStream(payload)) {
+      objectOut.writeObject(model);
+    }
+    byte[] payloadBytes = payload.toByteArray();
+    if (payloadBytes.length > MAX_PAYLOAD_LENGTH) {
+      throw new IOException("Model too large for a snapshot: " + payloadBytes.length + " bytes");
+    }
+
+    File tmpFile = new File(snapshotFile.getParentFile(), snapshotFile.getName() + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(tmpFile.toPath()), BUFFER_SIZE))) {
+      out.writeInt(MAGIC_NUMBER);
+      out.writeInt(FORMAT_VERSION);
+      out.writeLong(checksumOf(modelFile));
+      out.writeLong(checksumOf(payloadBytes));
+      out.writeInt(payloadBytes.length);
+      out.write(payloadBytes);
+    }
+    Files.move(tmpFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Deletes the snapshot file, if it exists.
+   *
+   * @throws IOException If the snapshot file exists and could not be deleted.
+   */
+  public void delete()
+      throws IOException {
+    Files.deleteIfExists(snapshotFile.toPath());
+  }
+
+  private static long checksumOf(File file)
+      throws IOException {
+    Checksum checksum = new CRC32C();
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream in = new FileInputStream(file)) {
+      int bytesRead;
+      while ((bytesRead = in.read(buffer)) != -1) {
+        checksum.update(buffer, 0, bytesRead);
+      }
+    }
+    return checksum.getValue();
+  }
+
+  private static long checksumOf(byte[] data) {
+    Checksum checksum = new CRC32C();
+    checksum.update(data, 0, data.length);
+    return checksum.getValue();
+  }
+}
@@ -0,0 +1,434 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.components.Lifecycle;
+import org.opentcs.components.kernel.Query;
+import org.opentcs.components.kernel.QueryResponder;
+import org.opentcs.components.kernel.queries.ArchivedObjectsQuery;
+import org.opentcs.components.kernel.services.InternalQueryService;
+import org.opentcs.customizations.ApplicationHome;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.data.peripherals.PeripheralJob;
+import static org.opentcs.util.Assertions.checkArgument;
+import static org.opentcs.util.Assertions.checkState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Archives transport orders, order sequences and peripheral jobs removed from the kernel's pools
+ * and answers {@link ArchivedObjectsQuery}s for them.
+ * <p>
+ * Archived objects are appended to {@link ArchiveFile}s, one per day of the objects' archive
+ * times, which are the creation times for transport orders and peripheral jobs and the times they
+ * were archived at for order sequences.
+ * The archive files are indexed by the objects' names and archive times in memory, so that
+ * queries only need to read the objects they actually return.
+ * </p>
+ * <p>
+ * Archiving objects and writing them to disk is serialized by a lock of its own.
+ * The index is guarded by a separate lock that is held only for looking up or adding index
+ * entries, so queries read archived objects from disk without blocking or being blocked by writes.
+ * </p>
+ */
+public class OrderArchive
+    implements Lifecycle,
+               QueryResponder {
+
+  /**
+   * This class's Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(OrderArchive.class);
+  /**
+   * The pattern of archive file names.
+   */
+  private static final Pattern FILE_NAME_PATTERN
+      = Pattern.compile("orders-(\\d{4}-\\d{2}-\\d{2})\\.archive");
+  /**
+   * This class's configuration.
+   */
+  private final OrderArchiveConfiguration configuration;
+  /**
+   * The directory containing the archive files.
+   */
+  private final File archiveDirectory;
+  /**
+   * The query service to register with.
+   */
+  private final InternalQueryService queryService;
+  /**
+   * Guards appending objects to the archive files and writing them to disk, as well as the pending
+   * objects.
+   */
+  private final Object writeLock = new Object();
+  /**
+   * Guards the index, i.e. the partitions, their entries and the objects mapped by name.
+   * The index is modified only while holding both locks, so holding either of them is sufficient
+   * for reading it.
+   */
+  private final Object indexLock = new Object();
+  /**
+   * The archive's partitions, mapped by the day they contain objects for.
+   */
+  private final TreeMap<LocalDate, Partition> partitions = new TreeMap<>();
+  /**
+   * The archived objects, mapped by their names.
+   */
+  private final Map<String, IndexedObject> objectsByName = new HashMap<>();
+  /**
+   * The objects appended to the archive but not yet committed.
+   */
+  private final List<IndexedObject> pendingObjects = new ArrayList<>();
+  /**
+   * Whether this instance is initialized.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param configuration This class's configuration.
+   * @param homeDirectory The kernel's home directory.
+   * @param queryService The query service to register with.
+   */
+  @Inject
+  public OrderArchive(@Nonnull OrderArchiveConfiguration configuration,
+                      @Nonnull @ApplicationHome File homeDirectory,
+                      @Nonnull InternalQueryService queryService) {
+    this.configuration = requireNonNull(configuration, "configuration");
+    this.archiveDirectory = new File(requireNonNull(homeDirectory, "homeDirectory"),
+                                     "data" + File.separator + "archive");
+    this.queryService = requireNonNull(queryService, "queryService");
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+
+    if (isEnabled()) {
+      synchronized (writeLock) {
+        indexPartitions();
+      }
+    }
+    queryService.registerResponder(
+        (Class<? extends Query<?>>) (Class<?>) ArchivedObjectsQuery.class,
+        this
+    );
+
+    initialized = true;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    queryService.unregisterResponder(
+        (Class<? extends Query<?>>) (Class<?>) ArchivedObjectsQuery.class
+    );
+    synchronized (writeLock) {
+      List<Partition> closedPartitions;
+      synchronized (indexLock) {
+        closedPartitions = new ArrayList<>(partitions.values());
+        partitions.clear();
+        objectsByName.clear();
+      }
+      for (Partition partition : closedPartitions) {
+        try {
+          partition.file.close();
+        }
+        catch (IOException exc) {
+          LOG.warn("Could not close archive file {}", partition.file.getFile(), exc);
+        }
+      }
+      pendingObjects.clear();
+    }
+
+    initialized = false;
+  }
+
+  /**
+   * Indicates whether objects are archived.
+   *
+   * @return {@code true} if, and only if, objects are archived.
+   */
+  public boolean isEnabled() {
+    return configuration.enable();
+  }
+
+  /**
+   * Appends the given object to the archive.
+   * The object is not written to disk and cannot be queried before the next commit.
+   *
+   * @param object The object, which must be a transport order, order sequence or peripheral job.
+   * @throws IOException If the object could not be appended.
+   * @throws IllegalStateException If this instance is not initialized or archiving is disabled.
+   */
+  public void archive(@Nonnull TCSObject<?> object)
+      throws IOException, IllegalStateException {
+    requireNonNull(object, "object");
+    checkState(isInitialized() && isEnabled(), "Archive not available");
+
+    Instant archiveTime = archiveTimeOf(object);
+    synchronized (writeLock) {
+      Partition partition = partitionFor(LocalDate.ofInstant(archiveTime, ZoneOffset.UTC));
+      pendingObjects.add(new IndexedObject(partition, partition.file.append(object, archiveTime)));
+    }
+  }
+
+  /**
+   * Writes all objects appended since the last commit to disk and makes them available to queries.
+   * If writing fails, all objects appended since the last commit are discarded.
+   *
+   * @throws IOException If there was an error writing the objects.
+   * @throws IllegalStateException If this instance is not initialized or archiving is disabled.
+   */
+  public void commit()
+      throws IOException, IllegalStateException {
+    checkState(isInitialized() && isEnabled(), "Archive not available");
+
+    synchronized (writeLock) {
+      try {
+        for (Partition partition : partitions.values()) {
+          partition.file.commit();
+        }
+      }
+      catch (IOException exc) {
+        for (Partition partition : partitions.values()) {
+          partition.file.rollback();
+        }
+        pendingObjects.clear();
+        throw exc;
+      }
+
+      synchronized (indexLock) {
+        for (IndexedObject indexedObject : pendingObjects) {
+          indexedObject.partition.entries.add(indexedObject.entry);
+          objectsByName.put(indexedObject.entry.getName(), indexedObject);
+        }
+      }
+      pendingObjects.clear();
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T query(Query<T> query) {
+    checkArgument(query instanceof ArchivedObjectsQuery,
+                  "Unsupported query: %s",
+                  query.getClass().getName());
+
+    return (T) queryArchive((ArchivedObjectsQuery<?>) query);
+  }
+
+  private <T extends TCSObject<T>> List<T> queryArchive(ArchivedObjectsQuery<T> query) {
+    List<T> result = new ArrayList<>();
+    if (!isEnabled()) {
+      return result;
+    }
+
+    List<IndexedObject> matches = findMatches(query);
+    // Read the matching objects without holding the index lock, as this may take a while.
+    for (IndexedObject match : matches.subList(0, Math.min(matches.size(), query.getLimit()))) {
+      try {
+        result.add(query.getType().cast(match.partition.file.read(match.entry)));
+      }
+      catch (IOException exc) {
+        throw new IllegalStateException("Could not read archived object " + match.entry.getName(),
+                                        exc);
+      }
+    }
+    return result;
+  }
+
+  private List<IndexedObject> findMatches(ArchivedObjectsQuery<?> query) {
+    List<IndexedObject> matches = new ArrayList<>();
+    synchronized (indexLock) {
+      if (query.getName() != null) {
+        IndexedObject indexedObject = objectsByName.get(query.getName());
+        if (indexedObject != null && matches(indexedObject.entry, query)) {
+          matches.add(indexedObject);
+        }
+        return matches;
+      }
+
+      for (Partition partition : partitions.values()) {
+        if (partition.overlaps(query.getFrom(), query.getTo())) {
+          for (ArchiveFile.Entry entry : partition.entries) {
+            if (matches(entry, query) && isLatestArchival(entry)) {
+              matches.add(new IndexedObject(partition, entry));
+            }
+          }
+        }
+      }
+    }
+    matches.sort(Comparator.comparingLong(match -> match.entry.getArchiveTime()));
+    return matches;
+  }
+
+  private boolean matches(ArchiveFile.Entry entry, ArchivedObjectsQuery<?> query) {
+    Instant archiveTime = Instant.ofEpochMilli(entry.getArchiveTime());
+    return entry.getClassName().equals(query.getType().getName())
+        && !archiveTime.isBefore(query.getFrom())
+        && archiveTime.isBefore(query.getTo());
+  }
+
+  private boolean isLatestArchival(ArchiveFile.Entry entry) {
+    // An object with the same name may have been archived again later.
+    IndexedObject latest = objectsByName.get(entry.getName());
+    return latest == null || latest.entry == entry;
+  }
+
+  private Instant archiveTimeOf(TCSObject<?> object) {
+    if (object instanceof TransportOrder) {
+      return ((TransportOrder) object).getCreationTime();
+    }
+    else if (object instanceof PeripheralJob) {
+      return ((PeripheralJob) object).getCreationTime();
+    }
+    else if (object instanceof OrderSequence) {
+      return Instant.now();
+    }
+    throw new IllegalArgumentException("Objects of type " + object.getClass().getName()
+        + " are not archived");
+  }
+
+  private Partition partitionFor(LocalDate day)
+      throws IOException {
+    Partition partition = partitions.get(day);
+    if (partition == null) {
+      checkState(archiveDirectory.isDirectory() || archiveDirectory.mkdirs(),
+                 "%s is not an existing directory and could not be created, either.",
+                 archiveDirectory.getPath());
+      partition = new Partition(
+          day,
+          new ArchiveFile(new File(archiveDirectory,
+                                   "orders-" + DateTimeFormatter.ISO_LOCAL_DATE.format(day)
+                                   + ".archive"))
+      );
+      List<ArchiveFile.Entry> entries = partition.file.open();
+      synchronized (indexLock) {
+        partition.entries.addAll(entries);
+        partitions.put(day, partition);
+      }
+    }
+    return partition;
+  }
+
+  private void indexPartitions() {
+    File[] files = archiveDirectory.listFiles();
+    if (files == null) {
+      return;
+    }
+
+    for (File file : files) {
+      Matcher matcher = FILE_NAME_PATTERN.matcher(file.getName());
+      if (!matcher.matches()) {
+        continue;
+      }
+      try {
+        Partition partition = partitionFor(LocalDate.parse(matcher.group(1)));
+        synchronized (indexLock) {
+          for (ArchiveFile.Entry entry : partition.entries) {
+            objectsByName.put(entry.getName(), new IndexedObject(partition, entry));
+          }
+        }
+      }
+      catch (IOException | DateTimeParseException exc) {
+        LOG.error("Could not index archive file {}, ignoring it.", file, exc);
+      }
+    }
+    LOG.info("Indexed {} archived objects in {} archive files.",
+             objectsByName.size(),
+             partitions.size());
+  }
+
+  /**
+   * The archive file containing the objects archived for one day.
+   */
+  private static class Partition {
+
+    /**
+     * The start of the day (inclusive).
+     */
+    private final Instant start;
+    /**
+     * The end of the day (exclusive).
+     */
+    private final Instant end;
+    /**
+     * The archive file.
+     */
+    private final ArchiveFile file;
+    /**
+     * The index entries for the committed records in the archive file.
+     */
+    private final Collection<ArchiveFile.Entry> entries = new ArrayList<>();
+
+    Partition(LocalDate day, ArchiveFile file) {
+      this.start = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+      this.end = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+      this.file = file;
+    }
+
+    boolean overlaps(Instant from, Instant to) {
+      return start.isBefore(to) && end.isAfter(from);
+    }
+  }
+
+  /**
+   * An archived object's index entry and the partition containing it.
+   */
+  private static class IndexedObject {
+
+    /**
+     * The partition containing the object.
+     */
+    private final Partition partition;
+    /**
+     * The object's index entry.
+     */
+    private final ArchiveFile.Entry entry;
+
+    IndexedObject(Partition partition, ArchiveFile.Entry entry) {
+      this.partition = partition;
+      this.entry = entry;
+    }
+  }
+}
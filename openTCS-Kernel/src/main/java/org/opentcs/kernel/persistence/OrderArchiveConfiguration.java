@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import org.opentcs.configuration.ConfigurationEntry;
+import org.opentcs.configuration.ConfigurationPrefix;
+
+/**
+ * Provides methods to configure the {@link OrderArchive}.
+ */
+@ConfigurationPrefix(OrderArchiveConfiguration.PREFIX)
+public interface OrderArchiveConfiguration {
+
+  /**
+   * This configuration's prefix.
+   */
+  String PREFIX = "orderarchive";
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to move transport orders, order sequences and peripheral jobs removed from the",
+        "pools by the order cleaner to an archive on disk instead of discarding them."
+      },
+      orderKey = "0_enable")
+  boolean enable();
+}
@@ -0,0 +1,556 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.components.Lifecycle;
+import org.opentcs.customizations.ApplicationEventBus;
+import org.opentcs.customizations.ApplicationHome;
+import org.opentcs.data.ObjectExistsException;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.Route;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.data.peripherals.PeripheralJob;
+import org.opentcs.kernel.workingset.PeripheralJobPoolManager;
+import org.opentcs.kernel.workingset.PlantModelManager;
+import org.opentcs.kernel.workingset.TCSObjectRepository;
+import org.opentcs.kernel.workingset.TransportOrderPoolManager;
+import static org.opentcs.util.Assertions.checkState;
+import org.opentcs.util.event.EventBus;
+import org.opentcs.util.event.EventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the transport orders, order sequences and peripheral jobs in the kernel's pools in a
+ * write-ahead journal, and restores them when the kernel enters operating mode again.
+ * <p>
+ * Every change to one of these objects is appended to a {@link JournalFile} as a record containing
+ * the object's new state.
+ * Records are appended by a separate writer thread, so that the kernel's threads only need to
+ * enqueue them.
+ * The writer thread writes all records that have accumulated while it was busy as one batch,
+ * forcing them to the storage device at most once per batch (group commit).
+ * Whenever the configured number of records has been written, the journal is compacted, i.e. the
+ * current states of all objects are written to a snapshot file and the journal is started anew.
+ * </p>
+ * <p>
+ * Records not written before the kernel stops unexpectedly are lost, which usually affects the
+ * last few milliseconds of changes at most.
+ * As vehicles and peripheral devices do not resume the processing of transport orders and
+ * peripheral jobs after the kernel has been restarted, transport orders and peripheral jobs that
+ * were being processed are restored as failed.
+ * </p>
+ */
+public class OrderJournal
+    implements Lifecycle,
+               EventHandler {
+
+  /**
+   * This class's Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(OrderJournal.class);
+  /**
+   * The name of the snapshot file.
+   */
+  private static final String SNAPSHOT_FILE_NAME = "orders.snapshot";
+  /**
+   * The name of the journal file.
+   */
+  private static final String JOURNAL_FILE_NAME = "orders.journal";
+  /**
+   * A record telling the writer thread to stop.
+   */
+  private static final JournalRecord STOP_RECORD = JournalRecord.removal("");
+  /**
+   * This class's configuration.
+   */
+  private final OrderJournalConfiguration configuration;
+  /**
+   * The directory containing the snapshot and journal files.
+   */
+  private final File journalDirectory;
+  /**
+   * The event bus providing the changes to record.
+   */
+  private final EventBus eventBus;
+  /**
+   * The plant model manager.
+   */
+  private final PlantModelManager plantModelManager;
+  /**
+   * The order pool manager.
+   */
+  private final TransportOrderPoolManager orderPoolManager;
+  /**
+   * The job pool manager.
+   */
+  private final PeripheralJobPoolManager jobPoolManager;
+  /**
+   * The records waiting to be written by the writer thread.
+   */
+  private final BlockingQueue<JournalRecord> pendingRecords = new LinkedBlockingQueue<>();
+  /**
+   * The journaled objects' current states, mapped by name, as needed for compacting the journal.
+   * Only accessed by the writer thread while it is running.
+   */
+  private final Map<String, TCSObject<?>> journaledObjects = new LinkedHashMap<>();
+  /**
+   * The journal file.
+   */
+  private JournalFile journal;
+  /**
+   * The name of the plant model the journaled objects belong to.
+   */
+  private String modelName;
+  /**
+   * The number of records written since the journal was last compacted.
+   */
+  private int recordsSinceCompaction;
+  /**
+   * The thread writing records to the journal.
+   */
+  private Thread writerThread;
+  /**
+   * Whether writing to the journal failed.
+   */
+  private volatile boolean failed;
+  /**
+   * Whether this instance is initialized.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param configuration This class's configuration.
+   * @param homeDirectory The kernel's home directory.
+   * @param eventBus The event bus providing the changes to record.
+   * @param plantModelManager The plant model manager.
+   * @param orderPoolManager The order pool manager.
+   * @param jobPoolManager The job pool manager.
+   */
+  @Inject
+  public OrderJournal(@Nonnull OrderJournalConfiguration configuration,
+                      @Nonnull @ApplicationHome File homeDirectory,
+                      @Nonnull @ApplicationEventBus EventBus eventBus,
+                      @Nonnull PlantModelManager plantModelManager,
+                      @Nonnull TransportOrderPoolManager orderPoolManager,
+                      @Nonnull PeripheralJobPoolManager jobPoolManager) {
+    this.configuration = requireNonNull(configuration, "configuration");
+    this.journalDirectory = new File(requireNonNull(homeDirectory, "homeDirectory"),
+                                     "data" + File.separator + "journal");
+    this.eventBus = requireNonNull(eventBus, "eventBus");
+    this.plantModelManager = requireNonNull(plantModelManager, "plantModelManager");
+    this.orderPoolManager = requireNonNull(orderPoolManager, "orderPoolManager");
+    this.jobPoolManager = requireNonNull(jobPoolManager, "jobPoolManager");
+  }
+
+  /**
+   * Restores the objects recorded in the journal, if the journal is enabled, and starts recording
+   * changes.
+   */
+  @Override
+  public void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+    initialized = true;
+
+    if (!configuration.enable()) {
+      return;
+    }
+
+    modelName = plantModelManager.getName();
+    try {
+      checkState(journalDirectory.isDirectory() || journalDirectory.mkdirs(),
+                 "%s is not an existing directory and could not be created, either.",
+                 journalDirectory.getPath());
+      restore(recover());
+      journal = new JournalFile(new File(journalDirectory, JOURNAL_FILE_NAME));
+      compact();
+    }
+    catch (IOException | IllegalStateException exc) {
+      LOG.error("Could not initialize the order journal, not recording orders.", exc);
+      journaledObjects.clear();
+      failed = true;
+      return;
+    }
+
+    eventBus.subscribe(this);
+    writerThread = new Thread(this::writeRecords, "orderJournalWriter");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  /**
+   * Stops recording changes, writing all pending records and compacting the journal.
+   */
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    if (writerThread != null) {
+      eventBus.unsubscribe(this);
+      pendingRecords.add(STOP_RECORD);
+      Uninterruptibles.joinUninterruptibly(writerThread);
+      writerThread = null;
+
+      try {
+        if (!failed) {
+          compact();
+        }
+        journal.close();
+      }
+      catch (IOException exc) {
+        LOG.warn("Could not compact the order journal.", exc);
+      }
+    }
+
+    pendingRecords.clear();
+    journaledObjects.clear();
+    journal = null;
+    failed = false;
+    initialized = false;
+  }
+
+  @Override
+  public void onEvent(Object event) {
+    if (failed || !(event instanceof TCSObjectEvent)) {
+      return;
+    }
+
+    TCSObjectEvent objectEvent = (TCSObjectEvent) event;
+    TCSObject<?> object = objectEvent.getCurrentOrPreviousObjectState();
+    if (!isJournaled(object)) {
+      return;
+    }
+
+    if (objectEvent.getType() == TCSObjectEvent.Type.OBJECT_REMOVED) {
+      pendingRecords.add(JournalRecord.removal(object.getName()));
+    }
+    else {
+      pendingRecords.add(JournalRecord.update(object));
+    }
+  }
+
+  private boolean isJournaled(TCSObject<?> object) {
+    return object instanceof TransportOrder
+        || object instanceof OrderSequence
+        || object instanceof PeripheralJob;
+  }
+
+  /**
+   * Reads the objects' last recorded states from the snapshot and journal files.
+   *
+   * @return The objects' last recorded states, mapped by name.
+   * @throws IOException If there was an error reading the files.
+   */
+  private Map<String, TCSObject<?>> recover()
+      throws IOException {
+    Map<String, TCSObject<?>> objects = new LinkedHashMap<>();
+    apply(new JournalFile(new File(journalDirectory, SNAPSHOT_FILE_NAME)).read(), objects);
+    apply(new JournalFile(new File(journalDirectory, JOURNAL_FILE_NAME)).read(), objects);
+    return objects;
+  }
+
+  private void apply(Optional<JournalFile.Contents> contents, Map<String, TCSObject<?>> objects) {
+    if (!contents.isPresent()) {
+      return;
+    }
+    if (!contents.get().getModelName().equals(modelName)) {
+      LOG.info("Ignoring order journal recorded for plant model '{}'.",
+               contents.get().getModelName());
+      return;
+    }
+    for (JournalRecord record : contents.get().getRecords()) {
+      apply(record, objects);
+    }
+  }
+
+  private void apply(JournalRecord record, Map<String, TCSObject<?>> objects) {
+    if (record.isRemoval()) {
+      objects.remove(record.getName());
+    }
+    else {
+      objects.put(record.getName(), record.getObject());
+    }
+  }
+
+  /**
+   * Adds the given objects to the pools, failing the ones that were being processed.
+   *
+   * @param objects The objects' last recorded states, mapped by name.
+   */
+  private void restore(Map<String, TCSObject<?>> objects) {
+    Map<String, OrderSequence> sequences = filterByType(objects, OrderSequence.class);
+    Map<String, TransportOrder> orders = filterByType(objects, TransportOrder.class);
+    Map<String, PeripheralJob> jobs = filterByType(objects, PeripheralJob.class);
+
+    discardUnresolvable(sequences, orders, jobs);
+
+    // Vehicles and peripheral devices do not resume processing after the kernel has been
+    // restarted, so there is nothing to wait for.
+    List<TransportOrder> interruptedOrders = orders.values().stream()
+        .filter(order -> order.hasState(TransportOrder.State.BEING_PROCESSED)
+        || order.hasState(TransportOrder.State.WITHDRAWN))
+        .collect(Collectors.toList());
+    for (TransportOrder order : interruptedOrders) {
+      LOG.info("Failing transport order '{}' interrupted in state {}.",
+               order.getName(),
+               order.getState());
+      orders.put(order.getName(),
+                 order.withState(TransportOrder.State.FAILED).withProcessingVehicle(null));
+    }
+    for (TransportOrder order : interruptedOrders) {
+      if (order.getWrappingSequence() != null) {
+        failInSequence(sequences.get(order.getWrappingSequence().getName()), sequences, orders);
+      }
+    }
+    for (PeripheralJob job : jobs.values()) {
+      if (job.getState() == PeripheralJob.State.BEING_PROCESSED) {
+        LOG.info("Failing peripheral job '{}' interrupted while being processed.", job.getName());
+        jobs.put(job.getName(), job.withState(PeripheralJob.State.FAILED));
+      }
+    }
+    for (OrderSequence sequence : sequences.values()) {
+      sequences.put(sequence.getName(), sequence.withProcessingVehicle(null));
+    }
+
+    for (OrderSequence sequence : sequences.values()) {
+      addToPool(sequence);
+    }
+    for (TransportOrder order : orders.values()) {
+      addToPool(order);
+    }
+    for (PeripheralJob job : jobs.values()) {
+      addToPool(job);
+    }
+
+    if (!journaledObjects.isEmpty()) {
+      LOG.info("Restored {} order sequences, {} transport orders and {} peripheral jobs.",
+               sequences.size(),
+               orders.size(),
+               jobs.size());
+    }
+  }
+
+  /**
+   * Discards objects referring to objects that do not exist, e.g. because the plant model has
+   * been modified.
+   */
+  private void discardUnresolvable(Map<String, OrderSequence> sequences,
+                                   Map<String, TransportOrder> orders,
+                                   Map<String, PeripheralJob> jobs) {
+    TCSObjectRepository objectRepo = orderPoolManager.getObjectRepo();
+
+    orders.values().removeIf(order -> discardIf(!isResolvable(order, objectRepo), order));
+    // Keep sequences complete and their orders consistent.
+    sequences.values().removeIf(
+        sequence -> discardIf(!exists(sequence.getIntendedVehicle(), objectRepo)
+            || sequence.getOrders().stream().anyMatch(ref -> !orders.containsKey(ref.getName())),
+                              sequence)
+    );
+    orders.values().removeIf(
+        order -> discardIf(order.getWrappingSequence() != null
+            && !sequences.containsKey(order.getWrappingSequence().getName()),
+                           order)
+    );
+    for (TransportOrder order : new ArrayList<>(orders.values())) {
+      Set<TCSObjectReference<TransportOrder>> dependencies = order.getDependencies().stream()
+          .filter(ref -> orders.containsKey(ref.getName()))
+          .collect(Collectors.toSet());
+      if (dependencies.size() != order.getDependencies().size()) {
+        orders.put(order.getName(), order.withDependencies(dependencies));
+      }
+    }
+
+    jobs.values().removeIf(
+        job -> discardIf(!exists(job.getRelatedVehicle(), objectRepo)
+            || (job.getRelatedTransportOrder() != null
+                && !orders.containsKey(job.getRelatedTransportOrder().getName()))
+            || !exists(job.getPeripheralOperation().getLocation(), objectRepo),
+                         job)
+    );
+  }
+
+  private boolean discardIf(boolean condition, TCSObject<?> object) {
+    if (condition) {
+      LOG.warn("Discarding '{}' from the order journal as it refers to unknown objects.",
+               object.getName());
+    }
+    return condition;
+  }
+
+  private boolean isResolvable(TransportOrder order, TCSObjectRepository objectRepo) {
+    if (!exists(order.getIntendedVehicle(), objectRepo)
+        || !exists(order.getProcessingVehicle(), objectRepo)) {
+      return false;
+    }
+    for (DriveOrder driveOrder : order.getAllDriveOrders()) {
+      if (!exists(driveOrder.getDestination().getDestination(), objectRepo)) {
+        return false;
+      }
+      if (driveOrder.getRoute() == null) {
+        continue;
+      }
+      for (Route.Step step : driveOrder.getRoute().getSteps()) {
+        if ((step.getPath() != null && !exists(step.getPath().getReference(), objectRepo))
+            || !exists(step.getDestinationPoint().getReference(), objectRepo)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private boolean exists(TCSObjectReference<?> ref, TCSObjectRepository objectRepo) {
+    return ref == null || objectRepo.getObjectOrNull(ref) != null;
+  }
+
+  /**
+   * Updates the given sequence after one of its orders failed, the same way the dispatcher does.
+   */
+  private void failInSequence(OrderSequence sequence,
+                              Map<String, OrderSequence> sequences,
+                              Map<String, TransportOrder> orders) {
+    if (sequence.isFailureFatal()) {
+      for (TCSObjectReference<TransportOrder> ref : sequence.getOrders()) {
+        TransportOrder order = orders.get(ref.getName());
+        if (!order.getState().isFinalState()) {
+          orders.put(order.getName(), order.withState(TransportOrder.State.FAILED));
+        }
+      }
+      sequence = sequence.withComplete(true).withFinishedIndex(sequence.getOrders().size() - 1);
+    }
+    else {
+      sequence = sequence.withFinishedIndex(sequence.getFinishedIndex() + 1);
+    }
+    if (sequence.isComplete() && sequence.getNextUnfinishedOrder() == null) {
+      sequence = sequence.withFinished(true);
+    }
+    sequences.put(sequence.getName(), sequence);
+  }
+
+  private void addToPool(TCSObject<?> object) {
+    try {
+      orderPoolManager.getObjectRepo().addObject(object);
+    }
+    catch (ObjectExistsException exc) {
+      LOG.warn("Not restoring '{}' as an object with that name already exists.", object.getName());
+      return;
+    }
+    if (object instanceof PeripheralJob) {
+      jobPoolManager.emitObjectEvent(object, null, TCSObjectEvent.Type.OBJECT_CREATED);
+    }
+    else {
+      orderPoolManager.emitObjectEvent(object, null, TCSObjectEvent.Type.OBJECT_CREATED);
+    }
+    journaledObjects.put(object.getName(), object);
+  }
+
+  private <T> Map<String, T> filterByType(Map<String, TCSObject<?>> objects, Class<T> clazz) {
+    Map<String, T> result = new LinkedHashMap<>();
+    for (TCSObject<?> object : objects.values()) {
+      if (clazz.isInstance(object)) {
+        result.put(object.getName(), clazz.cast(object));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Writes the current states of all journaled objects to the snapshot file and starts a new
+   * journal.
+   *
+   * @throws IOException If there was an error writing the files.
+   */
+  private void compact()
+      throws IOException {
+    File snapshotFile = new File(journalDirectory, SNAPSHOT_FILE_NAME);
+    File tmpFile = new File(journalDirectory, SNAPSHOT_FILE_NAME + ".tmp");
+    try (JournalFile snapshot = new JournalFile(tmpFile)) {
+      snapshot.create(modelName);
+      for (TCSObject<?> object : journaledObjects.values()) {
+        snapshot.append(JournalRecord.update(object));
+      }
+      snapshot.commit(true);
+    }
+    Files.move(tmpFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+    // Records replayed on top of the new snapshot would not do any harm, so a crash before this
+    // point does not require any special handling.
+    journal.create(modelName);
+    recordsSinceCompaction = 0;
+  }
+
+  /**
+   * Writes records to the journal until told to stop.
+   */
+  private void writeRecords() {
+    List<JournalRecord> batch = new ArrayList<>();
+    try {
+      boolean stopRequested = false;
+      while (!stopRequested) {
+        batch.add(pendingRecords.take());
+        pendingRecords.drainTo(batch);
+
+        for (JournalRecord record : batch) {
+          if (record == STOP_RECORD) {
+            stopRequested = true;
+            continue;
+          }
+          apply(record, journaledObjects);
+          journal.append(record);
+        }
+        journal.commit(configuration.syncOnCommit());
+        recordsSinceCompaction += batch.size();
+        batch.clear();
+
+        if (recordsSinceCompaction >= configuration.compactionThreshold()) {
+          compact();
+        }
+      }
+    }
+    catch (InterruptedException exc) {
+      Thread.currentThread().interrupt();
+    }
+    catch (IOException exc) {
+      LOG.error("Could not write to the order journal, not recording orders any more.", exc);
+      failed = true;
+      pendingRecords.clear();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import org.opentcs.configuration.ConfigurationEntry;
+import org.opentcs.configuration.ConfigurationPrefix;
+
+/**
+ * Provides methods to configure the {@link OrderJournal}.
+ */
+@ConfigurationPrefix(OrderJournalConfiguration.PREFIX)
+public interface OrderJournalConfiguration {
+
+  /**
+   * This configuration's prefix.
+   */
+  String PREFIX = "orderjournal";
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to record transport orders, order sequences and peripheral jobs in a journal and",
+        "to restore them when the kernel enters operating mode again, e.g. after a restart."
+      },
+      orderKey = "0_enable")
+  boolean enable();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to force every batch of journal records to the storage device before writing the",
+        "next one.",
+        "If disabled, records written shortly before a crash of the operating system may be lost."
+      },
+      orderKey = "1_sync")
+  boolean syncOnCommit();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The number of journal records after which the journal is compacted into a snapshot of the",
+        "current objects."
+      },
+      orderKey = "2_compaction")
+  int compactionThreshold();
+}
@@ -43,6 +43,10 @@ public class XMLFileModelPersister
    * The name of the model file in the model directory.
    */
   private static final String MODEL_FILE_NAME = "model.xml";
+  /**
+   * The name of the model snapshot file in the model directory.
+   */
+  private static final String SNAPSHOT_FILE_NAME = "model.bin";
   /**
    * The directory path for the persisted model.
    */
@@ -51,6 +55,10 @@ public class XMLFileModelPersister
    * The model file.
    */
   private final File modelFile;
+  /**
+   * The binary snapshot of the model file, which is read preferentially for faster loading.
+   */
+  private final ModelSnapshotFile snapshotFile;
   /**
    * Reads and writes models into xml files.
    */
@@ -69,6 +77,8 @@ public class XMLFileModelPersister
     this.dataDirectory = new File(requireNonNull(directory, "directory"), "data");
 
     this.modelFile = new File(dataDirectory, MODEL_FILE_NAME);
+    this.snapshotFile = new ModelSnapshotFile(new File(dataDirectory, SNAPSHOT_FILE_NAME),
+                                              modelFile);
   }
 
   @Override
@@ -104,6 +114,8 @@ public class XMLFileModelPersister
     catch (IOException exc) {
       throw new IllegalStateException("Exception saving model", exc);
     }
+
+    writeSnapshot(model);
   }
 
   @Override
@@ -114,8 +126,8 @@ public class XMLFileModelPersister
       return new PlantModelCreationTO("empty model");
     }
 
-    // Read the model from the file.
-    return readXMLModel(modelFile);
+    // Read the model from the snapshot, if it is up to date, or from the file.
+    return readModelPreferringSnapshot();
   }
 
   @Override
@@ -184,6 +196,7 @@ public class XMLFileModelPersister
     }
     try {
       createBackup();
+      snapshotFile.delete();
       if (!FileSystems.deleteRecursively(modelFile)) {
         throw new IOException("Cannot delete " + modelFile.getPath());
       }
@@ -201,10 +214,51 @@ public class XMLFileModelPersister
    */
   private String readXMLModelName(File modelFile)
       throws IllegalStateException {
-    return ofNullable(emptyToNull(readXMLModel(modelFile).getName()))
+    return ofNullable(emptyToNull(readModelPreferringSnapshot().getName()))
         .orElse("ModelNameMissing");
   }
 
+  /**
+   * Reads the model from the snapshot file, if it is up to date, or from the model file.
+   * In the latter case, the snapshot file is (re)written for subsequent reads.
+   *
+   * @return The model.
+   * @throws IllegalStateException If reading the model file failed.
+   */
+  private PlantModelCreationTO readModelPreferringSnapshot()
+      throws IllegalStateException {
+    Optional<PlantModelCreationTO> snapshot = snapshotFile.read();
+    if (snapshot.isPresent()) {
+      LOG.debug("Read model from snapshot.");
+      return snapshot.get();
+    }
+
+    PlantModelCreationTO model = readXMLModel(modelFile);
+    writeSnapshot(model);
+    return model;
+  }
+
+  /**
+   * Writes a snapshot of the given model for the current model file.
+   * Failing to do so is not critical, as the model file remains the authoritative source.
+   *
+   * @param model The model.
+   */
+  private void writeSnapshot(PlantModelCreationTO model) {
+    try {
+      snapshotFile.write(model);
+    }
+    catch (IOException exc) {
+      LOG.warn("Could not write model snapshot, deleting outdated one.", exc);
+      try {
+        snapshotFile.delete();
+      }
+      catch (IOException exc2) {
+        LOG.warn("Could not delete model snapshot.", exc2);
+      }
+    }
+  }
+
   /**
    * Reads a model from a given InputStream.
    *
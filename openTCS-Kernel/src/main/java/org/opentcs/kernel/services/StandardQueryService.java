@@ -50,12 +50,15 @@ public class StandardQueryService
   public <T> T query(Query<T> query) {
     requireNonNull(query, "query");
 
+    QueryResponder responder;
     synchronized (globalSyncObject) {
-      QueryResponder responder = respondersByQueryType.get(query.getClass());
-
-      checkArgument(responder != null, "Query class not taken: %s", query.getClass().getName());
-      return responder.query(query);
+      responder = respondersByQueryType.get(query.getClass());
     }
+
+    checkArgument(responder != null, "Query class not taken: %s", query.getClass().getName());
+    // Responders may take their time, e.g. for reading data from disk, and synchronize themselves
+    // if they need to, so let the kernel continue meanwhile.
+    return responder.query(query);
   }
 
   @Override
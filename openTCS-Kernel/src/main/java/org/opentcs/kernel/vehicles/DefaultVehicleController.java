@@ -130,6 +130,11 @@ public class DefaultVehicleController
    * A command for which the execution of peripheral operations is pending.
    */
   private volatile MovementCommand interactionsPendingCommand;
+  /**
+   * Commands for which resources have been allocated in advance, but which have not yet been sent
+   * to the adapter.
+   */
+  private final Queue<MovementCommand> allocatedCommands = new LinkedList<>();
   /**
    * A list of commands that have been sent to the communication adapter.
    */
@@ -165,6 +170,11 @@ public class DefaultVehicleController
    * resources at a time (which can cause deadlocks).
    */
   private volatile boolean waitingForAllocation;
+  /**
+   * The number of commands for which resources may be allocated before the adapter can accept
+   * them.
+   */
+  private final int allocationLookAhead;
 
   /**
    * Creates a new instance associated with the given vehicle.
@@ -177,6 +187,7 @@ public class DefaultVehicleController
    * @param scheduler The scheduler managing resource allocations.
    * @param eventBus The event bus this instance should register with and send events to.
    * @param componentsFactory A factory for various components related to a vehicle controller.
+   * @param configuration This class's configuration.
    */
   @Inject
   public DefaultVehicleController(@Assisted @Nonnull Vehicle vehicle,
@@ -186,7 +197,8 @@ public class DefaultVehicleController
                                   @Nonnull DispatcherService dispatcherService,
                                   @Nonnull Scheduler scheduler,
                                   @Nonnull @ApplicationEventBus EventBus eventBus,
-                                  @Nonnull VehicleControllerComponentsFactory componentsFactory) {
+                                  @Nonnull VehicleControllerComponentsFactory componentsFactory,
+                                  @Nonnull VehicleControllerConfiguration configuration) {
     this.vehicle = requireNonNull(vehicle, "vehicle");
     this.commAdapter = requireNonNull(adapter, "adapter");
     this.vehicleService = requireNonNull(vehicleService, "vehicleService");
@@ -197,6 +209,11 @@ public class DefaultVehicleController
     requireNonNull(componentsFactory, "componentsFactory");
     this.peripheralInteractor
         = componentsFactory.createPeripheralInteractor(vehicle.getReference());
+    this.allocationLookAhead = requireNonNull(configuration, "configuration")
+        .allocationLookAhead();
+    checkArgument(allocationLookAhead >= 0,
+                  "allocationLookAhead < 0: %s",
+                  allocationLookAhead);
   }
 
   @Override
@@ -397,9 +414,7 @@ public class DefaultVehicleController
 
       createFutureCommands(newOrder, orderProperties);
 
-      if (canSendNextCommand()) {
-        allocateForNextCommand();
-      }
+      processNextCommands();
 
       // Set the vehicle's next expected position.
       Point nextPoint = newOrder.getRoute().getSteps().get(0).getDestinationPoint();
@@ -444,9 +459,8 @@ public class DefaultVehicleController
                                                      updatedVehicle.getRouteProgressIndex());
 
       // The vehilce may now process previously restricted steps
-      if (updatedVehicle.getState() == Vehicle.State.IDLE
-          && canSendNextCommand()) {
-        allocateForNextCommand();
+      if (updatedVehicle.getState() == Vehicle.State.IDLE) {
+        processNextCommands();
       }
     }
   }
@@ -529,6 +543,29 @@ public class DefaultVehicleController
     scheduler.clearPendingAllocations(this);
     waitingForAllocation = false;
     pendingCommand = null;
+    discardAllocatedCommands();
+  }
+
+  /**
+   * Discards the commands for which resources have been allocated in advance and frees these
+   * resources.
+   * As they are the most recently allocated ones, they are the last entries in the allocated
+   * resources.
+   */
+  private void discardAllocatedCommands() {
+    if (allocatedCommands.isEmpty()) {
+      return;
+    }
+
+    LOG.debug("{}: Discarding commands allocated in advance: {}",
+              vehicle.getName(),
+              allocatedCommands);
+    for (int i = 0; i < allocatedCommands.size(); i++) {
+      scheduler.free(this, allocatedResources.removeLast());
+    }
+    allocatedCommands.clear();
+    vehicleService.updateVehicleAllocatedResources(vehicle.getReference(),
+                                                   toListOfResourceSets(allocatedResources));
   }
 
   private void discardSentFutureCommands() {
@@ -612,6 +649,7 @@ public class DefaultVehicleController
         return;
       }
       futureCommands.clear();
+      discardAllocatedCommands();
     }
   }
 
@@ -623,6 +661,7 @@ public class DefaultVehicleController
       commandsSent.clear();
       futureCommands.clear();
       pendingCommand = null;
+      allocatedCommands.clear();
       interactionsPendingCommand = null;
       peripheralInteractor.clear();
       // Free all resource sets that were reserved for future commands, except the current one...
@@ -733,9 +772,7 @@ public class DefaultVehicleController
         // the pending command is reset and therefore the associated allocation will be ignored.
         // Since there's now a new/updated route we need to trigger the next allocation. Otherwise
         // the vehicle would wait forever to get the next command.
-        if (canSendNextCommand()) {
-          allocateForNextCommand();
-        }
+        processNextCommands();
         return false;
       }
 
@@ -752,12 +789,8 @@ public class DefaultVehicleController
       vehicleService.updateVehicleAllocatedResources(vehicle.getReference(),
                                                      toListOfResourceSets(allocatedResources));
 
-      interactionsPendingCommand = command;
-
-      peripheralInteractor.prepareInteractions(transportOrder.getReference(), command);
-      peripheralInteractor.startPreMovementInteractions(command,
-                                                        () -> sendCommand(command),
-                                                        this::onMovementInteractionFailed);
+      allocatedCommands.add(command);
+      processNextCommands();
     }
     // Let the scheduler know we've accepted the resources given.
     return true;
@@ -784,9 +817,7 @@ public class DefaultVehicleController
     interactionsPendingCommand = null;
 
     // Check if the communication adapter has capacity for another command.
-    if (canSendNextCommand()) {
-      allocateForNextCommand();
-    }
+    processNextCommands();
   }
 
   private void onMovementInteractionFailed() {
@@ -962,6 +993,7 @@ public class DefaultVehicleController
   private void checkForPendingCommands() {
     // Check if there are more commands to be processed for the current drive order.
     if (interactionsPendingCommand == null
+        && allocatedCommands.isEmpty()
         && pendingCommand == null
         && futureCommands.isEmpty()) {
       LOG.debug("{}: No more commands in current drive order", vehicle.getName());
@@ -981,8 +1013,8 @@ public class DefaultVehicleController
     }
     // There are more commands to be processed.
     // Check if we can send another command to the comm adapter.
-    else if (canSendNextCommand()) {
-      allocateForNextCommand();
+    else {
+      processNextCommands();
     }
   }
 
@@ -1026,36 +1058,89 @@ public class DefaultVehicleController
   }
 
   /**
-   * Checks if we can send another command to the communication adapter without
-   * overflowing its capacity and with respect to the number of commands still
-   * in our queue and allocation requests to the scheduler in progress.
+   * Allocates resources for the next command and sends the next command for which resources have
+   * already been allocated to the communication adapter, if possible.
+   */
+  private void processNextCommands() {
+    if (canAllocateForNextCommand()) {
+      allocateForNextCommand();
+    }
+    if (canSendAllocatedCommand()) {
+      sendAllocatedCommand();
+    }
+  }
+
+  /**
+   * Checks if we can allocate resources for the next command with respect to the number of
+   * commands still in our queue, allocation requests to the scheduler in progress and the
+   * look-ahead window.
+   * Beyond the look-ahead window, resources are allocated only if the command can be sent to the
+   * communication adapter right away.
    *
-   * @return <code>true</code> if, and only if, we can send another command.
+   * @return <code>true</code> if, and only if, we can allocate resources for the next command.
    */
-  private boolean canSendNextCommand() {
+  private boolean canAllocateForNextCommand() {
     if (futureCommands.isEmpty()) {
-      LOG.debug("{}: Cannot send, no commands to be sent.", vehicle.getName());
-      return false;
-    }
-    if (!commAdapter.canAcceptNextCommand()) {
-      LOG.debug("{}: Cannot send, comm adapter cannot accept any further commands.",
-                vehicle.getName());
+      LOG.debug("{}: Cannot allocate, no commands to be sent.", vehicle.getName());
       return false;
     }
     if (!futureCommands.peek().getStep().isExecutionAllowed()) {
-      LOG.debug("{}: Cannot send, movement execution is not allowed", vehicle.getName());
+      LOG.debug("{}: Cannot allocate, movement execution is not allowed", vehicle.getName());
       return false;
     }
     if (waitingForAllocation) {
-      LOG.debug("{}: Cannot send, waiting for allocation", vehicle.getName());
+      LOG.debug("{}: Cannot allocate, waiting for allocation", vehicle.getName());
       return false;
     }
     if (pendingCommand != null) {
-      LOG.debug("{}: Cannot send, resource allocation is pending for: {}",
+      LOG.debug("{}: Cannot allocate, resource allocation is pending for: {}",
                 vehicle.getName(),
                 pendingCommand);
       return false;
     }
+    if (allocatedCommands.size() < allocationLookAhead) {
+      return true;
+    }
+    if (!allocatedCommands.isEmpty()) {
+      LOG.debug("{}: Cannot allocate, look-ahead window is full: {}",
+                vehicle.getName(),
+                allocatedCommands);
+      return false;
+    }
+    return canSendNextCommand();
+  }
+
+  /**
+   * Checks if we can send the next command for which resources have already been allocated to the
+   * communication adapter.
+   *
+   * @return <code>true</code> if, and only if, we can send the next allocated command.
+   */
+  private boolean canSendAllocatedCommand() {
+    if (allocatedCommands.isEmpty()) {
+      return false;
+    }
+    if (interactionsPendingCommand != null) {
+      LOG.debug("{}: Cannot send, peripheral operations pending for: {}",
+                vehicle.getName(),
+                interactionsPendingCommand);
+      return false;
+    }
+    return canSendNextCommand();
+  }
+
+  /**
+   * Checks if we can send another command to the communication adapter without overflowing its
+   * capacity and with respect to pending peripheral operations.
+   *
+   * @return <code>true</code> if, and only if, we can send another command.
+   */
+  private boolean canSendNextCommand() {
+    if (!commAdapter.canAcceptNextCommand()) {
+      LOG.debug("{}: Cannot send, comm adapter cannot accept any further commands.",
+                vehicle.getName());
+      return false;
+    }
     if (peripheralInteractor.isWaitingForMovementInteractionsToFinish()) {
       LOG.debug("{}: Cannot send, waiting for peripheral operations to be completed: {}",
                 vehicle.getName(),
@@ -1065,6 +1150,20 @@ public class DefaultVehicleController
     return true;
   }
 
+  /**
+   * Sends the next command for which resources have already been allocated to the communication
+   * adapter, after the peripheral operations required before its execution have been completed.
+   */
+  private void sendAllocatedCommand() {
+    MovementCommand command = allocatedCommands.poll();
+    interactionsPendingCommand = command;
+
+    peripheralInteractor.prepareInteractions(transportOrder.getReference(), command);
+    peripheralInteractor.startPreMovementInteractions(command,
+                                                      () -> sendCommand(command),
+                                                      this::onMovementInteractionFailed);
+  }
+
   /**
    * Allocate the resources needed for executing the next command.
    */
@@ -1106,6 +1205,7 @@ public class DefaultVehicleController
   private void freeAllResources() {
     scheduler.freeAll(this);
     allocatedResources.clear();
+    allocatedCommands.clear();
     vehicleService.updateVehicleAllocatedResources(vehicle.getReference(), List.of());
   }
 
@@ -1121,6 +1221,10 @@ public class DefaultVehicleController
         .findFirst()
         .orElse(null);
 
+    if (nextCommand == null) {
+      nextCommand = allocatedCommands.peek();
+    }
+
     if (nextCommand == null) {
       nextCommand = pendingCommand;
     }
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.vehicles;
+
+import org.opentcs.configuration.ConfigurationEntry;
+import org.opentcs.configuration.ConfigurationPrefix;
+
+/**
+ * Provides methods to configure the {@link DefaultVehicleController}.
+ */
+@ConfigurationPrefix(VehicleControllerConfiguration.PREFIX)
+public interface VehicleControllerConfiguration {
+
+  /**
+   * This configuration's prefix.
+   */
+  String PREFIX = "vehiclecontroller";
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The number of movement commands for which a vehicle controller may allocate resources "
+        + "before the vehicle's communication adapter can accept them.",
+        "Allocating resources in advance allows commands to be sent to the communication adapter "
+        + "as soon as it can accept them, but keeps the resources from other vehicles for longer.",
+        "If 0, resources are allocated only for commands that can be sent right away."
+      },
+      orderKey = "0_allocation")
+  int allocationLookAhead();
+}
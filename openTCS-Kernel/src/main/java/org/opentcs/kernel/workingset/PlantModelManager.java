@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import static java.util.Objects.requireNonNull;
@@ -160,6 +161,13 @@ public class PlantModelManager
   /**
    * Creates new plant model objects with unique IDs and all other attributes taken from the given
    * transfer object.
+   * <p>
+   * All objects are created and the references between them are resolved before any of them is
+   * added to the object repository. If the transfer object is consistent, the objects are then
+   * added in bulk, without emitting events for the individual objects - listeners are expected to
+   * pick up the new model as a whole via the {@link org.opentcs.access.ModelTransitionEvent}
+   * emitted by the plant model service.
+   * </p>
    *
    * @param to The transfer object from which to create the new objects.
    * @throws ObjectExistsException If an object with a new object's name already exists.
@@ -170,35 +178,50 @@ public class PlantModelManager
       throws ObjectExistsException, ObjectUnknownException {
     LOG.info("Plant model is being created: {}", to.getName());
 
-    clear();
-    setName(to.getName());
-    setProperties(to.getProperties());
+    int objectCount = to.getPoints().size()
+        + to.getLocationTypes().size()
+        + to.getLocations().size()
+        + to.getPaths().size()
+        + to.getBlocks().size()
+        + to.getGroups().size()
+        + to.getVehicles().size()
+        + 1;
+    Map<String, TCSObject<?>> newObjects = new LinkedHashMap<>((int) (objectCount / 0.75f) + 1);
 
     for (PointCreationTO point : to.getPoints()) {
-      createPoint(point);
+      addNewObject(newObjects, createPoint(point));
     }
     for (LocationTypeCreationTO locType : to.getLocationTypes()) {
-      createLocationType(locType);
+      addNewObject(newObjects, createLocationType(locType));
     }
     for (LocationCreationTO loc : to.getLocations()) {
-      createLocation(loc);
+      addNewObject(newObjects, createLocation(loc, newObjects));
     }
     for (PathCreationTO path : to.getPaths()) {
-      createPath(path);
+      addNewObject(newObjects, createPath(path, newObjects));
     }
 
     for (BlockCreationTO block : to.getBlocks()) {
-      createBlock(block);
+      addNewObject(newObjects, createBlock(block, newObjects));
     }
     for (org.opentcs.access.to.model.GroupCreationTO group : to.getGroups()) {
-      createGroup(group);
+      addNewObject(newObjects, createGroup(group, newObjects));
     }
     for (VehicleCreationTO vehicle : to.getVehicles()) {
-      createVehicle(vehicle);
+      addNewObject(newObjects, createVehicle(vehicle));
     }
 
-    createVisualLayout(to.getVisualLayout());
+    addNewObject(newObjects, createVisualLayout(to.getVisualLayout()));
+    connectPoints(newObjects);
+
+    clear();
+    setName(to.getName());
+    setProperties(to.getProperties());
+    getObjectRepo().addObjects(newObjects.values());
+
     overrideLayoutData(to.getVisualLayout());
+
+    LOG.info("Plant model created: {} ({} objects)", to.getName(), newObjects.size());
   }
 
   /**
@@ -1044,37 +1067,27 @@ public class PlantModelManager
    *
    * @param to The transfer object from which to create the new layout.
    * @return The newly created layout.
-   * @throws ObjectExistsException If an object with the new object's name already exists.
-   * @throws ObjectUnknownException If any object referenced in the TO does not exist.
    */
-  private VisualLayout createVisualLayout(VisualLayoutCreationTO to)
-      throws ObjectUnknownException, ObjectExistsException {
-    VisualLayout newLayout = new VisualLayout(to.getName())
+  private VisualLayout createVisualLayout(VisualLayoutCreationTO to) {
+    return new VisualLayout(to.getName())
         .withScaleX(to.getScaleX())
         .withScaleY(to.getScaleY())
         .withLayers(to.getLayers())
         .withLayerGroups(to.getLayerGroups());
-
-    getObjectRepo().addObject(newLayout);
-    emitObjectEvent(newLayout,
-                    null,
-                    TCSObjectEvent.Type.OBJECT_CREATED);
-    // Return the newly created layout.
-    return newLayout;
   }
 
   /**
    * Creates a new point with a unique name and all other attributes set to
    * default values.
+   * <p>
+   * Paths and links attached to the point are set later, via {@link #connectPoints(Map)}.
+   * </p>
    *
    * @param to The transfer object from which to create the new point.
    * @return The newly created point.
-   * @throws ObjectExistsException If an object with the point's name already exists.
    */
-  private Point createPoint(PointCreationTO to)
-      throws ObjectExistsException {
-    // Get a unique ID for the new point and create an instance.
-    Point newPoint = new Point(to.getName())
+  private Point createPoint(PointCreationTO to) {
+    return new Point(to.getName())
         .withPosition(to.getPosition())
         .withType(to.getType())
         .withVehicleOrientationAngle(to.getVehicleOrientationAngle())
@@ -1082,29 +1095,25 @@ public class PlantModelManager
         .withLayout(new Point.Layout(to.getLayout().getPosition(),
                                      to.getLayout().getLabelOffset(),
                                      to.getLayout().getLayerId()));
-    getObjectRepo().addObject(newPoint);
-    emitObjectEvent(newPoint, null, TCSObjectEvent.Type.OBJECT_CREATED);
-    // Return the newly created point.
-    return newPoint;
   }
 
   /**
    * Creates a new path from the given transfer object.
    *
    * @param to The transfer object from which to create the new path.
+   * @param newObjects The new objects created so far, mapped by their names.
    * @return The newly created path.
    * @throws ObjectUnknownException If the referenced point does not exist.
-   * @throws ObjectExistsException If an object with the same name as the path already exists.
    */
-  private Path createPath(PathCreationTO to)
-      throws ObjectUnknownException, ObjectExistsException {
+  private Path createPath(PathCreationTO to, Map<String, TCSObject<?>> newObjects)
+      throws ObjectUnknownException {
     requireNonNull(to, "to");
 
-    Point srcPoint = getObjectRepo().getObject(Point.class, to.getSrcPointName());
-    Point destPoint = getObjectRepo().getObject(Point.class, to.getDestPointName());
-    Path newPath = new Path(to.getName(),
-                            srcPoint.getReference(),
-                            destPoint.getReference())
+    Point srcPoint = getNewObject(newObjects, Point.class, to.getSrcPointName());
+    Point destPoint = getNewObject(newObjects, Point.class, to.getDestPointName());
+    return new Path(to.getName(),
+                    srcPoint.getReference(),
+                    destPoint.getReference())
         .withLength(to.getLength())
         .withMaxVelocity(to.getMaxVelocity())
         .withMaxReverseVelocity(to.getMaxReverseVelocity())
@@ -1114,17 +1123,6 @@ public class PlantModelManager
         .withLayout(new Path.Layout(to.getLayout().getConnectionType(),
                                     to.getLayout().getControlPoints(),
                                     to.getLayout().getLayerId()));
-
-    getObjectRepo().addObject(newPath);
-
-    emitObjectEvent(newPath,
-                    null,
-                    TCSObjectEvent.Type.OBJECT_CREATED);
-
-    addPointOutgoingPath(srcPoint.getReference(), newPath.getReference());
-    addPointIncomingPath(destPoint.getReference(), newPath.getReference());
-
-    return newPath;
   }
 
   /**
@@ -1133,20 +1131,13 @@ public class PlantModelManager
    *
    * @param to The transfer object from which to create the new location type.
    * @return The newly created location type.
-   * @throws ObjectExistsException If an object with the new object's name already exists.
    */
-  private LocationType createLocationType(LocationTypeCreationTO to)
-      throws ObjectExistsException {
-    LocationType newType = new LocationType(to.getName())
+  private LocationType createLocationType(LocationTypeCreationTO to) {
+    return new LocationType(to.getName())
         .withAllowedOperations(to.getAllowedOperations())
         .withAllowedPeripheralOperations(to.getAllowedPeripheralOperations())
         .withProperties(to.getProperties())
         .withLayout(new LocationType.Layout(to.getLayout().getLocationRepresentation()));
-    getObjectRepo().addObject(newType);
-    emitObjectEvent(newType,
-                    null,
-                    TCSObjectEvent.Type.OBJECT_CREATED);
-    return newType;
   }
 
   /**
@@ -1154,13 +1145,13 @@ public class PlantModelManager
    * default values.
    *
    * @param to The transfer object from which to create the new location type.
+   * @param newObjects The new objects created so far, mapped by their names.
    * @return The newly created location.
-   * @throws ObjectExistsException If an object with the new object's name already exists.
    * @throws ObjectUnknownException If any object referenced in the TO does not exist.
    */
-  private Location createLocation(LocationCreationTO to)
-      throws ObjectUnknownException, ObjectExistsException {
-    LocationType type = getObjectRepo().getObject(LocationType.class, to.getTypeName());
+  private Location createLocation(LocationCreationTO to, Map<String, TCSObject<?>> newObjects)
+      throws ObjectUnknownException {
+    LocationType type = getNewObject(newObjects, LocationType.class, to.getTypeName());
     Location newLocation = new Location(to.getName(), type.getReference())
         .withPosition(to.getPosition())
         .withLocked(to.isLocked())
@@ -1172,35 +1163,12 @@ public class PlantModelManager
 
     Set<Location.Link> locationLinks = new HashSet<>();
     for (Map.Entry<String, Set<String>> linkEntry : to.getLinks().entrySet()) {
-      Point point = getObjectRepo().getObject(Point.class, linkEntry.getKey());
+      Point point = getNewObject(newObjects, Point.class, linkEntry.getKey());
       Location.Link link = new Location.Link(newLocation.getReference(), point.getReference())
           .withAllowedOperations(linkEntry.getValue());
       locationLinks.add(link);
     }
-    newLocation = newLocation.withAttachedLinks(locationLinks);
-
-    getObjectRepo().addObject(newLocation);
-    emitObjectEvent(newLocation,
-                    null,
-                    TCSObjectEvent.Type.OBJECT_CREATED);
-
-    // Add the location's links to the respective points, too.
-    for (Location.Link link : locationLinks) {
-      Point point = getObjectRepo().getObject(Point.class, link.getPoint());
-
-      Set<Location.Link> pointLinks = new HashSet<>(point.getAttachedLinks());
-      pointLinks.add(link);
-
-      Point previousPointState = point;
-      point = point.withAttachedLinks(pointLinks);
-      getObjectRepo().replaceObject(point);
-
-      emitObjectEvent(point,
-                      previousPointState,
-                      TCSObjectEvent.Type.OBJECT_MODIFIED);
-    }
-
-    return newLocation;
+    return newLocation.withAttachedLinks(locationLinks);
   }
 
   /**
@@ -1209,11 +1177,9 @@ public class PlantModelManager
    *
    * @param to The transfer object from which to create the new group.
    * @return The newly created group.
-   * @throws ObjectExistsException If an object with the new object's name already exists.
    */
-  private Vehicle createVehicle(VehicleCreationTO to)
-      throws ObjectExistsException {
-    Vehicle newVehicle = new Vehicle(to.getName())
+  private Vehicle createVehicle(VehicleCreationTO to) {
+    return new Vehicle(to.getName())
         .withLength(to.getLength())
         .withEnergyLevelGood(to.getEnergyLevelGood())
         .withEnergyLevelCritical(to.getEnergyLevelCritical())
@@ -1223,11 +1189,6 @@ public class PlantModelManager
         .withMaxReverseVelocity(to.getMaxReverseVelocity())
         .withProperties(to.getProperties())
         .withLayout(new Vehicle.Layout(to.getLayout().getRouteColor()));
-    getObjectRepo().addObject(newVehicle);
-    emitObjectEvent(newVehicle,
-                    null,
-                    TCSObjectEvent.Type.OBJECT_CREATED);
-    return newVehicle;
   }
 
   /**
@@ -1235,31 +1196,25 @@ public class PlantModelManager
    * default values.
    *
    * @param to The transfer object from which to create the new block.
+   * @param newObjects The new objects created so far, mapped by their names.
    * @return The newly created block.
-   * @throws ObjectExistsException If an object with the new object's name already exists.
    * @throws ObjectUnknownException If any object referenced in the TO does not exist.
    */
-  private Block createBlock(BlockCreationTO to)
-      throws ObjectExistsException, ObjectUnknownException {
+  private Block createBlock(BlockCreationTO to, Map<String, TCSObject<?>> newObjects)
+      throws ObjectUnknownException {
     Set<TCSResourceReference<?>> members = new HashSet<>();
     for (String memberName : to.getMemberNames()) {
-      TCSObject<?> object = getObjectRepo().getObject(memberName);
+      TCSObject<?> object = newObjects.get(memberName);
       if (!(object instanceof TCSResource)) {
         throw new ObjectUnknownException(memberName);
       }
       members.add(((TCSResource) object).getReference());
     }
-    Block newBlock = new Block(to.getName())
+    return new Block(to.getName())
         .withType(to.getType())
         .withMembers(members)
         .withProperties(to.getProperties())
         .withLayout(new Block.Layout(to.getLayout().getColor()));
-    getObjectRepo().addObject(newBlock);
-    emitObjectEvent(newBlock,
-                    null,
-                    TCSObjectEvent.Type.OBJECT_CREATED);
-    // Return the newly created block.
-    return newBlock;
   }
 
   /**
@@ -1267,30 +1222,101 @@ public class PlantModelManager
    * default values.
    *
    * @param to The transfer object from which to create the new group.
+   * @param newObjects The new objects created so far, mapped by their names.
    * @return The newly created group.
-   * @throws ObjectExistsException If an object with the new object's name already exists.
    * @throws ObjectUnknownException If any object referenced in the TO does not exist.
    */
   @Deprecated
-  private org.opentcs.data.model.Group createGroup(org.opentcs.access.to.model.GroupCreationTO to)
-      throws ObjectExistsException, ObjectUnknownException {
+  private org.opentcs.data.model.Group createGroup(org.opentcs.access.to.model.GroupCreationTO to,
+                                                   Map<String, TCSObject<?>> newObjects)
+      throws ObjectUnknownException {
     Set<TCSObjectReference<?>> members = new HashSet<>();
     for (String memberName : to.getMemberNames()) {
-      TCSObject<?> object = getObjectRepo().getObject(memberName);
+      TCSObject<?> object = newObjects.get(memberName);
       if (object == null) {
         throw new ObjectUnknownException(memberName);
       }
       members.add(object.getReference());
     }
-    org.opentcs.data.model.Group newGroup = new org.opentcs.data.model.Group(to.getName())
+    return new org.opentcs.data.model.Group(to.getName())
         .withMembers(members)
         .withProperties(to.getProperties());
-    getObjectRepo().addObject(newGroup);
-    emitObjectEvent(newGroup,
-                    null,
-                    TCSObjectEvent.Type.OBJECT_CREATED);
-    // Return the newly created group.
-    return newGroup;
+  }
+
+  /**
+   * Attaches the new paths and location links to their respective new points.
+   *
+   * @param newObjects The new objects, mapped by their names.
+   */
+  private void connectPoints(Map<String, TCSObject<?>> newObjects) {
+    Map<String, Set<TCSObjectReference<Path>>> incomingPaths = new HashMap<>();
+    Map<String, Set<TCSObjectReference<Path>>> outgoingPaths = new HashMap<>();
+    Map<String, Set<Location.Link>> attachedLinks = new HashMap<>();
+
+    for (TCSObject<?> object : newObjects.values()) {
+      if (object instanceof Path) {
+        Path path = (Path) object;
+        outgoingPaths.computeIfAbsent(path.getSourcePoint().getName(), name -> new HashSet<>())
+            .add(path.getReference());
+        incomingPaths.computeIfAbsent(path.getDestinationPoint().getName(),
+                                      name -> new HashSet<>())
+            .add(path.getReference());
+      }
+      else if (object instanceof Location) {
+        for (Location.Link link : ((Location) object).getAttachedLinks()) {
+          attachedLinks.computeIfAbsent(link.getPoint().getName(), name -> new HashSet<>())
+              .add(link);
+        }
+      }
+    }
+
+    for (Map.Entry<String, TCSObject<?>> entry : newObjects.entrySet()) {
+      if (entry.getValue() instanceof Point) {
+        String pointName = entry.getKey();
+        entry.setValue(
+            ((Point) entry.getValue())
+                .withIncomingPaths(incomingPaths.getOrDefault(pointName, Set.of()))
+                .withOutgoingPaths(outgoingPaths.getOrDefault(pointName, Set.of()))
+                .withAttachedLinks(attachedLinks.getOrDefault(pointName, Set.of()))
+        );
+      }
+    }
+  }
+
+  /**
+   * Adds the given object to the given map of new objects.
+   *
+   * @param newObjects The new objects created so far, mapped by their names.
+   * @param newObject The object to add.
+   * @throws ObjectExistsException If an object with the new object's name already exists.
+   */
+  private void addNewObject(Map<String, TCSObject<?>> newObjects, TCSObject<?> newObject)
+      throws ObjectExistsException {
+    if (newObjects.putIfAbsent(newObject.getName(), newObject) != null) {
+      throw new ObjectExistsException("Object name already exists: " + newObject.getName());
+    }
+  }
+
+  /**
+   * Returns an object from the given map of new objects.
+   *
+   * @param <T> The object's type.
+   * @param newObjects The new objects created so far, mapped by their names.
+   * @param clazz The class of the object to be returned.
+   * @param name The name of the object to be returned.
+   * @return The named object.
+   * @throws ObjectUnknownException If no object with the given name exists in the given map or if
+   * an object exists but is not an instance of the given class.
+   */
+  private <T extends TCSObject<T>> T getNewObject(Map<String, TCSObject<?>> newObjects,
+                                                  Class<T> clazz,
+                                                  String name)
+      throws ObjectUnknownException {
+    TCSObject<?> object = newObjects.get(name);
+    if (!clazz.isInstance(object)) {
+      throw new ObjectUnknownException(name);
+    }
+    return clazz.cast(object);
   }
 
   /**
@@ -1442,64 +1468,6 @@ public class PlantModelManager
     emitObjectEvent(newVehicle, oldVehicle, TCSObjectEvent.Type.OBJECT_MODIFIED);
   }
 
-  /**
-   * Adds an incoming path to a point.
-   *
-   * @param pointRef A reference to the point to be modified.
-   * @param pathRef A reference to the path.
-   * @return The modified point.
-   * @throws ObjectUnknownException If the referenced point or path do not
-   * exist.
-   */
-  private Point addPointIncomingPath(TCSObjectReference<Point> pointRef,
-                                     TCSObjectReference<Path> pathRef)
-      throws ObjectUnknownException {
-    Point point = getObjectRepo().getObject(Point.class, pointRef);
-    Path path = getObjectRepo().getObject(Path.class, pathRef);
-    // Check if the point really is the path's destination point.
-    if (!path.getDestinationPoint().equals(point.getReference())) {
-      throw new IllegalArgumentException("Point is not the path's destination.");
-    }
-    Path previousState = path;
-    Set<TCSObjectReference<Path>> incomingPaths = new HashSet<>(point.getIncomingPaths());
-    incomingPaths.add(path.getReference());
-    point = point.withIncomingPaths(incomingPaths);
-    getObjectRepo().replaceObject(point);
-    emitObjectEvent(point,
-                    previousState,
-                    TCSObjectEvent.Type.OBJECT_MODIFIED);
-    return point;
-  }
-
-  /**
-   * Adds an outgoing path to a point.
-   *
-   * @param pointRef A reference to the point to be modified.
-   * @param pathRef A reference to the path.
-   * @return The modified point.
-   * @throws ObjectUnknownException If the referenced point or path do not
-   * exist.
-   */
-  private Point addPointOutgoingPath(TCSObjectReference<Point> pointRef,
-                                     TCSObjectReference<Path> pathRef)
-      throws ObjectUnknownException {
-    Point point = getObjectRepo().getObject(Point.class, pointRef);
-    Path path = getObjectRepo().getObject(Path.class, pathRef);
-    // Check if the point really is the path's source.
-    if (!path.getSourcePoint().equals(point.getReference())) {
-      throw new IllegalArgumentException("Point is not the path's source.");
-    }
-    Path previousState = path;
-    Set<TCSObjectReference<Path>> outgoingPaths = new HashSet<>(point.getOutgoingPaths());
-    outgoingPaths.add(path.getReference());
-    point = point.withOutgoingPaths(outgoingPaths);
-    getObjectRepo().replaceObject(point);
-    emitObjectEvent(point,
-                    previousState,
-                    TCSObjectEvent.Type.OBJECT_MODIFIED);
-    return point;
-  }
-
   private static List<Set<TCSResourceReference<?>>> unmodifiableCopy(
       List<Set<TCSResourceReference<?>>> resources) {
     List<Set<TCSResourceReference<?>>> result = new ArrayList<>();
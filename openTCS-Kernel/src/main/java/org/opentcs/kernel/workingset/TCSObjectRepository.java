@@ -7,7 +7,11 @@
  */
 package org.opentcs.kernel.workingset;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
@@ -65,6 +69,44 @@ public class TCSObjectRepository {
     objectsByName.put(newObject.getName(), newObject);
   }
 
+  /**
+   * Adds the given new objects to the pool.
+   * <p>
+   * Either all of the given objects are added or, if any of their names is not unique, none.
+   * Compared to adding the objects one by one, maps that do not contain any objects, yet, are
+   * created with sufficient capacity for all new objects of the respective class.
+   * </p>
+   *
+   * @param newObjects The objects to be added to the pool.
+   * @throws ObjectExistsException If an object with the same name as one of the new ones already
+   * exists in this pool, or if the names of the new objects are not unique.
+   */
+  public void addObjects(@Nonnull Collection<? extends TCSObject<?>> newObjects)
+      throws ObjectExistsException {
+    requireNonNull(newObjects, "newObjects");
+
+    Map<Class<?>, List<TCSObject<?>>> newObjectsByClass = new HashMap<>();
+    Set<String> newNames = new HashSet<>(capacityFor(newObjects.size()));
+    for (TCSObject<?> newObject : newObjects) {
+      if (!newNames.add(newObject.getName()) || containsName(newObject.getName())) {
+        throw new ObjectExistsException("Object name already exists: " + newObject.getName());
+      }
+      newObjectsByClass.computeIfAbsent(newObject.getClass(), clazz -> new ArrayList<>())
+          .add(newObject);
+    }
+
+    for (Map.Entry<Class<?>, List<TCSObject<?>>> entry : newObjectsByClass.entrySet()) {
+      Map<String, TCSObject<?>> objectsByName = objects.get(entry.getKey());
+      if (objectsByName == null || objectsByName.isEmpty()) {
+        objectsByName = new HashMap<>(capacityFor(entry.getValue().size()));
+        objects.put(entry.getKey(), objectsByName);
+      }
+      for (TCSObject<?> newObject : entry.getValue()) {
+        objectsByName.put(newObject.getName(), newObject);
+      }
+    }
+  }
+
   /**
    * Uses the given object to replace an object in the pool with same name.
    *
@@ -300,6 +342,15 @@ public class TCSObjectRepository {
   }
 
   private boolean containsName(String name) {
-    return objects.values().stream().anyMatch(objectsByName -> objectsByName.containsKey(name));
+    for (Map<String, TCSObject<?>> objectsByName : objects.values()) {
+      if (objectsByName.containsKey(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int capacityFor(int expectedSize) {
+    return (int) (expectedSize / 0.75f) + 1;
   }
 }
@@ -33,6 +33,8 @@ import org.opentcs.kernel.extensions.controlcenter.vehicles.AttachmentManager;
 import org.opentcs.kernel.peripherals.LocalPeripheralControllerPool;
 import org.opentcs.kernel.peripherals.PeripheralAttachmentManager;
 import org.opentcs.kernel.persistence.ModelPersister;
+import org.opentcs.kernel.persistence.OrderArchive;
+import org.opentcs.kernel.persistence.OrderJournal;
 import org.opentcs.kernel.vehicles.LocalVehicleControllerPool;
 import org.opentcs.kernel.workingset.PlantModelManager;
 import org.opentcs.kernel.workingset.PeripheralJobPoolManager;
@@ -178,7 +180,9 @@ public class KernelStateOperatingTest {
             extensions,
             attachmentManager,
             mock(PeripheralAttachmentManager.class),
-            vehicleService
+            vehicleService,
+            mock(OrderJournal.class),
+            mock(OrderArchive.class)
         )
     );
   }
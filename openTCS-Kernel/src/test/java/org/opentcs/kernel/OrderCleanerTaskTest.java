@@ -0,0 +1,340 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.TransportOrderCleanupApproval;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.data.peripherals.PeripheralJob;
+import org.opentcs.data.peripherals.PeripheralOperation;
+import org.opentcs.kernel.persistence.OrderArchive;
+import org.opentcs.kernel.workingset.PeripheralJobPoolManager;
+import org.opentcs.kernel.workingset.PrefixedUlidObjectNameProvider;
+import org.opentcs.kernel.workingset.TCSObjectRepository;
+import org.opentcs.kernel.workingset.TransportOrderPoolManager;
+import org.opentcs.util.event.SimpleEventBus;
+
+/**
+ * Tests for {@link OrderCleanerTask}.
+ */
+public class OrderCleanerTaskTest {
+
+  /**
+   * A creation time old enough for objects to be removed.
+   */
+  private static final Instant OLD = Instant.now().minusSeconds(7200);
+
+  private Object globalSyncObject;
+
+  private TCSObjectRepository objectRepo;
+
+  private SimpleEventBus eventBus;
+
+  private TransportOrderPoolManager orderPoolManager;
+
+  private PeripheralJobPoolManager jobPoolManager;
+
+  private OrderPoolConfiguration configuration;
+
+  private OrderArchive orderArchive;
+
+  private TransportOrderCleanupApproval orderCleanupApproval;
+
+  private Point point;
+
+  private Location location;
+
+  private Queue<Runnable> kernelTasks;
+
+  private Queue<Runnable> archiveTasks;
+
+  private OrderCleanerTask cleanerTask;
+
+  @BeforeEach
+  public void setUp()
+      throws InterruptedException {
+    globalSyncObject = new Object();
+    objectRepo = new TCSObjectRepository();
+    eventBus = new SimpleEventBus();
+    orderPoolManager = new TransportOrderPoolManager(objectRepo,
+                                                     eventBus,
+                                                     new PrefixedUlidObjectNameProvider());
+    jobPoolManager = new PeripheralJobPoolManager(objectRepo,
+                                                  eventBus,
+                                                  new PrefixedUlidObjectNameProvider());
+    configuration = mock(OrderPoolConfiguration.class);
+    when(configuration.sweepAge()).thenReturn(3600 * 1000);
+    when(configuration.sweepBatchSize()).thenReturn(2);
+    orderArchive = mock(OrderArchive.class);
+    orderCleanupApproval = mock(TransportOrderCleanupApproval.class);
+    when(orderCleanupApproval.test(any())).thenReturn(true);
+
+    LocationType locationType = new LocationType("some-location-type");
+    point = new Point("some-point");
+    location = new Location("some-location", locationType.getReference());
+    objectRepo.addObject(locationType);
+    objectRepo.addObject(point);
+    objectRepo.addObject(location);
+
+    kernelTasks = new ArrayDeque<>();
+    Executor kernelExecutor = kernelTasks::add;
+    archiveTasks = new ArrayDeque<>();
+    ExecutorService archiveExecutor = mock(ExecutorService.class);
+    doAnswer(invocation -> archiveTasks.add(invocation.getArgument(0)))
+        .when(archiveExecutor).execute(any());
+    when(archiveExecutor.awaitTermination(anyLong(), any(TimeUnit.class))).thenReturn(true);
+    cleanerTask = new OrderCleanerTask(globalSyncObject,
+                                       orderPoolManager,
+                                       jobPoolManager,
+                                       Set.of(orderCleanupApproval),
+                                       Set.of(),
+                                       Set.of(),
+                                       configuration,
+                                       orderArchive,
+                                       new OrderCleanupIndex(eventBus, objectRepo),
+                                       kernelExecutor,
+                                       () -> archiveExecutor);
+    cleanerTask.initialize();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    cleanerTask.terminate();
+  }
+
+  @Test
+  public void removeOldOrdersInFinalStateInBatches() {
+    for (int i = 0; i < 5; i++) {
+      add(createOrder("old-order-" + i, OLD).withState(TransportOrder.State.FINISHED));
+    }
+    add(createOrder("unfinished-order", OLD));
+    add(createOrder("new-order", Instant.now()).withState(TransportOrder.State.FINISHED));
+
+    sweep();
+
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(2));
+    assertThat(objectRepo.getObjectOrNull(TransportOrder.class, "unfinished-order").getName(),
+               is("unfinished-order"));
+    assertThat(objectRepo.getObjectOrNull(TransportOrder.class, "new-order").getName(),
+               is("new-order"));
+  }
+
+  @Test
+  public void sweepEachBatchInKernelTaskOfItsOwn() {
+    for (int i = 0; i < 5; i++) {
+      add(createOrder("old-order-" + i, OLD).withState(TransportOrder.State.FINISHED));
+    }
+
+    cleanerTask.run();
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(3));
+    assertThat(kernelTasks, hasSize(1));
+
+    kernelTasks.poll().run();
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(1));
+
+    // Sweeps are not started while another one is still in progress.
+    cleanerTask.run();
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(1));
+
+    sweep();
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(0));
+  }
+
+  @Test
+  public void keepOrdersNotApproved() {
+    TransportOrder order = add(createOrder("order-1", OLD)
+        .withState(TransportOrder.State.FINISHED));
+    when(orderCleanupApproval.test(any())).thenReturn(false);
+
+    sweep();
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(1));
+
+    // Orders not approved before are checked again in the next sweep.
+    when(orderCleanupApproval.test(any())).thenReturn(true);
+    sweep();
+    assertThat(objectRepo.getObjectOrNull(order.getReference()), is(nullValue()));
+  }
+
+  @Test
+  public void removeRelatedPeripheralJobsWithOrder() {
+    TransportOrder order = add(createOrder("order-1", OLD)
+        .withState(TransportOrder.State.FINISHED));
+    PeripheralJob job = add(createJob("job-1", order.getReference()));
+
+    // Orders with related peripheral jobs that are not in a final state are kept.
+    sweep();
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(1));
+
+    replace(job.withState(PeripheralJob.State.FINISHED));
+    sweep();
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(0));
+    assertThat(objectRepo.getObjects(PeripheralJob.class), hasSize(0));
+  }
+
+  @Test
+  public void removeFinishedSequencesWithOrders() {
+    OrderSequence sequence = add(new OrderSequence("sequence-1"));
+    TransportOrder order = add(createOrder("order-1", OLD)
+        .withWrappingSequence(sequence.getReference())
+        .withState(TransportOrder.State.FINISHED));
+    add(createJob("job-1", order.getReference()).withState(PeripheralJob.State.FINISHED));
+    replace(sequence.withOrder(order.getReference()).withComplete(true).withFinished(true));
+
+    sweep();
+
+    assertThat(objectRepo.getObjects(OrderSequence.class), hasSize(0));
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(0));
+    assertThat(objectRepo.getObjects(PeripheralJob.class), hasSize(0));
+  }
+
+  @Test
+  public void keepOrdersIfArchivingFails()
+      throws IOException {
+    add(createOrder("order-1", OLD).withState(TransportOrder.State.FINISHED));
+    when(orderArchive.isEnabled()).thenReturn(true);
+    doThrow(new IOException("Disk full")).when(orderArchive).commit();
+
+    sweep();
+
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(1));
+  }
+
+  @Test
+  public void archiveOrdersWithoutHoldingGlobalLock()
+      throws IOException {
+    TransportOrder order = add(createOrder("order-1", OLD)
+        .withState(TransportOrder.State.FINISHED));
+    when(orderArchive.isEnabled()).thenReturn(true);
+    List<Boolean> lockHeld = new ArrayList<>();
+    doAnswer(invocation -> lockHeld.add(Thread.holdsLock(globalSyncObject)))
+        .when(orderArchive).commit();
+
+    sweep();
+
+    verify(orderArchive).archive(order);
+    assertThat(lockHeld, contains(false));
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(0));
+  }
+
+  @Test
+  public void archiveOrdersOutsideKernelTasks()
+      throws IOException {
+    TransportOrder order = add(createOrder("order-1", OLD)
+        .withState(TransportOrder.State.FINISHED));
+    when(orderArchive.isEnabled()).thenReturn(true);
+
+    cleanerTask.run();
+    assertThat(kernelTasks, is(empty()));
+    assertThat(archiveTasks, hasSize(1));
+    verify(orderArchive, never()).commit();
+
+    // The order is written to the archive by the archive executor, but removed by the kernel
+    // executor.
+    archiveTasks.poll().run();
+    verify(orderArchive).archive(order);
+    verify(orderArchive).commit();
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(1));
+    assertThat(kernelTasks, hasSize(1));
+
+    kernelTasks.poll().run();
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(0));
+  }
+
+  @Test
+  public void keepOrdersModifiedWhileArchiving()
+      throws IOException {
+    TransportOrder order = add(createOrder("order-1", OLD)
+        .withState(TransportOrder.State.FINISHED));
+    when(orderArchive.isEnabled()).thenReturn(true);
+    doAnswer(invocation -> replace(order.withProperty("some-key", "some-value")))
+        .when(orderArchive).commit();
+
+    sweep();
+
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(1));
+  }
+
+  private void sweep() {
+    cleanerTask.run();
+    while (!kernelTasks.isEmpty() || !archiveTasks.isEmpty()) {
+      if (!kernelTasks.isEmpty()) {
+        kernelTasks.poll().run();
+      }
+      else {
+        archiveTasks.poll().run();
+      }
+    }
+  }
+
+  private TransportOrder createOrder(String name, Instant creationTime) {
+    return new TransportOrder(name,
+                              List.of(new DriveOrder(new DriveOrder.Destination(
+                                  point.getReference()))))
+        .withCreationTime(creationTime);
+  }
+
+  private PeripheralJob createJob(String name, TCSObjectReference<TransportOrder> orderRef) {
+    return new PeripheralJob(name,
+                             "some-token",
+                             new PeripheralOperation(
+                                 location.getReference(),
+                                 "some-operation",
+                                 PeripheralOperation.ExecutionTrigger.AFTER_MOVEMENT,
+                                 true
+                             ))
+        .withRelatedTransportOrder(orderRef)
+        .withCreationTime(OLD);
+  }
+
+  private <T extends TCSObject<T>> T add(T object) {
+    objectRepo.addObject(object);
+    orderPoolManager.emitObjectEvent(object, null, TCSObjectEvent.Type.OBJECT_CREATED);
+    return object;
+  }
+
+  private <T extends TCSObject<T>> T replace(T object) {
+    TCSObject<?> previous = objectRepo.getObject(object.getReference());
+    objectRepo.replaceObject(object);
+    orderPoolManager.emitObjectEvent(object, previous, TCSObjectEvent.Type.OBJECT_MODIFIED);
+    return object;
+  }
+}
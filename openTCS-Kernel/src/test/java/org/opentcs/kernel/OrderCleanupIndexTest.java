@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel;
+
+import java.time.Instant;
+import java.util.List;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.data.peripherals.PeripheralJob;
+import org.opentcs.data.peripherals.PeripheralOperation;
+import org.opentcs.kernel.workingset.TCSObjectRepository;
+import org.opentcs.util.event.SimpleEventBus;
+
+/**
+ * Tests for {@link OrderCleanupIndex}.
+ */
+public class OrderCleanupIndexTest {
+
+  private static final Instant TIME_1 = Instant.parse("2023-05-01T10:00:00Z");
+
+  private static final Instant TIME_2 = Instant.parse("2023-05-01T11:00:00Z");
+
+  private TCSObjectRepository objectRepo;
+
+  private SimpleEventBus eventBus;
+
+  private Point point;
+
+  private Location location;
+
+  private OrderCleanupIndex index;
+
+  @BeforeEach
+  public void setUp() {
+    objectRepo = new TCSObjectRepository();
+    eventBus = new SimpleEventBus();
+
+    LocationType locationType = new LocationType("some-location-type");
+    point = new Point("some-point");
+    location = new Location("some-location", locationType.getReference());
+    objectRepo.addObject(locationType);
+    objectRepo.addObject(point);
+    objectRepo.addObject(location);
+
+    index = new OrderCleanupIndex(eventBus, objectRepo);
+    index.initialize();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    index.terminate();
+  }
+
+  @Test
+  public void includeOnlyObjectsInFinalState() {
+    TransportOrder order1 = add(createOrder("order-1", TIME_1));
+    add(createOrder("order-2", TIME_1));
+    replace(order1.withState(TransportOrder.State.FINISHED));
+
+    assertThat(index.getRemovalCandidates(TIME_2), contains(order1.getReference()));
+  }
+
+  @Test
+  public void orderCandidatesByCreationTime() {
+    TransportOrder order1 = add(createOrder("order-1", TIME_2)
+        .withState(TransportOrder.State.FAILED));
+    PeripheralJob job = add(createJob("job-1", null, TIME_1)
+        .withState(PeripheralJob.State.FINISHED));
+
+    assertThat(index.getRemovalCandidates(TIME_1), contains(job.getReference()));
+    assertThat(index.getRemovalCandidates(TIME_2),
+               contains(job.getReference(), order1.getReference()));
+  }
+
+  @Test
+  public void includeFinishedSequencesByCreationTimeOfLastOrder() {
+    OrderSequence sequence = add(new OrderSequence("sequence-1"));
+    TransportOrder order1 = add(createOrder("order-1", TIME_1)
+        .withWrappingSequence(sequence.getReference())
+        .withState(TransportOrder.State.FINISHED));
+    TransportOrder order2 = add(createOrder("order-2", TIME_2)
+        .withWrappingSequence(sequence.getReference())
+        .withState(TransportOrder.State.FINISHED));
+    sequence = replace(sequence.withOrder(order1.getReference()).withOrder(order2.getReference())
+        .withComplete(true)
+        .withFinished(true));
+
+    // Orders belonging to a sequence are removed along with it.
+    assertThat(index.getRemovalCandidates(TIME_1), is(empty()));
+    assertThat(index.getRemovalCandidates(TIME_2), contains(sequence.getReference()));
+  }
+
+  @Test
+  public void excludeRemovedObjects() {
+    TransportOrder order = add(createOrder("order-1", TIME_1)
+        .withState(TransportOrder.State.FINISHED));
+    remove(order);
+
+    assertThat(index.getRemovalCandidates(TIME_2), is(empty()));
+  }
+
+  @Test
+  public void trackPeripheralJobsRelatedToOrders() {
+    TransportOrder order = add(createOrder("order-1", TIME_1));
+    PeripheralJob job1 = add(createJob("job-1", order.getReference(), TIME_1)
+        .withState(PeripheralJob.State.FINISHED));
+    PeripheralJob job2 = add(createJob("job-2", order.getReference(), TIME_1));
+
+    assertThat(index.getRelatedPeripheralJobs(order.getReference()),
+               containsInAnyOrder(job1.getReference(), job2.getReference()));
+    // Jobs related to a transport order are removed along with it.
+    assertThat(index.getRemovalCandidates(TIME_2), is(empty()));
+
+    remove(job1);
+    assertThat(index.getRelatedPeripheralJobs(order.getReference()),
+               contains(job2.getReference()));
+  }
+
+  @Test
+  public void indexExistingObjectsOnInitialization() {
+    index.terminate();
+    TransportOrder order = createOrder("order-1", TIME_1).withState(TransportOrder.State.FAILED);
+    objectRepo.addObject(order);
+
+    index.initialize();
+
+    assertThat(index.getRemovalCandidates(TIME_2), contains(order.getReference()));
+  }
+
+  private TransportOrder createOrder(String name, Instant creationTime) {
+    return new TransportOrder(name,
+                              List.of(new DriveOrder(new DriveOrder.Destination(
+                                  point.getReference()))))
+        .withCreationTime(creationTime);
+  }
+
+  private PeripheralJob createJob(String name,
+                                  TCSObjectReference<TransportOrder> orderRef,
+                                  Instant creationTime) {
+    return new PeripheralJob(name,
+                             "some-token",
+                             new PeripheralOperation(
+                                 location.getReference(),
+                                 "some-operation",
+                                 PeripheralOperation.ExecutionTrigger.AFTER_MOVEMENT,
+                                 true
+                             ))
+        .withRelatedTransportOrder(orderRef)
+        .withCreationTime(creationTime);
+  }
+
+  private <T extends TCSObject<T>> T add(T object) {
+    objectRepo.addObject(object);
+    eventBus.onEvent(new TCSObjectEvent(object, null, TCSObjectEvent.Type.OBJECT_CREATED));
+    return object;
+  }
+
+  private <T extends TCSObject<T>> T replace(T object) {
+    TCSObject<?> previous = objectRepo.getObject(object.getReference());
+    objectRepo.replaceObject(object);
+    eventBus.onEvent(new TCSObjectEvent(object, previous, TCSObjectEvent.Type.OBJECT_MODIFIED));
+    return object;
+  }
+
+  private void remove(TCSObject<?> object) {
+    objectRepo.removeObject(object.getReference());
+    eventBus.onEvent(new TCSObjectEvent(null, object, TCSObjectEvent.Type.OBJECT_REMOVED));
+  }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentcs.data.ObjectHistory;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+
+/**
+ * Tests for {@link ArchiveFile}.
+ */
+public class ArchiveFileTest {
+
+  @TempDir
+  File dataDirectory;
+
+  private File file;
+
+  private ArchiveFile archive;
+
+  @BeforeEach
+  public void setUp() {
+    file = new File(dataDirectory, "orders.archive");
+    archive = new ArchiveFile(file);
+  }
+
+  @AfterEach
+  public void tearDown()
+      throws IOException {
+    archive.close();
+  }
+
+  @Test
+  public void createEmptyFileOnOpen()
+      throws IOException {
+    assertThat(archive.open(), hasSize(0));
+    assertThat(file.isFile(), is(true));
+  }
+
+  @Test
+  public void indexCommittedRecordsOnOpen()
+      throws IOException {
+    archive.open();
+    archive.append(createOrder("order-1"), Instant.ofEpochMilli(1000));
+    archive.append(new OrderSequence("sequence-1"), Instant.ofEpochMilli(2000));
+    archive.commit();
+    archive.append(createOrder("order-2"), Instant.ofEpochMilli(3000));
+
+    List<ArchiveFile.Entry> entries = archive.open();
+
+    assertThat(entries, hasSize(2));
+    assertThat(entries.get(0).getName(), is("order-1"));
+    assertThat(entries.get(0).getClassName(), is(TransportOrder.class.getName()));
+    assertThat(entries.get(0).getArchiveTime(), is(1000L));
+    assertThat(entries.get(1).getName(), is("sequence-1"));
+    assertThat(entries.get(1).getClassName(), is(OrderSequence.class.getName()));
+    assertThat(entries.get(1).getArchiveTime(), is(2000L));
+  }
+
+  @Test
+  public void readObjectsByIndexEntry()
+      throws IOException {
+    archive.open();
+    ArchiveFile.Entry entry1 = archive.append(createOrder("order-1"), Instant.ofEpochMilli(1000));
+    ArchiveFile.Entry entry2 = archive.append(createOrder("order-2"), Instant.ofEpochMilli(2000));
+    archive.commit();
+
+    TCSObject<?> object = archive.read(entry2);
+    assertThat(object, is(instanceOf(TransportOrder.class)));
+    assertThat(object.getName(), is("order-2"));
+    assertThat(archive.read(entry1).getName(), is("order-1"));
+
+    // Entries from indexing the file must refer to the same records.
+    List<ArchiveFile.Entry> entries = archive.open();
+    assertThat(entries.get(1).getOffset(), is(entry2.getOffset()));
+    assertThat(archive.read(entries.get(1)).getName(), is("order-2"));
+  }
+
+  @Test
+  public void discardRolledBackRecords()
+      throws IOException {
+    archive.open();
+    archive.append(createOrder("order-1"), Instant.ofEpochMilli(1000));
+    archive.commit();
+    archive.append(createOrder("order-2"), Instant.ofEpochMilli(2000));
+    archive.rollback();
+    ArchiveFile.Entry entry = archive.append(createOrder("order-3"), Instant.ofEpochMilli(3000));
+    archive.commit();
+
+    assertThat(archive.read(entry).getName(), is("order-3"));
+    assertThat(archive.open(), hasSize(2));
+  }
+
+  @Test
+  public void cutOffTruncatedRecordAtEnd()
+      throws IOException {
+    archive.open();
+    archive.append(createOrder("order-1"), Instant.ofEpochMilli(1000));
+    archive.append(createOrder("order-2"), Instant.ofEpochMilli(2000));
+    archive.commit();
+    archive.close();
+
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(raf.length() - 10);
+    }
+
+    List<ArchiveFile.Entry> entries = archive.open();
+    assertThat(entries, hasSize(1));
+    assertThat(entries.get(0).getName(), is("order-1"));
+
+    // Records appended after cutting off the truncated one must be readable, too.
+    ArchiveFile.Entry entry = archive.append(createOrder("order-3"), Instant.ofEpochMilli(3000));
+    archive.commit();
+    assertThat(archive.read(entry).getName(), is("order-3"));
+    assertThat(archive.open(), hasSize(2));
+  }
+
+  @Test
+  public void rejectFileWithUnknownFormat()
+      throws IOException {
+    Files.writeString(file.toPath(), "not an archive", StandardCharsets.UTF_8);
+
+    assertThrows(IOException.class, () -> archive.open());
+  }
+
+  @Test
+  public void rejectRecordsContainingUnexpectedClasses()
+      throws IOException {
+    archive.open();
+    ArchiveFile.Entry entry = archive.append(
+        createOrder("order-1")
+            .withHistoryEntry(new ObjectHistory.Entry("some-event", new AtomicInteger())),
+        Instant.ofEpochMilli(1000)
+    );
+    archive.commit();
+
+    assertThrows(InvalidClassException.class, () -> archive.read(entry));
+  }
+
+  private TransportOrder createOrder(String name) {
+    Point point = new Point("some-point");
+    return new TransportOrder(name,
+                              List.of(new DriveOrder(new DriveOrder.Destination(
+                                  point.getReference()))));
+  }
+}
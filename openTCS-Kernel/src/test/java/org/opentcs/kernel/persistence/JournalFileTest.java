@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentcs.data.ObjectHistory;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.data.peripherals.PeripheralJob;
+import org.opentcs.data.peripherals.PeripheralOperation;
+
+/**
+ * Tests for {@link JournalFile}.
+ */
+public class JournalFileTest {
+
+  @TempDir
+  File dataDirectory;
+
+  private File file;
+
+  private JournalFile journal;
+
+  @BeforeEach
+  public void setUp() {
+    file = new File(dataDirectory, "orders.journal");
+    journal = new JournalFile(file);
+  }
+
+  @AfterEach
+  public void tearDown()
+      throws IOException {
+    journal.close();
+  }
+
+  @Test
+  public void readEmptyIfNoJournalWritten()
+      throws IOException {
+    assertThat(journal.read().isPresent(), is(false));
+  }
+
+  @Test
+  public void readCommittedRecords()
+      throws IOException {
+    journal.create("some-model");
+    journal.append(JournalRecord.update(createOrder("order-1")));
+    journal.append(JournalRecord.removal("order-1"));
+    journal.commit(true);
+    journal.append(JournalRecord.update(createOrder("order-2")));
+    journal.commit(false);
+
+    Optional<JournalFile.Contents> result = journal.read();
+
+    assertThat(result.isPresent(), is(true));
+    assertThat(result.get().getModelName(), is("some-model"));
+    List<JournalRecord> records = result.get().getRecords();
+    assertThat(records, hasSize(3));
+    assertThat(records.get(0).getObject(), is(instanceOf(TransportOrder.class)));
+    assertThat(records.get(0).getName(), is("order-1"));
+    assertThat(records.get(1).isRemoval(), is(true));
+    assertThat(records.get(1).getName(), is("order-1"));
+    assertThat(records.get(2).getName(), is("order-2"));
+  }
+
+  @Test
+  public void ignoreUncommittedRecords()
+      throws IOException {
+    journal.create("some-model");
+    journal.append(JournalRecord.update(createOrder("order-1")));
+    journal.commit(true);
+    journal.append(JournalRecord.update(createOrder("order-2")));
+
+    assertThat(journal.read().get().getRecords(), hasSize(1));
+  }
+
+  @Test
+  public void discardExistingRecordsOnCreate()
+      throws IOException {
+    journal.create("some-model");
+    journal.append(JournalRecord.update(createOrder("order-1")));
+    journal.commit(true);
+    journal.create("other-model");
+
+    Optional<JournalFile.Contents> result = journal.read();
+
+    assertThat(result.get().getModelName(), is("other-model"));
+    assertThat(result.get().getRecords(), hasSize(0));
+  }
+
+  @Test
+  public void ignoreTruncatedRecordAtEnd()
+      throws IOException {
+    journal.create("some-model");
+    journal.append(JournalRecord.update(createOrder("order-1")));
+    journal.append(JournalRecord.update(createOrder("order-2")));
+    journal.commit(true);
+    journal.close();
+
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(raf.length() - 10);
+    }
+
+    List<JournalRecord> records = journal.read().get().getRecords();
+    assertThat(records, hasSize(1));
+    assertThat(records.get(0).getName(), is("order-1"));
+  }
+
+  @Test
+  public void ignoreCorruptRecordAndFollowingOnes()
+      throws IOException {
+    journal.create("some-model");
+    journal.append(JournalRecord.update(createOrder("order-1")));
+    journal.commit(true);
+    long secondRecordOffset = file.length();
+    journal.append(JournalRecord.update(createOrder("order-2")));
+    journal.append(JournalRecord.update(createOrder("order-3")));
+    journal.commit(true);
+    journal.close();
+
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      // Flip a byte in the payload of the second record.
+      raf.seek(secondRecordOffset + 20);
+      int value = raf.read();
+      raf.seek(secondRecordOffset + 20);
+      raf.write(value ^ 0xff);
+    }
+
+    List<JournalRecord> records = journal.read().get().getRecords();
+    assertThat(records, hasSize(1));
+    assertThat(records.get(0).getName(), is("order-1"));
+  }
+
+  @Test
+  public void readEmptyIfFormatUnknown()
+      throws IOException {
+    Files.writeString(file.toPath(), "not a journal", StandardCharsets.UTF_8);
+
+    assertThat(journal.read().isPresent(), is(false));
+  }
+
+  @Test
+  public void readAllKindsOfRecordedObjects()
+      throws IOException {
+    TransportOrder order = createOrder("order-1")
+        .withHistoryEntry(new ObjectHistory.Entry(
+            "some-event",
+            Collections.unmodifiableList(new ArrayList<>(List.of("some-reason")))
+        ));
+    Location location = new Location("some-location", new LocationType("some-type").getReference());
+    PeripheralOperation operation
+        = new PeripheralOperation(location.getReference(),
+                                  "some-operation",
+                                  PeripheralOperation.ExecutionTrigger.AFTER_MOVEMENT,
+                                  true);
+    journal.create("some-model");
+    journal.append(JournalRecord.update(order));
+    journal.append(JournalRecord.update(
+        new OrderSequence("sequence-1").withOrder(order.getReference())
+    ));
+    journal.append(JournalRecord.update(new PeripheralJob("job-1", "some-token", operation)));
+    journal.commit(true);
+
+    List<JournalRecord> records = journal.read().get().getRecords();
+
+    assertThat(records, hasSize(3));
+    assertThat(records.get(0).getObject().getHistory().getEntries().get(1).getSupplement(),
+               is(List.of("some-reason")));
+    assertThat(records.get(1).getObject(), is(instanceOf(OrderSequence.class)));
+    assertThat(records.get(2).getObject(), is(instanceOf(PeripheralJob.class)));
+  }
+
+  @Test
+  public void rejectRecordsContainingUnexpectedClasses()
+      throws IOException {
+    journal.create("some-model");
+    journal.append(JournalRecord.update(
+        createOrder("order-1")
+            .withHistoryEntry(new ObjectHistory.Entry("some-event", new AtomicInteger()))
+    ));
+    journal.commit(true);
+
+    assertThrows(InvalidClassException.class, () -> journal.read());
+  }
+
+  private TransportOrder createOrder(String name) {
+    Point point = new Point("some-point");
+    return new TransportOrder(name,
+                              List.of(new DriveOrder(new DriveOrder.Destination(
+                                  point.getReference()))));
+  }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+
+/**
+ * Tests for {@link ModelSnapshotFile}.
+ */
+public class ModelSnapshotFileTest {
+
+  @TempDir
+  File dataDirectory;
+
+  private File modelFile;
+
+  private File snapshotFile;
+
+  private ModelSnapshotFile snapshot;
+
+  @BeforeEach
+  public void setUp()
+      throws IOException {
+    modelFile = new File(dataDirectory, "model.xml");
+    snapshotFile = new File(dataDirectory, "model.bin");
+    Files.writeString(modelFile.toPath(), "<model version=\"0.0.4\"/>", StandardCharsets.UTF_8);
+    snapshot = new ModelSnapshotFile(snapshotFile, modelFile);
+  }
+
+  @Test
+  public void readEmptyIfNoSnapshotWritten() {
+    assertThat(snapshot.read().isPresent(), is(false));
+  }
+
+  @Test
+  public void readWrittenModel()
+      throws IOException {
+    snapshot.write(createTestModel());
+
+    Optional<PlantModelCreationTO> result = snapshot.read();
+
+    assertThat(result.isPresent(), is(true));
+    assertThat(result.get().getName(), is("some-model"));
+    assertThat(result.get().getPoints().get(0).getName(), is("some-point"));
+    assertThat(result.get().getVehicles().get(0).getName(), is("some-vehicle"));
+  }
+
+  @Test
+  public void readEmptyIfModelFileModified()
+      throws IOException {
+    snapshot.write(createTestModel());
+    Files.writeString(modelFile.toPath(), "<model version=\"0.0.3\"/>", StandardCharsets.UTF_8);
+
+    assertThat(snapshot.read().isPresent(), is(false));
+  }
+
+  @Test
+  public void readEmptyIfSnapshotCorrupt()
+      throws IOException {
+    snapshot.write(createTestModel());
+    try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+      file.seek(file.length() - 1);
+      int lastByte = file.read();
+      file.seek(file.length() - 1);
+      file.write(~lastByte);
+    }
+
+    assertThat(snapshot.read().isPresent(), is(false));
+  }
+
+  @Test
+  public void readEmptyIfPayloadLengthCorrupt()
+      throws IOException {
+    snapshot.write(createTestModel());
+    try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+      // The payload's length follows the magic number, the format version and two checksums.
+      file.seek(4 + 4 + 8 + 8);
+      file.writeInt(-1);
+    }
+
+    assertThat(snapshot.read().isPresent(), is(false));
+
+    try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+      file.seek(4 + 4 + 8 + 8);
+      file.writeInt(Integer.MAX_VALUE);
+    }
+
+    assertThat(snapshot.read().isPresent(), is(false));
+  }
+
+  @Test
+  public void readEmptyIfSnapshotTruncated()
+      throws IOException {
+    snapshot.write(createTestModel());
+    try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+      file.setLength(file.length() / 2);
+    }
+
+    assertThat(snapshot.read().isPresent(), is(false));
+  }
+
+  @Test
+  public void readEmptyIfSnapshotContainsUnexpectedClasses()
+      throws IOException {
+    snapshot.write(
+        createTestModel().withProperties(new ConcurrentHashMap<>(Map.of("some-key", "some-value")))
+    );
+
+    assertThat(snapshot.read().isPresent(), is(false));
+  }
+
+  @Test
+  public void deleteSnapshotFile()
+      throws IOException {
+    snapshot.write(createTestModel());
+    snapshot.delete();
+
+    assertThat(snapshotFile.exists(), is(false));
+    assertThat(dataDirectory.list(), is(new String[]{"model.xml"}));
+  }
+
+  private PlantModelCreationTO createTestModel() {
+    return new PlantModelCreationTO("some-model")
+        .withPoint(new PointCreationTO("some-point"))
+        .withVehicle(new VehicleCreationTO("some-vehicle"));
+  }
+}
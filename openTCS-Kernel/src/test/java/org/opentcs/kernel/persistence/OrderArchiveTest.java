@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.Query;
+import org.opentcs.components.kernel.queries.ArchivedObjectsQuery;
+import org.opentcs.components.kernel.services.InternalQueryService;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.data.peripherals.PeripheralJob;
+import org.opentcs.data.peripherals.PeripheralOperation;
+
+/**
+ * Tests for {@link OrderArchive}.
+ */
+public class OrderArchiveTest {
+
+  /**
+   * Some point in time on 2023-05-01 (UTC).
+   */
+  private static final Instant DAY_1 = Instant.parse("2023-05-01T10:00:00Z");
+  /**
+   * Some point in time on 2023-05-02 (UTC).
+   */
+  private static final Instant DAY_2 = Instant.parse("2023-05-02T10:00:00Z");
+
+  @TempDir
+  File homeDirectory;
+
+  private OrderArchiveConfiguration configuration;
+
+  private InternalQueryService queryService;
+
+  private OrderArchive archive;
+
+  @BeforeEach
+  public void setUp() {
+    configuration = mock(OrderArchiveConfiguration.class);
+    when(configuration.enable()).thenReturn(true);
+    queryService = mock(InternalQueryService.class);
+
+    archive = new OrderArchive(configuration, homeDirectory, queryService);
+    archive.initialize();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    archive.terminate();
+  }
+
+  @Test
+  public void queryArchivedObjectsByName()
+      throws IOException {
+    archive.archive(createOrder("order-1", DAY_1));
+    archive.archive(createJob("job-1", DAY_1));
+    archive.commit();
+
+    List<TransportOrder> orders = archive.query(
+        new ArchivedObjectsQuery<>(TransportOrder.class).withName("order-1")
+    );
+    assertThat(orders, hasSize(1));
+    assertThat(orders.get(0).getName(), is("order-1"));
+    assertThat(orders.get(0).getCreationTime(), is(DAY_1));
+
+    assertThat(archive.query(new ArchivedObjectsQuery<>(PeripheralJob.class).withName("job-1")),
+               hasSize(1));
+    // The name of an archived object of a different type must not match.
+    assertThat(archive.query(new ArchivedObjectsQuery<>(PeripheralJob.class).withName("order-1")),
+               hasSize(0));
+  }
+
+  @Test
+  public void queryArchivedObjectsByTimeRange()
+      throws IOException {
+    archive.archive(createOrder("order-3", DAY_2));
+    archive.archive(createOrder("order-1", DAY_1));
+    archive.archive(createOrder("order-2", DAY_1.plusSeconds(60)));
+    archive.commit();
+
+    assertThat(namesOf(archive.query(new ArchivedObjectsQuery<>(TransportOrder.class))),
+               contains("order-1", "order-2", "order-3"));
+    assertThat(namesOf(archive.query(new ArchivedObjectsQuery<>(TransportOrder.class)
+        .withTimeRange(DAY_1.plusSeconds(60), DAY_2))),
+               contains("order-2"));
+    assertThat(namesOf(archive.query(new ArchivedObjectsQuery<>(TransportOrder.class)
+        .withLimit(2))),
+               contains("order-1", "order-2"));
+  }
+
+  @Test
+  public void queryOnlyCommittedObjects()
+      throws IOException {
+    archive.archive(createOrder("order-1", DAY_1));
+    archive.commit();
+    archive.archive(createOrder("order-2", DAY_1));
+
+    assertThat(namesOf(archive.query(new ArchivedObjectsQuery<>(TransportOrder.class))),
+               contains("order-1"));
+  }
+
+  @Test
+  public void returnLatestArchivalOfObjectsWithSameName()
+      throws IOException {
+    archive.archive(createOrder("order-1", DAY_1));
+    archive.commit();
+    archive.archive(createOrder("order-1", DAY_2));
+    archive.commit();
+
+    List<TransportOrder> orders = archive.query(new ArchivedObjectsQuery<>(TransportOrder.class));
+    assertThat(orders, hasSize(1));
+    assertThat(orders.get(0).getCreationTime(), is(DAY_2));
+  }
+
+  @Test
+  public void restoreIndexAfterReinitialization()
+      throws IOException {
+    archive.archive(createOrder("order-1", DAY_1));
+    archive.archive(createOrder("order-2", DAY_2));
+    archive.archive(new OrderSequence("sequence-1"));
+    archive.commit();
+    archive.terminate();
+
+    assertThat(new File(homeDirectory, "data/archive/orders-2023-05-01.archive").isFile(),
+               is(true));
+    assertThat(new File(homeDirectory, "data/archive/orders-2023-05-02.archive").isFile(),
+               is(true));
+
+    archive = new OrderArchive(configuration, homeDirectory, queryService);
+    archive.initialize();
+
+    assertThat(namesOf(archive.query(new ArchivedObjectsQuery<>(TransportOrder.class))),
+               contains("order-1", "order-2"));
+    assertThat(namesOf(archive.query(new ArchivedObjectsQuery<>(OrderSequence.class))),
+               contains("sequence-1"));
+  }
+
+  @Test
+  public void returnNothingIfDisabled() {
+    archive.terminate();
+    when(configuration.enable()).thenReturn(false);
+    archive.initialize();
+
+    assertThat(archive.query(new ArchivedObjectsQuery<>(TransportOrder.class)), hasSize(0));
+    assertThrows(IllegalStateException.class,
+                 () -> archive.archive(createOrder("order-1", DAY_1)));
+  }
+
+  @Test
+  public void rejectUnsupportedQueries() {
+    assertThrows(IllegalArgumentException.class,
+                 () -> archive.query(new Query<Object>() {
+                 }));
+  }
+
+  private List<String> namesOf(List<? extends TCSObject<?>> objects) {
+    return objects.stream()
+        .map(object -> object.getName())
+        .collect(Collectors.toList());
+  }
+
+  private TransportOrder createOrder(String name, Instant creationTime) {
+    Point point = new Point("some-point");
+    return new TransportOrder(name,
+                              List.of(new DriveOrder(new DriveOrder.Destination(
+                                  point.getReference()))))
+        .withCreationTime(creationTime);
+  }
+
+  private PeripheralJob createJob(String name, Instant creationTime) {
+    Location location = new Location("some-location",
+                                     new LocationType("some-location-type").getReference());
+    return new PeripheralJob(name,
+                             "some-token",
+                             new PeripheralOperation(
+                                 location.getReference(),
+                                 "some-operation",
+                                 PeripheralOperation.ExecutionTrigger.AFTER_MOVEMENT,
+                                 true
+                             ))
+        .withCreationTime(creationTime);
+  }
+}
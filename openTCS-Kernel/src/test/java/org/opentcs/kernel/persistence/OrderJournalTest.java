@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.data.peripherals.PeripheralJob;
+import org.opentcs.data.peripherals.PeripheralOperation;
+import org.opentcs.kernel.workingset.PeripheralJobPoolManager;
+import org.opentcs.kernel.workingset.PlantModelManager;
+import org.opentcs.kernel.workingset.PrefixedUlidObjectNameProvider;
+import org.opentcs.kernel.workingset.TCSObjectRepository;
+import org.opentcs.kernel.workingset.TransportOrderPoolManager;
+import org.opentcs.util.event.SimpleEventBus;
+
+/**
+ * Tests for {@link OrderJournal}.
+ */
+public class OrderJournalTest {
+
+  @TempDir
+  File homeDirectory;
+
+  private OrderJournalConfiguration configuration;
+
+  private PlantModelManager plantModelManager;
+
+  private TCSObjectRepository objectRepo;
+
+  private SimpleEventBus eventBus;
+
+  private TransportOrderPoolManager orderPoolManager;
+
+  private PeripheralJobPoolManager jobPoolManager;
+
+  private Point point;
+
+  private Vehicle vehicle;
+
+  private Location location;
+
+  private OrderJournal journal;
+
+  @BeforeEach
+  public void setUp() {
+    configuration = mock(OrderJournalConfiguration.class);
+    when(configuration.enable()).thenReturn(true);
+    when(configuration.syncOnCommit()).thenReturn(true);
+    when(configuration.compactionThreshold()).thenReturn(1000);
+    plantModelManager = mock(PlantModelManager.class);
+    when(plantModelManager.getName()).thenReturn("some-model");
+
+    objectRepo = new TCSObjectRepository();
+    eventBus = new SimpleEventBus();
+    orderPoolManager = new TransportOrderPoolManager(objectRepo,
+                                                     eventBus,
+                                                     new PrefixedUlidObjectNameProvider());
+    jobPoolManager = new PeripheralJobPoolManager(objectRepo,
+                                                  eventBus,
+                                                  new PrefixedUlidObjectNameProvider());
+
+    LocationType locationType = new LocationType("some-location-type");
+    point = new Point("some-point");
+    vehicle = new Vehicle("some-vehicle");
+    location = new Location("some-location", locationType.getReference());
+    objectRepo.addObject(locationType);
+    objectRepo.addObject(point);
+    objectRepo.addObject(vehicle);
+    objectRepo.addObject(location);
+
+    journal = createJournal();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    journal.terminate();
+  }
+
+  @Test
+  public void restoreObjectsAfterTermination() {
+    journal.initialize();
+
+    TransportOrder order = createOrder("order-1");
+    TransportOrder removedOrder = createOrder("order-2");
+    PeripheralJob job = new PeripheralJob("job-1", "some-token", createOperation());
+    add(order);
+    add(removedOrder);
+    add(job);
+    order = replace(order.withProperty("some-key", "some-value"));
+    objectRepo.removeObject(removedOrder.getReference());
+    orderPoolManager.emitObjectEvent(null, removedOrder, TCSObjectEvent.Type.OBJECT_REMOVED);
+
+    restart();
+
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(1));
+    assertThat(objectRepo.getObject(TransportOrder.class, "order-1").getProperty("some-key"),
+               is("some-value"));
+    assertThat(objectRepo.getObjects(PeripheralJob.class), hasSize(1));
+  }
+
+  @Test
+  public void restoreObjectsAfterCrash()
+      throws IOException {
+    writeJournal("some-model",
+                 JournalRecord.update(createOrder("order-1")),
+                 JournalRecord.update(createOrder("order-2")),
+                 JournalRecord.removal("order-2"));
+
+    journal.initialize();
+
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(1));
+    assertThat(objectRepo.getObject(TransportOrder.class, "order-1").getState(),
+               is(TransportOrder.State.RAW));
+  }
+
+  @Test
+  public void failOrdersAndJobsBeingProcessed()
+      throws IOException {
+    writeJournal("some-model",
+                 JournalRecord.update(createOrder("order-1")
+                     .withProcessingVehicle(vehicle.getReference())
+                     .withState(TransportOrder.State.BEING_PROCESSED)),
+                 JournalRecord.update(createOrder("order-2")
+                     .withState(TransportOrder.State.DISPATCHABLE)),
+                 JournalRecord.update(new PeripheralJob("job-1", "some-token", createOperation())
+                     .withState(PeripheralJob.State.BEING_PROCESSED)));
+
+    journal.initialize();
+
+    TransportOrder order = objectRepo.getObject(TransportOrder.class, "order-1");
+    assertThat(order.getState(), is(TransportOrder.State.FAILED));
+    assertThat(order.getProcessingVehicle(), is(nullValue()));
+    assertThat(objectRepo.getObject(TransportOrder.class, "order-2").getState(),
+               is(TransportOrder.State.DISPATCHABLE));
+    assertThat(objectRepo.getObject(PeripheralJob.class, "job-1").getState(),
+               is(PeripheralJob.State.FAILED));
+  }
+
+  @Test
+  public void continueSequenceAfterOrderFailed()
+      throws IOException {
+    OrderSequence sequence = new OrderSequence("sequence-1");
+    TransportOrder order1 = createOrder("order-1")
+        .withWrappingSequence(sequence.getReference())
+        .withProcessingVehicle(vehicle.getReference())
+        .withState(TransportOrder.State.BEING_PROCESSED);
+    TransportOrder order2 = createOrder("order-2")
+        .withWrappingSequence(sequence.getReference());
+    sequence = sequence
+        .withOrder(order1.getReference())
+        .withOrder(order2.getReference())
+        .withComplete(true)
+        .withProcessingVehicle(vehicle.getReference());
+    writeJournal("some-model",
+                 JournalRecord.update(sequence),
+                 JournalRecord.update(order1),
+                 JournalRecord.update(order2));
+
+    journal.initialize();
+
+    OrderSequence restoredSequence = objectRepo.getObject(OrderSequence.class, "sequence-1");
+    assertThat(restoredSequence.getFinishedIndex(), is(0));
+    assertThat(restoredSequence.getNextUnfinishedOrder(), is(order2.getReference()));
+    assertThat(restoredSequence.isFinished(), is(false));
+    assertThat(restoredSequence.getProcessingVehicle(), is(nullValue()));
+  }
+
+  @Test
+  public void ignoreJournalOfOtherModel()
+      throws IOException {
+    writeJournal("other-model", JournalRecord.update(createOrder("order-1")));
+
+    journal.initialize();
+
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(0));
+  }
+
+  @Test
+  public void discardOrdersReferringToUnknownObjects()
+      throws IOException {
+    TransportOrder order = new TransportOrder(
+        "order-1",
+        List.of(new DriveOrder(new DriveOrder.Destination(new Point("unknown-point")
+            .getReference())))
+    );
+    writeJournal("some-model", JournalRecord.update(order));
+
+    journal.initialize();
+
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(0));
+  }
+
+  @Test
+  public void restoreNothingIfDisabled()
+      throws IOException {
+    when(configuration.enable()).thenReturn(false);
+    writeJournal("some-model", JournalRecord.update(createOrder("order-1")));
+
+    journal.initialize();
+
+    assertThat(objectRepo.getObjects(TransportOrder.class), hasSize(0));
+  }
+
+  private OrderJournal createJournal() {
+    return new OrderJournal(configuration,
+                            homeDirectory,
+                            eventBus,
+                            plantModelManager,
+                            orderPoolManager,
+                            jobPoolManager);
+  }
+
+  private void restart() {
+    journal.terminate();
+    orderPoolManager.clear();
+    jobPoolManager.clear();
+    journal = createJournal();
+    journal.initialize();
+  }
+
+  private void writeJournal(String modelName, JournalRecord... records)
+      throws IOException {
+    File journalDirectory = new File(homeDirectory, "data" + File.separator + "journal");
+    journalDirectory.mkdirs();
+    try (JournalFile journalFile = new JournalFile(new File(journalDirectory, "orders.journal"))) {
+      journalFile.create(modelName);
+      for (JournalRecord record : records) {
+        journalFile.append(record);
+      }
+      journalFile.commit(true);
+    }
+  }
+
+  private TransportOrder createOrder(String name) {
+    return new TransportOrder(name,
+                              List.of(new DriveOrder(new DriveOrder.Destination(
+                                  point.getReference()))));
+  }
+
+  private PeripheralOperation createOperation() {
+    return new PeripheralOperation(location.getReference(),
+                                   "some-operation",
+                                   PeripheralOperation.ExecutionTrigger.AFTER_MOVEMENT,
+                                   true);
+  }
+
+  private void add(TCSObject<?> object) {
+    objectRepo.addObject(object);
+    orderPoolManager.emitObjectEvent(object, null, TCSObjectEvent.Type.OBJECT_CREATED);
+  }
+
+  private <T extends TCSObject<T>> T replace(T object) {
+    TCSObject<?> previous = objectRepo.getObject(object.getReference());
+    objectRepo.replaceObject(object);
+    orderPoolManager.emitObjectEvent(object, previous, TCSObjectEvent.Type.OBJECT_MODIFIED);
+    return object;
+  }
+}
@@ -8,18 +8,25 @@
 package org.opentcs.kernel.vehicles;
 
 import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Queue;
+import java.util.Set;
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Mockito;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import org.opentcs.DataObjectFactory;
 import org.opentcs.components.kernel.Scheduler;
@@ -29,6 +36,7 @@ import org.opentcs.components.kernel.services.NotificationService;
 import org.opentcs.data.model.Location;
 import org.opentcs.data.model.Path;
 import org.opentcs.data.model.Point;
+import org.opentcs.data.model.TCSResource;
 import org.opentcs.data.model.Triple;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.DriveOrder;
@@ -119,14 +127,7 @@ public class DefaultVehicleControllerTest {
 
     scheduler = spy(new DummyScheduler());
     scheduler.initialize();
-    stdVehicleController = new DefaultVehicleController(vehicle,
-                                                        commAdapter,
-                                                        vehicleService,
-                                                        mock(NotificationService.class),
-                                                        mock(DispatcherService.class),
-                                                        scheduler,
-                                                        eventBus,
-                                                        componentsFactory);
+    stdVehicleController = createVehicleController(scheduler, 0);
     stdVehicleController.initialize();
   }
 
@@ -245,4 +246,138 @@ public class DefaultVehicleControllerTest {
 
     verify(scheduler).claim(eq(stdVehicleController), Mockito.any());
   }
+
+  @Test
+  public void shouldNotAllocateIfCommAdapterCannotAcceptCommands() {
+    Scheduler mockedScheduler = mock(Scheduler.class);
+    DefaultVehicleController controller = createVehicleController(mockedScheduler, 0);
+    controller.initialize();
+
+    controller.setTransportOrder(createTransportOrder(3));
+
+    verify(mockedScheduler, never()).allocate(eq(controller), any());
+    controller.terminate();
+  }
+
+  @Test
+  public void shouldAllocateAheadWithinLookAheadWindow() {
+    Scheduler mockedScheduler = mock(Scheduler.class);
+    DefaultVehicleController controller = createVehicleController(mockedScheduler, 2);
+    controller.initialize();
+    setVehiclePosition();
+    Queue<Set<TCSResource<?>>> allocations = new LinkedList<>();
+    doAnswer(invocation -> allocations.add(invocation.getArgument(1)))
+        .when(mockedScheduler).allocate(eq(controller), any());
+
+    controller.setTransportOrder(createTransportOrder(3));
+    grantAllocations(controller, allocations);
+
+    // The comm adapter cannot accept commands, so only the commands within the window are allocated
+    // and none is sent.
+    verify(mockedScheduler, times(2)).allocate(eq(controller), any());
+    verify(commAdapter, never()).enqueueCommand(any());
+    controller.terminate();
+  }
+
+  @Test
+  public void shouldSendCommandsAllocatedAhead() {
+    Scheduler mockedScheduler = mock(Scheduler.class);
+    DefaultVehicleController controller = createVehicleController(mockedScheduler, 1);
+    controller.initialize();
+    setVehiclePosition();
+    Queue<Set<TCSResource<?>>> allocations = new LinkedList<>();
+    doAnswer(invocation -> allocations.add(invocation.getArgument(1)))
+        .when(mockedScheduler).allocate(eq(controller), any());
+    doAnswer(invocation -> {
+      invocation.getArgument(1, Runnable.class).run();
+      return null;
+    }).when(peripheralInteractor).startPreMovementInteractions(any(), any(), any());
+    doReturn(true).when(commAdapter).canAcceptNextCommand();
+    doReturn(true).when(commAdapter).enqueueCommand(any());
+
+    controller.setTransportOrder(createTransportOrder(3));
+    grantAllocations(controller, allocations);
+
+    verify(mockedScheduler, times(3)).allocate(eq(controller), any());
+    verify(commAdapter, times(3)).enqueueCommand(any());
+    controller.terminate();
+  }
+
+  @Test
+  public void shouldDiscardCommandsAllocatedAheadWhenWithdrawingOrder() {
+    Scheduler mockedScheduler = mock(Scheduler.class);
+    DefaultVehicleController controller = createVehicleController(mockedScheduler, 2);
+    controller.initialize();
+    setVehiclePosition();
+    Queue<Set<TCSResource<?>>> allocations = new LinkedList<>();
+    doAnswer(invocation -> allocations.add(invocation.getArgument(1)))
+        .when(mockedScheduler).allocate(eq(controller), any());
+
+    controller.setTransportOrder(createTransportOrder(3));
+    List<Set<TCSResource<?>>> allocated = new ArrayList<>();
+    while (!allocations.isEmpty()) {
+      allocated.add(allocations.peek());
+      controller.allocationSuccessful(allocations.poll());
+    }
+    controller.abortTransportOrder(false);
+
+    // The comm adapter could not accept commands, so none of the commands allocated in advance was
+    // sent and all of their resources are freed.
+    assertEquals(2, allocated.size());
+    verify(mockedScheduler).free(controller, allocated.get(0));
+    verify(mockedScheduler).free(controller, allocated.get(1));
+    verify(commAdapter, never()).enqueueCommand(any());
+    controller.terminate();
+  }
+
+  private DefaultVehicleController createVehicleController(Scheduler scheduler,
+                                                           int allocationLookAhead) {
+    VehicleControllerConfiguration configuration = mock(VehicleControllerConfiguration.class);
+    doReturn(allocationLookAhead).when(configuration).allocationLookAhead();
+
+    return new DefaultVehicleController(vehicle,
+                                        commAdapter,
+                                        vehicleService,
+                                        mock(NotificationService.class),
+                                        mock(DispatcherService.class),
+                                        scheduler,
+                                        eventBus,
+                                        componentsFactory,
+                                        configuration);
+  }
+
+  private void setVehiclePosition() {
+    Point point = dataObjectFactory.createPoint();
+    doReturn(point).when(vehicleService).fetchObject(Point.class, point.getName());
+    vehicleModel.setVehiclePosition(point.getName());
+  }
+
+  /**
+   * Grants the given allocations to the given controller, like the scheduler would do it
+   * asynchronously.
+   */
+  private void grantAllocations(DefaultVehicleController controller,
+                                Queue<Set<TCSResource<?>>> allocations) {
+    while (!allocations.isEmpty()) {
+      controller.allocationSuccessful(allocations.poll());
+    }
+  }
+
+  private TransportOrder createTransportOrder(int stepCount) {
+    Location location = dataObjectFactory.createLocation();
+    doReturn(location).when(vehicleService).fetchObject(Location.class, location.getName());
+
+    List<Route.Step> steps = new ArrayList<>();
+    for (int i = 0; i < stepCount; i++) {
+      Point dstPoint = dataObjectFactory.createPoint();
+      Path stepPath = dataObjectFactory.createPath(dstPoint.getReference());
+      steps.add(new Route.Step(stepPath, null, dstPoint, Vehicle.Orientation.FORWARD, i));
+    }
+
+    DriveOrder driveOrder = new DriveOrder(new DriveOrder.Destination(location.getReference()))
+        .withRoute(new Route(steps, stepCount));
+
+    return new TransportOrder("some-transport-order", List.of(driveOrder))
+        .withCurrentDriveOrderIndex(0);
+  }
 }
@@ -7,12 +7,16 @@
  */
 package org.opentcs.kernel.workingset;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.opentcs.access.to.model.BlockCreationTO;
@@ -24,6 +28,8 @@ import org.opentcs.access.to.model.PlantModelCreationTO;
 import org.opentcs.access.to.model.PointCreationTO;
 import org.opentcs.access.to.model.VehicleCreationTO;
 import org.opentcs.access.to.model.VisualLayoutCreationTO;
+import org.opentcs.data.ObjectExistsException;
+import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.model.Block;
 import org.opentcs.data.model.Group;
 import org.opentcs.data.model.Location;
@@ -155,4 +161,82 @@ public class PlantModelManagerTest {
         hasSize(5)
     );
   }
+
+  @Test
+  public void connectPointsToPathsAndLocations() {
+    plantModelManager.createPlantModelObjects(
+        new PlantModelCreationTO("some-plant-model")
+            .withPoint(new PointCreationTO("point1"))
+            .withPoint(new PointCreationTO("point2"))
+            .withPath(new PathCreationTO("path1", "point1", "point2"))
+            .withPath(new PathCreationTO("path2", "point2", "point1"))
+            .withLocationType(new LocationTypeCreationTO("some-location-type"))
+            .withLocation(new LocationCreationTO("some-location",
+                                                 "some-location-type",
+                                                 new Triple(1, 2, 3))
+                .withLink("point1", Set.of()))
+    );
+
+    Point point1 = objectRepo.getObject(Point.class, "point1");
+    Point point2 = objectRepo.getObject(Point.class, "point2");
+    Path path1 = objectRepo.getObject(Path.class, "path1");
+    Path path2 = objectRepo.getObject(Path.class, "path2");
+
+    assertThat(point1.getOutgoingPaths(), contains(path1.getReference()));
+    assertThat(point1.getIncomingPaths(), contains(path2.getReference()));
+    assertThat(point1.getAttachedLinks(), hasSize(1));
+    assertThat(point2.getOutgoingPaths(), contains(path2.getReference()));
+    assertThat(point2.getIncomingPaths(), contains(path1.getReference()));
+    assertThat(point2.getAttachedLinks(), is(empty()));
+  }
+
+  @Test
+  public void emitNoEventsForIndividualNewObjects() {
+    List<Object> events = new ArrayList<>();
+    SimpleEventBus eventBus = new SimpleEventBus();
+    eventBus.subscribe(event -> events.add(event));
+    plantModelManager = new PlantModelManager(objectRepo, eventBus);
+
+    plantModelManager.createPlantModelObjects(
+        new PlantModelCreationTO("some-plant-model")
+            .withPoint(new PointCreationTO("point1"))
+            .withPoint(new PointCreationTO("point2"))
+            .withPath(new PathCreationTO("some-path", "point1", "point2"))
+    );
+
+    assertThat(events, is(empty()));
+  }
+
+  @Test
+  public void keepCurrentModelOnUnknownReference() {
+    plantModelManager.createPlantModelObjects(
+        new PlantModelCreationTO("some-plant-model")
+            .withPoint(new PointCreationTO("point1"))
+    );
+
+    assertThrows(
+        ObjectUnknownException.class,
+        () -> plantModelManager.createPlantModelObjects(
+            new PlantModelCreationTO("another-plant-model")
+                .withPoint(new PointCreationTO("point2"))
+                .withPath(new PathCreationTO("some-path", "point2", "unknown-point"))
+        )
+    );
+
+    assertThat(plantModelManager.getName(), is("some-plant-model"));
+    assertThat(objectRepo.getObjects(Point.class), hasSize(1));
+    assertThat(objectRepo.getObject(Point.class, "point1"), is(notNullValue()));
+  }
+
+  @Test
+  public void throwOnDuplicateNamesInModel() {
+    assertThrows(
+        ObjectExistsException.class,
+        () -> plantModelManager.createPlantModelObjects(
+            new PlantModelCreationTO("some-plant-model")
+                .withPoint(new PointCreationTO("some-name"))
+                .withLocationType(new LocationTypeCreationTO("some-name"))
+        )
+    );
+  }
 }
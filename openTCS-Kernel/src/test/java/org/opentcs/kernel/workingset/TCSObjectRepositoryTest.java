@@ -7,10 +7,12 @@
  */
 package org.opentcs.kernel.workingset;
 
+import java.util.List;
 import java.util.Set;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -149,4 +151,32 @@ public class TCSObjectRepositoryTest {
     // Another object with the same name.
     assertThrows(ObjectExistsException.class, () -> pool.addObject(new Point("some-point")));
   }
+
+  @Test
+  public void addObjectsInBulk() {
+    Point point1 = new Point("Point-00001");
+    Point point2 = new Point("Point-00002");
+    LocationType locationType = new LocationType("LocationType-00001");
+
+    pool.addObjects(List.of(point1, point2, locationType));
+
+    assertThat(pool.getObjects(Point.class), containsInAnyOrder(point1, point2));
+    assertThat(pool.getObjectOrNull("LocationType-00001"), is(locationType));
+  }
+
+  @Test
+  public void addNoObjectsInBulkOnDuplicateName() {
+    pool.addObject(new LocationType("some-object"));
+
+    assertThrows(ObjectExistsException.class,
+                 () -> pool.addObjects(List.of(new Point("Point-00001"),
+                                               new Point("some-object"))));
+    assertThrows(ObjectExistsException.class,
+                 () -> pool.addObjects(List.of(new Point("Point-00001"),
+                                               new Path("Point-00001",
+                                                        new Point("a").getReference(),
+                                                        new Point("b").getReference()))));
+    assertThat(pool.getObjects(Point.class), is(empty()));
+    assertThat(pool.getObjects(Path.class), is(empty()));
+  }
 }
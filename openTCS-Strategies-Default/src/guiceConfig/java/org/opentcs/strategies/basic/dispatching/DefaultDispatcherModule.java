@@ -194,6 +194,8 @@ public class DefaultDispatcherModule
 
     bind(TransportOrderUtil.class)
         .in(Singleton.class);
+    bind(OrderDependencyIndex.class)
+        .in(Singleton.class);
 
     configureRerouteComponents();
   }
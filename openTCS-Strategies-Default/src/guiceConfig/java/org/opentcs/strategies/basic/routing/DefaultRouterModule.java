@@ -10,7 +10,9 @@ package org.opentcs.strategies.basic.routing;
 import javax.inject.Singleton;
 import org.opentcs.components.kernel.routing.GroupMapper;
 import org.opentcs.customizations.kernel.KernelInjectionModule;
+import org.opentcs.strategies.basic.routing.edgeevaluator.CongestionConfiguration;
 import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorComposite;
+import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorCongestion;
 import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorDistance;
 import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorExplicitProperties;
 import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorHops;
@@ -22,6 +24,8 @@ import org.opentcs.strategies.basic.routing.jgrapht.DijkstraPointRouterFactory;
 import org.opentcs.strategies.basic.routing.jgrapht.FloydWarshallPointRouterFactory;
 import org.opentcs.strategies.basic.routing.jgrapht.ModelGraphMapper;
 import org.opentcs.strategies.basic.routing.jgrapht.ShortestPathConfiguration;
+import org.opentcs.strategies.basic.routing.spacetime.ReservationTableProvider;
+import org.opentcs.strategies.basic.routing.spacetime.SpaceTimeConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -104,9 +108,27 @@ public class DefaultRouterModule
         .toInstance(getConfigBindingProvider().get(ExplicitPropertiesConfiguration.PREFIX,
                                                    ExplicitPropertiesConfiguration.class));
 
+    bind(CongestionConfiguration.class)
+        .toInstance(getConfigBindingProvider().get(CongestionConfiguration.PREFIX,
+                                                   CongestionConfiguration.class));
+    bind(EdgeEvaluatorCongestion.class)
+        .in(Singleton.class);
+
+    bind(SpaceTimeConfiguration.class)
+        .toInstance(getConfigBindingProvider().get(SpaceTimeConfiguration.PREFIX,
+                                                   SpaceTimeConfiguration.class));
+    bind(ReservationTableProvider.class)
+        .in(Singleton.class);
+
     bind(DefaultRoutingGroupMapper.class)
         .in(Singleton.class);
     bind(GroupMapper.class)
         .to(DefaultRoutingGroupMapper.class);
+
+    bind(DestinationPointCache.class)
+        .in(Singleton.class);
+
+    bind(AvoidedResources.class)
+        .in(Singleton.class);
   }
 }
@@ -11,6 +11,8 @@ import com.google.inject.multibindings.Multibinder;
 import javax.inject.Singleton;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.customizations.kernel.KernelInjectionModule;
+import org.opentcs.strategies.basic.scheduling.modules.DeadlockDetectionConfiguration;
+import org.opentcs.strategies.basic.scheduling.modules.DeadlockDetectionModule;
 import org.opentcs.strategies.basic.scheduling.modules.PausedVehicleModule;
 import org.opentcs.strategies.basic.scheduling.modules.SameDirectionBlockModule;
 import org.opentcs.strategies.basic.scheduling.modules.SingleVehicleBlockModule;
@@ -38,9 +40,18 @@ public class DefaultSchedulerModule
   private void configureSchedulerDependencies() {
     bind(ReservationPool.class).in(Singleton.class);
 
+    bind(ZonePartitioningConfiguration.class)
+        .toInstance(getConfigBindingProvider().get(ZonePartitioningConfiguration.PREFIX,
+                                                   ZonePartitioningConfiguration.class));
+
+    bind(DeadlockDetectionConfiguration.class)
+        .toInstance(getConfigBindingProvider().get(DeadlockDetectionConfiguration.PREFIX,
+                                                   DeadlockDetectionConfiguration.class));
+
     Multibinder<Scheduler.Module> moduleBinder = schedulerModuleBinder();
     moduleBinder.addBinding().to(SingleVehicleBlockModule.class);
     moduleBinder.addBinding().to(SameDirectionBlockModule.class);
     moduleBinder.addBinding().to(PausedVehicleModule.class);
+    moduleBinder.addBinding().to(DeadlockDetectionModule.class);
   }
 }
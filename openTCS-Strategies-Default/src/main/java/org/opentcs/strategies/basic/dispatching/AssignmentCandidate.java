@@ -33,6 +33,10 @@ public class AssignmentCandidate {
    * The route/drive orders to be executed upon assignment.
    */
   private final List<DriveOrder> driveOrders;
+  /**
+   * The costs for travelling only the first drive order.
+   */
+  private final long initialRoutingCosts;
   /**
    * The completeRoutingCosts for processing the whole order with the vehicle.
    */
@@ -53,9 +57,43 @@ public class AssignmentCandidate {
     this.transportOrder = requireNonNull(transportOrder, "transportOrder");
     this.driveOrders = requireNonNull(driveOrders, "driveOrders");
     checkArgument(!driveOrders.isEmpty(), "driveOrders is empty");
+    this.initialRoutingCosts = driveOrders.get(0).getRoute().getCosts();
     this.completeRoutingCosts = cumulatedCosts(driveOrders);
   }
 
+  private AssignmentCandidate(Vehicle vehicle,
+                              TransportOrder transportOrder,
+                              long initialRoutingCosts,
+                              long completeRoutingCosts) {
+    this.vehicle = requireNonNull(vehicle, "vehicle");
+    this.transportOrder = requireNonNull(transportOrder, "transportOrder");
+    this.driveOrders = transportOrder.getFutureDriveOrders();
+    this.initialRoutingCosts = initialRoutingCosts;
+    this.completeRoutingCosts = completeRoutingCosts;
+  }
+
+  /**
+   * Creates a candidate with estimated routing costs, to be compared to other candidates before
+   * the route is computed.
+   * The drive orders of such a candidate are the transport order's future drive orders, which do
+   * not contain routes.
+   *
+   * @param vehicle The vehicle that would be assigned to the transport order.
+   * @param transportOrder The transport order that would be assigned to the vehicle.
+   * @param initialRoutingCosts The estimated costs for travelling only the first drive order.
+   * @param completeRoutingCosts The estimated costs for travelling all drive orders.
+   * @return The candidate.
+   */
+  public static AssignmentCandidate withEstimatedCosts(Vehicle vehicle,
+                                                       TransportOrder transportOrder,
+                                                       long initialRoutingCosts,
+                                                       long completeRoutingCosts) {
+    return new AssignmentCandidate(vehicle,
+                                   transportOrder,
+                                   initialRoutingCosts,
+                                   completeRoutingCosts);
+  }
+
   public Vehicle getVehicle() {
     return vehicle;
   }
@@ -74,7 +112,7 @@ public class AssignmentCandidate {
    * @return The costs for travelling only the first drive order.
    */
   public long getInitialRoutingCosts() {
-    return driveOrders.get(0).getRoute().getCosts();
+    return initialRoutingCosts;
   }
 
   /**
@@ -76,6 +76,39 @@ public interface DefaultDispatcherConfiguration {
       orderKey = "0_assign_special_0")
   long deadlineAtRiskPeriod();
 
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The number of threads computing routes for pairs of vehicles and transport orders in "
+        + "parallel when looking for assignments.",
+        "If 0, the number of available processors is used. If 1, routes are computed sequentially "
+        + "by the dispatcher's thread.",
+        "Values other than 1 require the router to be thread-safe, as the default router is."},
+      orderKey = "0_assign_special_1")
+  int candidateComputationThreads();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to compare candidates for assignments using lower bounds for their routing costs "
+        + "first and to compute routes only for candidates that may be preferred to the best "
+        + "candidate found so far.",
+        "The lower bound for a candidate are the costs for reaching the first destination. This "
+        + "requires routing costs not to be negative and candidate priorities considering routing "
+        + "costs to prefer lower costs.",
+        "This requires the default router. With any other router, candidates are not pruned.",
+        "Candidates whose routes are not computed are not filtered, either, so the reasons for "
+        + "deferring transport orders only refer to candidates whose routes were computed."},
+      orderKey = "0_assign_special_2")
+  boolean pruneCandidates();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = "When pruning candidates, the number of most promising candidates whose routes "
+          + "are computed at once before the remaining ones are compared to the best one found.",
+      orderKey = "0_assign_special_3")
+  int candidatePruningBatchSize();
+
   @ConfigurationEntry(
       type = "Boolean",
       description = "Whether orders to the current position with no operation should be assigned.",
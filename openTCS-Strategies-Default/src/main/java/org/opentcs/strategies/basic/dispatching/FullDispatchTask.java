@@ -7,6 +7,8 @@
  */
 package org.opentcs.strategies.basic.dispatching;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import javax.inject.Inject;
 import org.opentcs.components.Lifecycle;
@@ -20,6 +22,8 @@ import org.opentcs.strategies.basic.dispatching.phase.parking.ParkIdleVehiclesPh
 import org.opentcs.strategies.basic.dispatching.phase.parking.PrioritizedParkingPhase;
 import org.opentcs.strategies.basic.dispatching.phase.parking.PrioritizedReparkPhase;
 import org.opentcs.strategies.basic.dispatching.phase.recharging.RechargeIdleVehiclesPhase;
+import org.opentcs.util.metrics.MetricRegistry;
+import org.opentcs.util.metrics.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +51,14 @@ public class FullDispatchTask
   private final PrioritizedReparkPhase prioritizedReparkPhase;
   private final PrioritizedParkingPhase prioritizedParkingPhase;
   private final ParkIdleVehiclesPhase parkIdleVehiclesPhase;
+  /**
+   * Measures the durations of full dispatch runs.
+   */
+  private final Timer runTimer;
+  /**
+   * Measures the durations of the individual phases, mapped by phase.
+   */
+  private final Map<Phase, Timer> phaseTimers = new IdentityHashMap<>();
   /**
    * Indicates whether this component is enabled.
    */
@@ -62,7 +74,8 @@ public class FullDispatchTask
                           RechargeIdleVehiclesPhase rechargeIdleVehiclesPhase,
                           PrioritizedReparkPhase prioritizedReparkPhase,
                           PrioritizedParkingPhase prioritizedParkingPhase,
-                          ParkIdleVehiclesPhase parkIdleVehiclesPhase) {
+                          ParkIdleVehiclesPhase parkIdleVehiclesPhase,
+                          MetricRegistry metricRegistry) {
     this.checkNewOrdersPhase = requireNonNull(checkNewOrdersPhase, "checkNewOrdersPhase");
     this.finishWithdrawalsPhase = requireNonNull(finishWithdrawalsPhase, "finishWithdrawalsPhase");
     this.assignNextDriveOrdersPhase = requireNonNull(assignNextDriveOrdersPhase,
@@ -78,6 +91,23 @@ public class FullDispatchTask
     this.prioritizedParkingPhase = requireNonNull(prioritizedParkingPhase,
                                                   "prioritizedParkingPhase");
     this.parkIdleVehiclesPhase = requireNonNull(parkIdleVehiclesPhase, "parkIdleVehiclesPhase");
+    requireNonNull(metricRegistry, "metricRegistry");
+
+    this.runTimer = metricRegistry.timer("dispatcher.run");
+    for (Phase phase : new Phase[]{checkNewOrdersPhase,
+                                   finishWithdrawalsPhase,
+                                   assignNextDriveOrdersPhase,
+                                   assignReservedOrdersPhase,
+                                   assignSequenceSuccessorsPhase,
+                                   assignFreeOrdersPhase,
+                                   rechargeIdleVehiclesPhase,
+                                   prioritizedReparkPhase,
+                                   prioritizedParkingPhase,
+                                   parkIdleVehiclesPhase}) {
+      phaseTimers.put(phase,
+                      metricRegistry.timer("dispatcher.phase",
+                                           "phase", phase.getClass().getSimpleName()));
+    }
   }
 
   @Override
@@ -128,20 +158,39 @@ public class FullDispatchTask
   @Override
   public final void run() {
     LOG.debug("Starting full dispatch run...");
+    long start = runTimer.start();
 
-    checkNewOrdersPhase.run();
+    runPhase(checkNewOrdersPhase);
     // Check what vehicles involved in a process should do.
-    finishWithdrawalsPhase.run();
-    assignNextDriveOrdersPhase.run();
-    assignSequenceSuccessorsPhase.run();
+    runPhase(finishWithdrawalsPhase);
+    runPhase(assignNextDriveOrdersPhase);
+    runPhase(assignSequenceSuccessorsPhase);
     // Check what vehicles not already in a process should do.
     assignOrders();
     rechargeVehicles();
     parkVehicles();
 
+    runTimer.stop(start);
     LOG.debug("Finished full dispatch run.");
   }
 
+  /**
+   * Runs the given phase, measuring its duration.
+   *
+   * @param phase The phase.
+   */
+  protected void runPhase(Phase phase) {
+    Timer timer = phaseTimers.get(phase);
+    if (timer == null) {
+      phase.run();
+      return;
+    }
+
+    long start = timer.start();
+    phase.run();
+    timer.stop(start);
+  }
+
   /**
    * Assignment of orders to vehicles.
    * <p>
@@ -149,8 +198,8 @@ public class FullDispatchTask
    * </p>
    */
   protected void assignOrders() {
-    assignReservedOrdersPhase.run();
-    assignFreeOrdersPhase.run();
+    runPhase(assignReservedOrdersPhase);
+    runPhase(assignFreeOrdersPhase);
   }
 
   /**
@@ -160,7 +209,7 @@ public class FullDispatchTask
    * </p>
    */
   protected void rechargeVehicles() {
-    rechargeIdleVehiclesPhase.run();
+    runPhase(rechargeIdleVehiclesPhase);
   }
 
   /**
@@ -170,8 +219,8 @@ public class FullDispatchTask
    * </p>
    */
   protected void parkVehicles() {
-    prioritizedReparkPhase.run();
-    prioritizedParkingPhase.run();
-    parkIdleVehiclesPhase.run();
+    runPhase(prioritizedReparkPhase);
+    runPhase(prioritizedParkingPhase);
+    runPhase(parkIdleVehiclesPhase);
   }
 }
@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.dispatching;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.components.Lifecycle;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.customizations.ApplicationEventBus;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.util.event.EventHandler;
+import org.opentcs.util.event.EventSource;
+
+/**
+ * Keeps track of ACTIVE transport orders waiting for other transport orders, so that only the
+ * transport orders that may have become dispatchable need to be checked after a change.
+ * <p>
+ * A transport order needs to be checked when it becomes ACTIVE, when one of its dependencies is
+ * finished or removed, or when it becomes the next unfinished order in its order sequence.
+ * </p>
+ */
+public class OrderDependencyIndex
+    implements EventHandler,
+               Lifecycle {
+
+  /**
+   * Where we register for application events.
+   */
+  private final EventSource eventSource;
+  /**
+   * The object service.
+   */
+  private final TCSObjectService objectService;
+  /**
+   * The ACTIVE transport orders depending on other transport orders, mapped by the latter.
+   */
+  private final Map<TCSObjectReference<TransportOrder>, Set<TCSObjectReference<TransportOrder>>>
+      dependentsByDependency = new HashMap<>();
+  /**
+   * The transport orders that need to be checked.
+   */
+  private Set<TCSObjectReference<TransportOrder>> ordersToCheck = new LinkedHashSet<>();
+  /**
+   * Whether this instance is initialized.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param eventSource Where this instance registers for application events.
+   * @param objectService The object service.
+   */
+  @Inject
+  public OrderDependencyIndex(@Nonnull @ApplicationEventBus EventSource eventSource,
+                              @Nonnull TCSObjectService objectService) {
+    this.eventSource = requireNonNull(eventSource, "eventSource");
+    this.objectService = requireNonNull(objectService, "objectService");
+  }
+
+  @Override
+  public void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+
+    synchronized (this) {
+      eventSource.subscribe(this);
+      // Transport orders that are already ACTIVE, e.g. because they were restored on startup, need
+      // to be checked once.
+      for (TransportOrder order : objectService.fetchObjects(
+          TransportOrder.class,
+          order -> order.hasState(TransportOrder.State.ACTIVE))) {
+        addDependent(order);
+        ordersToCheck.add(order.getReference());
+      }
+    }
+
+    initialized = true;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    synchronized (this) {
+      eventSource.unsubscribe(this);
+      dependentsByDependency.clear();
+      ordersToCheck.clear();
+    }
+
+    initialized = false;
+  }
+
+  @Override
+  public synchronized void onEvent(Object event) {
+    if (!(event instanceof TCSObjectEvent)) {
+      return;
+    }
+
+    TCSObjectEvent objectEvent = (TCSObjectEvent) event;
+    if (objectEvent.getCurrentOrPreviousObjectState() instanceof TransportOrder) {
+      transportOrderChanged((TransportOrder) objectEvent.getPreviousObjectState(),
+                            (TransportOrder) objectEvent.getCurrentObjectState());
+    }
+    else if (objectEvent.getCurrentObjectState() instanceof OrderSequence) {
+      // The sequence's next unfinished order may have changed.
+      OrderSequence sequence = (OrderSequence) objectEvent.getCurrentObjectState();
+      if (sequence.getNextUnfinishedOrder() != null) {
+        ordersToCheck.add(sequence.getNextUnfinishedOrder());
+      }
+    }
+  }
+
+  /**
+   * Returns the transport orders that may have become dispatchable since the last call and that
+   * need to be checked.
+   * The returned transport orders are not necessarily ACTIVE any more.
+   *
+   * @return References to the transport orders to be checked, in the order they were found.
+   */
+  @Nonnull
+  public synchronized Set<TCSObjectReference<TransportOrder>> pollOrdersToCheck() {
+    Set<TCSObjectReference<TransportOrder>> result = ordersToCheck;
+    ordersToCheck = new LinkedHashSet<>();
+    return result;
+  }
+
+  private void transportOrderChanged(TransportOrder previousState, TransportOrder currentState) {
+    boolean wasActive = previousState != null
+        && previousState.hasState(TransportOrder.State.ACTIVE);
+    boolean isActive = currentState != null
+        && currentState.hasState(TransportOrder.State.ACTIVE);
+    if (isActive && !wasActive) {
+      addDependent(currentState);
+      ordersToCheck.add(currentState.getReference());
+    }
+    else if (wasActive && !isActive) {
+      removeDependent(previousState);
+    }
+
+    // A dependency that has been finished or removed no longer blocks its dependents.
+    if (currentState == null
+        || (currentState.hasState(TransportOrder.State.FINISHED)
+            && (previousState == null || !previousState.hasState(TransportOrder.State.FINISHED)))) {
+      TCSObjectReference<TransportOrder> orderRef = currentState == null
+          ? previousState.getReference()
+          : currentState.getReference();
+      Set<TCSObjectReference<TransportOrder>> dependents = dependentsByDependency.remove(orderRef);
+      if (dependents != null) {
+        ordersToCheck.addAll(dependents);
+      }
+    }
+  }
+
+  private void addDependent(TransportOrder order) {
+    for (TCSObjectReference<TransportOrder> dependency : order.getDependencies()) {
+      dependentsByDependency.computeIfAbsent(dependency, ref -> new LinkedHashSet<>())
+          .add(order.getReference());
+    }
+  }
+
+  private void removeDependent(TransportOrder order) {
+    for (TCSObjectReference<TransportOrder> dependency : order.getDependencies()) {
+      Set<TCSObjectReference<TransportOrder>> dependents = dependentsByDependency.get(dependency);
+      if (dependents != null) {
+        dependents.remove(order.getReference());
+        if (dependents.isEmpty()) {
+          dependentsByDependency.remove(dependency);
+        }
+      }
+    }
+  }
+}
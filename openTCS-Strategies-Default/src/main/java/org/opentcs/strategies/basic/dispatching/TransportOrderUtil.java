@@ -67,6 +67,10 @@ public class TransportOrderUtil
    * This class's configuration.
    */
   private final DefaultDispatcherConfiguration configuration;
+  /**
+   * Keeps track of transport orders that may have become dispatchable.
+   */
+  private final OrderDependencyIndex orderDependencyIndex;
   /**
    * A list of vehicles that are to be disabled/made UNAVAILABLE after they have
    * finished/aborted their current transport orders.
@@ -83,13 +87,15 @@ public class TransportOrderUtil
                             @Nonnull DefaultDispatcherConfiguration configuration,
                             @Nonnull Router router,
                             @Nonnull VehicleControllerPool vehicleControllerPool,
-                            @Nonnull OrderReservationPool orderReservationPool) {
+                            @Nonnull OrderReservationPool orderReservationPool,
+                            @Nonnull OrderDependencyIndex orderDependencyIndex) {
     this.transportOrderService = requireNonNull(transportOrderService, "transportOrderService");
     this.vehicleService = requireNonNull(vehicleService, "vehicleService");
     this.router = requireNonNull(router, "router");
     this.vehicleControllerPool = requireNonNull(vehicleControllerPool, "vehicleControllerPool");
     this.orderReservationPool = requireNonNull(orderReservationPool, "orderReservationPool");
     this.configuration = requireNonNull(configuration, "configuration");
+    this.orderDependencyIndex = requireNonNull(orderDependencyIndex, "orderDependencyIndex");
   }
 
   @Override
@@ -99,6 +105,7 @@ public class TransportOrderUtil
     }
 
     vehiclesToDisable.clear();
+    orderDependencyIndex.initialize();
 
     initialized = true;
   }
@@ -114,6 +121,8 @@ public class TransportOrderUtil
       return;
     }
 
+    orderDependencyIndex.terminate();
+
     initialized = false;
   }
 
@@ -156,13 +165,21 @@ public class TransportOrderUtil
   /**
    * Finds transport orders that are ACTIVE and do not have any unfinished dependencies (any more),
    * marking them as DISPATCHABLE.
+   * <p>
+   * Only transport orders that may have become dispatchable since the last call are checked, i.e.
+   * those whose dependencies have been finished or removed and those that have become the next
+   * unfinished order in their order sequence.
+   * </p>
    */
   public void markNewDispatchableOrders() {
-    transportOrderService.fetchObjects(TransportOrder.class).stream()
-        .filter(order -> order.hasState(TransportOrder.State.ACTIVE))
-        .filter(order -> !hasUnfinishedDependencies(order))
-        .forEach(order -> updateTransportOrderState(order.getReference(),
-                                                    TransportOrder.State.DISPATCHABLE));
+    for (TCSObjectReference<TransportOrder> orderRef : orderDependencyIndex.pollOrdersToCheck()) {
+      TransportOrder order = transportOrderService.fetchObject(TransportOrder.class, orderRef);
+      if (order != null
+          && order.hasState(TransportOrder.State.ACTIVE)
+          && !hasUnfinishedDependencies(order)) {
+        updateTransportOrderState(orderRef, TransportOrder.State.DISPATCHABLE);
+      }
+    }
   }
 
   public void updateTransportOrderState(@Nonnull TCSObjectReference<TransportOrder> ref,
@@ -9,9 +9,11 @@ package org.opentcs.strategies.basic.dispatching.phase;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Stream;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.TransportOrder;
@@ -27,6 +29,7 @@ public class AssignmentState {
   private final List<AssignmentCandidate> assignedCandidates = new ArrayList<>();
   private final List<AssignmentCandidate> reservedCandidates = new ArrayList<>();
   private final Map<TransportOrder, OrderFilterResult> filteredOrders = new HashMap<>();
+  private final Set<TransportOrder> prunedOrders = new HashSet<>();
 
   public AssignmentState() {
   }
@@ -81,4 +84,26 @@ public class AssignmentState {
   public boolean wasFiltered(TransportOrder order) {
     return filteredOrders.containsKey(order);
   }
+
+  /**
+   * Remembers that candidates for the given transport order were pruned, i.e. that they were
+   * neither computed nor filtered.
+   *
+   * @param order The transport order.
+   */
+  public void addPrunedOrder(TransportOrder order) {
+    prunedOrders.add(order);
+  }
+
+  /**
+   * Checks whether candidates for the given transport order were pruned, i.e. whether the order's
+   * filter results may be incomplete.
+   *
+   * @param order The transport order to check.
+   * @return {@code true}, if candidates for the given transport order were pruned, otherwise
+   * {@code false}.
+   */
+  public boolean wasPruned(TransportOrder order) {
+    return prunedOrders.contains(order);
+  }
 }
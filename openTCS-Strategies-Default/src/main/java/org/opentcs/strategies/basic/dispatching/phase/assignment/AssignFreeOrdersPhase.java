@@ -17,7 +17,11 @@ import java.util.Map;
 import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.inject.Inject;
 import org.opentcs.components.kernel.Router;
 import org.opentcs.components.kernel.services.TCSObjectService;
@@ -30,6 +34,7 @@ import static org.opentcs.data.order.TransportOrderHistoryCodes.ORDER_DISPATCHIN
 import static org.opentcs.data.order.TransportOrderHistoryCodes.ORDER_DISPATCHING_RESUMED;
 import static org.opentcs.data.order.TransportOrderHistoryCodes.ORDER_RESERVED_FOR_VEHICLE;
 import org.opentcs.strategies.basic.dispatching.AssignmentCandidate;
+import org.opentcs.strategies.basic.dispatching.DefaultDispatcherConfiguration;
 import org.opentcs.strategies.basic.dispatching.OrderReservationPool;
 import org.opentcs.strategies.basic.dispatching.Phase;
 import org.opentcs.strategies.basic.dispatching.TransportOrderUtil;
@@ -46,6 +51,9 @@ import org.opentcs.strategies.basic.dispatching.selection.orders.CompositeTransp
 import org.opentcs.strategies.basic.dispatching.selection.orders.IsFreelyDispatchableToAnyVehicle;
 import org.opentcs.strategies.basic.dispatching.selection.vehicles.CompositeVehicleSelectionFilter;
 import org.opentcs.strategies.basic.dispatching.selection.vehicles.IsAvailableForAnyOrder;
+import org.opentcs.strategies.basic.routing.DefaultRouter;
+import org.opentcs.util.metrics.Counter;
+import org.opentcs.util.metrics.MetricRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -109,6 +117,31 @@ public class AssignFreeOrdersPhase
 
   private final TransportOrderUtil transportOrderUtil;
 
+  /**
+   * The dispatcher configuration.
+   */
+  private final DefaultDispatcherConfiguration configuration;
+  /**
+   * Counts the candidates whose routes were computed.
+   */
+  private final Counter computedCandidatesCounter;
+  /**
+   * Counts the candidates pruned without computing their routes.
+   */
+  private final Counter prunedCandidatesCounter;
+  /**
+   * Counts the candidates for which there is no route.
+   */
+  private final Counter unroutableCandidatesCounter;
+  /**
+   * The pool computing assignment candidates in parallel, or {@code null}, if they are computed
+   * sequentially.
+   */
+  private ForkJoinPool candidatePool;
+  /**
+   * Whether candidates are pruned using lower bounds for their routing costs.
+   */
+  private boolean pruneCandidates;
   /**
    * Indicates whether this component is initialized.
    */
@@ -128,7 +161,9 @@ public class AssignFreeOrdersPhase
       IsFreelyDispatchableToAnyVehicle isFreelyDispatchableToAnyVehicle,
       CompositeTransportOrderSelectionFilter transportOrderSelectionFilter,
       CompositeAssignmentCandidateSelectionFilter assignmentCandidateSelectionFilter,
-      TransportOrderUtil transportOrderUtil) {
+      TransportOrderUtil transportOrderUtil,
+      DefaultDispatcherConfiguration configuration,
+      MetricRegistry metricRegistry) {
     this.router = requireNonNull(router, "router");
     this.objectService = requireNonNull(objectService, "objectService");
     this.orderReservationPool = requireNonNull(orderReservationPool, "orderReservationPool");
@@ -147,6 +182,15 @@ public class AssignFreeOrdersPhase
     this.assignmentCandidateSelectionFilter = requireNonNull(assignmentCandidateSelectionFilter,
                                                              "assignmentCandidateSelectionFilter");
     this.transportOrderUtil = requireNonNull(transportOrderUtil, "transportOrderUtil");
+    this.configuration = requireNonNull(configuration, "configuration");
+    requireNonNull(metricRegistry, "metricRegistry");
+
+    this.computedCandidatesCounter
+        = metricRegistry.counter("dispatcher.candidates", "result", "computed");
+    this.prunedCandidatesCounter
+        = metricRegistry.counter("dispatcher.candidates", "result", "pruned");
+    this.unroutableCandidatesCounter
+        = metricRegistry.counter("dispatcher.candidates", "result", "unroutable");
   }
 
   @Override
@@ -154,6 +198,21 @@ public class AssignFreeOrdersPhase
     if (isInitialized()) {
       return;
     }
+
+    int threadCount = configuration.candidateComputationThreads() > 0
+        ? configuration.candidateComputationThreads()
+        : Runtime.getRuntime().availableProcessors();
+    if (threadCount > 1) {
+      LOG.debug("Computing assignment candidates with {} threads.", threadCount);
+      candidatePool = new ForkJoinPool(threadCount, this::createWorkerThread, null, false);
+    }
+    // The lower bounds for routing costs are estimated using the default router's destination
+    // points and costs, so they are not lower bounds for routes computed by any other router.
+    pruneCandidates = configuration.pruneCandidates() && router instanceof DefaultRouter;
+    if (configuration.pruneCandidates() && !pruneCandidates) {
+      LOG.warn("Pruning candidates requires the default router, not pruning with {}.",
+               router.getClass().getName());
+    }
     initialized = true;
   }
 
@@ -167,6 +226,11 @@ public class AssignFreeOrdersPhase
     if (!isInitialized()) {
       return;
     }
+
+    if (candidatePool != null) {
+      candidatePool.shutdown();
+      candidatePool = null;
+    }
     initialized = false;
   }
 
@@ -210,24 +274,37 @@ public class AssignFreeOrdersPhase
               availableVehicles.size());
 
     AssignmentState assignmentState = new AssignmentState();
+    CandidateCostEstimator costEstimator
+        = pruneCandidates ? new CandidateCostEstimator((DefaultRouter) router) : null;
     if (availableVehicles.size() < availableOrders.size()) {
       availableVehicles.stream()
           .sorted(vehicleComparator)
-          .forEach(vehicle -> tryAssignOrder(vehicle, availableOrders, assignmentState));
+          .forEach(vehicle -> tryAssignOrder(vehicle,
+                                             availableOrders,
+                                             assignmentState,
+                                             costEstimator));
     }
     else {
       availableOrders.stream()
           .sorted(orderComparator)
-          .forEach(order -> tryAssignVehicle(order, availableVehicles, assignmentState));
+          .forEach(order -> tryAssignVehicle(order,
+                                             availableVehicles,
+                                             assignmentState,
+                                             costEstimator));
     }
 
+    // The filter reasons for orders with pruned candidates may be incomplete, so keep the reasons
+    // already recorded for them.
     assignmentState.getFilteredOrders().values().stream()
         .filter(filterResult -> !assignmentState.wasAssignedToVehicle(filterResult.getOrder()))
+        .filter(filterResult -> (!assignmentState.wasPruned(filterResult.getOrder())
+                                 || !markedAsFiltered(filterResult.getOrder())))
         .filter(this::filterReasonsChanged)
         .forEach(this::doMarkAsFiltered);
 
     availableOrders.stream()
         .filter(order -> (!assignmentState.wasFiltered(order)
+                          && !assignmentState.wasPruned(order)
                           && !assignmentState.wasAssignedToVehicle(order)))
         .filter(this::markedAsFiltered)
         .forEach(this::doUnmarkAsFiltered);
@@ -291,55 +368,128 @@ public class AssignFreeOrdersPhase
 
   private void tryAssignOrder(Vehicle vehicle,
                               Collection<TransportOrder> availableOrders,
-                              AssignmentState assignmentState) {
+                              AssignmentState assignmentState,
+                              CandidateCostEstimator costEstimator) {
     LOG.debug("Trying to find transport order for vehicle '{}'...", vehicle.getName());
 
     Point vehiclePosition = objectService.fetchObject(Point.class, vehicle.getCurrentPosition());
 
-    Map<Boolean, List<CandidateFilterResult>> ordersSplitByFilter
-        = availableOrders.stream()
-            .filter(order -> (!assignmentState.wasAssignedToVehicle(order)
-                              && orderAssignableToVehicle(order, vehicle)))
-            .map(order -> computeCandidate(vehicle, vehiclePosition, order))
-            .filter(optCandidate -> optCandidate.isPresent())
-            .map(optCandidate -> optCandidate.get())
-            .map(
-                candidate -> new CandidateFilterResult(
-                    candidate,
-                    assignmentCandidateSelectionFilter.apply(candidate)
-                )
-            )
-            .collect(Collectors.partitioningBy(filterResult -> !filterResult.isFiltered()));
-
-    ordersSplitByFilter.get(Boolean.FALSE).stream()
-        .map(CandidateFilterResult::toFilterResult)
-        .forEach(filterResult -> assignmentState.addFilteredOrder(filterResult));
+    List<TransportOrder> assignableOrders = availableOrders.stream()
+        .filter(order -> (!assignmentState.wasAssignedToVehicle(order)
+                          && orderAssignableToVehicle(order, vehicle)))
+        .collect(Collectors.toList());
 
-    ordersSplitByFilter.get(Boolean.TRUE).stream()
-        .map(CandidateFilterResult::getCandidate)
-        .sorted(orderCandidateComparator)
-        .findFirst()
+    selectCandidate(assignableOrders,
+                    order -> costEstimator.estimateCandidate(vehicle, vehiclePosition, order),
+                    order -> computeCandidate(vehicle, vehiclePosition, order),
+                    orderCandidateComparator,
+                    assignmentState)
         .ifPresent(candidate -> assignOrder(candidate, assignmentState));
   }
 
   private void tryAssignVehicle(TransportOrder order,
                                 Collection<Vehicle> availableVehicles,
-                                AssignmentState assignmentState) {
+                                AssignmentState assignmentState,
+                                CandidateCostEstimator costEstimator) {
     LOG.debug("Trying to find vehicle for transport order '{}'...", order.getName());
 
-    Map<Boolean, List<CandidateFilterResult>> ordersSplitByFilter
-        = availableVehicles.stream()
-            .filter(vehicle -> (!assignmentState.wasAssignedToOrder(vehicle)
-                                && orderAssignableToVehicle(order, vehicle)))
-            .map(
-                vehicle -> computeCandidate(
-                    vehicle,
-                    objectService.fetchObject(Point.class, vehicle.getCurrentPosition()),
-                    order
-                )
-            )
-            .filter(optCandidate -> optCandidate.isPresent())
-            .map(optCandidate -> optCandidate.get())
+    List<Vehicle> assignableVehicles = availableVehicles.stream()
+        .filter(vehicle -> (!assignmentState.wasAssignedToOrder(vehicle)
+                            && orderAssignableToVehicle(order, vehicle)))
+        .collect(Collectors.toList());
+
+    selectCandidate(
+        assignableVehicles,
+        vehicle -> costEstimator.estimateCandidate(vehicle, positionOf(vehicle), order),
+        vehicle -> computeCandidate(vehicle, positionOf(vehicle), order),
+        vehicleCandidateComparator,
+        assignmentState
+    )
+        .ifPresent(candidate -> assignOrder(candidate, assignmentState));
+  }
+
+  /**
+   * Selects the preferred candidate among those for the given elements that are not filtered.
+   * <p>
+   * If pruning is enabled, candidates with estimated routing costs are sorted first. Routes are
+   * then computed for batches of the most promising candidates only until the estimate of the
+   * next candidate is not preferred to the best candidate found so far. With estimated costs being
+   * lower bounds, none of the remaining candidates could be preferred to that one, so the result is
+   * the same as without pruning.
+   * </p>
+   *
+   * @param <T> The type of the elements.
+   * @param elements The elements (vehicles or transport orders) to select a candidate for.
+   * @param estimation Creates the candidate with estimated costs for a single element.
+   * @param computation Computes the candidate for a single element.
+   * @param comparator Defines the order of candidates, the preferred ones first.
+   * @param assignmentState The assignment state to record filtered and pruned orders in.
+   * @return The selected candidate, if any.
+   */
+  private <T> Optional<AssignmentCandidate> selectCandidate(
+      List<T> elements,
+      Function<T, Optional<AssignmentCandidate>> estimation,
+      Function<T, Optional<AssignmentCandidate>> computation,
+      Comparator<AssignmentCandidate> comparator,
+      AssignmentState assignmentState) {
+    if (!pruneCandidates) {
+      List<AssignmentCandidate> candidates = computeCandidates(elements, computation);
+      computedCandidatesCounter.increment(candidates.size());
+      unroutableCandidatesCounter.increment(elements.size() - candidates.size());
+      return selectUnfilteredCandidate(candidates, comparator, assignmentState);
+    }
+
+    List<Optional<AssignmentCandidate>> estimates = computeInPool(elements, estimation);
+    List<Integer> promisingIndices = IntStream.range(0, elements.size())
+        .filter(index -> estimates.get(index).isPresent())
+        .boxed()
+        .sorted(Comparator.comparing(index -> estimates.get(index).get(), comparator))
+        .collect(Collectors.toList());
+    unroutableCandidatesCounter.increment(elements.size() - promisingIndices.size());
+
+    int batchSize = Math.max(1, configuration.candidatePruningBatchSize());
+    AssignmentCandidate bestCandidate = null;
+    int computedCount = 0;
+    while (computedCount < promisingIndices.size()
+        && (bestCandidate == null
+            || comparator.compare(estimates.get(promisingIndices.get(computedCount)).get(),
+                                  bestCandidate) <= 0)) {
+      List<T> batch = promisingIndices
+          .subList(computedCount, Math.min(computedCount + batchSize, promisingIndices.size()))
+          .stream()
+          .map(elements::get)
+          .collect(Collectors.toList());
+      List<AssignmentCandidate> candidates = computeCandidates(batch, computation);
+      computedCandidatesCounter.increment(candidates.size());
+      unroutableCandidatesCounter.increment(batch.size() - candidates.size());
+      Optional<AssignmentCandidate> batchCandidate
+          = selectUnfilteredCandidate(candidates, comparator, assignmentState);
+      if (batchCandidate.isPresent()
+          && (bestCandidate == null
+              || comparator.compare(batchCandidate.get(), bestCandidate) < 0)) {
+        bestCandidate = batchCandidate.get();
+      }
+      computedCount += batch.size();
+    }
+
+    for (int index : promisingIndices.subList(computedCount, promisingIndices.size())) {
+      assignmentState.addPrunedOrder(estimates.get(index).get().getTransportOrder());
+    }
+    prunedCandidatesCounter.increment(promisingIndices.size() - computedCount);
+
+    return Optional.ofNullable(bestCandidate);
+  }
+
+  /**
+   * Filters the given candidates, records the filtered ones and returns the preferred one of the
+   * remaining candidates.
+   */
+  private Optional<AssignmentCandidate> selectUnfilteredCandidate(
+      List<AssignmentCandidate> candidates,
+      Comparator<AssignmentCandidate> comparator,
+      AssignmentState assignmentState) {
+    Map<Boolean, List<CandidateFilterResult>> candidatesSplitByFilter
+        = candidates.stream()
             .map(
                 candidate -> new CandidateFilterResult(
                     candidate,
@@ -348,15 +498,14 @@ public class AssignFreeOrdersPhase
             )
             .collect(Collectors.partitioningBy(filterResult -> !filterResult.isFiltered()));
 
-    ordersSplitByFilter.get(Boolean.FALSE).stream()
+    candidatesSplitByFilter.get(Boolean.FALSE).stream()
         .map(CandidateFilterResult::toFilterResult)
         .forEach(filterResult -> assignmentState.addFilteredOrder(filterResult));
 
-    ordersSplitByFilter.get(Boolean.TRUE).stream()
+    return candidatesSplitByFilter.get(Boolean.TRUE).stream()
         .map(CandidateFilterResult::getCandidate)
-        .sorted(vehicleCandidateComparator)
-        .findFirst()
-        .ifPresent(candidate -> assignOrder(candidate, assignmentState));
+        .sorted(comparator)
+        .findFirst();
   }
 
   private void assignOrder(AssignmentCandidate candidate, AssignmentState assignmentState) {
@@ -400,6 +549,52 @@ public class AssignFreeOrdersPhase
     );
   }
 
+  /**
+   * Computes the assignment candidates for the given elements, in parallel if a pool is available.
+   * <p>
+   * The returned candidates are in the same order as the elements they were computed for, so the
+   * candidate selected eventually does not depend on the order in which they were computed.
+   * </p>
+   *
+   * @param <T> The type of the elements.
+   * @param elements The elements (vehicles or transport orders) to compute candidates for.
+   * @param computation Computes the candidate for a single element.
+   * @return The candidates that could be computed.
+   */
+  private <T> List<AssignmentCandidate> computeCandidates(
+      List<T> elements,
+      Function<T, Optional<AssignmentCandidate>> computation) {
+    return computeInPool(elements, computation).stream()
+        .filter(optCandidate -> optCandidate.isPresent())
+        .map(optCandidate -> optCandidate.get())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Applies the given computation to the given elements, in parallel if a pool is available.
+   *
+   * @param <T> The type of the elements.
+   * @param <R> The type of the results.
+   * @param elements The elements.
+   * @param computation The computation.
+   * @return The results, in the same order as the elements they were computed for.
+   */
+  private <T, R> List<R> computeInPool(List<T> elements, Function<T, R> computation) {
+    if (candidatePool == null || elements.size() < 2) {
+      return elements.stream().map(computation).collect(Collectors.toList());
+    }
+    // A parallel stream started from within a pool's task is processed by that pool's threads.
+    return candidatePool.submit(
+        () -> elements.parallelStream().map(computation).collect(Collectors.toList())
+    ).join();
+  }
+
+  private ForkJoinWorkerThread createWorkerThread(ForkJoinPool pool) {
+    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+    thread.setName("assignmentCandidates-" + thread.getPoolIndex());
+    return thread;
+  }
+
   private Optional<AssignmentCandidate> computeCandidate(Vehicle vehicle,
                                                          Point vehiclePosition,
                                                          TransportOrder order) {
@@ -407,6 +602,10 @@ public class AssignFreeOrdersPhase
         .map(driveOrders -> new AssignmentCandidate(vehicle, order, driveOrders));
   }
 
+  private Point positionOf(Vehicle vehicle) {
+    return objectService.fetchObject(Point.class, vehicle.getCurrentPosition());
+  }
+
   private boolean orderAssignableToVehicle(TransportOrder order, Vehicle vehicle) {
     return order.getIntendedVehicle() == null
         || Objects.equals(order.getIntendedVehicle(), vehicle.getReference());
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.dispatching.phase.assignment;
+
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.strategies.basic.dispatching.AssignmentCandidate;
+import org.opentcs.strategies.basic.routing.DefaultRouter;
+
+/**
+ * Estimates lower bounds for the routing costs of assignment candidates.
+ * <p>
+ * The estimated costs are the costs of the cheapest route from the vehicle's position to any of the
+ * destination points of the transport order's first future drive order.
+ * Both the destination points and the costs are provided by the default router, which also
+ * computes the candidates' routes. Assuming routing costs are never negative, these are lower
+ * bounds for both the initial and the complete routing costs of a candidate.
+ * The costs are cached by vehicle and destination point, so transport orders with the same
+ * destinations share them.
+ * As the routing costs may change between dispatch runs, an instance is meant to be used for a
+ * single run only.
+ * </p>
+ */
+class CandidateCostEstimator {
+
+  /**
+   * The router computing the costs.
+   */
+  private final DefaultRouter router;
+  /**
+   * The costs from the vehicles' positions to destination points, mapped by vehicle name and
+   * destination point name.
+   */
+  private final Map<String, Map<String, Long>> costsByVehicle = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param router The router computing the costs.
+   */
+  CandidateCostEstimator(@Nonnull DefaultRouter router) {
+    this.router = requireNonNull(router, "router");
+  }
+
+  /**
+   * Returns a candidate with lower bounds for the routing costs of assigning the given transport
+   * order to the given vehicle.
+   *
+   * @param vehicle The vehicle.
+   * @param vehiclePosition The vehicle's current position.
+   * @param order The transport order.
+   * @return The candidate with estimated costs, or an empty optional, if the vehicle cannot reach
+   * any destination point of the transport order's first drive order, i.e. if there is no route.
+   */
+  @Nonnull
+  Optional<AssignmentCandidate> estimateCandidate(@Nonnull Vehicle vehicle,
+                                                  @Nonnull Point vehiclePosition,
+                                                  @Nonnull TransportOrder order) {
+    requireNonNull(vehicle, "vehicle");
+    requireNonNull(vehiclePosition, "vehiclePosition");
+    requireNonNull(order, "order");
+
+    List<DriveOrder> driveOrders = order.getFutureDriveOrders();
+    long costs = driveOrders.isEmpty()
+        ? 0
+        : estimateCosts(vehicle, vehiclePosition, driveOrders.get(0));
+    if (costs == Long.MAX_VALUE) {
+      return Optional.empty();
+    }
+    return Optional.of(AssignmentCandidate.withEstimatedCosts(vehicle, order, costs, costs));
+  }
+
+  private long estimateCosts(Vehicle vehicle, Point vehiclePosition, DriveOrder driveOrder) {
+    Map<String, Long> costsByPoint
+        = costsByVehicle.computeIfAbsent(vehicle.getName(), name -> new ConcurrentHashMap<>());
+
+    long result = Long.MAX_VALUE;
+    for (Point point : router.getDestinationPoints(driveOrder)) {
+      Long costs = costsByPoint.get(point.getName());
+      if (costs == null) {
+        // Compute the costs without holding the map's lock; concurrent computations of the same
+        // costs yield the same result.
+        costs = router.getCosts(vehicle, vehiclePosition, point);
+        costsByPoint.put(point.getName(), costs);
+      }
+      result = Math.min(result, costs);
+    }
+    return result;
+  }
+}
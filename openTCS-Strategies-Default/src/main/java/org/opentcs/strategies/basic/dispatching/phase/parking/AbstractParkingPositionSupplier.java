@@ -17,6 +17,7 @@ import org.opentcs.components.kernel.Router;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
+import org.opentcs.strategies.basic.routing.DestinationPointCache;
 
 /**
  * An abstract base class for parking position suppliers.
@@ -35,6 +36,10 @@ public abstract class AbstractParkingPositionSupplier
    * A router for computing distances to parking positions.
    */
   private final Router router;
+  /**
+   * Provides the parking positions.
+   */
+  private final DestinationPointCache destinationPointCache;
   /**
    * Indicates whether this component is initialized.
    */
@@ -45,11 +50,14 @@ public abstract class AbstractParkingPositionSupplier
    *
    * @param plantModelService The plant model service.
    * @param router A router for computing distances to parking positions.
+   * @param destinationPointCache Provides the parking positions.
    */
   protected AbstractParkingPositionSupplier(InternalPlantModelService plantModelService,
-                                            Router router) {
+                                            Router router,
+                                            DestinationPointCache destinationPointCache) {
     this.plantModelService = requireNonNull(plantModelService, "plantModelService");
     this.router = requireNonNull(router, "router");
+    this.destinationPointCache = requireNonNull(destinationPointCache, "destinationPointCache");
   }
 
   @Override
@@ -58,6 +66,8 @@ public abstract class AbstractParkingPositionSupplier
       return;
     }
 
+    destinationPointCache.initialize();
+
     initialized = true;
   }
 
@@ -72,6 +82,8 @@ public abstract class AbstractParkingPositionSupplier
       return;
     }
 
+    destinationPointCache.terminate();
+
     initialized = false;
   }
 
@@ -151,7 +163,7 @@ public abstract class AbstractParkingPositionSupplier
   }
 
   protected Set<Point> fetchAllParkingPositions() {
-    return plantModelService.fetchObjects(Point.class, point -> point.isParkingPosition());
+    return destinationPointCache.getParkingPositions();
   }
 
   /**
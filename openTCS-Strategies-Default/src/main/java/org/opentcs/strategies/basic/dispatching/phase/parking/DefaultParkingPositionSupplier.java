@@ -18,6 +18,7 @@ import org.opentcs.components.kernel.Router;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
+import org.opentcs.strategies.basic.routing.DestinationPointCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,11 +43,13 @@ public class DefaultParkingPositionSupplier
    *
    * @param plantModelService The plant model service.
    * @param router A router for computing travel costs to parking positions.
+   * @param destinationPointCache Provides the parking positions.
    */
   @Inject
   public DefaultParkingPositionSupplier(InternalPlantModelService plantModelService,
-                                        Router router) {
-    super(plantModelService, router);
+                                        Router router,
+                                        DestinationPointCache destinationPointCache) {
+    super(plantModelService, router, destinationPointCache);
   }
 
   @Override
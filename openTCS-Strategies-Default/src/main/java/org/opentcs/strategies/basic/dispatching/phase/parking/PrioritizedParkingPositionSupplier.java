@@ -19,6 +19,7 @@ import org.opentcs.components.kernel.Router;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
+import org.opentcs.strategies.basic.routing.DestinationPointCache;
 import static org.opentcs.util.Assertions.checkArgument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,12 +52,14 @@ public class PrioritizedParkingPositionSupplier
    * @param plantModelService The plant model service.
    * @param router A router for computing travel costs to parking positions.
    * @param priorityFunction A function computing the priority of a parking position.
+   * @param destinationPointCache Provides the parking positions.
    */
   @Inject
   public PrioritizedParkingPositionSupplier(InternalPlantModelService plantModelService,
                                             Router router,
-                                            ParkingPositionToPriorityFunction priorityFunction) {
-    super(plantModelService, router);
+                                            ParkingPositionToPriorityFunction priorityFunction,
+                                            DestinationPointCache destinationPointCache) {
+    super(plantModelService, router, destinationPointCache);
     this.priorityFunction = requireNonNull(priorityFunction, "priorityFunction");
   }
 
@@ -25,9 +25,9 @@ import static org.opentcs.components.kernel.Dispatcher.PROPKEY_PREFERRED_RECHARG
 import org.opentcs.components.kernel.Router;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
 import org.opentcs.data.model.Location;
-import org.opentcs.data.model.LocationType;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
+import org.opentcs.strategies.basic.routing.DestinationPointCache;
 import org.opentcs.data.order.DriveOrder;
 
 /**
@@ -46,6 +46,10 @@ public class DefaultRechargePositionSupplier
    * Our router.
    */
   private final Router router;
+  /**
+   * Provides the recharge locations and their access points.
+   */
+  private final DestinationPointCache destinationPointCache;
   /**
    * Indicates whether this component is enabled.
    */
@@ -56,12 +60,15 @@ public class DefaultRechargePositionSupplier
    *
    * @param plantModelService The plant model service.
    * @param router The router to use.
+   * @param destinationPointCache Provides the recharge locations and their access points.
    */
   @Inject
   public DefaultRechargePositionSupplier(InternalPlantModelService plantModelService,
-                                         Router router) {
+                                         Router router,
+                                         DestinationPointCache destinationPointCache) {
     this.plantModelService = requireNonNull(plantModelService, "plantModelService");
     this.router = requireNonNull(router, "router");
+    this.destinationPointCache = requireNonNull(destinationPointCache, "destinationPointCache");
   }
 
   @Override
@@ -70,6 +77,8 @@ public class DefaultRechargePositionSupplier
       return;
     }
 
+    destinationPointCache.initialize();
+
     initialized = true;
   }
 
@@ -84,6 +93,8 @@ public class DefaultRechargePositionSupplier
       return;
     }
 
+    destinationPointCache.terminate();
+
     initialized = false;
   }
 
@@ -170,16 +181,13 @@ public class DefaultRechargePositionSupplier
                                                               Set<Point> targetedPoints) {
     Map<Location, Set<Point>> result = new HashMap<>();
 
-    for (Location curLoc : plantModelService.fetchObjects(Location.class)) {
-      LocationType lType = plantModelService.fetchObject(LocationType.class, curLoc.getType());
-      if (lType.isAllowedOperation(operation)) {
-        Set<Point> points = findUnoccupiedAccessPointsForOperation(curLoc,
-                                                                   operation,
-                                                                   vehicle,
-                                                                   targetedPoints);
-        if (!points.isEmpty()) {
-          result.put(curLoc, points);
-        }
+    for (Location curLoc : destinationPointCache.getLocationsAllowingOperation(operation)) {
+      Set<Point> points = findUnoccupiedAccessPointsForOperation(curLoc,
+                                                                 operation,
+                                                                 vehicle,
+                                                                 targetedPoints);
+      if (!points.isEmpty()) {
+        result.put(curLoc, points);
       }
     }
 
@@ -190,30 +198,11 @@ public class DefaultRechargePositionSupplier
                                                             String rechargeOp,
                                                             Vehicle vehicle,
                                                             Set<Point> targetedPoints) {
-    return location.getAttachedLinks().stream()
-        .filter(link -> allowsOperation(link, rechargeOp))
-        .map(link -> plantModelService.fetchObject(Point.class, link.getPoint()))
+    return destinationPointCache.getAccessPoints(location.getName(), rechargeOp).stream()
         .filter(accessPoint -> isPointUnoccupiedFor(accessPoint, vehicle, targetedPoints))
         .collect(Collectors.toSet());
   }
 
-  /**
-   * Checks if the given link either does not define any allowed operations at all (meaning it does
-   * not override the allowed operations of the corresponding location's location type), or - if it
-   * does - explicitly allows the required recharge operation.
-   *
-   * @param link The link to be checked.
-   * @param operation The operation to be checked for.
-   * @return <code>true</code> if, and only if, the given link does not disallow the given
-   * operation.
-   */
-  private boolean allowsOperation(Location.Link link, String operation) {
-    // This link is only interesting if it either does not define any allowed operations (does
-    // not override the allowed operations of the corresponding location) at all or, if it does,
-    // allows the required recharge operation.
-    return link.getAllowedOperations().isEmpty() || link.hasAllowedOperation(operation);
-  }
-
   private Optional<LocationCandidate> bestAccessPointCandidate(Vehicle vehicle,
                                                                Point srcPosition,
                                                                Location location,
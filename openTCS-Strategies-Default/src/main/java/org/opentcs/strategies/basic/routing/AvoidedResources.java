@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing;
+
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.data.model.Path;
+
+/**
+ * Keeps the resources that routes computed for vehicles are to avoid, if possible.
+ * <p>
+ * The default router adds a penalty to the weight of every edge leading along or to any of a
+ * vehicle's avoided resources, so that these are used only if there is no other route.
+ * This allows, for instance, rerouting a vehicle around the resources it is waiting for.
+ * </p>
+ */
+public class AvoidedResources {
+
+  /**
+   * The weight added to edges leading along or to avoided resources.
+   * It is meant to exceed the weights of any route without avoided resources while not
+   * overflowing the costs of routes with them.
+   */
+  public static final double PENALTY = 1.0E12;
+  /**
+   * The names of the resources to avoid, mapped by vehicle name.
+   */
+  private final Map<String, Set<String>> resourcesByVehicle = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance.
+   */
+  public AvoidedResources() {
+  }
+
+  /**
+   * Sets the resources that routes computed for the given vehicle are to avoid, replacing any
+   * resources set before.
+   *
+   * @param vehicleName The name of the vehicle.
+   * @param resourceNames The names of the resources to avoid.
+   */
+  public void setAvoidedResources(@Nonnull String vehicleName,
+                                  @Nonnull Set<String> resourceNames) {
+    requireNonNull(vehicleName, "vehicleName");
+    requireNonNull(resourceNames, "resourceNames");
+
+    if (resourceNames.isEmpty()) {
+      resourcesByVehicle.remove(vehicleName);
+    }
+    else {
+      resourcesByVehicle.put(vehicleName, Set.copyOf(resourceNames));
+    }
+  }
+
+  /**
+   * Clears the resources that routes computed for the given vehicle are to avoid.
+   *
+   * @param vehicleName The name of the vehicle.
+   */
+  public void clearAvoidedResources(@Nonnull String vehicleName) {
+    requireNonNull(vehicleName, "vehicleName");
+
+    resourcesByVehicle.remove(vehicleName);
+  }
+
+  /**
+   * Returns the resources that routes computed for the given vehicle are to avoid.
+   *
+   * @param vehicleName The name of the vehicle.
+   * @return The names of the resources to avoid.
+   */
+  @Nonnull
+  public Set<String> getAvoidedResources(@Nonnull String vehicleName) {
+    requireNonNull(vehicleName, "vehicleName");
+
+    return resourcesByVehicle.getOrDefault(vehicleName, Set.of());
+  }
+
+  /**
+   * Computes the weight to be added to the given edge for the given avoided resources.
+   *
+   * @param edge The edge.
+   * @param resourceNames The names of the avoided resources.
+   * @return {@link #PENALTY}, if the edge's path or destination point is one of the given
+   * resources, or zero.
+   */
+  public static double computeWeight(@Nonnull Edge edge, @Nonnull Set<String> resourceNames) {
+    requireNonNull(edge, "edge");
+    requireNonNull(resourceNames, "resourceNames");
+
+    Path path = edge.getPath();
+    String destinationPoint = edge.isTravellingReverse()
+        ? path.getSourcePoint().getName()
+        : path.getDestinationPoint().getName();
+    return resourceNames.contains(path.getName()) || resourceNames.contains(destinationPoint)
+        ? PENALTY
+        : 0.0;
+  }
+}
@@ -9,6 +9,7 @@ package org.opentcs.strategies.basic.routing;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -23,8 +24,6 @@ import org.opentcs.components.kernel.Router;
 import org.opentcs.components.kernel.routing.GroupMapper;
 import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.data.TCSObjectReference;
-import org.opentcs.data.model.Location;
-import org.opentcs.data.model.LocationType;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.DriveOrder;
@@ -32,11 +31,22 @@ import org.opentcs.data.order.DriveOrder.Destination;
 import org.opentcs.data.order.Route;
 import org.opentcs.data.order.TransportOrder;
 import static org.opentcs.strategies.basic.routing.PointRouter.INFINITE_COSTS;
+import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorCongestion;
+import org.opentcs.strategies.basic.routing.spacetime.ReservationTableProvider;
+import org.opentcs.util.metrics.Counter;
+import org.opentcs.util.metrics.MetricRegistry;
+import org.opentcs.util.metrics.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * A basic {@link Router} implementation.
+ * <p>
+ * Routes and costs may be computed by multiple threads concurrently.
+ * Point routers are never modified once they have been created, and the set of point routers is
+ * replaced as a whole whenever a new one is added, so computing routes does not require holding
+ * this router's lock.
+ * </p>
  *
  * @author Stefan Walter (Fraunhofer IML)
  */
@@ -63,14 +73,61 @@ public class DefaultRouter
    * Used to map vehicles to their routing groups.
    */
   private final GroupMapper routingGroupMapper;
+  /**
+   * Provides the points at which vehicles can execute operations at locations.
+   */
+  private final DestinationPointCache destinationPointCache;
+  /**
+   * Computes weights of edges from the resources allocated and claimed by other vehicles.
+   */
+  private final EdgeEvaluatorCongestion congestionEvaluator;
+  /**
+   * Provides the paths and points other vehicles are expected to occupy along their routes.
+   */
+  private final ReservationTableProvider reservationTableProvider;
+  /**
+   * The resources routes computed for vehicles are to avoid.
+   */
+  private final AvoidedResources avoidedResources;
   /**
    * The routes selected for each vehicle.
    */
   private final Map<Vehicle, List<DriveOrder>> routesByVehicle = new ConcurrentHashMap<>();
   /**
    * The point routers by vehicle routing group.
+   * This map is never modified but replaced (while holding this router's lock).
+   */
+  private volatile Map<String, PointRouter> pointRoutersByVehicleGroup = Map.of();
+  /**
+   * The point routers considering the congestion caused by other vehicles, for the current
+   * penalties and point routers.
+   */
+  private volatile CongestionPointRouters congestionPointRouters
+      = new CongestionPointRouters(null, Map.of());
+  /**
+   * Measures the durations of computing routes for transport orders.
+   */
+  private final Timer orderRouteTimer;
+  /**
+   * Measures the durations of computing routes between two points.
+   */
+  private final Timer pointRouteTimer;
+  /**
+   * Measures the durations of computing costs between two points.
    */
-  private final Map<String, PointRouter> pointRoutersByVehicleGroup = new ConcurrentHashMap<>();
+  private final Timer costsTimer;
+  /**
+   * Measures the durations of routability checks.
+   */
+  private final Timer routabilityTimer;
+  /**
+   * Counts lookups of point routers that were already created.
+   */
+  private final Counter pointRouterCacheHits;
+  /**
+   * Counts lookups of point routers that had to be created.
+   */
+  private final Counter pointRouterCacheMisses;
   /**
    * Indicates whether this component is enabled.
    */
@@ -83,16 +140,45 @@ public class DefaultRouter
    * @param pointRouterFactory A factory for point routers.
    * @param routingGroupMapper Used to map vehicles to their routing groups.
    * @param configuration This class's configuration.
+   * @param metricRegistry The registry to register meters with.
+   * @param destinationPointCache Provides the points at which vehicles can execute operations at
+   * locations.
+   * @param congestionEvaluator Computes weights of edges from the resources allocated and claimed
+   * by other vehicles.
+   * @param reservationTableProvider Provides the paths and points other vehicles are expected to
+   * occupy along their routes.
+   * @param avoidedResources The resources routes computed for vehicles are to avoid.
    */
   @Inject
   public DefaultRouter(TCSObjectService objectService,
                        PointRouterFactory pointRouterFactory,
                        GroupMapper routingGroupMapper,
-                       DefaultRouterConfiguration configuration) {
+                       DefaultRouterConfiguration configuration,
+                       MetricRegistry metricRegistry,
+                       DestinationPointCache destinationPointCache,
+                       EdgeEvaluatorCongestion congestionEvaluator,
+                       ReservationTableProvider reservationTableProvider,
+                       AvoidedResources avoidedResources) {
     this.objectService = requireNonNull(objectService, "objectService");
     this.pointRouterFactory = requireNonNull(pointRouterFactory, "pointRouterFactory");
     this.routingGroupMapper = requireNonNull(routingGroupMapper, "routingGroupMapper");
     this.configuration = requireNonNull(configuration, "configuration");
+    requireNonNull(metricRegistry, "metricRegistry");
+    this.destinationPointCache = requireNonNull(destinationPointCache, "destinationPointCache");
+    this.congestionEvaluator = requireNonNull(congestionEvaluator, "congestionEvaluator");
+    this.reservationTableProvider = requireNonNull(reservationTableProvider,
+                                                   "reservationTableProvider");
+    this.avoidedResources = requireNonNull(avoidedResources, "avoidedResources");
+
+    this.orderRouteTimer = metricRegistry.timer("router.route", "target", "transportOrder");
+    this.pointRouteTimer = metricRegistry.timer("router.route", "target", "point");
+    this.costsTimer = metricRegistry.timer("router.costs");
+    this.routabilityTimer = metricRegistry.timer("router.routability");
+    this.pointRouterCacheHits = metricRegistry.counter("router.pointrouter.lookups",
+                                                       "result", "hit");
+    this.pointRouterCacheMisses = metricRegistry.counter("router.pointrouter.lookups",
+                                                         "result", "miss");
+    metricRegistry.gauge("router.pointrouter.count", () -> pointRoutersByVehicleGroup.size());
   }
 
   @Override
@@ -103,7 +189,10 @@ public class DefaultRouter
 
     synchronized (this) {
       routesByVehicle.clear();
+      reservationTableProvider.invalidate();
       topologyChanged();
+      destinationPointCache.initialize();
+      congestionEvaluator.initialize();
       initialized = true;
     }
   }
@@ -121,7 +210,11 @@ public class DefaultRouter
 
     synchronized (this) {
       routesByVehicle.clear();
-      pointRoutersByVehicleGroup.clear();
+      reservationTableProvider.invalidate();
+      pointRoutersByVehicleGroup = Map.of();
+      congestionPointRouters = new CongestionPointRouters(null, Map.of());
+      destinationPointCache.terminate();
+      congestionEvaluator.terminate();
       initialized = false;
     }
   }
@@ -129,7 +222,7 @@ public class DefaultRouter
   @Override
   public void topologyChanged() {
     synchronized (this) {
-      pointRoutersByVehicleGroup.clear();
+      pointRoutersByVehicleGroup = Map.of();
     }
   }
 
@@ -138,26 +231,24 @@ public class DefaultRouter
     requireNonNull(order, "order");
 
     synchronized (this) {
+      long start = routabilityTimer.start();
       Set<Vehicle> result = new HashSet<>();
-      List<DriveOrder> driveOrderList = order.getFutureDriveOrders();
-      DriveOrder[] driveOrders
-          = driveOrderList.toArray(new DriveOrder[driveOrderList.size()]);
+      // The destination points do not depend on the routing group, so determine them only once.
+      List<Set<Point>> destinationPoints = new ArrayList<>();
+      for (DriveOrder driveOrder : order.getFutureDriveOrders()) {
+        destinationPoints.add(getDestinationPoints(driveOrder));
+      }
 
       // Since point routers get reset on topology changes, make sure there are point routers for
       // all routing groups.
       createMissingPointRouters();
 
       for (Map.Entry<String, PointRouter> curEntry : pointRoutersByVehicleGroup.entrySet()) {
-        // Get all points at the first location at which a vehicle of the current
-        // type can execute the desired operation and check if an acceptable route
-        // originating in one of them exists.
-        for (Point curStartPoint : getDestinationPoints(driveOrders[0])) {
-          if (isRoutable(curStartPoint, driveOrders, 1, curEntry.getValue())) {
-            result.addAll(getVehiclesByRoutingGroup(curEntry.getKey()));
-            break;
-          }
+        if (isRoutable(destinationPoints, curEntry.getValue())) {
+          result.addAll(getVehiclesByRoutingGroup(curEntry.getKey()));
         }
       }
+      routabilityTimer.stop(start);
       return result;
     }
   }
@@ -170,17 +261,14 @@ public class DefaultRouter
     requireNonNull(sourcePoint, "sourcePoint");
     requireNonNull(transportOrder, "transportOrder");
 
-    synchronized (this) {
-      List<DriveOrder> driveOrderList = transportOrder.getFutureDriveOrders();
-      DriveOrder[] driveOrders = driveOrderList.toArray(new DriveOrder[driveOrderList.size()]);
-      PointRouter pointRouter = getPointRouterForVehicle(vehicle);
-      OrderRouteParameterStruct params = new OrderRouteParameterStruct(driveOrders, pointRouter);
-      OrderRouteResultStruct resultStruct = new OrderRouteResultStruct(driveOrderList.size());
-      computeCheapestOrderRoute(sourcePoint, params, 0, resultStruct);
-      return (resultStruct.bestCosts == Long.MAX_VALUE)
-          ? Optional.empty()
-          : Optional.of(Arrays.asList(resultStruct.bestRoute));
-    }
+    long start = orderRouteTimer.start();
+    List<DriveOrder> driveOrderList = transportOrder.getFutureDriveOrders();
+    DriveOrder[] driveOrders = driveOrderList.toArray(new DriveOrder[driveOrderList.size()]);
+    PointRouter pointRouter = getPointRouterForVehicle(vehicle);
+    Optional<List<DriveOrder>> result
+        = computeCheapestOrderRoute(vehicle, sourcePoint, driveOrders, pointRouter);
+    orderRouteTimer.stop(start);
+    return result;
   }
 
   @Override
@@ -191,7 +279,8 @@ public class DefaultRouter
     requireNonNull(sourcePoint, "sourcePoint");
     requireNonNull(destinationPoint, "destinationPoint");
 
-    synchronized (this) {
+    long start = pointRouteTimer.start();
+    try {
       PointRouter pointRouter = getPointRouterForVehicle(vehicle);
       long costs = pointRouter.getCosts(sourcePoint, destinationPoint);
       if (costs == INFINITE_COSTS) {
@@ -205,6 +294,9 @@ public class DefaultRouter
       }
       return Optional.of(new Route(steps, costs));
     }
+    finally {
+      pointRouteTimer.stop(start);
+    }
   }
 
   @Override
@@ -215,9 +307,10 @@ public class DefaultRouter
     requireNonNull(sourcePoint, "sourcePoint");
     requireNonNull(destinationPoint, "destinationPoint");
 
-    synchronized (this) {
-      return getPointRouterForVehicle(vehicle).getCosts(sourcePoint, destinationPoint);
-    }
+    long start = costsTimer.start();
+    long costs = getPointRouterForVehicle(vehicle).getCosts(sourcePoint, destinationPoint);
+    costsTimer.stop(start);
+    return costs;
   }
 
   @Override
@@ -228,9 +321,10 @@ public class DefaultRouter
     requireNonNull(srcPointRef, "srcPointRef");
     requireNonNull(dstPointRef, "dstPointRef");
 
-    synchronized (this) {
-      return getPointRouterForVehicle(vehicle).getCosts(srcPointRef, dstPointRef);
-    }
+    long start = costsTimer.start();
+    long costs = getPointRouterForVehicle(vehicle).getCosts(srcPointRef, dstPointRef);
+    costsTimer.stop(start);
+    return costs;
   }
 
   @Override
@@ -245,6 +339,7 @@ public class DefaultRouter
       else {
         routesByVehicle.put(vehicle, driveOrders);
       }
+      reservationTableProvider.invalidate();
     }
   }
 
@@ -278,146 +373,305 @@ public class DefaultRouter
   }
 
   /**
-   * Returns the {@link PointRouter} for the given vehicle considering the vehicle's routing group.
+   * Returns the {@link PointRouter} for the given vehicle considering the vehicle's routing group
+   * and, if enabled, the routes of other vehicles in space and time or the congestion caused by
+   * other vehicles.
+   * Unless the routes of other vehicles are considered, routes avoid the vehicle's avoided
+   * resources, if possible.
    *
    * @param vehicle The vehicle to get the point router for.
    * @return The point router.
    */
   private PointRouter getPointRouterForVehicle(Vehicle vehicle) {
     String routingGroup = routingGroupMapper.apply(vehicle);
-    if (!pointRoutersByVehicleGroup.containsKey(routingGroup)) {
-      pointRoutersByVehicleGroup.put(routingGroup,
-                                     pointRouterFactory.createPointRouter(vehicle));
+    PointRouter pointRouter = pointRoutersByVehicleGroup.get(routingGroup);
+    if (pointRouter == null) {
+      pointRouter = createPointRouter(routingGroup, vehicle);
+    }
+    else {
+      pointRouterCacheHits.increment();
+    }
+
+    if (reservationTableProvider.isEnabled()) {
+      return pointRouter.withReservations(
+          reservationTableProvider.getReservationTable(routesByVehicle),
+          vehicle,
+          0
+      );
+    }
+    Set<String> avoided = avoidedResources.getAvoidedResources(vehicle.getName());
+    if (!avoided.isEmpty()) {
+      // Resources are avoided only temporarily, so the point router is not reused.
+      if (congestionEvaluator.isEnabled()) {
+        EdgeEvaluatorCongestion.Penalties penalties = congestionEvaluator.getPenalties();
+        return pointRouter.withDynamicEdgeWeights(
+            edge -> penalties.computeWeight(edge, vehicle)
+            + AvoidedResources.computeWeight(edge, avoided)
+        );
+      }
+      return pointRouter.withDynamicEdgeWeights(
+          edge -> AvoidedResources.computeWeight(edge, avoided)
+      );
+    }
+    if (congestionEvaluator.isEnabled()) {
+      return getCongestionPointRouter(routingGroup, vehicle, pointRouter);
+    }
+    return pointRouter;
+  }
+
+  /**
+   * Returns a point router considering the congestion caused by other vehicles for the given
+   * vehicle.
+   * As long as the penalties for congestion do not change, the same point router is returned, so
+   * the routes it computes can be reused.
+   *
+   * @param routingGroup The vehicle's routing group.
+   * @param vehicle The vehicle.
+   * @param pointRouter The point router for the vehicle's routing group.
+   * @return The point router considering congestion.
+   */
+  private PointRouter getCongestionPointRouter(String routingGroup,
+                                               Vehicle vehicle,
+                                               PointRouter pointRouter) {
+    EdgeEvaluatorCongestion.Penalties penalties = congestionEvaluator.getPenalties();
+    Map<String, PointRouter> pointRouters = pointRoutersByVehicleGroup;
+    CongestionPointRouters congestionRouters = congestionPointRouters;
+    if (congestionRouters.penalties != penalties
+        || congestionRouters.pointRouters != pointRouters) {
+      congestionRouters = new CongestionPointRouters(penalties, pointRouters);
+      congestionPointRouters = congestionRouters;
     }
 
-    return pointRoutersByVehicleGroup.get(routingGroup);
+    List<String> key = List.of(routingGroup, vehicle.getName());
+    PointRouter result = congestionRouters.byVehicle.get(key);
+    if (result == null) {
+      result = pointRouter.withDynamicEdgeWeights(edge -> penalties.computeWeight(edge, vehicle));
+      congestionRouters.byVehicle.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Creates the point router for the given routing group, unless another thread has already done
+   * so, and publishes it.
+   *
+   * @param routingGroup The routing group.
+   * @param vehicle A vehicle of the routing group.
+   * @return The point router.
+   */
+  private synchronized PointRouter createPointRouter(String routingGroup, Vehicle vehicle) {
+    PointRouter pointRouter = pointRoutersByVehicleGroup.get(routingGroup);
+    if (pointRouter != null) {
+      pointRouterCacheHits.increment();
+      return pointRouter;
+    }
+
+    pointRouterCacheMisses.increment();
+    pointRouter = pointRouterFactory.createPointRouter(vehicle);
+    Map<String, PointRouter> pointRouters = new HashMap<>(pointRoutersByVehicleGroup);
+    pointRouters.put(routingGroup, pointRouter);
+    pointRoutersByVehicleGroup = Collections.unmodifiableMap(pointRouters);
+    return pointRouter;
   }
 
   /**
    * Checks if a route exists for a vehicle of a given type which allows the
    * vehicle to process a given list of drive orders.
+   * <p>
+   * Starting with the first drive order's destination points, the destination points of each
+   * subsequent drive order that can be reached from any of the previously reachable ones are
+   * determined, so every pair of destination points of consecutive drive orders is checked at
+   * most once.
+   * </p>
    *
-   * @param startPoint The point at which the route is supposed to start.
-   * @param driveOrders The list of drive orders, in the order they are to be
-   * processed.
-   * @param nextHopIndex The index of the next drive order in the list.
+   * @param destinationPoints The destination points of the drive orders, in the order they are to
+   * be processed.
    * @param pointRouter The point router to use.
    * @return <code>true</code> if, and only if, at least one route exists which
    * would allow a vehicle of the given type to process the whole list of drive
    * orders.
    */
-  private boolean isRoutable(Point startPoint,
-                             DriveOrder[] driveOrders,
-                             int nextHopIndex,
-                             PointRouter pointRouter) {
-    assert startPoint != null;
-    assert driveOrders != null;
+  private boolean isRoutable(List<Set<Point>> destinationPoints, PointRouter pointRouter) {
+    assert destinationPoints != null;
     assert pointRouter != null;
 
-    if (nextHopIndex < driveOrders.length) {
-      for (Point curPoint : getDestinationPoints(driveOrders[nextHopIndex])) {
-        // Check if there is a route from the starting point to the current
-        // point and if the rest of the orders are routable from there, too.
-        if (pointRouter.getCosts(startPoint, curPoint) != INFINITE_COSTS
-            && isRoutable(curPoint, driveOrders, nextHopIndex + 1, pointRouter)) {
-          // If it was possible to reach the end of the order list from here,
-          // propagate the result back to the caller.
-          return true;
-        }
-      }
-      // If we haven't found an acceptable route, return false.
+    if (destinationPoints.isEmpty()) {
       return false;
     }
-    // If we have reached the end of the list, it seems we have found a route.
-    else {
-      return true;
+
+    Set<Point> reachablePoints = destinationPoints.get(0);
+    for (int hopIndex = 1; hopIndex < destinationPoints.size(); hopIndex++) {
+      Set<Point> nextReachablePoints = new HashSet<>();
+      for (Point curPoint : destinationPoints.get(hopIndex)) {
+        for (Point reachablePoint : reachablePoints) {
+          if (pointRouter.isReachable(reachablePoint.getReference(), curPoint.getReference())) {
+            nextReachablePoints.add(curPoint);
+            break;
+          }
+        }
+      }
+      reachablePoints = nextReachablePoints;
     }
+    return !reachablePoints.isEmpty();
   }
 
   /**
    * Compute the cheapest route along a list of drive orders/checkpoints.
+   * <p>
+   * The drive orders' destination points form layers of a graph, with every point of one layer
+   * being connected to every point of the next layer. For every point of a layer, only the
+   * cheapest way to reach it is kept, so the costs are computed once per pair of points in
+   * consecutive layers instead of once per combination of destination points. Routes are computed
+   * only for the cheapest combination. Among combinations with equal costs, the one that comes
+   * first when iterating over the layers' destination points in order is selected.
+   * </p>
    *
-   * @param startPoint The current checkpoint which to start at.
-   * @param params A struct describing parameters for the route to be computed.
-   * @param hopIndex The current index in the list of drive orders/checkpoints.
-   * @param result A struct for keeping the (partial) result in.
-   */
-  private void computeCheapestOrderRoute(Point startPoint,
-                                         OrderRouteParameterStruct params,
-                                         int hopIndex,
-                                         OrderRouteResultStruct result) {
-    assert startPoint != null;
-    assert params != null;
-    assert result != null;
-    // If we haven't reached the final drive order in the list, yet...
-    if (hopIndex < params.driveOrders.length) {
-      // ...try every possible destination point of the current drive order as
-      // the next checkpoint and recursively route from there.
-      final long currentRouteCosts = result.currentCosts;
-      Set<Point> destPoints = getDestinationPoints(params.driveOrders[hopIndex]);
-      // If the set of destination points contains the starting point, keep only
-      // that one. This is just a shortcut - it is the cheapest way to go.
-      if (!configuration.routeToCurrentPosition() && destPoints.contains(startPoint)) {
-        LOG.debug("Shortcutting route to {}", startPoint);
-        destPoints.clear();
-        destPoints.add(startPoint);
-      }
-      boolean routable = false;
-      for (Point curDestPoint : destPoints) {
-        final long hopCosts = params.pointRouter.getCosts(startPoint, curDestPoint);
-        if (hopCosts == INFINITE_COSTS) {
+   * @param vehicle The vehicle to compute the route for.
+   * @param sourcePoint The point which to start at.
+   * @param driveOrders The drive orders/checkpoints.
+   * @param pointRouter The point router to be used.
+   * @return The drive orders with their routes, or an empty optional, if there is no route.
+   */
+  private Optional<List<DriveOrder>> computeCheapestOrderRoute(Vehicle vehicle,
+                                                               Point sourcePoint,
+                                                               DriveOrder[] driveOrders,
+                                                               PointRouter pointRouter) {
+    assert vehicle != null;
+    assert sourcePoint != null;
+    assert driveOrders != null;
+    assert pointRouter != null;
+
+    List<Hop> layer = List.of(new Hop(sourcePoint, 0, null, 0));
+    for (DriveOrder driveOrder : driveOrders) {
+      Set<Point> destPointSet = getDestinationPoints(driveOrder);
+      List<Point> destPoints = new ArrayList<>(destPointSet);
+      Hop[] nextLayer = new Hop[destPoints.size()];
+
+      for (Hop predecessor : layer) {
+        PointRouter hopRouter = departingFrom(predecessor, vehicle, pointRouter);
+        // If the set of destination points contains the starting point, keep only that one. This
+        // is just a shortcut - it is the cheapest way to go.
+        if (!configuration.routeToCurrentPosition() && destPointSet.contains(predecessor.point)) {
+          LOG.debug("Shortcutting route to {}", predecessor.point);
+          int index = destPoints.indexOf(predecessor.point);
+          nextLayer[index] = cheaperHop(nextLayer[index],
+                                        predecessor,
+                                        predecessor.point,
+                                        index,
+                                        hopRouter);
           continue;
         }
-        // Get the list of steps for the route of the current drive order.
-        List<Route.Step> steps = params.pointRouter.getRouteSteps(startPoint, curDestPoint);
-        if (steps.isEmpty()) {
-          // If the list of steps returned is empty, we're already at the
-          // destination point of the drive order - create a single step
-          // without a path.
-          steps = new ArrayList<>(1);
-          steps.add(new Route.Step(null,
-                                   null,
-                                   startPoint,
-                                   Vehicle.Orientation.UNDEFINED,
-                                   0));
+        for (int index = 0; index < destPoints.size(); index++) {
+          nextLayer[index] = cheaperHop(nextLayer[index],
+                                        predecessor,
+                                        destPoints.get(index),
+                                        index,
+                                        hopRouter);
+        }
+      }
+
+      layer = new ArrayList<>(nextLayer.length);
+      for (Hop hop : nextLayer) {
+        if (hop != null) {
+          layer.add(hop);
         }
-        // Create a route from the list of steps gathered.
-        Route hopRoute = new Route(steps, hopCosts);
-        // Copy the current drive order, add the computed route to it and
-        // place it in the result struct.
-        DriveOrder hopOrder = params.driveOrders[hopIndex].withRoute(hopRoute);
-        result.currentRoute[hopIndex] = hopOrder;
-        // Calculate the costs for the route so far, too.
-        result.currentCosts = currentRouteCosts + hopRoute.getCosts();
-        computeCheapestOrderRoute(curDestPoint, params, hopIndex + 1, result);
-        // Remember that we did find at least one route that works.
-        routable = true;
       }
-      if (!routable) {
-        // Setting currentCosts is not strictly necessary for this algorithm,
-        // but might help with debugging.
-        result.currentCosts = Long.MAX_VALUE;
+      if (layer.isEmpty()) {
+        return Optional.empty();
       }
     }
-    // If we have reached the final drive order, ...
-    else // If the route computed is cheaper than the best route found so far,
-    // replace the latter.
-    if (result.currentCosts < result.bestCosts) {
-      System.arraycopy(result.currentRoute, 0, result.bestRoute, 0, result.currentRoute.length);
-      result.bestCosts = result.currentCosts;
+
+    Hop best = null;
+    for (Hop hop : layer) {
+      if (best == null || hop.isPreferredTo(best)) {
+        best = hop;
+      }
+    }
+    return Optional.of(Arrays.asList(toDriveOrders(best, driveOrders, vehicle, pointRouter)));
+  }
+
+  /**
+   * Returns the preferred one of the given hop and a new hop from the given predecessor to the
+   * given point.
+   *
+   * @return The preferred hop, or {@code null}, if there is neither a given hop nor a route from
+   * the predecessor to the given point.
+   */
+  private Hop cheaperHop(Hop currentHop,
+                         Hop predecessor,
+                         Point point,
+                         int index,
+                         PointRouter pointRouter) {
+    long hopCosts = pointRouter.getCosts(predecessor.point, point);
+    if (hopCosts == INFINITE_COSTS) {
+      return currentHop;
     }
+    Hop hop = new Hop(point, predecessor.costs + hopCosts, predecessor, index);
+    return (currentHop == null || hop.isPreferredTo(currentHop)) ? hop : currentHop;
+  }
+
+  /**
+   * Creates copies of the given drive orders with routes along the given hop and its
+   * predecessors.
+   */
+  private DriveOrder[] toDriveOrders(Hop lastHop,
+                                     DriveOrder[] driveOrders,
+                                     Vehicle vehicle,
+                                     PointRouter pointRouter) {
+    DriveOrder[] result = new DriveOrder[driveOrders.length];
+    Hop hop = lastHop;
+    for (int hopIndex = driveOrders.length - 1; hopIndex >= 0; hopIndex--) {
+      Point startPoint = hop.predecessor.point;
+      // Get the list of steps for the route of the current drive order.
+      List<Route.Step> steps = departingFrom(hop.predecessor, vehicle, pointRouter)
+          .getRouteSteps(startPoint, hop.point);
+      if (steps.isEmpty()) {
+        // If the list of steps returned is empty, we're already at the
+        // destination point of the drive order - create a single step
+        // without a path.
+        steps = new ArrayList<>(1);
+        steps.add(new Route.Step(null,
+                                 null,
+                                 startPoint,
+                                 Vehicle.Orientation.UNDEFINED,
+                                 0));
+      }
+      // Copy the current drive order and add the computed route to it.
+      result[hopIndex] = driveOrders[hopIndex].withRoute(
+          new Route(steps, hop.costs - hop.predecessor.costs)
+      );
+      hop = hop.predecessor;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the point router to be used for routes starting at the given hop's point.
+   * If routes are planned in space and time, the vehicle is expected to depart from there after
+   * travelling to it and processing the drive orders up to it.
+   */
+  private PointRouter departingFrom(Hop hop, Vehicle vehicle, PointRouter pointRouter) {
+    if (!reservationTableProvider.isEnabled() || hop.predecessor == null) {
+      return pointRouter;
+    }
+    return pointRouter.withReservations(
+        reservationTableProvider.getReservationTable(routesByVehicle),
+        vehicle,
+        hop.costs + hop.getDriveOrderCount() * reservationTableProvider.getOperationDuration()
+    );
   }
 
   /**
    * Returns all points at which a vehicle could process the given drive order.
+   * These are the points this router considers as destinations of routes for the drive order.
    *
    * @param driveOrder The drive order to be processed.
    * @return A set of acceptable destination points at which a vehicle could
    * execute the given drive order's operation. If no such points exist, the
    * returned set will be empty.
    */
-  private Set<Point> getDestinationPoints(DriveOrder driveOrder) {
-    assert driveOrder != null;
+  public Set<Point> getDestinationPoints(DriveOrder driveOrder) {
+    requireNonNull(driveOrder, "driveOrder");
 
     final DriveOrder.Destination dest = driveOrder.getDestination();
     // If the destination references a point and the operation is "just move" or
@@ -438,29 +692,8 @@ public class DefaultRouter
     // If it's a "normal" transport order, look for destination points adjacent
     // to the destination location.
     else {
-      final Set<Point> result = new HashSet<>();
-      final Location destLoc = objectService.fetchObject(Location.class,
-                                                         dest.getDestination().getName());
-      final LocationType destLocType = objectService.fetchObject(LocationType.class,
-                                                                 destLoc.getType());
-      for (Location.Link curLink : destLoc.getAttachedLinks()) {
-        // A link is acceptable if any of the following conditions are true:
-        // - The destination operation is OP_NOP, which is allowed everywhere.
-        // - The destination operation is explicitly allowed with the link.
-        // - The link's set of allowed operations is empty and the destination
-        //   operation is explicitly allowed with the location's type.
-        // Furthermore, the point to be routed at must allow halting.
-        if (Destination.OP_NOP.equals(dest.getOperation())
-            || curLink.hasAllowedOperation(dest.getOperation())
-            || (curLink.getAllowedOperations().isEmpty()
-                && destLocType.isAllowedOperation(dest.getOperation()))) {
-          Point destPoint = objectService.fetchObject(Point.class, curLink.getPoint());
-          if (destPoint.isHaltingPosition()) {
-            result.add(destPoint);
-          }
-        }
-      }
-      return result;
+      return destinationPointCache.getAccessPoints(dest.getDestination().getName(),
+                                                   dest.getOperation());
     }
   }
 
@@ -481,67 +714,91 @@ public class DefaultRouter
   }
 
   /**
-   * Contains parameters for a route to be computed.
+   * The cheapest known way to reach a destination point of a drive order.
    */
-  private static final class OrderRouteParameterStruct {
+  private static final class Hop {
 
     /**
-     * The drive orders containing the route's checkpoints.
+     * The destination point.
+     */
+    private final Point point;
+    /**
+     * The costs for reaching the destination point from the source point.
+     */
+    private final long costs;
+    /**
+     * The hop to the destination point of the previous drive order, or {@code null}, if this hop
+     * represents the source point.
+     */
+    private final Hop predecessor;
+    /**
+     * The index of the destination point in the drive order's destination points.
      */
-    private final DriveOrder[] driveOrders;
+    private final int index;
+
+    Hop(Point point, long costs, Hop predecessor, int index) {
+      this.point = point;
+      this.costs = costs;
+      this.predecessor = predecessor;
+      this.index = index;
+    }
+
     /**
-     * The point router for the vehicle type.
+     * Returns the number of drive orders processed when reaching the destination point.
+     *
+     * @return The number of drive orders processed when reaching the destination point.
      */
-    private final PointRouter pointRouter;
+    int getDriveOrderCount() {
+      return predecessor == null ? 0 : predecessor.getDriveOrderCount() + 1;
+    }
 
     /**
-     * Creates a new OrderRouteParameterStruct.
+     * Checks whether this hop is preferred to the given one for the same drive order, i.e. whether
+     * it is cheaper or, with equal costs, its combination of destination points comes first.
      *
-     * @param driveOrders A list of drive orders to be processed as checkpoints
-     * of the route to be computed.
-     * @param pointRouter The point router for the vehicle type.
+     * @param other The other hop.
+     * @return {@code true} if, and only if, this hop is preferred to the given one.
      */
-    OrderRouteParameterStruct(DriveOrder[] driveOrders,
-                              PointRouter pointRouter) {
-      this.driveOrders = requireNonNull(driveOrders, "driveOrders");
-      this.pointRouter = requireNonNull(pointRouter, "pointRouter");
+    boolean isPreferredTo(Hop other) {
+      if (costs != other.costs) {
+        return costs < other.costs;
+      }
+      return compareIndices(this, other) < 0;
+    }
+
+    private static int compareIndices(Hop hop1, Hop hop2) {
+      if (hop1 == null || hop1 == hop2) {
+        return 0;
+      }
+      // Earlier drive orders take precedence.
+      int result = compareIndices(hop1.predecessor, hop2.predecessor);
+      return result != 0 ? result : Integer.compare(hop1.index, hop2.index);
     }
   }
 
   /**
-   * A struct supporting cheapest route calculation.
+   * The point routers considering congestion, for one snapshot of the penalties and one set of
+   * point routers.
    */
-  private static final class OrderRouteResultStruct {
+  private static class CongestionPointRouters {
 
     /**
-     * The (possibly partial) route currently being examined.
-     */
-    private DriveOrder[] currentRoute;
-    /**
-     * The costs of the route currently being examined.
+     * The penalties the point routers consider.
      */
-    private long currentCosts;
+    private final EdgeEvaluatorCongestion.Penalties penalties;
     /**
-     * The best route found so far.
+     * The point routers by vehicle routing group the point routers are based on.
      */
-    private DriveOrder[] bestRoute;
+    private final Map<String, PointRouter> pointRouters;
     /**
-     * The costs of the best route found so far.
+     * The point routers considering congestion, mapped by routing group and vehicle name.
      */
-    private long bestCosts;
+    private final Map<List<String>, PointRouter> byVehicle = new ConcurrentHashMap<>();
 
-    /**
-     * Creates a new OrderRouteResultStruct.
-     *
-     * @param driveOrderCount The number of <code>DriveOrder</code>s in the
-     * <code>TransportOrder</code> for which this struct is to store the
-     * routing result.
-     */
-    OrderRouteResultStruct(int driveOrderCount) {
-      currentRoute = new DriveOrder[driveOrderCount];
-      currentCosts = 0;
-      bestRoute = new DriveOrder[driveOrderCount];
-      bestCosts = Long.MAX_VALUE;
+    CongestionPointRouters(EdgeEvaluatorCongestion.Penalties penalties,
+                           Map<String, PointRouter> pointRouters) {
+      this.penalties = penalties;
+      this.pointRouters = pointRouters;
     }
   }
 }
@@ -0,0 +1,288 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.components.Lifecycle;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.customizations.ApplicationEventBus;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.order.DriveOrder.Destination;
+import org.opentcs.util.event.EventHandler;
+import org.opentcs.util.event.EventSource;
+
+/**
+ * Caches the points at which vehicles can execute operations at locations, the locations allowing
+ * operations and the parking positions, so they do not have to be looked up in the plant model
+ * (and evaluated) again for every routing or dispatching decision.
+ * <p>
+ * The cached data is invalidated whenever a location, a location type or the type or properties
+ * of a point change. While this instance is not initialized, the data is looked up on every call.
+ * As changes of points' occupying vehicles do not invalidate the cached data, the points returned
+ * do not necessarily reflect the current occupancy.
+ * </p>
+ */
+public class DestinationPointCache
+    implements EventHandler,
+               Lifecycle {
+
+  /**
+   * Where we register for application events.
+   */
+  private final EventSource eventSource;
+  /**
+   * The object service providing the model data.
+   */
+  private final TCSObjectService objectService;
+  /**
+   * The halting points at which operations can be executed, mapped by location name and
+   * operation.
+   */
+  private final Map<String, Map<String, Set<Point>>> accessPointsByLocation = new HashMap<>();
+  /**
+   * The locations whose types allow operations, mapped by operation.
+   */
+  private final Map<String, Set<Location>> locationsByOperation = new HashMap<>();
+  /**
+   * The parking positions, or {@code null}, if they have not been looked up.
+   */
+  private Set<Point> parkingPositions;
+  /**
+   * Incremented whenever the cached data is invalidated, so that data looked up before an
+   * invalidation does not get cached after it.
+   */
+  private long generation;
+  /**
+   * Whether this instance is initialized.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param eventSource Where this instance registers for application events.
+   * @param objectService The object service providing the model data.
+   */
+  @Inject
+  public DestinationPointCache(@Nonnull @ApplicationEventBus EventSource eventSource,
+                               @Nonnull TCSObjectService objectService) {
+    this.eventSource = requireNonNull(eventSource, "eventSource");
+    this.objectService = requireNonNull(objectService, "objectService");
+  }
+
+  @Override
+  public void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+
+    synchronized (this) {
+      invalidate();
+      eventSource.subscribe(this);
+      initialized = true;
+    }
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    synchronized (this) {
+      eventSource.unsubscribe(this);
+      invalidate();
+      initialized = false;
+    }
+  }
+
+  @Override
+  public void onEvent(Object event) {
+    if (!(event instanceof TCSObjectEvent)) {
+      return;
+    }
+
+    TCSObjectEvent objectEvent = (TCSObjectEvent) event;
+    Object object = objectEvent.getCurrentOrPreviousObjectState();
+    if (object instanceof Location
+        || object instanceof LocationType
+        || (object instanceof Point && relevantPointDataChanged(objectEvent))) {
+      invalidate();
+    }
+  }
+
+  /**
+   * Discards all cached data.
+   */
+  public synchronized void invalidate() {
+    accessPointsByLocation.clear();
+    locationsByOperation.clear();
+    parkingPositions = null;
+    generation++;
+  }
+
+  /**
+   * Returns the halting points at which a vehicle could execute the given operation at the given
+   * location.
+   * <p>
+   * A point linked to the location is acceptable if any of the following conditions are true:
+   * </p>
+   * <ul>
+   * <li>The operation is {@link Destination#OP_NOP}, which is allowed everywhere.</li>
+   * <li>The operation is explicitly allowed with the link.</li>
+   * <li>The link's set of allowed operations is empty and the operation is allowed with the
+   * location's type.</li>
+   * </ul>
+   *
+   * @param locationName The name of the location.
+   * @param operation The operation.
+   * @return The points at which the operation could be executed. If no such points exist, the
+   * returned set will be empty.
+   */
+  @Nonnull
+  public Set<Point> getAccessPoints(@Nonnull String locationName, @Nonnull String operation) {
+    requireNonNull(locationName, "locationName");
+    requireNonNull(operation, "operation");
+
+    synchronized (this) {
+      Set<Point> result = accessPointsByLocation
+          .getOrDefault(locationName, Map.of())
+          .get(operation);
+      if (result != null) {
+        return result;
+      }
+    }
+
+    return cache(() -> lookUpAccessPoints(locationName, operation),
+                 points -> accessPointsByLocation
+                     .computeIfAbsent(locationName, name -> new HashMap<>())
+                     .put(operation, points));
+  }
+
+  /**
+   * Returns the locations whose types allow the given operation.
+   *
+   * @param operation The operation.
+   * @return The locations whose types allow the given operation.
+   */
+  @Nonnull
+  public Set<Location> getLocationsAllowingOperation(@Nonnull String operation) {
+    requireNonNull(operation, "operation");
+
+    synchronized (this) {
+      Set<Location> result = locationsByOperation.get(operation);
+      if (result != null) {
+        return result;
+      }
+    }
+
+    return cache(() -> lookUpLocationsAllowingOperation(operation),
+                 locations -> locationsByOperation.put(operation, locations));
+  }
+
+  /**
+   * Returns all parking positions.
+   *
+   * @return All parking positions.
+   */
+  @Nonnull
+  public Set<Point> getParkingPositions() {
+    synchronized (this) {
+      if (parkingPositions != null) {
+        return parkingPositions;
+      }
+    }
+
+    return cache(() -> Collections.unmodifiableSet(
+        objectService.fetchObjects(Point.class, point -> point.isParkingPosition())),
+                 points -> parkingPositions = points);
+  }
+
+  /**
+   * Looks up data via the given supplier and caches it via the given consumer, unless the cached
+   * data was invalidated in the meantime.
+   * The lookup is done without holding this instance's lock, as the object service's lock may be
+   * held by a thread delivering events to this instance.
+   */
+  private <T> T cache(Supplier<T> lookup, Consumer<T> store) {
+    long lookupGeneration;
+    synchronized (this) {
+      lookupGeneration = generation;
+    }
+
+    T result = lookup.get();
+
+    synchronized (this) {
+      if (initialized && generation == lookupGeneration) {
+        store.accept(result);
+      }
+    }
+    return result;
+  }
+
+  private Set<Point> lookUpAccessPoints(String locationName, String operation) {
+    Location location = objectService.fetchObject(Location.class, locationName);
+    requireNonNull(location, "location");
+    LocationType locationType = objectService.fetchObject(LocationType.class, location.getType());
+
+    Set<Point> result = new HashSet<>();
+    for (Location.Link curLink : location.getAttachedLinks()) {
+      if (Destination.OP_NOP.equals(operation)
+          || curLink.hasAllowedOperation(operation)
+          || (curLink.getAllowedOperations().isEmpty()
+              && locationType.isAllowedOperation(operation))) {
+        Point point = objectService.fetchObject(Point.class, curLink.getPoint());
+        if (point.isHaltingPosition()) {
+          result.add(point);
+        }
+      }
+    }
+    return Collections.unmodifiableSet(result);
+  }
+
+  private Set<Location> lookUpLocationsAllowingOperation(String operation) {
+    Set<Location> result = new HashSet<>();
+    for (Location location : objectService.fetchObjects(Location.class)) {
+      LocationType locationType = objectService.fetchObject(LocationType.class,
+                                                            location.getType());
+      if (locationType.isAllowedOperation(operation)) {
+        result.add(location);
+      }
+    }
+    return Collections.unmodifiableSet(result);
+  }
+
+  private boolean relevantPointDataChanged(TCSObjectEvent event) {
+    // Points are modified frequently, e.g. when vehicles occupy them, but only their types and
+    // properties (e.g. parking position priorities) are relevant here.
+    if (event.getType() != TCSObjectEvent.Type.OBJECT_MODIFIED) {
+      return true;
+    }
+    Point previousState = (Point) event.getPreviousObjectState();
+    Point currentState = (Point) event.getCurrentObjectState();
+    return previousState.getType() != currentState.getType()
+        || !previousState.getProperties().equals(currentState.getProperties());
+  }
+}
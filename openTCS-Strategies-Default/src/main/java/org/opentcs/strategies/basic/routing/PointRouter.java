@@ -9,9 +9,13 @@ package org.opentcs.strategies.basic.routing;
 
 import java.util.List;
 import static java.util.Objects.requireNonNull;
+import java.util.function.ToDoubleFunction;
+import org.opentcs.components.kernel.routing.Edge;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.Route;
+import org.opentcs.strategies.basic.routing.spacetime.ReservationTable;
 
 /**
  * Computes routes between points.
@@ -38,6 +42,23 @@ public interface PointRouter {
    */
   List<Route.Step> getRouteSteps(Point srcPoint, Point destPoint);
 
+  /**
+   * Checks whether there is a route from one point to another.
+   * <p>
+   * This default implementation checks whether the costs for the shortest route are not infinite.
+   * Implementations are encouraged to override it with a cheaper check.
+   * </p>
+   *
+   * @param srcPointRef The starting point reference.
+   * @param destPointRef The destination point reference.
+   * @return {@code true} if, and only if, there is a route from the starting point to the
+   * destination point.
+   */
+  default boolean isReachable(TCSObjectReference<Point> srcPointRef,
+                              TCSObjectReference<Point> destPointRef) {
+    return getCosts(srcPointRef, destPointRef) != INFINITE_COSTS;
+  }
+
   /**
    * Returns the costs for travelling the shortest route from one point to another.
    *
@@ -65,4 +86,41 @@ public interface PointRouter {
 
     return getCosts(srcPoint.getReference(), destPoint.getReference());
   }
+
+  /**
+   * Returns a point router computing routes with the given weights added to the weights of the
+   * edges, with the added weights being evaluated whenever a route is computed.
+   * As the returned point router may reuse routes computed before, the given weights must not
+   * change while it is being used.
+   * <p>
+   * This default implementation does not support dynamic weights and returns this point router.
+   * </p>
+   *
+   * @param weights Computes the weights to be added to the weights of the edges. Must not return
+   * negative weights.
+   * @return A point router computing routes with the given weights added.
+   */
+  default PointRouter withDynamicEdgeWeights(ToDoubleFunction<Edge> weights) {
+    return this;
+  }
+
+  /**
+   * Returns a point router computing routes for the given vehicle that avoid the paths and points
+   * reserved by other vehicles, with the costs of a route being its estimated travel time (in ms)
+   * including the time spent waiting for other vehicles.
+   * <p>
+   * This default implementation does not support reservations and returns this point router.
+   * </p>
+   *
+   * @param reservations The reservations of other vehicles.
+   * @param vehicle The vehicle to compute routes for.
+   * @param departureTime The time (relative to the reservations) at which the vehicle departs from
+   * the source points of routes.
+   * @return A point router computing routes that avoid the reserved paths and points.
+   */
+  default PointRouter withReservations(ReservationTable reservations,
+                                       Vehicle vehicle,
+                                       long departureTime) {
+    return this;
+  }
 }
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.edgeevaluator;
+
+import org.opentcs.configuration.ConfigurationEntry;
+import org.opentcs.configuration.ConfigurationPrefix;
+
+/**
+ * Provides methods to configure {@link EdgeEvaluatorCongestion}.
+ */
+@ConfigurationPrefix(CongestionConfiguration.PREFIX)
+public interface CongestionConfiguration {
+
+  /**
+   * This configuration's prefix.
+   */
+  String PREFIX = "defaultrouter.edgeevaluator.congestion";
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to add costs for paths and points allocated or claimed by other vehicles to the "
+        + "costs of routes.",
+        "These costs are evaluated whenever a route is computed, in addition to the costs "
+        + "computed by the configured edge evaluators.",
+        "Such routes are always computed using Dijkstra's algorithm, or the Bellman-Ford "
+        + "algorithm if there are negative costs."},
+      orderKey = "0_enable")
+  boolean enable();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The costs added for an edge whose path or destination point is allocated by another "
+        + "vehicle.",
+        "Should be chosen in relation to the costs computed by the configured edge evaluators."},
+      orderKey = "1_penalty")
+  int allocationPenalty();
+
+  @ConfigurationEntry(
+      type = "Double",
+      description = {
+        "The factor (between 0.0 and 1.0) by which the costs added for resources claimed by "
+        + "another vehicle decay with every resource set in its claim.",
+        "The costs for the n-th resource set claimed are the allocation penalty multiplied by "
+        + "this factor to the power of n."},
+      orderKey = "2_decay")
+  double claimDecay();
+}
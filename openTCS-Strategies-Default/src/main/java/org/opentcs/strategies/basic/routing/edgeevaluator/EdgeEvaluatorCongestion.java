@@ -0,0 +1,395 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.edgeevaluator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.components.Lifecycle;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.components.kernel.routing.EdgeEvaluator;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.customizations.ApplicationEventBus;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.TCSResourceReference;
+import org.opentcs.data.model.Vehicle;
+import static org.opentcs.util.Assertions.checkArgument;
+import org.opentcs.util.event.EventHandler;
+import org.opentcs.util.event.EventSource;
+
+/**
+ * Computes weights of edges from the resources allocated and claimed by other vehicles, to make
+ * routes avoid congested parts of the plant model.
+ * <p>
+ * An edge's weight is the sum of the penalties for its path and its destination point. Every
+ * other vehicle that has allocated one of these resources adds the configured allocation
+ * penalty. Every other vehicle that has claimed one of them adds the allocation penalty decayed
+ * exponentially with the resource's position in its claim.
+ * </p>
+ * <p>
+ * As the allocations and claims change continuously, this evaluator is not meant to be used when
+ * building a routing graph, but whenever a route is computed.
+ * Whenever they change, an immutable snapshot of all penalties is published, so edge weights are
+ * computed without locking.
+ * Every snapshot is derived from the previous one, copying only the parts containing penalties
+ * that changed.
+ * </p>
+ */
+public class EdgeEvaluatorCongestion
+    implements EdgeEvaluator,
+               EventHandler,
+               Lifecycle {
+
+  /**
+   * Where we register for application events.
+   */
+  private final EventSource eventSource;
+  /**
+   * The object service providing the vehicles.
+   */
+  private final TCSObjectService objectService;
+  /**
+   * This class's configuration.
+   */
+  private final CongestionConfiguration configuration;
+  /**
+   * The latest snapshot of the penalties.
+   * Replaced only while holding this instance's lock.
+   */
+  private volatile Penalties penalties = Penalties.NONE;
+  /**
+   * Whether this instance is initialized.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param eventSource Where this instance registers for application events.
+   * @param objectService The object service providing the vehicles.
+   * @param configuration This class's configuration.
+   */
+  @Inject
+  public EdgeEvaluatorCongestion(@Nonnull @ApplicationEventBus EventSource eventSource,
+                                 @Nonnull TCSObjectService objectService,
+                                 @Nonnull CongestionConfiguration configuration) {
+    this.eventSource = requireNonNull(eventSource, "eventSource");
+    this.objectService = requireNonNull(objectService, "objectService");
+    this.configuration = requireNonNull(configuration, "configuration");
+    checkArgument(configuration.allocationPenalty() >= 0,
+                  "allocationPenalty < 0: %s",
+                  configuration.allocationPenalty());
+    checkArgument(configuration.claimDecay() >= 0.0 && configuration.claimDecay() <= 1.0,
+                  "claimDecay not in [0.0, 1.0]: %s",
+                  configuration.claimDecay());
+  }
+
+  @Override
+  public void initialize() {
+    if (isInitialized() || !isEnabled()) {
+      return;
+    }
+
+    eventSource.subscribe(this);
+    // Look up the vehicles without holding this instance's lock, as the object service's lock may
+    // be held by a thread delivering events to this instance.
+    Map<String, Map<String, Long>> initialPenalties = new HashMap<>();
+    for (Vehicle vehicle : objectService.fetchObjects(Vehicle.class)) {
+      initialPenalties.put(vehicle.getName(), computePenalties(vehicle));
+    }
+    synchronized (this) {
+      // Vehicles updated by events in the meantime are more recent, so keep those.
+      initialPenalties.keySet().removeIf(vehicleName -> penalties.hasPenaltiesOf(vehicleName));
+      penalties = penalties.withPenaltiesOf(initialPenalties);
+    }
+    initialized = true;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    eventSource.unsubscribe(this);
+    synchronized (this) {
+      penalties = Penalties.NONE;
+    }
+    initialized = false;
+  }
+
+  /**
+   * Checks whether routes are to be computed considering congestion.
+   *
+   * @return {@code true} if, and only if, routes are to be computed considering congestion.
+   */
+  public boolean isEnabled() {
+    return configuration.enable();
+  }
+
+  @Override
+  public void onEvent(Object event) {
+    if (!(event instanceof TCSObjectEvent)) {
+      return;
+    }
+
+    TCSObjectEvent objectEvent = (TCSObjectEvent) event;
+    if (!(objectEvent.getCurrentOrPreviousObjectState() instanceof Vehicle)) {
+      return;
+    }
+
+    if (objectEvent.getType() == TCSObjectEvent.Type.OBJECT_REMOVED) {
+      String vehicleName = objectEvent.getPreviousObjectState().getName();
+      synchronized (this) {
+        penalties = penalties.withPenaltiesOf(Map.of(vehicleName, Map.of()));
+      }
+      return;
+    }
+
+    Vehicle vehicle = (Vehicle) objectEvent.getCurrentObjectState();
+    Vehicle previousVehicle = (Vehicle) objectEvent.getPreviousObjectState();
+    if (previousVehicle != null
+        && Objects.equals(vehicle.getAllocatedResources(), previousVehicle.getAllocatedResources())
+        && Objects.equals(vehicle.getClaimedResources(), previousVehicle.getClaimedResources())) {
+      return;
+    }
+
+    Map<String, Long> vehiclePenalties = computePenalties(vehicle);
+    synchronized (this) {
+      penalties = penalties.withPenaltiesOf(Map.of(vehicle.getName(), vehiclePenalties));
+    }
+  }
+
+  @Override
+  public void onGraphComputationStart(Vehicle vehicle) {
+  }
+
+  @Override
+  public void onGraphComputationEnd(Vehicle vehicle) {
+  }
+
+  @Override
+  public double computeWeight(Edge edge, Vehicle vehicle) {
+    return penalties.computeWeight(edge, vehicle);
+  }
+
+  /**
+   * Returns a snapshot of the current penalties.
+   * A new snapshot is published whenever the penalties change, so the same snapshot being returned
+   * indicates that they have not changed.
+   *
+   * @return A snapshot of the current penalties.
+   */
+  @Nonnull
+  public Penalties getPenalties() {
+    return penalties;
+  }
+
+  private Map<String, Long> computePenalties(Vehicle vehicle) {
+    Map<String, Long> penalties = new HashMap<>();
+    long allocationPenalty = configuration.allocationPenalty();
+    for (Set<TCSResourceReference<?>> resources : vehicle.getAllocatedResources()) {
+      addPenalties(penalties, resources, allocationPenalty);
+    }
+
+    List<Set<TCSResourceReference<?>>> claim = vehicle.getClaimedResources();
+    double claimPenalty = allocationPenalty;
+    for (int i = 0; i < claim.size(); i++) {
+      claimPenalty *= configuration.claimDecay();
+      // Stop once the penalties have decayed to nothing.
+      if (Math.round(claimPenalty) == 0) {
+        break;
+      }
+      addPenalties(penalties, claim.get(i), Math.round(claimPenalty));
+    }
+
+    return Map.copyOf(penalties);
+  }
+
+  private void addPenalties(Map<String, Long> penalties,
+                            Set<TCSResourceReference<?>> resources,
+                            long penalty) {
+    // A vehicle contributes only the highest penalty for every resource.
+    for (TCSResourceReference<?> resource : resources) {
+      penalties.merge(resource.getName(), penalty, Math::max);
+    }
+  }
+
+  /**
+   * An immutable snapshot of the penalties for the resources allocated or claimed by vehicles.
+   */
+  public static class Penalties {
+
+    /**
+     * The snapshot without any penalties.
+     */
+    private static final Penalties NONE = new Penalties(ShardedMap.empty(), ShardedMap.empty());
+    /**
+     * The penalties for the resources allocated or claimed by each vehicle, mapped by vehicle name
+     * and resource name.
+     */
+    private final ShardedMap<Map<String, Long>> penaltiesByVehicle;
+    /**
+     * The sums of all vehicles' penalties, mapped by resource name.
+     */
+    private final ShardedMap<Long> totalPenalties;
+
+    private Penalties(ShardedMap<Map<String, Long>> penaltiesByVehicle,
+                      ShardedMap<Long> totalPenalties) {
+      this.penaltiesByVehicle = penaltiesByVehicle;
+      this.totalPenalties = totalPenalties;
+    }
+
+    /**
+     * Computes the weight of the given edge for the given vehicle from the penalties of all other
+     * vehicles.
+     *
+     * @param edge The edge.
+     * @param vehicle The vehicle.
+     * @return The edge's weight.
+     */
+    public double computeWeight(@Nonnull Edge edge, @Nonnull Vehicle vehicle) {
+      requireNonNull(edge, "edge");
+      requireNonNull(vehicle, "vehicle");
+
+      Path path = edge.getPath();
+      String destinationPoint = edge.isTravellingReverse()
+          ? path.getSourcePoint().getName()
+          : path.getDestinationPoint().getName();
+      Map<String, Long> ownPenalties
+          = penaltiesByVehicle.getOrDefault(vehicle.getName(), Map.of());
+
+      return totalPenalties.getOrDefault(path.getName(), 0L)
+          - ownPenalties.getOrDefault(path.getName(), 0L)
+          + totalPenalties.getOrDefault(destinationPoint, 0L)
+          - ownPenalties.getOrDefault(destinationPoint, 0L);
+    }
+
+    private boolean hasPenaltiesOf(String vehicleName) {
+      return penaltiesByVehicle.containsKey(vehicleName);
+    }
+
+    /**
+     * Returns a snapshot with the given vehicles' penalties replacing their previous ones.
+     *
+     * @param changes The vehicles' new penalties, mapped by vehicle name and resource name.
+     * @return The new snapshot, or this one, if none of the penalties changed.
+     */
+    private Penalties withPenaltiesOf(Map<String, Map<String, Long>> changes) {
+      Map<String, Map<String, Long>> vehicleChanges = new HashMap<>();
+      Map<String, Long> totalDeltas = new HashMap<>();
+      for (Map.Entry<String, Map<String, Long>> change : changes.entrySet()) {
+        Map<String, Long> previous = penaltiesByVehicle.getOrDefault(change.getKey(), Map.of());
+        if (previous.equals(change.getValue())) {
+          continue;
+        }
+        // An empty map removes the vehicle's entry.
+        vehicleChanges.put(change.getKey(), change.getValue().isEmpty() ? null : change.getValue());
+        for (Map.Entry<String, Long> entry : previous.entrySet()) {
+          totalDeltas.merge(entry.getKey(), -entry.getValue(), Long::sum);
+        }
+        for (Map.Entry<String, Long> entry : change.getValue().entrySet()) {
+          totalDeltas.merge(entry.getKey(), entry.getValue(), Long::sum);
+        }
+      }
+      if (vehicleChanges.isEmpty()) {
+        return this;
+      }
+
+      Map<String, Long> totalChanges = new HashMap<>();
+      for (Map.Entry<String, Long> delta : totalDeltas.entrySet()) {
+        if (delta.getValue() != 0) {
+          long total = totalPenalties.getOrDefault(delta.getKey(), 0L) + delta.getValue();
+          // A total of zero removes the resource's entry.
+          totalChanges.put(delta.getKey(), total == 0 ? null : total);
+        }
+      }
+      return new Penalties(penaltiesByVehicle.withChanges(vehicleChanges),
+                           totalPenalties.withChanges(totalChanges));
+    }
+  }
+
+  /**
+   * An immutable map with names as keys, divided into shards by the keys' hash codes.
+   * A map derived from another one with some entries changed shares all shards not containing any
+   * of these entries, so deriving it does not require copying the whole map.
+   *
+   * @param <V> The type of the values.
+   */
+  private static class ShardedMap<V> {
+
+    /**
+     * The number of shards. Must be a power of two.
+     */
+    private static final int SHARD_COUNT = 256;
+    /**
+     * The shards, indexed by the keys' hash codes.
+     * Shards are never modified once the map they belong to has been created.
+     */
+    private final Map<String, V>[] shards;
+
+    private ShardedMap(Map<String, V>[] shards) {
+      this.shards = shards;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> ShardedMap<V> empty() {
+      Map<String, V>[] shards = (Map<String, V>[]) new Map<?, ?>[SHARD_COUNT];
+      Arrays.fill(shards, Map.of());
+      return new ShardedMap<>(shards);
+    }
+
+    boolean containsKey(String key) {
+      return shards[shardIndex(key)].containsKey(key);
+    }
+
+    V getOrDefault(String key, V defaultValue) {
+      return shards[shardIndex(key)].getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Returns a map with the given entries changed, copying only the shards containing them.
+     *
+     * @param changes The changed entries. An entry with a {@code null} value is removed.
+     * @return The new map.
+     */
+    ShardedMap<V> withChanges(Map<String, V> changes) {
+      Map<String, V>[] newShards = shards.clone();
+      for (Map.Entry<String, V> change : changes.entrySet()) {
+        int index = shardIndex(change.getKey());
+        if (newShards[index] == shards[index]) {
+          newShards[index] = new HashMap<>(shards[index]);
+        }
+        if (change.getValue() == null) {
+          newShards[index].remove(change.getKey());
+        }
+        else {
+          newShards[index].put(change.getKey(), change.getValue());
+        }
+      }
+      return new ShardedMap<>(newShards);
+    }
+
+    private static int shardIndex(String key) {
+      int hash = key.hashCode();
+      return (hash ^ (hash >>> 16)) & (SHARD_COUNT - 1);
+    }
+  }
+}
@@ -67,7 +67,15 @@ public abstract class AbstractPointRouterFactory
                                                            objectService.fetchObjects(Path.class),
                                                            vehicle);
 
-    PointRouter router = new ShortestPathPointRouter(createShortestPathAlgorithm(graph), points);
+    ReachabilityIndex reachabilityIndex = new ReachabilityIndex(graph);
+    LOG.debug("Graph for {} has {} strongly connected components.",
+              vehicle.getName(),
+              reachabilityIndex.getComponentCount());
+
+    PointRouter router = new ShortestPathPointRouter(createShortestPathAlgorithm(graph),
+                                                     points,
+                                                     reachabilityIndex,
+                                                     graph);
     // Make a single request for a route from one point to a different one to make sure the
     // point router is primed. (Some implementations are initialized lazily.)
     if (points.size() >= 2) {
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.jgrapht;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.connectivity.KosarajuStrongConnectivityInspector;
+import org.opentcs.components.kernel.routing.Edge;
+
+/**
+ * Answers whether a vertex of a graph can be reached from another one in constant time.
+ * <p>
+ * The graph's strongly connected components are determined once. Every vertex can reach every
+ * other vertex in its component, and the reachability between components is precomputed as one
+ * bit set per component on the (acyclic) condensation of the graph.
+ * </p>
+ */
+public class ReachabilityIndex {
+
+  /**
+   * The indices of the strongly connected components, mapped by the vertices they contain.
+   */
+  private final Map<String, Integer> componentsByVertex = new HashMap<>();
+  /**
+   * The components reachable from each component (including the component itself), indexed by
+   * component.
+   */
+  private final BitSet[] reachableComponents;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param graph The graph.
+   */
+  public ReachabilityIndex(@Nonnull Graph<String, Edge> graph) {
+    requireNonNull(graph, "graph");
+
+    List<Set<String>> components
+        = new KosarajuStrongConnectivityInspector<>(graph).stronglyConnectedSets();
+    for (int i = 0; i < components.size(); i++) {
+      for (String vertex : components.get(i)) {
+        componentsByVertex.put(vertex, i);
+      }
+    }
+
+    // Determine the edges of the condensation.
+    List<BitSet> successors = new ArrayList<>(components.size());
+    int[] predecessorCounts = new int[components.size()];
+    for (int i = 0; i < components.size(); i++) {
+      BitSet componentSuccessors = new BitSet();
+      for (String vertex : components.get(i)) {
+        for (Edge edge : graph.outgoingEdgesOf(vertex)) {
+          int successor = componentsByVertex.get(graph.getEdgeTarget(edge));
+          if (successor != i && !componentSuccessors.get(successor)) {
+            componentSuccessors.set(successor);
+            predecessorCounts[successor]++;
+          }
+        }
+      }
+      successors.add(componentSuccessors);
+    }
+
+    // Sort the condensation's components topologically and propagate reachability backwards.
+    List<Integer> topologicalOrder = new ArrayList<>(components.size());
+    Deque<Integer> sources = new ArrayDeque<>();
+    for (int i = 0; i < components.size(); i++) {
+      if (predecessorCounts[i] == 0) {
+        sources.add(i);
+      }
+    }
+    while (!sources.isEmpty()) {
+      int component = sources.poll();
+      topologicalOrder.add(component);
+      BitSet componentSuccessors = successors.get(component);
+      for (int successor = componentSuccessors.nextSetBit(0);
+           successor >= 0;
+           successor = componentSuccessors.nextSetBit(successor + 1)) {
+        predecessorCounts[successor]--;
+        if (predecessorCounts[successor] == 0) {
+          sources.add(successor);
+        }
+      }
+    }
+
+    reachableComponents = new BitSet[components.size()];
+    for (int i = topologicalOrder.size() - 1; i >= 0; i--) {
+      int component = topologicalOrder.get(i);
+      BitSet reachable = new BitSet(components.size());
+      reachable.set(component);
+      BitSet componentSuccessors = successors.get(component);
+      for (int successor = componentSuccessors.nextSetBit(0);
+           successor >= 0;
+           successor = componentSuccessors.nextSetBit(successor + 1)) {
+        reachable.or(reachableComponents[successor]);
+      }
+      reachableComponents[component] = reachable;
+    }
+  }
+
+  /**
+   * Checks whether the given destination vertex can be reached from the given source vertex.
+   *
+   * @param srcVertex The source vertex.
+   * @param destVertex The destination vertex.
+   * @return {@code true} if, and only if, both vertices are part of the graph and the destination
+   * vertex can be reached from the source vertex.
+   */
+  public boolean isReachable(@Nonnull String srcVertex, @Nonnull String destVertex) {
+    requireNonNull(srcVertex, "srcVertex");
+    requireNonNull(destVertex, "destVertex");
+
+    Integer srcComponent = componentsByVertex.get(srcVertex);
+    Integer destComponent = componentsByVertex.get(destVertex);
+    if (srcComponent == null || destComponent == null) {
+      return false;
+    }
+    return reachableComponents[srcComponent].get(destComponent);
+  }
+
+  /**
+   * Returns the number of strongly connected components in the graph.
+   *
+   * @return The number of strongly connected components in the graph.
+   */
+  public int getComponentCount() {
+    return reachableComponents.length;
+  }
+}
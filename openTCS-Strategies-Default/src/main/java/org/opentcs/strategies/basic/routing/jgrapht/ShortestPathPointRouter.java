@@ -14,14 +14,24 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.SingleSourcePaths;
+import org.jgrapht.alg.shortestpath.BellmanFordShortestPath;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.AsWeightedGraph;
 import org.opentcs.components.kernel.routing.Edge;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.Route;
 import org.opentcs.strategies.basic.routing.PointRouter;
+import org.opentcs.strategies.basic.routing.spacetime.ReservationTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,17 +53,61 @@ public class ShortestPathPointRouter
 
   private final ShortestPathAlgorithm<String, Edge> algo;
 
-  private final Map<String, Point> points = new HashMap<>();
+  private final Map<String, Point> points;
+  /**
+   * Tells whether points can be reached from each other, or {@code null}, if the shortest path
+   * algorithm is to be used for that, too.
+   */
+  private final ReachabilityIndex reachabilityIndex;
+  /**
+   * The graph the shortest path algorithm works on, or {@code null}, if dynamic edge weights are
+   * not supported.
+   */
+  private final Graph<String, Edge> graph;
+  /**
+   * Whether the graph contains edges with negative weights.
+   */
+  private final boolean negativeWeights;
+  /**
+   * The shortest paths computed from source points, mapped by source point name, or {@code null},
+   * if paths are not to be cached because the shortest path algorithm provides them already.
+   */
+  private final Map<String, SingleSourcePaths<String, Edge>> pathsBySource;
 
   public ShortestPathPointRouter(ShortestPathAlgorithm<String, Edge> algo,
                                  Collection<Point> points) {
-    this.algo = requireNonNull(algo, "algo");
-    requireNonNull(points, "points");
+    this(algo, points, null, null);
+  }
 
-    for (Point point : points) {
-      this.points.put(point.getName(), point);
-    }
+  /**
+   * Creates a new instance.
+   *
+   * @param algo The shortest path algorithm.
+   * @param points The points.
+   * @param reachabilityIndex Tells whether points can be reached from each other, or
+   * {@code null}, if the shortest path algorithm is to be used for that, too.
+   * @param graph The graph the shortest path algorithm works on, or {@code null}, if dynamic edge
+   * weights are not to be supported.
+   */
+  public ShortestPathPointRouter(@Nonnull ShortestPathAlgorithm<String, Edge> algo,
+                                 @Nonnull Collection<Point> points,
+                                 @Nullable ReachabilityIndex reachabilityIndex,
+                                 @Nullable Graph<String, Edge> graph) {
+    this(algo, toMap(requireNonNull(points, "points")), reachabilityIndex, graph, null);
+  }
 
+  private ShortestPathPointRouter(ShortestPathAlgorithm<String, Edge> algo,
+                                  Map<String, Point> points,
+                                  ReachabilityIndex reachabilityIndex,
+                                  Graph<String, Edge> graph,
+                                  Map<String, SingleSourcePaths<String, Edge>> pathsBySource) {
+    this.algo = requireNonNull(algo, "algo");
+    this.points = points;
+    this.reachabilityIndex = reachabilityIndex;
+    this.graph = graph;
+    this.negativeWeights = graph != null
+        && graph.edgeSet().stream().anyMatch(edge -> graph.getEdgeWeight(edge) < 0);
+    this.pathsBySource = pathsBySource;
   }
 
   @Override
@@ -65,13 +119,18 @@ public class ShortestPathPointRouter
     if (Objects.equals(srcPoint.getName(), destPoint.getName())) {
       return new ArrayList<>();
     }
+    if (!isReachable(srcPoint.getName(), destPoint.getName())) {
+      return null;
+    }
 
-    GraphPath<String, Edge> graphPath = algo.getPath(srcPoint.getName(), destPoint.getName());
+    GraphPath<String, Edge> graphPath = getPath(srcPoint.getName(), destPoint.getName());
     if (graphPath == null) {
       return null;
     }
 
-    List<Route.Step> result = translateToSteps(graphPath);
+    List<Route.Step> result = translateToSteps(graphPath.getEdgeList(),
+                                               graphPath.getGraph(),
+                                               points);
 
     LOG.debug("Looking up route from {} to {} took {} milliseconds.",
               srcPoint.getName(),
@@ -90,9 +149,11 @@ public class ShortestPathPointRouter
     if (Objects.equals(srcPointRef.getName(), destPointRef.getName())) {
       return 0;
     }
+    if (!isReachable(srcPointRef.getName(), destPointRef.getName())) {
+      return INFINITE_COSTS;
+    }
 
-    GraphPath<String, Edge> graphPath = algo.getPath(srcPointRef.getName(),
-                                                          destPointRef.getName());
+    GraphPath<String, Edge> graphPath = getPath(srcPointRef.getName(), destPointRef.getName());
     if (graphPath == null) {
       return INFINITE_COSTS;
     }
@@ -100,14 +161,114 @@ public class ShortestPathPointRouter
     return (long) graphPath.getWeight();
   }
 
-  private List<Route.Step> translateToSteps(GraphPath<String, Edge> graphPath) {
-    List<Edge> edges = graphPath.getEdgeList();
+  @Override
+  public boolean isReachable(TCSObjectReference<Point> srcPointRef,
+                             TCSObjectReference<Point> destPointRef) {
+    requireNonNull(srcPointRef, "srcPointRef");
+    requireNonNull(destPointRef, "destPointRef");
+
+    if (reachabilityIndex == null) {
+      return PointRouter.super.isReachable(srcPointRef, destPointRef);
+    }
+
+    return Objects.equals(srcPointRef.getName(), destPointRef.getName())
+        || reachabilityIndex.isReachable(srcPointRef.getName(), destPointRef.getName());
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * As the dynamic weights change continuously, routes cannot be precomputed. The returned point
+   * router therefore computes the shortest paths from a source point to all other points using
+   * Dijkstra's algorithm, or the Bellman-Ford algorithm if the graph contains edges with negative
+   * weights, when a route from that source point is requested for the first time, and reuses them
+   * for all further routes from it.
+   * </p>
+   */
+  @Override
+  public PointRouter withDynamicEdgeWeights(ToDoubleFunction<Edge> weights) {
+    requireNonNull(weights, "weights");
+
+    if (graph == null) {
+      return this;
+    }
+
+    // The weighted graph is a view on the graph that does not copy or cache any weights.
+    Graph<String, Edge> weightedGraph
+        = new AsWeightedGraph<>(graph,
+                                edge -> graph.getEdgeWeight(edge) + weights.applyAsDouble(edge),
+                                false,
+                                false);
+    ShortestPathAlgorithm<String, Edge> weightedAlgo = negativeWeights
+        ? new BellmanFordShortestPath<>(weightedGraph)
+        : new DijkstraShortestPath<>(weightedGraph);
+    // The dynamic weights are never infinite, so the reachability of points does not change.
+    return new ShortestPathPointRouter(weightedAlgo,
+                                       points,
+                                       reachabilityIndex,
+                                       null,
+                                       new ConcurrentHashMap<>());
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The returned point router computes every route on the graph, taking the vehicle's and the
+   * paths' maximum velocities into account, but not the graph's edge weights.
+   * </p>
+   */
+  @Override
+  public PointRouter withReservations(ReservationTable reservations,
+                                      Vehicle vehicle,
+                                      long departureTime) {
+    requireNonNull(reservations, "reservations");
+    requireNonNull(vehicle, "vehicle");
+
+    if (graph == null) {
+      return this;
+    }
+
+    return new SpaceTimePointRouter(graph, points, this, reservations, vehicle, departureTime);
+  }
+
+  private GraphPath<String, Edge> getPath(String srcPointName, String destPointName) {
+    if (pathsBySource == null) {
+      return algo.getPath(srcPointName, destPointName);
+    }
+
+    SingleSourcePaths<String, Edge> paths = pathsBySource.get(srcPointName);
+    if (paths == null) {
+      // Compute the paths without holding the map's lock; concurrent computations of the same
+      // paths yield the same result.
+      paths = algo.getPaths(srcPointName);
+      pathsBySource.put(srcPointName, paths);
+    }
+    return paths.getPath(destPointName);
+  }
+
+  private boolean isReachable(String srcPointName, String destPointName) {
+    // Without an index, let the shortest path algorithm find out.
+    return reachabilityIndex == null
+        || reachabilityIndex.isReachable(srcPointName, destPointName);
+  }
+
+  /**
+   * Translates the given edges of the given graph to route steps.
+   *
+   * @param edges The edges, in the order they are to be travelled.
+   * @param graph The graph containing the edges.
+   * @param points The points, mapped by name.
+   * @return The route steps.
+   */
+  static List<Route.Step> translateToSteps(List<Edge> edges,
+                                           Graph<String, Edge> graph,
+                                           Map<String, Point> points) {
     List<Route.Step> result = new ArrayList<>(edges.size());
 
     int routeIndex = 0;
     for (Edge edge : edges) {
-      Point sourcePoint = points.get(graphPath.getGraph().getEdgeSource(edge));
-      Point destPoint = points.get(graphPath.getGraph().getEdgeTarget(edge));
+      Point sourcePoint = points.get(graph.getEdgeSource(edge));
+      Point destPoint = points.get(graph.getEdgeTarget(edge));
 
       result.add(new Route.Step(edge.getPath(),
                                 sourcePoint,
@@ -120,7 +281,15 @@ public class ShortestPathPointRouter
     return result;
   }
 
-  private Vehicle.Orientation orientation(Edge edge, Point graphSourcePoint) {
+  private static Map<String, Point> toMap(Collection<Point> points) {
+    Map<String, Point> result = new HashMap<>();
+    for (Point point : points) {
+      result.put(point.getName(), point);
+    }
+    return result;
+  }
+
+  private static Vehicle.Orientation orientation(Edge edge, Point graphSourcePoint) {
     return Objects.equals(edge.getPath().getSourcePoint(), graphSourcePoint.getReference())
         ? Vehicle.Orientation.FORWARD
         : Vehicle.Orientation.BACKWARD;
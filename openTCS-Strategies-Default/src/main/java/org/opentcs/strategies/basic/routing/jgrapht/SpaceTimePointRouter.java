@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.jgrapht;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import static java.util.Objects.requireNonNull;
+import java.util.PriorityQueue;
+import org.jgrapht.Graph;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.Route;
+import org.opentcs.strategies.basic.routing.PointRouter;
+import org.opentcs.strategies.basic.routing.spacetime.ReservationTable;
+import org.opentcs.strategies.basic.routing.spacetime.TravelTimes;
+
+/**
+ * Computes routes between points for a vehicle departing at a given time, avoiding the paths and
+ * points other vehicles are expected to occupy.
+ * <p>
+ * Routes are computed using a variant of Dijkstra's algorithm that determines the earliest arrival
+ * time at every point. Before travelling a path, the vehicle waits at the path's source point until
+ * neither the path nor its destination point are reserved by another vehicle for the time it needs
+ * to travel the path. As the vehicle occupies the source point while waiting, it can only wait
+ * there if no other vehicle is expected to occupy the source point in the meantime. The costs of a
+ * route are the estimated travel time (in ms), including the time spent waiting.
+ * </p>
+ */
+public class SpaceTimePointRouter
+    implements PointRouter {
+
+  /**
+   * The graph to compute routes on.
+   */
+  private final Graph<String, Edge> graph;
+  /**
+   * The points, mapped by name.
+   */
+  private final Map<String, Point> points;
+  /**
+   * The point router not considering reservations, used for checking whether points can be
+   * reached at all.
+   */
+  private final PointRouter staticRouter;
+  /**
+   * The reservations of other vehicles.
+   */
+  private final ReservationTable reservations;
+  /**
+   * The vehicle to compute routes for.
+   */
+  private final Vehicle vehicle;
+  /**
+   * The time at which the vehicle departs (relative to the reservations).
+   */
+  private final long departureTime;
+
+  SpaceTimePointRouter(Graph<String, Edge> graph,
+                       Map<String, Point> points,
+                       PointRouter staticRouter,
+                       ReservationTable reservations,
+                       Vehicle vehicle,
+                       long departureTime) {
+    this.graph = requireNonNull(graph, "graph");
+    this.points = requireNonNull(points, "points");
+    this.staticRouter = requireNonNull(staticRouter, "staticRouter");
+    this.reservations = requireNonNull(reservations, "reservations");
+    this.vehicle = requireNonNull(vehicle, "vehicle");
+    this.departureTime = departureTime;
+  }
+
+  @Override
+  public List<Route.Step> getRouteSteps(Point srcPoint, Point destPoint) {
+    requireNonNull(srcPoint, "srcPoint");
+    requireNonNull(destPoint, "destPoint");
+
+    if (Objects.equals(srcPoint.getName(), destPoint.getName())) {
+      return new ArrayList<>();
+    }
+    if (!staticRouter.isReachable(srcPoint.getReference(), destPoint.getReference())) {
+      return null;
+    }
+
+    Arrival arrival = computeEarliestArrival(srcPoint.getName(), destPoint.getName());
+    if (arrival == null) {
+      return null;
+    }
+
+    return ShortestPathPointRouter.translateToSteps(arrival.edges, graph, points);
+  }
+
+  @Override
+  public long getCosts(TCSObjectReference<Point> srcPointRef,
+                       TCSObjectReference<Point> destPointRef) {
+    requireNonNull(srcPointRef, "srcPointRef");
+    requireNonNull(destPointRef, "destPointRef");
+
+    if (Objects.equals(srcPointRef.getName(), destPointRef.getName())) {
+      return 0;
+    }
+    if (!staticRouter.isReachable(srcPointRef, destPointRef)) {
+      return INFINITE_COSTS;
+    }
+
+    Arrival arrival = computeEarliestArrival(srcPointRef.getName(), destPointRef.getName());
+    if (arrival == null) {
+      return INFINITE_COSTS;
+    }
+
+    return arrival.time - departureTime;
+  }
+
+  @Override
+  public boolean isReachable(TCSObjectReference<Point> srcPointRef,
+                             TCSObjectReference<Point> destPointRef) {
+    // Reservations only delay vehicles, so they do not affect the reachability of points.
+    return staticRouter.isReachable(srcPointRef, destPointRef);
+  }
+
+  @Override
+  public PointRouter withReservations(ReservationTable reservations,
+                                      Vehicle vehicle,
+                                      long departureTime) {
+    return staticRouter.withReservations(reservations, vehicle, departureTime);
+  }
+
+  private Arrival computeEarliestArrival(String srcVertex, String destVertex) {
+    Map<String, Long> arrivalTimes = new HashMap<>();
+    Map<String, Edge> predecessorEdges = new HashMap<>();
+    PriorityQueue<Label> queue = new PriorityQueue<>(Comparator.comparingLong(label -> label.time));
+
+    arrivalTimes.put(srcVertex, departureTime);
+    queue.add(new Label(srcVertex, departureTime));
+    while (!queue.isEmpty()) {
+      Label label = queue.poll();
+      if (label.time > arrivalTimes.get(label.vertex)) {
+        // An earlier arrival at this vertex has already been processed.
+        continue;
+      }
+      if (label.vertex.equals(destVertex)) {
+        return new Arrival(label.time, collectEdges(srcVertex, destVertex, predecessorEdges));
+      }
+
+      for (Edge edge : graph.outgoingEdgesOf(label.vertex)) {
+        long travelTime = TravelTimes.estimate(edge.getPath(), edge.isTravellingReverse(), vehicle);
+        if (travelTime == TravelTimes.IMPASSABLE) {
+          continue;
+        }
+        String targetVertex = graph.getEdgeTarget(edge);
+        long start = reservations.getEarliestStart(vehicle.getName(),
+                                                   List.of(edge.getPath().getName(),
+                                                           targetVertex),
+                                                   label.time,
+                                                   travelTime);
+        if (!canWait(label.vertex, label.time, start)) {
+          continue;
+        }
+        long arrivalTime = start + travelTime;
+        Long knownArrivalTime = arrivalTimes.get(targetVertex);
+        if (knownArrivalTime == null || arrivalTime < knownArrivalTime) {
+          arrivalTimes.put(targetVertex, arrivalTime);
+          predecessorEdges.put(targetVertex, edge);
+          queue.add(new Label(targetVertex, arrivalTime));
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Checks whether the vehicle can stay at the given vertex during the given time interval without
+   * conflicting with any other vehicle's reservations.
+   *
+   * @param vertex The vertex.
+   * @param from The start of the time interval (inclusive).
+   * @param until The end of the time interval (exclusive).
+   * @return {@code true} if, and only if, the vehicle can stay at the vertex.
+   */
+  private boolean canWait(String vertex, long from, long until) {
+    return until <= from
+        || reservations.getEarliestStart(vehicle.getName(), List.of(vertex), from, until - from)
+        == from;
+  }
+
+  private List<Edge> collectEdges(String srcVertex,
+                                  String destVertex,
+                                  Map<String, Edge> predecessorEdges) {
+    List<Edge> result = new ArrayList<>();
+    String vertex = destVertex;
+    while (!vertex.equals(srcVertex)) {
+      Edge edge = predecessorEdges.get(vertex);
+      result.add(edge);
+      vertex = graph.getEdgeSource(edge);
+    }
+    Collections.reverse(result);
+    return result;
+  }
+
+  /**
+   * A vertex reached at a given time, to be processed in the order of the times.
+   */
+  private static class Label {
+
+    private final String vertex;
+
+    private final long time;
+
+    Label(String vertex, long time) {
+      this.vertex = vertex;
+      this.time = time;
+    }
+  }
+
+  /**
+   * The earliest arrival at a destination vertex.
+   */
+  private static class Arrival {
+
+    /**
+     * The arrival time.
+     */
+    private final long time;
+    /**
+     * The edges travelled to reach the destination vertex.
+     */
+    private final List<Edge> edges;
+
+    Arrival(long time, List<Edge> edges) {
+      this.time = time;
+      this.edges = edges;
+    }
+  }
+}
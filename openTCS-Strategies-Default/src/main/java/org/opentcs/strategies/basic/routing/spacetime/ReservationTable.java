@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.spacetime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+import static org.opentcs.util.Assertions.checkArgument;
+
+/**
+ * The time intervals in which vehicles are expected to occupy resources (paths and points).
+ * <p>
+ * Times are given in milliseconds relative to the time the table was created.
+ * Instances are not thread-safe and must not be modified once they are used for planning routes.
+ * </p>
+ */
+public class ReservationTable {
+
+  /**
+   * The reservations, mapped by the names of the reserved resources.
+   */
+  private final Map<String, List<Reservation>> reservationsByResource = new HashMap<>();
+  /**
+   * The number of reservations.
+   */
+  private int reservationCount;
+
+  /**
+   * Creates a new, empty instance.
+   */
+  public ReservationTable() {
+  }
+
+  /**
+   * Reserves the given resource for the given vehicle during the given time interval.
+   *
+   * @param resourceName The name of the resource.
+   * @param vehicleName The name of the vehicle.
+   * @param start The start of the time interval (inclusive).
+   * @param end The end of the time interval (exclusive).
+   */
+  public void reserve(@Nonnull String resourceName,
+                      @Nonnull String vehicleName,
+                      long start,
+                      long end) {
+    requireNonNull(resourceName, "resourceName");
+    requireNonNull(vehicleName, "vehicleName");
+    checkArgument(start <= end, "start %s is after end %s", start, end);
+
+    reservationsByResource.computeIfAbsent(resourceName, name -> new ArrayList<>())
+        .add(new Reservation(vehicleName, start, end));
+    reservationCount++;
+  }
+
+  /**
+   * Returns the earliest time at or after the given one at which the given vehicle can occupy all
+   * of the given resources for the given duration without conflicting with any other vehicle's
+   * reservations.
+   *
+   * @param vehicleName The name of the vehicle, whose own reservations are ignored.
+   * @param resourceNames The names of the resources.
+   * @param start The earliest time at which the vehicle could occupy the resources.
+   * @param duration The duration for which the vehicle would occupy the resources.
+   * @return The earliest time at which the vehicle can occupy the resources.
+   */
+  public long getEarliestStart(@Nonnull String vehicleName,
+                               @Nonnull Collection<String> resourceNames,
+                               long start,
+                               long duration) {
+    requireNonNull(vehicleName, "vehicleName");
+    requireNonNull(resourceNames, "resourceNames");
+    checkArgument(duration >= 0, "duration is negative: %s", duration);
+
+    // Postpone the start past every conflicting reservation until there are no conflicts left.
+    // As the start only ever increases and there are finitely many reservations, this terminates.
+    long result = start;
+    boolean postponed = true;
+    while (postponed) {
+      postponed = false;
+      for (String resourceName : resourceNames) {
+        for (Reservation reservation : reservationsByResource.getOrDefault(resourceName,
+                                                                           List.of())) {
+          if (!Objects.equals(reservation.vehicleName, vehicleName)
+              && reservation.overlaps(result, result + duration)) {
+            result = reservation.end;
+            postponed = true;
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of reservations in this table.
+   *
+   * @return The number of reservations in this table.
+   */
+  public int getReservationCount() {
+    return reservationCount;
+  }
+
+  /**
+   * A time interval in which a vehicle is expected to occupy a resource.
+   */
+  private static class Reservation {
+
+    /**
+     * The name of the vehicle.
+     */
+    private final String vehicleName;
+    /**
+     * The start of the time interval (inclusive).
+     */
+    private final long start;
+    /**
+     * The end of the time interval (exclusive).
+     */
+    private final long end;
+
+    Reservation(String vehicleName, long start, long end) {
+      this.vehicleName = vehicleName;
+      this.start = start;
+      this.end = end;
+    }
+
+    boolean overlaps(long otherStart, long otherEnd) {
+      // A zero-length interval still occupies the resource at its start.
+      return start < Math.max(otherEnd, otherStart + 1) && otherStart < end;
+    }
+  }
+}
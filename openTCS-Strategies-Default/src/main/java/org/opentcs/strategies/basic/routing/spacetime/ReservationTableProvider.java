@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.spacetime;
+
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.Route;
+import org.opentcs.data.order.TransportOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides a {@link ReservationTable} with the paths and points vehicles are expected to occupy
+ * along their selected routes.
+ * <p>
+ * Starting at a vehicle's current position and progress along its route, the times at which it
+ * occupies the paths and points of the remaining route steps are estimated from the steps' travel
+ * times, with the vehicle staying at the destination point of every drive order for the configured
+ * operation duration.
+ * A vehicle occupies a path while travelling it, and a point from the time it starts travelling
+ * towards it until it has travelled the path leading away from it.
+ * </p>
+ * <p>
+ * As vehicles progress along their routes, a table is only provided for a configured time and then
+ * created anew.
+ * </p>
+ */
+public class ReservationTableProvider {
+
+  /**
+   * This class's Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(ReservationTableProvider.class);
+  /**
+   * The object service providing the vehicles and transport orders.
+   */
+  private final TCSObjectService objectService;
+  /**
+   * This class's configuration.
+   */
+  private final SpaceTimeConfiguration configuration;
+  /**
+   * The current reservation table, or {@code null}, if it needs to be created.
+   */
+  private ReservationTable reservationTable;
+  /**
+   * The time at which the current reservation table was created.
+   */
+  private long reservationTableCreationTime;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param objectService The object service providing the vehicles and transport orders.
+   * @param configuration This class's configuration.
+   */
+  @Inject
+  public ReservationTableProvider(@Nonnull TCSObjectService objectService,
+                                  @Nonnull SpaceTimeConfiguration configuration) {
+    this.objectService = requireNonNull(objectService, "objectService");
+    this.configuration = requireNonNull(configuration, "configuration");
+  }
+
+  /**
+   * Checks whether routes are to be planned in space and time.
+   *
+   * @return {@code true} if, and only if, routes are to be planned in space and time.
+   */
+  public boolean isEnabled() {
+    return configuration.enable();
+  }
+
+  /**
+   * Returns the estimated time (in ms) a vehicle stays at the destination point of a drive order.
+   *
+   * @return The estimated time a vehicle stays at the destination point of a drive order.
+   */
+  public long getOperationDuration() {
+    return configuration.operationDuration();
+  }
+
+  /**
+   * Returns a reservation table for the given routes, which is created anew if the routes were
+   * invalidated or the current table was created too long ago.
+   *
+   * @param routesByVehicle The selected routes, mapped by vehicle.
+   * @return The reservation table.
+   */
+  @Nonnull
+  public synchronized ReservationTable getReservationTable(
+      @Nonnull Map<Vehicle, List<DriveOrder>> routesByVehicle) {
+    requireNonNull(routesByVehicle, "routesByVehicle");
+
+    long now = System.currentTimeMillis();
+    if (reservationTable == null
+        || now - reservationTableCreationTime > configuration.maxReservationTableAge()) {
+      reservationTable = createReservationTable(routesByVehicle);
+      reservationTableCreationTime = now;
+      LOG.debug("Created reservation table with {} reservations for {} routes.",
+                reservationTable.getReservationCount(),
+                routesByVehicle.size());
+    }
+    return reservationTable;
+  }
+
+  /**
+   * Discards the current reservation table, e.g. because another route was selected.
+   */
+  public synchronized void invalidate() {
+    reservationTable = null;
+  }
+
+  private ReservationTable createReservationTable(Map<Vehicle, List<DriveOrder>> routesByVehicle) {
+    ReservationTable result = new ReservationTable();
+    for (Map.Entry<Vehicle, List<DriveOrder>> entry : routesByVehicle.entrySet()) {
+      // The selected route may have been passed with an outdated copy of the vehicle.
+      Vehicle vehicle = objectService.fetchObject(Vehicle.class, entry.getKey().getReference());
+      if (vehicle != null && vehicle.getCurrentPosition() != null) {
+        reserveRoute(result, vehicle, entry.getValue());
+      }
+    }
+    return result;
+  }
+
+  private void reserveRoute(ReservationTable table, Vehicle vehicle, List<DriveOrder> driveOrders) {
+    int driveOrderIndex = 0;
+    int routeProgressIndex = Vehicle.ROUTE_INDEX_DEFAULT;
+    TransportOrder transportOrder = vehicle.getTransportOrder() == null
+        ? null
+        : objectService.fetchObject(TransportOrder.class, vehicle.getTransportOrder());
+    if (transportOrder != null) {
+      // Drive orders that were already finished when the route was selected may not be included.
+      driveOrderIndex = Math.max(0,
+                                 transportOrder.getCurrentDriveOrderIndex()
+                                 - (transportOrder.getAllDriveOrders().size()
+                                    - driveOrders.size()));
+      routeProgressIndex = vehicle.getRouteProgressIndex();
+    }
+
+    String occupiedPoint = vehicle.getCurrentPosition().getName();
+    long occupiedSince = 0;
+    long time = 0;
+    for (int i = driveOrderIndex; i < driveOrders.size(); i++) {
+      Route route = driveOrders.get(i).getRoute();
+      if (route == null) {
+        continue;
+      }
+      for (Route.Step step : route.getSteps()) {
+        if (step.getPath() == null
+            || (i == driveOrderIndex && step.getRouteIndex() <= routeProgressIndex)) {
+          continue;
+        }
+        long travelTime = TravelTimes.estimate(step.getPath(),
+                                               step.getVehicleOrientation()
+                                               == Vehicle.Orientation.BACKWARD,
+                                               vehicle);
+        if (travelTime == TravelTimes.IMPASSABLE) {
+          // The vehicle will not get any further, so there is nothing else to be estimated.
+          reserve(table, occupiedPoint, vehicle, occupiedSince, time);
+          return;
+        }
+        reserve(table, step.getPath().getName(), vehicle, time, time + travelTime);
+        reserve(table, occupiedPoint, vehicle, occupiedSince, time + travelTime);
+        occupiedPoint = step.getDestinationPoint().getName();
+        occupiedSince = time;
+        time += travelTime;
+      }
+      time += configuration.operationDuration();
+    }
+    reserve(table, occupiedPoint, vehicle, occupiedSince, time);
+  }
+
+  private void reserve(ReservationTable table,
+                       String resourceName,
+                       Vehicle vehicle,
+                       long start,
+                       long end) {
+    table.reserve(resourceName,
+                  vehicle.getName(),
+                  start - configuration.safetyMargin(),
+                  end + configuration.safetyMargin());
+  }
+}
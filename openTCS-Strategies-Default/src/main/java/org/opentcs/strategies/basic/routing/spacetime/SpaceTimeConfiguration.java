@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.spacetime;
+
+import org.opentcs.configuration.ConfigurationEntry;
+import org.opentcs.configuration.ConfigurationPrefix;
+
+/**
+ * Provides methods to configure the planning of routes in space and time.
+ */
+@ConfigurationPrefix(SpaceTimeConfiguration.PREFIX)
+public interface SpaceTimeConfiguration {
+
+  /**
+   * This configuration's prefix.
+   */
+  String PREFIX = "defaultrouter.spacetime";
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to plan routes in space and time, avoiding the paths and points other vehicles "
+        + "are expected to occupy along their selected routes.",
+        "The times at which other vehicles occupy paths and points are estimated from the paths' "
+        + "lengths and the vehicles' and paths' maximum velocities.",
+        "If enabled, the costs of routes are the estimated travel times (in ms), including the "
+        + "time spent waiting for other vehicles, and the configured edge evaluators as well as "
+        + "congestion costs are not taken into account."},
+      orderKey = "0_enable")
+  boolean enable();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = "The estimated time (in ms) a vehicle stays at the destination point of a "
+          + "drive order to execute the operation.",
+      orderKey = "1_operation")
+  int operationDuration();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = "The time (in ms) to keep clear before and after another vehicle is expected "
+          + "to occupy a path or point, to compensate for inaccurate estimates.",
+      orderKey = "2_margin")
+  int safetyMargin();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The maximum time (in ms) for which the estimated times at which vehicles occupy paths and "
+        + "points are reused for planning routes.",
+        "After that, they are estimated anew from the vehicles' current positions, even if no "
+        + "other route was selected in the meantime."},
+      orderKey = "3_tableAge")
+  int maxReservationTableAge();
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.spacetime;
+
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Vehicle;
+
+/**
+ * Estimates the times vehicles need for travelling paths.
+ */
+public class TravelTimes {
+
+  /**
+   * Indicates that a vehicle cannot travel a path.
+   */
+  public static final long IMPASSABLE = -1;
+
+  /**
+   * Prevents instantiation.
+   */
+  private TravelTimes() {
+  }
+
+  /**
+   * Estimates the time the given vehicle needs for travelling the given path, assuming it travels
+   * at the maximum velocity allowed for both the vehicle and the path.
+   *
+   * @param path The path.
+   * @param reverse Whether the vehicle travels the path in reverse direction.
+   * @param vehicle The vehicle.
+   * @return The estimated travel time (in ms), or {@link #IMPASSABLE}, if the maximum velocity is
+   * zero.
+   */
+  public static long estimate(@Nonnull Path path, boolean reverse, @Nonnull Vehicle vehicle) {
+    requireNonNull(path, "path");
+    requireNonNull(vehicle, "vehicle");
+
+    int maxVelocity = reverse
+        ? Math.min(vehicle.getMaxReverseVelocity(), path.getMaxReverseVelocity())
+        : Math.min(vehicle.getMaxVelocity(), path.getMaxVelocity());
+    if (maxVelocity <= 0) {
+      return IMPASSABLE;
+    }
+    // Lengths are given in mm, velocities in mm/s.
+    return path.getLength() * 1000 / maxVelocity;
+  }
+}
@@ -163,4 +163,14 @@ public class AllocationAdvisor
       module.allocationReleased(client, resources);
     }
   }
+
+  @Override
+  public void allocationDeferred(Client client, Set<TCSResource<?>> resources) {
+    requireNonNull(client, "client");
+    requireNonNull(resources, "resources");
+
+    for (Scheduler.Module module : modules) {
+      module.allocationDeferred(client, resources);
+    }
+  }
 }
@@ -188,6 +188,11 @@ abstract class AllocatorCommand
      * The resources to be allocated.
      */
     private final Set<TCSResource<?>> resources;
+    /**
+     * The point of time at which this command was created (in ns, as returned by
+     * {@link System#nanoTime()}).
+     */
+    private final long creationTime = System.nanoTime();
 
     /**
      * Creates a new instance.
@@ -209,6 +214,16 @@ abstract class AllocatorCommand
       return resources;
     }
 
+    /**
+     * Returns the point of time at which this command was created (in ns, as returned by
+     * {@link System#nanoTime()}).
+     *
+     * @return The point of time at which this command was created.
+     */
+    public long getCreationTime() {
+      return creationTime;
+    }
+
     @Override
     public String toString() {
       return "Allocate{"
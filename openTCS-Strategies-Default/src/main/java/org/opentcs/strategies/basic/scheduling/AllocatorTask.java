@@ -10,7 +10,9 @@ package org.opentcs.strategies.basic.scheduling;
 import static java.util.Objects.requireNonNull;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.Scheduler.Client;
@@ -46,14 +48,27 @@ class AllocatorTask
    * Allocations deferred because they couldn't be granted, yet.
    */
   private final Queue<AllocatorCommand.Allocate> deferredAllocations;
+  /**
+   * The number of times the deferred allocations have been retried.
+   */
+  private final AtomicLong deferredAllocationRetries;
   /**
    * Executes tasks.
    */
   private final ScheduledExecutorService kernelExecutor;
+  /**
+   * Executes tasks deciding about allocations.
+   * If this is not the kernel executor, clients are called back via the kernel executor.
+   */
+  private final ExecutorService allocationExecutor;
   /**
    * A global object to be used for synchronization within the kernel.
    */
   private final Object globalSyncObject;
+  /**
+   * Collects metrics about resource allocations.
+   */
+  private final SchedulerMetrics metrics;
   /**
    * Describes the actual task.
    */
@@ -65,16 +80,23 @@ class AllocatorTask
   AllocatorTask(@Nonnull InternalPlantModelService plantModelService,
                 @Nonnull ReservationPool reservationPool,
                 @Nonnull Queue<AllocatorCommand.Allocate> deferredAllocations,
+                @Nonnull AtomicLong deferredAllocationRetries,
                 @Nonnull Scheduler.Module allocationAdvisor,
                 @Nonnull ScheduledExecutorService kernelExecutor,
+                @Nonnull ExecutorService allocationExecutor,
                 @Nonnull @GlobalSyncObject Object globalSyncObject,
+                @Nonnull SchedulerMetrics metrics,
                 @Nonnull AllocatorCommand command) {
     this.plantModelService = requireNonNull(plantModelService, "plantModelService");
     this.reservationPool = requireNonNull(reservationPool, "reservationPool");
     this.deferredAllocations = requireNonNull(deferredAllocations, "deferredAllocations");
+    this.deferredAllocationRetries = requireNonNull(deferredAllocationRetries,
+                                                    "deferredAllocationRetries");
     this.allocationAdvisor = requireNonNull(allocationAdvisor, "allocationAdvisor");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.allocationExecutor = requireNonNull(allocationExecutor, "allocationExecutor");
     this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.metrics = requireNonNull(metrics, "metrics");
     this.command = requireNonNull(command, "command");
   }
 
@@ -100,9 +122,32 @@ class AllocatorTask
   }
 
   private void processAllocate(AllocatorCommand.Allocate command) {
+    long retries = deferredAllocationRetries.get();
     if (!tryAllocate(command)) {
       LOG.debug("{}: Resources unavailable, deferring allocation...", command.getClient().getId());
       deferredAllocations.add(command);
+      metrics.allocationDeferred();
+      allocationAdvisor.allocationDeferred(command.getClient(), command.getResources());
+      // When allocations are decided in parallel, the deferred allocations may have been retried
+      // (e.g. because resources were freed) after this allocation was rejected, but before it was
+      // deferred. In that case, retry it right away, unless a later retry has already done so.
+      if (allocationExecutor != kernelExecutor
+          && deferredAllocationRetries.get() != retries
+          && deferredAllocations.remove(command)) {
+        LOG.debug("{}: Deferred allocations retried concurrently, retrying allocation...",
+                  command.getClient().getId());
+        allocationExecutor.submit(createTask(command));
+      }
+      return;
+    }
+    metrics.allocationGranted(command);
+
+    if (allocationExecutor != kernelExecutor) {
+      // Clients expect to be called back on the kernel executor.
+      kernelExecutor.submit(
+          createTask(new AllocatorCommand.CheckAllocationsPrepared(command.getClient(),
+                                                                   command.getResources()))
+      );
       return;
     }
 
@@ -145,6 +190,22 @@ class AllocatorTask
    * @return <code>true</code> if, and only if, the given resources were allocated.
    */
   private boolean tryAllocate(AllocatorCommand.Allocate command) {
+    if (!reservationPool.isPartitioned()) {
+      return allocateIfPossible(command);
+    }
+
+    // Allocations of resources in different zones are decided in parallel. Checking the
+    // availability of the resources requires only the respective zones' locks, so allocations that
+    // cannot be granted are rejected without acquiring the global lock.
+    return reservationPool.withAllocationLocks(
+        command.getResources(),
+        () -> reservationPool.resourcesAvailableForUser(command.getResources(),
+                                                        command.getClient())
+        && allocateIfPossible(command)
+    );
+  }
+
+  private boolean allocateIfPossible(AllocatorCommand.Allocate command) {
     Scheduler.Client client = command.getClient();
     Set<TCSResource<?>> resources = command.getResources();
 
@@ -173,9 +234,7 @@ class AllocatorTask
 
       LOG.debug("{}: All resources available, allocating...", client.getId());
       // Allocate resources.
-      for (TCSResource<?> curRes : command.getResources()) {
-        reservationPool.getReservationEntry(curRes).allocate(client);
-      }
+      reservationPool.allocate(client, resources);
 
       LOG.debug("{}: Removing resources claim: {}...", client.getId(), resources);
       reservationPool.unclaim(client, resources);
@@ -206,15 +265,29 @@ class AllocatorTask
    * Moves all waiting allocations back into the incoming queue so they can be rechecked.
    */
   private void scheduleRetryWaitingAllocations() {
-    for (AllocatorCommand.Allocate allocate : deferredAllocations) {
-      kernelExecutor.submit(new AllocatorTask(plantModelService,
-                                              reservationPool,
-                                              deferredAllocations,
-                                              allocationAdvisor,
-                                              kernelExecutor,
-                                              globalSyncObject,
-                                              allocate));
+    // Count the retry before taking any allocations, so that allocations deferred concurrently are
+    // either taken or retried by the allocator tasks deferring them.
+    deferredAllocationRetries.incrementAndGet();
+    // Allocations may be deferred again concurrently, so retry only those deferred until now.
+    for (int i = deferredAllocations.size(); i > 0; i--) {
+      AllocatorCommand.Allocate allocate = deferredAllocations.poll();
+      if (allocate == null) {
+        break;
+      }
+      allocationExecutor.submit(createTask(allocate));
     }
-    deferredAllocations.clear();
+  }
+
+  private AllocatorTask createTask(AllocatorCommand command) {
+    return new AllocatorTask(plantModelService,
+                             reservationPool,
+                             deferredAllocations,
+                             deferredAllocationRetries,
+                             allocationAdvisor,
+                             kernelExecutor,
+                             allocationExecutor,
+                             globalSyncObject,
+                             metrics,
+                             command);
   }
 }
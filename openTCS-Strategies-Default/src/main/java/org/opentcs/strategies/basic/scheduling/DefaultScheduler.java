@@ -16,12 +16,17 @@ import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
+import org.opentcs.common.LoggingScheduledThreadPoolExecutor;
 import org.opentcs.components.kernel.ResourceAllocationException;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
@@ -29,6 +34,10 @@ import org.opentcs.customizations.ApplicationEventBus;
 import org.opentcs.customizations.kernel.GlobalSyncObject;
 import org.opentcs.customizations.kernel.KernelExecutor;
 import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Block;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
 import org.opentcs.data.model.TCSResource;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.strategies.basic.scheduling.AllocatorCommand.Allocate;
@@ -38,6 +47,8 @@ import org.opentcs.strategies.basic.scheduling.AllocatorCommand.RetryAllocates;
 import static org.opentcs.util.Assertions.checkArgument;
 import org.opentcs.util.event.EventBus;
 import org.opentcs.util.event.EventHandler;
+import org.opentcs.util.logging.UncaughtExceptionLogger;
+import org.opentcs.util.metrics.MetricRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,6 +83,10 @@ public class DefaultScheduler
    * Allocations deferred because they couldn't be granted, yet.
    */
   private final Queue<AllocatorCommand.Allocate> deferredAllocations = new LinkedBlockingQueue<>();
+  /**
+   * The number of times the deferred allocations have been retried.
+   */
+  private final AtomicLong deferredAllocationRetries = new AtomicLong();
   /**
    * Executes scheduling tasks.
    */
@@ -80,14 +95,27 @@ public class DefaultScheduler
    * The kernel's event bus.
    */
   private final EventBus eventBus;
+  /**
+   * The configuration of the partitioning of resources into zones.
+   */
+  private final ZonePartitioningConfiguration partitioningConfiguration;
   /**
    * A global object to be used for synchronization within the kernel.
    */
   private final Object globalSyncObject;
+  /**
+   * Collects metrics about resource allocations.
+   */
+  private final SchedulerMetrics metrics;
   /**
    * Allocations that are scheduled for execution on the kernel executor.
    */
   private final Map<Client, List<Future<?>>> allocateFutures = new HashMap<>();
+  /**
+   * Executes tasks deciding about allocations.
+   * This is the kernel executor unless resources are partitioned into multiple zones.
+   */
+  private ExecutorService allocationExecutor;
   /**
    * Indicates whether this component is enabled.
    */
@@ -102,6 +130,9 @@ public class DefaultScheduler
    * @param kernelExecutor Executes scheduling tasks.
    * @param eventBus The kernel's event bus.
    * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param metricRegistry The registry to register meters with.
+   * @param partitioningConfiguration The configuration of the partitioning of resources into
+   * zones.
    */
   @Inject
   public DefaultScheduler(InternalPlantModelService plantModelService,
@@ -109,13 +140,19 @@ public class DefaultScheduler
                           ReservationPool reservationPool,
                           @KernelExecutor ScheduledExecutorService kernelExecutor,
                           @ApplicationEventBus EventBus eventBus,
-                          @GlobalSyncObject Object globalSyncObject) {
+                          @GlobalSyncObject Object globalSyncObject,
+                          MetricRegistry metricRegistry,
+                          ZonePartitioningConfiguration partitioningConfiguration) {
     this.plantModelService = requireNonNull(plantModelService, "plantModelService");
     this.allocationAdvisor = requireNonNull(allocationAdvisor, "allocationAdvisor");
     this.reservationPool = requireNonNull(reservationPool, "reservationPool");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
     this.eventBus = requireNonNull(eventBus, "eventBus");
     this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.metrics = new SchedulerMetrics(metricRegistry, deferredAllocations);
+    this.partitioningConfiguration = requireNonNull(partitioningConfiguration,
+                                                    "partitioningConfiguration");
+    this.allocationExecutor = kernelExecutor;
   }
 
   @Override
@@ -125,6 +162,10 @@ public class DefaultScheduler
     }
 
     reservationPool.clear();
+    reservationPool.setResourceZones(createResourceZones());
+    allocationExecutor = reservationPool.isPartitioned()
+        ? createAllocationExecutor()
+        : kernelExecutor;
     allocationAdvisor.initialize();
 
     eventBus.subscribe(this);
@@ -147,6 +188,11 @@ public class DefaultScheduler
 
     allocationAdvisor.terminate();
 
+    if (allocationExecutor != kernelExecutor) {
+      allocationExecutor.shutdown();
+      allocationExecutor = kernelExecutor;
+    }
+
     initialized = false;
   }
 
@@ -188,13 +234,16 @@ public class DefaultScheduler
                     "Not the next claimed resources: %s",
                     resources);
 
-      Future<?> allocateFuture = kernelExecutor.submit(
+      Future<?> allocateFuture = allocationExecutor.submit(
           new AllocatorTask(plantModelService,
                             reservationPool,
                             deferredAllocations,
+                            deferredAllocationRetries,
                             allocationAdvisor,
                             kernelExecutor,
+                            allocationExecutor,
                             globalSyncObject,
+                            metrics,
                             new Allocate(client, resources))
       );
 
@@ -254,9 +303,7 @@ public class DefaultScheduler
       }
       // Allocate all requested resources that are available.
       LOG.debug("{}: Allocating immediately: {}", client.getId(), availableResources);
-      for (TCSResource<?> curResource : availableResources) {
-        reservationPool.getReservationEntry(curResource).allocate(client);
-      }
+      reservationPool.allocate(client, availableResources);
     }
   }
 
@@ -276,18 +323,24 @@ public class DefaultScheduler
       kernelExecutor.submit(new AllocatorTask(plantModelService,
                                               reservationPool,
                                               deferredAllocations,
+                                              deferredAllocationRetries,
                                               allocationAdvisor,
                                               kernelExecutor,
+                                              allocationExecutor,
                                               globalSyncObject,
+                                              metrics,
                                               new AllocationsReleased(client,
                                                                       completelyFreeResources)));
     }
     kernelExecutor.submit(new AllocatorTask(plantModelService,
                                             reservationPool,
                                             deferredAllocations,
+                                            deferredAllocationRetries,
                                             allocationAdvisor,
                                             kernelExecutor,
+                                            allocationExecutor,
                                             globalSyncObject,
+                                            metrics,
                                             new RetryAllocates(client)));
   }
 
@@ -305,18 +358,24 @@ public class DefaultScheduler
       kernelExecutor.submit(new AllocatorTask(plantModelService,
                                               reservationPool,
                                               deferredAllocations,
+                                              deferredAllocationRetries,
                                               allocationAdvisor,
                                               kernelExecutor,
+                                              allocationExecutor,
                                               globalSyncObject,
+                                              metrics,
                                               new AllocationsReleased(client,
                                                                       freedResources)));
     }
     kernelExecutor.submit(new AllocatorTask(plantModelService,
                                             reservationPool,
                                             deferredAllocations,
+                                            deferredAllocationRetries,
                                             allocationAdvisor,
                                             kernelExecutor,
+                                            allocationExecutor,
                                             globalSyncObject,
+                                            metrics,
                                             new RetryAllocates(client)));
   }
 
@@ -335,9 +394,12 @@ public class DefaultScheduler
     kernelExecutor.submit(new AllocatorTask(plantModelService,
                                             reservationPool,
                                             deferredAllocations,
+                                            deferredAllocationRetries,
                                             allocationAdvisor,
                                             kernelExecutor,
+                                            allocationExecutor,
                                             globalSyncObject,
+                                            metrics,
                                             new RetryAllocates(new DummyClient())));
   }
 
@@ -359,9 +421,12 @@ public class DefaultScheduler
     kernelExecutor.submit(new AllocatorTask(plantModelService,
                                             reservationPool,
                                             deferredAllocations,
+                                            deferredAllocationRetries,
                                             allocationAdvisor,
                                             kernelExecutor,
+                                            allocationExecutor,
                                             globalSyncObject,
+                                            metrics,
                                             new CheckAllocationsPrepared(client, resources)));
   }
 
@@ -385,6 +450,35 @@ public class DefaultScheduler
     }
   }
 
+  private ResourceZones createResourceZones() {
+    if (!partitioningConfiguration.enable()) {
+      return ResourceZones.SINGLE_ZONE;
+    }
+
+    ResourceZones resourceZones
+        = ResourceZones.fromProperty(plantModelService.fetchObjects(Point.class),
+                                     plantModelService.fetchObjects(Path.class),
+                                     plantModelService.fetchObjects(Location.class),
+                                     plantModelService.fetchObjects(Block.class),
+                                     partitioningConfiguration.zonePropertyKey());
+    LOG.info("Partitioned resources into {} zone(s).", resourceZones.getZoneCount());
+    return resourceZones;
+  }
+
+  private ExecutorService createAllocationExecutor() {
+    int threadCount = partitioningConfiguration.allocationThreads() > 0
+        ? partitioningConfiguration.allocationThreads()
+        : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadNumber = new AtomicInteger();
+    ThreadFactory threadFactory = runnable -> {
+      Thread thread = new Thread(runnable, "schedulerAllocator-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      thread.setUncaughtExceptionHandler(new UncaughtExceptionLogger(false));
+      return thread;
+    };
+    return new LoggingScheduledThreadPoolExecutor(threadCount, threadFactory);
+  }
+
   private void addAllocateFuture(Client client, Future<?> allocateFuture) {
     if (!allocateFutures.containsKey(client)) {
       allocateFutures.put(client, new ArrayList<>());
@@ -51,6 +51,17 @@ public class ReservationEntry {
     this.resource = requireNonNull(reqResource, "reqResource");
   }
 
+  /**
+   * Creates a copy of the given entry.
+   *
+   * @param original The entry to be copied.
+   */
+  private ReservationEntry(ReservationEntry original) {
+    this.resource = original.resource;
+    this.client = original.client;
+    this.counter = original.counter;
+  }
+
   /**
    * Returns the resource.
    *
@@ -70,6 +81,15 @@ public class ReservationEntry {
     return client;
   }
 
+  /**
+   * Returns a copy of this entry, reflecting its current state.
+   *
+   * @return A copy of this entry.
+   */
+  ReservationEntry copy() {
+    return new ReservationEntry(this);
+  }
+
   /**
    * Reserves the resource for the given client.
    * Increments the reservation counter for the resource if the user has already allocated this
@@ -7,6 +7,9 @@
  */
 package org.opentcs.strategies.basic.scheduling;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -16,7 +19,14 @@ import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.Queue;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import org.opentcs.components.kernel.Scheduler;
@@ -25,6 +35,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Keeps the claims of clients and the reservations of resources.
+ * <p>
+ * The reservations are partitioned into zones as defined by {@link ResourceZones}, each zone
+ * having its own lock guarding its reservation state.
+ * These locks are only held while the pool is being accessed, and locks of multiple zones are
+ * always acquired in the order of the zones' indices.
+ * Additionally, each zone has an allocation lock that may be used for deciding about allocations of
+ * resources in different zones in parallel (see {@link #withAllocationLocks(Set, Supplier)}).
+ * </p>
  *
  * @author Stefan Walter (Fraunhofer IML)
  */
@@ -40,9 +59,10 @@ public class ReservationPool {
   private final Map<Scheduler.Client, Queue<Set<TCSResource<?>>>> claimsByClient
       = new HashMap<>();
   /**
-   * <code>ReservationEntry</code> instances for each <code>TCSResource</code>.
+   * The assignment of resources to zones and the zones.
+   * Both are replaced together, so every access uses zones matching the assignment.
    */
-  private final Map<TCSResource<?>, ReservationEntry> reservations = new HashMap<>();
+  private volatile Partitioning partitioning = new Partitioning(ResourceZones.SINGLE_ZONE);
 
   /**
    * Creates a new instance.
@@ -51,22 +71,74 @@ public class ReservationPool {
   public ReservationPool() {
   }
 
+  /**
+   * Sets the assignment of resources to zones.
+   * Discards all reservations.
+   *
+   * @param resourceZones The assignment of resources to zones.
+   */
+  public void setResourceZones(@Nonnull ResourceZones resourceZones) {
+    requireNonNull(resourceZones, "resourceZones");
+
+    this.partitioning = new Partitioning(resourceZones);
+  }
+
+  /**
+   * Checks whether the reservations are partitioned into multiple zones.
+   *
+   * @return <code>true</code> if, and only if, there is more than one zone.
+   */
+  public boolean isPartitioned() {
+    return partitioning.zones.length > 1;
+  }
+
+  /**
+   * Executes the given action while holding the allocation locks of the zones the given resources
+   * belong to.
+   * <p>
+   * The allocation locks are not required for accessing this pool, but callers may use them for
+   * ensuring that no other allocation of resources in the same zones is decided concurrently.
+   * </p>
+   *
+   * @param <T> The action's result type.
+   * @param resources The resources.
+   * @param action The action.
+   * @return The action's result.
+   */
+  public <T> T withAllocationLocks(@Nonnull Set<TCSResource<?>> resources,
+                                   @Nonnull Supplier<T> action) {
+    requireNonNull(resources, "resources");
+    requireNonNull(action, "action");
+
+    Partitioning current = partitioning;
+    return withLocks(current,
+                     current.zoneIndicesOf(resources),
+                     zone -> zone.allocationLock,
+                     ignored -> action.get());
+  }
+
   /**
    * Returns a reservation entry for the given resource.
+   * <p>
+   * The returned entry is a copy taken while holding the lock guarding the reservation state, so
+   * its state is consistent but does not reflect later changes to the pool.
+   * </p>
    *
    * @param resource The resource for which to return the reservation entry.
-   * @return The reservation entry for the given resource.
+   * @return A copy of the reservation entry for the given resource.
    */
   @Nonnull
   public ReservationEntry getReservationEntry(TCSResource<?> resource) {
     requireNonNull(resource, "resource");
 
-    ReservationEntry entry = reservations.get(resource);
-    if (entry == null) {
-      entry = new ReservationEntry(resource);
-      reservations.put(resource, entry);
+    Zone zone = partitioning.zoneOf(resource);
+    zone.stateLock.lock();
+    try {
+      return zone.getReservationEntry(resource).copy();
+    }
+    finally {
+      zone.stateLock.unlock();
     }
-    return entry;
   }
 
   /**
@@ -79,9 +151,11 @@ public class ReservationPool {
   public List<Set<TCSResource<?>>> getClaim(@Nonnull Scheduler.Client client) {
     requireNonNull(client, "client");
 
-    return claimsByClient.getOrDefault(client, new LinkedList<>()).stream()
-        .map(resourceSet -> Set.copyOf(resourceSet))
-        .collect(Collectors.toList());
+    synchronized (claimsByClient) {
+      return claimsByClient.getOrDefault(client, new LinkedList<>()).stream()
+          .map(resourceSet -> Set.copyOf(resourceSet))
+          .collect(Collectors.toList());
+    }
   }
 
   /**
@@ -95,7 +169,9 @@ public class ReservationPool {
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    claimsByClient.put(client, new LinkedList<>(resources));
+    synchronized (claimsByClient) {
+      claimsByClient.put(client, new LinkedList<>(resources));
+    }
   }
 
   /**
@@ -112,19 +188,21 @@ public class ReservationPool {
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    if (!claimsByClient.containsKey(client) || claimsByClient.get(client).isEmpty()) {
-      return;
-    }
+    synchronized (claimsByClient) {
+      if (!claimsByClient.containsKey(client) || claimsByClient.get(client).isEmpty()) {
+        return;
+      }
 
-    if (!isNextInClaim(client, resources)) {
-      throw new IllegalArgumentException(
-          String.format("Resources to unclaim and head of claimed resource don't match: %s != %s",
-                        resources,
-                        claimsByClient.get(client).peek())
-      );
-    }
+      if (!isNextInClaim(client, resources)) {
+        throw new IllegalArgumentException(
+            String.format("Resources to unclaim and head of claimed resource don't match: %s != %s",
+                          resources,
+                          claimsByClient.get(client).peek())
+        );
+      }
 
-    claimsByClient.get(client).remove();
+      claimsByClient.get(client).remove();
+    }
   }
 
   /**
@@ -140,15 +218,17 @@ public class ReservationPool {
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    if (!claimsByClient.containsKey(client) || claimsByClient.get(client).isEmpty()) {
-      return false;
-    }
+    synchronized (claimsByClient) {
+      if (!claimsByClient.containsKey(client) || claimsByClient.get(client).isEmpty()) {
+        return false;
+      }
 
-    if (!Objects.equals(resources, claimsByClient.get(client).peek())) {
-      return false;
-    }
+      if (!Objects.equals(resources, claimsByClient.get(client).peek())) {
+        return false;
+      }
 
-    return true;
+      return true;
+    }
   }
 
   /**
@@ -161,10 +241,13 @@ public class ReservationPool {
   public Set<TCSResource<?>> allocatedResources(@Nonnull Scheduler.Client client) {
     requireNonNull(client, "client");
 
-    return reservations.entrySet().stream()
-        .filter(entry -> entry.getValue().isAllocatedBy(client))
-        .map(entry -> entry.getKey())
-        .collect(Collectors.toSet());
+    return withAllStateLocks(
+        current -> Arrays.stream(current.zones)
+            .flatMap(zone -> zone.reservations.entrySet().stream())
+            .filter(entry -> entry.getValue().isAllocatedBy(client))
+            .map(entry -> entry.getKey())
+            .collect(Collectors.toSet())
+    );
   }
 
   /**
@@ -180,15 +263,37 @@ public class ReservationPool {
     requireNonNull(resources, "resources");
     requireNonNull(client, "client");
 
-    for (TCSResource<?> curResource : resources) {
-      // Check if the resource is available.
-      ReservationEntry entry = getReservationEntry(curResource);
-      if (!entry.isFree() && !entry.isAllocatedBy(client)) {
-        LOG.debug("{}: Resource unavailable: {}", client.getId(), entry.getResource());
-        return false;
+    return withStateLocks(resources, current -> {
+      for (TCSResource<?> curResource : resources) {
+        // Check if the resource is available.
+        ReservationEntry entry = current.zoneOf(curResource).getReservationEntry(curResource);
+        if (!entry.isFree() && !entry.isAllocatedBy(client)) {
+          LOG.debug("{}: Resource unavailable: {}", client.getId(), entry.getResource());
+          return false;
+        }
       }
-    }
-    return true;
+      return true;
+    });
+  }
+
+  /**
+   * Allocates the given resources for the given client.
+   *
+   * @param client The client.
+   * @param resources The resources to be allocated.
+   * @throws IllegalStateException If any of the resources is allocated by another client.
+   */
+  public void allocate(@Nonnull Scheduler.Client client, @Nonnull Set<TCSResource<?>> resources)
+      throws IllegalStateException {
+    requireNonNull(client, "client");
+    requireNonNull(resources, "resources");
+
+    withStateLocks(resources, current -> {
+      for (TCSResource<?> curResource : resources) {
+        current.zoneOf(curResource).getReservationEntry(curResource).allocate(client);
+      }
+      return null;
+    });
   }
 
   public void free(@Nonnull Scheduler.Client client, @Nonnull Set<TCSResource<?>> resources) {
@@ -196,58 +301,78 @@ public class ReservationPool {
     requireNonNull(resources, "resources");
 
     LOG.debug("{}: Releasing resources: {}", client.getId(), resources);
-    for (TCSResource<?> curResource : getFreeableResources(resources, client)) {
-      getReservationEntry(curResource).free();
-    }
+    withStateLocks(resources, current -> {
+      for (TCSResource<?> curResource : getFreeableResources(current, resources, client)) {
+        current.zoneOf(curResource).getReservationEntry(curResource).free();
+      }
+      return null;
+    });
   }
 
   public void freeAll(@Nonnull Scheduler.Client client) {
     requireNonNull(client, "client");
 
-    reservations.values().stream()
-        .filter(reservationEntry -> reservationEntry.isAllocatedBy(client))
-        .forEach(reservationEntry -> reservationEntry.freeCompletely());
+    withAllStateLocks(current -> {
+      Arrays.stream(current.zones)
+          .flatMap(zone -> zone.reservations.values().stream())
+          .filter(reservationEntry -> reservationEntry.isAllocatedBy(client))
+          .forEach(reservationEntry -> reservationEntry.freeCompletely());
+      return null;
+    });
   }
 
   @Nonnull
   public Map<String, Set<TCSResource<?>>> getAllocations() {
-    final Map<String, Set<TCSResource<?>>> result = new HashMap<>();
-    for (Map.Entry<TCSResource<?>, ReservationEntry> curEntry : reservations.entrySet()) {
-      final TCSResource<?> curResource = curEntry.getKey();
-      final Scheduler.Client curUser = curEntry.getValue().getClient();
-      if (curUser != null) {
-        Set<TCSResource<?>> userResources = result.get(curUser.getId());
-        if (userResources == null) {
-          userResources = new HashSet<>();
+    return withAllStateLocks(current -> {
+      final Map<String, Set<TCSResource<?>>> result = new HashMap<>();
+      for (Zone zone : current.zones) {
+        for (Map.Entry<TCSResource<?>, ReservationEntry> curEntry : zone.reservations.entrySet()) {
+          final TCSResource<?> curResource = curEntry.getKey();
+          final Scheduler.Client curUser = curEntry.getValue().getClient();
+          if (curUser != null) {
+            Set<TCSResource<?>> userResources = result.get(curUser.getId());
+            if (userResources == null) {
+              userResources = new HashSet<>();
+            }
+            userResources.add(curResource);
+            result.put(curUser.getId(), userResources);
+          }
         }
-        userResources.add(curResource);
-        result.put(curUser.getId(), userResources);
       }
-    }
-    return result;
+      return result;
+    });
   }
 
   public void clear() {
-    claimsByClient.clear();
-    reservations.clear();
+    synchronized (claimsByClient) {
+      claimsByClient.clear();
+    }
+    withAllStateLocks(current -> {
+      for (Zone zone : current.zones) {
+        zone.reservations.clear();
+      }
+      return null;
+    });
   }
 
   /**
    * Returns a set of resources that is a subset of the given set of resources and is reserved/could
    * be released by the given client.
    *
+   * @param current The partitioning of the reservations.
    * @param resources The set of resources to be filtered for resources that could be released.
    * @param client The client that should be able to release the returned resources.
    * @return A set of resources that is a subset of the given set of resources and is reserved/could
    * be released by the given client.
    */
   @Nonnull
-  private Set<TCSResource<?>> getFreeableResources(@Nonnull Set<TCSResource<?>> resources,
+  private Set<TCSResource<?>> getFreeableResources(@Nonnull Partitioning current,
+                                                   @Nonnull Set<TCSResource<?>> resources,
                                                    @Nonnull Scheduler.Client client) {
     // Make sure we're freeing only resources that are allocated by us.
     final Set<TCSResource<?>> freeableResources = new HashSet<>();
     for (TCSResource<?> curRes : resources) {
-      ReservationEntry entry = getReservationEntry(curRes);
+      ReservationEntry entry = current.zoneOf(curRes).getReservationEntry(curRes);
       if (!entry.isAllocatedBy(client)) {
         LOG.warn("{}: Freed resource not reserved: {}, entry: {}", client.getId(), curRes, entry);
       }
@@ -257,4 +382,103 @@ public class ReservationPool {
     }
     return freeableResources;
   }
+
+  private <T> T withStateLocks(Collection<TCSResource<?>> resources,
+                                Function<Partitioning, T> action) {
+    Partitioning current = partitioning;
+    return withLocks(current, current.zoneIndicesOf(resources), zone -> zone.stateLock, action);
+  }
+
+  private <T> T withAllStateLocks(Function<Partitioning, T> action) {
+    Partitioning current = partitioning;
+    return withLocks(current, current.allZoneIndices(), zone -> zone.stateLock, action);
+  }
+
+  /**
+   * Executes the given action while holding the locks of the given zones, acquiring them in the
+   * order of the zones' indices to prevent deadlocks.
+   */
+  private <T> T withLocks(Partitioning current,
+                          SortedSet<Integer> zoneIndices,
+                          Function<Zone, Lock> lockSelector,
+                          Function<Partitioning, T> action) {
+    List<Lock> acquiredLocks = new ArrayList<>(zoneIndices.size());
+    try {
+      for (int zoneIndex : zoneIndices) {
+        Lock lock = lockSelector.apply(current.zones[zoneIndex]);
+        lock.lock();
+        acquiredLocks.add(lock);
+      }
+      return action.apply(current);
+    }
+    finally {
+      for (int i = acquiredLocks.size() - 1; i >= 0; i--) {
+        acquiredLocks.get(i).unlock();
+      }
+    }
+  }
+
+  /**
+   * An assignment of resources to zones and the zones' reservation states.
+   */
+  private static class Partitioning {
+
+    /**
+     * The assignment of resources to zones.
+     */
+    private final ResourceZones resourceZones;
+    /**
+     * The zones, in the order of their indices.
+     */
+    private final Zone[] zones;
+
+    Partitioning(ResourceZones resourceZones) {
+      this.resourceZones = resourceZones;
+      this.zones = new Zone[resourceZones.getZoneCount()];
+      for (int i = 0; i < zones.length; i++) {
+        zones[i] = new Zone();
+      }
+    }
+
+    Zone zoneOf(TCSResource<?> resource) {
+      return zones[resourceZones.getZoneIndex(resource.getName())];
+    }
+
+    SortedSet<Integer> zoneIndicesOf(Collection<TCSResource<?>> resources) {
+      return resources.stream()
+          .map(resource -> resourceZones.getZoneIndex(resource.getName()))
+          .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    SortedSet<Integer> allZoneIndices() {
+      return IntStream.range(0, zones.length).boxed()
+          .collect(Collectors.toCollection(TreeSet::new));
+    }
+  }
+
+  /**
+   * The reservation state of a zone.
+   */
+  private static class Zone {
+
+    /**
+     * Guards the reservation entries.
+     */
+    private final Lock stateLock = new ReentrantLock();
+    /**
+     * May be held while deciding about allocations of resources in this zone.
+     */
+    private final Lock allocationLock = new ReentrantLock();
+    /**
+     * <code>ReservationEntry</code> instances for each <code>TCSResource</code> in this zone.
+     */
+    private final Map<TCSResource<?>, ReservationEntry> reservations = new HashMap<>();
+
+    Zone() {
+    }
+
+    ReservationEntry getReservationEntry(TCSResource<?> resource) {
+      return reservations.computeIfAbsent(resource, ReservationEntry::new);
+    }
+  }
 }
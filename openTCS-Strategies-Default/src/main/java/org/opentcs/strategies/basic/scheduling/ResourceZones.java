@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import javax.annotation.Nonnull;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.model.Block;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.TCSResourceReference;
+
+/**
+ * Assigns resources to zones, each of which has its own reservation state in the
+ * {@link ReservationPool}.
+ * <p>
+ * Zones are numbered consecutively, starting with 0.
+ * Resources not assigned to any zone explicitly belong to zone 0.
+ * </p>
+ */
+public class ResourceZones {
+
+  /**
+   * Assigns all resources to a single zone.
+   */
+  public static final ResourceZones SINGLE_ZONE = new ResourceZones(new HashMap<>(), 1);
+  /**
+   * The zone indices of the resources, mapped by resource name.
+   */
+  private final Map<String, Integer> zoneIndices;
+  /**
+   * The number of zones.
+   */
+  private final int zoneCount;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param zoneIndices The zone indices of the resources, mapped by resource name.
+   * @param zoneCount The number of zones.
+   */
+  public ResourceZones(@Nonnull Map<String, Integer> zoneIndices, int zoneCount) {
+    this.zoneIndices = requireNonNull(zoneIndices, "zoneIndices");
+    this.zoneCount = zoneCount;
+  }
+
+  /**
+   * Returns the index of the zone the resource with the given name belongs to.
+   *
+   * @param resourceName The resource's name.
+   * @return The index of the zone.
+   */
+  public int getZoneIndex(@Nonnull String resourceName) {
+    return zoneIndices.getOrDefault(resourceName, 0);
+  }
+
+  /**
+   * Returns the number of zones.
+   *
+   * @return The number of zones.
+   */
+  public int getZoneCount() {
+    return zoneCount;
+  }
+
+  /**
+   * Assigns the given plant model elements to zones according to the values of a property.
+   * <p>
+   * Elements with the same property value belong to the same zone.
+   * Paths and locations without the property belong to the zone of the path's source point or the
+   * location's first linked point, respectively.
+   * Zones that have members of the same block in common are merged, so that all members of a block
+   * belong to the same zone.
+   * </p>
+   *
+   * @param points The points.
+   * @param paths The paths.
+   * @param locations The locations.
+   * @param blocks The blocks.
+   * @param propertyKey The key of the property whose value determines an element's zone.
+   * @return The resource zones.
+   */
+  @Nonnull
+  public static ResourceZones fromProperty(@Nonnull Collection<Point> points,
+                                           @Nonnull Collection<Path> paths,
+                                           @Nonnull Collection<Location> locations,
+                                           @Nonnull Collection<Block> blocks,
+                                           @Nonnull String propertyKey) {
+    requireNonNull(points, "points");
+    requireNonNull(paths, "paths");
+    requireNonNull(locations, "locations");
+    requireNonNull(blocks, "blocks");
+    requireNonNull(propertyKey, "propertyKey");
+
+    Map<String, String> labels = new HashMap<>();
+    for (Point point : points) {
+      labels.put(point.getName(), labelOf(point, propertyKey, ""));
+    }
+    for (Path path : paths) {
+      String pointLabel = labels.getOrDefault(path.getSourcePoint().getName(), "");
+      labels.put(path.getName(), labelOf(path, propertyKey, pointLabel));
+    }
+    for (Location location : locations) {
+      String pointLabel = location.getAttachedLinks().stream()
+          .map(link -> labels.getOrDefault(link.getPoint().getName(), ""))
+          .sorted()
+          .findFirst()
+          .orElse("");
+      labels.put(location.getName(), labelOf(location, propertyKey, pointLabel));
+    }
+
+    // Number the labels in their natural order, so the unlabelled elements get index 0.
+    SortedSet<String> sortedLabels = new TreeSet<>(labels.values());
+    sortedLabels.add("");
+    List<String> labelList = new ArrayList<>(sortedLabels);
+    Map<String, Integer> labelIndices = new HashMap<>();
+    for (int i = 0; i < labelList.size(); i++) {
+      labelIndices.put(labelList.get(i), i);
+    }
+
+    // Merge the zones sharing a block.
+    int[] parents = new int[labelList.size()];
+    for (int i = 0; i < parents.length; i++) {
+      parents[i] = i;
+    }
+    for (Block block : blocks) {
+      int blockRoot = -1;
+      for (TCSResourceReference<?> member : block.getMembers()) {
+        int root = findRoot(parents, labelIndices.get(labels.getOrDefault(member.getName(), "")));
+        if (blockRoot == -1) {
+          blockRoot = root;
+        }
+        else if (root != blockRoot) {
+          // Keep the smaller index as the root, so the zone of unlabelled elements stays zone 0.
+          parents[Math.max(root, blockRoot)] = Math.min(root, blockRoot);
+          blockRoot = Math.min(root, blockRoot);
+        }
+      }
+    }
+
+    // Number the remaining zones consecutively.
+    Map<Integer, Integer> zoneIndicesByRoot = new HashMap<>();
+    for (int i = 0; i < parents.length; i++) {
+      zoneIndicesByRoot.putIfAbsent(findRoot(parents, i), zoneIndicesByRoot.size());
+    }
+    Map<String, Integer> zoneIndices = new HashMap<>();
+    for (Map.Entry<String, String> entry : labels.entrySet()) {
+      int root = findRoot(parents, labelIndices.get(entry.getValue()));
+      zoneIndices.put(entry.getKey(), zoneIndicesByRoot.get(root));
+    }
+
+    return new ResourceZones(zoneIndices, zoneIndicesByRoot.size());
+  }
+
+  private static String labelOf(TCSObject<?> object, String propertyKey, String defaultLabel) {
+    String value = object.getProperty(propertyKey);
+    return value == null || value.isBlank() ? defaultLabel : value.trim();
+  }
+
+  private static int findRoot(int[] parents, int index) {
+    while (parents[index] != index) {
+      parents[index] = parents[parents[index]];
+      index = parents[index];
+    }
+    return index;
+  }
+}
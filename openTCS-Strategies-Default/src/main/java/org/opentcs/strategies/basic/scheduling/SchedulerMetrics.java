@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling;
+
+import static java.util.Objects.requireNonNull;
+import java.util.Queue;
+import javax.annotation.Nonnull;
+import org.opentcs.util.metrics.Counter;
+import org.opentcs.util.metrics.MetricRegistry;
+import org.opentcs.util.metrics.Timer;
+
+/**
+ * The meters collecting metrics about resource allocations.
+ */
+class SchedulerMetrics {
+
+  /**
+   * Measures the time between the request of an allocation and the allocation being granted.
+   */
+  private final Timer allocationWaitTimer;
+  /**
+   * Counts the allocations that were deferred because they couldn't be granted immediately.
+   */
+  private final Counter deferredAllocationsCounter;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param metricRegistry The registry to register meters with.
+   * @param deferredAllocations The queue of deferred allocations.
+   */
+  SchedulerMetrics(@Nonnull MetricRegistry metricRegistry,
+                   @Nonnull Queue<AllocatorCommand.Allocate> deferredAllocations) {
+    requireNonNull(metricRegistry, "metricRegistry");
+    requireNonNull(deferredAllocations, "deferredAllocations");
+
+    this.allocationWaitTimer = metricRegistry.timer("scheduler.allocation.wait");
+    this.deferredAllocationsCounter = metricRegistry.counter("scheduler.allocations.deferred");
+    metricRegistry.gauge("scheduler.allocations.deferred.pending", deferredAllocations::size);
+  }
+
+  /**
+   * Records that the given allocation was granted.
+   *
+   * @param allocate The allocation.
+   */
+  void allocationGranted(@Nonnull AllocatorCommand.Allocate allocate) {
+    allocationWaitTimer.record(System.nanoTime() - allocate.getCreationTime());
+  }
+
+  /**
+   * Records that an allocation was deferred.
+   */
+  void allocationDeferred() {
+    deferredAllocationsCounter.increment();
+  }
+}
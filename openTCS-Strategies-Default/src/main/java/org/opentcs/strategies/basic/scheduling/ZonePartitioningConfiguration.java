@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling;
+
+import org.opentcs.configuration.ConfigurationEntry;
+import org.opentcs.configuration.ConfigurationPrefix;
+
+/**
+ * Provides methods to configure the partitioning of resources into zones.
+ */
+@ConfigurationPrefix(ZonePartitioningConfiguration.PREFIX)
+public interface ZonePartitioningConfiguration {
+
+  /**
+   * This configuration's prefix.
+   */
+  String PREFIX = "defaultscheduler.partitioning";
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to partition resources into zones, each having its own reservation state and lock, "
+        + "and to decide about allocations of resources in different zones in parallel.",
+        "Points, paths and locations are assigned to zones according to the value of the property "
+        + "with the configured key. Paths and locations without this property belong to the zone "
+        + "of their (first) point. Zones sharing members of a block are merged."},
+      orderKey = "0_enable")
+  boolean enable();
+
+  @ConfigurationEntry(
+      type = "String",
+      description = "The key of the property whose value determines the zone of a point, path or "
+          + "location.",
+      orderKey = "1_zones")
+  String zonePropertyKey();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = "The number of threads deciding about allocations in parallel. If 0, the number "
+          + "of available processors is used.",
+      orderKey = "2_threads")
+  int allocationThreads();
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling.modules;
+
+import org.opentcs.configuration.ConfigurationEntry;
+import org.opentcs.configuration.ConfigurationPrefix;
+
+/**
+ * Provides methods to configure the detection and resolution of deadlocks.
+ */
+@ConfigurationPrefix(DeadlockDetectionConfiguration.PREFIX)
+public interface DeadlockDetectionConfiguration {
+
+  /**
+   * This configuration's prefix.
+   */
+  String PREFIX = "defaultscheduler.deadlockdetection";
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to resolve detected deadlocks by rerouting one of the vehicles involved.",
+        "The vehicle is rerouted from its current position, releasing all other resources it has "
+        + "allocated, so that the other vehicles involved may proceed.",
+        "If disabled, deadlocks are only reported."},
+      orderKey = "0_resolve")
+  boolean resolveDeadlocks();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = "The time (in ms) to wait for a deadlock to be resolved before trying to "
+          + "resolve it again.",
+      orderKey = "1_retry")
+  long resolutionRetryInterval();
+}
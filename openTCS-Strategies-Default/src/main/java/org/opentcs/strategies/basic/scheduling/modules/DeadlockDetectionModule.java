@@ -0,0 +1,478 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling.modules;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import org.opentcs.components.kernel.Scheduler;
+import org.opentcs.components.kernel.services.DispatcherService;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.data.model.TCSResource;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.ReroutingType;
+import org.opentcs.strategies.basic.routing.AvoidedResources;
+import org.opentcs.strategies.basic.scheduling.ReservationPool;
+import org.opentcs.util.metrics.Counter;
+import org.opentcs.util.metrics.MetricRegistry;
+import org.opentcs.util.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Detects and resolves deadlocks, i.e. vehicles mutually waiting for resources allocated by each
+ * other.
+ * <p>
+ * This module maintains a wait-for graph with an edge from every client with a deferred allocation
+ * to the clients currently holding any of the requested resources.
+ * Whenever an allocation is deferred and the requesting client's edges have changed, the graph is
+ * searched for a cycle through the requesting client.
+ * If the resolution of deadlocks is enabled, one of the clients' vehicles is then forcibly
+ * rerouted from its current position, releasing all other resources it has allocated.
+ * The rerouted vehicle avoids the resources it has been waiting for, if possible.
+ * Every further attempt to resolve the same deadlock reroutes the next vehicle in the cycle.
+ * </p>
+ * <p>
+ * Note that this module only considers resources allocated by other clients, i.e. it does not
+ * detect deadlocks caused by other modules refusing allocations.
+ * It also assumes that a client's {@link Scheduler.Client#getId()} returns the name of a vehicle.
+ * </p>
+ */
+public class DeadlockDetectionModule
+    implements Scheduler.Module {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(DeadlockDetectionModule.class);
+  /**
+   * The reservation pool.
+   */
+  private final ReservationPool reservationPool;
+  /**
+   * The object service.
+   */
+  private final TCSObjectService objectService;
+  /**
+   * Provides the dispatcher service used for rerouting vehicles.
+   */
+  private final Provider<DispatcherService> dispatcherServiceProvider;
+  /**
+   * The resources routes computed for vehicles are to avoid.
+   */
+  private final AvoidedResources avoidedResources;
+  /**
+   * A global object to be used for synchronization within the kernel.
+   */
+  private final Object globalSyncObject;
+  /**
+   * This module's configuration.
+   */
+  private final DeadlockDetectionConfiguration configuration;
+  /**
+   * Counts the detected deadlocks.
+   */
+  private final Counter detectedDeadlocksCounter;
+  /**
+   * Counts the searches for cycles in the wait-for graph.
+   */
+  private final Counter searchesCounter;
+  /**
+   * Measures the time between the detection of a deadlock and its resolution.
+   */
+  private final Timer resolutionTimer;
+  /**
+   * The resources requested by clients with deferred allocations, mapped by client.
+   */
+  private final Map<Scheduler.Client, Set<TCSResource<?>>> waitingClients = new HashMap<>();
+  /**
+   * The clients holding any of the resources requested by clients with deferred allocations, as
+   * of the clients' latest deferred allocations, mapped by client.
+   */
+  private final Map<Scheduler.Client, Set<Scheduler.Client>> holdingClients = new HashMap<>();
+  /**
+   * The detected deadlocks that have not been resolved, yet.
+   */
+  private final List<Deadlock> deadlocks = new ArrayList<>();
+  /**
+   * Whether this module is initialized.
+   */
+  private boolean initialized;
+
+  @Inject
+  public DeadlockDetectionModule(@Nonnull ReservationPool reservationPool,
+                                 @Nonnull TCSObjectService objectService,
+                                 @Nonnull Provider<DispatcherService> dispatcherServiceProvider,
+                                 @Nonnull AvoidedResources avoidedResources,
+                                 @Nonnull @GlobalSyncObject Object globalSyncObject,
+                                 @Nonnull DeadlockDetectionConfiguration configuration,
+                                 @Nonnull MetricRegistry metricRegistry) {
+    this.reservationPool = requireNonNull(reservationPool, "reservationPool");
+    this.objectService = requireNonNull(objectService, "objectService");
+    this.dispatcherServiceProvider = requireNonNull(dispatcherServiceProvider,
+                                                    "dispatcherServiceProvider");
+    this.avoidedResources = requireNonNull(avoidedResources, "avoidedResources");
+    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.configuration = requireNonNull(configuration, "configuration");
+    requireNonNull(metricRegistry, "metricRegistry");
+
+    this.detectedDeadlocksCounter = metricRegistry.counter("scheduler.deadlocks.detected");
+    this.searchesCounter = metricRegistry.counter("scheduler.deadlocks.searches");
+    this.resolutionTimer = metricRegistry.timer("scheduler.deadlocks.resolution");
+  }
+
+  @Override
+  public void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+
+    initialized = true;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    synchronized (globalSyncObject) {
+      for (Deadlock deadlock : deadlocks) {
+        clearAvoidedResources(deadlock);
+      }
+      waitingClients.clear();
+      holdingClients.clear();
+      deadlocks.clear();
+    }
+
+    initialized = false;
+  }
+
+  @Override
+  public void setAllocationState(Scheduler.Client client,
+                                 Set<TCSResource<?>> alloc,
+                                 List<Set<TCSResource<?>>> remainingClaim) {
+    requireNonNull(client, "client");
+    requireNonNull(alloc, "alloc");
+    requireNonNull(remainingClaim, "remainingClaim");
+
+    synchronized (globalSyncObject) {
+      Set<TCSResource<?>> requestedResources = waitingClients.get(client);
+      if (requestedResources == null) {
+        return;
+      }
+
+      // The client stops waiting once it has been granted the requested resources or does not
+      // claim them as the next resources any more.
+      if (alloc.containsAll(requestedResources)
+          || remainingClaim.isEmpty()
+          || !remainingClaim.get(0).equals(requestedResources)) {
+        waitingClients.remove(client);
+        holdingClients.remove(client);
+        removeResolvedDeadlocks();
+      }
+    }
+  }
+
+  @Override
+  public boolean mayAllocate(Scheduler.Client client, Set<TCSResource<?>> resources) {
+    return true;
+  }
+
+  @Override
+  public void prepareAllocation(Scheduler.Client client, Set<TCSResource<?>> resources) {
+  }
+
+  @Override
+  public boolean hasPreparedAllocation(Scheduler.Client client, Set<TCSResource<?>> resources) {
+    return true;
+  }
+
+  @Override
+  public void allocationReleased(Scheduler.Client client, Set<TCSResource<?>> resources) {
+  }
+
+  @Override
+  public void allocationDeferred(Scheduler.Client client, Set<TCSResource<?>> resources) {
+    requireNonNull(client, "client");
+    requireNonNull(resources, "resources");
+
+    Scheduler.Client victim;
+    Set<TCSResource<?>> victimResources;
+    synchronized (globalSyncObject) {
+      // The wait-for graph changes only if the client's requested resources or their holders
+      // change. Otherwise, any cycle through the client has already been detected.
+      Set<Scheduler.Client> holders = holdingClients(client, resources);
+      boolean requestChanged = !resources.equals(waitingClients.put(client, resources));
+      boolean holdersChanged = !holders.equals(holdingClients.put(client, holders));
+      if (requestChanged || holdersChanged) {
+        searchesCounter.increment();
+        List<Scheduler.Client> cycle = findCycle(client);
+        if (!cycle.isEmpty() && isCurrent(cycle)) {
+          registerDeadlock(cycle);
+        }
+      }
+
+      Deadlock deadlockToResolve = deadlockToResolve(client);
+      if (deadlockToResolve == null) {
+        return;
+      }
+      deadlockToResolve.lastResolutionAttempt = System.currentTimeMillis();
+      victim = deadlockToResolve.nextVictim();
+      victimResources = waitingClients.get(victim);
+    }
+
+    // Reroute the vehicle outside of the synchronized block, as this interacts with other kernel
+    // components.
+    resolve(victim, victimResources);
+  }
+
+  /**
+   * Returns the clients that hold any of the given resources requested by the given client.
+   *
+   * @param client The client.
+   * @param resources The requested resources.
+   * @return The clients holding the resources.
+   */
+  private Set<Scheduler.Client> holdingClients(Scheduler.Client client,
+                                               Set<TCSResource<?>> resources) {
+    return resources.stream()
+        .map(resource -> reservationPool.getReservationEntry(resource).getClient())
+        .filter(holder -> holder != null && !holder.equals(client))
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  /**
+   * Returns the clients that hold any of the resources requested by the given client and are
+   * themselves waiting for resources.
+   *
+   * @param client The client.
+   * @return The clients blocking the given one.
+   */
+  private Set<Scheduler.Client> blockingClients(Scheduler.Client client) {
+    return holdingClients.getOrDefault(client, Set.of()).stream()
+        .filter(holder -> waitingClients.containsKey(holder))
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  /**
+   * Searches the wait-for graph for a cycle through the given client.
+   *
+   * @param client The client.
+   * @return The clients forming the cycle, starting with the given one, or an empty list, if there
+   * is no such cycle.
+   */
+  private List<Scheduler.Client> findCycle(Scheduler.Client client) {
+    List<Scheduler.Client> path = new ArrayList<>();
+    if (findPathBackTo(client, client, new HashSet<>(), path)) {
+      return path;
+    }
+    return new ArrayList<>();
+  }
+
+  private boolean findPathBackTo(Scheduler.Client target,
+                                 Scheduler.Client current,
+                                 Set<Scheduler.Client> visited,
+                                 List<Scheduler.Client> path) {
+    path.add(current);
+    for (Scheduler.Client holder : blockingClients(current)) {
+      if (holder.equals(target)) {
+        return true;
+      }
+      if (visited.add(holder) && findPathBackTo(target, holder, visited, path)) {
+        return true;
+      }
+    }
+    path.remove(path.size() - 1);
+    return false;
+  }
+
+  /**
+   * Checks whether every client in the given cycle is still waiting for resources held by the next
+   * one, as the holders may have changed since the clients' allocations were deferred.
+   *
+   * @param cycle The clients forming the cycle.
+   * @return <code>true</code> if, and only if, the cycle still exists.
+   */
+  private boolean isCurrent(List<Scheduler.Client> cycle) {
+    for (int i = 0; i < cycle.size(); i++) {
+      Scheduler.Client client = cycle.get(i);
+      Scheduler.Client next = cycle.get((i + 1) % cycle.size());
+      if (!holdingClients(client, waitingClients.get(client)).contains(next)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Registers the deadlock formed by the given cycle, unless it is already known.
+   *
+   * @param cycle The clients forming the cycle.
+   */
+  private void registerDeadlock(List<Scheduler.Client> cycle) {
+    Set<Scheduler.Client> members = new HashSet<>(cycle);
+    for (Deadlock deadlock : deadlocks) {
+      if (deadlock.members.equals(members)) {
+        return;
+      }
+    }
+
+    LOG.warn("Detected deadlock: {}", idsOf(cycle));
+    detectedDeadlocksCounter.increment();
+    deadlocks.add(new Deadlock(cycle));
+  }
+
+  /**
+   * Returns a deadlock involving the given client that should be resolved now, i.e. one that has
+   * not been attempted to be resolved, yet, or not within the configured retry interval.
+   *
+   * @param client The client.
+   * @return The deadlock, or <code>null</code>, if there is none to be resolved now.
+   */
+  private Deadlock deadlockToResolve(Scheduler.Client client) {
+    if (!configuration.resolveDeadlocks()) {
+      return null;
+    }
+
+    for (Deadlock deadlock : deadlocks) {
+      if (!deadlock.members.contains(client)) {
+        continue;
+      }
+      if (deadlock.resolutionAttempts == 0) {
+        return deadlock;
+      }
+      if (System.currentTimeMillis() - deadlock.lastResolutionAttempt
+          >= configuration.resolutionRetryInterval()) {
+        LOG.info("Deadlock still not resolved, retrying: {}", idsOf(deadlock.cycle));
+        return deadlock;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Removes the deadlocks that have been resolved, i.e. of which at least one client is not
+   * waiting any more.
+   */
+  private void removeResolvedDeadlocks() {
+    for (Iterator<Deadlock> iter = deadlocks.iterator(); iter.hasNext();) {
+      Deadlock deadlock = iter.next();
+      if (!waitingClients.keySet().containsAll(deadlock.members)) {
+        LOG.info("Deadlock resolved: {}", idsOf(deadlock.members));
+        resolutionTimer.record(System.nanoTime() - deadlock.detectionTime);
+        clearAvoidedResources(deadlock);
+        iter.remove();
+      }
+    }
+  }
+
+  /**
+   * Reroutes the given client's vehicle, avoiding the given resources it has been waiting for.
+   *
+   * @param client The client.
+   * @param requestedResources The resources requested by the client.
+   */
+  private void resolve(Scheduler.Client client, Set<TCSResource<?>> requestedResources) {
+    Vehicle vehicle = objectService.fetchObject(Vehicle.class, client.getId());
+    if (vehicle == null) {
+      LOG.warn("Client '{}' is not a vehicle, cannot resolve deadlock.", client.getId());
+      return;
+    }
+
+    LOG.info("Resolving deadlock by rerouting vehicle '{}' around {}...",
+             vehicle.getName(),
+             requestedResources);
+    // Without avoiding the resources, the vehicle would most likely be rerouted along the same
+    // route, i.e. via the resources it has been waiting for.
+    avoidedResources.setAvoidedResources(
+        vehicle.getName(),
+        requestedResources.stream().map(TCSResource::getName).collect(Collectors.toSet())
+    );
+    dispatcherServiceProvider.get().reroute(vehicle.getReference(), ReroutingType.FORCED);
+  }
+
+  private void clearAvoidedResources(Deadlock deadlock) {
+    for (Scheduler.Client client : deadlock.rerouted) {
+      avoidedResources.clearAvoidedResources(client.getId());
+    }
+  }
+
+  private List<String> idsOf(Collection<Scheduler.Client> clients) {
+    return clients.stream()
+        .map(Scheduler.Client::getId)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * A detected deadlock.
+   */
+  private static class Deadlock {
+
+    /**
+     * The clients forming the cycle, each one waiting for the next one and the last one waiting
+     * for the first one.
+     */
+    private final List<Scheduler.Client> cycle;
+    /**
+     * The clients involved.
+     */
+    private final Set<Scheduler.Client> members;
+    /**
+     * The clients whose vehicles have been rerouted to resolve the deadlock.
+     */
+    private final Set<Scheduler.Client> rerouted = new HashSet<>();
+    /**
+     * The time (in ns) at which the deadlock was detected.
+     */
+    private final long detectionTime = System.nanoTime();
+    /**
+     * The time (in ms) of the last attempt to resolve the deadlock.
+     */
+    private long lastResolutionAttempt;
+    /**
+     * The number of attempts to resolve the deadlock.
+     */
+    private int resolutionAttempts;
+
+    Deadlock(List<Scheduler.Client> cycle) {
+      this.cycle = List.copyOf(cycle);
+      this.members = new HashSet<>(cycle);
+    }
+
+    /**
+     * Returns the client whose vehicle is to be rerouted next, starting with the client that
+     * closed the cycle and proceeding along the cycle with every attempt.
+     *
+     * @return The client whose vehicle is to be rerouted next.
+     */
+    Scheduler.Client nextVictim() {
+      Scheduler.Client victim = cycle.get(resolutionAttempts % cycle.size());
+      resolutionAttempts++;
+      rerouted.add(victim);
+      return victim;
+    }
+  }
+}
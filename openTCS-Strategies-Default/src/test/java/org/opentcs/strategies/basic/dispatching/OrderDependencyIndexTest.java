@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.dispatching;
+
+import java.util.List;
+import java.util.Set;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.util.event.SimpleEventBus;
+
+/**
+ * Tests for {@link OrderDependencyIndex}.
+ */
+public class OrderDependencyIndexTest {
+
+  private SimpleEventBus eventBus;
+
+  private TCSObjectService objectService;
+
+  private OrderDependencyIndex index;
+
+  @BeforeEach
+  public void setUp() {
+    eventBus = new SimpleEventBus();
+    objectService = mock(TCSObjectService.class);
+    when(objectService.fetchObjects(eq(TransportOrder.class), any())).thenReturn(Set.of());
+
+    index = new OrderDependencyIndex(eventBus, objectService);
+    index.initialize();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    index.terminate();
+  }
+
+  @Test
+  public void checkOrdersBecomingActive() {
+    TransportOrder order = createOrder("order-1");
+    modified(order.withState(TransportOrder.State.ACTIVE), order);
+
+    assertThat(index.pollOrdersToCheck(), contains(order.getReference()));
+    assertThat(index.pollOrdersToCheck(), is(empty()));
+  }
+
+  @Test
+  public void checkDependentsOfFinishedOrder() {
+    TransportOrder dependency = createOrder("order-1");
+    TransportOrder unrelated = createOrder("order-2");
+    TransportOrder dependent = createOrder("order-3")
+        .withDependencies(Set.of(dependency.getReference()));
+    modified(dependent.withState(TransportOrder.State.ACTIVE), dependent);
+    modified(unrelated.withState(TransportOrder.State.ACTIVE), unrelated);
+    index.pollOrdersToCheck();
+
+    modified(dependency.withState(TransportOrder.State.FINISHED),
+             dependency.withState(TransportOrder.State.BEING_PROCESSED));
+
+    assertThat(index.pollOrdersToCheck(), contains(dependent.getReference()));
+  }
+
+  @Test
+  public void checkDependentsOfRemovedOrder() {
+    TransportOrder dependency = createOrder("order-1");
+    TransportOrder dependent = createOrder("order-2")
+        .withDependencies(Set.of(dependency.getReference()));
+    modified(dependent.withState(TransportOrder.State.ACTIVE), dependent);
+    index.pollOrdersToCheck();
+
+    eventBus.onEvent(new TCSObjectEvent(null, dependency, TCSObjectEvent.Type.OBJECT_REMOVED));
+
+    assertThat(index.pollOrdersToCheck(), contains(dependent.getReference()));
+  }
+
+  @Test
+  public void ignoreDependentsNoLongerActive() {
+    TransportOrder dependency = createOrder("order-1");
+    TransportOrder dependent = createOrder("order-2")
+        .withDependencies(Set.of(dependency.getReference()))
+        .withState(TransportOrder.State.ACTIVE);
+    modified(dependent, dependent.withState(TransportOrder.State.RAW));
+    modified(dependent.withState(TransportOrder.State.FAILED), dependent);
+    index.pollOrdersToCheck();
+
+    modified(dependency.withState(TransportOrder.State.FINISHED), dependency);
+
+    assertThat(index.pollOrdersToCheck(), is(empty()));
+  }
+
+  @Test
+  public void checkNextUnfinishedOrderOfSequence() {
+    TransportOrder order1 = createOrder("order-1");
+    TransportOrder order2 = createOrder("order-2");
+    OrderSequence sequence = new OrderSequence("sequence-1")
+        .withOrder(order1.getReference())
+        .withOrder(order2.getReference());
+
+    modified(sequence.withFinishedIndex(0), sequence);
+
+    assertThat(index.pollOrdersToCheck(), contains(order2.getReference()));
+  }
+
+  @Test
+  public void checkActiveOrdersOnInitialization() {
+    index.terminate();
+    TransportOrder order = createOrder("order-1").withState(TransportOrder.State.ACTIVE);
+    when(objectService.fetchObjects(eq(TransportOrder.class), any())).thenReturn(Set.of(order));
+
+    index.initialize();
+
+    assertThat(index.pollOrdersToCheck(), contains(order.getReference()));
+  }
+
+  private TransportOrder createOrder(String name) {
+    Point point = new Point("some-point");
+    return new TransportOrder(name,
+                              List.of(new DriveOrder(new DriveOrder.Destination(
+                                  point.getReference()))));
+  }
+
+  private void modified(TCSObject<?> currentState, TCSObject<?> previousState) {
+    eventBus.onEvent(new TCSObjectEvent(currentState,
+                                        previousState,
+                                        TCSObjectEvent.Type.OBJECT_MODIFIED));
+  }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.dispatching.phase.assignment;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.Router;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.Route;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.strategies.basic.dispatching.DefaultDispatcherConfiguration;
+import org.opentcs.strategies.basic.dispatching.OrderReservationPool;
+import org.opentcs.strategies.basic.dispatching.TransportOrderUtil;
+import org.opentcs.strategies.basic.dispatching.priorization.CompositeOrderCandidateComparator;
+import org.opentcs.strategies.basic.dispatching.priorization.CompositeOrderComparator;
+import org.opentcs.strategies.basic.dispatching.priorization.CompositeVehicleCandidateComparator;
+import org.opentcs.strategies.basic.dispatching.priorization.CompositeVehicleComparator;
+import org.opentcs.strategies.basic.dispatching.selection.candidates.CompositeAssignmentCandidateSelectionFilter;
+import org.opentcs.strategies.basic.dispatching.selection.orders.CompositeTransportOrderSelectionFilter;
+import org.opentcs.strategies.basic.dispatching.selection.orders.IsFreelyDispatchableToAnyVehicle;
+import org.opentcs.strategies.basic.dispatching.selection.vehicles.CompositeVehicleSelectionFilter;
+import org.opentcs.strategies.basic.dispatching.selection.vehicles.IsAvailableForAnyOrder;
+import org.opentcs.util.metrics.MetricRegistry;
+
+/**
+ * Unit tests for {@link AssignFreeOrdersPhase}.
+ */
+public class AssignFreeOrdersPhaseTest {
+
+  private TCSObjectService objectService;
+
+  private Router router;
+
+  private TransportOrderUtil transportOrderUtil;
+
+  private DefaultDispatcherConfiguration configuration;
+
+  private MetricRegistry metricRegistry;
+
+  private AssignFreeOrdersPhase phase;
+
+  private Point position;
+
+  private Vehicle routableVehicle;
+
+  private Vehicle unroutableVehicle;
+
+  private TransportOrder order;
+
+  private List<DriveOrder> driveOrders;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    objectService = mock(TCSObjectService.class);
+    router = mock(Router.class);
+    transportOrderUtil = mock(TransportOrderUtil.class);
+    configuration = mock(DefaultDispatcherConfiguration.class);
+    when(configuration.candidateComputationThreads()).thenReturn(1);
+    metricRegistry = new MetricRegistry(true);
+    phase = new AssignFreeOrdersPhase(objectService,
+                                      router,
+                                      mock(OrderReservationPool.class),
+                                      mock(CompositeVehicleComparator.class),
+                                      mock(CompositeOrderComparator.class),
+                                      mock(CompositeOrderCandidateComparator.class),
+                                      mock(CompositeVehicleCandidateComparator.class),
+                                      mock(CompositeVehicleSelectionFilter.class),
+                                      mock(IsAvailableForAnyOrder.class),
+                                      mock(IsFreelyDispatchableToAnyVehicle.class),
+                                      mock(CompositeTransportOrderSelectionFilter.class),
+                                      mock(CompositeAssignmentCandidateSelectionFilter.class),
+                                      transportOrderUtil,
+                                      configuration,
+                                      metricRegistry);
+
+    position = new Point("position");
+    routableVehicle = new Vehicle("routable").withCurrentPosition(position.getReference());
+    unroutableVehicle = new Vehicle("unroutable").withCurrentPosition(position.getReference());
+    Point destination = new Point("destination");
+    order = new TransportOrder(
+        "order",
+        List.of(new DriveOrder(new DriveOrder.Destination(destination.getReference())))
+    );
+    driveOrders = List.of(
+        order.getAllDriveOrders().get(0)
+            .withRoute(new Route(List.of(new Route.Step(null,
+                                                        null,
+                                                        destination,
+                                                        Vehicle.Orientation.FORWARD,
+                                                        0)),
+                                 10))
+    );
+
+    when(objectService.fetchObjects(eq(Vehicle.class), any(Predicate.class)))
+        .thenReturn(Set.of(routableVehicle, unroutableVehicle));
+    when(objectService.fetchObjects(eq(TransportOrder.class), any(Predicate.class)))
+        .thenReturn(Set.of(order));
+    when(objectService.fetchObject(Point.class, position.getReference())).thenReturn(position);
+    when(router.getRoute(routableVehicle, position, order)).thenReturn(Optional.of(driveOrders));
+    when(router.getRoute(unroutableVehicle, position, order)).thenReturn(Optional.empty());
+  }
+
+  @Test
+  public void countComputedAndUnroutableCandidates() {
+    phase.initialize();
+    phase.run();
+
+    verify(transportOrderUtil).assignTransportOrder(routableVehicle, order, driveOrders);
+    assertThat(candidateCount("computed"), is(1L));
+    assertThat(candidateCount("unroutable"), is(1L));
+    assertThat(candidateCount("pruned"), is(0L));
+  }
+
+  @Test
+  public void computeAllCandidatesWhenPruningWithOtherRouters() {
+    when(configuration.pruneCandidates()).thenReturn(true);
+
+    phase.initialize();
+    phase.run();
+
+    verify(transportOrderUtil).assignTransportOrder(routableVehicle, order, driveOrders);
+    assertThat(candidateCount("computed"), is(1L));
+    assertThat(candidateCount("unroutable"), is(1L));
+    assertThat(candidateCount("pruned"), is(0L));
+  }
+
+  private long candidateCount(String result) {
+    return metricRegistry.counter("dispatcher.candidates", "result", result).getCount();
+  }
+}
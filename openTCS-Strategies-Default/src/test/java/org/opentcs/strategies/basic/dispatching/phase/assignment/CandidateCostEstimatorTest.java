@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.dispatching.phase.assignment;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.strategies.basic.dispatching.AssignmentCandidate;
+import org.opentcs.strategies.basic.routing.DefaultRouter;
+
+/**
+ * Unit tests for {@link CandidateCostEstimator}.
+ */
+public class CandidateCostEstimatorTest {
+
+  private DefaultRouter router;
+
+  private CandidateCostEstimator estimator;
+
+  private Vehicle vehicle;
+
+  private Point vehiclePosition;
+
+  private Point accessPoint1;
+
+  private Point accessPoint2;
+
+  private Location location;
+
+  @BeforeEach
+  public void setUp() {
+    router = mock(DefaultRouter.class);
+    estimator = new CandidateCostEstimator(router);
+
+    vehiclePosition = new Point("position");
+    vehicle = new Vehicle("vehicle").withCurrentPosition(vehiclePosition.getReference());
+    accessPoint1 = new Point("access-1");
+    accessPoint2 = new Point("access-2");
+    location = new Location("location", new LocationType("type").getReference());
+    when(router.getDestinationPoints(any(DriveOrder.class)))
+        .thenReturn(Set.of(accessPoint1, accessPoint2));
+    when(router.getCosts(vehicle, vehiclePosition, accessPoint1)).thenReturn(30L);
+    when(router.getCosts(vehicle, vehiclePosition, accessPoint2)).thenReturn(20L);
+  }
+
+  @Test
+  public void estimateCostsForReachingCheapestFirstDestinationPoint() {
+    Optional<AssignmentCandidate> estimate
+        = estimator.estimateCandidate(vehicle, vehiclePosition, createOrder("order"));
+
+    assertThat(estimate.isPresent(), is(true));
+    assertThat(estimate.get().getInitialRoutingCosts(), is(20L));
+    assertThat(estimate.get().getCompleteRoutingCosts(), is(20L));
+  }
+
+  @Test
+  public void estimateNoCandidateIfFirstDestinationIsUnreachable() {
+    when(router.getCosts(vehicle, vehiclePosition, accessPoint1)).thenReturn(Long.MAX_VALUE);
+    when(router.getCosts(vehicle, vehiclePosition, accessPoint2)).thenReturn(Long.MAX_VALUE);
+
+    Optional<AssignmentCandidate> estimate
+        = estimator.estimateCandidate(vehicle, vehiclePosition, createOrder("order"));
+
+    assertThat(estimate.isPresent(), is(false));
+  }
+
+  @Test
+  public void reuseCostsForOrdersWithSameDestinations() {
+    estimator.estimateCandidate(vehicle, vehiclePosition, createOrder("order-1"));
+    estimator.estimateCandidate(vehicle, vehiclePosition, createOrder("order-2"));
+
+    verify(router, times(2)).getCosts(any(Vehicle.class), any(Point.class), any(Point.class));
+  }
+
+  private TransportOrder createOrder(String name) {
+    return new TransportOrder(
+        name,
+        List.of(new DriveOrder(new DriveOrder.Destination(location.getReference())
+            .withOperation("load")))
+    );
+  }
+}
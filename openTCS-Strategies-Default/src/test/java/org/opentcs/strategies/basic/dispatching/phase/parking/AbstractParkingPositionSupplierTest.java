@@ -27,6 +27,8 @@ import org.opentcs.data.model.Path;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.TCSResource;
 import org.opentcs.data.model.Vehicle;
+import org.opentcs.strategies.basic.routing.DestinationPointCache;
+import org.opentcs.util.event.EventSource;
 
 /**
  * Tests for {@link AbstractParkingPositionSupplier}.
@@ -129,7 +131,9 @@ public class AbstractParkingPositionSupplierTest {
 
     public AbstractParkingPositionSupplierImpl(InternalPlantModelService plantModelService,
                                                Router router) {
-      super(plantModelService, router);
+      super(plantModelService,
+            router,
+            new DestinationPointCache(mock(EventSource.class), plantModelService));
     }
 
     @Override
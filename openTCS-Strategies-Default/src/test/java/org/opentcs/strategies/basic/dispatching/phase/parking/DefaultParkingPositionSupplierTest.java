@@ -28,6 +28,8 @@ import org.opentcs.components.kernel.services.InternalPlantModelService;
 import org.opentcs.data.model.Block;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
+import org.opentcs.strategies.basic.routing.DestinationPointCache;
+import org.opentcs.util.event.EventSource;
 
 /**
  *
@@ -45,7 +47,10 @@ public class DefaultParkingPositionSupplierTest {
     plantModelService = mock(InternalPlantModelService.class);
     router = mock(Router.class);
     vehicle = new Vehicle("vehicle");
-    supplier = new DefaultParkingPositionSupplier(plantModelService, router);
+    supplier = new DefaultParkingPositionSupplier(plantModelService,
+                                                  router,
+                                                  new DestinationPointCache(mock(EventSource.class),
+                                                                            plantModelService));
   }
 
   @AfterEach
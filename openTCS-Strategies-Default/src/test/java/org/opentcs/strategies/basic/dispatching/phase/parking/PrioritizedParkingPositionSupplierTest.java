@@ -25,6 +25,8 @@ import org.opentcs.components.kernel.Router;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
+import org.opentcs.strategies.basic.routing.DestinationPointCache;
+import org.opentcs.util.event.EventSource;
 
 /**
  * Tests for {@link PrioritizedParkingPositionSupplier}.
@@ -43,7 +45,12 @@ public class PrioritizedParkingPositionSupplierTest {
     plantModelService = mock(InternalPlantModelService.class);
     router = mock(Router.class);
     priorityFunction = new ParkingPositionToPriorityFunction();
-    supplier = new PrioritizedParkingPositionSupplier(plantModelService, router, priorityFunction);
+    supplier = new PrioritizedParkingPositionSupplier(plantModelService,
+                                                      router,
+                                                      priorityFunction,
+                                                      new DestinationPointCache(
+                                                          mock(EventSource.class),
+                                                          plantModelService));
   }
 
   @Test
@@ -29,6 +29,8 @@ import org.opentcs.data.model.LocationType;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.DriveOrder.Destination;
+import org.opentcs.strategies.basic.routing.DestinationPointCache;
+import org.opentcs.util.event.EventSource;
 
 /**
  * Tests for {@link DefaultRechargePositionSupplier}.
@@ -54,7 +56,11 @@ public class DefaultRechargePositionSupplierTest {
   public void setUp() {
     plantModelService = mock(InternalPlantModelService.class);
     router = mock(Router.class);
-    rechargePosSupplier = new DefaultRechargePositionSupplier(plantModelService, router);
+    rechargePosSupplier
+        = new DefaultRechargePositionSupplier(plantModelService,
+                                              router,
+                                              new DestinationPointCache(mock(EventSource.class),
+                                                                        plantModelService));
   }
 
   @AfterEach
@@ -85,6 +91,8 @@ public class DefaultRechargePositionSupplierTest {
 
     when(plantModelService.fetchObjects(Location.class))
         .thenReturn(Collections.singleton(location));
+    when(plantModelService.fetchObject(Location.class, location.getName()))
+        .thenReturn(location);
     when(plantModelService.fetchObject(LocationType.class, rechargeLocType.getReference()))
         .thenReturn(rechargeLocType);
     when(plantModelService.fetchObject(Point.class, currentVehiclePoint.getReference()))
@@ -7,25 +7,59 @@
  */
 package org.opentcs.strategies.basic.routing;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.invocation.InvocationOnMock;
 import org.opentcs.components.kernel.Router;
+import org.opentcs.components.kernel.routing.Edge;
 import org.opentcs.components.kernel.routing.GroupMapper;
 import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Path;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.Route;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.strategies.basic.routing.edgeevaluator.CongestionConfiguration;
+import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorCongestion;
+import org.opentcs.strategies.basic.routing.spacetime.ReservationTableProvider;
+import org.opentcs.strategies.basic.routing.spacetime.SpaceTimeConfiguration;
+import org.opentcs.util.event.EventSource;
+import org.opentcs.util.event.SimpleEventBus;
+import org.opentcs.util.metrics.MetricRegistry;
 
 /**
  * Test cases for the {@link DefaultRouter}.
@@ -64,6 +98,21 @@ public class DefaultRouterTest {
    */
   private DefaultRouterConfiguration configuration;
 
+  /**
+   * The point router returned by the builder.
+   */
+  private PointRouter pointRouter;
+
+  /**
+   * The costs returned by the point router, mapped by source and destination point names.
+   */
+  private final Map<String, Long> costs = new HashMap<>();
+
+  /**
+   * The resources routes computed for vehicles are to avoid.
+   */
+  private AvoidedResources avoidedResources;
+
   @BeforeEach
   public void setUp() {
     objectService = mock(TCSObjectService.class);
@@ -73,9 +122,23 @@ public class DefaultRouterTest {
         .then(o -> vehicles.stream()
         .filter(t -> filterByName(o, t))
         .findFirst().orElse(null));
+    pointRouter = mock(PointRouter.class);
+    when(pointRouter.getCosts(any(Point.class), any(Point.class)))
+        .then(o -> costs.getOrDefault(costsKey((Point) o.getArgument(0), (Point) o.getArgument(1)),
+                                      PointRouter.INFINITE_COSTS));
+    when(pointRouter.isReachable(any(), any()))
+        .then(o -> costs.containsKey(costsKey((TCSObjectReference<?>) o.getArgument(0),
+                                              (TCSObjectReference<?>) o.getArgument(1))));
+    when(pointRouter.getRouteSteps(any(Point.class), any(Point.class)))
+        .then(o -> List.of(new Route.Step(null,
+                                          o.getArgument(0),
+                                          o.getArgument(1),
+                                          Vehicle.Orientation.FORWARD,
+                                          0)));
     routingGroupMapper = new DefaultRoutingGroupMapper();
     configuration = mock(DefaultRouterConfiguration.class);
     when(configuration.routeToCurrentPosition()).thenReturn(false);
+    avoidedResources = new AvoidedResources();
     router = spy(createRouter());
   }
 
@@ -131,6 +194,243 @@ public class DefaultRouterTest {
     verify(builder, times(15)).createPointRouter(any());
   }
 
+  @Test
+  public void createPointRoutersOnceForConcurrentLookups()
+      throws Exception {
+    Point sourcePoint = new Point("Some source point");
+    Point destinationPoint = new Point("Some destination point");
+    List<Vehicle> groupVehicles = List.of(createVehicle("Vehicle-000", -1),
+                                          createVehicle("Vehicle-001", 1));
+    Router concurrentRouter = createRouter();
+    concurrentRouter.initialize();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    CountDownLatch startSignal = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      futures.add(executor.submit(() -> {
+        startSignal.await();
+        for (int x = 0; x < 100; x++) {
+          concurrentRouter.getCosts(groupVehicles.get(x % 2), sourcePoint, destinationPoint);
+        }
+        return null;
+      }));
+    }
+    startSignal.countDown();
+    for (Future<?> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    verify(builder, times(2)).createPointRouter(any());
+  }
+
+  @Test
+  public void reuseCongestionPointRouterWhilePenaltiesUnchanged() {
+    CongestionConfiguration congestionConfiguration = mock(CongestionConfiguration.class);
+    when(congestionConfiguration.enable()).thenReturn(true);
+    when(congestionConfiguration.allocationPenalty()).thenReturn(1000);
+    SimpleEventBus eventBus = new SimpleEventBus();
+    when(pointRouter.withDynamicEdgeWeights(any())).thenReturn(pointRouter);
+    Point sourcePoint = createPoint("Source");
+    Point destinationPoint = createPoint("Destination");
+    Vehicle vehicle = createVehicle("Vehicle-000", -1);
+    Vehicle otherVehicle = createVehicle("Vehicle-001", -1);
+    Router congestionRouter = createRouter(
+        new EdgeEvaluatorCongestion(eventBus, objectService, congestionConfiguration)
+    );
+    congestionRouter.initialize();
+
+    congestionRouter.getCosts(vehicle, sourcePoint, destinationPoint);
+    congestionRouter.getCosts(vehicle, sourcePoint, destinationPoint);
+    verify(pointRouter, times(1)).withDynamicEdgeWeights(any());
+
+    eventBus.onEvent(new TCSObjectEvent(
+        otherVehicle.withAllocatedResources(List.of(Set.of(destinationPoint.getReference()))),
+        otherVehicle,
+        TCSObjectEvent.Type.OBJECT_MODIFIED
+    ));
+    congestionRouter.getCosts(vehicle, sourcePoint, destinationPoint);
+    verify(pointRouter, times(2)).withDynamicEdgeWeights(any());
+  }
+
+  @Test
+  public void addPenaltyForAvoidedResources() {
+    PointRouter avoidingPointRouter = mock(PointRouter.class);
+    when(pointRouter.withDynamicEdgeWeights(any())).thenReturn(avoidingPointRouter);
+    Point sourcePoint = createPoint("Source");
+    Point destinationPoint = createPoint("Destination");
+    Path path = new Path("Source-->Destination",
+                         sourcePoint.getReference(),
+                         destinationPoint.getReference());
+    Vehicle vehicle = createVehicle("Vehicle-000", -1);
+    avoidedResources.setAvoidedResources(vehicle.getName(), Set.of(destinationPoint.getName()));
+    router.initialize();
+
+    router.getCosts(vehicle, sourcePoint, destinationPoint);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<ToDoubleFunction<Edge>> weights
+        = ArgumentCaptor.forClass(ToDoubleFunction.class);
+    verify(pointRouter).withDynamicEdgeWeights(weights.capture());
+    verify(avoidingPointRouter).getCosts(sourcePoint, destinationPoint);
+    assertThat(weights.getValue().applyAsDouble(new Edge(path, false)),
+               is(AvoidedResources.PENALTY));
+    assertThat(weights.getValue().applyAsDouble(new Edge(path, true)), is(0.0));
+
+    avoidedResources.clearAvoidedResources(vehicle.getName());
+    router.getCosts(vehicle, sourcePoint, destinationPoint);
+
+    verify(pointRouter).getCosts(sourcePoint, destinationPoint);
+  }
+
+  @Test
+  public void selectCheapestCombinationOfDestinationPoints() {
+    Point source = createPoint("Source");
+    Point pointA = createPoint("A");
+    Point pointB = createPoint("B");
+    Point pointC = createPoint("C");
+    Point pointD = createPoint("D");
+    Location location1 = createLocation("Location-1", pointA, pointB);
+    Location location2 = createLocation("Location-2", pointC, pointD);
+    // B is the cheapest point to reach first, but the whole route is cheaper via A and D.
+    setCosts(source, pointA, 10);
+    setCosts(source, pointB, 5);
+    setCosts(pointA, pointC, 20);
+    setCosts(pointA, pointD, 2);
+    setCosts(pointB, pointC, 30);
+    setCosts(pointB, pointD, 40);
+
+    router.initialize();
+    Optional<List<DriveOrder>> result = router.getRoute(createVehicle("Vehicle-000", -1),
+                                                        source,
+                                                        createOrder(location1, location2));
+
+    assertThat(result.isPresent(), is(true));
+    assertThat(result.get(), hasSize(2));
+    assertThat(result.get().get(0).getRoute().getFinalDestinationPoint(), is(pointA));
+    assertThat(result.get().get(0).getRoute().getCosts(), is(10L));
+    assertThat(result.get().get(1).getRoute().getFinalDestinationPoint(), is(pointD));
+    assertThat(result.get().get(1).getRoute().getCosts(), is(2L));
+  }
+
+  @Test
+  public void shortcutRouteToCurrentPosition() {
+    Point pointA = createPoint("A");
+    Point pointB = createPoint("B");
+    Location location = createLocation("Location-1", pointA, pointB);
+    setCosts(pointA, pointA, 0);
+    setCosts(pointA, pointB, 0);
+
+    router.initialize();
+    Optional<List<DriveOrder>> result = router.getRoute(createVehicle("Vehicle-000", -1),
+                                                        pointA,
+                                                        createOrder(location));
+
+    assertThat(result.isPresent(), is(true));
+    assertThat(result.get().get(0).getRoute().getFinalDestinationPoint(), is(pointA));
+    verify(pointRouter, never()).getCosts(pointA, pointB);
+  }
+
+  @Test
+  public void returnNoRouteIfDestinationUnreachable() {
+    Point source = createPoint("Source");
+    Point pointA = createPoint("A");
+    Point pointB = createPoint("B");
+    Location location1 = createLocation("Location-1", pointA);
+    Location location2 = createLocation("Location-2", pointB);
+    setCosts(source, pointA, 10);
+
+    router.initialize();
+    Optional<List<DriveOrder>> result = router.getRoute(createVehicle("Vehicle-000", -1),
+                                                        source,
+                                                        createOrder(location1, location2));
+
+    assertThat(result.isPresent(), is(false));
+  }
+
+  @Test
+  public void considerOrderRoutableIfAllDestinationsReachable() {
+    Point pointA = createPoint("A");
+    Point pointB = createPoint("B");
+    Point pointC = createPoint("C");
+    Point pointD = createPoint("D");
+    Location location1 = createLocation("Location-1", pointA, pointB);
+    Location location2 = createLocation("Location-2", pointC);
+    Location location3 = createLocation("Location-3", pointD);
+    // Location-3 can only be reached via B and C.
+    setCosts(pointA, pointC, 1);
+    setCosts(pointB, pointC, 1);
+    setCosts(pointC, pointD, 1);
+    Vehicle vehicle = createVehicle("Vehicle-000", -1);
+
+    router.initialize();
+
+    assertThat(router.checkRoutability(createOrder(location1, location2, location3)),
+               contains(vehicle));
+    assertThat(router.checkRoutability(createOrder(location3, location2)), is(empty()));
+  }
+
+  /**
+   * Creates a point that can be fetched via the object service.
+   *
+   * @param name The point's name.
+   * @return The point.
+   */
+  private Point createPoint(String name) {
+    Point point = new Point(name);
+    when(objectService.fetchObject(Point.class, name)).thenReturn(point);
+    when(objectService.fetchObject(Point.class, point.getReference())).thenReturn(point);
+    return point;
+  }
+
+  /**
+   * Creates a location linked to the given points that can be fetched via the object service.
+   *
+   * @param name The location's name.
+   * @param points The points the location is linked to.
+   * @return The location.
+   */
+  private Location createLocation(String name, Point... points) {
+    LocationType type = new LocationType(name + "-type");
+    Location location = new Location(name, type.getReference());
+    Set<Location.Link> links = new HashSet<>();
+    for (Point point : points) {
+      links.add(new Location.Link(location.getReference(), point.getReference()));
+    }
+    location = location.withAttachedLinks(links);
+    when(objectService.fetchObject(Location.class, name)).thenReturn(location);
+    when(objectService.fetchObject(LocationType.class, location.getType())).thenReturn(type);
+    return location;
+  }
+
+  /**
+   * Creates a transport order with drive orders to the given locations.
+   *
+   * @param locations The locations.
+   * @return The transport order.
+   */
+  private TransportOrder createOrder(Location... locations) {
+    List<DriveOrder> driveOrders = new ArrayList<>();
+    for (Location location : locations) {
+      driveOrders.add(new DriveOrder(new DriveOrder.Destination(location.getReference())
+          .withOperation(DriveOrder.Destination.OP_NOP)));
+    }
+    return new TransportOrder("some-order", driveOrders);
+  }
+
+  private void setCosts(Point source, Point destination, long value) {
+    costs.put(costsKey(source, destination), value);
+  }
+
+  private String costsKey(TCSObject<?> source, TCSObject<?> destination) {
+    return costsKey(source.getReference(), destination.getReference());
+  }
+
+  private String costsKey(TCSObjectReference<?> source, TCSObjectReference<?> destination) {
+    return source.getName() + "->" + destination.getName();
+  }
+
   /**
    * Creates a vehicle with a unique id, the given name and the given routing group.
    * If the routing group is negative no property will be added.
@@ -157,9 +457,31 @@ public class DefaultRouterTest {
    * @return The router
    */
   private Router createRouter() {
-    when(builder.createPointRouter(any())).thenReturn(mock(PointRouter.class));
+    return createRouter(new EdgeEvaluatorCongestion(mock(EventSource.class),
+                                                    objectService,
+                                                    mock(CongestionConfiguration.class)));
+  }
+
+  /**
+   * Creates the router with mocked routing table builder to return a new routing table on each
+   * request.
+   *
+   * @param congestionEvaluator The evaluator for congestion to use.
+   * @return The router
+   */
+  private Router createRouter(EdgeEvaluatorCongestion congestionEvaluator) {
+    when(builder.createPointRouter(any())).thenReturn(pointRouter);
 
-    return new DefaultRouter(objectService, builder, routingGroupMapper, configuration);
+    return new DefaultRouter(objectService,
+                             builder,
+                             routingGroupMapper,
+                             configuration,
+                             MetricRegistry.DISABLED,
+                             new DestinationPointCache(mock(EventSource.class), objectService),
+                             congestionEvaluator,
+                             new ReservationTableProvider(objectService,
+                                                          mock(SpaceTimeConfiguration.class)),
+                             avoidedResources);
   }
 
   /**
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing;
+
+import java.util.List;
+import java.util.Set;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder.Destination;
+import org.opentcs.util.event.SimpleEventBus;
+
+/**
+ * Tests for {@link DestinationPointCache}.
+ */
+public class DestinationPointCacheTest {
+
+  private TCSObjectService objectService;
+
+  private SimpleEventBus eventBus;
+
+  private DestinationPointCache cache;
+
+  private Point pointA;
+
+  private Point pointB;
+
+  private Point pointC;
+
+  private LocationType locationType;
+
+  private Location location;
+
+  @BeforeEach
+  public void setUp() {
+    objectService = mock(TCSObjectService.class);
+    eventBus = new SimpleEventBus();
+    cache = new DestinationPointCache(eventBus, objectService);
+
+    pointA = new Point("A");
+    pointB = new Point("B");
+    pointC = new Point("C").withType(Point.Type.REPORT_POSITION);
+    locationType = new LocationType("some-type").withAllowedOperations(List.of("load"));
+    location = new Location("some-location", locationType.getReference());
+    location = location.withAttachedLinks(Set.of(
+        new Location.Link(location.getReference(), pointA.getReference()),
+        new Location.Link(location.getReference(), pointB.getReference())
+            .withAllowedOperations(Set.of("unload")),
+        new Location.Link(location.getReference(), pointC.getReference())
+    ));
+
+    for (Point point : List.of(pointA, pointB, pointC)) {
+      when(objectService.fetchObject(Point.class, point.getReference())).thenReturn(point);
+    }
+    when(objectService.fetchObject(Location.class, location.getName())).thenReturn(location);
+    when(objectService.fetchObject(LocationType.class, locationType.getReference()))
+        .thenReturn(locationType);
+    when(objectService.fetchObjects(Location.class)).thenReturn(Set.of(location));
+
+    cache.initialize();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    cache.terminate();
+  }
+
+  @Test
+  public void provideHaltingPointsAllowingOperation() {
+    assertThat(cache.getAccessPoints(location.getName(), "load"), containsInAnyOrder(pointA));
+    assertThat(cache.getAccessPoints(location.getName(), "unload"), containsInAnyOrder(pointB));
+    assertThat(cache.getAccessPoints(location.getName(), Destination.OP_NOP),
+               containsInAnyOrder(pointA, pointB));
+    assertThat(cache.getAccessPoints(location.getName(), "charge").isEmpty(), is(true));
+  }
+
+  @Test
+  public void provideLocationsAllowingOperation() {
+    assertThat(cache.getLocationsAllowingOperation("load"), containsInAnyOrder(location));
+    assertThat(cache.getLocationsAllowingOperation("unload").isEmpty(), is(true));
+  }
+
+  @Test
+  public void lookUpAccessPointsOnlyOnce() {
+    cache.getAccessPoints(location.getName(), "load");
+    cache.getAccessPoints(location.getName(), "load");
+
+    verify(objectService, times(1)).fetchObject(Location.class, location.getName());
+  }
+
+  @Test
+  public void lookUpAccessPointsAgainAfterLocationTypeChanged() {
+    cache.getAccessPoints(location.getName(), "load");
+    eventBus.onEvent(new TCSObjectEvent(locationType,
+                                        locationType,
+                                        TCSObjectEvent.Type.OBJECT_MODIFIED));
+    cache.getAccessPoints(location.getName(), "load");
+
+    verify(objectService, times(2)).fetchObject(Location.class, location.getName());
+  }
+
+  @Test
+  public void keepCacheIfOnlyPointOccupancyChanged() {
+    Vehicle vehicle = new Vehicle("some-vehicle");
+    cache.getParkingPositions();
+    eventBus.onEvent(new TCSObjectEvent(pointA.withOccupyingVehicle(vehicle.getReference()),
+                                        pointA,
+                                        TCSObjectEvent.Type.OBJECT_MODIFIED));
+    cache.getParkingPositions();
+
+    verify(objectService, times(1)).fetchObjects(eq(Point.class), any());
+  }
+
+  @Test
+  public void lookUpAgainIfPointTypeChanged() {
+    cache.getParkingPositions();
+    eventBus.onEvent(new TCSObjectEvent(pointA.withType(Point.Type.PARK_POSITION),
+                                        pointA,
+                                        TCSObjectEvent.Type.OBJECT_MODIFIED));
+    cache.getParkingPositions();
+
+    verify(objectService, times(2)).fetchObjects(eq(Point.class), any());
+  }
+
+  @Test
+  public void lookUpAgainIfPointPropertiesChanged() {
+    cache.getParkingPositions();
+    eventBus.onEvent(new TCSObjectEvent(pointA.withProperty("some-key", "some-value"),
+                                        pointA,
+                                        TCSObjectEvent.Type.OBJECT_MODIFIED));
+    cache.getParkingPositions();
+
+    verify(objectService, times(2)).fetchObjects(eq(Point.class), any());
+  }
+
+  @Test
+  public void lookUpOnEveryCallIfNotInitialized() {
+    cache.terminate();
+    cache.getAccessPoints(location.getName(), "load");
+    cache.getAccessPoints(location.getName(), "load");
+
+    verify(objectService, times(2)).fetchObject(Location.class, location.getName());
+  }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.edgeevaluator;
+
+import java.util.List;
+import java.util.Set;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.TCSResourceReference;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.util.event.SimpleEventBus;
+
+/**
+ * Tests for {@link EdgeEvaluatorCongestion}.
+ */
+public class EdgeEvaluatorCongestionTest {
+
+  private static final int ALLOCATION_PENALTY = 1000;
+
+  private TCSObjectService objectService;
+
+  private SimpleEventBus eventBus;
+
+  private EdgeEvaluatorCongestion evaluator;
+
+  private Point pointA;
+
+  private Point pointB;
+
+  private Path pathAB;
+
+  private Vehicle vehicle;
+
+  private Vehicle otherVehicle;
+
+  @BeforeEach
+  public void setUp() {
+    objectService = mock(TCSObjectService.class);
+    eventBus = new SimpleEventBus();
+    CongestionConfiguration configuration = mock(CongestionConfiguration.class);
+    when(configuration.enable()).thenReturn(true);
+    when(configuration.allocationPenalty()).thenReturn(ALLOCATION_PENALTY);
+    when(configuration.claimDecay()).thenReturn(0.5);
+
+    pointA = new Point("A");
+    pointB = new Point("B");
+    pathAB = new Path("A-->B", pointA.getReference(), pointB.getReference());
+    vehicle = new Vehicle("some-vehicle");
+    otherVehicle = new Vehicle("other-vehicle")
+        .withAllocatedResources(List.of(Set.of(pointB.getReference(), pathAB.getReference())));
+    when(objectService.fetchObjects(Vehicle.class)).thenReturn(Set.of(vehicle, otherVehicle));
+
+    evaluator = new EdgeEvaluatorCongestion(eventBus, objectService, configuration);
+    evaluator.initialize();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    evaluator.terminate();
+  }
+
+  @Test
+  public void penalizeResourcesAllocatedByOtherVehicles() {
+    assertThat(evaluator.computeWeight(new Edge(pathAB, false), vehicle),
+               is(2.0 * ALLOCATION_PENALTY));
+  }
+
+  @Test
+  public void penalizeOnlyDestinationPointOfEdge() {
+    assertThat(evaluator.computeWeight(new Edge(pathAB, true), vehicle),
+               is(1.0 * ALLOCATION_PENALTY));
+  }
+
+  @Test
+  public void ignoreOwnResources() {
+    assertThat(evaluator.computeWeight(new Edge(pathAB, false), otherVehicle), is(0.0));
+  }
+
+  @Test
+  public void decayPenaltiesAlongClaim() {
+    Point pointC = new Point("C");
+    List<Set<TCSResourceReference<?>>> claim = List.of(Set.of(pointC.getReference()),
+                                                       Set.of(pointB.getReference()));
+    publishUpdate(otherVehicle.withAllocatedResources(List.of()).withClaimedResources(claim));
+
+    // Point B is the second resource set claimed.
+    assertThat(evaluator.computeWeight(new Edge(pathAB, false), vehicle),
+               is(0.25 * ALLOCATION_PENALTY));
+  }
+
+  @Test
+  public void removePenaltiesOfRemovedVehicles() {
+    eventBus.onEvent(new TCSObjectEvent(null, otherVehicle, TCSObjectEvent.Type.OBJECT_REMOVED));
+
+    assertThat(evaluator.computeWeight(new Edge(pathAB, false), vehicle), is(0.0));
+  }
+
+  @Test
+  public void publishNewPenaltiesOnlyWhenResourcesChange() {
+    EdgeEvaluatorCongestion.Penalties penalties = evaluator.getPenalties();
+
+    publishUpdate(otherVehicle.withEnergyLevel(50));
+    assertThat(evaluator.getPenalties(), is(sameInstance(penalties)));
+
+    publishUpdate(otherVehicle.withAllocatedResources(List.of()));
+    assertThat(evaluator.getPenalties(), is(not(sameInstance(penalties))));
+    assertThat(evaluator.computeWeight(new Edge(pathAB, false), vehicle), is(0.0));
+    // Snapshots published before are not affected by changes.
+    assertThat(penalties.computeWeight(new Edge(pathAB, false), vehicle),
+               is(2.0 * ALLOCATION_PENALTY));
+  }
+
+  @Test
+  public void keepSnapshotIfChangedClaimLeavesPenaltiesUnchanged() {
+    EdgeEvaluatorCongestion.Penalties penalties = evaluator.getPenalties();
+
+    // Point B is allocated already, so claiming it does not add to its penalty.
+    publishUpdate(otherVehicle.withClaimedResources(List.of(Set.of(pointB.getReference()))));
+
+    assertThat(evaluator.getPenalties(), is(sameInstance(penalties)));
+  }
+
+  @Test
+  public void keepPenaltiesOfOtherVehiclesOnUpdate() {
+    Point pointC = new Point("C");
+    Path pathBC = new Path("B-->C", pointB.getReference(), pointC.getReference());
+    Vehicle thirdVehicle = new Vehicle("third-vehicle")
+        .withAllocatedResources(List.of(Set.of(pointC.getReference(), pathBC.getReference())));
+    eventBus.onEvent(new TCSObjectEvent(thirdVehicle, null, TCSObjectEvent.Type.OBJECT_CREATED));
+
+    publishUpdate(otherVehicle.withAllocatedResources(List.of(Set.of(pointC.getReference()))));
+
+    assertThat(evaluator.computeWeight(new Edge(pathAB, false), vehicle), is(0.0));
+    assertThat(evaluator.computeWeight(new Edge(pathBC, false), vehicle),
+               is(3.0 * ALLOCATION_PENALTY));
+    assertThat(evaluator.computeWeight(new Edge(pathBC, false), thirdVehicle),
+               is(1.0 * ALLOCATION_PENALTY));
+  }
+
+  private void publishUpdate(Vehicle updatedVehicle) {
+    eventBus.onEvent(new TCSObjectEvent(updatedVehicle,
+                                        otherVehicle,
+                                        TCSObjectEvent.Type.OBJECT_MODIFIED));
+  }
+}
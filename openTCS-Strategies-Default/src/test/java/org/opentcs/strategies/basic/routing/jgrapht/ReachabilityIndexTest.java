@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.jgrapht;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DirectedWeightedMultigraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+
+/**
+ * Tests for {@link ReachabilityIndex}.
+ */
+public class ReachabilityIndexTest {
+
+  private Graph<String, Edge> graph;
+
+  @BeforeEach
+  public void setUp() {
+    graph = new DirectedWeightedMultigraph<>(Edge.class);
+    for (String name : new String[]{"A", "B", "C", "D", "E", "F"}) {
+      graph.addVertex(name);
+    }
+    // A and B form a cycle leading to another cycle of C and D, which leads to E. F is isolated.
+    addEdge("A", "B");
+    addEdge("B", "A");
+    addEdge("B", "C");
+    addEdge("C", "D");
+    addEdge("D", "C");
+    addEdge("D", "E");
+  }
+
+  @Test
+  public void determineStronglyConnectedComponents() {
+    assertThat(new ReachabilityIndex(graph).getComponentCount(), is(4));
+  }
+
+  @Test
+  public void reachVerticesWithinComponent() {
+    ReachabilityIndex index = new ReachabilityIndex(graph);
+
+    assertThat(index.isReachable("A", "B"), is(true));
+    assertThat(index.isReachable("B", "A"), is(true));
+    assertThat(index.isReachable("D", "C"), is(true));
+    assertThat(index.isReachable("F", "F"), is(true));
+  }
+
+  @Test
+  public void reachVerticesOfDownstreamComponents() {
+    ReachabilityIndex index = new ReachabilityIndex(graph);
+
+    assertThat(index.isReachable("A", "C"), is(true));
+    assertThat(index.isReachable("A", "E"), is(true));
+    assertThat(index.isReachable("C", "E"), is(true));
+  }
+
+  @Test
+  public void doNotReachVerticesOfUpstreamOrUnconnectedComponents() {
+    ReachabilityIndex index = new ReachabilityIndex(graph);
+
+    assertThat(index.isReachable("C", "A"), is(false));
+    assertThat(index.isReachable("E", "D"), is(false));
+    assertThat(index.isReachable("A", "F"), is(false));
+    assertThat(index.isReachable("F", "A"), is(false));
+  }
+
+  @Test
+  public void doNotReachUnknownVertices() {
+    ReachabilityIndex index = new ReachabilityIndex(graph);
+
+    assertThat(index.isReachable("A", "X"), is(false));
+    assertThat(index.isReachable("X", "A"), is(false));
+  }
+
+  private void addEdge(String source, String destination) {
+    Path path = new Path(source + "-->" + destination,
+                         new Point(source).getReference(),
+                         new Point(destination).getReference());
+    Edge edge = new Edge(path, false);
+    graph.addEdge(source, destination, edge);
+    graph.setEdgeWeight(edge, 1);
+  }
+}
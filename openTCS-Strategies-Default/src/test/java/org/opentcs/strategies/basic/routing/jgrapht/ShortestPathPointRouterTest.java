@@ -10,6 +10,7 @@ package org.opentcs.strategies.basic.routing.jgrapht;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -42,6 +43,8 @@ public class ShortestPathPointRouterTest {
 
   private Edge edgeAC;
 
+  private Graph<String, Edge> graph;
+
   private ShortestPathPointRouter pointRouter;
 
   @BeforeEach
@@ -54,7 +57,7 @@ public class ShortestPathPointRouterTest {
 
     edgeAC = new Edge(pathAC, false);
 
-    Graph<String, Edge> graph = new DirectedWeightedMultigraph<>(Edge.class);
+    graph = new DirectedWeightedMultigraph<>(Edge.class);
 
     graph.addVertex(pointA.getName());
     graph.addVertex(pointB.getName());
@@ -64,7 +67,9 @@ public class ShortestPathPointRouterTest {
     graph.setEdgeWeight(edgeAC, 1234);
 
     pointRouter = new ShortestPathPointRouter(new DijkstraShortestPath<>(graph),
-                                              new HashSet<>(Arrays.asList(pointA, pointB, pointC)));
+                                              new HashSet<>(Arrays.asList(pointA, pointB, pointC)),
+                                              null,
+                                              graph);
   }
 
   @Test
@@ -103,4 +108,62 @@ public class ShortestPathPointRouterTest {
     assertThat(steps, is(not(empty())));
   }
 
+  @Test
+  public void addDynamicEdgeWeightsToCosts() {
+    PointRouter weightedRouter = pointRouter.withDynamicEdgeWeights(edge -> 100);
+
+    assertEquals(1334, weightedRouter.getCosts(pointA.getReference(), pointC.getReference()));
+    assertEquals(1234, pointRouter.getCosts(pointA.getReference(), pointC.getReference()));
+  }
+
+  @Test
+  public void avoidEdgesWithHighDynamicWeights() {
+    Path pathAB = new Path("A-->B", pointA.getReference(), pointB.getReference());
+    Path pathBC = new Path("B-->C", pointB.getReference(), pointC.getReference());
+    for (Path path : List.of(pathAB, pathBC)) {
+      Edge edge = new Edge(path, false);
+      graph.addEdge(path.getSourcePoint().getName(), path.getDestinationPoint().getName(), edge);
+      graph.setEdgeWeight(edge, 1000);
+    }
+
+    List<Step> steps = pointRouter
+        .withDynamicEdgeWeights(edge -> edge == edgeAC ? 5000 : 0)
+        .getRouteSteps(pointA, pointC);
+
+    assertThat(steps.size(), is(2));
+    assertThat(steps.get(0).getPath(), is(pathAB));
+    assertThat(steps.get(1).getPath(), is(pathBC));
+  }
+
+  @Test
+  public void reuseRoutesFromSameSourceWithDynamicEdgeWeights() {
+    Path pathAB = new Path("A-->B", pointA.getReference(), pointB.getReference());
+    Path pathBC = new Path("B-->C", pointB.getReference(), pointC.getReference());
+    for (Path path : List.of(pathAB, pathBC)) {
+      Edge edge = new Edge(path, false);
+      graph.addEdge(path.getSourcePoint().getName(), path.getDestinationPoint().getName(), edge);
+      graph.setEdgeWeight(edge, 1000);
+    }
+    AtomicInteger weightEvaluations = new AtomicInteger();
+    PointRouter weightedRouter = pointRouter.withDynamicEdgeWeights(edge -> {
+      weightEvaluations.incrementAndGet();
+      return 100;
+    });
+
+    assertEquals(1334, weightedRouter.getCosts(pointA.getReference(), pointC.getReference()));
+    int evaluationsBefore = weightEvaluations.get();
+    assertEquals(1334, weightedRouter.getCosts(pointA.getReference(), pointC.getReference()));
+
+    // Only the weight of the route's single edge is evaluated again to sum up the costs.
+    assertThat(weightEvaluations.get() - evaluationsBefore, is(1));
+  }
+
+  @Test
+  public void ignoreDynamicEdgeWeightsWithoutGraph() {
+    PointRouter router
+        = new ShortestPathPointRouter(new DijkstraShortestPath<>(graph),
+                                      new HashSet<>(Arrays.asList(pointA, pointB, pointC)));
+
+    assertThat(router.withDynamicEdgeWeights(edge -> 100), is(router));
+  }
 }
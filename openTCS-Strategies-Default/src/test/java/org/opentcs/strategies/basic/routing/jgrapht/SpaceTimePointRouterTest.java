@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.jgrapht;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DirectedWeightedMultigraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.Route;
+import org.opentcs.strategies.basic.routing.PointRouter;
+import org.opentcs.strategies.basic.routing.spacetime.ReservationTable;
+
+/**
+ * Tests for {@link SpaceTimePointRouter}.
+ */
+public class SpaceTimePointRouterTest {
+
+  private Point pointA;
+
+  private Point pointB;
+
+  private Point pointC;
+
+  private Path pathAB;
+
+  private Path pathAC;
+
+  private Path pathCB;
+
+  private Graph<String, Edge> graph;
+
+  private ShortestPathPointRouter staticRouter;
+
+  private ReservationTable reservations;
+
+  private Vehicle vehicle;
+
+  @BeforeEach
+  public void setUp() {
+    pointA = new Point("A");
+    pointB = new Point("B");
+    pointC = new Point("C");
+    // With the default velocities, a vehicle needs 1000 ms for each of the paths, so the direct
+    // route from A to B takes 1000 ms and the detour via C takes 2000 ms.
+    pathAB = new Path("A-->B", pointA.getReference(), pointB.getReference()).withLength(1000);
+    pathAC = new Path("A-->C", pointA.getReference(), pointC.getReference()).withLength(1000);
+    pathCB = new Path("C-->B", pointC.getReference(), pointB.getReference()).withLength(1000);
+
+    graph = new DirectedWeightedMultigraph<>(Edge.class);
+    for (Point point : List.of(pointA, pointB, pointC)) {
+      graph.addVertex(point.getName());
+    }
+    for (Path path : List.of(pathAB, pathAC, pathCB)) {
+      Edge edge = new Edge(path, false);
+      graph.addEdge(path.getSourcePoint().getName(), path.getDestinationPoint().getName(), edge);
+      graph.setEdgeWeight(edge, 1);
+    }
+
+    staticRouter = new ShortestPathPointRouter(new DijkstraShortestPath<>(graph),
+                                               List.of(pointA, pointB, pointC),
+                                               new ReachabilityIndex(graph),
+                                               graph);
+    reservations = new ReservationTable();
+    vehicle = new Vehicle("some-vehicle");
+  }
+
+  @Test
+  public void returnTravelTimeAsCosts() {
+    PointRouter router = staticRouter.withReservations(reservations, vehicle, 0);
+
+    assertThat(router.getCosts(pointA.getReference(), pointB.getReference()), is(1000L));
+    assertThat(router.getCosts(pointA.getReference(), pointA.getReference()), is(0L));
+  }
+
+  @Test
+  public void waitForOtherVehicleIfCheaperThanDetour() {
+    reservations.reserve(pathAB.getName(), "other-vehicle", 0, 500);
+    PointRouter router = staticRouter.withReservations(reservations, vehicle, 0);
+
+    assertThat(router.getCosts(pointA.getReference(), pointB.getReference()), is(1500L));
+    assertThat(pathsOf(router.getRouteSteps(pointA, pointB)), contains(pathAB));
+  }
+
+  @Test
+  public void takeDetourIfWaitingPointIsReservedByOtherVehicle() {
+    reservations.reserve(pathAB.getName(), "other-vehicle", 0, 500);
+    // Another vehicle passes point A while the vehicle would wait there for path A-->B.
+    reservations.reserve(pointA.getName(), "other-vehicle", 200, 300);
+    PointRouter router = staticRouter.withReservations(reservations, vehicle, 0);
+
+    assertThat(router.getCosts(pointA.getReference(), pointB.getReference()), is(2000L));
+    assertThat(pathsOf(router.getRouteSteps(pointA, pointB)), contains(pathAC, pathCB));
+  }
+
+  @Test
+  public void takeDetourAroundResourcesReservedByOtherVehicles() {
+    reservations.reserve(pathAB.getName(), "other-vehicle", 0, 5000);
+    PointRouter router = staticRouter.withReservations(reservations, vehicle, 0);
+
+    assertThat(router.getCosts(pointA.getReference(), pointB.getReference()), is(2000L));
+    assertThat(pathsOf(router.getRouteSteps(pointA, pointB)), contains(pathAC, pathCB));
+  }
+
+  @Test
+  public void ignoreReservationsEndingBeforeDeparture() {
+    reservations.reserve(pathAB.getName(), "other-vehicle", 0, 5000);
+    PointRouter router = staticRouter.withReservations(reservations, vehicle, 5000);
+
+    assertThat(router.getCosts(pointA.getReference(), pointB.getReference()), is(1000L));
+    assertThat(pathsOf(router.getRouteSteps(pointA, pointB)), contains(pathAB));
+  }
+
+  @Test
+  public void ignoreOwnReservations() {
+    reservations.reserve(pathAB.getName(), vehicle.getName(), 0, 5000);
+    PointRouter router = staticRouter.withReservations(reservations, vehicle, 0);
+
+    assertThat(router.getCosts(pointA.getReference(), pointB.getReference()), is(1000L));
+  }
+
+  @Test
+  public void returnNoRouteForUnreachablePoints() {
+    PointRouter router = staticRouter.withReservations(reservations, vehicle, 0);
+
+    assertThat(router.getCosts(pointB.getReference(), pointA.getReference()),
+               is(PointRouter.INFINITE_COSTS));
+    assertThat(router.getRouteSteps(pointB, pointA), is(nullValue()));
+  }
+
+  @Test
+  public void ignoreReservationsWithoutGraph() {
+    ShortestPathPointRouter router
+        = new ShortestPathPointRouter(new DijkstraShortestPath<>(graph),
+                                      List.of(pointA, pointB, pointC));
+
+    assertThat(router.withReservations(reservations, vehicle, 0), is(sameInstance(router)));
+  }
+
+  private List<Path> pathsOf(List<Route.Step> steps) {
+    return steps.stream().map(Route.Step::getPath).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.spacetime;
+
+import java.util.List;
+import java.util.Map;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.Route;
+import org.opentcs.data.order.TransportOrder;
+
+/**
+ * Tests for {@link ReservationTableProvider}.
+ */
+public class ReservationTableProviderTest {
+
+  private TCSObjectService objectService;
+
+  private SpaceTimeConfiguration configuration;
+
+  private ReservationTableProvider provider;
+
+  private Vehicle vehicle;
+
+  private DriveOrder driveOrder;
+
+  @BeforeEach
+  public void setUp() {
+    objectService = mock(TCSObjectService.class);
+    configuration = mock(SpaceTimeConfiguration.class);
+    provider = new ReservationTableProvider(objectService, configuration);
+
+    Point pointA = new Point("A");
+    Point pointB = new Point("B");
+    Point pointC = new Point("C");
+    Path pathAB = new Path("A-->B", pointA.getReference(), pointB.getReference()).withLength(1000);
+    Path pathBC = new Path("B-->C", pointB.getReference(), pointC.getReference()).withLength(1000);
+    // With the default velocities, the vehicle needs 1000 ms for each of the paths.
+    driveOrder = new DriveOrder(new DriveOrder.Destination(pointC.getReference()))
+        .withRoute(new Route(
+            List.of(new Route.Step(pathAB, pointA, pointB, Vehicle.Orientation.FORWARD, 0),
+                    new Route.Step(pathBC, pointB, pointC, Vehicle.Orientation.FORWARD, 1)),
+            2000
+        ));
+
+    vehicle = new Vehicle("some-vehicle").withCurrentPosition(pointA.getReference());
+    when(objectService.fetchObject(Vehicle.class, vehicle.getReference())).thenReturn(vehicle);
+  }
+
+  @Test
+  public void reserveResourcesAlongRoute() {
+    ReservationTable table = provider.getReservationTable(Map.of(vehicle, List.of(driveOrder)));
+
+    assertThat(table.getEarliestStart("other-vehicle", List.of("A"), 0, 100), is(1000L));
+    assertThat(table.getEarliestStart("other-vehicle", List.of("A-->B"), 0, 100), is(1000L));
+    assertThat(table.getEarliestStart("other-vehicle", List.of("B"), 0, 100), is(2000L));
+    assertThat(table.getEarliestStart("other-vehicle", List.of("B-->C"), 0, 100), is(0L));
+    assertThat(table.getEarliestStart("other-vehicle", List.of("B-->C"), 0, 1500), is(2000L));
+    assertThat(table.getEarliestStart("other-vehicle", List.of("C"), 0, 1500), is(2000L));
+  }
+
+  @Test
+  public void reserveDestinationPointForOperation() {
+    when(configuration.operationDuration()).thenReturn(3000);
+
+    ReservationTable table = provider.getReservationTable(Map.of(vehicle, List.of(driveOrder)));
+
+    assertThat(table.getEarliestStart("other-vehicle", List.of("C"), 0, 1500), is(5000L));
+  }
+
+  @Test
+  public void applySafetyMargin() {
+    when(configuration.safetyMargin()).thenReturn(100);
+
+    ReservationTable table = provider.getReservationTable(Map.of(vehicle, List.of(driveOrder)));
+
+    assertThat(table.getEarliestStart("other-vehicle", List.of("B-->C"), 0, 850), is(0L));
+    assertThat(table.getEarliestStart("other-vehicle", List.of("B-->C"), 0, 950), is(2100L));
+  }
+
+  @Test
+  public void skipRouteStepsAlreadyTravelled() {
+    TransportOrder transportOrder = new TransportOrder("some-order", List.of(driveOrder))
+        .withCurrentDriveOrderIndex(0);
+    vehicle = vehicle
+        .withCurrentPosition(driveOrder.getRoute().getSteps().get(0).getDestinationPoint()
+            .getReference())
+        .withTransportOrder(transportOrder.getReference())
+        .withRouteProgressIndex(0);
+    when(objectService.fetchObject(Vehicle.class, vehicle.getReference())).thenReturn(vehicle);
+    when(objectService.fetchObject(TransportOrder.class, transportOrder.getReference()))
+        .thenReturn(transportOrder);
+
+    ReservationTable table = provider.getReservationTable(Map.of(vehicle, List.of(driveOrder)));
+
+    assertThat(table.getEarliestStart("other-vehicle", List.of("A-->B"), 0, 100), is(0L));
+    assertThat(table.getEarliestStart("other-vehicle", List.of("B-->C"), 0, 100), is(1000L));
+    assertThat(table.getEarliestStart("other-vehicle", List.of("C"), 0, 100), is(1000L));
+  }
+
+  @Test
+  public void provideSameTableUntilInvalidated() {
+    when(configuration.maxReservationTableAge()).thenReturn(60000);
+
+    Map<Vehicle, List<DriveOrder>> routes = Map.of(vehicle, List.of(driveOrder));
+    ReservationTable table = provider.getReservationTable(routes);
+
+    assertThat(provider.getReservationTable(routes), is(sameInstance(table)));
+
+    provider.invalidate();
+
+    assertThat(provider.getReservationTable(routes), is(not(sameInstance(table))));
+  }
+}
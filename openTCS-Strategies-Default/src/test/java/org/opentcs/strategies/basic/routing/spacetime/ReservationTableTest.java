@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.spacetime;
+
+import java.util.List;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ReservationTable}.
+ */
+public class ReservationTableTest {
+
+  private ReservationTable table;
+
+  @BeforeEach
+  public void setUp() {
+    table = new ReservationTable();
+    table.reserve("P", "other-vehicle", 0, 100);
+    table.reserve("Q", "other-vehicle", 120, 200);
+  }
+
+  @Test
+  public void startImmediatelyWithoutConflicts() {
+    assertThat(table.getEarliestStart("some-vehicle", List.of("R"), 0, 50), is(0L));
+    assertThat(table.getEarliestStart("some-vehicle", List.of("P"), 100, 50), is(100L));
+    assertThat(table.getEarliestStart("some-vehicle", List.of("Q"), 0, 120), is(0L));
+  }
+
+  @Test
+  public void postponeStartPastConflictingReservations() {
+    assertThat(table.getEarliestStart("some-vehicle", List.of("P"), 0, 50), is(100L));
+    assertThat(table.getEarliestStart("some-vehicle", List.of("P", "Q"), 0, 10), is(100L));
+    assertThat(table.getEarliestStart("some-vehicle", List.of("P", "Q"), 0, 50), is(200L));
+  }
+
+  @Test
+  public void considerZeroDurationAsOccupyingResource() {
+    assertThat(table.getEarliestStart("some-vehicle", List.of("P"), 50, 0), is(100L));
+  }
+
+  @Test
+  public void ignoreOwnReservations() {
+    assertThat(table.getEarliestStart("other-vehicle", List.of("P", "Q"), 0, 150), is(0L));
+  }
+}
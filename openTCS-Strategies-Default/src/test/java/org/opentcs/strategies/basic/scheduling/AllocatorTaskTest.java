@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.Scheduler;
+import org.opentcs.components.kernel.services.InternalPlantModelService;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.TCSResource;
+import org.opentcs.util.metrics.MetricRegistry;
+
+/**
+ * Unit tests for {@link AllocatorTask}.
+ */
+public class AllocatorTaskTest {
+
+  private ReservationPool reservationPool;
+
+  private Queue<AllocatorCommand.Allocate> deferredAllocations;
+
+  private AtomicLong deferredAllocationRetries;
+
+  private ExecutorService allocationExecutor;
+
+  private List<Runnable> allocationTasks;
+
+  private Scheduler.Client client;
+
+  private Set<TCSResource<?>> resources;
+
+  @BeforeEach
+  public void setUp() {
+    reservationPool = mock(ReservationPool.class);
+    when(reservationPool.isPartitioned()).thenReturn(true);
+    when(reservationPool.withAllocationLocks(any(), any()))
+        .then(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    deferredAllocations = new LinkedBlockingQueue<>();
+    deferredAllocationRetries = new AtomicLong();
+    allocationTasks = new ArrayList<>();
+    allocationExecutor = mock(ExecutorService.class);
+    when(allocationExecutor.submit(any(Runnable.class))).then(invocation -> {
+      allocationTasks.add(invocation.getArgument(0));
+      return null;
+    });
+    client = mock(Scheduler.Client.class);
+    when(client.getId()).thenReturn("some-client");
+    resources = Set.of(new Point("A"));
+  }
+
+  @Test
+  public void deferRejectedAllocation() {
+    when(reservationPool.resourcesAvailableForUser(resources, client)).thenReturn(false);
+    AllocatorCommand.Allocate allocate = new AllocatorCommand.Allocate(client, resources);
+
+    createTask(allocate).run();
+
+    assertThat(deferredAllocations, contains(allocate));
+    assertThat(allocationTasks, is(empty()));
+  }
+
+  @Test
+  public void retryAllocationRejectedWhileDeferredAllocationsAreRetried() {
+    // The resources are freed and the deferred allocations are retried after the allocation has
+    // been rejected, but before it has been deferred.
+    when(reservationPool.resourcesAvailableForUser(resources, client)).then(invocation -> {
+      createTask(new AllocatorCommand.RetryAllocates(client)).run();
+      return false;
+    });
+
+    createTask(new AllocatorCommand.Allocate(client, resources)).run();
+
+    assertThat(deferredAllocations, is(empty()));
+    assertThat(allocationTasks, hasSize(1));
+  }
+
+  private AllocatorTask createTask(AllocatorCommand command) {
+    return new AllocatorTask(mock(InternalPlantModelService.class),
+                             reservationPool,
+                             deferredAllocations,
+                             deferredAllocationRetries,
+                             mock(Scheduler.Module.class),
+                             mock(ScheduledExecutorService.class),
+                             allocationExecutor,
+                             new Object(),
+                             new SchedulerMetrics(MetricRegistry.DISABLED, deferredAllocations),
+                             command);
+  }
+}
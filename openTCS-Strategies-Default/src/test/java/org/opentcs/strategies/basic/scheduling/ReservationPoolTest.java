@@ -8,7 +8,14 @@
 package org.opentcs.strategies.basic.scheduling;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
@@ -104,7 +111,7 @@ public class ReservationPoolTest {
 
   @Test
   public void allocatedResourcesIsEmptyAfterClear() {
-    reservationPool.getReservationEntry(new Point("point1")).allocate(client);
+    reservationPool.allocate(client, Set.of(new Point("point1")));
     reservationPool.clear();
 
     assertThat(reservationPool.allocatedResources(client), is(empty()));
@@ -112,7 +119,7 @@ public class ReservationPoolTest {
 
   @Test
   public void reflectAllocatedResources() {
-    reservationPool.getReservationEntry(new Point("point1")).allocate(client);
+    reservationPool.allocate(client, Set.of(new Point("point1")));
 
     assertThat(reservationPool.allocatedResources(client), hasSize(1));
     assertThat(reservationPool.getAllocations(), is(aMapWithSize(1)));
@@ -120,13 +127,96 @@ public class ReservationPoolTest {
 
   @Test
   public void allocatedResourcesIsEmptyAfterFreeAll() {
-    reservationPool.getReservationEntry(new Point("point1")).allocate(client);
+    reservationPool.allocate(client, Set.of(new Point("point1")));
     reservationPool.freeAll(client);
 
     assertThat(reservationPool.allocatedResources(client), is(empty()));
     assertThat(reservationPool.getAllocations(), is(anEmptyMap()));
   }
 
+  @Test
+  public void isNotPartitionedInitially() {
+    assertThat(reservationPool.isPartitioned(), is(false));
+  }
+
+  @Test
+  public void reflectAllocatedResourcesAcrossZones() {
+    reservationPool.setResourceZones(new ResourceZones(Map.of("point1", 0, "point2", 1), 2));
+    Set<TCSResource<?>> resources = Set.of(new Point("point1"), new Point("point2"));
+
+    reservationPool.allocate(client, resources);
+
+    assertThat(reservationPool.isPartitioned(), is(true));
+    assertThat(reservationPool.allocatedResources(client), hasSize(2));
+    assertThat(reservationPool.getAllocations().get(client.getId()), is(resources));
+    assertThat(reservationPool.resourcesAvailableForUser(resources, new TestClient()), is(false));
+
+    reservationPool.free(client, resources);
+
+    assertThat(reservationPool.allocatedResources(client), is(empty()));
+  }
+
+  @Test
+  public void discardReservationsWhenSettingZones() {
+    reservationPool.allocate(client, Set.of(new Point("point1")));
+    reservationPool.setResourceZones(new ResourceZones(Map.of("point1", 1), 2));
+
+    assertThat(reservationPool.allocatedResources(client), is(empty()));
+  }
+
+  @Test
+  public void returnReservationEntriesUnaffectedByLaterChanges() {
+    Point point = new Point("point1");
+    reservationPool.allocate(client, Set.of(point));
+
+    ReservationEntry entry = reservationPool.getReservationEntry(point);
+    reservationPool.free(client, Set.of(point));
+
+    assertThat(entry.getClient(), is(client));
+    assertThat(reservationPool.getReservationEntry(point).isFree(), is(true));
+  }
+
+  @Test
+  public void decideAllocationsInDifferentZonesConcurrently()
+      throws Exception {
+    reservationPool.setResourceZones(new ResourceZones(Map.of("point1", 0, "point2", 1), 2));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      boolean otherZoneDecided = reservationPool.withAllocationLocks(
+          Set.of(new Point("point1")),
+          () -> completesInTime(executor.submit(
+              () -> reservationPool.withAllocationLocks(Set.of(new Point("point2")), () -> true)
+          ))
+      );
+      boolean sameZoneDecided = reservationPool.withAllocationLocks(
+          Set.of(new Point("point1")),
+          () -> completesInTime(executor.submit(
+              () -> reservationPool.withAllocationLocks(Set.of(new Point("point1")), () -> true)
+          ))
+      );
+
+      assertThat(otherZoneDecided, is(true));
+      assertThat(sameZoneDecided, is(false));
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private boolean completesInTime(Future<?> future) {
+    try {
+      future.get(500, TimeUnit.MILLISECONDS);
+      return true;
+    }
+    catch (TimeoutException exc) {
+      return false;
+    }
+    catch (InterruptedException | ExecutionException exc) {
+      throw new IllegalStateException(exc);
+    }
+  }
+
   /**
    * A dummy client for cases in which we need to provide a client but do not have a real one.
    */
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling;
+
+import java.util.List;
+import java.util.Set;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentcs.data.model.Block;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+
+/**
+ * Unit tests for {@link ResourceZones}.
+ */
+public class ResourceZonesTest {
+
+  private static final String ZONE_KEY = "zone";
+
+  private Point pointA1;
+
+  private Point pointA2;
+
+  private Point pointB1;
+
+  private Point pointUnassigned;
+
+  private Path pathA1A2;
+
+  private Path pathA2B1;
+
+  private Location location;
+
+  @BeforeEach
+  public void setUp() {
+    pointA1 = new Point("A1").withProperty(ZONE_KEY, "hall-A");
+    pointA2 = new Point("A2").withProperty(ZONE_KEY, "hall-A");
+    pointB1 = new Point("B1").withProperty(ZONE_KEY, "hall-B");
+    pointUnassigned = new Point("X");
+    pathA1A2 = new Path("A1 --- A2", pointA1.getReference(), pointA2.getReference());
+    pathA2B1 = new Path("A2 --- B1", pointA2.getReference(), pointB1.getReference())
+        .withProperty(ZONE_KEY, "hall-B");
+    location = new Location("L", new LocationType("T").getReference());
+    location = location.withAttachedLinks(
+        Set.of(new Location.Link(location.getReference(), pointB1.getReference()))
+    );
+  }
+
+  @Test
+  public void assignElementsByPropertyValue() {
+    ResourceZones zones = createZones(List.of());
+
+    assertThat(zones.getZoneCount(), is(3));
+    assertThat(zones.getZoneIndex("A1"), is(zones.getZoneIndex("A2")));
+    assertThat(zones.getZoneIndex("A1"), is(not(zones.getZoneIndex("B1"))));
+    assertThat(zones.getZoneIndex("A2 --- B1"), is(zones.getZoneIndex("B1")));
+  }
+
+  @Test
+  public void assignUnassignedElementsToZoneZero() {
+    ResourceZones zones = createZones(List.of());
+
+    assertThat(zones.getZoneIndex("X"), is(0));
+    assertThat(zones.getZoneIndex("some-unknown-resource"), is(0));
+  }
+
+  @Test
+  public void assignPathsAndLocationsToZonesOfTheirPoints() {
+    ResourceZones zones = createZones(List.of());
+
+    assertThat(zones.getZoneIndex("A1 --- A2"), is(zones.getZoneIndex("A1")));
+    assertThat(zones.getZoneIndex("L"), is(zones.getZoneIndex("B1")));
+  }
+
+  @Test
+  public void mergeZonesSharingBlock() {
+    Block block = new Block("block")
+        .withMembers(Set.of(pointA2.getReference(), pointB1.getReference()));
+
+    ResourceZones zones = createZones(List.of(block));
+
+    assertThat(zones.getZoneCount(), is(2));
+    assertThat(zones.getZoneIndex("A1"), is(zones.getZoneIndex("B1")));
+    assertThat(zones.getZoneIndex("X"), is(0));
+  }
+
+  @Test
+  public void keepZoneZeroWhenMergingWithIt() {
+    Block block = new Block("block")
+        .withMembers(Set.of(pointUnassigned.getReference(), pointB1.getReference()));
+
+    ResourceZones zones = createZones(List.of(block));
+
+    assertThat(zones.getZoneCount(), is(2));
+    assertThat(zones.getZoneIndex("B1"), is(0));
+    assertThat(zones.getZoneIndex("A1"), is(1));
+  }
+
+  private ResourceZones createZones(List<Block> blocks) {
+    return ResourceZones.fromProperty(List.of(pointA1, pointA2, pointB1, pointUnassigned),
+                                      List.of(pathA1A2, pathA2B1),
+                                      List.of(location),
+                                      blocks,
+                                      ZONE_KEY);
+  }
+}
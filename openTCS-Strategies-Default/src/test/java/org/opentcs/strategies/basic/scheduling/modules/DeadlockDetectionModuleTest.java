@@ -0,0 +1,381 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling.modules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DirectedWeightedMultigraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.Router;
+import org.opentcs.components.kernel.Scheduler;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.components.kernel.services.DispatcherService;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.TCSResource;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.ReroutingType;
+import org.opentcs.data.order.Route;
+import org.opentcs.strategies.basic.routing.AvoidedResources;
+import org.opentcs.strategies.basic.routing.DefaultRouter;
+import org.opentcs.strategies.basic.routing.DefaultRouterConfiguration;
+import org.opentcs.strategies.basic.routing.DefaultRoutingGroupMapper;
+import org.opentcs.strategies.basic.routing.DestinationPointCache;
+import org.opentcs.strategies.basic.routing.PointRouter;
+import org.opentcs.strategies.basic.routing.edgeevaluator.CongestionConfiguration;
+import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorCongestion;
+import org.opentcs.strategies.basic.routing.jgrapht.ShortestPathPointRouter;
+import org.opentcs.strategies.basic.routing.spacetime.ReservationTableProvider;
+import org.opentcs.strategies.basic.routing.spacetime.SpaceTimeConfiguration;
+import org.opentcs.strategies.basic.scheduling.ReservationEntry;
+import org.opentcs.strategies.basic.scheduling.ReservationPool;
+import org.opentcs.util.event.EventSource;
+import org.opentcs.util.metrics.MetricRegistry;
+
+/**
+ * Unit tests for {@link DeadlockDetectionModule}.
+ */
+public class DeadlockDetectionModuleTest {
+
+  private ReservationPool reservationPool;
+
+  private TCSObjectService objectService;
+
+  private DispatcherService dispatcherService;
+
+  private DeadlockDetectionConfiguration configuration;
+
+  private MetricRegistry metricRegistry;
+
+  private AvoidedResources avoidedResources;
+
+  private DeadlockDetectionModule module;
+
+  private Vehicle vehicleA;
+
+  private Vehicle vehicleB;
+
+  private Vehicle vehicleC;
+
+  private Scheduler.Client clientA;
+
+  private Scheduler.Client clientB;
+
+  private Scheduler.Client clientC;
+
+  private Point pointA;
+
+  private Point pointB;
+
+  private Point pointC;
+
+  private Set<TCSResource<?>> resourcesA;
+
+  private Set<TCSResource<?>> resourcesB;
+
+  private Set<TCSResource<?>> resourcesC;
+
+  @BeforeEach
+  public void setUp() {
+    reservationPool = mock(ReservationPool.class);
+    objectService = mock(TCSObjectService.class);
+    dispatcherService = mock(DispatcherService.class);
+    configuration = mock(DeadlockDetectionConfiguration.class);
+    metricRegistry = new MetricRegistry(true);
+    avoidedResources = new AvoidedResources();
+    module = new DeadlockDetectionModule(reservationPool,
+                                         objectService,
+                                         () -> dispatcherService,
+                                         avoidedResources,
+                                         new Object(),
+                                         configuration,
+                                         metricRegistry);
+    module.initialize();
+
+    vehicleA = new Vehicle("vehicle-A");
+    vehicleB = new Vehicle("vehicle-B");
+    vehicleC = new Vehicle("vehicle-C");
+    for (Vehicle vehicle : List.of(vehicleA, vehicleB, vehicleC)) {
+      when(objectService.fetchObject(Vehicle.class, vehicle.getName())).thenReturn(vehicle);
+    }
+    clientA = new SampleClient(vehicleA.getName());
+    clientB = new SampleClient(vehicleB.getName());
+    clientC = new SampleClient(vehicleC.getName());
+
+    // Each vehicle holds the point it is standing on.
+    pointA = new Point("A");
+    pointB = new Point("B");
+    pointC = new Point("C");
+    resourcesA = allocatedResources(pointA, clientA);
+    resourcesB = allocatedResources(pointB, clientB);
+    resourcesC = allocatedResources(pointC, clientC);
+  }
+
+  @Test
+  public void ignoreClientsWaitingForResourcesHeldByNonWaitingClients() {
+    module.allocationDeferred(clientA, resourcesB);
+
+    assertThat(detectedDeadlocks(), is(0L));
+  }
+
+  @Test
+  public void detectTwoClientsWaitingForEachOther() {
+    module.allocationDeferred(clientA, resourcesB);
+    module.allocationDeferred(clientB, resourcesA);
+
+    assertThat(detectedDeadlocks(), is(1L));
+    verify(dispatcherService, never()).reroute(any(), any());
+  }
+
+  @Test
+  public void detectCycleOfWaitingClients() {
+    module.allocationDeferred(clientA, resourcesB);
+    module.allocationDeferred(clientB, resourcesC);
+
+    assertThat(detectedDeadlocks(), is(0L));
+
+    module.allocationDeferred(clientC, resourcesA);
+
+    assertThat(detectedDeadlocks(), is(1L));
+  }
+
+  @Test
+  public void countRepeatedlyDeferredAllocationsAsSingleDeadlock() {
+    module.allocationDeferred(clientA, resourcesB);
+    module.allocationDeferred(clientB, resourcesA);
+    module.allocationDeferred(clientA, resourcesB);
+    module.allocationDeferred(clientB, resourcesA);
+
+    assertThat(detectedDeadlocks(), is(1L));
+  }
+
+  @Test
+  public void searchForCyclesOnlyWhenWaitForGraphChanges() {
+    module.allocationDeferred(clientA, resourcesB);
+    module.allocationDeferred(clientB, resourcesA);
+    module.allocationDeferred(clientA, resourcesB);
+    module.allocationDeferred(clientB, resourcesA);
+
+    assertThat(metricRegistry.counter("scheduler.deadlocks.searches").getCount(), is(2L));
+
+    // Client C now holds the resources client A is waiting for.
+    allocatedResources(pointB, clientC);
+    module.allocationDeferred(clientA, resourcesB);
+
+    assertThat(metricRegistry.counter("scheduler.deadlocks.searches").getCount(), is(3L));
+  }
+
+  @Test
+  public void rerouteClientClosingTheCycle() {
+    when(configuration.resolveDeadlocks()).thenReturn(true);
+    when(configuration.resolutionRetryInterval()).thenReturn(60000L);
+
+    module.allocationDeferred(clientA, resourcesB);
+    module.allocationDeferred(clientB, resourcesA);
+    module.allocationDeferred(clientA, resourcesB);
+
+    verify(dispatcherService).reroute(vehicleB.getReference(), ReroutingType.FORCED);
+    verify(dispatcherService, times(1)).reroute(any(), any());
+  }
+
+  @Test
+  public void retryResolutionAfterInterval() {
+    when(configuration.resolveDeadlocks()).thenReturn(true);
+    when(configuration.resolutionRetryInterval()).thenReturn(0L);
+
+    module.allocationDeferred(clientA, resourcesB);
+    module.allocationDeferred(clientB, resourcesA);
+    module.allocationDeferred(clientA, resourcesB);
+
+    verify(dispatcherService).reroute(vehicleB.getReference(), ReroutingType.FORCED);
+    verify(dispatcherService).reroute(vehicleA.getReference(), ReroutingType.FORCED);
+    assertThat(detectedDeadlocks(), is(1L));
+  }
+
+  @Test
+  public void avoidRequestedResourcesUntilDeadlockIsResolved() {
+    when(configuration.resolveDeadlocks()).thenReturn(true);
+    when(configuration.resolutionRetryInterval()).thenReturn(60000L);
+
+    module.allocationDeferred(clientA, resourcesB);
+    module.allocationDeferred(clientB, resourcesA);
+
+    assertThat(avoidedResources.getAvoidedResources(vehicleB.getName()),
+               is(Set.of(pointA.getName())));
+
+    module.setAllocationState(clientB, resourcesB, List.of());
+
+    assertThat(avoidedResources.getAvoidedResources(vehicleB.getName()), is(empty()));
+  }
+
+  @Test
+  public void breakTwoVehicleCycleByReroutingAroundRequestedResources() {
+    when(configuration.resolveDeadlocks()).thenReturn(true);
+    when(configuration.resolutionRetryInterval()).thenReturn(60000L);
+    // Vehicle A is to travel from A to D, either via B or via the longer detour via C. Vehicle B
+    // is to travel from B to A.
+    Point pointD = new Point("D");
+    Path pathAB = new Path("A-->B", pointA.getReference(), pointB.getReference());
+    Path pathBA = new Path("B-->A", pointB.getReference(), pointA.getReference());
+    Path pathBD = new Path("B-->D", pointB.getReference(), pointD.getReference());
+    Path pathAC = new Path("A-->C", pointA.getReference(), pointC.getReference());
+    Path pathCD = new Path("C-->D", pointC.getReference(), pointD.getReference());
+    Graph<String, Edge> graph = new DirectedWeightedMultigraph<>(Edge.class);
+    for (Point point : List.of(pointA, pointB, pointC, pointD)) {
+      graph.addVertex(point.getName());
+    }
+    addEdge(graph, pathAB, 10);
+    addEdge(graph, pathBA, 10);
+    addEdge(graph, pathBD, 10);
+    addEdge(graph, pathAC, 20);
+    addEdge(graph, pathCD, 20);
+    Router router = createRouter(
+        new ShortestPathPointRouter(new DijkstraShortestPath<>(graph),
+                                    List.of(pointA, pointB, pointC, pointD),
+                                    null,
+                                    graph)
+    );
+    assertThat(destinationPoints(router.getRoute(vehicleA, pointA, pointD).get()),
+               contains(pointB, pointD));
+
+    // Rerouting vehicle A reports the new claim to the module, as the scheduler would.
+    List<Route> reroutes = new ArrayList<>();
+    doAnswer(invocation -> {
+      Route route = router.getRoute(vehicleA, pointA, pointD).get();
+      reroutes.add(route);
+      Route.Step firstStep = route.getSteps().get(0);
+      module.setAllocationState(clientA,
+                                resourcesA,
+                                List.of(Set.of(firstStep.getPath(),
+                                               firstStep.getDestinationPoint())));
+      return null;
+    }).when(dispatcherService).reroute(vehicleA.getReference(), ReroutingType.FORCED);
+
+    module.allocationDeferred(clientB, Set.of(freeResource(pathBA), pointA));
+    module.allocationDeferred(clientA, Set.of(freeResource(pathAB), pointB));
+
+    assertThat(reroutes, hasSize(1));
+    assertThat(destinationPoints(reroutes.get(0)), contains(pointC, pointD));
+    assertThat(metricRegistry.timer("scheduler.deadlocks.resolution").getCount(), is(1L));
+    assertThat(avoidedResources.getAvoidedResources(vehicleA.getName()), is(empty()));
+  }
+
+  @Test
+  public void recordResolutionWhenClientStopsWaiting() {
+    module.allocationDeferred(clientA, resourcesB);
+    module.allocationDeferred(clientB, resourcesA);
+
+    // Client B's claim is reset, e.g. because it has been rerouted.
+    module.setAllocationState(clientB, resourcesB, List.of());
+
+    assertThat(metricRegistry.timer("scheduler.deadlocks.resolution").getCount(), is(1L));
+
+    // The same clients may deadlock again later.
+    module.allocationDeferred(clientB, resourcesA);
+
+    assertThat(detectedDeadlocks(), is(2L));
+  }
+
+  @Test
+  public void keepWaitingWhileRequestedResourcesAreStillClaimedNext() {
+    module.allocationDeferred(clientA, resourcesB);
+    module.allocationDeferred(clientB, resourcesA);
+
+    module.setAllocationState(clientB, resourcesB, List.of(resourcesA));
+
+    assertThat(metricRegistry.timer("scheduler.deadlocks.resolution").getCount(), is(0L));
+  }
+
+  private Set<TCSResource<?>> allocatedResources(Point point, Scheduler.Client client) {
+    ReservationEntry entry = mock(ReservationEntry.class);
+    when(entry.getClient()).thenReturn(client);
+    when(reservationPool.getReservationEntry(point)).thenReturn(entry);
+    return Set.of(point);
+  }
+
+  private TCSResource<?> freeResource(TCSResource<?> resource) {
+    when(reservationPool.getReservationEntry(resource)).thenReturn(mock(ReservationEntry.class));
+    return resource;
+  }
+
+  private void addEdge(Graph<String, Edge> graph, Path path, double weight) {
+    Edge edge = new Edge(path, false);
+    graph.addEdge(path.getSourcePoint().getName(), path.getDestinationPoint().getName(), edge);
+    graph.setEdgeWeight(edge, weight);
+  }
+
+  private Router createRouter(PointRouter pointRouter) {
+    Router router = new DefaultRouter(
+        objectService,
+        vehicle -> pointRouter,
+        new DefaultRoutingGroupMapper(),
+        mock(DefaultRouterConfiguration.class),
+        MetricRegistry.DISABLED,
+        new DestinationPointCache(mock(EventSource.class), objectService),
+        new EdgeEvaluatorCongestion(mock(EventSource.class),
+                                    objectService,
+                                    mock(CongestionConfiguration.class)),
+        new ReservationTableProvider(objectService, mock(SpaceTimeConfiguration.class)),
+        avoidedResources
+    );
+    router.initialize();
+    return router;
+  }
+
+  private List<Point> destinationPoints(Route route) {
+    return route.getSteps().stream()
+        .map(Route.Step::getDestinationPoint)
+        .collect(Collectors.toList());
+  }
+
+  private long detectedDeadlocks() {
+    return metricRegistry.counter("scheduler.deadlocks.detected").getCount();
+  }
+
+  private class SampleClient
+      implements Scheduler.Client {
+
+    private final String id;
+
+    SampleClient(String id) {
+      this.id = id;
+    }
+
+    @Override
+    public String getId() {
+      return id;
+    }
+
+    @Override
+    public boolean allocationSuccessful(Set<TCSResource<?>> resources) {
+      return true;
+    }
+
+    @Override
+    public void allocationFailed(Set<TCSResource<?>> resources) {
+    }
+  }
+}